@@ -23,4 +23,7 @@ import lombok.Data;
 @Builder
 public class ObjectMetadata {
   long contentLength;
+
+  /** The entity tag of the object, if known. Identifies a specific version of the content. */
+  String etag;
 }
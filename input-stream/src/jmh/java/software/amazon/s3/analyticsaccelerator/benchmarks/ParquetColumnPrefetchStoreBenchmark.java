@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Micro-benchmarks of the calls made to the {@link ParquetColumnPrefetchStore} shared by all
+ * streams of a factory on every read of a Parquet column, with one thread and with as many threads
+ * as there are cores. Comparing the throughput of both shows how the store scales with the number
+ * of concurrent streams. The files read are synthetic, so no S3 access is needed.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParquetColumnPrefetchStoreBenchmark {
+  @Param({"10", "1000"})
+  public int files;
+
+  @Param({"20", "200"})
+  public int columns;
+
+  @Param({"10", "100"})
+  public int rowGroups;
+
+  private ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private ObjectKey[] objectKeys;
+
+  /** Creates the store, and stores the column mappers of the files read */
+  @Setup(Level.Trial)
+  public void setUp() {
+    this.parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    this.objectKeys = new ObjectKey[files];
+    for (int f = 0; f < files; f++) {
+      objectKeys[f] =
+          ObjectKey.of(S3URI.of("benchmark", "store_sales/part-" + f + ".parquet"), "etag");
+      parquetColumnPrefetchStore.putColumnMappers(objectKeys[f], generateColumnMappers());
+    }
+  }
+
+  /** Closes the store */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    parquetColumnPrefetchStore.close();
+  }
+
+  /**
+   * Records a column read from a single thread
+   *
+   * @return the columns predicted for the schema
+   */
+  @Benchmark
+  @Threads(1)
+  public Set<String> readColumnSingleThread() {
+    return readColumn();
+  }
+
+  /**
+   * Records column reads from as many threads as there are cores, each standing for a stream
+   *
+   * @return the columns predicted for the schema
+   */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public Set<String> readColumnAllThreads() {
+    return readColumn();
+  }
+
+  /**
+   * Makes the calls a stream makes to the store when it reads a column chunk: look up the column
+   * mappers of the file, record the column read, prefetch the row group if it has not been already,
+   * and predict the columns of the schema.
+   */
+  private Set<String> readColumn() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    ObjectKey objectKey = objectKeys[random.nextInt(files)];
+    S3URI s3URI = objectKey.getS3URI();
+
+    ColumnMappers columnMappers = parquetColumnPrefetchStore.getColumnMappers(objectKey);
+    ColumnMetadata columnMetadata =
+        columnMappers.getColumnChunk(random.nextInt(columnMappers.getColumnChunkCount()));
+    parquetColumnPrefetchStore.addRecentColumn(columnMetadata);
+
+    int rowGroupIndex = columnMetadata.getRowGroupIndex();
+    if (!parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3URI, rowGroupIndex)) {
+      parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(s3URI, rowGroupIndex);
+    }
+
+    return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(
+        columnMetadata.getSchemaHash());
+  }
+
+  private ColumnMappers generateColumnMappers() {
+    ColumnMappers.Builder builder = ColumnMappers.builder().schemaHash(1);
+    long offset = 4;
+    for (int r = 0; r < rowGroups; r++) {
+      for (int c = 0; c < columns; c++) {
+        long size = 10_000 + c;
+        builder.addColumnChunk(r, "column_" + c, offset, 0, offset, size);
+        offset += size;
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
+import org.openjdk.jmh.annotations.*;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetFooterDecoder;
+
+/**
+ * Micro-benchmarks that compare building column mappers from a fully deserialised FileMetaData
+ * against decoding them selectively with {@link ParquetFooterDecoder}. Footers are synthetic, with
+ * statistics and key/value metadata on every column chunk, so they can be made as wide and as long
+ * as needed without any S3 access.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ParquetFooterParsingBenchmark {
+  @Param({"100", "2000"})
+  public int columns;
+
+  @Param({"10", "200"})
+  public int rowGroups;
+
+  private byte[] footer;
+
+  /**
+   * Generates the footer to parse
+   *
+   * @throws IOException thrown on serialisation error
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeFileMetaData(generateFileMetaData(columns, rowGroups), out);
+    this.footer = out.toByteArray();
+  }
+
+  /**
+   * Deserialises the full FileMetaData and builds column mappers from it
+   *
+   * @return column mappers
+   * @throws IOException thrown on parse error
+   */
+  @Benchmark
+  public ColumnMappers fullParse() throws IOException {
+    return buildColumnMappers(Util.readFileMetaData(new ByteArrayInputStream(footer)));
+  }
+
+  /**
+   * Decodes column mappers selectively
+   *
+   * @return column mappers
+   * @throws IOException thrown on parse error
+   */
+  @Benchmark
+  public ColumnMappers selectiveDecode() throws IOException {
+    return ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length);
+  }
+
+  private static ColumnMappers buildColumnMappers(FileMetaData fileMetaData) {
+    ColumnMappers.Builder builder = ColumnMappers.builder();
+
+    StringBuilder concatenatedColumnNames = new StringBuilder();
+    for (ColumnChunk columnChunk : fileMetaData.getRow_groups().get(0).getColumns()) {
+      concatenatedColumnNames.append(
+          String.join(".", columnChunk.getMeta_data().getPath_in_schema()));
+    }
+    builder.schemaHash(concatenatedColumnNames.toString().hashCode());
+
+    int rowGroupIndex = 0;
+    for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
+      for (ColumnChunk columnChunk : rowGroup.getColumns()) {
+        ColumnMetaData metaData = columnChunk.getMeta_data();
+        String columnName = String.join(".", metaData.getPath_in_schema());
+        long dictionaryOffset = metaData.getDictionary_page_offset();
+        long startPos = dictionaryOffset != 0 ? dictionaryOffset : columnChunk.getFile_offset();
+        builder.addColumnChunk(
+            rowGroupIndex,
+            columnName,
+            metaData.getData_page_offset(),
+            dictionaryOffset,
+            startPos,
+            metaData.getTotal_compressed_size());
+      }
+      rowGroupIndex++;
+    }
+
+    return builder.build();
+  }
+
+  private static FileMetaData generateFileMetaData(int columns, int rowGroups) {
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(columns));
+    for (int c = 0; c < columns; c++) {
+      schema.add(new SchemaElement("column_" + c).setType(Type.BYTE_ARRAY));
+    }
+
+    List<RowGroup> rowGroupList = new ArrayList<>();
+    long offset = 4;
+    for (int r = 0; r < rowGroups; r++) {
+      List<ColumnChunk> columnChunks = new ArrayList<>();
+      for (int c = 0; c < columns; c++) {
+        long size = 10_000 + c;
+        ColumnMetaData columnMetaData =
+            new ColumnMetaData(
+                Type.BYTE_ARRAY,
+                Arrays.asList(Encoding.PLAIN, Encoding.RLE, Encoding.RLE_DICTIONARY),
+                Collections.singletonList("column_" + c),
+                CompressionCodec.ZSTD,
+                100_000,
+                size * 3,
+                size,
+                offset + 100);
+        columnMetaData.setDictionary_page_offset(offset);
+        columnMetaData.setStatistics(
+            new Statistics()
+                .setMin_value(("min_" + r + "_" + c).getBytes(StandardCharsets.UTF_8))
+                .setMax_value(("max_" + r + "_" + c).getBytes(StandardCharsets.UTF_8))
+                .setNull_count(c));
+
+        ColumnChunk columnChunk = new ColumnChunk(offset);
+        columnChunk.setMeta_data(columnMetaData);
+        columnChunk.setColumn_index_offset(offset + size);
+        columnChunk.setColumn_index_length(128);
+        columnChunk.setOffset_index_offset(offset + size + 128);
+        columnChunk.setOffset_index_length(64);
+        columnChunks.add(columnChunk);
+        offset += size;
+      }
+      rowGroupList.add(new RowGroup(columnChunks, offset, 100_000).setOrdinal((short) r));
+    }
+
+    FileMetaData fileMetaData = new FileMetaData(1, schema, 100_000L * rowGroups, rowGroupList);
+    fileMetaData.setCreated_by("analytics-accelerator-s3 benchmark");
+    fileMetaData.setKey_value_metadata(
+        Collections.singletonList(new KeyValue("writer.model.name").setValue("benchmark")));
+    return fileMetaData;
+  }
+}
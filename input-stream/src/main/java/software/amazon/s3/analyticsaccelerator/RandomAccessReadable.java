@@ -15,8 +15,13 @@
  */
 package software.amazon.s3.analyticsaccelerator;
 
+import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
+
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 
 /** An InputStream-like entity implementing blocking random-access reads. */
@@ -60,4 +65,47 @@ public interface RandomAccessReadable extends Closeable {
    * @throws IOException if an error occurs while reading the file
    */
   int readTail(byte[] buf, int off, int len) throws IOException;
+
+  /**
+   * Writes up to len bytes starting at the given position to the provided channel. Blocks until
+   * all bytes have been written or the end of the object is reached.
+   *
+   * <p>By default, the bytes are copied to the channel through a buffer filled by {@link
+   * #read(byte[], int, int, long)}. Implementations that hold the bytes already should hand them
+   * to the channel directly instead.
+   *
+   * @param pos the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException if an error occurs while reading the file or writing to the channel
+   */
+  default long transferTo(long pos, long len, WritableByteChannel target) throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkNotNull(target, "`target` must not be null");
+
+    long contentLength = metadata().getContentLength();
+    if (pos >= contentLength || len == 0) {
+      return 0;
+    }
+
+    long end = pos + Math.min(len, contentLength - pos);
+    byte[] buffer = new byte[(int) Math.min(end - pos, 64 * ONE_KB)];
+    long nextPosition = pos;
+    while (nextPosition < end) {
+      int bytesRead =
+          read(buffer, 0, (int) Math.min(buffer.length, end - nextPosition), nextPosition);
+      if (bytesRead <= 0) {
+        break;
+      }
+
+      ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+      while (byteBuffer.hasRemaining()) {
+        target.write(byteBuffer);
+      }
+      nextPosition += bytesRead;
+    }
+    return nextPosition - pos;
+  }
 }
@@ -16,6 +16,8 @@
 package software.amazon.s3.analyticsaccelerator;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
@@ -23,6 +25,7 @@ import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+import software.amazon.s3.analyticsaccelerator.util.StreamUtils;
 
 /**
  * High throughput seekable stream used to read data from Amazon S3.
@@ -43,6 +46,7 @@ public class S3SeekableInputStream extends SeekableInputStream {
   private static final String OPERATION_READ = "stream.read";
   private static final String FLAVOR_TAIL = "tail";
   private static final String FLAVOR_BYTE = "byte";
+  private static final String FLAVOR_TRANSFER = "transfer";
 
   private static final String OPERATION_STREAM_CLOSE = "seekablestream.close";
   private final long streamBirth = System.nanoTime();
@@ -156,6 +160,57 @@ public class S3SeekableInputStream extends SeekableInputStream {
         });
   }
 
+  /**
+   * Reads all bytes from the current position to the end of the stream and writes them to the
+   * given output stream, in the order they are read. On return, the stream is positioned at its
+   * end. The output stream is not closed.
+   *
+   * <p>Unlike a read loop, the requests for the parts following the one being written are issued
+   * ahead of time and the fetched buffers are written to the output stream without being copied.
+   *
+   * @param out the output stream to write to
+   * @return the number of bytes transferred
+   * @exception IOException if the stream has been closed, or if an I/O error occurs when reading
+   *     or writing.
+   */
+  public long transferTo(@NonNull OutputStream out) throws IOException {
+    return transferTo(StreamUtils.toWritableByteChannel(out));
+  }
+
+  /**
+   * Reads all bytes from the current position to the end of the stream and writes them to the
+   * given channel, in the order they are read. On return, the stream is positioned at its end. The
+   * channel is not closed.
+   *
+   * @param target the channel to write to
+   * @return the number of bytes transferred
+   * @exception IOException if the stream has been closed, or if an I/O error occurs when reading
+   *     or writing.
+   */
+  public long transferTo(@NonNull WritableByteChannel target) throws IOException {
+    throwIfClosed("cannot read from closed stream");
+
+    long contentLength = getContentLength();
+    if (this.position >= contentLength) {
+      return 0;
+    }
+
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_TRANSFER))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(position, contentLength - 1))
+                .build(),
+        () -> {
+          long bytesTransferred =
+              this.logicalIO.transferTo(position, contentLength - position, target);
+          this.position += bytesTransferred;
+          return bytesTransferred;
+        });
+  }
+
   /**
    * Sets the offset, measured from the beginning of this stream, at which the next read occurs. The
    * offset may be set beyond the end of the file. Setting the offset beyond the end of the file
@@ -15,21 +15,52 @@
  */
 package software.amazon.s3.analyticsaccelerator;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOProvider;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ArrowLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.CompressedLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.LakehouseMetadataLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.LakehouseMetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ObjectFormatDetector;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ObjectLookahead;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.PrefetchExecutor;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.TextLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.DownloadOptions;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.ObjectDownloader;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
 import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormat;
 import software.amazon.s3.analyticsaccelerator.util.ObjectFormatSelector;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -48,11 +79,25 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
   private final ObjectClient objectClient;
   private final S3SeekableInputStreamConfiguration configuration;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+  private final LakehouseMetadataStore lakehouseMetadataStore;
+  private final PrefetchExecutor prefetchExecutor;
 
   private final MetadataStore objectMetadataStore;
   private final BlobStore objectBlobStore;
+  private final TailCache tailCache;
+  private final ObjectDownloader objectDownloader;
   private final Telemetry telemetry;
   private final ObjectFormatSelector objectFormatSelector;
+  private final ObjectFormatDetector objectFormatDetector;
+  private final ObjectLookahead objectLookahead;
+  @Getter(AccessLevel.NONE)
+  private final ThreadPoolExecutor streamOpenExecutor;
+
+  private static final long STREAM_OPEN_KEEP_ALIVE_SECONDS = 60;
+  private static final String STREAM_OPEN_THREAD_NAME_PREFIX = "s3-analytics-accelerator-open-";
+
+  private static final Logger LOG = LoggerFactory.getLogger(S3SeekableInputStreamFactory.class);
 
   /**
    * Creates a new instance of {@link S3SeekableInputStreamFactory}. This factory should be used to
@@ -70,15 +115,39 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
     this.telemetry = Telemetry.createTelemetry(configuration.getTelemetryConfiguration());
     this.parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(configuration.getLogicalIOConfiguration());
+    this.orcColumnPrefetchStore =
+        new OrcColumnPrefetchStore(configuration.getLogicalIOConfiguration());
+    this.lakehouseMetadataStore =
+        new LakehouseMetadataStore(configuration.getLogicalIOConfiguration());
+    this.prefetchExecutor =
+        new PrefetchExecutor(configuration.getLogicalIOConfiguration(), telemetry);
     this.objectMetadataStore =
         new MetadataStore(objectClient, telemetry, configuration.getPhysicalIOConfiguration());
     this.objectFormatSelector = new ObjectFormatSelector(configuration.getLogicalIOConfiguration());
+    this.objectFormatDetector = new ObjectFormatDetector(configuration.getLogicalIOConfiguration());
     this.objectBlobStore =
         new BlobStore(
             objectMetadataStore,
             objectClient,
             telemetry,
             configuration.getPhysicalIOConfiguration());
+    this.tailCache = new TailCache(configuration.getPhysicalIOConfiguration());
+    this.objectDownloader =
+        new ObjectDownloader(
+            objectClient,
+            objectMetadataStore,
+            telemetry,
+            configuration.getPhysicalIOConfiguration());
+    this.objectLookahead =
+        new ObjectLookahead(
+            objectMetadataStore,
+            objectBlobStore,
+            tailCache,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            prefetchExecutor,
+            objectFormatSelector);
+    this.streamOpenExecutor = createStreamOpenExecutor(configuration.getLogicalIOConfiguration());
   }
 
   /**
@@ -118,27 +187,236 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
     return new S3SeekableInputStream(s3URI, createLogicalIO(s3URI, streamContext), telemetry);
   }
 
+  /**
+   * Create an instance of S3SeekableInputStream with open options. The options may hold the
+   * columns and predicates the caller is going to read the object with, which allows columnar
+   * formats to prefetch exactly the data that is needed as soon as the metadata is parsed.
+   *
+   * @param s3URI the object's S3 URI
+   * @param openStreamOptions the stream context and the hints to open the stream with
+   * @return An instance of the input stream.
+   */
+  public S3SeekableInputStream createStream(
+      @NonNull S3URI s3URI, @NonNull OpenStreamOptions openStreamOptions) {
+    return new S3SeekableInputStream(s3URI, createLogicalIO(s3URI, openStreamOptions), telemetry);
+  }
+
+  /**
+   * Creates input streams for many objects at once, opening them concurrently. This suits the
+   * metadata files of lakehouse tables, which are fetched whole when their stream is opened, and of
+   * which query planning reads many at the same time.
+   *
+   * @param s3URIs the objects' S3 URIs
+   * @return the input streams, in the order of the S3 URIs
+   * @throws IOException if a stream cannot be opened; the streams already opened are closed
+   */
+  public List<S3SeekableInputStream> createStreams(@NonNull List<S3URI> s3URIs)
+      throws IOException {
+    return createStreams(s3URIs, OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Creates input streams for many objects at once with the same open options, opening them
+   * concurrently. The streams are opened on a pool of their own, with as many threads as the
+   * prefetch executor, so that a large batch queues up instead of evicting the prefetches of other
+   * streams.
+   *
+   * @param s3URIs the objects' S3 URIs
+   * @param openStreamOptions the stream context and the hints to open the streams with
+   * @return the input streams, in the order of the S3 URIs
+   * @throws IOException if a stream cannot be opened; the streams already opened are closed
+   */
+  public List<S3SeekableInputStream> createStreams(
+      @NonNull List<S3URI> s3URIs, @NonNull OpenStreamOptions openStreamOptions)
+      throws IOException {
+    for (S3URI s3URI : s3URIs) {
+      Preconditions.checkArgument(s3URI != null, "`s3URIs` must not contain nulls");
+    }
+
+    List<CompletableFuture<LogicalIO>> logicalIOs = new ArrayList<>(s3URIs.size());
+    for (S3URI s3URI : s3URIs) {
+      logicalIOs.add(
+          CompletableFuture.supplyAsync(
+              () -> createLogicalIO(s3URI, openStreamOptions), streamOpenExecutor));
+    }
+
+    List<S3SeekableInputStream> streams = new ArrayList<>(s3URIs.size());
+    try {
+      for (int i = 0; i < s3URIs.size(); i++) {
+        LogicalIO logicalIO = logicalIOs.get(i).join();
+        streams.add(new S3SeekableInputStream(s3URIs.get(i), logicalIO, telemetry));
+      }
+    } catch (RuntimeException e) {
+      streams.forEach(S3SeekableInputStreamFactory::closeQuietly);
+      for (int i = streams.size() + 1; i < logicalIOs.size(); i++) {
+        logicalIOs.get(i).thenAccept(S3SeekableInputStreamFactory::closeQuietly);
+      }
+      throw new IOException("Unable to open the streams", e);
+    }
+    return streams;
+  }
+
+  /**
+   * Downloads an object to a local file using parallel ranged GETs.
+   *
+   * @param s3URI the object's S3 URI
+   * @param target the file to write the object to
+   * @return the number of bytes downloaded
+   * @throws IOException if the object cannot be fetched or the file cannot be written
+   */
+  public long downloadToFile(@NonNull S3URI s3URI, @NonNull Path target) throws IOException {
+    return downloadToFile(s3URI, target, DownloadOptions.DEFAULT);
+  }
+
+  /**
+   * Downloads an object, or a byte range of it, to a local file using parallel ranged GETs.
+   *
+   * @param s3URI the object's S3 URI
+   * @param target the file to write the object to
+   * @param options the range to download, whether to resume a partial download and the stream
+   *     context to attach to requests
+   * @return the number of bytes downloaded
+   * @throws IOException if the object cannot be fetched or the file cannot be written
+   */
+  public long downloadToFile(
+      @NonNull S3URI s3URI, @NonNull Path target, @NonNull DownloadOptions options)
+      throws IOException {
+    return objectDownloader.download(s3URI, target, options);
+  }
+
   LogicalIO createLogicalIO(S3URI s3URI) {
-    return createLogicalIO(s3URI, null);
+    return createLogicalIO(s3URI, OpenStreamOptions.DEFAULT);
   }
 
   LogicalIO createLogicalIO(S3URI s3URI, StreamContext streamContext) {
-    switch (objectFormatSelector.getObjectFormat(s3URI)) {
+    return createLogicalIO(s3URI, OpenStreamOptions.builder().streamContext(streamContext).build());
+  }
+
+  LogicalIO createLogicalIO(S3URI s3URI, OpenStreamOptions openStreamOptions) {
+    LogicalIO logicalIO = createFormatLogicalIO(s3URI, openStreamOptions);
+
+    // Submitted after the prefetches of this object, so that they do not queue behind these
+    objectLookahead.prefetch(
+        openStreamOptions.getUpcomingObjects(), openStreamOptions.getStreamContext());
+    return logicalIO;
+  }
+
+  private LogicalIO createFormatLogicalIO(S3URI s3URI, OpenStreamOptions openStreamOptions) {
+    StreamContext streamContext = openStreamOptions.getStreamContext();
+    PhysicalIO physicalIO =
+        new PhysicalIOImpl(
+            s3URI, objectMetadataStore, objectBlobStore, tailCache, telemetry, streamContext);
+
+    // Formats that are not built in are read by the LogicalIO of the provider that supports them
+    Optional<LogicalIOProvider> logicalIOProvider =
+        objectFormatSelector.getLogicalIOProvider(s3URI);
+    if (logicalIOProvider.isPresent()) {
+      return logicalIOProvider
+          .get()
+          .createLogicalIO(
+              s3URI,
+              physicalIO,
+              telemetry,
+              configuration.getLogicalIOConfiguration(),
+              openStreamOptions);
+    }
+
+    // Keys without a file extension can have their format detected from the tail of the object
+    ObjectFormat objectFormat = objectFormatSelector.getObjectFormat(s3URI);
+    if (objectFormat == ObjectFormat.DEFAULT && objectFormatDetector.isDetectable(s3URI)) {
+      objectFormat = objectFormatDetector.detect(s3URI, physicalIO);
+    }
+
+    switch (objectFormat) {
       case PARQUET:
         return new ParquetLogicalIOImpl(
             s3URI,
-            new PhysicalIOImpl(
-                s3URI, objectMetadataStore, objectBlobStore, telemetry, streamContext),
+            physicalIO,
             telemetry,
             configuration.getLogicalIOConfiguration(),
-            parquetColumnPrefetchStore);
+            parquetColumnPrefetchStore,
+            prefetchExecutor,
+            openStreamOptions);
 
-      default:
-        return new DefaultLogicalIOImpl(
+      case ORC:
+        return new OrcLogicalIOImpl(
+            s3URI,
+            physicalIO,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            orcColumnPrefetchStore,
+            prefetchExecutor,
+            openStreamOptions);
+
+      case TEXT:
+        return new TextLogicalIOImpl(
+            s3URI, physicalIO, telemetry, configuration.getLogicalIOConfiguration());
+
+      case ARROW:
+        return new ArrowLogicalIOImpl(
+            s3URI,
+            physicalIO,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            prefetchExecutor);
+
+      case LAKEHOUSE_METADATA:
+        return new LakehouseMetadataLogicalIOImpl(
             s3URI,
+            physicalIO,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            lakehouseMetadataStore);
+
+      case COMPRESSED:
+        // The index of BGZF objects is kept next to them, it is only fetched if it is read
+        PhysicalIO indexPhysicalIO =
             new PhysicalIOImpl(
-                s3URI, objectMetadataStore, objectBlobStore, telemetry, streamContext),
-            telemetry);
+                S3URI.of(s3URI.getBucket(), s3URI.getKey() + ".gzi"),
+                objectMetadataStore,
+                objectBlobStore,
+                tailCache,
+                telemetry,
+                streamContext);
+        return new CompressedLogicalIOImpl(
+            s3URI,
+            physicalIO,
+            indexPhysicalIO,
+            telemetry,
+            configuration.getLogicalIOConfiguration(),
+            prefetchExecutor);
+
+      default:
+        return new DefaultLogicalIOImpl(s3URI, physicalIO, telemetry);
+    }
+  }
+
+  private static ThreadPoolExecutor createStreamOpenExecutor(LogicalIOConfiguration configuration) {
+    int threads = configuration.getPrefetchExecutorThreads();
+    AtomicInteger threadCount = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            STREAM_OPEN_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread thread =
+                  new Thread(
+                      runnable, STREAM_OPEN_THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      LOG.debug("Unable to close a stream that failed to open with others.", e);
     }
   }
 
@@ -149,6 +427,9 @@ public class S3SeekableInputStreamFactory implements AutoCloseable {
    */
   @Override
   public void close() throws IOException {
+    this.streamOpenExecutor.shutdown();
+    this.prefetchExecutor.close();
+    this.parquetColumnPrefetchStore.close();
     this.objectMetadataStore.close();
     this.objectBlobStore.close();
     this.telemetry.close();
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A comparison of the values of a column with a constant, such as {@code ss_quantity > 10}. Callers
+ * that push a filter down to the reader can pass the simple comparisons it is made of when opening
+ * a stream, see {@link OpenStreamOptions}, so that the columns they filter on are prefetched.
+ *
+ * <p>Values are either integral numbers, which are held as {@link Long}, floating point numbers,
+ * which are held as {@link Double}, or strings.
+ */
+@Value
+public class ColumnPredicate {
+  /** The comparison of the column values with the constant. */
+  public enum Operator {
+    EQ,
+    LT,
+    LT_EQ,
+    GT,
+    GT_EQ
+  }
+
+  /** Dot-joined path of the column in the schema, for example {@code address.city}. */
+  String columnPath;
+
+  Operator operator;
+
+  Object value;
+
+  /**
+   * Creates a new instance of {@link ColumnPredicate}.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param operator the comparison of the column values with the constant
+   * @param value the constant, which must be a {@link Byte}, {@link Short}, {@link Integer}, {@link
+   *     Long}, {@link Float}, {@link Double} or {@link String}
+   */
+  public ColumnPredicate(
+      @NonNull String columnPath, @NonNull Operator operator, @NonNull Object value) {
+    this.columnPath = columnPath;
+    this.operator = operator;
+    this.value = normalize(value);
+  }
+
+  /**
+   * Creates a predicate matching values equal to a constant.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param value the constant
+   * @return the predicate
+   */
+  public static ColumnPredicate eq(String columnPath, Object value) {
+    return new ColumnPredicate(columnPath, Operator.EQ, value);
+  }
+
+  /**
+   * Creates a predicate matching values less than a constant.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param value the constant
+   * @return the predicate
+   */
+  public static ColumnPredicate lt(String columnPath, Object value) {
+    return new ColumnPredicate(columnPath, Operator.LT, value);
+  }
+
+  /**
+   * Creates a predicate matching values less than or equal to a constant.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param value the constant
+   * @return the predicate
+   */
+  public static ColumnPredicate ltEq(String columnPath, Object value) {
+    return new ColumnPredicate(columnPath, Operator.LT_EQ, value);
+  }
+
+  /**
+   * Creates a predicate matching values greater than a constant.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param value the constant
+   * @return the predicate
+   */
+  public static ColumnPredicate gt(String columnPath, Object value) {
+    return new ColumnPredicate(columnPath, Operator.GT, value);
+  }
+
+  /**
+   * Creates a predicate matching values greater than or equal to a constant.
+   *
+   * @param columnPath dot-joined path of the column in the schema
+   * @param value the constant
+   * @return the predicate
+   */
+  public static ColumnPredicate gtEq(String columnPath, Object value) {
+    return new ColumnPredicate(columnPath, Operator.GT_EQ, value);
+  }
+
+  private static Object normalize(Object value) {
+    if (value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+    if (value instanceof Double || value instanceof Float) {
+      return ((Number) value).doubleValue();
+    }
+    Preconditions.checkArgument(
+        value instanceof String, "`value` must be an integral, floating point or string constant");
+    return value;
+  }
+}
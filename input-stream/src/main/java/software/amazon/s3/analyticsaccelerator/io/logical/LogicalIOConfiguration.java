@@ -36,13 +36,51 @@ public class LogicalIOConfiguration {
   private static final long DEFAULT_PREFETCH_LARGE_FILE_METADATA_SIZE = ONE_MB;
   private static final long DEFAULT_PREFETCH_FILE_PAGE_INDEX_SIZE = ONE_MB;
   private static final long DEFAULT_PREFETCH_LARGE_FILE_PAGE_INDEX_SIZE = 8 * ONE_MB;
+  private static final boolean DEFAULT_PREFETCH_EXACT_PAGE_INDEX_ENABLED = true;
+  private static final long DEFAULT_PREFETCH_PAGE_INDEX_MAX_GAP_SIZE = 64 * ONE_KB;
   private static final long DEFAULT_LARGE_FILE_SIZE = ONE_GB;
   private static final boolean DEFAULT_PREFETCHING_SMALL_OBJECT_ENABLED = true;
   private static final long DEFAULT_SMALL_OBJECT_SIZE_THRESHOLD = 3 * ONE_MB;
   private static final int DEFAULT_PARQUET_METADATA_STORE_SIZE = 45;
+  private static final long DEFAULT_PARQUET_METADATA_STORE_MAX_BYTES = 64 * ONE_MB;
   private static final int DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE = 15;
+  private static final int DEFAULT_COLUMN_ACCESS_HALF_LIFE = 32;
+  private static final double DEFAULT_COLUMN_PREDICTION_CONFIDENCE_THRESHOLD = 0.1;
+  private static final String DEFAULT_COLUMN_ACCESS_PROFILE_PATH = "";
+  private static final long DEFAULT_COLUMN_ACCESS_PROFILE_REFRESH_INTERVAL_MS = 0;
   private static final String DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX = "^.*.(parquet|par)$";
+  private static final String DEFAULT_ORC_FORMAT_SELECTOR_REGEX = "^.*\\.(orc)$";
+  private static final String DEFAULT_TEXT_FORMAT_SELECTOR_REGEX =
+      "^.*\\.(csv|tsv|json|jsonl|ndjson|txt|log)$";
+  private static final long DEFAULT_SEQUENTIAL_READ_AHEAD_BYTES = 32 * ONE_MB;
+  private static final long DEFAULT_SEQUENTIAL_TRAILING_WINDOW_BYTES = 8 * ONE_MB;
+  private static final boolean DEFAULT_SEQUENTIAL_RECORD_ALIGNMENT_ENABLED = false;
+  private static final String DEFAULT_ARROW_FORMAT_SELECTOR_REGEX = "^.*\\.(arrow|feather|ipc)$";
+  private static final int DEFAULT_ARROW_PREFETCH_RECORD_BATCH_COUNT = 2;
+  private static final boolean DEFAULT_FORMAT_DETECTION_ENABLED = false;
+  private static final boolean DEFAULT_SEEKABLE_COMPRESSION_ENABLED = false;
+  private static final String DEFAULT_COMPRESSED_FORMAT_SELECTOR_REGEX = "^.*\\.(bgz)$";
+  private static final int DEFAULT_COMPRESSED_PREFETCH_FRAME_COUNT = 4;
+  private static final int DEFAULT_DECOMPRESSED_FRAME_CACHE_SIZE = 16;
+  private static final boolean DEFAULT_LOGICAL_IO_PROVIDERS_ENABLED = true;
+  private static final String DEFAULT_LAKEHOUSE_METADATA_FORMAT_SELECTOR_REGEX =
+      "^(.*/)?(metadata/[^/]+\\.(avro|json)|_delta_log/([^/]+\\.(json|crc)|_last_checkpoint))$";
+  private static final long DEFAULT_LAKEHOUSE_METADATA_MAX_BYTES = 8 * ONE_MB;
+  private static final long DEFAULT_LAKEHOUSE_METADATA_CACHE_MAX_BYTES = 32 * ONE_MB;
+  private static final int DEFAULT_CROSS_OBJECT_LOOKAHEAD_COUNT = 1;
+  private static final long DEFAULT_CROSS_OBJECT_LOOKAHEAD_FIRST_BLOCK_BYTES = 0;
+  private static final long DEFAULT_CROSS_OBJECT_LOOKAHEAD_MAX_BYTES = 64 * ONE_MB;
   private static final PrefetchMode DEFAULT_PREFETCHING_MODE = PrefetchMode.ROW_GROUP;
+  private static final boolean DEFAULT_PREFETCH_PAGES_ENABLED = false;
+  private static final long DEFAULT_PREFETCH_PAGES_MAX_GAP_SIZE = 0;
+  private static final boolean DEFAULT_ROW_GROUP_PRUNING_ENABLED = true;
+  private static final int DEFAULT_PREFETCH_LOOKAHEAD_ROW_GROUPS = 1;
+  private static final long DEFAULT_PREFETCH_LOOKAHEAD_MAX_BYTES = 64 * ONE_MB;
+  private static final String DEFAULT_PARQUET_METADATA_CACHE_DIRECTORY = "";
+  private static final long DEFAULT_PARQUET_METADATA_CACHE_MAX_BYTES = 256 * ONE_MB;
+  private static final int DEFAULT_PREFETCH_EXECUTOR_THREADS = 8;
+  private static final int DEFAULT_PREFETCH_EXECUTOR_QUEUE_SIZE = 128;
+  private static final long DEFAULT_PREFETCH_EXECUTOR_STALE_TASK_TIMEOUT_MS = 30_000;
 
   @Builder.Default private boolean prefetchFooterEnabled = DEFAULT_PREFETCH_FOOTER_ENABLED;
 
@@ -72,6 +110,18 @@ public class LogicalIOConfiguration {
   private static final String LARGE_FILE_PAGE_INDEX_PREFETCH_SIZE_KEY =
       "prefetch.large.file.page.index.size";
 
+  @Builder.Default
+  private boolean prefetchExactPageIndexEnabled = DEFAULT_PREFETCH_EXACT_PAGE_INDEX_ENABLED;
+
+  private static final String PREFETCH_EXACT_PAGE_INDEX_ENABLED_KEY =
+      "prefetch.exact.page.index.enabled";
+
+  @Builder.Default
+  private long prefetchPageIndexMaxGapSize = DEFAULT_PREFETCH_PAGE_INDEX_MAX_GAP_SIZE;
+
+  private static final String PREFETCH_PAGE_INDEX_MAX_GAP_SIZE_KEY =
+      "prefetch.page.index.max.gap.size";
+
   @Builder.Default private long largeFileSize = DEFAULT_LARGE_FILE_SIZE;
 
   private static final String LARGE_FILE_SIZE = "large.file.size";
@@ -93,19 +143,190 @@ public class LogicalIOConfiguration {
 
   private static final String PREFETCHING_MODE_KEY = "prefetching.mode";
 
+  @Builder.Default private boolean prefetchPagesEnabled = DEFAULT_PREFETCH_PAGES_ENABLED;
+
+  private static final String PREFETCH_PAGES_ENABLED_KEY = "prefetch.pages.enabled";
+
+  @Builder.Default private long prefetchPagesMaxGapSize = DEFAULT_PREFETCH_PAGES_MAX_GAP_SIZE;
+
+  private static final String PREFETCH_PAGES_MAX_GAP_SIZE_KEY = "prefetch.pages.max.gap.size";
+
+  @Builder.Default private boolean rowGroupPruningEnabled = DEFAULT_ROW_GROUP_PRUNING_ENABLED;
+
+  private static final String ROW_GROUP_PRUNING_ENABLED_KEY = "row.group.pruning.enabled";
+
+  @Builder.Default private int prefetchLookaheadRowGroups = DEFAULT_PREFETCH_LOOKAHEAD_ROW_GROUPS;
+
+  private static final String PREFETCH_LOOKAHEAD_ROW_GROUPS_KEY = "prefetch.lookahead.row.groups";
+
+  @Builder.Default private long prefetchLookaheadMaxBytes = DEFAULT_PREFETCH_LOOKAHEAD_MAX_BYTES;
+
+  private static final String PREFETCH_LOOKAHEAD_MAX_BYTES_KEY = "prefetch.lookahead.max.bytes";
+
   @Builder.Default private int parquetMetadataStoreSize = DEFAULT_PARQUET_METADATA_STORE_SIZE;
 
   private static final String PARQUET_METADATA_STORE_SIZE_KEY = "parquet.metadata.store.size";
 
+  @Builder.Default
+  private long parquetMetadataStoreMaxBytes = DEFAULT_PARQUET_METADATA_STORE_MAX_BYTES;
+
+  private static final String PARQUET_METADATA_STORE_MAX_BYTES_KEY =
+      "parquet.metadata.store.max.bytes";
+
   @Builder.Default private int maxColumnAccessCountStoreSize = DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE;
 
   private static final String MAX_COLUMN_ACCESS_STORE_SIZE_KEY = "max.column.access.store.size";
 
+  @Builder.Default private int columnAccessHalfLife = DEFAULT_COLUMN_ACCESS_HALF_LIFE;
+
+  private static final String COLUMN_ACCESS_HALF_LIFE_KEY = "column.access.half.life";
+
+  @Builder.Default
+  private double columnPredictionConfidenceThreshold =
+      DEFAULT_COLUMN_PREDICTION_CONFIDENCE_THRESHOLD;
+
+  private static final String COLUMN_PREDICTION_CONFIDENCE_THRESHOLD_KEY =
+      "column.prediction.confidence.threshold";
+
+  @Builder.Default private String columnAccessProfilePath = DEFAULT_COLUMN_ACCESS_PROFILE_PATH;
+
+  private static final String COLUMN_ACCESS_PROFILE_PATH_KEY = "column.access.profile.path";
+
+  @Builder.Default
+  private long columnAccessProfileRefreshIntervalMs =
+      DEFAULT_COLUMN_ACCESS_PROFILE_REFRESH_INTERVAL_MS;
+
+  private static final String COLUMN_ACCESS_PROFILE_REFRESH_INTERVAL_MS_KEY =
+      "column.access.profile.refresh.interval.ms";
+
   @Builder.Default
   private String parquetFormatSelectorRegex = DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX;
 
   private static final String PARQUET_FORMAT_SELECTOR_REGEX = "parquet.format.selector.regex";
 
+  @Builder.Default private String orcFormatSelectorRegex = DEFAULT_ORC_FORMAT_SELECTOR_REGEX;
+
+  private static final String ORC_FORMAT_SELECTOR_REGEX = "orc.format.selector.regex";
+
+  @Builder.Default private String textFormatSelectorRegex = DEFAULT_TEXT_FORMAT_SELECTOR_REGEX;
+
+  private static final String TEXT_FORMAT_SELECTOR_REGEX = "text.format.selector.regex";
+
+  @Builder.Default private long sequentialReadAheadBytes = DEFAULT_SEQUENTIAL_READ_AHEAD_BYTES;
+
+  private static final String SEQUENTIAL_READ_AHEAD_BYTES_KEY = "sequential.read.ahead.bytes";
+
+  @Builder.Default
+  private long sequentialTrailingWindowBytes = DEFAULT_SEQUENTIAL_TRAILING_WINDOW_BYTES;
+
+  private static final String SEQUENTIAL_TRAILING_WINDOW_BYTES_KEY =
+      "sequential.trailing.window.bytes";
+
+  @Builder.Default
+  private boolean sequentialRecordAlignmentEnabled = DEFAULT_SEQUENTIAL_RECORD_ALIGNMENT_ENABLED;
+
+  private static final String SEQUENTIAL_RECORD_ALIGNMENT_ENABLED_KEY =
+      "sequential.record.alignment.enabled";
+
+  @Builder.Default private String arrowFormatSelectorRegex = DEFAULT_ARROW_FORMAT_SELECTOR_REGEX;
+
+  private static final String ARROW_FORMAT_SELECTOR_REGEX = "arrow.format.selector.regex";
+
+  @Builder.Default
+  private int arrowPrefetchRecordBatchCount = DEFAULT_ARROW_PREFETCH_RECORD_BATCH_COUNT;
+
+  private static final String ARROW_PREFETCH_RECORD_BATCH_COUNT_KEY =
+      "arrow.prefetch.record.batch.count";
+
+  @Builder.Default private boolean formatDetectionEnabled = DEFAULT_FORMAT_DETECTION_ENABLED;
+
+  private static final String FORMAT_DETECTION_ENABLED_KEY = "format.detection.enabled";
+
+  @Builder.Default
+  private boolean seekableCompressionEnabled = DEFAULT_SEEKABLE_COMPRESSION_ENABLED;
+
+  private static final String SEEKABLE_COMPRESSION_ENABLED_KEY = "seekable.compression.enabled";
+
+  @Builder.Default
+  private String compressedFormatSelectorRegex = DEFAULT_COMPRESSED_FORMAT_SELECTOR_REGEX;
+
+  private static final String COMPRESSED_FORMAT_SELECTOR_REGEX = "compressed.format.selector.regex";
+
+  @Builder.Default
+  private int compressedPrefetchFrameCount = DEFAULT_COMPRESSED_PREFETCH_FRAME_COUNT;
+
+  private static final String COMPRESSED_PREFETCH_FRAME_COUNT_KEY =
+      "compressed.prefetch.frame.count";
+
+  @Builder.Default private int decompressedFrameCacheSize = DEFAULT_DECOMPRESSED_FRAME_CACHE_SIZE;
+
+  private static final String DECOMPRESSED_FRAME_CACHE_SIZE_KEY = "decompressed.frame.cache.size";
+
+  @Builder.Default
+  private boolean logicalIOProvidersEnabled = DEFAULT_LOGICAL_IO_PROVIDERS_ENABLED;
+
+  private static final String LOGICAL_IO_PROVIDERS_ENABLED_KEY = "logical.io.providers.enabled";
+
+  @Builder.Default
+  private String lakehouseMetadataFormatSelectorRegex =
+      DEFAULT_LAKEHOUSE_METADATA_FORMAT_SELECTOR_REGEX;
+
+  private static final String LAKEHOUSE_METADATA_FORMAT_SELECTOR_REGEX =
+      "lakehouse.metadata.format.selector.regex";
+
+  @Builder.Default private long lakehouseMetadataMaxBytes = DEFAULT_LAKEHOUSE_METADATA_MAX_BYTES;
+
+  private static final String LAKEHOUSE_METADATA_MAX_BYTES_KEY = "lakehouse.metadata.max.bytes";
+
+  @Builder.Default
+  private long lakehouseMetadataCacheMaxBytes = DEFAULT_LAKEHOUSE_METADATA_CACHE_MAX_BYTES;
+
+  private static final String LAKEHOUSE_METADATA_CACHE_MAX_BYTES_KEY =
+      "lakehouse.metadata.cache.max.bytes";
+
+  @Builder.Default private int crossObjectLookaheadCount = DEFAULT_CROSS_OBJECT_LOOKAHEAD_COUNT;
+
+  private static final String CROSS_OBJECT_LOOKAHEAD_COUNT_KEY = "cross.object.lookahead.count";
+
+  @Builder.Default
+  private long crossObjectLookaheadFirstBlockBytes =
+      DEFAULT_CROSS_OBJECT_LOOKAHEAD_FIRST_BLOCK_BYTES;
+
+  private static final String CROSS_OBJECT_LOOKAHEAD_FIRST_BLOCK_BYTES_KEY =
+      "cross.object.lookahead.first.block.bytes";
+
+  @Builder.Default
+  private long crossObjectLookaheadMaxBytes = DEFAULT_CROSS_OBJECT_LOOKAHEAD_MAX_BYTES;
+
+  private static final String CROSS_OBJECT_LOOKAHEAD_MAX_BYTES_KEY =
+      "cross.object.lookahead.max.bytes";
+
+  @Builder.Default
+  private String parquetMetadataCacheDirectory = DEFAULT_PARQUET_METADATA_CACHE_DIRECTORY;
+
+  private static final String PARQUET_METADATA_CACHE_DIRECTORY_KEY =
+      "parquet.metadata.cache.directory";
+
+  @Builder.Default
+  private long parquetMetadataCacheMaxBytes = DEFAULT_PARQUET_METADATA_CACHE_MAX_BYTES;
+
+  private static final String PARQUET_METADATA_CACHE_MAX_BYTES_KEY =
+      "parquet.metadata.cache.max.bytes";
+
+  @Builder.Default private int prefetchExecutorThreads = DEFAULT_PREFETCH_EXECUTOR_THREADS;
+
+  private static final String PREFETCH_EXECUTOR_THREADS_KEY = "prefetch.executor.threads";
+
+  @Builder.Default private int prefetchExecutorQueueSize = DEFAULT_PREFETCH_EXECUTOR_QUEUE_SIZE;
+
+  private static final String PREFETCH_EXECUTOR_QUEUE_SIZE_KEY = "prefetch.executor.queue.size";
+
+  @Builder.Default
+  private long prefetchExecutorStaleTaskTimeoutMs = DEFAULT_PREFETCH_EXECUTOR_STALE_TASK_TIMEOUT_MS;
+
+  private static final String PREFETCH_EXECUTOR_STALE_TASK_TIMEOUT_MS_KEY =
+      "prefetch.executor.stale.task.timeout.ms";
+
   public static final LogicalIOConfiguration DEFAULT = LogicalIOConfiguration.builder().build();
 
   /**
@@ -134,6 +355,12 @@ public class LogicalIOConfiguration {
             configuration.getLong(
                 LARGE_FILE_PAGE_INDEX_PREFETCH_SIZE_KEY,
                 DEFAULT_PREFETCH_LARGE_FILE_PAGE_INDEX_SIZE))
+        .prefetchExactPageIndexEnabled(
+            configuration.getBoolean(
+                PREFETCH_EXACT_PAGE_INDEX_ENABLED_KEY, DEFAULT_PREFETCH_EXACT_PAGE_INDEX_ENABLED))
+        .prefetchPageIndexMaxGapSize(
+            configuration.getLong(
+                PREFETCH_PAGE_INDEX_MAX_GAP_SIZE_KEY, DEFAULT_PREFETCH_PAGE_INDEX_MAX_GAP_SIZE))
         .largeFileSize(configuration.getLong(LARGE_FILE_SIZE, DEFAULT_LARGE_FILE_SIZE))
         .smallObjectsPrefetchingEnabled(
             configuration.getBoolean(
@@ -144,15 +371,118 @@ public class LogicalIOConfiguration {
         .parquetMetadataStoreSize(
             configuration.getInt(
                 PARQUET_METADATA_STORE_SIZE_KEY, DEFAULT_PARQUET_METADATA_STORE_SIZE))
+        .parquetMetadataStoreMaxBytes(
+            configuration.getLong(
+                PARQUET_METADATA_STORE_MAX_BYTES_KEY, DEFAULT_PARQUET_METADATA_STORE_MAX_BYTES))
         .maxColumnAccessCountStoreSize(
             configuration.getInt(
                 MAX_COLUMN_ACCESS_STORE_SIZE_KEY, DEFAULT_MAX_COLUMN_ACCESS_STORE_SIZE))
+        .columnAccessHalfLife(
+            configuration.getInt(COLUMN_ACCESS_HALF_LIFE_KEY, DEFAULT_COLUMN_ACCESS_HALF_LIFE))
+        .columnPredictionConfidenceThreshold(
+            configuration.getDouble(
+                COLUMN_PREDICTION_CONFIDENCE_THRESHOLD_KEY,
+                DEFAULT_COLUMN_PREDICTION_CONFIDENCE_THRESHOLD))
+        .columnAccessProfilePath(
+            configuration.getString(
+                COLUMN_ACCESS_PROFILE_PATH_KEY, DEFAULT_COLUMN_ACCESS_PROFILE_PATH))
+        .columnAccessProfileRefreshIntervalMs(
+            configuration.getLong(
+                COLUMN_ACCESS_PROFILE_REFRESH_INTERVAL_MS_KEY,
+                DEFAULT_COLUMN_ACCESS_PROFILE_REFRESH_INTERVAL_MS))
         .parquetFormatSelectorRegex(
             configuration.getString(
                 PARQUET_FORMAT_SELECTOR_REGEX, DEFAULT_PARQUET_FORMAT_SELECTOR_REGEX))
+        .orcFormatSelectorRegex(
+            configuration.getString(ORC_FORMAT_SELECTOR_REGEX, DEFAULT_ORC_FORMAT_SELECTOR_REGEX))
+        .textFormatSelectorRegex(
+            configuration.getString(TEXT_FORMAT_SELECTOR_REGEX, DEFAULT_TEXT_FORMAT_SELECTOR_REGEX))
+        .sequentialReadAheadBytes(
+            configuration.getLong(
+                SEQUENTIAL_READ_AHEAD_BYTES_KEY, DEFAULT_SEQUENTIAL_READ_AHEAD_BYTES))
+        .sequentialTrailingWindowBytes(
+            configuration.getLong(
+                SEQUENTIAL_TRAILING_WINDOW_BYTES_KEY, DEFAULT_SEQUENTIAL_TRAILING_WINDOW_BYTES))
+        .sequentialRecordAlignmentEnabled(
+            configuration.getBoolean(
+                SEQUENTIAL_RECORD_ALIGNMENT_ENABLED_KEY,
+                DEFAULT_SEQUENTIAL_RECORD_ALIGNMENT_ENABLED))
+        .arrowFormatSelectorRegex(
+            configuration.getString(
+                ARROW_FORMAT_SELECTOR_REGEX, DEFAULT_ARROW_FORMAT_SELECTOR_REGEX))
+        .arrowPrefetchRecordBatchCount(
+            configuration.getInt(
+                ARROW_PREFETCH_RECORD_BATCH_COUNT_KEY, DEFAULT_ARROW_PREFETCH_RECORD_BATCH_COUNT))
+        .formatDetectionEnabled(
+            configuration.getBoolean(
+                FORMAT_DETECTION_ENABLED_KEY, DEFAULT_FORMAT_DETECTION_ENABLED))
+        .seekableCompressionEnabled(
+            configuration.getBoolean(
+                SEEKABLE_COMPRESSION_ENABLED_KEY, DEFAULT_SEEKABLE_COMPRESSION_ENABLED))
+        .compressedFormatSelectorRegex(
+            configuration.getString(
+                COMPRESSED_FORMAT_SELECTOR_REGEX, DEFAULT_COMPRESSED_FORMAT_SELECTOR_REGEX))
+        .compressedPrefetchFrameCount(
+            configuration.getInt(
+                COMPRESSED_PREFETCH_FRAME_COUNT_KEY, DEFAULT_COMPRESSED_PREFETCH_FRAME_COUNT))
+        .decompressedFrameCacheSize(
+            configuration.getInt(
+                DECOMPRESSED_FRAME_CACHE_SIZE_KEY, DEFAULT_DECOMPRESSED_FRAME_CACHE_SIZE))
+        .logicalIOProvidersEnabled(
+            configuration.getBoolean(
+                LOGICAL_IO_PROVIDERS_ENABLED_KEY, DEFAULT_LOGICAL_IO_PROVIDERS_ENABLED))
+        .lakehouseMetadataFormatSelectorRegex(
+            configuration.getString(
+                LAKEHOUSE_METADATA_FORMAT_SELECTOR_REGEX,
+                DEFAULT_LAKEHOUSE_METADATA_FORMAT_SELECTOR_REGEX))
+        .lakehouseMetadataMaxBytes(
+            configuration.getLong(
+                LAKEHOUSE_METADATA_MAX_BYTES_KEY, DEFAULT_LAKEHOUSE_METADATA_MAX_BYTES))
+        .lakehouseMetadataCacheMaxBytes(
+            configuration.getLong(
+                LAKEHOUSE_METADATA_CACHE_MAX_BYTES_KEY, DEFAULT_LAKEHOUSE_METADATA_CACHE_MAX_BYTES))
+        .crossObjectLookaheadCount(
+            configuration.getInt(
+                CROSS_OBJECT_LOOKAHEAD_COUNT_KEY, DEFAULT_CROSS_OBJECT_LOOKAHEAD_COUNT))
+        .crossObjectLookaheadFirstBlockBytes(
+            configuration.getLong(
+                CROSS_OBJECT_LOOKAHEAD_FIRST_BLOCK_BYTES_KEY,
+                DEFAULT_CROSS_OBJECT_LOOKAHEAD_FIRST_BLOCK_BYTES))
+        .crossObjectLookaheadMaxBytes(
+            configuration.getLong(
+                CROSS_OBJECT_LOOKAHEAD_MAX_BYTES_KEY, DEFAULT_CROSS_OBJECT_LOOKAHEAD_MAX_BYTES))
+        .parquetMetadataCacheDirectory(
+            configuration.getString(
+                PARQUET_METADATA_CACHE_DIRECTORY_KEY, DEFAULT_PARQUET_METADATA_CACHE_DIRECTORY))
+        .parquetMetadataCacheMaxBytes(
+            configuration.getLong(
+                PARQUET_METADATA_CACHE_MAX_BYTES_KEY, DEFAULT_PARQUET_METADATA_CACHE_MAX_BYTES))
+        .prefetchExecutorThreads(
+            configuration.getInt(PREFETCH_EXECUTOR_THREADS_KEY, DEFAULT_PREFETCH_EXECUTOR_THREADS))
+        .prefetchExecutorQueueSize(
+            configuration.getInt(
+                PREFETCH_EXECUTOR_QUEUE_SIZE_KEY, DEFAULT_PREFETCH_EXECUTOR_QUEUE_SIZE))
+        .prefetchExecutorStaleTaskTimeoutMs(
+            configuration.getLong(
+                PREFETCH_EXECUTOR_STALE_TASK_TIMEOUT_MS_KEY,
+                DEFAULT_PREFETCH_EXECUTOR_STALE_TASK_TIMEOUT_MS))
         .prefetchingMode(
             PrefetchMode.fromString(
                 configuration.getString(PREFETCHING_MODE_KEY, DEFAULT_PREFETCHING_MODE.toString())))
+        .prefetchPagesEnabled(
+            configuration.getBoolean(PREFETCH_PAGES_ENABLED_KEY, DEFAULT_PREFETCH_PAGES_ENABLED))
+        .prefetchPagesMaxGapSize(
+            configuration.getLong(
+                PREFETCH_PAGES_MAX_GAP_SIZE_KEY, DEFAULT_PREFETCH_PAGES_MAX_GAP_SIZE))
+        .rowGroupPruningEnabled(
+            configuration.getBoolean(
+                ROW_GROUP_PRUNING_ENABLED_KEY, DEFAULT_ROW_GROUP_PRUNING_ENABLED))
+        .prefetchLookaheadRowGroups(
+            configuration.getInt(
+                PREFETCH_LOOKAHEAD_ROW_GROUPS_KEY, DEFAULT_PREFETCH_LOOKAHEAD_ROW_GROUPS))
+        .prefetchLookaheadMaxBytes(
+            configuration.getLong(
+                PREFETCH_LOOKAHEAD_MAX_BYTES_KEY, DEFAULT_PREFETCH_LOOKAHEAD_MAX_BYTES))
         .build();
   }
 
@@ -167,13 +497,55 @@ public class LogicalIOConfiguration {
     builder.append("\tprefetchLargeFileMetadataSize: " + prefetchLargeFileMetadataSize + "\n");
     builder.append("\tprefetchFilePageIndexSize: " + prefetchFilePageIndexSize + "\n");
     builder.append("\tprefetchLargeFilePageIndexSize: " + prefetchLargeFilePageIndexSize + "\n");
+    builder.append("\tprefetchExactPageIndexEnabled: " + prefetchExactPageIndexEnabled + "\n");
+    builder.append("\tprefetchPageIndexMaxGapSize: " + prefetchPageIndexMaxGapSize + "\n");
     builder.append("\tlargeFileSize: " + largeFileSize + "\n");
     builder.append("\tsmallObjectsPrefetchingEnabled: " + smallObjectsPrefetchingEnabled + "\n");
     builder.append("\tsmallObjectSizeThreshold: " + smallObjectSizeThreshold + "\n");
     builder.append("\tparquetMetadataStoreSize: " + parquetMetadataStoreSize + "\n");
+    builder.append("\tparquetMetadataStoreMaxBytes: " + parquetMetadataStoreMaxBytes + "\n");
     builder.append("\tmaxColumnAccessCountStoreSize: " + maxColumnAccessCountStoreSize + "\n");
+    builder.append("\tcolumnAccessHalfLife: " + columnAccessHalfLife + "\n");
+    builder.append(
+        "\tcolumnPredictionConfidenceThreshold: " + columnPredictionConfidenceThreshold + "\n");
+    builder.append("\tcolumnAccessProfilePath: " + columnAccessProfilePath + "\n");
+    builder.append(
+        "\tcolumnAccessProfileRefreshIntervalMs: " + columnAccessProfileRefreshIntervalMs + "\n");
     builder.append("\tparquetFormatSelectorRegex: " + parquetFormatSelectorRegex + "\n");
+    builder.append("\torcFormatSelectorRegex: " + orcFormatSelectorRegex + "\n");
+    builder.append("\ttextFormatSelectorRegex: " + textFormatSelectorRegex + "\n");
+    builder.append("\tsequentialReadAheadBytes: " + sequentialReadAheadBytes + "\n");
+    builder.append("\tsequentialTrailingWindowBytes: " + sequentialTrailingWindowBytes + "\n");
+    builder.append(
+        "\tsequentialRecordAlignmentEnabled: " + sequentialRecordAlignmentEnabled + "\n");
+    builder.append("\tarrowFormatSelectorRegex: " + arrowFormatSelectorRegex + "\n");
+    builder.append("\tarrowPrefetchRecordBatchCount: " + arrowPrefetchRecordBatchCount + "\n");
+    builder.append("\tformatDetectionEnabled: " + formatDetectionEnabled + "\n");
+    builder.append("\tseekableCompressionEnabled: " + seekableCompressionEnabled + "\n");
+    builder.append("\tcompressedFormatSelectorRegex: " + compressedFormatSelectorRegex + "\n");
+    builder.append("\tcompressedPrefetchFrameCount: " + compressedPrefetchFrameCount + "\n");
+    builder.append("\tdecompressedFrameCacheSize: " + decompressedFrameCacheSize + "\n");
+    builder.append("\tlogicalIOProvidersEnabled: " + logicalIOProvidersEnabled + "\n");
+    builder.append(
+        "\tlakehouseMetadataFormatSelectorRegex: " + lakehouseMetadataFormatSelectorRegex + "\n");
+    builder.append("\tlakehouseMetadataMaxBytes: " + lakehouseMetadataMaxBytes + "\n");
+    builder.append("\tlakehouseMetadataCacheMaxBytes: " + lakehouseMetadataCacheMaxBytes + "\n");
+    builder.append("\tcrossObjectLookaheadCount: " + crossObjectLookaheadCount + "\n");
+    builder.append(
+        "\tcrossObjectLookaheadFirstBlockBytes: " + crossObjectLookaheadFirstBlockBytes + "\n");
+    builder.append("\tcrossObjectLookaheadMaxBytes: " + crossObjectLookaheadMaxBytes + "\n");
     builder.append("\tprefetchingMode: " + prefetchingMode + "\n");
+    builder.append("\tprefetchPagesEnabled: " + prefetchPagesEnabled + "\n");
+    builder.append("\tprefetchPagesMaxGapSize: " + prefetchPagesMaxGapSize + "\n");
+    builder.append("\trowGroupPruningEnabled: " + rowGroupPruningEnabled + "\n");
+    builder.append("\tprefetchLookaheadRowGroups: " + prefetchLookaheadRowGroups + "\n");
+    builder.append("\tprefetchLookaheadMaxBytes: " + prefetchLookaheadMaxBytes + "\n");
+    builder.append("\tparquetMetadataCacheDirectory: " + parquetMetadataCacheDirectory + "\n");
+    builder.append("\tparquetMetadataCacheMaxBytes: " + parquetMetadataCacheMaxBytes + "\n");
+    builder.append("\tprefetchExecutorThreads: " + prefetchExecutorThreads + "\n");
+    builder.append("\tprefetchExecutorQueueSize: " + prefetchExecutorQueueSize + "\n");
+    builder.append(
+        "\tprefetchExecutorStaleTaskTimeoutMs: " + prefetchExecutorStaleTaskTimeoutMs + "\n");
 
     return builder.toString();
   }
@@ -0,0 +1,62 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A provider of format-aware {@link LogicalIO} implementations that are not part of this library,
+ * for example ones that prefetch the data of internal columnar formats.
+ *
+ * <p>Providers are discovered with {@link java.util.ServiceLoader}: an implementation with a public
+ * no-argument constructor is registered by listing its class name in a
+ * META-INF/services/software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOProvider file on
+ * the classpath. Providers are loaded once per {@link
+ * software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamFactory} and are asked, in the
+ * order they are found, whether they support an object before the built-in formats are. They are
+ * shared by all the streams of the factory, so they have to be thread safe.
+ */
+public interface LogicalIOProvider {
+  /**
+   * Returns whether this provider creates the LogicalIO of an object. This is called for every
+   * stream that is opened, so it should be cheap, typically a match on the key of the object.
+   *
+   * @param s3URI the object's S3 URI
+   * @param configuration LogicalIO configuration
+   * @return true if this provider creates the LogicalIO of the object
+   */
+  boolean supports(S3URI s3URI, LogicalIOConfiguration configuration);
+
+  /**
+   * Creates the LogicalIO of an object this provider supports. The LogicalIO takes ownership of
+   * the passed PhysicalIO and is responsible for closing it.
+   *
+   * @param s3URI the object's S3 URI
+   * @param physicalIO the PhysicalIO to read the object with
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param configuration LogicalIO configuration
+   * @param openStreamOptions the stream context and the hints the stream is opened with
+   * @return the LogicalIO of the object
+   */
+  LogicalIO createLogicalIO(
+      S3URI s3URI,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration configuration,
+      OpenStreamOptions openStreamOptions);
+}
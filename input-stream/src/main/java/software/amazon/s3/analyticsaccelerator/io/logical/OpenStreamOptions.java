@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Options supplied by the caller when opening a stream.
+ *
+ * <p>Besides the stream context, callers that know which columns of a columnar object they are
+ * going to read can pass them as hints. Without hints, the columns to prefetch are learnt from
+ * previous reads of objects with the same schema, which does not help the first objects read by a
+ * query or objects of a schema that was not read before.
+ *
+ * <p>Callers that read a list of objects in order, such as the files of a split, can also pass the
+ * objects they read next, so that their metadata and footers are prefetched while this one is read.
+ */
+@Value
+@Builder
+public class OpenStreamOptions {
+  /** Audit headers to be attached to the requests issued for the stream. */
+  StreamContext streamContext;
+
+  /**
+   * Dot-joined paths of the columns the caller is going to read, for example {@code address.city}.
+   * Empty when not known.
+   */
+  @NonNull @Builder.Default Set<String> projectedColumns = Collections.emptySet();
+
+  /**
+   * Predicates of the filter the caller applies to the rows it reads, all of which must hold for a
+   * row to match. Used to skip prefetching row groups that can not match. Empty when not known.
+   */
+  @NonNull @Builder.Default List<ColumnPredicate> predicates = Collections.emptyList();
+
+  /**
+   * The objects the caller is going to read after this one, in the order it reads them. Empty when
+   * not known.
+   */
+  @NonNull @Builder.Default List<S3URI> upcomingObjects = Collections.emptyList();
+
+  /** Default set of options: no stream context, no column hints and no upcoming objects. */
+  public static final OpenStreamOptions DEFAULT = OpenStreamOptions.builder().build();
+
+  /**
+   * Checks if the caller hinted at the columns it is going to read.
+   *
+   * @return true if there are projected columns or predicates
+   */
+  public boolean hasColumnHints() {
+    return !projectedColumns.isEmpty() || !predicates.isEmpty();
+  }
+
+  /**
+   * Returns all columns the caller hinted at, that is, the projected columns and the columns that
+   * predicates are applied to.
+   *
+   * @return the hinted columns
+   */
+  public Set<String> getHintedColumns() {
+    Set<String> hintedColumns = new LinkedHashSet<>(projectedColumns);
+    for (ColumnPredicate predicate : predicates) {
+      hintedColumns.add(predicate.getColumnPath());
+    }
+    return hintedColumns;
+  }
+
+  /**
+   * Returns the columns that predicates are applied to.
+   *
+   * @return the filtered columns
+   */
+  public Set<String> getPredicateColumns() {
+    Set<String> predicateColumns = new LinkedHashSet<>();
+    for (ColumnPredicate predicate : predicates) {
+      predicateColumns.add(predicate.getColumnPath());
+    }
+    return predicateColumns;
+  }
+}
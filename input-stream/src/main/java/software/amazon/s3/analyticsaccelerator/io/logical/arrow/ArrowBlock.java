@@ -0,0 +1,59 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * The location of a record batch or dictionary batch of an Arrow IPC file, as recorded in the file
+ * footer. A batch is its flatbuffer message, followed by its body holding the buffers of its
+ * columns.
+ */
+@Value
+public class ArrowBlock {
+  long offset;
+  int metadataLength;
+  long bodyLength;
+
+  /**
+   * Gets the length of the batch, its message and body.
+   *
+   * @return the length of the batch
+   */
+  public long getLength() {
+    return metadataLength + bodyLength;
+  }
+
+  /**
+   * Gets the range of the batch, its message and body.
+   *
+   * @return the range of the batch in the file
+   */
+  public Range getRange() {
+    return new Range(offset, offset + getLength() - 1);
+  }
+
+  /**
+   * Checks if a position of the file falls within the batch.
+   *
+   * @param position the position
+   * @return true if the position is within the batch
+   */
+  public boolean contains(long position) {
+    return position >= offset && position < offset + getLength();
+  }
+}
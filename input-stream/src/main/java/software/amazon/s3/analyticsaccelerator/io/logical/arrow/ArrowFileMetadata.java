@@ -0,0 +1,73 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The parts of the footer of an Arrow IPC file that prefetching relies on: where each dictionary
+ * batch and each record batch is.
+ */
+@Getter
+public class ArrowFileMetadata {
+  private final List<ArrowBlock> dictionaries;
+  private final List<ArrowBlock> recordBatches;
+
+  /**
+   * Creates a new instance of {@link ArrowFileMetadata}.
+   *
+   * @param dictionaries the dictionary batches of the file
+   * @param recordBatches the record batches of the file
+   */
+  public ArrowFileMetadata(
+      @NonNull List<ArrowBlock> dictionaries, @NonNull List<ArrowBlock> recordBatches) {
+    this.dictionaries = Collections.unmodifiableList(new ArrayList<>(dictionaries));
+
+    // Writers list the record batches in file order, sort them anyway so they can be searched
+    List<ArrowBlock> sortedRecordBatches = new ArrayList<>(recordBatches);
+    sortedRecordBatches.sort(Comparator.comparingLong(ArrowBlock::getOffset));
+    this.recordBatches = Collections.unmodifiableList(sortedRecordBatches);
+  }
+
+  /**
+   * Gets the index of the record batch a position of the file falls within.
+   *
+   * @param position the position
+   * @return the index of the record batch in file order, or -1 if the position is not within one
+   */
+  public int getRecordBatchIndex(long position) {
+    int low = 0;
+    int high = recordBatches.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      ArrowBlock recordBatch = recordBatches.get(middle);
+      if (recordBatch.contains(position)) {
+        return middle;
+      }
+      if (position < recordBatch.getOffset()) {
+        high = middle - 1;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return -1;
+  }
+}
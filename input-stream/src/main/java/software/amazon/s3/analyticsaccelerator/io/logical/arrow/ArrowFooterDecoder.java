@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Decodes the footer of an Arrow IPC file, also known as a Feather V2 file, into {@link
+ * ArrowFileMetadata}.
+ *
+ * <p>An Arrow IPC file ends with its footer, followed by the length of the footer as a
+ * little-endian 32 bit value, followed by the ARROW1 magic. The footer is a FlatBuffer, of which
+ * only the dictionary and record batch blocks are decoded; the schema and the custom metadata are
+ * skipped.
+ */
+public final class ArrowFooterDecoder {
+  private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+  private static final int FOOTER_LENGTH_LENGTH = 4;
+  private static final int TRAILER_LENGTH = FOOTER_LENGTH_LENGTH + MAGIC.length;
+
+  // Field indexes of the Footer table, from File.fbs
+  private static final int FOOTER_DICTIONARIES = 2;
+  private static final int FOOTER_RECORD_BATCHES = 3;
+
+  // Layout of the Block struct, from File.fbs
+  private static final int BLOCK_LENGTH = 24;
+  private static final int BLOCK_OFFSET = 0;
+  private static final int BLOCK_METADATA_LENGTH = 8;
+  private static final int BLOCK_BODY_LENGTH = 16;
+
+  private ArrowFooterDecoder() {}
+
+  /**
+   * Gets the length of the tail of an Arrow IPC file that has to be read to decode its metadata,
+   * that is its footer, footer length and magic. Only the footer length and magic are decoded, so
+   * the tail passed in only has to hold those.
+   *
+   * @param buffer the buffer holding the end of the file
+   * @param offset the offset of the end of the file in the buffer
+   * @param length the length of the end of the file in the buffer
+   * @return the length of the tail to read
+   * @throws IOException if the file does not end with the Arrow magic
+   */
+  public static long getTailLength(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    return (long) readFooterLength(buffer, offset, length) + TRAILER_LENGTH;
+  }
+
+  /**
+   * Decodes the tail of an Arrow IPC file.
+   *
+   * @param buffer the buffer holding the tail of the file
+   * @param offset the offset of the tail in the buffer
+   * @param length the length of the tail, which has to hold the whole footer
+   * @return the metadata of the file
+   * @throws IOException if the tail is malformed or does not hold the whole footer
+   */
+  public static ArrowFileMetadata decodeFooter(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    int footerLength = readFooterLength(buffer, offset, length);
+    if (footerLength > length - TRAILER_LENGTH) {
+      throw new IOException(
+          String.format(
+              "Arrow footer of %d bytes is larger than the %d byte tail", footerLength, length));
+    }
+
+    FlatBufferReader reader =
+        new FlatBufferReader(buffer, offset + length - TRAILER_LENGTH - footerLength, footerLength);
+    int footer = reader.getRootTable();
+    return new ArrowFileMetadata(
+        readBlocks(reader, footer, FOOTER_DICTIONARIES),
+        readBlocks(reader, footer, FOOTER_RECORD_BATCHES));
+  }
+
+  private static List<ArrowBlock> readBlocks(FlatBufferReader reader, int table, int field)
+      throws IOException {
+    List<ArrowBlock> blocks = new ArrayList<>();
+    int vector = reader.getVector(table, field);
+    if (vector < 0) {
+      return blocks;
+    }
+
+    int blockCount = reader.getVectorLength(vector, BLOCK_LENGTH);
+    for (int i = 0; i < blockCount; i++) {
+      int block = vector + 4 + i * BLOCK_LENGTH;
+      ArrowBlock arrowBlock =
+          new ArrowBlock(
+              reader.readLong(block + BLOCK_OFFSET),
+              reader.readInt(block + BLOCK_METADATA_LENGTH),
+              reader.readLong(block + BLOCK_BODY_LENGTH));
+      if (arrowBlock.getOffset() < 0
+          || arrowBlock.getMetadataLength() < 0
+          || arrowBlock.getBodyLength() < 0) {
+        throw new IOException(String.format("Invalid Arrow block %s", arrowBlock));
+      }
+      blocks.add(arrowBlock);
+    }
+    return blocks;
+  }
+
+  private static int readFooterLength(byte[] buffer, int offset, int length) throws IOException {
+    if (length < TRAILER_LENGTH) {
+      throw new IOException(String.format("Arrow tail of %d bytes is too short", length));
+    }
+    int magicOffset = offset + length - MAGIC.length;
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (buffer[magicOffset + i] != MAGIC[i]) {
+        throw new IOException("Object does not end with the Arrow magic");
+      }
+    }
+
+    int footerLength =
+        new FlatBufferReader(buffer, magicOffset - FOOTER_LENGTH_LENGTH, FOOTER_LENGTH_LENGTH)
+            .readInt(0);
+    if (footerLength < 0) {
+      throw new IOException(String.format("Invalid Arrow footer length %d", footerLength));
+    }
+    return footerLength;
+  }
+
+  private static void checkBounds(byte[] buffer, int offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "`offset` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        offset <= buffer.length - length, "`offset` and `length` must be within the buffer");
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for prefetching and reading the tail of an Arrow IPC file, and decoding its metadata from
+ * it.
+ *
+ * <p>The tail is prefetched with the same size as the tail of a Parquet file,
+ * prefetchFileMetadataSize in {@link LogicalIOConfiguration}, or prefetchLargeFileMetadataSize for
+ * files larger than largeFileSize. If the footer of the file turns out to be larger than that, the
+ * rest of it is read once the footer length is decoded.
+ */
+public class ArrowReadTailTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private static final String OPERATION_ARROW_PREFETCH_TAIL = "arrow.task.prefetch.tail";
+  private static final String OPERATION_ARROW_READ_TAIL = "arrow.task.read.tail";
+  private static final Logger LOG = LoggerFactory.getLogger(ArrowReadTailTask.class);
+
+  /**
+   * Creates a new instance of {@link ArrowReadTailTask}.
+   *
+   * @param s3URI the S3URI of the object to read
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   */
+  public ArrowReadTailTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+  }
+
+  /**
+   * Prefetches the tail of the Arrow IPC file.
+   *
+   * @return the ranges prefetched
+   */
+  public List<Range> prefetchTail() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ARROW_PREFETCH_TAIL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            long contentLength = physicalIO.metadata().getContentLength();
+            long tailLength = getTailPrefetchLength(contentLength);
+            if (tailLength == 0) {
+              return Collections.<Range>emptyList();
+            }
+
+            IOPlan ioPlan = new IOPlan(new Range(contentLength - tailLength, contentLength - 1));
+            physicalIO.execute(ioPlan);
+            return ioPlan.getPrefetchRanges();
+          } catch (Exception e) {
+            LOG.warn(
+                "Unable to prefetch file tail for {}, arrow prefetch optimisations will be disabled for this key.",
+                this.s3URI.getKey(),
+                e);
+            throw new CompletionException("Error in executing tail prefetch plan", e);
+          }
+        });
+  }
+
+  /**
+   * Reads the tail of the Arrow IPC file and decodes its metadata.
+   *
+   * @return the metadata of the file
+   */
+  public ArrowFileMetadata readFileMetadata() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ARROW_READ_TAIL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            long contentLength = physicalIO.metadata().getContentLength();
+            byte[] tail = readTail((int) getTailPrefetchLength(contentLength));
+
+            long tailLength = ArrowFooterDecoder.getTailLength(tail, 0, tail.length);
+            if (tailLength > tail.length) {
+              if (tailLength > contentLength) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Arrow tail of %d bytes is larger than the object, %d bytes",
+                        tailLength, contentLength));
+              }
+              tail = readTail((int) tailLength);
+            }
+            return ArrowFooterDecoder.decodeFooter(tail, 0, tail.length);
+          } catch (Exception e) {
+            LOG.warn(
+                "Unable to read file tail for {}, arrow prefetch optimisations will be disabled for this key.",
+                s3URI.getKey(),
+                e);
+            throw new CompletionException("Error in getting file tail", e);
+          }
+        });
+  }
+
+  private byte[] readTail(int length) throws IOException {
+    byte[] tail = new byte[length];
+    int read = physicalIO.readTail(tail, 0, length);
+    if (read != length) {
+      throw new IOException(
+          String.format("Read %d bytes of the Arrow tail, expected %d", read, length));
+    }
+    return tail;
+  }
+
+  private long getTailPrefetchLength(long contentLength) {
+    long tailLength =
+        contentLength > logicalIOConfiguration.getLargeFileSize()
+            ? logicalIOConfiguration.getPrefetchLargeFileMetadataSize()
+            : logicalIOConfiguration.getPrefetchFileMetadataSize();
+    return Math.min(tailLength, contentLength);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for prefetching the dictionary and record batches of an Arrow IPC file.
+ *
+ * <p>Readers read all dictionary batches before any record batch, so the dictionary batches are
+ * prefetched as soon as the footer is decoded. When a read first lands within a record batch, the
+ * whole batch is prefetched with one request instead of a request per buffer. If the batch follows
+ * the one read before, the reader is taken to be consuming the file sequentially, and the next
+ * arrowPrefetchRecordBatchCount batches are prefetched along with it.
+ */
+public class ArrowRecordBatchPrefetchingTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+
+  // Record batches prefetched so far, and the one read last
+  private final BitSet prefetchedRecordBatches = new BitSet();
+  private int lastRecordBatchIndex = -1;
+
+  private static final String OPERATION_ARROW_PREFETCH_DICTIONARIES =
+      "arrow.task.prefetch.dictionaries";
+  private static final String OPERATION_ARROW_PREFETCH_RECORD_BATCHES =
+      "arrow.task.prefetch.record.batches";
+  private static final Logger LOG = LoggerFactory.getLogger(ArrowRecordBatchPrefetchingTask.class);
+
+  /**
+   * Creates a new instance of {@link ArrowRecordBatchPrefetchingTask}.
+   *
+   * @param s3URI the S3URI of the object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   */
+  public ArrowRecordBatchPrefetchingTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+  }
+
+  /**
+   * Prefetches the dictionary batches of the file.
+   *
+   * @param fileMetadata the metadata of the file
+   * @return result of plan execution
+   */
+  public IOPlanExecution prefetchDictionaries(@NonNull ArrowFileMetadata fileMetadata) {
+    return prefetch(
+        OPERATION_ARROW_PREFETCH_DICTIONARIES, toRanges(fileMetadata.getDictionaries()));
+  }
+
+  /**
+   * Prefetches the record batch a read lands within if it has not been prefetched yet, along with
+   * the batches following it if the file is being read sequentially.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param position the position of the read
+   * @return result of plan execution
+   */
+  public synchronized IOPlanExecution prefetchRecordBatches(
+      @NonNull ArrowFileMetadata fileMetadata, long position) {
+    int recordBatchIndex = fileMetadata.getRecordBatchIndex(position);
+    if (recordBatchIndex < 0) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    int lastIndexToPrefetch = recordBatchIndex;
+    if (recordBatchIndex == lastRecordBatchIndex + 1) {
+      lastIndexToPrefetch =
+          (int)
+              Math.min(
+                  (long) recordBatchIndex
+                      + logicalIOConfiguration.getArrowPrefetchRecordBatchCount(),
+                  fileMetadata.getRecordBatches().size() - 1);
+    }
+    lastRecordBatchIndex = recordBatchIndex;
+
+    List<ArrowBlock> recordBatches = new ArrayList<>();
+    for (int i = recordBatchIndex; i <= lastIndexToPrefetch; i++) {
+      if (!prefetchedRecordBatches.get(i)) {
+        prefetchedRecordBatches.set(i);
+        recordBatches.add(fileMetadata.getRecordBatches().get(i));
+      }
+    }
+    return prefetch(OPERATION_ARROW_PREFETCH_RECORD_BATCHES, toRanges(recordBatches));
+  }
+
+  private IOPlanExecution prefetch(String operationName, List<Range> ranges) {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(operationName)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            if (ranges.isEmpty()) {
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            }
+            return physicalIO.execute(new IOPlan(ranges));
+          } catch (Throwable t) {
+            LOG.warn("Unable to prefetch batches for {}.", this.s3URI.getKey(), t);
+            return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+          }
+        });
+  }
+
+  private static List<Range> toRanges(List<ArrowBlock> blocks) {
+    List<Range> ranges = new ArrayList<>();
+    for (ArrowBlock block : blocks) {
+      if (block.getLength() > 0) {
+        ranges.add(block.getRange());
+      }
+    }
+    return ranges;
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import java.io.IOException;
+
+/**
+ * A minimal reader of the FlatBuffers format, which the footer of an Arrow IPC file is encoded in.
+ * Positions are relative to the start of the buffer the reader was created with.
+ *
+ * <p>A table starts with the signed offset of its vtable, counted back from the table. The vtable
+ * holds its own length, the length of the table, and then the offset of each field within the
+ * table, 0 for fields that are not present. Fields that are tables or vectors hold the unsigned
+ * offset of their value, counted forward from the field. A vector starts with its number of
+ * elements. All values are little-endian.
+ */
+final class FlatBufferReader {
+  private static final int VTABLE_HEADER_LENGTH = 4;
+
+  private final byte[] buffer;
+  private final int offset;
+  private final int length;
+
+  /**
+   * Creates a reader of the bytes of a FlatBuffer.
+   *
+   * @param buffer the buffer holding the FlatBuffer
+   * @param offset the offset of the FlatBuffer in the buffer
+   * @param length the length of the FlatBuffer
+   */
+  FlatBufferReader(byte[] buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Gets the position of the root table.
+   *
+   * @return the position of the root table
+   * @throws IOException if the FlatBuffer is malformed
+   */
+  int getRootTable() throws IOException {
+    return readOffset(0);
+  }
+
+  /**
+   * Gets the position of a field of a table.
+   *
+   * @param table the position of the table
+   * @param field the index of the field, in declaration order
+   * @return the position of the field, or -1 if it is not present
+   * @throws IOException if the FlatBuffer is malformed
+   */
+  int getField(int table, int field) throws IOException {
+    int vtable = checkPosition((long) table - readInt(table), VTABLE_HEADER_LENGTH);
+    int entry = VTABLE_HEADER_LENGTH + 2 * field;
+    if (entry + 2 > readShort(vtable)) {
+      return -1;
+    }
+
+    int fieldOffset = readShort(vtable + entry);
+    return fieldOffset == 0 ? -1 : checkPosition((long) table + fieldOffset, 0);
+  }
+
+  /**
+   * Gets the position of a vector held by a field of a table.
+   *
+   * @param table the position of the table
+   * @param field the index of the field, in declaration order
+   * @return the position of the vector, or -1 if the field is not present
+   * @throws IOException if the FlatBuffer is malformed
+   */
+  int getVector(int table, int field) throws IOException {
+    int position = getField(table, field);
+    return position < 0 ? -1 : readOffset(position);
+  }
+
+  /**
+   * Gets the number of elements of a vector, checking that they are all within the FlatBuffer.
+   *
+   * @param vector the position of the vector
+   * @param elementLength the length of each element of the vector
+   * @return the number of elements
+   * @throws IOException if the FlatBuffer is malformed
+   */
+  int getVectorLength(int vector, int elementLength) throws IOException {
+    int vectorLength = readInt(vector);
+    if (vectorLength < 0) {
+      throw new IOException(String.format("Invalid vector length %d", vectorLength));
+    }
+    checkPosition(vector + 4L, (long) vectorLength * elementLength);
+    return vectorLength;
+  }
+
+  /**
+   * Reads a little-endian 16 bit unsigned value.
+   *
+   * @param position the position of the value
+   * @return the value
+   * @throws IOException if the value is not within the FlatBuffer
+   */
+  int readShort(int position) throws IOException {
+    int index = offset + checkPosition(position, 2);
+    return (buffer[index] & 0xFF) | (buffer[index + 1] & 0xFF) << 8;
+  }
+
+  /**
+   * Reads a little-endian 32 bit signed value.
+   *
+   * @param position the position of the value
+   * @return the value
+   * @throws IOException if the value is not within the FlatBuffer
+   */
+  int readInt(int position) throws IOException {
+    int index = offset + checkPosition(position, 4);
+    return (buffer[index] & 0xFF)
+        | (buffer[index + 1] & 0xFF) << 8
+        | (buffer[index + 2] & 0xFF) << 16
+        | (buffer[index + 3] & 0xFF) << 24;
+  }
+
+  /**
+   * Reads a little-endian 64 bit signed value.
+   *
+   * @param position the position of the value
+   * @return the value
+   * @throws IOException if the value is not within the FlatBuffer
+   */
+  long readLong(int position) throws IOException {
+    checkPosition(position, 8);
+    return (readInt(position) & 0xFFFFFFFFL) | (long) readInt(position + 4) << 32;
+  }
+
+  private int readOffset(int position) throws IOException {
+    return checkPosition((long) position + (readInt(position) & 0xFFFFFFFFL), 0);
+  }
+
+  private int checkPosition(long position, long size) throws IOException {
+    if (position < 0 || position + size > length) {
+      throw new IOException(
+          String.format(
+              "Position %d of a %d byte value is outside of the %d byte FlatBuffer",
+              position, size, length));
+    }
+    return (int) position;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * A frame of a seekable compressed object, the unit it can be decompressed in. A frame maps a range
+ * of the compressed object to a range of its uncompressed content.
+ */
+@Value
+public class CompressedFrame {
+  long compressedOffset;
+  int compressedLength;
+  long uncompressedOffset;
+  int uncompressedLength;
+
+  /**
+   * Gets the range of the frame in the compressed object.
+   *
+   * @return the range of the compressed frame
+   */
+  public Range getCompressedRange() {
+    return new Range(compressedOffset, compressedOffset + compressedLength - 1);
+  }
+
+  /**
+   * Checks if a position of the uncompressed content falls within the frame.
+   *
+   * @param position the uncompressed position
+   * @return true if the position is within the frame
+   */
+  public boolean contains(long position) {
+    return position >= uncompressedOffset && position < uncompressedOffset + uncompressedLength;
+  }
+}
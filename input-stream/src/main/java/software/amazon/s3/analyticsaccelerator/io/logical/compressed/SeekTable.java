@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * The seek table of a seekable compressed object: how it is compressed, and the frames its
+ * uncompressed content is split into, in order.
+ */
+@Getter
+public class SeekTable {
+  private final SeekableCompression compression;
+  private final List<CompressedFrame> frames;
+  private final long uncompressedLength;
+
+  /**
+   * Creates a new instance of {@link SeekTable}.
+   *
+   * @param compression how the frames are compressed
+   * @param frames the frames, which must cover the uncompressed content in order without gaps
+   */
+  public SeekTable(
+      @NonNull SeekableCompression compression, @NonNull List<CompressedFrame> frames) {
+    long uncompressedOffset = 0;
+    for (CompressedFrame frame : frames) {
+      Preconditions.checkArgument(
+          frame.getUncompressedOffset() == uncompressedOffset,
+          "`frames` must cover the uncompressed content in order");
+      uncompressedOffset += frame.getUncompressedLength();
+    }
+
+    this.compression = compression;
+    this.frames = Collections.unmodifiableList(new ArrayList<>(frames));
+    this.uncompressedLength = uncompressedOffset;
+  }
+
+  /**
+   * Gets the index of the frame a position of the uncompressed content falls within.
+   *
+   * @param position the uncompressed position
+   * @return the index of the frame, or -1 if the position is not within the content
+   */
+  public int getFrameIndex(long position) {
+    int low = 0;
+    int high = frames.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      CompressedFrame frame = frames.get(middle);
+      if (frame.contains(position)) {
+        return middle;
+      }
+      if (position < frame.getUncompressedOffset()) {
+        high = middle - 1;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Decodes the seek tables of seekable compressed objects into {@link SeekTable}.
+ *
+ * <p>A BGZF object ends with an empty EOF block, and keeps its index in a separate .gzi object,
+ * which holds the compressed and uncompressed offset of every block but the first. The uncompressed
+ * length of the last block is not in the index, so it is taken from the gzip trailer of the block,
+ * just before the EOF block.
+ */
+public final class SeekTableDecoder {
+  // The empty block every BGZF object ends with, from the SAM/BAM specification
+  private static final byte[] BGZF_EOF_BLOCK = {
+    0x1f, (byte) 0x8b, 0x08, 0x04, 0x00, 0x00, 0x00, 0x00, 0x00, (byte) 0xff, 0x06, 0x00, 0x42,
+    0x43, 0x02, 0x00, 0x1b, 0x00, 0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+  };
+  private static final int BGZF_ISIZE_LENGTH = 4;
+  private static final int BGZF_MAX_BLOCK_LENGTH = 64 * 1024;
+  private static final int BGZF_INDEX_HEADER_LENGTH = 8;
+  private static final int BGZF_INDEX_ENTRY_LENGTH = 16;
+
+  /** The length of the tail that holds the EOF block and the length of the last block. */
+  public static final int MIN_TAIL_LENGTH = BGZF_EOF_BLOCK.length + BGZF_ISIZE_LENGTH;
+
+  private SeekTableDecoder() {}
+
+  /**
+   * Gets the uncompressed length of the last block of a BGZF object, from the gzip trailer that
+   * precedes the EOF block.
+   *
+   * @param buffer the buffer holding the end of the object
+   * @param offset the offset of the end of the object in the buffer
+   * @param length the length of the end of the object in the buffer, at least {@link
+   *     #MIN_TAIL_LENGTH} unless the object is only its EOF block
+   * @return the uncompressed length of the last block, 0 if there is none
+   * @throws IOException if the object does not end with a BGZF EOF block
+   */
+  public static int getBgzfLastBlockLength(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    if (!endsWithBgzfEofBlock(buffer, offset, length)) {
+      throw new IOException("Object does not end with a BGZF EOF block");
+    }
+    if (length == BGZF_EOF_BLOCK.length) {
+      return 0;
+    }
+    if (length < MIN_TAIL_LENGTH) {
+      throw new IOException(String.format("BGZF tail of %d bytes is too short", length));
+    }
+
+    int lastBlockLength = readInt(buffer, offset + length - MIN_TAIL_LENGTH);
+    if (lastBlockLength < 0 || lastBlockLength > BGZF_MAX_BLOCK_LENGTH) {
+      throw new IOException(String.format("Invalid BGZF block length %d", lastBlockLength));
+    }
+    return lastBlockLength;
+  }
+
+  /**
+   * Decodes the .gzi index of a BGZF object.
+   *
+   * @param buffer the buffer holding the index
+   * @param offset the offset of the index in the buffer
+   * @param length the length of the index
+   * @param compressedLength the length of the object
+   * @param lastBlockLength the uncompressed length of the last block of the object
+   * @return the seek table of the object
+   * @throws IOException if the index is malformed, or does not match the object
+   */
+  public static SeekTable decodeBgzfIndex(
+      @NonNull byte[] buffer, int offset, int length, long compressedLength, int lastBlockLength)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    if (length < BGZF_INDEX_HEADER_LENGTH) {
+      throw new IOException(String.format("BGZF index of %d bytes is too short", length));
+    }
+    long entryCount = readLong(buffer, offset);
+    if (entryCount < 0
+        || entryCount > (length - BGZF_INDEX_HEADER_LENGTH) / BGZF_INDEX_ENTRY_LENGTH) {
+      throw new IOException(String.format("Invalid BGZF index entry count %d", entryCount));
+    }
+
+    // Block boundaries, from the implicit first block to the EOF block
+    long eofBlockOffset = compressedLength - BGZF_EOF_BLOCK.length;
+    if (eofBlockOffset == 0) {
+      return new SeekTable(SeekableCompression.BGZF, Collections.emptyList());
+    }
+    List<long[]> boundaries = new ArrayList<>();
+    boundaries.add(new long[] {0, 0});
+    for (int i = 0; i < entryCount; i++) {
+      int entry = offset + BGZF_INDEX_HEADER_LENGTH + i * BGZF_INDEX_ENTRY_LENGTH;
+      long blockCompressedOffset = readLong(buffer, entry);
+      long blockUncompressedOffset = readLong(buffer, entry + 8);
+      // Some writers index the EOF block too
+      if (blockCompressedOffset < eofBlockOffset) {
+        boundaries.add(new long[] {blockCompressedOffset, blockUncompressedOffset});
+      }
+    }
+    long[] lastBlock = boundaries.get(boundaries.size() - 1);
+    boundaries.add(new long[] {eofBlockOffset, lastBlock[1] + lastBlockLength});
+
+    List<CompressedFrame> frames = new ArrayList<>(boundaries.size() - 1);
+    for (int i = 0; i < boundaries.size() - 1; i++) {
+      long[] start = boundaries.get(i);
+      long[] end = boundaries.get(i + 1);
+      long blockCompressedLength = end[0] - start[0];
+      long blockUncompressedLength = end[1] - start[1];
+      if (blockCompressedLength <= 0
+          || blockCompressedLength > BGZF_MAX_BLOCK_LENGTH
+          || blockUncompressedLength < 0
+          || blockUncompressedLength > BGZF_MAX_BLOCK_LENGTH) {
+        throw new IOException(
+            String.format("Invalid BGZF block at %d in the index of the object", start[0]));
+      }
+      frames.add(
+          new CompressedFrame(
+              start[0], (int) blockCompressedLength, start[1], (int) blockUncompressedLength));
+    }
+    return new SeekTable(SeekableCompression.BGZF, frames);
+  }
+
+  private static boolean endsWithBgzfEofBlock(byte[] buffer, int offset, int length) {
+    if (length < BGZF_EOF_BLOCK.length) {
+      return false;
+    }
+    int eofBlock = offset + length - BGZF_EOF_BLOCK.length;
+    for (int i = 0; i < BGZF_EOF_BLOCK.length; i++) {
+      if (buffer[eofBlock + i] != BGZF_EOF_BLOCK[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int readInt(byte[] buffer, int offset) {
+    return (buffer[offset] & 0xff)
+        | (buffer[offset + 1] & 0xff) << 8
+        | (buffer[offset + 2] & 0xff) << 16
+        | (buffer[offset + 3] & 0xff) << 24;
+  }
+
+  private static long readLong(byte[] buffer, int offset) {
+    return (readInt(buffer, offset) & 0xffffffffL) | (long) readInt(buffer, offset + 4) << 32;
+  }
+
+  private static void checkBounds(byte[] buffer, int offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "`offset` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        offset <= buffer.length - length, "`offset` and `length` must be within the buffer");
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for reading the seek table of a seekable compressed object.
+ *
+ * <p>The tail is read with the same size as the tail of a Parquet file, prefetchFileMetadataSize in
+ * {@link LogicalIOConfiguration}, or prefetchLargeFileMetadataSize for objects larger than
+ * largeFileSize. The index of a BGZF object is read from the .gzi object next to it.
+ */
+public class SeekTableReadTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private final PhysicalIO indexPhysicalIO;
+  private static final String OPERATION_COMPRESSED_READ_SEEK_TABLE =
+      "compressed.task.read.seek.table";
+  private static final Logger LOG = LoggerFactory.getLogger(SeekTableReadTask.class);
+
+  /**
+   * Creates a new instance of {@link SeekTableReadTask}.
+   *
+   * @param s3URI the S3URI of the object to read
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance of the object
+   * @param indexPhysicalIO PhysicalIO instance of the .gzi index of the object
+   */
+  public SeekTableReadTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull PhysicalIO indexPhysicalIO) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+    this.indexPhysicalIO = indexPhysicalIO;
+  }
+
+  /**
+   * Reads the tail and the index of the object, and decodes the seek table.
+   *
+   * @return the seek table of the object
+   */
+  public SeekTable readSeekTable() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_COMPRESSED_READ_SEEK_TABLE)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            long contentLength = physicalIO.metadata().getContentLength();
+            byte[] tail = readTail(physicalIO, (int) getTailLength(contentLength));
+            return readBgzfIndex(tail, contentLength);
+          } catch (Exception e) {
+            LOG.debug("Unable to read seek table for {}.", s3URI.getKey(), e);
+            throw new CompletionException("Error in reading seek table", e);
+          }
+        });
+  }
+
+  private SeekTable readBgzfIndex(byte[] tail, long contentLength) throws IOException {
+    int lastBlockLength = SeekTableDecoder.getBgzfLastBlockLength(tail, 0, tail.length);
+    long indexLength = indexPhysicalIO.metadata().getContentLength();
+    if (indexLength > Integer.MAX_VALUE) {
+      throw new IOException(String.format("BGZF index of %d bytes is too large", indexLength));
+    }
+    byte[] index = readTail(indexPhysicalIO, (int) indexLength);
+    return SeekTableDecoder.decodeBgzfIndex(index, 0, index.length, contentLength, lastBlockLength);
+  }
+
+  private static byte[] readTail(PhysicalIO physicalIO, int length) throws IOException {
+    byte[] tail = new byte[length];
+    int read = physicalIO.readTail(tail, 0, length);
+    if (read != length) {
+      throw new IOException(String.format("Read %d bytes of the tail, expected %d", read, length));
+    }
+    return tail;
+  }
+
+  private long getTailLength(long contentLength) {
+    long tailLength =
+        contentLength > logicalIOConfiguration.getLargeFileSize()
+            ? logicalIOConfiguration.getPrefetchLargeFileMetadataSize()
+            : logicalIOConfiguration.getPrefetchFileMetadataSize();
+    return Math.min(Math.max(tailLength, SeekTableDecoder.MIN_TAIL_LENGTH), contentLength);
+  }
+}
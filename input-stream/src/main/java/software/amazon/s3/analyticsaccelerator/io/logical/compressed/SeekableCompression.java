@@ -0,0 +1,125 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.NonNull;
+
+/**
+ * The compression formats of seekable compressed objects. They split the content into frames which
+ * are compressed independently, so any frame can be decompressed without the ones before it.
+ *
+ * <p>BGZF is the blocked gzip format, where each block of at most 64 KB is a gzip member of its
+ * own, which the JDK can inflate. Formats such as zstd seekable need a codec this library does not
+ * depend on, and are not supported.
+ */
+public enum SeekableCompression {
+  BGZF;
+
+  // Layout of a gzip member, from RFC 1952
+  private static final int GZIP_ID1 = 0x1f;
+  private static final int GZIP_ID2 = 0x8b;
+  private static final int GZIP_CM_DEFLATE = 8;
+  private static final int GZIP_FLG_FEXTRA = 0x04;
+  private static final int GZIP_HEADER_LENGTH = 10;
+  private static final int GZIP_XLEN_LENGTH = 2;
+  private static final int GZIP_TRAILER_LENGTH = 8;
+
+  /**
+   * Decompresses a frame compressed this way.
+   *
+   * @param buffer the buffer holding the compressed frame
+   * @param offset the offset of the compressed frame in the buffer
+   * @param length the length of the compressed frame
+   * @param uncompressedLength the length of the frame once decompressed, from the seek table
+   * @return the decompressed frame
+   * @throws IOException if the frame is malformed
+   */
+  public byte[] decompress(@NonNull byte[] buffer, int offset, int length, int uncompressedLength)
+      throws IOException {
+    if (offset < 0 || length < 0 || offset > buffer.length - length || uncompressedLength < 0) {
+      throw new IOException("Invalid bounds of compressed frame");
+    }
+    return inflateGzipMember(buffer, offset, length, uncompressedLength);
+  }
+
+  private static byte[] inflateGzipMember(
+      byte[] buffer, int offset, int length, int uncompressedLength) throws IOException {
+    int headerLength = GZIP_HEADER_LENGTH + GZIP_XLEN_LENGTH;
+    if (length < headerLength + GZIP_TRAILER_LENGTH
+        || (buffer[offset] & 0xff) != GZIP_ID1
+        || (buffer[offset + 1] & 0xff) != GZIP_ID2
+        || buffer[offset + 2] != GZIP_CM_DEFLATE
+        || buffer[offset + 3] != GZIP_FLG_FEXTRA) {
+      throw new IOException("Malformed BGZF block header");
+    }
+    headerLength += readShort(buffer, offset + GZIP_HEADER_LENGTH);
+    int dataLength = length - headerLength - GZIP_TRAILER_LENGTH;
+    if (dataLength < 0) {
+      throw new IOException("Truncated BGZF block");
+    }
+
+    int trailer = offset + length - GZIP_TRAILER_LENGTH;
+    if (readInt(buffer, trailer + 4) != uncompressedLength) {
+      throw new IOException(
+          String.format(
+              "BGZF block holds %d bytes, expected %d",
+              readInt(buffer, trailer + 4) & 0xffffffffL, uncompressedLength));
+    }
+
+    byte[] uncompressed = new byte[uncompressedLength];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(buffer, offset + headerLength, dataLength);
+      int inflated = 0;
+      while (inflated < uncompressedLength && !inflater.finished()) {
+        int read = inflater.inflate(uncompressed, inflated, uncompressedLength - inflated);
+        if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Truncated BGZF block");
+        }
+        inflated += read;
+      }
+      if (inflated != uncompressedLength) {
+        throw new IOException("Truncated BGZF block");
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Malformed BGZF block", e);
+    } finally {
+      inflater.end();
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(uncompressed, 0, uncompressedLength);
+    if ((int) crc.getValue() != readInt(buffer, trailer)) {
+      throw new IOException("BGZF block checksum mismatch");
+    }
+    return uncompressed;
+  }
+
+  private static int readShort(byte[] buffer, int offset) {
+    return (buffer[offset] & 0xff) | (buffer[offset + 1] & 0xff) << 8;
+  }
+
+  private static int readInt(byte[] buffer, int offset) {
+    return (buffer[offset] & 0xff)
+        | (buffer[offset + 1] & 0xff) << 8
+        | (buffer[offset + 2] & 0xff) << 16
+        | (buffer[offset + 3] & 0xff) << 24;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An Arrow-aware implementation of a LogicalIO layer, for Arrow IPC files, also known as Feather V2
+ * files. It is capable of prefetching file tails, decoding where the record batches are from the
+ * footer, and prefetching the batches as they are consumed.
+ */
+public class ArrowLogicalIOImpl extends DefaultLogicalIOImpl {
+  // Dependencies
+  private final ArrowPrefetcher arrowPrefetcher;
+
+  /**
+   * Constructs an instance of ArrowLogicalIOImpl.
+   *
+   * @param s3URI s3URI pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param prefetchExecutor executor to run prefetching tasks on
+   */
+  public ArrowLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor) {
+    super(s3URI, physicalIO, telemetry);
+
+    // Initialise prefetcher and start prefetching
+    this.arrowPrefetcher =
+        new ArrowPrefetcher(
+            s3URI, physicalIO, telemetry, logicalIOConfiguration, prefetchExecutor);
+    this.arrowPrefetcher.prefetchFooterAndBuildMetadata();
+  }
+
+  /**
+   * Reads data into the provided buffer, prefetching the record batches being consumed.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the position to begin reading from
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    this.arrowPrefetcher.prefetchRecordBatches(position);
+
+    return super.read(buf, off, len, position);
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowReadTailTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowRecordBatchPrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * An Arrow prefetcher is a common place for all Arrow-related prefetching activity: prefetching and
+ * reading the tail, building the record batch offset map from the footer, and prefetching the
+ * dictionary and record batches as they are consumed.
+ *
+ * <p>The Arrow prefetcher swallows all exceptions arising from the tasks it schedules because
+ * exceptions do not escape CompletableFutures.
+ */
+public class ArrowPrefetcher {
+  private final S3URI s3URI;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final Telemetry telemetry;
+  private final PrefetchExecutor prefetchExecutor;
+
+  // Tasks
+  private final ArrowReadTailTask arrowReadTailTask;
+  private final ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask;
+
+  // Set once the footer is decoded, record batches are not prefetched until then
+  private volatile ArrowFileMetadata fileMetadata;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ArrowPrefetcher.class);
+
+  private static final String OPERATION_ARROW_PREFETCH_FOOTER_AND_METADATA =
+      "arrow.prefetcher.prefetch.footer.and.metadata.async";
+
+  /**
+   * Constructs an ArrowPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param prefetchExecutor the executor to run prefetching tasks on
+   */
+  public ArrowPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor) {
+    this(
+        s3URI,
+        logicalIOConfiguration,
+        telemetry,
+        prefetchExecutor,
+        new ArrowReadTailTask(s3URI, telemetry, logicalIOConfiguration, physicalIO),
+        new ArrowRecordBatchPrefetchingTask(s3URI, telemetry, logicalIOConfiguration, physicalIO));
+  }
+
+  ArrowPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull Telemetry telemetry,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull ArrowReadTailTask arrowReadTailTask,
+      @NonNull ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask) {
+    this.s3URI = s3URI;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.telemetry = telemetry;
+    this.prefetchExecutor = prefetchExecutor;
+    this.arrowReadTailTask = arrowReadTailTask;
+    this.arrowRecordBatchPrefetchingTask = arrowRecordBatchPrefetchingTask;
+  }
+
+  /**
+   * Prefetches the tail of the object, decodes the record batch offset map from the footer, and
+   * prefetches the dictionary batches.
+   *
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  public CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadata() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ARROW_PREFETCH_FOOTER_AND_METADATA)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        prefetchFooterAndBuildMetadataImpl());
+  }
+
+  private CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadataImpl() {
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return CompletableFuture.completedFuture(
+          IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    }
+
+    if (logicalIOConfiguration.isPrefetchFooterEnabled()) {
+      arrowReadTailTask.prefetchTail();
+    }
+
+    return prefetchExecutor
+        .submit(arrowReadTailTask::readFileMetadata)
+        .thenApply(
+            metadata -> {
+              this.fileMetadata = metadata;
+              return arrowRecordBatchPrefetchingTask.prefetchDictionaries(metadata);
+            })
+        .exceptionally(
+            e -> {
+              LOG.debug("Unable to prefetch Arrow metadata for {}.", s3URI.getKey(), e);
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            });
+  }
+
+  /**
+   * Prefetches the record batches for a read, see {@link ArrowRecordBatchPrefetchingTask}.
+   *
+   * @param position the position of the read
+   * @return the IOPlanExecution object of the prefetch, SKIPPED if nothing was prefetched
+   */
+  public IOPlanExecution prefetchRecordBatches(long position) {
+    ArrowFileMetadata metadata = this.fileMetadata;
+    if (metadata == null || logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    try {
+      return arrowRecordBatchPrefetchingTask.prefetchRecordBatches(metadata, position);
+    } catch (Exception e) {
+      LOG.warn("Unable to prefetch record batches for {}.", s3URI.getKey(), e);
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+  }
+}
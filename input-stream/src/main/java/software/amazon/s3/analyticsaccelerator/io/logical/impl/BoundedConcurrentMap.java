@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.NonNull;
+
+/**
+ * A concurrent map bounded by the total weight of its values, which evicts its oldest entries when
+ * the bound is exceeded. Entries are ordered by when their key was first put, replacing the value
+ * of a key does not make it newer. With a weight of 1 per value, the map is bounded by its number
+ * of entries.
+ *
+ * <p>Lookups and updates do not take any lock shared by all keys, so the map can be shared by many
+ * streams. The weight and the insertion order are updated inside {@link ConcurrentHashMap#compute}
+ * for the key, so an insertion, a replacement and an eviction of the same key never interleave. The
+ * bound is enforced after each insertion, so concurrent insertions can exceed it briefly. The entry
+ * that was just inserted is never evicted by its own insertion, so that a single value weighing
+ * more than the bound can still be used.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+class BoundedConcurrentMap<K, V> {
+  private final ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+  private final AtomicLong weight = new AtomicLong();
+  private final long maxWeight;
+  private final ToLongFunction<V> weigher;
+
+  /**
+   * Creates a new instance of {@link BoundedConcurrentMap}.
+   *
+   * @param maxWeight the maximum total weight of the values
+   * @param weigher computes the weight of a value, which must not change while it is in the map
+   */
+  BoundedConcurrentMap(long maxWeight, @NonNull ToLongFunction<V> weigher) {
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Creates a new instance of {@link BoundedConcurrentMap} bounded by its number of entries.
+   *
+   * @param maxSize the maximum number of entries
+   * @param <K> the type of keys
+   * @param <V> the type of values
+   * @return a new map
+   */
+  static <K, V> BoundedConcurrentMap<K, V> withMaxSize(long maxSize) {
+    return new BoundedConcurrentMap<>(maxSize, value -> 1);
+  }
+
+  /**
+   * Gets the value of a key.
+   *
+   * @param key the key
+   * @return the value, or null if there is none
+   */
+  V get(@NonNull K key) {
+    return map.get(key);
+  }
+
+  /**
+   * Puts the value of a key, evicting the oldest entries if the bound is exceeded.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the value replaced, or null if there was none
+   */
+  V put(@NonNull K key, @NonNull V value) {
+    AtomicReference<V> replaced = new AtomicReference<>();
+    map.compute(
+        key,
+        (k, existing) -> {
+          if (existing == null) {
+            weight.addAndGet(weigher.applyAsLong(value));
+            insertionOrder.add(k);
+          } else {
+            weight.addAndGet(weigher.applyAsLong(value) - weigher.applyAsLong(existing));
+          }
+          replaced.set(existing);
+          return value;
+        });
+    evict(key);
+    return replaced.get();
+  }
+
+  /**
+   * Gets the value of a key, creating and inserting it if there is none. Unlike {@link
+   * ConcurrentHashMap#computeIfAbsent}, the value may be created more than once by concurrent
+   * callers, in which case all of them get the one that was inserted.
+   *
+   * @param key the key
+   * @param valueFactory creates the value of the key
+   * @return the value of the key
+   */
+  V computeIfAbsent(@NonNull K key, @NonNull Function<K, V> valueFactory) {
+    V value = map.get(key);
+    if (value != null) {
+      return value;
+    }
+
+    V created = valueFactory.apply(key);
+    AtomicBoolean inserted = new AtomicBoolean();
+    value =
+        map.compute(
+            key,
+            (k, existing) -> {
+              if (existing != null) {
+                return existing;
+              }
+              weight.addAndGet(weigher.applyAsLong(created));
+              insertionOrder.add(k);
+              inserted.set(true);
+              return created;
+            });
+    if (inserted.get()) {
+      evict(key);
+    }
+    return value;
+  }
+
+  /**
+   * Gets the total weight of the values.
+   *
+   * @return the total weight
+   */
+  long getWeight() {
+    return weight.get();
+  }
+
+  /**
+   * Gets the number of entries.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return map.size();
+  }
+
+  /**
+   * Gets a live view of the entries, for iteration. The iteration is weakly consistent.
+   *
+   * @return the entries of the map
+   */
+  Iterable<Map.Entry<K, V>> entries() {
+    return map.entrySet();
+  }
+
+  private void evict(K retainedKey) {
+    boolean skippedRetainedKey = false;
+    while (weight.get() > maxWeight) {
+      K eldest = insertionOrder.poll();
+      if (eldest == null) {
+        return;
+      }
+
+      if (eldest.equals(retainedKey)) {
+        insertionOrder.add(eldest);
+        if (skippedRetainedKey) {
+          // Every other entry has been evicted already
+          return;
+        }
+        skippedRetainedKey = true;
+        continue;
+      }
+
+      map.computeIfPresent(
+          eldest,
+          (k, evicted) -> {
+            weight.addAndGet(-weigher.applyAsLong(evicted));
+            return null;
+          });
+    }
+  }
+}
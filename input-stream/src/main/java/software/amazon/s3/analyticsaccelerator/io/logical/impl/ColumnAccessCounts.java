@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Exponentially decayed access counts of the columns of a schema. Every read of a column adds one
+ * to its count, and all counts halve every {@code halfLife} reads of the schema. Columns that are
+ * read often and recently have the highest counts, while columns that stop being read, for example
+ * because the workload moved on to a different query, fade out.
+ *
+ * <p>The confidence that a column will be read again is its count relative to the count of the
+ * most read column of the schema, so it is 1 for the most read column, and close to 0 for a column
+ * that was read once a long time ago. Only columns whose confidence reaches a threshold are
+ * predicted.
+ *
+ * <p>This class is thread safe and does not lock: the reads of a schema are numbered atomically,
+ * and the count of each column is updated atomically on its own. Counts are immutable snapshots
+ * taken at the read that last updated them, and are decayed to the current read when looked up.
+ */
+class ColumnAccessCounts {
+  private final int halfLife;
+  private final double decayPerRead;
+  private final ConcurrentHashMap<String, DecayedCount> counts = new ConcurrentHashMap<>();
+  private final AtomicLong reads = new AtomicLong();
+
+  // Counts below this have not been read for several half lives and are dropped
+  private static final double MIN_COUNT = 0.01;
+
+  /**
+   * Creates a new instance of {@link ColumnAccessCounts}.
+   *
+   * @param halfLife the number of reads of the schema after which a count halves
+   */
+  ColumnAccessCounts(int halfLife) {
+    Preconditions.checkArgument(halfLife > 0, "`halfLife` must be positive");
+    this.halfLife = halfLife;
+    this.decayPerRead = Math.pow(0.5, 1.0 / halfLife);
+  }
+
+  /**
+   * Records a read of a column.
+   *
+   * @param columnName the name of the column read
+   */
+  void add(@NonNull String columnName) {
+    long read = reads.incrementAndGet();
+    counts.compute(
+        columnName,
+        (name, count) -> (count == null) ? new DecayedCount(1, read) : count.add(1, read));
+
+    if (read % halfLife == 0) {
+      removeFadedColumns(read);
+    }
+  }
+
+  /**
+   * Gets the decayed count of a column.
+   *
+   * @param columnName the name of the column
+   * @return the decayed count, 0 if the column has not been read
+   */
+  double getCount(@NonNull String columnName) {
+    DecayedCount count = counts.get(columnName);
+    return (count == null) ? 0 : count.valueAt(reads.get());
+  }
+
+  /**
+   * Gets the columns whose confidence, their count relative to the count of the most read column,
+   * is at least the given threshold.
+   *
+   * @param confidenceThreshold the minimum confidence, between 0 and 1
+   * @return the predicted columns
+   */
+  Set<String> getPredictedColumns(double confidenceThreshold) {
+    Map<String, Double> values = getCounts();
+    double maxValue = 0;
+    for (double value : values.values()) {
+      maxValue = Math.max(maxValue, value);
+    }
+
+    Set<String> predictedColumns = new HashSet<>();
+    for (Map.Entry<String, Double> value : values.entrySet()) {
+      if (value.getValue() >= confidenceThreshold * maxValue) {
+        predictedColumns.add(value.getKey());
+      }
+    }
+    return predictedColumns;
+  }
+
+  /**
+   * Gets the decayed counts of all columns, for example to persist them.
+   *
+   * @return a map of column name to decayed count
+   */
+  Map<String, Double> getCounts() {
+    long read = reads.get();
+    Map<String, Double> values = new HashMap<>();
+    for (Map.Entry<String, DecayedCount> count : counts.entrySet()) {
+      values.put(count.getKey(), count.getValue().valueAt(read));
+    }
+    return values;
+  }
+
+  /**
+   * Merges a count learnt elsewhere, for example by another process, into the count of a column.
+   * The higher of the two counts is kept, so that merging the same counts again has no effect.
+   *
+   * @param columnName the name of the column
+   * @param count the decayed count of the column
+   */
+  void merge(@NonNull String columnName, double count) {
+    long read = reads.get();
+    counts.compute(
+        columnName,
+        (name, current) ->
+            (current == null || current.valueAt(read) < count)
+                ? new DecayedCount(count, read)
+                : current);
+  }
+
+  /**
+   * Gets the number of columns with a count.
+   *
+   * @return the number of columns tracked
+   */
+  int size() {
+    return counts.size();
+  }
+
+  private void removeFadedColumns(long read) {
+    for (String columnName : counts.keySet()) {
+      counts.computeIfPresent(
+          columnName, (name, count) -> (count.valueAt(read) < MIN_COUNT) ? null : count);
+    }
+  }
+
+  /** A count, as it was at the time of the read that last updated it. */
+  private final class DecayedCount {
+    private final double value;
+    private final long lastRead;
+
+    private DecayedCount(double value, long lastRead) {
+      this.value = value;
+      this.lastRead = lastRead;
+    }
+
+    /**
+     * Gets the value decayed to a read. Reads are numbered before counts are updated, so a read
+     * that updated this count concurrently may be later than the one it is looked up at, in which
+     * case the value is not decayed.
+     */
+    private double valueAt(long read) {
+      return value * Math.pow(decayPerRead, Math.max(0, read - lastRead));
+    }
+
+    /** Adds to the count at a read, which may be earlier than the last one if they raced. */
+    private DecayedCount add(double increment, long read) {
+      if (read >= lastRead) {
+        return new DecayedCount(valueAt(read) + increment, read);
+      }
+      return new DecayedCount(
+          value + increment * Math.pow(decayPerRead, lastRead - read), lastRead);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A local file holding the column access profiles of {@link ParquetColumnPrefetchStore}, so that
+ * what was learnt about the columns read for each schema outlives the process, and can be shared
+ * between processes, for example between the executors of a cluster. A profile holds the decayed
+ * access counts of the columns and of the dictionaries read for a schema, see {@link
+ * ColumnAccessCounts}.
+ *
+ * <p>The file is replaced atomically when it is written, so a process reading it while another
+ * one writes it sees either the old or the new profiles.
+ */
+class ColumnAccessProfileFile {
+  private static final int MAGIC = 0x50514350;
+  private static final int VERSION = 1;
+
+  @Getter private final Path path;
+
+  /**
+   * Creates a new instance of {@link ColumnAccessProfileFile}.
+   *
+   * @param path the path of the file; its directory is created on first write
+   */
+  ColumnAccessProfileFile(@NonNull Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Reads the profiles from the file, if it exists.
+   *
+   * @param columns the map to add the column counts of each schema to
+   * @param dictionaries the map to add the dictionary counts of each schema to
+   * @return true if the file exists and was read, false if it does not exist
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  boolean read(
+      @NonNull Map<Integer, Map<String, Double>> columns,
+      @NonNull Map<Integer, Map<String, Double>> dictionaries)
+      throws IOException {
+    if (!Files.exists(path)) {
+      return false;
+    }
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      read(in, columns, dictionaries);
+    }
+    return true;
+  }
+
+  /**
+   * Writes the profiles to the file, replacing its contents.
+   *
+   * @param columns the column counts of each schema
+   * @param dictionaries the dictionary counts of each schema
+   * @throws IOException if the file cannot be written
+   */
+  void write(
+      @NonNull Map<Integer, Map<String, Double>> columns,
+      @NonNull Map<Integer, Map<String, Double>> dictionaries)
+      throws IOException {
+    Path directory = path.toAbsolutePath().getParent();
+    if (directory == null) {
+      throw new IOException("Column access profile path " + path + " has no parent directory");
+    }
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, "pqprofile", ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        write(out, columns, dictionaries);
+      }
+      moveIntoPlace(temp, path);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Writes profiles in the file format.
+   *
+   * @param out the stream to write to
+   * @param columns the column counts of each schema
+   * @param dictionaries the dictionary counts of each schema
+   * @throws IOException if the stream cannot be written to
+   */
+  static void write(
+      DataOutputStream out,
+      Map<Integer, Map<String, Double>> columns,
+      Map<Integer, Map<String, Double>> dictionaries)
+      throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    writeCounts(out, columns);
+    writeCounts(out, dictionaries);
+  }
+
+  /**
+   * Reads profiles in the file format.
+   *
+   * @param in the stream to read from
+   * @param columns the map to add the column counts of each schema to
+   * @param dictionaries the map to add the dictionary counts of each schema to
+   * @throws IOException if the stream cannot be read, or is not in a known format
+   */
+  static void read(
+      DataInputStream in,
+      Map<Integer, Map<String, Double>> columns,
+      Map<Integer, Map<String, Double>> dictionaries)
+      throws IOException {
+    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+      throw new IOException("Unknown column access profile format");
+    }
+    readCounts(in, columns);
+    readCounts(in, dictionaries);
+  }
+
+  private static void writeCounts(
+      DataOutputStream out, Map<Integer, Map<String, Double>> countsPerSchema) throws IOException {
+    out.writeInt(countsPerSchema.size());
+    for (Map.Entry<Integer, Map<String, Double>> schema : countsPerSchema.entrySet()) {
+      out.writeInt(schema.getKey());
+      out.writeInt(schema.getValue().size());
+      for (Map.Entry<String, Double> count : schema.getValue().entrySet()) {
+        out.writeUTF(count.getKey());
+        out.writeDouble(count.getValue());
+      }
+    }
+  }
+
+  private static void readCounts(
+      DataInputStream in, Map<Integer, Map<String, Double>> countsPerSchema) throws IOException {
+    int schemaCount = readCount(in);
+    for (int i = 0; i < schemaCount; i++) {
+      int schemaHash = in.readInt();
+      int columnCount = readCount(in);
+      Map<String, Double> counts = new HashMap<>();
+      for (int j = 0; j < columnCount; j++) {
+        String columnName = in.readUTF();
+        double count = in.readDouble();
+        if (!(count >= 0) || Double.isInfinite(count)) {
+          throw new IOException("Malformed column access profile");
+        }
+        counts.put(columnName, count);
+      }
+      countsPerSchema.put(schemaHash, counts);
+    }
+  }
+
+  private static int readCount(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Malformed column access profile");
+    }
+    return count;
+  }
+
+  private static void moveIntoPlace(Path source, Path target) throws IOException {
+    try {
+      Files.move(
+          source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
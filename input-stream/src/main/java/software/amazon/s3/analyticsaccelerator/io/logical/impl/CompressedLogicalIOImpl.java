@@ -0,0 +1,262 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.CompressedFrame;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTable;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTableReadTask;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A LogicalIO layer for seekable compressed objects, BGZF, which reads their uncompressed content.
+ * Positions and the content length are those of the uncompressed content. The seek table maps each
+ * read to the frames holding it, so a read anywhere in the object only fetches and decompresses
+ * those frames, see {@link DecompressedFrameCache}.
+ *
+ * <p>The seek table is read on first access. If it cannot be read, every read fails with an {@link
+ * IOException}, so the compressed bytes are never returned in place of the uncompressed content.
+ */
+public class CompressedLogicalIOImpl extends DefaultLogicalIOImpl {
+  // Dependencies
+  private final S3URI s3URI;
+  private final PhysicalIO physicalIO;
+  private final PhysicalIO indexPhysicalIO;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PrefetchExecutor prefetchExecutor;
+  private final SeekTableReadTask seekTableReadTask;
+
+  // Set once the seek table is read, the failure is set instead if it cannot be
+  private boolean seekTableRead;
+  private DecompressedFrameCache frameCache;
+  private ObjectMetadata metadata;
+  private Exception failure;
+
+  /**
+   * Constructs an instance of CompressedLogicalIOImpl.
+   *
+   * @param s3URI s3URI pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param indexPhysicalIO physical IO of the .gzi index of the object, only read for BGZF
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param prefetchExecutor executor to decompress prefetched frames on
+   */
+  public CompressedLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull PhysicalIO indexPhysicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor) {
+    this(
+        s3URI,
+        physicalIO,
+        indexPhysicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        prefetchExecutor,
+        new SeekTableReadTask(
+            s3URI, telemetry, logicalIOConfiguration, physicalIO, indexPhysicalIO));
+  }
+
+  CompressedLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull PhysicalIO indexPhysicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull SeekTableReadTask seekTableReadTask) {
+    super(s3URI, physicalIO, telemetry);
+    this.s3URI = s3URI;
+    this.physicalIO = physicalIO;
+    this.indexPhysicalIO = indexPhysicalIO;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.prefetchExecutor = prefetchExecutor;
+    this.seekTableReadTask = seekTableReadTask;
+  }
+
+  /**
+   * Reads a byte of the uncompressed content.
+   *
+   * @param position the uncompressed position to read
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(long position) throws IOException {
+    DecompressedFrameCache cache = getFrameCache();
+
+    int index = cache.getSeekTable().getFrameIndex(position);
+    if (index < 0) {
+      return -1;
+    }
+    CompressedFrame frame = cache.getSeekTable().getFrames().get(index);
+    return cache.getFrame(index)[(int) (position - frame.getUncompressedOffset())] & 0xff;
+  }
+
+  /**
+   * Reads uncompressed content into the provided buffer.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the uncompressed position to begin reading from
+   * @return the number of bytes read, or -1 if the position is at the end of the content
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    DecompressedFrameCache cache = getFrameCache();
+
+    SeekTable seekTable = cache.getSeekTable();
+    if (position >= seekTable.getUncompressedLength()) {
+      return -1;
+    }
+
+    int bytesRead = 0;
+    int index = seekTable.getFrameIndex(position);
+    while (bytesRead < len && index >= 0 && index < seekTable.getFrames().size()) {
+      CompressedFrame frame = seekTable.getFrames().get(index);
+      int frameOffset = (int) (position + bytesRead - frame.getUncompressedOffset());
+      int length = Math.min(len - bytesRead, frame.getUncompressedLength() - frameOffset);
+      System.arraycopy(cache.getFrame(index), frameOffset, buf, off + bytesRead, length);
+      bytesRead += length;
+      index++;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads the last bytes of the uncompressed content.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len the number of bytes to read
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int readTail(byte[] buf, int off, int len) throws IOException {
+    DecompressedFrameCache cache = getFrameCache();
+
+    long uncompressedLength = cache.getSeekTable().getUncompressedLength();
+    if (uncompressedLength == 0) {
+      return 0;
+    }
+    return read(buf, off, len, Math.max(0, uncompressedLength - len));
+  }
+
+  /**
+   * Writes up to len bytes of the uncompressed content starting at the given position to the
+   * provided channel.
+   *
+   * @param position the uncompressed position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public long transferTo(long position, long len, WritableByteChannel target) throws IOException {
+    DecompressedFrameCache cache = getFrameCache();
+
+    SeekTable seekTable = cache.getSeekTable();
+    long bytesWritten = 0;
+    int index = seekTable.getFrameIndex(position);
+    while (bytesWritten < len && index >= 0 && index < seekTable.getFrames().size()) {
+      CompressedFrame frame = seekTable.getFrames().get(index);
+      int frameOffset = (int) (position + bytesWritten - frame.getUncompressedOffset());
+      int length = (int) Math.min(len - bytesWritten, frame.getUncompressedLength() - frameOffset);
+      ByteBuffer buffer = ByteBuffer.wrap(cache.getFrame(index), frameOffset, length);
+      while (buffer.hasRemaining()) {
+        target.write(buffer);
+      }
+      bytesWritten += length;
+      index++;
+    }
+    return bytesWritten;
+  }
+
+  /**
+   * Returns the metadata of the object, with the length of the uncompressed content.
+   *
+   * @return object metadata
+   * @throws UncheckedIOException if the seek table cannot be read
+   */
+  @Override
+  public ObjectMetadata metadata() {
+    try {
+      getFrameCache();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return getMetadata();
+  }
+
+  /**
+   * Closes associate resources.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      indexPhysicalIO.close();
+    }
+  }
+
+  private synchronized ObjectMetadata getMetadata() {
+    return metadata;
+  }
+
+  private synchronized DecompressedFrameCache getFrameCache() throws IOException {
+    if (!seekTableRead) {
+      seekTableRead = true;
+      try {
+        SeekTable seekTable = seekTableReadTask.readSeekTable();
+        frameCache =
+            new DecompressedFrameCache(
+                s3URI, physicalIO, telemetry, logicalIOConfiguration, prefetchExecutor, seekTable);
+        metadata =
+            ObjectMetadata.builder()
+                .contentLength(seekTable.getUncompressedLength())
+                .etag(physicalIO.metadata().getEtag())
+                .build();
+      } catch (Exception e) {
+        failure = e;
+      }
+    }
+
+    if (failure != null) {
+      throw new IOException("Unable to decode compressed object " + s3URI, failure);
+    }
+    return frameCache;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.CompressedFrame;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTable;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Holds the decompressed frames of a seekable compressed object. When a frame is read, the
+ * compressedPrefetchFrameCount frames after it are fetched in a single IOPlan and decompressed in
+ * parallel on the {@link PrefetchExecutor}. The last decompressedFrameCacheSize frames are kept,
+ * and the compressed bytes of a frame are evicted from the PhysicalIO once it is decompressed.
+ *
+ * <p>A frame whose decompression failed, or was dropped by the executor, is decompressed again by
+ * the reader that needs it.
+ */
+public class DecompressedFrameCache {
+  private final S3URI s3URI;
+  private final PhysicalIO physicalIO;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PrefetchExecutor prefetchExecutor;
+  @Getter private final SeekTable seekTable;
+  private final BoundedConcurrentMap<Integer, CompletableFuture<byte[]>> frames;
+
+  private static final Logger LOG = LoggerFactory.getLogger(DecompressedFrameCache.class);
+  private static final String OPERATION_COMPRESSED_PREFETCH_FRAMES = "compressed.prefetch.frames";
+  private static final String OPERATION_COMPRESSED_DECOMPRESS_FRAME =
+      "compressed.decompress.frame";
+
+  /**
+   * Creates a new instance of {@link DecompressedFrameCache}.
+   *
+   * @param s3URI the S3URI of the object
+   * @param physicalIO the PhysicalIO of the compressed object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param prefetchExecutor the executor to decompress prefetched frames on
+   * @param seekTable the seek table of the object
+   */
+  public DecompressedFrameCache(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull SeekTable seekTable) {
+    this.s3URI = s3URI;
+    this.physicalIO = physicalIO;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.prefetchExecutor = prefetchExecutor;
+    this.seekTable = seekTable;
+    this.frames =
+        BoundedConcurrentMap.withMaxSize(
+            Math.max(logicalIOConfiguration.getDecompressedFrameCacheSize(), 1));
+  }
+
+  /**
+   * Gets a decompressed frame, and prefetches the frames after it.
+   *
+   * @param index the index of the frame in the seek table
+   * @return the decompressed frame
+   * @throws IOException if the frame cannot be fetched or decompressed
+   */
+  public byte[] getFrame(int index) throws IOException {
+    prefetchFrames(index + 1);
+
+    CompletableFuture<byte[]> frame = frames.get(index);
+    if (frame != null) {
+      try {
+        return frame.join();
+      } catch (CompletionException | CancellationException e) {
+        LOG.debug("Prefetch of frame {} of {} failed.", index, s3URI.getKey(), e);
+      }
+    }
+
+    byte[] decompressed = decompressFrame(index);
+    frames.put(index, CompletableFuture.completedFuture(decompressed));
+    return decompressed;
+  }
+
+  private void prefetchFrames(int from) {
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return;
+    }
+
+    int to =
+        (int)
+            Math.min(
+                (long) from + logicalIOConfiguration.getCompressedPrefetchFrameCount(),
+                seekTable.getFrames().size());
+    List<Integer> indexes = new ArrayList<>();
+    List<Range> ranges = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      if (frames.get(i) == null) {
+        indexes.add(i);
+        ranges.add(seekTable.getFrames().get(i).getCompressedRange());
+      }
+    }
+    if (indexes.isEmpty()) {
+      return;
+    }
+
+    try {
+      // A single plan for all the frames, so that the PhysicalIO can coalesce their requests
+      IOPlan ioPlan = new IOPlan(ranges);
+      telemetry.measureStandard(
+          () ->
+              Operation.builder()
+                  .name(OPERATION_COMPRESSED_PREFETCH_FRAMES)
+                  .attribute(StreamAttributes.uri(this.s3URI))
+                  .attribute(StreamAttributes.ioPlan(ioPlan))
+                  .build(),
+          () -> physicalIO.execute(ioPlan));
+    } catch (Exception e) {
+      LOG.warn("Unable to prefetch frames of {}.", s3URI.getKey(), e);
+      return;
+    }
+
+    // The map may create a value more than once for concurrent readers, so a placeholder is
+    // inserted and only the reader that inserted it submits the decompression
+    for (int index : indexes) {
+      CompletableFuture<byte[]> placeholder = new CompletableFuture<>();
+      if (frames.computeIfAbsent(index, key -> placeholder) != placeholder) {
+        continue;
+      }
+      try {
+        prefetchExecutor
+            .submit(
+                () -> {
+                  try {
+                    return decompressFrame(index);
+                  } catch (IOException e) {
+                    throw new CompletionException(e);
+                  }
+                })
+            .whenComplete(
+                (decompressed, error) -> {
+                  if (error != null) {
+                    placeholder.completeExceptionally(error);
+                  } else {
+                    placeholder.complete(decompressed);
+                  }
+                });
+      } catch (RuntimeException e) {
+        placeholder.completeExceptionally(e);
+      }
+    }
+  }
+
+  private byte[] decompressFrame(int index) throws IOException {
+    CompressedFrame frame = seekTable.getFrames().get(index);
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_COMPRESSED_DECOMPRESS_FRAME)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(frame.getCompressedRange()))
+                .build(),
+        () -> {
+          byte[] compressed = new byte[frame.getCompressedLength()];
+          int read = 0;
+          while (read < compressed.length) {
+            int bytesRead =
+                physicalIO.read(
+                    compressed,
+                    read,
+                    compressed.length - read,
+                    frame.getCompressedOffset() + read);
+            if (bytesRead <= 0) {
+              throw new IOException(
+                  String.format(
+                      "Read %d bytes of frame %d of %s, expected %d",
+                      read, index, s3URI.getKey(), compressed.length));
+            }
+            read += bytesRead;
+          }
+
+          byte[] decompressed =
+              seekTable
+                  .getCompression()
+                  .decompress(compressed, 0, compressed.length, frame.getUncompressedLength());
+          physicalIO.evict(new IOPlan(frame.getCompressedRange()));
+          return decompressed;
+        });
+  }
+}
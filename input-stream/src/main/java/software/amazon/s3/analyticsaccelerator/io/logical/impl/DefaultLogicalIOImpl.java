@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
@@ -110,6 +111,30 @@ public class DefaultLogicalIOImpl implements LogicalIO {
         () -> physicalIO.readTail(buf, off, len));
   }
 
+  /**
+   * Writes up to len bytes starting at the given position to the provided channel.
+   *
+   * @param position the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public long transferTo(long position, long len, WritableByteChannel target) throws IOException {
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_LOGICAL_READ)
+                .attribute(StreamAttributes.logicalReadPosition(position))
+                .attribute(StreamAttributes.logicalReadLength(len))
+                .attribute(StreamAttributes.uri(s3URI))
+                .attribute(
+                    StreamAttributes.logicalIORelativeTimestamp(System.nanoTime() - birthTimestamp))
+                .build(),
+        () -> physicalIO.transferTo(position, len, target));
+  }
+
   /**
    * Returns object metadata.
    *
@@ -0,0 +1,243 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * A LogicalIO layer for the metadata files of lakehouse tables, such as Iceberg manifest lists,
+ * manifests and table metadata, and Delta log commits. These are small, read in full, and read on
+ * the critical path of query planning, so the whole object is fetched with a single GET as soon as
+ * the stream is opened, and all reads are served from memory.
+ *
+ * <p>The object is fetched with a plain ranged read, which skips the {@link TailCache}, and its
+ * blocks are evicted once copied, so that it is only held once and does not push the footers of
+ * columnar objects out of the shared caches. Only the blocks no other stream of the object uses are
+ * evicted, so streams reading the same object through the shared {@link
+ * software.amazon.s3.analyticsaccelerator.io.physical.data.Blob} keep their data. The content is
+ * then kept in the {@link LakehouseMetadataStore}, keyed by URI and ETag, so that the immutable
+ * manifests reopened on every planning pass are fetched once, while files overwritten in place,
+ * such as Delta's _last_checkpoint, are fetched anew. Objects larger than lakehouseMetadataMaxBytes
+ * in {@link LogicalIOConfiguration}, and objects that fail to be fetched, are read like with {@link
+ * DefaultLogicalIOImpl}.
+ */
+public class LakehouseMetadataLogicalIOImpl extends DefaultLogicalIOImpl {
+  // Dependencies
+  private final S3URI s3URI;
+  private final PhysicalIO physicalIO;
+  private final Telemetry telemetry;
+  private final LakehouseMetadataStore lakehouseMetadataStore;
+
+  // The whole object, null if it is read with ranged reads
+  private final byte[] content;
+
+  private static final String OPERATION_FETCH_OBJECT = "lakehouse.metadata.fetch.object";
+  private static final Logger LOG = LoggerFactory.getLogger(LakehouseMetadataLogicalIOImpl.class);
+
+  /**
+   * Constructs an instance of LakehouseMetadataLogicalIOImpl, fetching the whole object.
+   *
+   * @param s3URI s3URI pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param lakehouseMetadataStore the content of recently fetched lakehouse metadata files
+   */
+  public LakehouseMetadataLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull LakehouseMetadataStore lakehouseMetadataStore) {
+    super(s3URI, physicalIO, telemetry);
+    this.s3URI = s3URI;
+    this.physicalIO = physicalIO;
+    this.telemetry = telemetry;
+    this.lakehouseMetadataStore = lakehouseMetadataStore;
+    this.content = fetchObject(logicalIOConfiguration.getLakehouseMetadataMaxBytes());
+  }
+
+  /**
+   * Reads a byte from the given position.
+   *
+   * @param position the position to read
+   * @return an unsigned int representing the byte that was read, or -1 at the end of the object
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(long position) throws IOException {
+    if (content == null) {
+      return super.read(position);
+    }
+
+    Preconditions.checkArgument(0 <= position, "`position` must not be negative");
+    if (position >= content.length) {
+      return -1;
+    }
+    return content[(int) position] & 0xff;
+  }
+
+  /**
+   * Reads data into the provided buffer.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the position to begin reading from
+   * @return the number of bytes read, or -1 if the position is at the end of the object
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    if (content == null) {
+      return super.read(buf, off, len, position);
+    }
+
+    Preconditions.checkArgument(0 <= position, "`position` must not be negative");
+    Preconditions.checkArgument(0 <= off, "`off` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkArgument(off + len <= buf.length, "`len` must fit into the buffer");
+    if (position >= content.length) {
+      return -1;
+    }
+
+    int bytesRead = (int) Math.min(len, content.length - position);
+    System.arraycopy(content, (int) position, buf, off, bytesRead);
+    return bytesRead;
+  }
+
+  /**
+   * Reads the last bytes of the object.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len the number of bytes to read
+   * @return the number of bytes read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int readTail(byte[] buf, int off, int len) throws IOException {
+    if (content == null) {
+      return super.readTail(buf, off, len);
+    }
+
+    Preconditions.checkArgument(0 <= off, "`off` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    int bytesRead = Math.min(len, content.length);
+    Preconditions.checkArgument(off + bytesRead <= buf.length, "`len` must fit into the buffer");
+    System.arraycopy(content, content.length - bytesRead, buf, off, bytesRead);
+    return bytesRead;
+  }
+
+  /**
+   * Writes up to len bytes starting at the given position to the provided channel.
+   *
+   * @param position the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public long transferTo(long position, long len, WritableByteChannel target) throws IOException {
+    if (content == null) {
+      return super.transferTo(position, len, target);
+    }
+
+    Preconditions.checkArgument(0 <= position, "`position` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    if (position >= content.length) {
+      return 0;
+    }
+
+    int length = (int) Math.min(len, content.length - position);
+    ByteBuffer buffer = ByteBuffer.wrap(content, (int) position, length);
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+    return length;
+  }
+
+  /**
+   * Returns whether the whole object was fetched when the stream was opened.
+   *
+   * @return true if reads are served from memory
+   */
+  boolean isFetched() {
+    return content != null;
+  }
+
+  private byte[] fetchObject(long maxBytes) {
+    try {
+      ObjectMetadata metadata = physicalIO.metadata();
+      long contentLength = metadata.getContentLength();
+      if (contentLength > maxBytes) {
+        return null;
+      }
+
+      ObjectKey objectKey = ObjectKey.of(s3URI, metadata.getEtag());
+      byte[] stored = lakehouseMetadataStore.get(objectKey);
+      if (stored != null) {
+        return stored;
+      }
+
+      byte[] content =
+          telemetry.measureStandard(
+              () ->
+                  Operation.builder()
+                      .name(OPERATION_FETCH_OBJECT)
+                      .attribute(StreamAttributes.uri(s3URI))
+                      .attribute(StreamAttributes.range(0, contentLength - 1))
+                      .build(),
+              () -> {
+                byte[] bytes = new byte[(int) contentLength];
+                if (bytes.length == 0) {
+                  return bytes;
+                }
+                try {
+                  if (physicalIO.read(bytes, 0, bytes.length, 0) != bytes.length) {
+                    throw new IOException("Unable to read the whole object");
+                  }
+                } finally {
+                  physicalIO.evict(new IOPlan(new Range(0, contentLength - 1)));
+                }
+                return bytes;
+              });
+      lakehouseMetadataStore.put(objectKey, content);
+      return content;
+    } catch (Exception e) {
+      LOG.debug("Unable to fetch {}, it will be read with ranged reads.", s3URI.getKey(), e);
+      return null;
+    }
+  }
+}
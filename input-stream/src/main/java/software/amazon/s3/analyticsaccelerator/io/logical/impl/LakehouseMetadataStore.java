@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+
+/**
+ * The content of recently fetched lakehouse metadata files, shared by the streams of {@link
+ * LakehouseMetadataLogicalIOImpl}. Manifests and manifest lists are immutable and reopened on every
+ * planning pass, so they are fetched once. Entries are keyed by the URI and ETag of the file, so
+ * that files overwritten in place, such as Delta's _last_checkpoint, are fetched anew once their
+ * ETag changes. Files without an ETag are not stored.
+ *
+ * <p>The store is bounded by lakehouseMetadataCacheMaxBytes in {@link LogicalIOConfiguration}, and
+ * evicts the oldest files once it is exceeded. The content is shared by all streams of a file, and
+ * must not be modified.
+ */
+public class LakehouseMetadataStore {
+  private final long maxBytes;
+  private final BoundedConcurrentMap<ObjectKey, byte[]> contents;
+
+  /**
+   * Creates a new instance of {@link LakehouseMetadataStore}.
+   *
+   * @param configuration LogicalIO configuration, holding the bound of the store
+   */
+  public LakehouseMetadataStore(@NonNull LogicalIOConfiguration configuration) {
+    this(configuration.getLakehouseMetadataCacheMaxBytes());
+  }
+
+  /**
+   * Creates a new instance of {@link LakehouseMetadataStore}.
+   *
+   * @param maxBytes the maximum number of bytes to store; 0 disables the store
+   */
+  LakehouseMetadataStore(long maxBytes) {
+    this.maxBytes = maxBytes;
+    this.contents = new BoundedConcurrentMap<>(maxBytes, content -> content.length);
+  }
+
+  /**
+   * Gets the content of a specific version of a file.
+   *
+   * @param objectKey the URI and ETag of the file
+   * @return the content of the file, or null if it is not stored
+   */
+  byte[] get(@NonNull ObjectKey objectKey) {
+    if (objectKey.getEtag() == null) {
+      return null;
+    }
+    return contents.get(objectKey);
+  }
+
+  /**
+   * Stores the content of a specific version of a file, unless it has no ETag or is larger than the
+   * store.
+   *
+   * @param objectKey the URI and ETag of the file
+   * @param content the content of the file
+   */
+  void put(@NonNull ObjectKey objectKey, byte @NonNull [] content) {
+    if (objectKey.getEtag() == null || content.length > maxBytes) {
+      return;
+    }
+    contents.put(objectKey, content);
+  }
+
+  /**
+   * Gets the number of bytes stored.
+   *
+   * @return the number of bytes stored
+   */
+  public long getSizeBytes() {
+    return contents.getWeight();
+  }
+}
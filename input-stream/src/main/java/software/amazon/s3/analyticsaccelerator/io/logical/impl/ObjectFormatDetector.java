@@ -0,0 +1,137 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcTailDecoder;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetUtils;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormat;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * Detects the file format of objects whose keys have no file extension, as is the case for the part
+ * files written by some tools, from the magic numbers at the end of the object.
+ *
+ * <p>Detection reads the tail of the object before the stream is opened, which costs a HEAD and a
+ * GET for every such object whatever its format. It is therefore only done when
+ * formatDetectionEnabled is set in {@link LogicalIOConfiguration}.
+ */
+public class ObjectFormatDetector {
+  private static final byte[] PARQUET_MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ARROW_MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectFormatDetector.class);
+
+  private final LogicalIOConfiguration configuration;
+
+  /**
+   * Creates a new instance of {@link ObjectFormatDetector}
+   *
+   * @param configuration the LogicalIO configuration
+   */
+  public ObjectFormatDetector(@NonNull LogicalIOConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Returns whether the format of an object is to be detected from its content
+   *
+   * @param s3URI the object's S3 URI
+   * @return true if detection is enabled and the key has no file extension
+   */
+  public boolean isDetectable(@NonNull S3URI s3URI) {
+    return configuration.isFormatDetectionEnabled() && !hasFileExtension(s3URI.getKey());
+  }
+
+  /**
+   * Detects the file format of an object from its tail.
+   *
+   * <p>The tail read for this is the one the Parquet LogicalIO reads the footer with. It is kept by
+   * the PhysicalIO, so the format-aware LogicalIO the stream is switched to reads its footer
+   * without making another request.
+   *
+   * @param s3URI the object's S3 URI
+   * @param physicalIO the PhysicalIO of the stream being opened
+   * @return the file format of the object, DEFAULT if it cannot be detected
+   */
+  public ObjectFormat detect(@NonNull S3URI s3URI, @NonNull PhysicalIO physicalIO) {
+    try {
+      long contentLength = physicalIO.metadata().getContentLength();
+      Optional<Range> tailRange = ParquetUtils.getFileTailRange(configuration, 0, contentLength);
+      if (!tailRange.isPresent()) {
+        return ObjectFormat.DEFAULT;
+      }
+
+      byte[] tail = new byte[(int) tailRange.get().getLength()];
+      if (physicalIO.readTail(tail, 0, tail.length) != tail.length) {
+        return ObjectFormat.DEFAULT;
+      }
+      return detectObjectFormat(tail, 0, tail.length);
+    } catch (Exception e) {
+      LOG.debug("Unable to detect the format of {}.", s3URI.getKey(), e);
+      return ObjectFormat.DEFAULT;
+    }
+  }
+
+  /**
+   * Detects the file format of an object from the magic numbers at the end of its tail: PAR1 for
+   * Parquet, ARROW1 for Arrow IPC files, and a PostScript holding the ORC magic for ORC.
+   *
+   * @param tail the buffer holding the end of the object
+   * @param offset the offset of the end of the object in the buffer
+   * @param length the length of the end of the object in the buffer
+   * @return the file format of the object, DEFAULT if none matches
+   */
+  static ObjectFormat detectObjectFormat(byte[] tail, int offset, int length) {
+    if (endsWith(tail, offset, length, PARQUET_MAGIC)) {
+      return ObjectFormat.PARQUET;
+    }
+
+    if (endsWith(tail, offset, length, ARROW_MAGIC)) {
+      return ObjectFormat.ARROW;
+    }
+
+    try {
+      OrcTailDecoder.getTailLength(tail, offset, length);
+      return ObjectFormat.ORC;
+    } catch (Exception e) {
+      return ObjectFormat.DEFAULT;
+    }
+  }
+
+  private static boolean endsWith(byte[] buffer, int offset, int length, byte[] magic) {
+    if (length < magic.length) {
+      return false;
+    }
+    int magicOffset = offset + length - magic.length;
+    for (int i = 0; i < magic.length; i++) {
+      if (buffer[magicOffset + i] != magic[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean hasFileExtension(String key) {
+    return key.lastIndexOf('.') > key.lastIndexOf('/');
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetUtils;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormat;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormatSelector;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Prefetches the objects a caller declared, with {@link OpenStreamOptions#getUpcomingObjects()},
+ * that it is going to read after the one it opens. Without this, the metadata and the footer of
+ * the next object of a split are only fetched once the caller is done with the current one.
+ *
+ * <p>For each of the next crossObjectLookaheadCount objects, the metadata is fetched into the
+ * {@link MetadataStore}, the footer of columnar objects into the {@link TailCache}, and, if
+ * crossObjectLookaheadFirstBlockBytes is set, the start of the object into the {@link BlobStore}.
+ * The stream opened for the object later finds all of these in the caches. Prefetches run on the
+ * {@link PrefetchExecutor}, and the bytes they fetch at any time are limited to
+ * crossObjectLookaheadMaxBytes; an object that does not fit into the budget is not prefetched. The
+ * bytes of an object are reserved until they have been fetched, not only requested, so the budget
+ * bounds the GETs in flight.
+ */
+public class ObjectLookahead {
+  // Dependencies
+  private final MetadataStore metadataStore;
+  private final BlobStore blobStore;
+  private final TailCache tailCache;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PrefetchExecutor prefetchExecutor;
+  private final ObjectFormatSelector objectFormatSelector;
+
+  // Objects being prefetched, so that an object declared by many streams is prefetched once
+  private final Set<S3URI> prefetching = ConcurrentHashMap.newKeySet();
+  private final AtomicLong reservedBytes = new AtomicLong();
+
+  private static final String OPERATION_CROSS_OBJECT_LOOKAHEAD = "cross.object.lookahead";
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectLookahead.class);
+
+  /**
+   * Creates a new instance of {@link ObjectLookahead}.
+   *
+   * @param metadataStore the metadata cache shared across streams
+   * @param blobStore the data cache shared across streams
+   * @param tailCache the cache of object tails shared across streams
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param prefetchExecutor executor to prefetch the objects on
+   * @param objectFormatSelector selector of the format of the objects
+   */
+  public ObjectLookahead(
+      @NonNull MetadataStore metadataStore,
+      @NonNull BlobStore blobStore,
+      @NonNull TailCache tailCache,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull ObjectFormatSelector objectFormatSelector) {
+    this.metadataStore = metadataStore;
+    this.blobStore = blobStore;
+    this.tailCache = tailCache;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.prefetchExecutor = prefetchExecutor;
+    this.objectFormatSelector = objectFormatSelector;
+  }
+
+  /**
+   * Submits the prefetches of the next crossObjectLookaheadCount upcoming objects that are not
+   * being prefetched already.
+   *
+   * @param upcomingObjects the objects the caller reads next, in order
+   * @param streamContext audit headers to be attached to the requests
+   */
+  public void prefetch(@NonNull List<S3URI> upcomingObjects, StreamContext streamContext) {
+    int count =
+        Math.min(logicalIOConfiguration.getCrossObjectLookaheadCount(), upcomingObjects.size());
+    for (int i = 0; i < count; i++) {
+      S3URI s3URI = upcomingObjects.get(i);
+      if (prefetching.add(s3URI)) {
+        prefetchExecutor
+            .submit(() -> prefetchObject(s3URI, streamContext))
+            .whenComplete(
+                (bytes, error) -> {
+                  prefetching.remove(s3URI);
+                  if (error != null) {
+                    LOG.debug("Unable to prefetch upcoming object {}.", s3URI.getKey(), error);
+                  }
+                });
+      }
+    }
+  }
+
+  /**
+   * Returns the bytes that are being prefetched.
+   *
+   * @return the bytes reserved by the prefetches in flight
+   */
+  public long getReservedBytes() {
+    return reservedBytes.get();
+  }
+
+  /**
+   * Prefetches the metadata, the footer and the first block of an object.
+   *
+   * @param s3URI the object's S3 URI
+   * @param streamContext audit headers to be attached to the requests
+   * @return the number of bytes prefetched, 0 if the object does not fit into the budget
+   */
+  long prefetchObject(S3URI s3URI, StreamContext streamContext) {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_CROSS_OBJECT_LOOKAHEAD)
+                .attribute(StreamAttributes.uri(s3URI))
+                .build(),
+        () -> {
+          PhysicalIO physicalIO =
+              new PhysicalIOImpl(
+                  s3URI, metadataStore, blobStore, tailCache, telemetry, streamContext);
+          long contentLength = physicalIO.metadata().getContentLength();
+          long tailLength = hasFooter(s3URI) ? getTailLength(contentLength) : 0;
+          long firstBlockLength =
+              Math.min(
+                  logicalIOConfiguration.getCrossObjectLookaheadFirstBlockBytes(),
+                  contentLength - tailLength);
+
+          long bytes = tailLength + firstBlockLength;
+          if (!reserve(bytes)) {
+            return 0L;
+          }
+          try {
+            if (firstBlockLength > 0) {
+              // The plan is executed asynchronously, wait for the block before releasing its bytes
+              physicalIO.execute(new IOPlan(new Range(0, firstBlockLength - 1)));
+              physicalIO.transferTo(0, firstBlockLength, DiscardingChannel.INSTANCE);
+            }
+            if (tailLength > 0) {
+              physicalIO.readTail(new byte[(int) tailLength], 0, (int) tailLength);
+            }
+            return bytes;
+          } finally {
+            reservedBytes.addAndGet(-bytes);
+          }
+        });
+  }
+
+  private boolean hasFooter(S3URI s3URI) {
+    ObjectFormat objectFormat = objectFormatSelector.getObjectFormat(s3URI);
+    return objectFormat == ObjectFormat.PARQUET
+        || objectFormat == ObjectFormat.ORC
+        || objectFormat == ObjectFormat.ARROW;
+  }
+
+  private long getTailLength(long contentLength) {
+    // The same tail the Parquet, ORC and Arrow LogicalIOs read their footer with
+    return ParquetUtils.getFileTailRange(logicalIOConfiguration, 0, contentLength)
+        .map(Range::getLength)
+        .orElse(0L);
+  }
+
+  private boolean reserve(long bytes) {
+    long maxBytes = logicalIOConfiguration.getCrossObjectLookaheadMaxBytes();
+    while (true) {
+      long reserved = reservedBytes.get();
+      if (reserved + bytes > maxBytes) {
+        return false;
+      }
+      if (reservedBytes.compareAndSet(reserved, reserved + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /** A channel that drops the bytes written to it. */
+  private static final class DiscardingChannel implements WritableByteChannel {
+    private static final DiscardingChannel INSTANCE = new DiscardingChannel();
+
+    @Override
+    public int write(ByteBuffer src) {
+      int length = src.remaining();
+      src.position(src.limit());
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
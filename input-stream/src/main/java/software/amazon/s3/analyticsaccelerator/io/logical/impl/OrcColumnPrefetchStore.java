@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamMappers;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * The ORC counterpart of {@link ParquetColumnPrefetchStore}: the state required for ORC
+ * prefetching that outlives individual streams. It holds the {@link OrcStreamMappers} of recently
+ * opened files, the columns recently read for each schema, and the stripes whose recently read
+ * columns have been prefetched for each file. Stream mappers are keyed by the URI and ETag of the
+ * file, so that those of an overwritten file are not used for the new one.
+ *
+ * <p>Columns are predicted the same way as for Parquet, see {@link ColumnAccessCounts}, and the
+ * store is bounded by the same settings of {@link LogicalIOConfiguration}: the number of files by
+ * parquetMetadataStoreSize and the number of schemas by maxColumnAccessCountStoreSize. Like the
+ * Parquet store, it does not take a lock shared by all streams.
+ */
+public class OrcColumnPrefetchStore {
+  private final LogicalIOConfiguration configuration;
+  private final BoundedConcurrentMap<ObjectKey, OrcStreamMappers> streamMappersStore;
+  private final BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadColumnsPerSchema;
+  private final BoundedConcurrentMap<S3URI, RowGroupBitmap> stripesPrefetched;
+
+  /**
+   * Creates a new instance of {@link OrcColumnPrefetchStore}.
+   *
+   * @param configuration LogicalIO configuration, holding the bounds of the store
+   */
+  public OrcColumnPrefetchStore(@NonNull LogicalIOConfiguration configuration) {
+    this.configuration = configuration;
+    this.streamMappersStore =
+        BoundedConcurrentMap.withMaxSize(configuration.getParquetMetadataStoreSize());
+    this.recentlyReadColumnsPerSchema =
+        BoundedConcurrentMap.withMaxSize(configuration.getMaxColumnAccessCountStoreSize());
+    this.stripesPrefetched =
+        BoundedConcurrentMap.withMaxSize(configuration.getParquetMetadataStoreSize());
+  }
+
+  /**
+   * Gets the stream mappers of a specific version of a file.
+   *
+   * @param objectKey the URI and ETag of the file
+   * @return the stream mappers, or null if they are not held for this version of the file
+   */
+  public OrcStreamMappers getStreamMappers(@NonNull ObjectKey objectKey) {
+    return streamMappersStore.get(objectKey);
+  }
+
+  /**
+   * Stores the stream mappers of a file, evicting those of the oldest file if the store is full.
+   *
+   * @param objectKey the URI and ETag of the file
+   * @param streamMappers the stream mappers of the file
+   */
+  public void putStreamMappers(
+      @NonNull ObjectKey objectKey, @NonNull OrcStreamMappers streamMappers) {
+    streamMappersStore.put(objectKey, streamMappers);
+  }
+
+  /**
+   * Records a read of a top level column for a schema.
+   *
+   * @param schemaHash the schema hash of the file read
+   * @param columnName the name of the column read
+   */
+  public void addRecentColumn(int schemaHash, @NonNull String columnName) {
+    recentlyReadColumnsPerSchema
+        .computeIfAbsent(
+            schemaHash, schema -> new ColumnAccessCounts(configuration.getColumnAccessHalfLife()))
+        .add(columnName);
+  }
+
+  /**
+   * Gets the columns predicted to be read for a schema, see {@link
+   * ParquetColumnPrefetchStore#getUniqueRecentColumnsForSchema}.
+   *
+   * @param schemaHash the schema to get the columns of
+   * @return the columns predicted to be read
+   */
+  public Set<String> getUniqueRecentColumnsForSchema(int schemaHash) {
+    ColumnAccessCounts columnAccessCounts = recentlyReadColumnsPerSchema.get(schemaHash);
+    if (columnAccessCounts == null) {
+      return Collections.emptySet();
+    }
+    return columnAccessCounts.getPredictedColumns(
+        configuration.getColumnPredictionConfidenceThreshold());
+  }
+
+  /**
+   * Checks if the recently read columns of a stripe have been prefetched.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   * @return true if the stripe has been prefetched
+   */
+  public boolean isStripePrefetched(@NonNull S3URI s3URI, int stripeIndex) {
+    RowGroupBitmap stripes = stripesPrefetched.get(s3URI);
+    return stripes != null && stripes.contains(stripeIndex);
+  }
+
+  /**
+   * Records that the recently read columns of a stripe have been prefetched, so that they are not
+   * prefetched again when the stripe is read.
+   *
+   * @param s3URI the S3URI of the file
+   * @param stripeIndex the index of the stripe
+   */
+  public void storePrefetchedStripe(@NonNull S3URI s3URI, int stripeIndex) {
+    stripesPrefetched.computeIfAbsent(s3URI, key -> new RowGroupBitmap()).add(stripeIndex);
+  }
+}
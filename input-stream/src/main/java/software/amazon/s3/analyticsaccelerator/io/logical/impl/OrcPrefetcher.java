@@ -0,0 +1,185 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.concurrent.CompletableFuture;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadataParsingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcPredictivePrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcReadTailTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamMappers;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * An ORC prefetcher is a common place for all ORC-related async prefetching activity, mirroring
+ * {@link ParquetPrefetcher}: prefetching and reading the tail, reading the stripe footers to map
+ * streams to columns, collecting ORC usage information and prefetching the streams of the columns
+ * predicted to be read.
+ *
+ * <p>The ORC prefetcher swallows all exceptions arising from the tasks it schedules because
+ * exceptions do not escape CompletableFutures.
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class OrcPrefetcher {
+  @NonNull private final S3URI s3URI;
+  @NonNull private final PhysicalIO physicalIO;
+  @NonNull private final LogicalIOConfiguration logicalIOConfiguration;
+  @NonNull private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+  @NonNull private final Telemetry telemetry;
+  @NonNull private final PrefetchExecutor prefetchExecutor;
+
+  // Tasks
+  @NonNull private final OrcReadTailTask orcReadTailTask;
+  @NonNull private final OrcMetadataParsingTask orcMetadataParsingTask;
+  @NonNull private final OrcPredictivePrefetchingTask orcPredictivePrefetchingTask;
+
+  private static final Logger LOG = LoggerFactory.getLogger(OrcPrefetcher.class);
+
+  private static final String OPERATION_ORC_PREFETCH_FOOTER_AND_METADATA =
+      "orc.prefetcher.prefetch.footer.and.metadata.async";
+
+  /**
+   * Constructs an OrcPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param orcColumnPrefetchStore a common place for ORC usage information
+   * @param prefetchExecutor the executor to run prefetching tasks on
+   * @param openStreamOptions the options the stream was opened with, holding the caller's hints
+   */
+  public OrcPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull OpenStreamOptions openStreamOptions) {
+    this(
+        s3URI,
+        physicalIO,
+        logicalIOConfiguration,
+        orcColumnPrefetchStore,
+        telemetry,
+        prefetchExecutor,
+        new OrcReadTailTask(s3URI, telemetry, logicalIOConfiguration, physicalIO),
+        new OrcMetadataParsingTask(s3URI, telemetry, physicalIO, orcColumnPrefetchStore),
+        new OrcPredictivePrefetchingTask(
+            s3URI,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            orcColumnPrefetchStore,
+            openStreamOptions));
+  }
+
+  /**
+   * Prefetches the tail of the object, builds its stream mappers from the footer and the stripe
+   * footers if they are not held already, and prefetches the streams of the predicted columns.
+   *
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  public CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadata() {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_PREFETCH_FOOTER_AND_METADATA)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        prefetchFooterAndBuildMetadataImpl());
+  }
+
+  private CompletableFuture<IOPlanExecution> prefetchFooterAndBuildMetadataImpl() {
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.OFF) {
+      return CompletableFuture.completedFuture(
+          IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    }
+
+    OrcStreamMappers streamMappers = getParsedStreamMappers();
+    if (streamMappers != null) {
+      // The metadata of the object was read by a previous stream
+      return prefetchExecutor.submit(
+          () -> orcPredictivePrefetchingTask.prefetchRecentColumns(streamMappers));
+    }
+
+    if (logicalIOConfiguration.isPrefetchFooterEnabled()) {
+      orcReadTailTask.prefetchTail();
+    }
+
+    return prefetchExecutor
+        .submit(
+            () ->
+                orcMetadataParsingTask.storeStreamMappers(orcReadTailTask.readFileMetadata()))
+        .thenApply(orcPredictivePrefetchingTask::prefetchRecentColumns)
+        .exceptionally(
+            e -> {
+              LOG.debug("Unable to prefetch ORC metadata for {}.", s3URI.getKey(), e);
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            });
+  }
+
+  /**
+   * Records the column read at this position, and prefetches the predicted columns of its stripe
+   * if they have not been prefetched yet.
+   *
+   * @param position the position of the read
+   */
+  public void addToRecentColumnList(long position) {
+    try {
+      if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.OFF) {
+        this.orcPredictivePrefetchingTask.addToRecentColumnList(position);
+      }
+    } catch (Exception e) {
+      LOG.warn(
+          "Unable to add column to recently read columns tracked list for {}.", s3URI.getKey(), e);
+    }
+  }
+
+  /**
+   * Gets the stream mappers a previous stream built for the version of the object this stream
+   * reads. Mappers are stored by URI and ETag, so those of an overwritten object are not used.
+   *
+   * @return the stream mappers, or null if there are none or the metadata of the object can not be
+   *     fetched
+   */
+  private OrcStreamMappers getParsedStreamMappers() {
+    try {
+      return orcColumnPrefetchStore.getStreamMappers(
+          ObjectKey.of(s3URI, physicalIO.metadata().getEtag()));
+    } catch (Exception e) {
+      LOG.debug("Unable to get the metadata of {}.", s3URI.getKey(), e);
+      return null;
+    }
+  }
+}
@@ -16,58 +16,86 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.ArrayList;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataDiskCache;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataParsingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredictivePrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
  * This class maintains a shared state required for Parquet prefetching operations that is required
  * independent of the life of individual streams. It is used to store Parquet metadata for
- * individual files, and a list of recently read columns. This is meant to be shared across multiple
- * streams as calling applications may open and close a stream to a file several times while
- * reading. For Spark, this was observed to happen as a stream to a Parquet file is first opened to
- * read the footer, and then a separate stream is opened to read the data.
+ * individual files, and the columns recently read for each schema. This is meant to be shared
+ * across multiple streams as calling applications may open and close a stream to a file several
+ * times while reading. For Spark, this was observed to happen as a stream to a Parquet file is
+ * first opened to read the footer, and then a separate stream is opened to read the data.
+ *
+ * <p>The columns read for each schema can also be kept in a local file, set by
+ * columnAccessProfilePath in {@link LogicalIOConfiguration}, so that a new process, for example a
+ * new executor of a cluster, starts with what previous processes learnt and prefetches the right
+ * columns for its first file. The file is read when the store is created, and written when it is
+ * closed, and every columnAccessProfileRefreshIntervalMs in between if that is set. Each write
+ * first merges in the profiles written by other processes sharing the file.
+ *
+ * <p>The store is shared by every stream of a factory, and it is used on every read of a Parquet
+ * file, so none of its methods take a lock shared by all streams: it is built from concurrent maps,
+ * atomic row group bitmaps and lock-free access counts, so that it scales with the number of
+ * concurrent streams.
  */
 @SuppressFBWarnings(
     value = "SE_BAD_FIELD",
     justification = "The closure classes trigger this. We never use serialization on this class")
-public class ParquetColumnPrefetchStore {
+public class ParquetColumnPrefetchStore implements Closeable {
 
   /**
-   * * This is a mapping of S3 URI's of Parquet files to their {@link ColumnMappers}. When a stream
+   * * This is a mapping of versions of Parquet files to their {@link ColumnMappers}. When a stream
    * for a Parquet file is read, these ColumnMappers are constructed in {@link
-   * ParquetMetadataParsingTask} asynchronously. This ColumnMappers class contains two maps, and
-   * offsetIndexToColumnMap and a columnNameToColumnMap. For a Parquet file, offsetIndexToColumnMap
-   * maps the starting position of each column in the file to it's {@link ColumnMetadata}. For
-   * example, this will be [<100, ss_a_metadata>, <600, ss_b_metadata>]. The columnNameToColumnMap
-   * maps a column name to its metadata, this will be [<ss_a, ss_a_metadata>, <ss_b,
-   * ss_b_metadata>].
+   * ParquetMetadataParsingTask} asynchronously. ColumnMappers map the starting position of each
+   * column chunk in the file to its {@link ColumnMetadata}, and a column name to the metadata of
+   * all its chunks. For example, positions 100 and 600 map to ss_a_metadata and ss_b_metadata, and
+   * ss_a maps to [ss_a_metadata].
    *
-   * <p>When a read for particular position is made, offsetIndexToColumnMap is used to check if this
+   * <p>When a read for particular position is made, ColumnMappers are used to check if this
    * position corresponds to a column for this file. For example, if a read() is made at position
-   * 100, then for the above, offsetIndexToColumnMap is used to infer that this read was for the
-   * colum ss_a. This column is then added to the list of recently read columns.
+   * 100, then for the above, ColumnMappers are used to infer that this read was for the colum ss_a.
+   * This column is then added to the list of recently read columns.
    *
-   * <p>columnNameToColumnMap is required when predictively prefetching columns for a newly opened
-   * file in {@link ParquetPredictivePrefetchingTask}. For a list of recently read columns, for
-   * example [ss_a, ss_b], to prefetch these columns for a new file, the columnNameToColumnMap is
-   * used to find the metadata for a column called ss_a in the newly opened file. If such a key does
+   * <p>Lookups by column name are required when predictively prefetching columns for a newly
+   * opened file in {@link ParquetPredictivePrefetchingTask}. For a list of recently read columns,
+   * for example [ss_a, ss_b], to prefetch these columns for a new file, ColumnMappers are used to
+   * find the metadata for a column called ss_a in the newly opened file. If such a column does
    * exist, then the information stored in it's ColumnMetadata, specifically the start position and
    * length is used to prefetch the correct range for this column.
+   *
+   * <p>The store is bounded by the estimated size in bytes of the ColumnMappers it holds, defined
+   * by parquetMetadataStoreMaxBytes in {@link LogicalIOConfiguration}, rather than by the number of
+   * files, as the metadata of a wide file with many row groups can be orders of magnitude larger
+   * than that of a narrow one. When the bound is exceeded, the oldest entries are evicted.
+   *
+   * <p>Entries are keyed by the URI and ETag of the file, so that when a file is overwritten, its
+   * streams parse the new footer rather than prefetching with the column chunks of the old one.
    */
-  private final Map<S3URI, ColumnMappers> columnMappersStore;
+  private final BoundedConcurrentMap<ObjectKey, ColumnMappers> columnMappersStore;
 
   /**
    * This is a mapping of schema and the recently read columns for it. For a Parquet file, a hash is
@@ -76,16 +104,16 @@ public class ParquetColumnPrefetchStore {
    * Two files belonging to store_sales table will have the same columns, and so have the same
    * schema hash.
    *
-   * <p>This map is then used to store a list of recently read columns for each schema. For example,
-   * if a stream recently read columns [ss_a, ss_b] for a store_sales schema, the list would contain
-   * [ss_a, ss_b]. The list is limited to a size defined by maxColumnAccessCountStoreSize in {@link
-   * LogicalIOConfiguration}. By default, this 15. This means that this list will contain the last
-   * 15 columns that were read for this particular schema.
-   *
-   * <p>If a query is reading ss_a and ss_b, this list will look something like [ss_a, ss_b, ss_a,
-   * ss_b]. This helps us maintain a history of the columns currently being read.
+   * <p>This map is then used to store the {@link ColumnAccessCounts} of each schema, which weigh
+   * how often and how recently each column was read. For example, if a query is reading ss_a and
+   * ss_b from a store_sales schema, both columns will have a high count. If the query changes to
+   * read ss_c instead, the counts of ss_a and ss_b decay as more reads come in, and they stop being
+   * predicted once they fall below columnPredictionConfidenceThreshold of the count of ss_c. The
+   * number of schemas tracked is limited to maxColumnAccessCountStoreSize in {@link
+   * LogicalIOConfiguration}, by default 15. When it is exceeded, the schema that was first read the
+   * longest ago is evicted.
    */
-  private final Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema;
+  private final BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadColumnsPerSchema;
 
   /**
    * This is a mapping of schema and the recently read column dictionaries for it. This differs from
@@ -94,11 +122,12 @@ public class ParquetColumnPrefetchStore {
    * ss_c = 123". Then, for predicate matching, the dictionary for ss_c will be read, and column
    * data will be required for ss_a and ss_b.
    */
-  private final Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema;
+  private final BoundedConcurrentMap<Integer, ColumnAccessCounts>
+      recentlyReadDictionariesPerSchema;
 
   /**
-   * This is a mapping of S3 URI's of Parquet files to a list of row group indexes prefetched. This
-   * is used when {@link PrefetchMode} is equal to ROW_GROUP. In this mode, prefetching only happens
+   * This is a mapping of S3 URI's of Parquet files to the row group indexes prefetched. This is
+   * used when {@link PrefetchMode} is equal to ROW_GROUP. In this mode, prefetching only happens
    * when a read to a column is detected. This is different to the ALL mode, where prefetching will
    * happen on the first open of the file.
    *
@@ -110,18 +139,42 @@ public class ParquetColumnPrefetchStore {
    * <p>When there is a read at position to 100 or 500, this corresponds to a read to ss_a or ss_b
    * from row group 0, so in this case, any recent columns from row group 0 will be prefetched. 0
    * will then be added to this rowGroupsPrefetched map, so that if another read happens to a column
-   * in this row group, prefetches for the row group are not triggerred again.
+   * in this row group, prefetches for the row group are not triggerred again. As this is checked on
+   * every read of a column, the row groups of each file are kept in a {@link RowGroupBitmap}.
+   */
+  private final BoundedConcurrentMap<S3URI, RowGroupBitmap> columnRowGroupsPrefetched;
+
+  /**
+   * Similar to columnRowGroupsPrefetched, this is a mapping of S3 URI's of Parquet files to the row
+   * group indexes prefetched for dictionaries only.
+   */
+  private final BoundedConcurrentMap<S3URI, RowGroupBitmap> dictionaryRowGroupsPrefetched;
+
+  /**
+   * An optional on-disk cache of {@link ColumnMappers}, enabled by setting
+   * parquetMetadataCacheDirectory in {@link LogicalIOConfiguration}. Unlike columnMappersStore, it
+   * outlives the process, so a warm executor opening a file it has already seen can skip fetching
+   * and parsing the footer. Entries are keyed by the URI, ETag and length of the object, and the
+   * least recently used ones are deleted beyond parquetMetadataCacheMaxBytes. This is null when the
+   * on-disk cache is disabled.
    */
-  private final Map<S3URI, List<Integer>> columnRowGroupsPrefetched;
+  private final ParquetMetadataDiskCache parquetMetadataDiskCache;
 
   /**
-   * Similar to columnRowGroupsPrefetched, this is a mapping of S3 URI's of Parquet files to a list
-   * of row group indexes prefetched for dictionaries only.
+   * An optional file the column access counts of each schema are persisted to, enabled by setting
+   * columnAccessProfilePath in {@link LogicalIOConfiguration}. This is null when disabled.
    */
-  private final Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched;
+  private final ColumnAccessProfileFile columnAccessProfileFile;
+
+  /** Refreshes the column access profile file periodically, or null if it is not refreshed. */
+  private final ScheduledExecutorService columnAccessProfileRefresher;
 
   private final LogicalIOConfiguration configuration;
 
+  private static final String COLUMN_ACCESS_PROFILE_THREAD_NAME =
+      "s3-analytics-accelerator-column-access-profile";
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetColumnPrefetchStore.class);
+
   /**
    * Creates a new instance of ParquetMetadataStore.
    *
@@ -130,36 +183,15 @@ public class ParquetColumnPrefetchStore {
   public ParquetColumnPrefetchStore(LogicalIOConfiguration configuration) {
     this(
         configuration,
-        new LinkedHashMap<S3URI, ColumnMappers>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, ColumnMappers> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        },
-        new LinkedHashMap<Integer, LinkedList<String>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<Integer, LinkedList<String>> eldest) {
-            return this.size() > configuration.getMaxColumnAccessCountStoreSize();
-          }
-        },
-        new LinkedHashMap<Integer, LinkedList<String>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<Integer, LinkedList<String>> eldest) {
-            return this.size() > configuration.getMaxColumnAccessCountStoreSize();
-          }
-        },
-        new LinkedHashMap<S3URI, List<Integer>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, List<Integer>> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        },
-        new LinkedHashMap<S3URI, List<Integer>>() {
-          @Override
-          protected boolean removeEldestEntry(final Map.Entry<S3URI, List<Integer>> eldest) {
-            return this.size() > configuration.getParquetMetadataStoreSize();
-          }
-        });
+        new BoundedConcurrentMap<>(
+            configuration.getParquetMetadataStoreMaxBytes(),
+            ColumnMappers::getEstimatedSizeInBytes),
+        BoundedConcurrentMap.withMaxSize(configuration.getMaxColumnAccessCountStoreSize()),
+        BoundedConcurrentMap.withMaxSize(configuration.getMaxColumnAccessCountStoreSize()),
+        BoundedConcurrentMap.withMaxSize(configuration.getParquetMetadataStoreSize()),
+        BoundedConcurrentMap.withMaxSize(configuration.getParquetMetadataStoreSize()),
+        createMetadataDiskCache(configuration),
+        createColumnAccessProfileFile(configuration));
   }
 
   /**
@@ -167,154 +199,375 @@ public class ParquetColumnPrefetchStore {
    * injection.
    *
    * @param configuration LogicalIO configuration
-   * @param columnMappersStore Store of column mappings
-   * @param recentlyReadColumnsPerSchema List of recent read columns for each schema
-   * @param recentlyReadDictionariesPerSchema List of recent read dictionaries for each schema
-   * @param columnRowGroupsPrefetched Map of Parquet file URI to row groups that have been
+   * @param columnMappersStore Store of column mappings, bounded by their size in bytes
+   * @param recentlyReadColumnsPerSchema Access counts of the columns read for each schema
+   * @param recentlyReadDictionariesPerSchema Access counts of the dictionaries read for each schema
+   * @param columnRowGroupsPrefetched Map of Parquet file URI to row groups whose columns have been
    *     prefetched for it
-   * @param dictionaryRowGroupsPrefetched Map of Parquet file URI to row groups that have been
+   * @param dictionaryRowGroupsPrefetched Map of Parquet file URI to row groups whose dictionaries
+   *     have been prefetched for it
+   * @param parquetMetadataDiskCache On-disk cache of column mappings, or null if disabled
+   */
+  ParquetColumnPrefetchStore(
+      LogicalIOConfiguration configuration,
+      BoundedConcurrentMap<ObjectKey, ColumnMappers> columnMappersStore,
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadColumnsPerSchema,
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadDictionariesPerSchema,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> columnRowGroupsPrefetched,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> dictionaryRowGroupsPrefetched,
+      ParquetMetadataDiskCache parquetMetadataDiskCache) {
+    this(
+        configuration,
+        columnMappersStore,
+        recentlyReadColumnsPerSchema,
+        recentlyReadDictionariesPerSchema,
+        columnRowGroupsPrefetched,
+        dictionaryRowGroupsPrefetched,
+        parquetMetadataDiskCache,
+        null);
+  }
+
+  /**
+   * Creates a new instance of ParquetMetadataStore. This constructor is used for dependency
+   * injection. If a column access profile file is given, the profiles in it are loaded.
+   *
+   * @param configuration LogicalIO configuration
+   * @param columnMappersStore Store of column mappings, bounded by their size in bytes
+   * @param recentlyReadColumnsPerSchema Access counts of the columns read for each schema
+   * @param recentlyReadDictionariesPerSchema Access counts of the dictionaries read for each schema
+   * @param columnRowGroupsPrefetched Map of Parquet file URI to row groups whose columns have been
    *     prefetched for it
+   * @param dictionaryRowGroupsPrefetched Map of Parquet file URI to row groups whose dictionaries
+   *     have been prefetched for it
+   * @param parquetMetadataDiskCache On-disk cache of column mappings, or null if disabled
+   * @param columnAccessProfileFile File to persist column access counts to, or null if disabled
    */
   ParquetColumnPrefetchStore(
       LogicalIOConfiguration configuration,
-      Map<S3URI, ColumnMappers> columnMappersStore,
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema,
-      Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema,
-      Map<S3URI, List<Integer>> columnRowGroupsPrefetched,
-      Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched) {
+      BoundedConcurrentMap<ObjectKey, ColumnMappers> columnMappersStore,
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadColumnsPerSchema,
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadDictionariesPerSchema,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> columnRowGroupsPrefetched,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> dictionaryRowGroupsPrefetched,
+      ParquetMetadataDiskCache parquetMetadataDiskCache,
+      ColumnAccessProfileFile columnAccessProfileFile) {
     this.configuration = configuration;
     this.columnMappersStore = columnMappersStore;
     this.recentlyReadColumnsPerSchema = recentlyReadColumnsPerSchema;
     this.columnRowGroupsPrefetched = columnRowGroupsPrefetched;
     this.recentlyReadDictionariesPerSchema = recentlyReadDictionariesPerSchema;
     this.dictionaryRowGroupsPrefetched = dictionaryRowGroupsPrefetched;
+    this.parquetMetadataDiskCache = parquetMetadataDiskCache;
+    this.columnAccessProfileFile = columnAccessProfileFile;
+    this.columnAccessProfileRefresher = createColumnAccessProfileRefresher();
+
+    if (columnAccessProfileFile != null) {
+      try {
+        readColumnAccessProfiles(columnAccessProfileFile.getPath());
+      } catch (IOException e) {
+        LOG.warn(
+            "Unable to load column access profiles from {}, starting without them.",
+            columnAccessProfileFile.getPath(),
+            e);
+      }
+    }
+  }
+
+  private static ParquetMetadataDiskCache createMetadataDiskCache(
+      LogicalIOConfiguration configuration) {
+    String directory = configuration.getParquetMetadataCacheDirectory();
+    if (directory == null || directory.isEmpty()) {
+      return null;
+    }
+    return new ParquetMetadataDiskCache(
+        Paths.get(directory), configuration.getParquetMetadataCacheMaxBytes());
+  }
+
+  private static ColumnAccessProfileFile createColumnAccessProfileFile(
+      LogicalIOConfiguration configuration) {
+    String path = configuration.getColumnAccessProfilePath();
+    if (path == null || path.isEmpty()) {
+      return null;
+    }
+    return new ColumnAccessProfileFile(Paths.get(path));
+  }
+
+  private ScheduledExecutorService createColumnAccessProfileRefresher() {
+    long refreshIntervalMs = configuration.getColumnAccessProfileRefreshIntervalMs();
+    if (columnAccessProfileFile == null || refreshIntervalMs <= 0) {
+      return null;
+    }
+
+    ScheduledExecutorService refresher =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, COLUMN_ACCESS_PROFILE_THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+    refresher.scheduleWithFixedDelay(
+        this::refreshColumnAccessProfiles,
+        refreshIntervalMs,
+        refreshIntervalMs,
+        TimeUnit.MILLISECONDS);
+    return refresher;
+  }
+
+  /**
+   * Gets column mappers for a specific version of an object.
+   *
+   * @param objectKey The URI and ETag of the object to get column mappers for.
+   * @return Column mappings, or null if none are held for this version of the object
+   */
+  public ColumnMappers getColumnMappers(@NonNull ObjectKey objectKey) {
+    return columnMappersStore.get(objectKey);
   }
 
   /**
-   * Gets column mappers for a key.
+   * Stores column mappers for an object. The oldest column mappers are evicted until the store is
+   * within its size bound. The mappers of the given object are never evicted, so that a single file
+   * whose metadata exceeds the bound can still be prefetched for.
    *
-   * @param s3URI The S3URI to get column mappers for.
-   * @return Column mappings
+   * @param objectKey URI and ETag of the object to store mappers for
+   * @param columnMappers Parquet metadata column mappings
    */
-  public synchronized ColumnMappers getColumnMappers(S3URI s3URI) {
-    return columnMappersStore.get(s3URI);
+  public void putColumnMappers(@NonNull ObjectKey objectKey, ColumnMappers columnMappers) {
+    columnMappersStore.put(objectKey, columnMappers);
+  }
+
+  /**
+   * Gets the estimated size in bytes of the column mappers held in memory.
+   *
+   * @return the estimated size in bytes
+   */
+  long getColumnMappersStoreSizeBytes() {
+    return columnMappersStore.getWeight();
+  }
+
+  /**
+   * Gets column mappers for a specific version of an object, falling back to the on-disk metadata
+   * cache if they are not held in memory. Mappers loaded from disk are kept in memory from then on.
+   *
+   * @param s3URI The S3URI to get column mappers for
+   * @param objectMetadata metadata of the object, identifying its version
+   * @return Column mappings, or empty if they are not cached
+   */
+  public Optional<ColumnMappers> loadColumnMappers(S3URI s3URI, ObjectMetadata objectMetadata) {
+    ObjectKey objectKey = ObjectKey.of(s3URI, objectMetadata.getEtag());
+    ColumnMappers columnMappers = getColumnMappers(objectKey);
+    if (columnMappers != null) {
+      return Optional.of(columnMappers);
+    }
+
+    if (parquetMetadataDiskCache == null) {
+      return Optional.empty();
+    }
+
+    Optional<ColumnMappers> persistedColumnMappers =
+        parquetMetadataDiskCache.get(s3URI, objectMetadata);
+    persistedColumnMappers.ifPresent(mappers -> putColumnMappers(objectKey, mappers));
+    return persistedColumnMappers;
   }
 
   /**
-   * Stores column mappers for an object.
+   * Persists column mappers for a specific version of an object to the on-disk metadata cache. This
+   * is a no-op if the on-disk cache is disabled.
    *
-   * @param s3URI S3URI to store mappers for
+   * @param s3URI S3URI to persist mappers for
+   * @param objectMetadata metadata of the object, identifying its version
    * @param columnMappers Parquet metadata column mappings
    */
-  public synchronized void putColumnMappers(S3URI s3URI, ColumnMappers columnMappers) {
-    columnMappersStore.put(s3URI, columnMappers);
+  public void persistColumnMappers(
+      S3URI s3URI, ObjectMetadata objectMetadata, ColumnMappers columnMappers) {
+    if (parquetMetadataDiskCache != null) {
+      parquetMetadataDiskCache.put(s3URI, objectMetadata, columnMappers);
+    }
   }
 
   /**
-   * Adds a column to the list of recent columns for a particular schema. This is a fixed sized
-   * list, whose size is defined by maxColumnAccessCountStoreSize in {@link LogicalIOConfiguration}.
-   * The default value is 15.
+   * Records a read of a column for a particular schema.
    *
    * <p>Reads at particular file offset correspond to a specific column being read. When a read
    * happens, {@link ColumnMappers} are used to find if this read corresponds to a column for the
    * currently open Parquet file. When a read happens, {@code
    * ParquetPredictivePrefetchingTask.addToRecentColumnList()} is used to decipher if it corresponds
    * to a column, that is, is there a column in the Parquet file with the same file_offset as the
-   * current position of the stream? If yes, this column gets added to the recently read columns for
-   * that particular schema. All Parquet files that have the exact same columns, and so the same
-   * hash(concatenated string of columnNames), are said to belong to the same schema eg:
-   * "store_sales".
-   *
-   * <p>This list maintains names of the last 15 columns that were read for a schema. This is used
-   * to maintain a brief recent history of the columns being read by a workload and make predictions
-   * when prefetching. Only columns that exist in this list are prefetched by {@link
-   * ParquetPredictivePrefetchingTask}.
-   *
-   * <p>For example, assume that this list is of size 3, and the current query executing is Select
-   * ss_a, ss_b from store_sales. This list will then contain something like [ss_a, ss_b, ss_a]. If
-   * the query changes to Select ss_d, ss_e from store_sales, this list will start getting updated
-   * as the reads for column ss_d and ss_e are requested.
-   *
-   * <p>The list will change as follows: // new read for ss_d is requested, update list. Since list
-   * is already at capacity, remove the first element from it as this the column we saw least
-   * recently. The list then becomes: [ss_b, ss_a, ss_d]
-   *
-   * <p>// A read for ss_e comes in, update list. Again, since list is at capacity, remove the least
-   * recently seen column. List becomes: [ss_a, ss_d, ss_e]
+   * current position of the stream? If yes, the read is recorded for that particular schema. All
+   * Parquet files that have the exact same columns, and so the same hash(concatenated string of
+   * columnNames), are said to belong to the same schema eg: "store_sales".
    *
-   * <p>After the next read, list will be [ss_d, ss_e, ss_d]
+   * <p>Each read adds one to the access count of the column, and the counts of all columns of the
+   * schema halve every columnAccessHalfLife reads, see {@link ColumnAccessCounts}. This weighs both
+   * how often and how recently columns are read, so that columns read by the current workload are
+   * predicted, even when it reads more columns than a short history of reads would hold, while a
+   * column read once by a previous query stops being predicted after a few half lives.
    *
-   * <p>In this way, a fixed size list helps maintain the most recent columns and increases accuracy
-   * when prefetching.
+   * <p>For example, with a half life of 2 reads, if the current query executing is Select ss_a,
+   * ss_b from store_sales, the reads [ss_a, ss_b, ss_a, ss_b] leave ss_a with a count of 1.06 and
+   * ss_b with a count of 1.5. If the query changes to Select ss_d from store_sales, after the reads
+   * [ss_d, ss_d] the count of ss_d is 1.71, while ss_a and ss_b decayed to 0.53 and 0.75. After two
+   * more reads of ss_d, ss_a and ss_b are at less than a fifth of the count of ss_d.
    *
    * @param columnMetadata column to be added
    */
-  public synchronized void addRecentColumn(ColumnMetadata columnMetadata) {
-    updateColumnAccessList(columnMetadata, recentlyReadColumnsPerSchema);
+  public void addRecentColumn(ColumnMetadata columnMetadata) {
+    updateColumnAccessCounts(columnMetadata, recentlyReadColumnsPerSchema);
   }
 
   /**
-   * Adds a column dictionary to the list of recent dictionaries for a particular schema. This is
-   * similar to addRecentColumn(), except tracks current dictionaries being read.
+   * Records a read of a column dictionary for a particular schema. This is similar to
+   * addRecentColumn(), except tracks current dictionaries being read.
    *
    * @param columnMetadata column dictionary to be added
    */
-  public synchronized void addRecentDictionary(ColumnMetadata columnMetadata) {
-    updateColumnAccessList(columnMetadata, recentlyReadDictionariesPerSchema);
+  public void addRecentDictionary(ColumnMetadata columnMetadata) {
+    updateColumnAccessCounts(columnMetadata, recentlyReadDictionariesPerSchema);
   }
 
-  private void updateColumnAccessList(
+  private void updateColumnAccessCounts(
       ColumnMetadata columnMetadata,
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema) {
-
-    LinkedList<String> schemaRecentColumns =
-        recentlyReadColumnsPerSchema.getOrDefault(
-            columnMetadata.getSchemaHash(), new LinkedList<>());
-
-    if (schemaRecentColumns.size() == this.configuration.getMaxColumnAccessCountStoreSize()) {
-      schemaRecentColumns.removeFirst();
-    }
-
-    schemaRecentColumns.add(columnMetadata.getColumnName());
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> columnAccessCountsPerSchema) {
+    getColumnAccessCounts(columnAccessCountsPerSchema, columnMetadata.getSchemaHash())
+        .add(columnMetadata.getColumnName());
+  }
 
-    recentlyReadColumnsPerSchema.put(columnMetadata.getSchemaHash(), schemaRecentColumns);
+  private ColumnAccessCounts getColumnAccessCounts(
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> columnAccessCountsPerSchema,
+      int schemaHash) {
+    return columnAccessCountsPerSchema.computeIfAbsent(
+        schemaHash, schema -> new ColumnAccessCounts(configuration.getColumnAccessHalfLife()));
   }
 
   /**
-   * Gets a list of unique column names from the recently read list. The recently read list contains
-   * a history of recent columns read for a particular schema. For example, for a store_sales schema
-   * this can be [ss_a, ss_b, ss_a, ss_b, ss_c, ss_c]. For prefetching, a set of unique columns to
-   * prefetch from this list is required. In this case, this will [ss_a, ss_b, ss_c].
+   * Gets the columns predicted to be read for a schema. These are the columns whose access count is
+   * at least columnPredictionConfidenceThreshold in {@link LogicalIOConfiguration} of the count of
+   * the most read column. For example, for a store_sales schema where ss_a and ss_b are read by the
+   * current query, and ss_c was read once by a previous one, this will be [ss_a, ss_b].
    *
    * @param schemaHash the schema for which to retrieve columns for
    * @return Unique set of recently read columns
    */
-  public synchronized Set<String> getUniqueRecentColumnsForSchema(int schemaHash) {
-    return getRecentAccessList(recentlyReadColumnsPerSchema, schemaHash);
+  public Set<String> getUniqueRecentColumnsForSchema(int schemaHash) {
+    return getPredictedColumns(recentlyReadColumnsPerSchema, schemaHash);
   }
 
   /**
-   * Gets a list of unique column dictionary names from the recently read list. Similar to
+   * Gets the column dictionaries predicted to be read for a schema. Similar to
    * getUniqueRecentColumnsForSchema(), except returns recent dictionaries accessed.
    *
    * @param schemaHash the schema for which to retrieve columns for
    * @return Unique set of recently read columns
    */
-  public synchronized Set<String> getUniqueRecentDictionaryForSchema(int schemaHash) {
-    return getRecentAccessList(recentlyReadDictionariesPerSchema, schemaHash);
+  public Set<String> getUniqueRecentDictionaryForSchema(int schemaHash) {
+    return getPredictedColumns(recentlyReadDictionariesPerSchema, schemaHash);
   }
 
-  private Set<String> getRecentAccessList(
-      Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema, int schemaHash) {
-    List<String> schemaRecentColumns = recentlyReadColumnsPerSchema.get(schemaHash);
+  private Set<String> getPredictedColumns(
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> columnAccessCountsPerSchema,
+      int schemaHash) {
+    ColumnAccessCounts columnAccessCounts = columnAccessCountsPerSchema.get(schemaHash);
 
-    if (schemaRecentColumns != null) {
-      return new HashSet<>(schemaRecentColumns);
+    if (columnAccessCounts != null) {
+      return columnAccessCounts.getPredictedColumns(
+          configuration.getColumnPredictionConfidenceThreshold());
     }
 
     return Collections.emptySet();
   }
 
+  /**
+   * Writes the column access counts of each schema to a file, replacing its contents. The file can
+   * be loaded by another process with {@link #importColumnAccessProfiles}.
+   *
+   * @param path the path of the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void exportColumnAccessProfiles(@NonNull Path path) throws IOException {
+    writeColumnAccessProfiles(path);
+  }
+
+  private void writeColumnAccessProfiles(Path path) throws IOException {
+    new ColumnAccessProfileFile(path)
+        .write(
+            getCountsPerSchema(recentlyReadColumnsPerSchema),
+            getCountsPerSchema(recentlyReadDictionariesPerSchema));
+  }
+
+  /**
+   * Merges the column access counts of each schema written to a file by {@link
+   * #exportColumnAccessProfiles} into the counts of this store. For columns that have a count in
+   * both, the higher count is kept. Streams reading concurrently are not held up by the import.
+   *
+   * @param path the path of the file to read
+   * @return true if the file exists and was loaded, false if it does not exist
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public boolean importColumnAccessProfiles(@NonNull Path path) throws IOException {
+    return readColumnAccessProfiles(path);
+  }
+
+  private boolean readColumnAccessProfiles(Path path) throws IOException {
+    Map<Integer, Map<String, Double>> columns = new HashMap<>();
+    Map<Integer, Map<String, Double>> dictionaries = new HashMap<>();
+    if (!new ColumnAccessProfileFile(path).read(columns, dictionaries)) {
+      return false;
+    }
+
+    mergeCountsPerSchema(columns, recentlyReadColumnsPerSchema);
+    mergeCountsPerSchema(dictionaries, recentlyReadDictionariesPerSchema);
+    return true;
+  }
+
+  private static Map<Integer, Map<String, Double>> getCountsPerSchema(
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> columnAccessCountsPerSchema) {
+    Map<Integer, Map<String, Double>> countsPerSchema = new HashMap<>();
+    for (Map.Entry<Integer, ColumnAccessCounts> schema : columnAccessCountsPerSchema.entries()) {
+      countsPerSchema.put(schema.getKey(), schema.getValue().getCounts());
+    }
+    return countsPerSchema;
+  }
+
+  private void mergeCountsPerSchema(
+      Map<Integer, Map<String, Double>> countsPerSchema,
+      BoundedConcurrentMap<Integer, ColumnAccessCounts> columnAccessCountsPerSchema) {
+    for (Map.Entry<Integer, Map<String, Double>> schema : countsPerSchema.entrySet()) {
+      ColumnAccessCounts columnAccessCounts =
+          getColumnAccessCounts(columnAccessCountsPerSchema, schema.getKey());
+      for (Map.Entry<String, Double> count : schema.getValue().entrySet()) {
+        columnAccessCounts.merge(count.getKey(), count.getValue());
+      }
+    }
+  }
+
+  /**
+   * Merges the profiles written to the column access profile file by other processes into this
+   * store, and writes the result back. Failures are logged, as the profiles are best effort.
+   */
+  private void refreshColumnAccessProfiles() {
+    if (columnAccessProfileFile == null) {
+      return;
+    }
+
+    Path path = columnAccessProfileFile.getPath();
+    try {
+      readColumnAccessProfiles(path);
+      writeColumnAccessProfiles(path);
+    } catch (IOException e) {
+      LOG.warn("Unable to refresh column access profiles in {}.", path, e);
+    }
+  }
+
+  /**
+   * Stops refreshing the column access profile file, and writes the profiles to it a last time.
+   */
+  @Override
+  public void close() {
+    if (columnAccessProfileRefresher != null) {
+      columnAccessProfileRefresher.shutdownNow();
+    }
+    refreshColumnAccessProfiles();
+  }
+
   /**
    * Checks if columns for a row group have been prefetched.
    *
@@ -322,7 +575,7 @@ public class ParquetColumnPrefetchStore {
    * @param rowGroupIndex to check
    * @return Boolean returns true if this row group has been prefetched for this key
    */
-  public synchronized boolean isColumnRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
+  public boolean isColumnRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
     return isRowGroupPrefetched(s3URI, rowGroupIndex, columnRowGroupsPrefetched);
   }
 
@@ -333,13 +586,15 @@ public class ParquetColumnPrefetchStore {
    * @param rowGroupIndex to check
    * @return Boolean returns true if this row group has been prefetched for this key
    */
-  public synchronized boolean isDictionaryRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
+  public boolean isDictionaryRowGroupPrefetched(S3URI s3URI, Integer rowGroupIndex) {
     return isRowGroupPrefetched(s3URI, rowGroupIndex, dictionaryRowGroupsPrefetched);
   }
 
   private boolean isRowGroupPrefetched(
-      S3URI s3URI, Integer rowGroupIndex, Map<S3URI, List<Integer>> rowGroupsPrefetched) {
-    List<Integer> rowGroupsPrefetchedForKey = rowGroupsPrefetched.get(s3URI);
+      S3URI s3URI,
+      Integer rowGroupIndex,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> rowGroupsPrefetched) {
+    RowGroupBitmap rowGroupsPrefetchedForKey = rowGroupsPrefetched.get(s3URI);
 
     if (rowGroupsPrefetchedForKey == null) {
       return false;
@@ -357,10 +612,25 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI to store prefetched row indexes for
    * @param rowGroupIndex for which recent columns have been prefetched
    */
-  public synchronized void storeColumnPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
+  public void storeColumnPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
     storePrefetchedRowGroupIndex(s3URI, rowGroupIndex, columnRowGroupsPrefetched);
   }
 
+  /**
+   * Removes a row group index stored by {@link #storeColumnPrefetchedRowGroupIndex}, so that the
+   * columns of the row group are prefetched again when it is read. This is required when a
+   * prefetch of the row group is cancelled before it completes.
+   *
+   * @param s3URI to remove the prefetched row group index for
+   * @param rowGroupIndex for which the prefetch of recent columns was cancelled
+   */
+  public void removeColumnPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
+    RowGroupBitmap rowGroupsPrefetchedForKey = columnRowGroupsPrefetched.get(s3URI);
+    if (rowGroupsPrefetchedForKey != null) {
+      rowGroupsPrefetchedForKey.remove(rowGroupIndex);
+    }
+  }
+
   /**
    * Stores row group indexes for which column dictionaries have been prefetched for a particular S3
    * URI. This is required when prefetch mode is ROW_GROUP, where only recent column dictionaries
@@ -369,16 +639,14 @@ public class ParquetColumnPrefetchStore {
    * @param s3URI to store prefetched row indexes for
    * @param rowGroupIndex for which recent columns have been prefetched
    */
-  public synchronized void storeDictionaryPrefetchedRowGroupIndex(
-      S3URI s3URI, Integer rowGroupIndex) {
+  public void storeDictionaryPrefetchedRowGroupIndex(S3URI s3URI, Integer rowGroupIndex) {
     storePrefetchedRowGroupIndex(s3URI, rowGroupIndex, dictionaryRowGroupsPrefetched);
   }
 
   private void storePrefetchedRowGroupIndex(
-      S3URI s3URI, Integer rowGroupIndex, Map<S3URI, List<Integer>> rowGroupsPrefetched) {
-    List<Integer> rowGroupsPrefetchedForKey =
-        rowGroupsPrefetched.getOrDefault(s3URI, new ArrayList<>());
-    rowGroupsPrefetchedForKey.add(rowGroupIndex);
-    rowGroupsPrefetched.put(s3URI, rowGroupsPrefetchedForKey);
+      S3URI s3URI,
+      Integer rowGroupIndex,
+      BoundedConcurrentMap<S3URI, RowGroupBitmap> rowGroupsPrefetched) {
+    rowGroupsPrefetched.computeIfAbsent(s3URI, key -> new RowGroupBitmap()).add(rowGroupIndex);
   }
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -38,19 +39,56 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
    * @param telemetry an instance of {@link Telemetry} to use
    * @param logicalIOConfiguration configuration for this logical IO implementation
    * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param prefetchExecutor executor to run prefetching tasks on
    */
   public ParquetLogicalIOImpl(
       @NonNull S3URI s3Uri,
       @NonNull PhysicalIO physicalIO,
       @NonNull Telemetry telemetry,
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
-      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull PrefetchExecutor prefetchExecutor) {
+    this(
+        s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        prefetchExecutor,
+        OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Constructs an instance of LogicalIOImpl.
+   *
+   * @param s3Uri s3Uri pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   * @param parquetColumnPrefetchStore object where Parquet usage information is aggregated
+   * @param prefetchExecutor executor to run prefetching tasks on
+   * @param openStreamOptions the options the stream was opened with, holding the caller's hints
+   */
+  public ParquetLogicalIOImpl(
+      @NonNull S3URI s3Uri,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull PrefetchExecutor prefetchExecutor,
+      @NonNull OpenStreamOptions openStreamOptions) {
     super(s3Uri, physicalIO, telemetry);
 
     // Initialise prefetcher and start prefetching
     this.parquetPrefetcher =
         new ParquetPrefetcher(
-            s3Uri, physicalIO, telemetry, logicalIOConfiguration, parquetColumnPrefetchStore);
+            s3Uri,
+            physicalIO,
+            telemetry,
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            prefetchExecutor,
+            openStreamOptions);
     this.parquetPrefetcher.prefetchFooterAndBuildMetadata();
   }
 
@@ -69,7 +107,19 @@ public class ParquetLogicalIOImpl extends DefaultLogicalIOImpl {
     // Perform async prefetching before doing the blocking read
     this.parquetPrefetcher.prefetchRemainingColumnChunk(position, len);
     this.parquetPrefetcher.addToRecentColumnList(position, len);
+    this.parquetPrefetcher.prefetchPages(position, len);
 
     return super.read(buf, off, len, position);
   }
+
+  /**
+   * Closes associate resources, reporting how well the prefetched columns matched the columns read.
+   *
+   * @throws IOException
+   */
+  @Override
+  public void close() throws IOException {
+    this.parquetPrefetcher.reportPredictionMetrics();
+    super.close();
+  }
 }
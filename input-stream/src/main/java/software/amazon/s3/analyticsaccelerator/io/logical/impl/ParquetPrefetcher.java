@@ -15,7 +15,7 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
-import java.util.Collections;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -25,10 +25,13 @@ import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.*;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -44,9 +47,11 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 public class ParquetPrefetcher {
   @NonNull private final S3URI s3URI;
+  @NonNull private final PhysicalIO physicalIO;
   @NonNull private final LogicalIOConfiguration logicalIOConfiguration;
   @NonNull private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
   @NonNull private final Telemetry telemetry;
+  @NonNull private final PrefetchExecutor prefetchExecutor;
 
   // Tasks
   @NonNull private final ParquetMetadataParsingTask parquetMetadataParsingTask;
@@ -54,11 +59,15 @@ public class ParquetPrefetcher {
   @NonNull private final ParquetReadTailTask parquetReadTailTask;
   @NonNull private final ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask;
   @NonNull private final ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask;
+  @NonNull private final ParquetPrefetchPageIndexTask parquetPrefetchPageIndexTask;
+  @NonNull private final ParquetPrefetchPagesTask parquetPrefetchPagesTask;
 
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPrefetcher.class);
 
   private static final String OPERATION_PARQUET_PREFETCH_COLUMN_CHUNK =
       "parquet.prefetcher.prefetch.column.chunk.async";
+  private static final String OPERATION_PARQUET_PREFETCH_PAGES =
+      "parquet.prefetcher.prefetch.pages.async";
   private static final String OPERATION_PARQUET_PREFETCH_FOOTER_AND_METADATA =
       "parquet.prefetcher.prefetch.footer.and.metadata.async";
 
@@ -71,25 +80,78 @@ public class ParquetPrefetcher {
    * @param telemetry an instance of {@link Telemetry} to use
    * @param logicalIOConfiguration the LogicalIO's configuration
    * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param prefetchExecutor the executor to run prefetching tasks on
    */
   public ParquetPrefetcher(
       S3URI s3Uri,
       PhysicalIO physicalIO,
       Telemetry telemetry,
       LogicalIOConfiguration logicalIOConfiguration,
-      ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      PrefetchExecutor prefetchExecutor) {
     this(
         s3Uri,
+        physicalIO,
+        telemetry,
+        logicalIOConfiguration,
+        parquetColumnPrefetchStore,
+        prefetchExecutor,
+        OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Constructs a ParquetPrefetcher.
+   *
+   * @param s3Uri the S3Uri of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   * @param parquetColumnPrefetchStore a common place for Parquet usage information
+   * @param prefetchExecutor the executor to run prefetching tasks on
+   * @param openStreamOptions the options the stream was opened with, holding the caller's hints
+   */
+  public ParquetPrefetcher(
+      S3URI s3Uri,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      PrefetchExecutor prefetchExecutor,
+      @NonNull OpenStreamOptions openStreamOptions) {
+    this(
+        s3Uri,
+        physicalIO,
         logicalIOConfiguration,
         parquetColumnPrefetchStore,
         telemetry,
+        prefetchExecutor,
         new ParquetMetadataParsingTask(s3Uri, parquetColumnPrefetchStore),
         new ParquetPrefetchTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
         new ParquetReadTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO),
         new ParquetPrefetchRemainingColumnTask(
             s3Uri, telemetry, physicalIO, parquetColumnPrefetchStore),
         new ParquetPredictivePrefetchingTask(
-            s3Uri, telemetry, logicalIOConfiguration, physicalIO, parquetColumnPrefetchStore));
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions),
+        new ParquetPrefetchPageIndexTask(
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions),
+        new ParquetPrefetchPagesTask(
+            s3Uri,
+            telemetry,
+            logicalIOConfiguration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions));
   }
 
   /**
@@ -122,8 +184,7 @@ public class ParquetPrefetcher {
   private CompletableFuture<IOPlanExecution> prefetchRemainingColumnChunkImpl(
       long position, int len) {
     if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.COLUMN_BOUND) {
-      // TODO: https://github.com/awslabs/analytics-accelerator-s3/issues/88
-      return CompletableFuture.supplyAsync(
+      return prefetchExecutor.submit(
           () -> parquetPrefetchRemainingColumnTask.prefetchRemainingColumnChunk(position, len));
     }
 
@@ -131,6 +192,36 @@ public class ParquetPrefetcher {
         IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
   }
 
+  /**
+   * Given a position and length, prefetches the pages of the recently read columns that hold the
+   * rows being read, see {@link ParquetPrefetchPagesTask}.
+   *
+   * @param position a position of a read
+   * @param len the length of a read
+   * @return the IOPlanExecution object of the read that was pushed down to the PhysicalIO as a
+   *     result of this call
+   */
+  public CompletableFuture<IOPlanExecution> prefetchPages(long position, int len) {
+    return telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_PARQUET_PREFETCH_PAGES)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.range(position, position + len - 1))
+                .build(),
+        prefetchPagesImpl(position, len));
+  }
+
+  private CompletableFuture<IOPlanExecution> prefetchPagesImpl(long position, int len) {
+    if (logicalIOConfiguration.isPrefetchPagesEnabled()
+        && logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP) {
+      return prefetchExecutor.submit(() -> parquetPrefetchPagesTask.prefetchPages(position, len));
+    }
+
+    return CompletableFuture.completedFuture(
+        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+  }
+
   /**
    * Prefetch the footer and Parquet metadata for the object that s3Uri points to
    *
@@ -159,20 +250,67 @@ public class ParquetPrefetcher {
     }
 
     if (shouldPrefetch()) {
-      // TODO: https://github.com/awslabs/analytics-accelerator-s3/issues/88
       CompletableFuture<ColumnMappers> columnMappersCompletableFuture =
-          CompletableFuture.supplyAsync(parquetReadTailTask::readFileTail)
-              .thenApply(parquetMetadataParsingTask::storeColumnMappers)
-              .exceptionally(
-                  (e) -> new ColumnMappers(Collections.emptyMap(), Collections.emptyMap()));
+          prefetchExecutor
+              .submit(this::loadOrBuildColumnMappers)
+              .exceptionally((e) -> ColumnMappers.EMPTY);
+
+      if (ParquetUtils.shouldPrefetchExactPageIndex(logicalIOConfiguration)) {
+        columnMappersCompletableFuture =
+            columnMappersCompletableFuture.thenApply(this::prefetchPageIndex);
+      }
 
       return prefetchPredictedColumns(columnMappersCompletableFuture);
     }
 
+    if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.OFF) {
+      // The metadata of the object was parsed by a previous stream, the hints of this one may
+      // still differ
+      ColumnMappers columnMappers = getParsedColumnMappers();
+      if (columnMappers != null) {
+        return prefetchExecutor.submit(
+            () -> parquetPredictivePrefetchingTask.prefetchHintedColumns(columnMappers));
+      }
+    }
+
     return CompletableFuture.completedFuture(
         IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
   }
 
+  /**
+   * Gets the column mappers of the object from the on-disk metadata cache if they were persisted
+   * for this version of the object, otherwise reads and parses the footer and persists the result.
+   *
+   * @return the column mappers of the object
+   */
+  private ColumnMappers loadOrBuildColumnMappers() {
+    ObjectMetadata objectMetadata = physicalIO.metadata();
+    Optional<ColumnMappers> cachedColumnMappers =
+        parquetColumnPrefetchStore.loadColumnMappers(s3URI, objectMetadata);
+    if (cachedColumnMappers.isPresent()) {
+      return cachedColumnMappers.get();
+    }
+
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(
+            parquetReadTailTask.readFileTail(), objectMetadata.getEtag());
+    parquetColumnPrefetchStore.persistColumnMappers(s3URI, objectMetadata, columnMappers);
+    return columnMappers;
+  }
+
+  /**
+   * Prefetches the page index structures of the recently read columns from the exact locations
+   * recorded in the footer. This replaces the fixed size page index range that is otherwise
+   * prefetched along with the tail.
+   *
+   * @param columnMappers the column mappers of the object
+   * @return the same column mappers, so that the remaining prefetching can be chained after this
+   */
+  private ColumnMappers prefetchPageIndex(ColumnMappers columnMappers) {
+    parquetPrefetchPageIndexTask.prefetchPageIndex(columnMappers);
+    return columnMappers;
+  }
+
   private CompletableFuture<IOPlanExecution> prefetchPredictedColumns(
       CompletableFuture<ColumnMappers> columnMappersCompletableFuture) {
 
@@ -183,8 +321,8 @@ public class ParquetPrefetcher {
                   columnMappers, ParquetUtils.constructRowGroupsToPrefetch(), false));
     }
 
-    return CompletableFuture.completedFuture(
-        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build());
+    return columnMappersCompletableFuture.thenApply(
+        parquetPredictivePrefetchingTask::prefetchHintedColumns);
   }
 
   /**
@@ -204,8 +342,37 @@ public class ParquetPrefetcher {
     }
   }
 
+  /** Reports how well the columns prefetched for the file matched the columns read from it. */
+  public void reportPredictionMetrics() {
+    try {
+      if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.OFF) {
+        this.parquetPredictivePrefetchingTask.reportPredictionMetrics();
+      }
+    } catch (Exception e) {
+      LOG.warn("Unable to report column prediction metrics for {}.", s3URI.getKey(), e);
+    }
+  }
+
   private boolean shouldPrefetch() {
     return logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.OFF
-        && parquetColumnPrefetchStore.getColumnMappers(s3URI) == null;
+        && getParsedColumnMappers() == null;
+  }
+
+  /**
+   * Gets the column mappers a previous stream parsed from the footer of the version of the object
+   * this stream reads. Mappers are stored by URI and ETag, so those of an overwritten object are
+   * not used.
+   *
+   * @return the column mappers, or null if there are none or the metadata of the object can not
+   *     be fetched
+   */
+  private ColumnMappers getParsedColumnMappers() {
+    try {
+      return parquetColumnPrefetchStore.getColumnMappers(
+          ObjectKey.of(s3URI, physicalIO.metadata().getEtag()));
+    } catch (Exception e) {
+      LOG.debug("Unable to get the metadata of {}.", s3URI.getKey(), e);
+      return null;
+    }
   }
 }
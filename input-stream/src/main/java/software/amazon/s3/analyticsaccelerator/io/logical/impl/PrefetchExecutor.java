@@ -0,0 +1,268 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+
+/**
+ * A bounded executor for prefetching work, such as reading and parsing Parquet footers and
+ * prefetching column chunks. These tasks block on S3 I/O, so they are kept off the common {@link
+ * java.util.concurrent.ForkJoinPool} and run on a fixed number of daemon threads instead. It is
+ * owned by {@link software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamFactory} and shared
+ * by all of its streams.
+ *
+ * <p>Prefetches are only useful if they run ahead of the reads they are for, so the executor sheds
+ * load rather than letting work pile up: when the queue is full, the oldest queued prefetch is
+ * dropped to make room for the new one, and a prefetch that has been queued for longer than the
+ * stale task timeout is dropped instead of being run. The futures of dropped prefetches complete
+ * with a {@link CancellationException}.
+ *
+ * <p>Callers that wait on the returned futures should use {@link CompletableFuture#join()}, which
+ * blocks through {@link java.util.concurrent.ForkJoinPool#managedBlock}, so that a fork/join pool
+ * waiting on a prefetch can compensate for the blocked thread.
+ */
+public class PrefetchExecutor implements Closeable {
+  private final ThreadPoolExecutor threadPoolExecutor;
+  private final Telemetry telemetry;
+  private final LongSupplier nanoClock;
+  private final long staleTaskTimeoutNanos;
+
+  private final AtomicInteger activeTaskCount = new AtomicInteger();
+  private final AtomicLong completedTaskCount = new AtomicLong();
+  private final AtomicLong droppedTaskCount = new AtomicLong();
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+  private static final String THREAD_NAME_PREFIX = "s3-analytics-accelerator-prefetch-";
+
+  private static final Metric METRIC_QUEUED_TASKS =
+      Metric.builder().name("prefetch.executor.queued.tasks").build();
+  private static final Metric METRIC_ACTIVE_TASKS =
+      Metric.builder().name("prefetch.executor.active.tasks").build();
+  private static final Metric METRIC_DROPPED_TASKS =
+      Metric.builder().name("prefetch.executor.dropped.tasks").build();
+
+  /**
+   * Creates a new instance of {@link PrefetchExecutor}.
+   *
+   * @param configuration the LogicalIO configuration to take the thread count, queue size and stale
+   *     task timeout from
+   * @param telemetry an instance of {@link Telemetry} to report queue and active task metrics to
+   */
+  public PrefetchExecutor(
+      @NonNull LogicalIOConfiguration configuration, @NonNull Telemetry telemetry) {
+    this(
+        configuration.getPrefetchExecutorThreads(),
+        configuration.getPrefetchExecutorQueueSize(),
+        configuration.getPrefetchExecutorStaleTaskTimeoutMs(),
+        telemetry,
+        System::nanoTime);
+  }
+
+  /**
+   * Creates a new instance of {@link PrefetchExecutor}. This constructor is used for dependency
+   * injection.
+   *
+   * @param threads the number of threads to run prefetches on
+   * @param queueSize the maximum number of prefetches waiting for a thread
+   * @param staleTaskTimeoutMs how long a prefetch may wait for a thread before it is dropped; 0
+   *     means prefetches are never dropped for waiting too long
+   * @param telemetry an instance of {@link Telemetry} to report queue and active task metrics to
+   * @param nanoClock source of monotonic time in nanoseconds
+   */
+  PrefetchExecutor(
+      int threads,
+      int queueSize,
+      long staleTaskTimeoutMs,
+      @NonNull Telemetry telemetry,
+      @NonNull LongSupplier nanoClock) {
+    Preconditions.checkArgument(threads > 0, "`threads` must be positive; was: %s", threads);
+    Preconditions.checkArgument(queueSize > 0, "`queueSize` must be positive; was: %s", queueSize);
+    Preconditions.checkArgument(
+        staleTaskTimeoutMs >= 0,
+        "`staleTaskTimeoutMs` must not be negative; was: %s",
+        staleTaskTimeoutMs);
+
+    this.telemetry = telemetry;
+    this.nanoClock = nanoClock;
+    this.staleTaskTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(staleTaskTimeoutMs);
+    this.threadPoolExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new PrefetchThreadFactory(),
+            this::dropOldestAndEnqueue);
+    this.threadPoolExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Submits a prefetch.
+   *
+   * @param <T> the result type of the prefetch
+   * @param task the prefetch to run
+   * @return a future that completes with the result of the prefetch, or with a {@link
+   *     CancellationException} if the prefetch is dropped
+   */
+  public <T> CompletableFuture<T> submit(@NonNull Supplier<T> task) {
+    PrefetchTask<T> prefetchTask = new PrefetchTask<>(task, nanoClock.getAsLong());
+    threadPoolExecutor.execute(prefetchTask);
+    telemetry.measure(METRIC_QUEUED_TASKS, getQueuedTaskCount());
+    return prefetchTask.future;
+  }
+
+  /**
+   * Returns the number of prefetches waiting for a thread.
+   *
+   * @return the number of queued prefetches
+   */
+  public int getQueuedTaskCount() {
+    return threadPoolExecutor.getQueue().size();
+  }
+
+  /**
+   * Returns the number of prefetches currently running.
+   *
+   * @return the number of active prefetches
+   */
+  public int getActiveTaskCount() {
+    return activeTaskCount.get();
+  }
+
+  /**
+   * Returns the number of prefetches that have run to completion, successfully or not.
+   *
+   * @return the number of completed prefetches
+   */
+  public long getCompletedTaskCount() {
+    return completedTaskCount.get();
+  }
+
+  /**
+   * Returns the number of prefetches dropped because the queue was full, because they waited for
+   * too long or because the executor was closed.
+   *
+   * @return the number of dropped prefetches
+   */
+  public long getDroppedTaskCount() {
+    return droppedTaskCount.get();
+  }
+
+  /**
+   * Stops accepting prefetches and drops all queued ones. Running prefetches are not interrupted.
+   */
+  @Override
+  public void close() {
+    threadPoolExecutor.shutdown();
+    Runnable queuedTask;
+    while ((queuedTask = threadPoolExecutor.getQueue().poll()) != null) {
+      drop(queuedTask);
+    }
+  }
+
+  private void dropOldestAndEnqueue(Runnable task, ThreadPoolExecutor executor) {
+    if (executor.isShutdown()) {
+      drop(task);
+      return;
+    }
+
+    Runnable oldestTask = executor.getQueue().poll();
+    if (oldestTask != null) {
+      drop(oldestTask);
+    }
+    if (!executor.getQueue().offer(task)) {
+      drop(task);
+    }
+  }
+
+  private void drop(Runnable task) {
+    telemetry.measure(METRIC_DROPPED_TASKS, droppedTaskCount.incrementAndGet());
+    if (task instanceof PrefetchTask) {
+      ((PrefetchTask<?>) task).future.completeExceptionally(
+          new CancellationException("Prefetch dropped"));
+    }
+  }
+
+  /** A prefetch together with its future and the time it was submitted at. */
+  private final class PrefetchTask<T> implements Runnable {
+    private final Supplier<T> task;
+    private final long submittedAtNanos;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    private PrefetchTask(Supplier<T> task, long submittedAtNanos) {
+      this.task = task;
+      this.submittedAtNanos = submittedAtNanos;
+    }
+
+    @Override
+    public void run() {
+      if (future.isDone()) {
+        // Cancelled by the caller while queued
+        return;
+      }
+      if (staleTaskTimeoutNanos > 0
+          && nanoClock.getAsLong() - submittedAtNanos > staleTaskTimeoutNanos) {
+        drop(this);
+        return;
+      }
+
+      telemetry.measure(METRIC_ACTIVE_TASKS, activeTaskCount.incrementAndGet());
+      // Counters are updated before the future completes, so that they are consistent for callers
+      // that read them after joining
+      try {
+        T result = task.get();
+        finish();
+        future.complete(result);
+      } catch (Throwable t) {
+        finish();
+        future.completeExceptionally(t);
+      }
+    }
+
+    private void finish() {
+      activeTaskCount.decrementAndGet();
+      completedTaskCount.incrementAndGet();
+    }
+  }
+
+  /** Creates named daemon threads, so that prefetching never keeps the JVM alive. */
+  private static final class PrefetchThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
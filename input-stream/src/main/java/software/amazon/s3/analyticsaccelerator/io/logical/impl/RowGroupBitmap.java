@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * A thread safe set of row group indexes, kept as a bitmap of atomic 64 bit words. Adding,
+ * removing and looking up an index takes constant time and does not lock, so the row groups
+ * prefetched for a file can be checked on every read of it.
+ *
+ * <p>The words are created as row groups are added, so the bitmap of a file with few row groups is
+ * a single word, whatever the number of row groups of other files.
+ */
+class RowGroupBitmap {
+  private static final int WORD_SHIFT = 6;
+
+  private final AtomicLong firstWord = new AtomicLong();
+  // Words after the first one, by word index, created as row groups are added
+  private final ConcurrentHashMap<Integer, AtomicLong> otherWords = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a row group index.
+   *
+   * @param rowGroupIndex the row group index, not negative
+   */
+  void add(int rowGroupIndex) {
+    long bit = bit(rowGroupIndex);
+    getWord(rowGroupIndex, true).getAndUpdate(word -> word | bit);
+  }
+
+  /**
+   * Removes a row group index.
+   *
+   * @param rowGroupIndex the row group index, not negative
+   */
+  void remove(int rowGroupIndex) {
+    long bit = bit(rowGroupIndex);
+    AtomicLong word = getWord(rowGroupIndex, false);
+    if (word != null) {
+      word.getAndUpdate(value -> value & ~bit);
+    }
+  }
+
+  /**
+   * Checks if a row group index has been added.
+   *
+   * @param rowGroupIndex the row group index, not negative
+   * @return true if the row group index has been added and not removed since
+   */
+  boolean contains(int rowGroupIndex) {
+    long bit = bit(rowGroupIndex);
+    AtomicLong word = getWord(rowGroupIndex, false);
+    return word != null && (word.get() & bit) != 0;
+  }
+
+  private AtomicLong getWord(int rowGroupIndex, boolean create) {
+    int wordIndex = rowGroupIndex >>> WORD_SHIFT;
+    if (wordIndex == 0) {
+      return firstWord;
+    }
+    return create
+        ? otherWords.computeIfAbsent(wordIndex, index -> new AtomicLong())
+        : otherWords.get(wordIndex);
+  }
+
+  private static long bit(int rowGroupIndex) {
+    Preconditions.checkArgument(
+        rowGroupIndex >= 0, "`rowGroupIndex` must not be negative; was: %s", rowGroupIndex);
+    return 1L << rowGroupIndex;
+  }
+}
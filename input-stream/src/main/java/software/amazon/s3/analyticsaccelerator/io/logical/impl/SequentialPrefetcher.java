@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Prefetcher for objects that are read front to back. From the first read on, it keeps
+ * sequentialReadAheadBytes of the object prefetched ahead of the reader, topping the window up
+ * once half of it has been read, instead of waiting for the physical layer to detect the
+ * sequential pattern and ramp up. The window is fetched as parts in parallel, so the next parts
+ * are in flight while the reader consumes the current one.
+ *
+ * <p>The data behind the reader is dropped once it is more than sequentialTrailingWindowBytes
+ * behind, so that the memory held by a stream does not grow with the size of the object. When
+ * record alignment is enabled, the data of the record the reader is in is kept regardless, so that
+ * readers can go back to the start of a record they could not parse in one go. Only the blocks no
+ * other stream of the object has read or requested are dropped, so other streams reading the same
+ * object through the shared {@link software.amazon.s3.analyticsaccelerator.io.physical.data.Blob}
+ * keep their data.
+ *
+ * <p>A read outside of the data prefetched for the current run of reads, for example a reader of a
+ * split seeking to the start of its split, starts a new run.
+ */
+public class SequentialPrefetcher {
+  private final S3URI s3URI;
+  private final PhysicalIO physicalIO;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+
+  // State of the current run of sequential reads, runStart is -1 before the first read
+  private long runStart = -1;
+  private long prefetchedEnd;
+  private long evictedEnd;
+  private long recordStart;
+
+  private static final byte RECORD_DELIMITER = '\n';
+  private static final String OPERATION_SEQUENTIAL_PREFETCH = "sequential.prefetcher.prefetch";
+  private static final Logger LOG = LoggerFactory.getLogger(SequentialPrefetcher.class);
+
+  /**
+   * Constructs a SequentialPrefetcher.
+   *
+   * @param s3URI the S3URI of the underlying object
+   * @param physicalIO the PhysicalIO capable of actually fetching the physical bytes from the
+   *     object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration the LogicalIO's configuration
+   */
+  public SequentialPrefetcher(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration) {
+    this.s3URI = s3URI;
+    this.physicalIO = physicalIO;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+  }
+
+  /**
+   * Tops up the data prefetched ahead of a read, starting a new run of reads if the read is outside
+   * of the data prefetched for the current one.
+   *
+   * @param position the position of the read
+   * @return the IOPlanExecution of the prefetch, SKIPPED if enough data is prefetched already
+   */
+  public synchronized IOPlanExecution prefetch(long position) {
+    try {
+      long readAheadBytes = logicalIOConfiguration.getSequentialReadAheadBytes();
+      if (readAheadBytes <= 0) {
+        return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+      }
+
+      if (runStart < 0 || position < runStart || position > prefetchedEnd) {
+        runStart = position;
+        prefetchedEnd = position;
+        evictedEnd = position;
+        recordStart = position;
+      }
+
+      long contentLength = physicalIO.metadata().getContentLength();
+      if (prefetchedEnd >= contentLength || prefetchedEnd - position >= readAheadBytes / 2) {
+        return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+      }
+
+      Range range =
+          new Range(prefetchedEnd, Math.min(position + readAheadBytes, contentLength) - 1);
+      prefetchedEnd = range.getEnd() + 1;
+      return telemetry.measureStandard(
+          () ->
+              Operation.builder()
+                  .name(OPERATION_SEQUENTIAL_PREFETCH)
+                  .attribute(StreamAttributes.uri(this.s3URI))
+                  .attribute(StreamAttributes.range(range))
+                  .build(),
+          () -> physicalIO.execute(new IOPlan(range)));
+    } catch (Exception e) {
+      LOG.debug("Unable to prefetch ahead of position {} for {}.", position, s3URI.getKey(), e);
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+  }
+
+  /**
+   * Records the bytes returned by a read, dropping the data that has fallen out of the trailing
+   * window.
+   *
+   * @param position the position of the read
+   * @param buffer the buffer the bytes were read into
+   * @param offset the offset of the bytes in the buffer
+   * @param bytesRead the number of bytes read
+   */
+  public synchronized void onRead(long position, byte[] buffer, int offset, int bytesRead) {
+    if (runStart < 0 || bytesRead <= 0) {
+      return;
+    }
+
+    if (logicalIOConfiguration.isSequentialRecordAlignmentEnabled()) {
+      for (int i = offset + bytesRead - 1; i >= offset; i--) {
+        if (buffer[i] == RECORD_DELIMITER) {
+          recordStart = Math.max(recordStart, position + (i - offset) + 1);
+          break;
+        }
+      }
+    }
+    evictBefore(position + bytesRead);
+  }
+
+  /**
+   * Records the byte returned by a single byte read, dropping the data that has fallen out of the
+   * trailing window.
+   *
+   * @param position the position of the read
+   * @param value the byte read, or -1 at the end of the object
+   */
+  public synchronized void onRead(long position, int value) {
+    if (runStart < 0 || value < 0) {
+      return;
+    }
+
+    if (logicalIOConfiguration.isSequentialRecordAlignmentEnabled()
+        && value == RECORD_DELIMITER) {
+      recordStart = Math.max(recordStart, position + 1);
+    }
+    evictBefore(position + 1);
+  }
+
+  private void evictBefore(long readEnd) {
+    long trailingWindowBytes = logicalIOConfiguration.getSequentialTrailingWindowBytes();
+    if (trailingWindowBytes < 0) {
+      return;
+    }
+
+    long boundary = readEnd - trailingWindowBytes;
+    if (logicalIOConfiguration.isSequentialRecordAlignmentEnabled()) {
+      boundary = Math.min(boundary, recordStart);
+    }
+
+    // Evict in steps of half the window, and only the data of this run. The physical layer keeps
+    // the blocks of the run that other streams of the same object use.
+    if (boundary - evictedEnd >= Math.max(trailingWindowBytes / 2, 1)) {
+      try {
+        physicalIO.evict(new IOPlan(new Range(runStart, boundary - 1)));
+        evictedEnd = boundary;
+      } catch (Exception e) {
+        LOG.debug("Unable to evict data read from {}.", s3URI.getKey(), e);
+      }
+    }
+  }
+}
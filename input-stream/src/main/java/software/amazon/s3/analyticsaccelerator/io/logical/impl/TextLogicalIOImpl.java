@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import java.io.IOException;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A LogicalIO layer for row-oriented text formats such as CSV, JSON lines and logs, which are read
+ * front to back. It keeps a window of data prefetched ahead of the reader, and drops the data the
+ * reader has left behind.
+ */
+public class TextLogicalIOImpl extends DefaultLogicalIOImpl {
+  // Dependencies
+  private final SequentialPrefetcher sequentialPrefetcher;
+
+  /**
+   * Constructs an instance of TextLogicalIOImpl.
+   *
+   * @param s3URI s3URI pointing to object to fetch
+   * @param physicalIO underlying physical IO that knows how to fetch bytes
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration configuration for this logical IO implementation
+   */
+  public TextLogicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration) {
+    super(s3URI, physicalIO, telemetry);
+    this.sequentialPrefetcher =
+        new SequentialPrefetcher(s3URI, physicalIO, telemetry, logicalIOConfiguration);
+  }
+
+  /**
+   * Reads a byte from the underlying object, prefetching ahead of it.
+   *
+   * @param position the position to read
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(long position) throws IOException {
+    this.sequentialPrefetcher.prefetch(position);
+    int value = super.read(position);
+    this.sequentialPrefetcher.onRead(position, value);
+
+    return value;
+  }
+
+  /**
+   * Reads data into the provided buffer, prefetching ahead of it.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param position the position to begin reading from
+   * @return an unsigned int representing the byte that was read
+   * @throws IOException IO error, if incurred.
+   */
+  @Override
+  public int read(byte[] buf, int off, int len, long position) throws IOException {
+    this.sequentialPrefetcher.prefetch(position);
+    int bytesRead = super.read(buf, off, len, position);
+    this.sequentialPrefetcher.onRead(position, buf, off, bytesRead);
+
+    return bytesRead;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The compression kinds of ORC files, as recorded in the PostScript. The footer and stripe footers
+ * of a compressed file are split into chunks, each with a 3 byte header holding its length and
+ * whether it is stored uncompressed. Only the chunks of files compressed with ZLIB, or stored
+ * uncompressed, can be decoded, as the other codecs are not available without extra dependencies.
+ */
+public enum OrcCompression {
+  NONE,
+  ZLIB,
+  SNAPPY,
+  LZO,
+  LZ4,
+  ZSTD;
+
+  private static final int CHUNK_HEADER_SIZE = 3;
+
+  /**
+   * Gets the compression kind of a value of the CompressionKind enum of the ORC specification.
+   *
+   * @param value the value
+   * @return the compression kind
+   * @throws IOException if the value is not a known compression kind
+   */
+  static OrcCompression fromValue(long value) throws IOException {
+    OrcCompression[] values = values();
+    if (value < 0 || value >= values.length) {
+      throw new IOException("Unknown ORC compression kind: " + value);
+    }
+    return values[(int) value];
+  }
+
+  /**
+   * Checks if the metadata of files compressed this way can be decoded.
+   *
+   * @return true if the chunks of this compression kind can be decompressed
+   */
+  public boolean isSupported() {
+    return this == NONE || this == ZLIB;
+  }
+
+  /**
+   * Decompresses metadata compressed this way, for example the footer of a file.
+   *
+   * @param buffer the buffer holding the compressed bytes
+   * @param offset the offset of the compressed bytes in the buffer
+   * @param length the length of the compressed bytes
+   * @return the decompressed bytes
+   * @throws IOException if the bytes are malformed, or this compression kind is not supported
+   */
+  byte[] decompress(byte[] buffer, int offset, int length) throws IOException {
+    if (this == NONE) {
+      return Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+    if (!isSupported()) {
+      throw new IOException("Unsupported ORC compression: " + this);
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+    int position = offset;
+    int end = offset + length;
+    while (position < end) {
+      if (end - position < CHUNK_HEADER_SIZE) {
+        throw new IOException("Truncated ORC compression chunk header");
+      }
+      int header =
+          (buffer[position] & 0xff)
+              | (buffer[position + 1] & 0xff) << 8
+              | (buffer[position + 2] & 0xff) << 16;
+      position += CHUNK_HEADER_SIZE;
+
+      boolean isOriginal = (header & 1) == 1;
+      int chunkLength = header >>> 1;
+      if (chunkLength > end - position) {
+        throw new IOException("Truncated ORC compression chunk");
+      }
+
+      if (isOriginal) {
+        out.write(buffer, position, chunkLength);
+      } else {
+        inflate(buffer, position, chunkLength, out);
+      }
+      position += chunkLength;
+    }
+    return out.toByteArray();
+  }
+
+  private static void inflate(byte[] buffer, int offset, int length, ByteArrayOutputStream out)
+      throws IOException {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(buffer, offset, length);
+      byte[] chunk = new byte[Math.max(length * 2, 1024)];
+      while (!inflater.finished()) {
+        int inflated = inflater.inflate(chunk);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Truncated ZLIB chunk in ORC metadata");
+        }
+        out.write(chunk, 0, inflated);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Malformed ZLIB chunk in ORC metadata", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
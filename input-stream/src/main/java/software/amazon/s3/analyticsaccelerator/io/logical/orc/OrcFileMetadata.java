@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.util.Collections;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The parts of the tail of an ORC file that prefetching relies on: how the metadata is compressed,
+ * where each stripe is, and the top level columns of the schema.
+ *
+ * <p>ORC numbers every type of the schema, nested ones included, with a column id, the root struct
+ * being column 0. Streams are recorded per column id, so each column id is mapped to the top level
+ * column it belongs to, and reads of the streams of a nested column count as reads of its top level
+ * column. All files with the same top level columns are said to belong to the same schema, and
+ * share a schema hash.
+ */
+@Getter
+public class OrcFileMetadata {
+  private final OrcCompression compression;
+  private final List<OrcStripeInformation> stripes;
+  private final List<String> columnNames;
+  private final int schemaHash;
+  // The index in columnNames of the top level column each column id belongs to, -1 for the root
+  @Getter(AccessLevel.NONE)
+  private final int[] topLevelColumns;
+
+  /**
+   * Creates a new instance of {@link OrcFileMetadata}.
+   *
+   * @param compression how the metadata of the file is compressed
+   * @param stripes the stripes of the file, in file order
+   * @param columnNames the names of the top level columns of the schema
+   * @param topLevelColumns the index in columnNames of the top level column each column id belongs
+   *     to, or -1 for the root
+   */
+  public OrcFileMetadata(
+      @NonNull OrcCompression compression,
+      @NonNull List<OrcStripeInformation> stripes,
+      @NonNull List<String> columnNames,
+      @NonNull int[] topLevelColumns) {
+    this.compression = compression;
+    this.stripes = Collections.unmodifiableList(stripes);
+    this.columnNames = Collections.unmodifiableList(columnNames);
+    this.topLevelColumns = topLevelColumns.clone();
+    this.schemaHash = String.join("", columnNames).hashCode();
+  }
+
+  /**
+   * Gets the name of the top level column a column id belongs to.
+   *
+   * @param columnId the column id
+   * @return the name of the top level column, or null for the root or an unknown column id
+   */
+  public String getColumnName(int columnId) {
+    if (columnId < 0 || columnId >= topLevelColumns.length || topLevelColumns[columnId] < 0) {
+      return null;
+    }
+    return columnNames.get(topLevelColumns[columnId]);
+  }
+
+  /**
+   * Gets the number of column ids of the schema, nested columns and the root included.
+   *
+   * @return the number of column ids
+   */
+  public int getColumnIdCount() {
+    return topLevelColumns.length;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for building the {@link OrcStreamMappers} of an ORC file from its metadata. The footers of
+ * all stripes are prefetched at once, then each of them is read and decoded into the locations of
+ * the streams of the stripe, see {@link OrcStripeFooterDecoder}. Best effort only, exceptions are
+ * logged and rethrown as {@link CompletionException} for the calling class to suppress.
+ */
+public class OrcMetadataParsingTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final PhysicalIO physicalIO;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+  private static final String OPERATION_ORC_READ_STRIPE_FOOTERS = "orc.task.read.stripe.footers";
+  private static final Logger LOG = LoggerFactory.getLogger(OrcMetadataParsingTask.class);
+
+  /**
+   * Creates a new instance of {@link OrcMetadataParsingTask}.
+   *
+   * @param s3URI the S3URI of the object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param physicalIO PhysicalIO instance
+   * @param orcColumnPrefetchStore object containing ORC usage information
+   */
+  public OrcMetadataParsingTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.physicalIO = physicalIO;
+    this.orcColumnPrefetchStore = orcColumnPrefetchStore;
+  }
+
+  /**
+   * Reads the stripe footers of the file, and stores the stream mappers built from them.
+   *
+   * @param fileMetadata the metadata of the file, decoded from its tail
+   * @return the stream mappers of the file
+   */
+  public OrcStreamMappers storeStreamMappers(@NonNull OrcFileMetadata fileMetadata) {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_READ_STRIPE_FOOTERS)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            OrcStreamMappers streamMappers =
+                new OrcStreamMappers(fileMetadata, readStripeFooters(fileMetadata));
+            orcColumnPrefetchStore.putStreamMappers(
+                ObjectKey.of(s3URI, physicalIO.metadata().getEtag()), streamMappers);
+            return streamMappers;
+          } catch (Exception e) {
+            LOG.warn(
+                "Unable to read stripe footers for {}, orc prefetch optimisations will be disabled for this key.",
+                s3URI.getKey(),
+                e);
+            throw new CompletionException("Error in reading stripe footers", e);
+          }
+        });
+  }
+
+  private List<List<OrcStreamLocation>> readStripeFooters(OrcFileMetadata fileMetadata)
+      throws IOException {
+    List<OrcStripeInformation> stripes = fileMetadata.getStripes();
+    List<Range> footerRanges = new ArrayList<>(stripes.size());
+    for (OrcStripeInformation stripe : stripes) {
+      footerRanges.add(stripe.getFooterRange());
+    }
+    if (!footerRanges.isEmpty()) {
+      // Fetch all footers in parallel before reading them one by one
+      physicalIO.execute(new IOPlan(footerRanges));
+    }
+
+    List<List<OrcStreamLocation>> streamsPerStripe = new ArrayList<>(stripes.size());
+    for (int stripeIndex = 0; stripeIndex < stripes.size(); stripeIndex++) {
+      Range footerRange = footerRanges.get(stripeIndex);
+      byte[] footer = new byte[(int) footerRange.getLength()];
+      readFully(footer, footerRange.getStart());
+      streamsPerStripe.add(
+          OrcStripeFooterDecoder.decodeStreams(
+              fileMetadata, stripeIndex, footer, 0, footer.length));
+    }
+    return streamsPerStripe;
+  }
+
+  private void readFully(byte[] buffer, long position) throws IOException {
+    int offset = 0;
+    while (offset < buffer.length) {
+      int read = physicalIO.read(buffer, offset, buffer.length - offset, position + offset);
+      if (read <= 0) {
+        throw new IOException("Unexpected end of ORC stripe footer at " + (position + offset));
+      }
+      offset += read;
+    }
+  }
+}
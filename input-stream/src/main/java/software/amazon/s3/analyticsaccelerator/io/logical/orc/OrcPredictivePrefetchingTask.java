@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for predictively prefetching the streams of the columns of an ORC file, the ORC counterpart
+ * of the Parquet predictive prefetching task.
+ *
+ * <p>When a read of an ORC file lands within a stream, the top level column the stream belongs to
+ * is recorded as read for the schema of the file in the {@link OrcColumnPrefetchStore}. When
+ * another file of the same schema is opened, the streams of the recently read columns are
+ * prefetched from its stripes: from all of them when {@link PrefetchMode} is ALL, and otherwise
+ * from the first stripe when the file is opened, and from each following stripe when it is first
+ * read. If the caller hinted at the columns it is going to read when opening the stream, see
+ * {@link OpenStreamOptions}, the hinted columns are prefetched instead of the recent ones.
+ */
+public class OrcPredictivePrefetchingTask {
+  private final S3URI s3URI;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private final OrcColumnPrefetchStore orcColumnPrefetchStore;
+  private final OpenStreamOptions openStreamOptions;
+  private static final String OPERATION_ORC_PREFETCH_COLUMNS = "orc.task.prefetch.columns";
+  private static final Logger LOG = LoggerFactory.getLogger(OrcPredictivePrefetchingTask.class);
+
+  /**
+   * Creates a new instance of {@link OrcPredictivePrefetchingTask}.
+   *
+   * @param s3URI the S3URI of the object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration LogicalIO configuration
+   * @param physicalIO PhysicalIO instance
+   * @param orcColumnPrefetchStore object containing ORC usage information
+   * @param openStreamOptions the options the stream was opened with
+   */
+  public OrcPredictivePrefetchingTask(
+      @NonNull S3URI s3URI,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull OrcColumnPrefetchStore orcColumnPrefetchStore,
+      @NonNull OpenStreamOptions openStreamOptions) {
+    this.s3URI = s3URI;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+    this.orcColumnPrefetchStore = orcColumnPrefetchStore;
+    this.openStreamOptions = openStreamOptions;
+  }
+
+  /**
+   * Prefetches the streams of the recently read, or hinted, columns from the stripes to prefetch
+   * when the file is opened.
+   *
+   * @param streamMappers the stream mappers of the file
+   * @return result of plan execution
+   */
+  public IOPlanExecution prefetchRecentColumns(@NonNull OrcStreamMappers streamMappers) {
+    List<Integer> stripes = new ArrayList<>();
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ALL) {
+      for (int stripeIndex = 0; stripeIndex < streamMappers.getStripeCount(); stripeIndex++) {
+        stripes.add(stripeIndex);
+      }
+    } else if (streamMappers.getStripeCount() > 0) {
+      stripes.add(0);
+    }
+    return prefetchStripes(streamMappers, stripes);
+  }
+
+  /**
+   * Records the column a read is for, and prefetches the recently read columns of its stripe if
+   * they have not been prefetched yet.
+   *
+   * @param position the position of the read
+   * @return the stream the read is for, or empty if it is not within a stream of a column
+   */
+  public Optional<OrcStreamLocation> addToRecentColumnList(long position) {
+    OrcStreamMappers streamMappers =
+        orcColumnPrefetchStore.getStreamMappers(
+            ObjectKey.of(s3URI, physicalIO.metadata().getEtag()));
+    if (streamMappers == null) {
+      return Optional.empty();
+    }
+
+    Optional<OrcStreamLocation> stream = streamMappers.getStreamContaining(position);
+    if (stream.isPresent()) {
+      orcColumnPrefetchStore.addRecentColumn(
+          streamMappers.getSchemaHash(), stream.get().getColumnName());
+      int stripeIndex = stream.get().getStripeIndex();
+      if (!orcColumnPrefetchStore.isStripePrefetched(s3URI, stripeIndex)) {
+        List<Integer> stripes = new ArrayList<>();
+        stripes.add(stripeIndex);
+        prefetchStripes(streamMappers, stripes);
+      }
+    }
+    return stream;
+  }
+
+  private IOPlanExecution prefetchStripes(OrcStreamMappers streamMappers, List<Integer> stripes) {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_ORC_PREFETCH_COLUMNS)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .build(),
+        () -> {
+          try {
+            Set<String> columns = getColumnsToPrefetch(streamMappers.getSchemaHash());
+            if (columns.isEmpty()) {
+              // Leave the stripes to be prefetched once the columns read from them are known
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            }
+
+            List<Range> ranges = new ArrayList<>();
+            for (int stripeIndex : stripes) {
+              for (String column : columns) {
+                ranges.addAll(streamMappers.getColumnRanges(column, stripeIndex));
+              }
+              orcColumnPrefetchStore.storePrefetchedStripe(s3URI, stripeIndex);
+            }
+
+            if (ranges.isEmpty()) {
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            }
+            return physicalIO.execute(new IOPlan(ranges));
+          } catch (Throwable t) {
+            LOG.warn("Unable to prefetch columns for {}.", this.s3URI.getKey(), t);
+            return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+          }
+        });
+  }
+
+  private Set<String> getColumnsToPrefetch(int schemaHash) {
+    if (openStreamOptions.hasColumnHints()) {
+      return openStreamOptions.getHintedColumns();
+    }
+    return orcColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash);
+  }
+}
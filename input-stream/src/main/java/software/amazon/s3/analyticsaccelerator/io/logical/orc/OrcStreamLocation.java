@@ -0,0 +1,33 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * The location of a stream of an ORC stripe, as recorded in the stripe footer. Each column of a
+ * stripe is stored as several streams, for example its present bits, its data and its lengths, and
+ * the row index and bloom filters of the column are stored as streams too.
+ */
+@Value
+public class OrcStreamLocation {
+  int stripeIndex;
+  int columnId;
+  String columnName;
+  int kind;
+  Range range;
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Maps the streams of an ORC file, decoded from its stripe footers, to the top level columns they
+ * belong to. This is the ORC counterpart of the Parquet column mappers: it finds the column a read
+ * is for from the position of the read, and the ranges to prefetch for a column of a stripe.
+ */
+public class OrcStreamMappers {
+  @Getter private final OrcFileMetadata fileMetadata;
+  // Streams of the file by their start position
+  private final NavigableMap<Long, OrcStreamLocation> streamsByOffset = new TreeMap<>();
+  // For each stripe, the ranges of the streams of each column, with adjacent streams merged
+  private final List<Map<String, List<Range>>> columnRangesPerStripe = new ArrayList<>();
+
+  /**
+   * Creates a new instance of {@link OrcStreamMappers}.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param streamsPerStripe the locations of the streams of each stripe of the file, in file order
+   */
+  public OrcStreamMappers(
+      @NonNull OrcFileMetadata fileMetadata,
+      @NonNull List<List<OrcStreamLocation>> streamsPerStripe) {
+    Preconditions.checkArgument(
+        streamsPerStripe.size() == fileMetadata.getStripes().size(),
+        "`streamsPerStripe` must have the streams of every stripe of the file");
+    this.fileMetadata = fileMetadata;
+
+    for (List<OrcStreamLocation> streams : streamsPerStripe) {
+      Map<String, List<Range>> columnRanges = new HashMap<>();
+      for (OrcStreamLocation stream : streams) {
+        streamsByOffset.put(stream.getRange().getStart(), stream);
+        addRange(
+            columnRanges.computeIfAbsent(stream.getColumnName(), column -> new ArrayList<>()),
+            stream.getRange());
+      }
+      columnRangesPerStripe.add(columnRanges);
+    }
+  }
+
+  private static void addRange(List<Range> ranges, Range range) {
+    if (!ranges.isEmpty()) {
+      Range last = ranges.get(ranges.size() - 1);
+      if (last.getEnd() + 1 == range.getStart()) {
+        ranges.set(ranges.size() - 1, new Range(last.getStart(), range.getEnd()));
+        return;
+      }
+    }
+    ranges.add(range);
+  }
+
+  /**
+   * Gets the stream a position of the file falls within.
+   *
+   * @param position the position
+   * @return the stream holding the position, or empty if it is not within a stream of a column
+   */
+  public Optional<OrcStreamLocation> getStreamContaining(long position) {
+    Map.Entry<Long, OrcStreamLocation> entry = streamsByOffset.floorEntry(position);
+    if (entry != null && position <= entry.getValue().getRange().getEnd()) {
+      return Optional.of(entry.getValue());
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Gets the ranges of the streams of a column of a stripe.
+   *
+   * @param columnName the name of the top level column
+   * @param stripeIndex the index of the stripe
+   * @return the ranges of the streams of the column, empty if the stripe does not have the column
+   */
+  public List<Range> getColumnRanges(@NonNull String columnName, int stripeIndex) {
+    if (stripeIndex < 0 || stripeIndex >= columnRangesPerStripe.size()) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(
+        columnRangesPerStripe
+            .get(stripeIndex)
+            .getOrDefault(columnName, Collections.emptyList()));
+  }
+
+  /**
+   * Gets the number of stripes of the file.
+   *
+   * @return the number of stripes
+   */
+  public int getStripeCount() {
+    return columnRangesPerStripe.size();
+  }
+
+  /**
+   * Gets the hash of the schema of the file, see {@link OrcFileMetadata}.
+   *
+   * @return the schema hash
+   */
+  public int getSchemaHash() {
+    return fileMetadata.getSchemaHash();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Decodes the footer of an ORC stripe into the locations of its streams. The streams of a stripe
+ * are stored one after the other from the start of the stripe, in the order the stripe footer lists
+ * them, so the location of each stream follows from the lengths of the streams before it. Only the
+ * streams are decoded, the column encodings and the writer time zone are skipped over.
+ */
+public final class OrcStripeFooterDecoder {
+  // Field numbers from orc_proto.proto
+  private static final int STRIPE_FOOTER_STREAMS = 1;
+  private static final int STREAM_KIND = 1;
+  private static final int STREAM_COLUMN = 2;
+  private static final int STREAM_LENGTH = 3;
+
+  private OrcStripeFooterDecoder() {}
+
+  /**
+   * Decodes the locations of the streams of a stripe from its footer. Streams of the root column
+   * and empty streams are left out, as they cannot be attributed to a column that is read.
+   *
+   * @param fileMetadata the metadata of the file
+   * @param stripeIndex the index of the stripe in the file
+   * @param buffer the buffer holding the stripe footer
+   * @param offset the offset of the stripe footer in the buffer
+   * @param length the length of the stripe footer
+   * @return the locations of the streams, in file order
+   * @throws IOException if the stripe footer is malformed, or does not match the stripe
+   */
+  public static List<OrcStreamLocation> decodeStreams(
+      @NonNull OrcFileMetadata fileMetadata,
+      int stripeIndex,
+      @NonNull byte[] buffer,
+      int offset,
+      int length)
+      throws IOException {
+    Preconditions.checkArgument(
+        stripeIndex >= 0 && stripeIndex < fileMetadata.getStripes().size(),
+        "`stripeIndex` must be the index of a stripe of the file; was: %s",
+        stripeIndex);
+    Preconditions.checkArgument(offset >= 0, "`offset` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        offset <= buffer.length - length, "`offset` and `length` must be within the buffer");
+
+    OrcStripeInformation stripe = fileMetadata.getStripes().get(stripeIndex);
+    byte[] footer = fileMetadata.getCompression().decompress(buffer, offset, length);
+    ProtobufReader reader = new ProtobufReader(footer, 0, footer.length);
+
+    List<OrcStreamLocation> streams = new ArrayList<>();
+    long streamOffset = stripe.getOffset();
+    while (reader.nextField()) {
+      if (reader.getFieldNumber() != STRIPE_FOOTER_STREAMS) {
+        reader.skipField();
+        continue;
+      }
+
+      ProtobufReader stream = reader.readMessageField();
+      int kind = 0;
+      long column = 0;
+      long streamLength = 0;
+      while (stream.nextField()) {
+        switch (stream.getFieldNumber()) {
+          case STREAM_KIND:
+            kind = (int) stream.readVarintField();
+            break;
+          case STREAM_COLUMN:
+            column = stream.readVarintField();
+            break;
+          case STREAM_LENGTH:
+            streamLength = stream.readVarintField();
+            break;
+          default:
+            stream.skipField();
+        }
+      }
+
+      if (streamLength < 0 || streamLength > stripe.getFooterOffset() - streamOffset) {
+        throw new IOException(
+            String.format("ORC stream of stripe %d extends past the stripe footer", stripeIndex));
+      }
+
+      String columnName =
+          column <= Integer.MAX_VALUE ? fileMetadata.getColumnName((int) column) : null;
+      if (columnName != null && streamLength > 0) {
+        streams.add(
+            new OrcStreamLocation(
+                stripeIndex,
+                (int) column,
+                columnName,
+                kind,
+                new Range(streamOffset, streamOffset + streamLength - 1)));
+      }
+      streamOffset += streamLength;
+    }
+    return streams;
+  }
+}
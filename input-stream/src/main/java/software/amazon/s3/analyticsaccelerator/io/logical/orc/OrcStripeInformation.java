@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * The location of a stripe of an ORC file, as recorded in the file footer. A stripe holds the index
+ * streams of its columns, followed by their data streams, followed by the stripe footer, which
+ * records the kind, column and length of each stream.
+ */
+@Value
+public class OrcStripeInformation {
+  long offset;
+  long indexLength;
+  long dataLength;
+  long footerLength;
+  long numberOfRows;
+
+  /**
+   * Gets the offset of the stripe footer.
+   *
+   * @return the offset of the stripe footer in the file
+   */
+  public long getFooterOffset() {
+    return offset + indexLength + dataLength;
+  }
+
+  /**
+   * Gets the range of the stripe footer.
+   *
+   * @return the range of the stripe footer in the file
+   */
+  public Range getFooterRange() {
+    return new Range(getFooterOffset(), getFooterOffset() + footerLength - 1);
+  }
+
+  /**
+   * Checks if a position of the file falls within the stripe, including its footer.
+   *
+   * @param position the position
+   * @return true if the position is within the stripe
+   */
+  public boolean contains(long position) {
+    return position >= offset && position < getFooterOffset() + footerLength;
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+
+/**
+ * Decodes the tail of an ORC file into {@link OrcFileMetadata}.
+ *
+ * <p>An ORC file ends with its footer, followed by the PostScript, followed by a single byte
+ * holding the length of the PostScript. The PostScript is never compressed, and records the length
+ * of the footer and how it is compressed. Only the stripes and the types of the footer are decoded,
+ * everything else, including the statistics and user metadata, is skipped over in place.
+ */
+public final class OrcTailDecoder {
+  private static final String MAGIC = "ORC";
+
+  // Field numbers from orc_proto.proto
+  private static final int POST_SCRIPT_FOOTER_LENGTH = 1;
+  private static final int POST_SCRIPT_COMPRESSION = 2;
+  private static final int POST_SCRIPT_MAGIC = 8000;
+  private static final int FOOTER_STRIPES = 3;
+  private static final int FOOTER_TYPES = 4;
+  private static final int STRIPE_INFORMATION_OFFSET = 1;
+  private static final int STRIPE_INFORMATION_INDEX_LENGTH = 2;
+  private static final int STRIPE_INFORMATION_DATA_LENGTH = 3;
+  private static final int STRIPE_INFORMATION_FOOTER_LENGTH = 4;
+  private static final int STRIPE_INFORMATION_NUMBER_OF_ROWS = 5;
+  private static final int TYPE_KIND = 1;
+  private static final int TYPE_SUBTYPES = 2;
+  private static final int TYPE_FIELD_NAMES = 3;
+  private static final int TYPE_KIND_STRUCT = 12;
+
+  private OrcTailDecoder() {}
+
+  /**
+   * Gets the length of the tail of an ORC file that has to be read to decode its metadata, that is
+   * its footer, PostScript and PostScript length. Only the PostScript is decoded, so the tail
+   * passed in only has to hold the PostScript and its length.
+   *
+   * @param buffer the buffer holding the end of the file
+   * @param offset the offset of the end of the file in the buffer
+   * @param length the length of the end of the file in the buffer
+   * @return the length of the tail to read
+   * @throws IOException if the PostScript is malformed
+   */
+  public static long getTailLength(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    PostScript postScript = decodePostScript(buffer, offset, length);
+    return 1L + postScript.getLength() + postScript.getFooterLength();
+  }
+
+  /**
+   * Decodes the metadata of an ORC file from its tail.
+   *
+   * @param buffer the buffer holding the tail of the file
+   * @param offset the offset of the tail in the buffer
+   * @param length the length of the tail, at least {@link #getTailLength}
+   * @return the metadata of the file
+   * @throws IOException if the tail is malformed or too short, or the footer is compressed with an
+   *     unsupported codec
+   */
+  public static OrcFileMetadata decodeTail(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    PostScript postScript = decodePostScript(buffer, offset, length);
+
+    long tailLength = 1L + postScript.getLength() + postScript.getFooterLength();
+    if (tailLength > length) {
+      throw new IOException(
+          String.format(
+              "ORC tail of %d bytes is shorter than its footer and PostScript, %d bytes",
+              length, tailLength));
+    }
+
+    int footerOffset = offset + length - (int) tailLength;
+    byte[] footer =
+        postScript
+            .getCompression()
+            .decompress(buffer, footerOffset, (int) postScript.getFooterLength());
+    return decodeFooter(postScript.getCompression(), footer);
+  }
+
+  private static void checkBounds(byte[] buffer, int offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "`offset` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        offset <= buffer.length - length, "`offset` and `length` must be within the buffer");
+  }
+
+  private static PostScript decodePostScript(byte[] buffer, int offset, int length)
+      throws IOException {
+    if (length < 1) {
+      throw new IOException("ORC tail is empty");
+    }
+    int postScriptLength = buffer[offset + length - 1] & 0xff;
+    if (postScriptLength + 1 > length) {
+      throw new IOException("ORC tail is shorter than its PostScript");
+    }
+
+    ProtobufReader reader =
+        new ProtobufReader(buffer, offset + length - 1 - postScriptLength, postScriptLength);
+    long footerLength = -1;
+    OrcCompression compression = OrcCompression.NONE;
+    String magic = null;
+    while (reader.nextField()) {
+      switch (reader.getFieldNumber()) {
+        case POST_SCRIPT_FOOTER_LENGTH:
+          footerLength = reader.readVarintField();
+          break;
+        case POST_SCRIPT_COMPRESSION:
+          compression = OrcCompression.fromValue(reader.readVarintField());
+          break;
+        case POST_SCRIPT_MAGIC:
+          magic = reader.readStringField();
+          break;
+        default:
+          reader.skipField();
+      }
+    }
+
+    if (!MAGIC.equals(magic)) {
+      throw new IOException("Not an ORC file, the PostScript has no ORC magic");
+    }
+    if (footerLength < 0 || footerLength > Integer.MAX_VALUE) {
+      throw new IOException("Invalid ORC footer length: " + footerLength);
+    }
+    return new PostScript(postScriptLength, footerLength, compression);
+  }
+
+  private static OrcFileMetadata decodeFooter(OrcCompression compression, byte[] footer)
+      throws IOException {
+    ProtobufReader reader = new ProtobufReader(footer, 0, footer.length);
+    List<OrcStripeInformation> stripes = new ArrayList<>();
+    List<Type> types = new ArrayList<>();
+    while (reader.nextField()) {
+      switch (reader.getFieldNumber()) {
+        case FOOTER_STRIPES:
+          stripes.add(decodeStripeInformation(reader.readMessageField()));
+          break;
+        case FOOTER_TYPES:
+          types.add(decodeType(reader.readMessageField()));
+          break;
+        default:
+          reader.skipField();
+      }
+    }
+
+    if (types.isEmpty() || types.get(0).getKind() != TYPE_KIND_STRUCT) {
+      throw new IOException("ORC schema does not have a struct at its root");
+    }
+
+    // Map every column id to the top level column it is nested in
+    Type root = types.get(0);
+    if (root.getSubtypes().size() != root.getFieldNames().size()) {
+      throw new IOException("ORC root struct has a different number of fields and names");
+    }
+    int[] topLevelColumns = new int[types.size()];
+    Arrays.fill(topLevelColumns, -1);
+    for (int field = 0; field < root.getSubtypes().size(); field++) {
+      Deque<Integer> columnIds = new ArrayDeque<>();
+      columnIds.push(root.getSubtypes().get(field));
+      while (!columnIds.isEmpty()) {
+        int columnId = columnIds.pop();
+        if (columnId <= 0 || columnId >= types.size() || topLevelColumns[columnId] != -1) {
+          throw new IOException("Invalid column id in ORC schema: " + columnId);
+        }
+        topLevelColumns[columnId] = field;
+        for (int subtype : types.get(columnId).getSubtypes()) {
+          columnIds.push(subtype);
+        }
+      }
+    }
+
+    return new OrcFileMetadata(compression, stripes, root.getFieldNames(), topLevelColumns);
+  }
+
+  private static OrcStripeInformation decodeStripeInformation(ProtobufReader reader)
+      throws IOException {
+    long offset = 0;
+    long indexLength = 0;
+    long dataLength = 0;
+    long footerLength = 0;
+    long numberOfRows = 0;
+    while (reader.nextField()) {
+      switch (reader.getFieldNumber()) {
+        case STRIPE_INFORMATION_OFFSET:
+          offset = reader.readVarintField();
+          break;
+        case STRIPE_INFORMATION_INDEX_LENGTH:
+          indexLength = reader.readVarintField();
+          break;
+        case STRIPE_INFORMATION_DATA_LENGTH:
+          dataLength = reader.readVarintField();
+          break;
+        case STRIPE_INFORMATION_FOOTER_LENGTH:
+          footerLength = reader.readVarintField();
+          break;
+        case STRIPE_INFORMATION_NUMBER_OF_ROWS:
+          numberOfRows = reader.readVarintField();
+          break;
+        default:
+          reader.skipField();
+      }
+    }
+
+    if (offset < 0 || indexLength < 0 || dataLength < 0 || footerLength <= 0) {
+      throw new IOException("Invalid ORC stripe information");
+    }
+    return new OrcStripeInformation(offset, indexLength, dataLength, footerLength, numberOfRows);
+  }
+
+  private static Type decodeType(ProtobufReader reader) throws IOException {
+    long kind = -1;
+    List<Integer> subtypes = new ArrayList<>();
+    List<String> fieldNames = new ArrayList<>();
+    while (reader.nextField()) {
+      switch (reader.getFieldNumber()) {
+        case TYPE_KIND:
+          kind = reader.readVarintField();
+          break;
+        case TYPE_SUBTYPES:
+          reader.readRepeatedVarintField(subtype -> subtypes.add((int) subtype));
+          break;
+        case TYPE_FIELD_NAMES:
+          fieldNames.add(reader.readStringField());
+          break;
+        default:
+          reader.skipField();
+      }
+    }
+    return new Type(kind, subtypes, fieldNames);
+  }
+
+  /** The fields of the PostScript prefetching relies on. */
+  @Value
+  private static class PostScript {
+    int length;
+    long footerLength;
+    OrcCompression compression;
+  }
+
+  /** A type of the ORC schema. */
+  @Value
+  private static class Type {
+    long kind;
+    List<Integer> subtypes;
+    List<String> fieldNames;
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A minimal reader of the Protocol Buffers wire format, which the ORC tail and stripe footers are
+ * encoded in. Fields are read one at a time with {@link #nextField()}, and the ones that are not
+ * needed are skipped over in place with {@link #skipField()}.
+ */
+final class ProtobufReader {
+  // Wire types
+  static final int WIRE_TYPE_VARINT = 0;
+  static final int WIRE_TYPE_FIXED64 = 1;
+  static final int WIRE_TYPE_LENGTH_DELIMITED = 2;
+  static final int WIRE_TYPE_FIXED32 = 5;
+
+  private final byte[] buffer;
+  private final int limit;
+  private int position;
+
+  // Key of the field that was read last
+  private int fieldNumber;
+  private int wireType;
+
+  /**
+   * Creates a reader of the bytes of a message.
+   *
+   * @param buffer the buffer holding the message
+   * @param offset the offset of the message in the buffer
+   * @param length the length of the message
+   */
+  ProtobufReader(byte[] buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = offset + length;
+  }
+
+  /**
+   * Reads the key of the next field.
+   *
+   * @return true if a field was read, false at the end of the message
+   * @throws IOException if the key is malformed
+   */
+  boolean nextField() throws IOException {
+    if (position >= limit) {
+      return false;
+    }
+    long key = readVarint();
+    this.fieldNumber = (int) (key >>> 3);
+    this.wireType = (int) (key & 0x7);
+    return true;
+  }
+
+  /**
+   * Gets the number of the field read last.
+   *
+   * @return the field number
+   */
+  int getFieldNumber() {
+    return fieldNumber;
+  }
+
+  /**
+   * Gets the wire type of the field read last.
+   *
+   * @return the wire type
+   */
+  int getWireType() {
+    return wireType;
+  }
+
+  /**
+   * Reads a varint field.
+   *
+   * @return the value of the field
+   * @throws IOException if the field is not a varint or is malformed
+   */
+  long readVarintField() throws IOException {
+    checkWireType(WIRE_TYPE_VARINT);
+    return readVarint();
+  }
+
+  /**
+   * Reads a length delimited field as a string.
+   *
+   * @return the value of the field
+   * @throws IOException if the field is not length delimited or is malformed
+   */
+  String readStringField() throws IOException {
+    int length = readLengthDelimitedField();
+    String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+    position += length;
+    return value;
+  }
+
+  /**
+   * Reads a length delimited field holding an embedded message, and returns a reader of it.
+   *
+   * @return a reader of the embedded message
+   * @throws IOException if the field is not length delimited or is malformed
+   */
+  ProtobufReader readMessageField() throws IOException {
+    int length = readLengthDelimitedField();
+    ProtobufReader message = new ProtobufReader(buffer, position, length);
+    position += length;
+    return message;
+  }
+
+  /**
+   * Reads a repeated varint field, which may be packed or not. The values are passed to the
+   * consumer one by one.
+   *
+   * @param consumer receives the values of the field
+   * @throws IOException if the field is malformed
+   */
+  void readRepeatedVarintField(VarintConsumer consumer) throws IOException {
+    if (wireType == WIRE_TYPE_VARINT) {
+      consumer.accept(readVarint());
+      return;
+    }
+
+    int length = readLengthDelimitedField();
+    int end = position + length;
+    while (position < end) {
+      consumer.accept(readVarint());
+    }
+    if (position != end) {
+      throw new IOException("Malformed packed field in ORC metadata");
+    }
+  }
+
+  /**
+   * Skips the field read last.
+   *
+   * @throws IOException if the field is malformed
+   */
+  void skipField() throws IOException {
+    switch (wireType) {
+      case WIRE_TYPE_VARINT:
+        readVarint();
+        break;
+      case WIRE_TYPE_FIXED64:
+        advance(8);
+        break;
+      case WIRE_TYPE_LENGTH_DELIMITED:
+        advance(readLength());
+        break;
+      case WIRE_TYPE_FIXED32:
+        advance(4);
+        break;
+      default:
+        throw new IOException("Unsupported wire type in ORC metadata: " + wireType);
+    }
+  }
+
+  private int readLengthDelimitedField() throws IOException {
+    checkWireType(WIRE_TYPE_LENGTH_DELIMITED);
+    return readLength();
+  }
+
+  private void checkWireType(int expectedWireType) throws IOException {
+    if (wireType != expectedWireType) {
+      throw new IOException(
+          String.format(
+              "Field %d of ORC metadata has wire type %d, expected %d",
+              fieldNumber, wireType, expectedWireType));
+    }
+  }
+
+  private int readLength() throws IOException {
+    long length = readVarint();
+    if (length < 0 || length > limit - position) {
+      throw new IOException("Invalid length in ORC metadata");
+    }
+    return (int) length;
+  }
+
+  private long readVarint() throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      if (position >= limit) {
+        throw new IOException("Unexpected end of ORC metadata");
+      }
+      byte b = buffer[position++];
+      result |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed varint in ORC metadata");
+  }
+
+  private void advance(int length) throws IOException {
+    if (length > limit - position) {
+      throw new IOException("Unexpected end of ORC metadata");
+    }
+    position += length;
+  }
+
+  /** Receives the values of a repeated varint field. */
+  @FunctionalInterface
+  interface VarintConsumer {
+    /**
+     * Receives a value.
+     *
+     * @param value the value
+     * @throws IOException if the value is invalid
+     */
+    void accept(long value) throws IOException;
+  }
+}
@@ -15,13 +15,470 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import lombok.Value;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
 
-/** Mappings of parquet column file offset index to column name and vice versa. */
-@Value
-public class ColumnMappers {
-  Map<Long, ColumnMetadata> offsetIndexToColumnMap;
-  Map<String, List<ColumnMetadata>> columnNameToColumnMap;
+/**
+ * Mappings of parquet column file offset index to column name and vice versa.
+ *
+ * <p>Column chunks are held as parallel primitive arrays sorted by start position rather than as
+ * one {@link ColumnMetadata} per chunk, so a file with thousands of columns and hundreds of row
+ * groups costs a few dozen bytes per chunk. Column names are interned: each distinct name is
+ * stored once and chunks refer to it by id. Lookups by position are binary searches, and {@link
+ * ColumnMetadata} is only materialised for the chunks a lookup returns.
+ */
+@EqualsAndHashCode
+public final class ColumnMappers {
+  /** Column mappers without any column chunks. */
+  public static final ColumnMappers EMPTY = builder().build();
+
+  // Rough per-object and per-element costs used to estimate the retained size
+  private static final long OBJECT_OVERHEAD_BYTES = 16;
+  private static final long ARRAY_OVERHEAD_BYTES = 16;
+  private static final long REFERENCE_BYTES = 8;
+  private static final long MAP_ENTRY_BYTES = 48;
+  private static final long STRING_OVERHEAD_BYTES = 40;
+
+  private final long[] startPositions;
+  private final long[] compressedSizes;
+  private final long[] dataPageOffsets;
+  private final long[] dictionaryOffsets;
+  private final long[] columnIndexOffsets;
+  private final int[] columnIndexLengths;
+  private final long[] offsetIndexOffsets;
+  private final int[] offsetIndexLengths;
+  private final int[] rowGroupIndexes;
+  private final int[] columnIds;
+  private final String[] columnNames;
+  @Getter private final int schemaHash;
+
+  // Derived from the fields above
+  @EqualsAndHashCode.Exclude private final Map<String, Integer> columnIdsByName;
+  @EqualsAndHashCode.Exclude private final int[][] chunksByColumnId;
+  @EqualsAndHashCode.Exclude @Getter private final long estimatedSizeInBytes;
+
+  private ColumnMappers(
+      long[] startPositions,
+      long[] compressedSizes,
+      long[] dataPageOffsets,
+      long[] dictionaryOffsets,
+      long[] columnIndexOffsets,
+      int[] columnIndexLengths,
+      long[] offsetIndexOffsets,
+      int[] offsetIndexLengths,
+      int[] rowGroupIndexes,
+      int[] columnIds,
+      String[] columnNames,
+      int schemaHash) {
+    this.startPositions = startPositions;
+    this.compressedSizes = compressedSizes;
+    this.dataPageOffsets = dataPageOffsets;
+    this.dictionaryOffsets = dictionaryOffsets;
+    this.columnIndexOffsets = columnIndexOffsets;
+    this.columnIndexLengths = columnIndexLengths;
+    this.offsetIndexOffsets = offsetIndexOffsets;
+    this.offsetIndexLengths = offsetIndexLengths;
+    this.rowGroupIndexes = rowGroupIndexes;
+    this.columnIds = columnIds;
+    this.columnNames = columnNames;
+    this.schemaHash = schemaHash;
+
+    this.columnIdsByName = new HashMap<>();
+    for (int columnId = 0; columnId < columnNames.length; columnId++) {
+      columnIdsByName.put(columnNames[columnId], columnId);
+    }
+
+    int[] chunkCounts = new int[columnNames.length];
+    for (int columnId : columnIds) {
+      chunkCounts[columnId]++;
+    }
+    this.chunksByColumnId = new int[columnNames.length][];
+    for (int columnId = 0; columnId < columnNames.length; columnId++) {
+      chunksByColumnId[columnId] = new int[chunkCounts[columnId]];
+    }
+    int[] filled = new int[columnNames.length];
+    for (int chunk = 0; chunk < columnIds.length; chunk++) {
+      int columnId = columnIds[chunk];
+      chunksByColumnId[columnId][filled[columnId]++] = chunk;
+    }
+
+    this.estimatedSizeInBytes = estimateSizeInBytes();
+  }
+
+  /**
+   * Creates a builder for {@link ColumnMappers}.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the number of column chunks in the file.
+   *
+   * @return the number of column chunks
+   */
+  public int getColumnChunkCount() {
+    return startPositions.length;
+  }
+
+  /**
+   * Returns true if the file has no column chunks.
+   *
+   * @return true if there are no column chunks
+   */
+  public boolean isEmpty() {
+    return startPositions.length == 0;
+  }
+
+  /**
+   * Returns the distinct column names of the file.
+   *
+   * @return the column names, in the order their first chunk appears in the file
+   */
+  public List<String> getColumnNames() {
+    return Collections.unmodifiableList(Arrays.asList(columnNames));
+  }
+
+  /**
+   * Returns the column chunk at an index, with chunks ordered by start position.
+   *
+   * @param index the index of the chunk
+   * @return the metadata of the chunk
+   */
+  public ColumnMetadata getColumnChunk(int index) {
+    return new ColumnMetadata(
+        rowGroupIndexes[index],
+        columnNames[columnIds[index]],
+        dataPageOffsets[index],
+        dictionaryOffsets[index],
+        startPositions[index],
+        compressedSizes[index],
+        schemaHash,
+        getPageIndexLocation(index));
+  }
+
+  private PageIndexLocation getPageIndexLocation(int index) {
+    if (columnIndexLengths[index] == 0 && offsetIndexLengths[index] == 0) {
+      return PageIndexLocation.NONE;
+    }
+    return new PageIndexLocation(
+        columnIndexOffsets[index],
+        columnIndexLengths[index],
+        offsetIndexOffsets[index],
+        offsetIndexLengths[index]);
+  }
+
+  /**
+   * Finds the column chunk that starts at a position.
+   *
+   * @param position a position in the file
+   * @return the chunk starting at the position, or empty if no chunk starts there
+   */
+  public Optional<ColumnMetadata> getColumnStartingAt(long position) {
+    int index = floorIndex(position);
+    if (index >= 0 && startPositions[index] == position) {
+      return Optional.of(getColumnChunk(index));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Finds the column chunk whose byte range contains a position.
+   *
+   * @param position a position in the file
+   * @return the chunk containing the position, or empty if the position is not within any chunk
+   */
+  public Optional<ColumnMetadata> getColumnContaining(long position) {
+    int index = floorIndex(position);
+    if (index >= 0 && position - startPositions[index] < compressedSizes[index]) {
+      return Optional.of(getColumnChunk(index));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns all chunks of a column.
+   *
+   * @param columnName the name of the column
+   * @return the chunks of the column ordered by start position, or an empty list if the file has
+   *     no such column
+   */
+  public List<ColumnMetadata> getColumnChunks(@NonNull String columnName) {
+    Integer columnId = columnIdsByName.get(columnName);
+    if (columnId == null) {
+      return Collections.emptyList();
+    }
+
+    int[] chunks = chunksByColumnId[columnId];
+    List<ColumnMetadata> columnChunks = new ArrayList<>(chunks.length);
+    for (int chunk : chunks) {
+      columnChunks.add(getColumnChunk(chunk));
+    }
+    return columnChunks;
+  }
+
+  /**
+   * Returns the index of the last chunk starting at or before a position. Of several chunks
+   * starting at the same position, the one added last is returned.
+   */
+  private int floorIndex(long position) {
+    int low = 0;
+    int high = startPositions.length - 1;
+    int result = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (startPositions[mid] <= position) {
+        result = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return result;
+  }
+
+  private long estimateSizeInBytes() {
+    long chunkCount = startPositions.length;
+    long size = OBJECT_OVERHEAD_BYTES + 13 * ARRAY_OVERHEAD_BYTES;
+    size += chunkCount * (6 * Long.BYTES + 4 * Integer.BYTES);
+    // Chunk indexes grouped by column
+    size += chunkCount * Integer.BYTES;
+    for (String columnName : columnNames) {
+      size +=
+          STRING_OVERHEAD_BYTES
+              + 2L * columnName.length()
+              + MAP_ENTRY_BYTES
+              + ARRAY_OVERHEAD_BYTES
+              + 2 * REFERENCE_BYTES;
+    }
+    return size;
+  }
+
+  /**
+   * Accumulates column chunks in the order they are discovered and sorts them by start position on
+   * {@link #build()}.
+   */
+  public static final class Builder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] startPositions = new long[INITIAL_CAPACITY];
+    private long[] compressedSizes = new long[INITIAL_CAPACITY];
+    private long[] dataPageOffsets = new long[INITIAL_CAPACITY];
+    private long[] dictionaryOffsets = new long[INITIAL_CAPACITY];
+    private long[] columnIndexOffsets = new long[INITIAL_CAPACITY];
+    private int[] columnIndexLengths = new int[INITIAL_CAPACITY];
+    private long[] offsetIndexOffsets = new long[INITIAL_CAPACITY];
+    private int[] offsetIndexLengths = new int[INITIAL_CAPACITY];
+    private int[] rowGroupIndexes = new int[INITIAL_CAPACITY];
+    private String[] columnNames = new String[INITIAL_CAPACITY];
+    private int size;
+    private int schemaHash;
+
+    private Builder() {}
+
+    /**
+     * Sets the schema hash of the file.
+     *
+     * @param schemaHash the hash of the concatenated column names of the first row group
+     * @return this builder
+     */
+    public Builder schemaHash(int schemaHash) {
+      this.schemaHash = schemaHash;
+      return this;
+    }
+
+    /**
+     * Adds a column chunk without page index structures.
+     *
+     * @param rowGroupIndex the index of the row group the chunk belongs to
+     * @param columnName the dot-joined path of the column in the schema
+     * @param dataPageOffset the offset of the first data page of the chunk
+     * @param dictionaryOffset the offset of the dictionary page of the chunk, or 0 if it has none
+     * @param startPos the position the chunk starts at
+     * @param compressedSize the total compressed size of the chunk
+     * @return this builder
+     */
+    public Builder addColumnChunk(
+        int rowGroupIndex,
+        @NonNull String columnName,
+        long dataPageOffset,
+        long dictionaryOffset,
+        long startPos,
+        long compressedSize) {
+      return addColumnChunk(
+          rowGroupIndex,
+          columnName,
+          dataPageOffset,
+          dictionaryOffset,
+          startPos,
+          compressedSize,
+          PageIndexLocation.NONE);
+    }
+
+    /**
+     * Adds a column chunk.
+     *
+     * @param rowGroupIndex the index of the row group the chunk belongs to
+     * @param columnName the dot-joined path of the column in the schema
+     * @param dataPageOffset the offset of the first data page of the chunk
+     * @param dictionaryOffset the offset of the dictionary page of the chunk, or 0 if it has none
+     * @param startPos the position the chunk starts at
+     * @param compressedSize the total compressed size of the chunk
+     * @param pageIndexLocation the location of the ColumnIndex and OffsetIndex of the chunk
+     * @return this builder
+     */
+    public Builder addColumnChunk(
+        int rowGroupIndex,
+        @NonNull String columnName,
+        long dataPageOffset,
+        long dictionaryOffset,
+        long startPos,
+        long compressedSize,
+        @NonNull PageIndexLocation pageIndexLocation) {
+      if (size == startPositions.length) {
+        int capacity = size * 2;
+        startPositions = Arrays.copyOf(startPositions, capacity);
+        compressedSizes = Arrays.copyOf(compressedSizes, capacity);
+        dataPageOffsets = Arrays.copyOf(dataPageOffsets, capacity);
+        dictionaryOffsets = Arrays.copyOf(dictionaryOffsets, capacity);
+        columnIndexOffsets = Arrays.copyOf(columnIndexOffsets, capacity);
+        columnIndexLengths = Arrays.copyOf(columnIndexLengths, capacity);
+        offsetIndexOffsets = Arrays.copyOf(offsetIndexOffsets, capacity);
+        offsetIndexLengths = Arrays.copyOf(offsetIndexLengths, capacity);
+        rowGroupIndexes = Arrays.copyOf(rowGroupIndexes, capacity);
+        columnNames = Arrays.copyOf(columnNames, capacity);
+      }
+
+      startPositions[size] = startPos;
+      compressedSizes[size] = compressedSize;
+      dataPageOffsets[size] = dataPageOffset;
+      dictionaryOffsets[size] = dictionaryOffset;
+      columnIndexOffsets[size] = pageIndexLocation.getColumnIndexOffset();
+      columnIndexLengths[size] = pageIndexLocation.getColumnIndexLength();
+      offsetIndexOffsets[size] = pageIndexLocation.getOffsetIndexOffset();
+      offsetIndexLengths[size] = pageIndexLocation.getOffsetIndexLength();
+      rowGroupIndexes[size] = rowGroupIndex;
+      columnNames[size] = columnName;
+      size++;
+      return this;
+    }
+
+    /**
+     * Adds a column chunk and takes the schema hash of the file from it.
+     *
+     * @param columnMetadata the metadata of the chunk
+     * @return this builder
+     */
+    public Builder addColumnChunk(@NonNull ColumnMetadata columnMetadata) {
+      this.schemaHash = columnMetadata.getSchemaHash();
+      return addColumnChunk(
+          columnMetadata.getRowGroupIndex(),
+          columnMetadata.getColumnName(),
+          columnMetadata.getDataPageOffset(),
+          columnMetadata.getDictionaryOffset(),
+          columnMetadata.getStartPos(),
+          columnMetadata.getCompressedSize(),
+          columnMetadata.getPageIndexLocation());
+    }
+
+    /**
+     * Builds the column mappers. Column ids are assigned in start position order, so mappers built
+     * from the same chunks compare equal regardless of the order the chunks were added in.
+     *
+     * @return the column mappers
+     */
+    public ColumnMappers build() {
+      int[] order = sortedOrder();
+
+      long[] sortedStartPositions = new long[size];
+      long[] sortedCompressedSizes = new long[size];
+      long[] sortedDataPageOffsets = new long[size];
+      long[] sortedDictionaryOffsets = new long[size];
+      long[] sortedColumnIndexOffsets = new long[size];
+      int[] sortedColumnIndexLengths = new int[size];
+      long[] sortedOffsetIndexOffsets = new long[size];
+      int[] sortedOffsetIndexLengths = new int[size];
+      int[] sortedRowGroupIndexes = new int[size];
+      int[] columnIds = new int[size];
+      Map<String, Integer> columnIdsByName = new HashMap<>();
+      List<String> distinctColumnNames = new ArrayList<>();
+
+      for (int i = 0; i < size; i++) {
+        int chunk = order[i];
+        sortedStartPositions[i] = startPositions[chunk];
+        sortedCompressedSizes[i] = compressedSizes[chunk];
+        sortedDataPageOffsets[i] = dataPageOffsets[chunk];
+        sortedDictionaryOffsets[i] = dictionaryOffsets[chunk];
+        sortedColumnIndexOffsets[i] = columnIndexOffsets[chunk];
+        sortedColumnIndexLengths[i] = columnIndexLengths[chunk];
+        sortedOffsetIndexOffsets[i] = offsetIndexOffsets[chunk];
+        sortedOffsetIndexLengths[i] = offsetIndexLengths[chunk];
+        sortedRowGroupIndexes[i] = rowGroupIndexes[chunk];
+
+        String columnName = columnNames[chunk];
+        Integer columnId = columnIdsByName.get(columnName);
+        if (columnId == null) {
+          columnId = distinctColumnNames.size();
+          columnIdsByName.put(columnName, columnId);
+          distinctColumnNames.add(columnName);
+        }
+        columnIds[i] = columnId;
+      }
+
+      return new ColumnMappers(
+          sortedStartPositions,
+          sortedCompressedSizes,
+          sortedDataPageOffsets,
+          sortedDictionaryOffsets,
+          sortedColumnIndexOffsets,
+          sortedColumnIndexLengths,
+          sortedOffsetIndexOffsets,
+          sortedOffsetIndexLengths,
+          sortedRowGroupIndexes,
+          columnIds,
+          distinctColumnNames.toArray(new String[0]),
+          schemaHash);
+    }
+
+    /**
+     * Returns the chunk indexes ordered by start position, keeping chunks that start at the same
+     * position in the order they were added. Chunks are usually added in file order already, in
+     * which case no sorting is done.
+     */
+    private int[] sortedOrder() {
+      boolean sorted = true;
+      for (int i = 1; i < size && sorted; i++) {
+        sorted = startPositions[i - 1] <= startPositions[i];
+      }
+
+      int[] order = new int[size];
+      if (sorted) {
+        for (int i = 0; i < size; i++) {
+          order[i] = i;
+        }
+        return order;
+      }
+
+      Integer[] boxedOrder = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        boxedOrder[i] = i;
+      }
+      // Arrays.sort on objects is stable
+      Arrays.sort(boxedOrder, (a, b) -> Long.compare(startPositions[a], startPositions[b]));
+      for (int i = 0; i < size; i++) {
+        order[i] = boxedOrder[i];
+      }
+      return order;
+    }
+  }
 }
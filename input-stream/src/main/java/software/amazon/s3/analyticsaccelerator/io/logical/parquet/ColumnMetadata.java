@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import lombok.Data;
+import lombok.NonNull;
 
 /** Container for storing necessary parquet column information. */
 @Data
@@ -27,4 +28,66 @@ public class ColumnMetadata {
   private final long startPos;
   private final long compressedSize;
   private final int schemaHash;
+  private final PageIndexLocation pageIndexLocation;
+
+  /**
+   * Creates the metadata of a column chunk without page index structures.
+   *
+   * @param rowGroupIndex the index of the row group the chunk belongs to
+   * @param columnName the dot-joined path of the column in the schema
+   * @param dataPageOffset the offset of the first data page of the chunk
+   * @param dictionaryOffset the offset of the dictionary page of the chunk, or 0 if it has none
+   * @param startPos the position the chunk starts at
+   * @param compressedSize the total compressed size of the chunk
+   * @param schemaHash the schema hash of the file
+   */
+  public ColumnMetadata(
+      int rowGroupIndex,
+      String columnName,
+      long dataPageOffset,
+      long dictionaryOffset,
+      long startPos,
+      long compressedSize,
+      int schemaHash) {
+    this(
+        rowGroupIndex,
+        columnName,
+        dataPageOffset,
+        dictionaryOffset,
+        startPos,
+        compressedSize,
+        schemaHash,
+        PageIndexLocation.NONE);
+  }
+
+  /**
+   * Creates the metadata of a column chunk.
+   *
+   * @param rowGroupIndex the index of the row group the chunk belongs to
+   * @param columnName the dot-joined path of the column in the schema
+   * @param dataPageOffset the offset of the first data page of the chunk
+   * @param dictionaryOffset the offset of the dictionary page of the chunk, or 0 if it has none
+   * @param startPos the position the chunk starts at
+   * @param compressedSize the total compressed size of the chunk
+   * @param schemaHash the schema hash of the file
+   * @param pageIndexLocation the location of the ColumnIndex and OffsetIndex of the chunk
+   */
+  public ColumnMetadata(
+      int rowGroupIndex,
+      String columnName,
+      long dataPageOffset,
+      long dictionaryOffset,
+      long startPos,
+      long compressedSize,
+      int schemaHash,
+      @NonNull PageIndexLocation pageIndexLocation) {
+    this.rowGroupIndex = rowGroupIndex;
+    this.columnName = columnName;
+    this.dataPageOffset = dataPageOffset;
+    this.dictionaryOffset = dictionaryOffset;
+    this.startPos = startPos;
+    this.compressedSize = compressedSize;
+    this.schemaHash = schemaHash;
+    this.pageIndexLocation = pageIndexLocation;
+  }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.nio.charset.StandardCharsets;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+
+/**
+ * The min/max statistics of a column chunk, as written to the ColumnMetaData of the footer. Used to
+ * decide if the rows of a row group can match a {@link ColumnPredicate}.
+ *
+ * <p>Minimum and maximum values are kept in their plain encoding and only interpreted when a
+ * predicate is evaluated. A column is only compared to a predicate if the order of its values is
+ * known, see {@link Kind}; otherwise the chunk is assumed to match, so that statistics never cause
+ * rows to be missed.
+ */
+@Getter
+final class ColumnStatistics {
+  /** How the minimum and maximum values of a column are encoded and ordered. */
+  enum Kind {
+    /** A 4 byte little endian signed integer. */
+    INT32,
+    /** An 8 byte little endian signed integer. */
+    INT64,
+    /** A 4 byte little endian IEEE 754 float. */
+    FLOAT,
+    /** An 8 byte little endian IEEE 754 double. */
+    DOUBLE,
+    /** UTF-8 bytes, ordered as unsigned bytes. */
+    STRING,
+    /** Values whose order is not known, only the null count can be used. */
+    OTHER
+  }
+
+  // Larger integers can not be compared to floating point values exactly
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+  private final Kind kind;
+  private final byte[] min;
+  private final byte[] max;
+  private final long nullCount;
+  private final long valueCount;
+
+  /**
+   * Creates the statistics of a column chunk.
+   *
+   * @param kind how the minimum and maximum values are encoded and ordered
+   * @param min the plain encoded minimum value, or null if unknown
+   * @param max the plain encoded maximum value, or null if unknown
+   * @param nullCount the number of null values, or -1 if unknown
+   * @param valueCount the number of values including nulls, or -1 if unknown
+   */
+  ColumnStatistics(@NonNull Kind kind, byte[] min, byte[] max, long nullCount, long valueCount) {
+    this.kind = kind;
+    this.min = min;
+    this.max = max;
+    this.nullCount = nullCount;
+    this.valueCount = valueCount;
+  }
+
+  /**
+   * Checks if any value of the chunk can match a predicate.
+   *
+   * @param predicate the predicate to check
+   * @return false if the statistics prove that no value matches, true otherwise
+   */
+  boolean mightMatch(@NonNull ColumnPredicate predicate) {
+    if (nullCount >= 0 && nullCount == valueCount) {
+      // Comparisons never hold for nulls
+      return false;
+    }
+    if (min == null || max == null) {
+      return true;
+    }
+
+    Integer minComparison = compare(min, predicate.getValue());
+    Integer maxComparison = compare(max, predicate.getValue());
+    if (minComparison == null || maxComparison == null) {
+      return true;
+    }
+
+    switch (predicate.getOperator()) {
+      case EQ:
+        return minComparison <= 0 && maxComparison >= 0;
+      case LT:
+        return minComparison < 0;
+      case LT_EQ:
+        return minComparison <= 0;
+      case GT:
+        return maxComparison > 0;
+      case GT_EQ:
+        return maxComparison >= 0;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Compares an encoded value of the column to the value of a predicate.
+   *
+   * @return a negative number, zero or a positive number if the encoded value is less than, equal
+   *     to or greater than the predicate value, or null if the two can not be compared
+   */
+  private Integer compare(byte[] encoded, Object value) {
+    switch (kind) {
+      case INT32:
+        return encoded.length == 4 ? compareNumber(readIntLittleEndian(encoded), value) : null;
+      case INT64:
+        return encoded.length == 8 ? compareNumber(readLongLittleEndian(encoded), value) : null;
+      case FLOAT:
+        return encoded.length == 4
+            ? compareNumber(Float.intBitsToFloat(readIntLittleEndian(encoded)), value)
+            : null;
+      case DOUBLE:
+        return encoded.length == 8
+            ? compareNumber(Double.longBitsToDouble(readLongLittleEndian(encoded)), value)
+            : null;
+      case STRING:
+        return value instanceof String
+            ? compareUnsigned(encoded, ((String) value).getBytes(StandardCharsets.UTF_8))
+            : null;
+      default:
+        return null;
+    }
+  }
+
+  private static Integer compareNumber(long columnValue, Object value) {
+    if (value instanceof Long) {
+      return Long.compare(columnValue, (Long) value);
+    }
+    if (value instanceof Double && Math.abs(columnValue) <= MAX_EXACT_DOUBLE) {
+      return compareNumber((double) columnValue, value);
+    }
+    return null;
+  }
+
+  private static Integer compareNumber(double columnValue, Object value) {
+    double predicateValue;
+    if (value instanceof Double) {
+      predicateValue = (Double) value;
+    } else if (value instanceof Long && Math.abs((Long) value) <= MAX_EXACT_DOUBLE) {
+      predicateValue = (Long) value;
+    } else {
+      return null;
+    }
+
+    if (Double.isNaN(columnValue) || Double.isNaN(predicateValue)) {
+      return null;
+    }
+    // Unlike Double.compare, -0.0 and 0.0 are equal here, as writers may store either
+    if (columnValue < predicateValue) {
+      return -1;
+    }
+    return columnValue > predicateValue ? 1 : 0;
+  }
+
+  private static int compareUnsigned(byte[] left, byte[] right) {
+    int length = Math.min(left.length, right.length);
+    for (int i = 0; i < length; i++) {
+      int comparison = Integer.compare(left[i] & 0xff, right[i] & 0xff);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(left.length, right.length);
+  }
+
+  private static int readIntLittleEndian(byte[] bytes) {
+    return (bytes[0] & 0xff)
+        | (bytes[1] & 0xff) << 8
+        | (bytes[2] & 0xff) << 16
+        | (bytes[3] & 0xff) << 24;
+  }
+
+  private static long readLongLittleEndian(byte[] bytes) {
+    long value = 0;
+    for (int i = 7; i >= 0; i--) {
+      value = (value << 8) | (bytes[i] & 0xff);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.Optional;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Location of the page index structures of a column chunk. The ColumnIndex holds the min/max
+ * statistics of every page in the chunk and the OffsetIndex holds the position and size of every
+ * page. Both are written between the last row group and the footer, and their offsets and lengths
+ * are recorded in the ColumnChunk of the footer. A length of 0 means the structure was not written.
+ */
+@Value
+public class PageIndexLocation {
+  /** Location of a column chunk without page index structures. */
+  public static final PageIndexLocation NONE = new PageIndexLocation(0, 0, 0, 0);
+
+  long columnIndexOffset;
+  int columnIndexLength;
+  long offsetIndexOffset;
+  int offsetIndexLength;
+
+  /**
+   * Returns the range of the ColumnIndex of the chunk.
+   *
+   * @return the range of the ColumnIndex, or empty if the chunk has none
+   */
+  public Optional<Range> getColumnIndexRange() {
+    return toRange(columnIndexOffset, columnIndexLength);
+  }
+
+  /**
+   * Returns the range of the OffsetIndex of the chunk.
+   *
+   * @return the range of the OffsetIndex, or empty if the chunk has none
+   */
+  public Optional<Range> getOffsetIndexRange() {
+    return toRange(offsetIndexOffset, offsetIndexLength);
+  }
+
+  private static Optional<Range> toRange(long offset, int length) {
+    if (offset < 0 || length <= 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new Range(offset, offset + length - 1));
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * The data pages of a column chunk, as recorded in its OffsetIndex. For every page, the OffsetIndex
+ * holds the file offset of the page, its compressed size including the page header, and the index
+ * of its first row within the row group. Pages are ordered by offset, which is also the order in
+ * which a reader consumes them.
+ */
+@EqualsAndHashCode
+public final class PageLocations {
+  /** Page locations of a chunk without an OffsetIndex. */
+  public static final PageLocations EMPTY = new PageLocations(new long[0], new int[0], new long[0]);
+
+  private final long[] offsets;
+  private final int[] compressedSizes;
+  private final long[] firstRowIndexes;
+
+  /**
+   * Creates a new instance of {@link PageLocations}.
+   *
+   * @param offsets the file offset of every page, in ascending order
+   * @param compressedSizes the compressed size of every page, including its header
+   * @param firstRowIndexes the index of the first row of every page within the row group
+   */
+  public PageLocations(
+      @NonNull long[] offsets, @NonNull int[] compressedSizes, @NonNull long[] firstRowIndexes) {
+    Preconditions.checkArgument(
+        offsets.length == compressedSizes.length && offsets.length == firstRowIndexes.length,
+        "Every page must have an offset, a compressed size and a first row index");
+    for (int i = 0; i < offsets.length; i++) {
+      Preconditions.checkArgument(compressedSizes[i] > 0, "Page sizes must be positive");
+      Preconditions.checkArgument(
+          i == 0 || offsets[i] >= offsets[i - 1] + compressedSizes[i - 1],
+          "Pages must be ordered by offset and must not overlap");
+      Preconditions.checkArgument(
+          i == 0 || firstRowIndexes[i] > firstRowIndexes[i - 1],
+          "Pages must be ordered by first row index");
+    }
+
+    this.offsets = offsets.clone();
+    this.compressedSizes = compressedSizes.clone();
+    this.firstRowIndexes = firstRowIndexes.clone();
+  }
+
+  /**
+   * Returns the number of pages.
+   *
+   * @return the number of pages
+   */
+  public int getPageCount() {
+    return offsets.length;
+  }
+
+  /**
+   * Returns the byte range of a page, including its header.
+   *
+   * @param page the index of the page
+   * @return the byte range of the page
+   */
+  public Range getPageRange(int page) {
+    return new Range(offsets[page], offsets[page] + compressedSizes[page] - 1);
+  }
+
+  /**
+   * Returns the index of the first row of a page within the row group.
+   *
+   * @param page the index of the page
+   * @return the index of the first row of the page
+   */
+  public long getFirstRowIndex(int page) {
+    return firstRowIndexes[page];
+  }
+
+  /**
+   * Returns the index of the row following the last row of a page. The number of rows of the row
+   * group is not part of the OffsetIndex, so the last page is treated as extending to every row
+   * after its first.
+   *
+   * @param page the index of the page
+   * @return the exclusive end of the rows of the page
+   */
+  public long getEndRowIndex(int page) {
+    return page + 1 < firstRowIndexes.length ? firstRowIndexes[page + 1] : Long.MAX_VALUE;
+  }
+
+  /**
+   * Returns the first page that overlaps a byte range.
+   *
+   * @param range the byte range
+   * @return the index of the first page overlapping the range, or -1 if no page does
+   */
+  public int getFirstPageOverlapping(@NonNull Range range) {
+    int page = floorPage(range.getStart());
+    if (page < 0 || range.getStart() >= offsets[page] + compressedSizes[page]) {
+      page++;
+    }
+    return page < offsets.length && offsets[page] <= range.getEnd() ? page : -1;
+  }
+
+  /**
+   * Returns the last page that overlaps a byte range.
+   *
+   * @param range the byte range
+   * @return the index of the last page overlapping the range, or -1 if no page does
+   */
+  public int getLastPageOverlapping(@NonNull Range range) {
+    int page = floorPage(range.getEnd());
+    if (page >= 0 && range.getStart() < offsets[page] + compressedSizes[page]) {
+      return page;
+    }
+    return -1;
+  }
+
+  /** Returns the index of the last page starting at or before a position. */
+  private int floorPage(long position) {
+    int low = 0;
+    int high = offsets.length - 1;
+    int result = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (offsets[mid] <= position) {
+        result = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return result;
+  }
+}
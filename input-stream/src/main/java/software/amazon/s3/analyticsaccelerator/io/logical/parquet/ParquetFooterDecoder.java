@@ -0,0 +1,798 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+
+/**
+ * Decodes a Thrift compact protocol encoded Parquet FileMetaData straight into {@link
+ * ColumnMappers}, without materialising the full FileMetaData object tree.
+ *
+ * <p>Only the fields {@link ColumnMappers} is built from are decoded: the column chunks of each row
+ * group, and for each chunk its file offset, path in schema, data and dictionary page offsets,
+ * total compressed size and the location of its ColumnIndex and OffsetIndex. Everything else,
+ * including the schema, statistics, encodings and key/value metadata, is skipped over in place.
+ * Column paths are interned on their encoded bytes, so a column name is only decoded once no matter
+ * how many row groups the file has.
+ *
+ * <p>The resulting {@link ColumnMappers} are identical to the ones built from a fully deserialised
+ * FileMetaData: a chunk starts at its dictionary page offset if it has one and at its file offset
+ * otherwise, and the schema hash is the hash of the concatenated column names of the first row
+ * group.
+ *
+ * <p>The same pass can build a {@link RowGroupFilter} instead. Then the schema is decoded as well,
+ * to find out how the values of each column are ordered, along with the physical type, value count
+ * and statistics of the chunks of the columns the predicates are applied to.
+ */
+public class ParquetFooterDecoder {
+  // Thrift compact protocol types
+  private static final byte TYPE_STOP = 0;
+  private static final byte TYPE_BOOLEAN_TRUE = 1;
+  private static final byte TYPE_BOOLEAN_FALSE = 2;
+  private static final byte TYPE_BYTE = 3;
+  private static final byte TYPE_I16 = 4;
+  private static final byte TYPE_I32 = 5;
+  private static final byte TYPE_I64 = 6;
+  private static final byte TYPE_DOUBLE = 7;
+  private static final byte TYPE_BINARY = 8;
+  private static final byte TYPE_LIST = 9;
+  private static final byte TYPE_SET = 10;
+  private static final byte TYPE_MAP = 11;
+  private static final byte TYPE_STRUCT = 12;
+
+  // Field ids from parquet.thrift
+  private static final short FILE_META_DATA_SCHEMA = 2;
+  private static final short FILE_META_DATA_ROW_GROUPS = 4;
+  private static final short SCHEMA_ELEMENT_NAME = 4;
+  private static final short SCHEMA_ELEMENT_NUM_CHILDREN = 5;
+  private static final short SCHEMA_ELEMENT_CONVERTED_TYPE = 6;
+  private static final short SCHEMA_ELEMENT_LOGICAL_TYPE = 10;
+  private static final short LOGICAL_TYPE_INTEGER = 10;
+  private static final short INT_TYPE_IS_SIGNED = 2;
+  private static final short ROW_GROUP_COLUMNS = 1;
+  private static final short COLUMN_CHUNK_FILE_OFFSET = 2;
+  private static final short COLUMN_CHUNK_META_DATA = 3;
+  private static final short COLUMN_CHUNK_OFFSET_INDEX_OFFSET = 4;
+  private static final short COLUMN_CHUNK_OFFSET_INDEX_LENGTH = 5;
+  private static final short COLUMN_CHUNK_COLUMN_INDEX_OFFSET = 6;
+  private static final short COLUMN_CHUNK_COLUMN_INDEX_LENGTH = 7;
+  private static final short COLUMN_META_DATA_TYPE = 1;
+  private static final short COLUMN_META_DATA_PATH_IN_SCHEMA = 3;
+  private static final short COLUMN_META_DATA_NUM_VALUES = 5;
+  private static final short COLUMN_META_DATA_TOTAL_COMPRESSED_SIZE = 7;
+  private static final short COLUMN_META_DATA_DATA_PAGE_OFFSET = 9;
+  private static final short COLUMN_META_DATA_DICTIONARY_PAGE_OFFSET = 11;
+  private static final short COLUMN_META_DATA_STATISTICS = 12;
+  private static final short STATISTICS_MAX = 1;
+  private static final short STATISTICS_MIN = 2;
+  private static final short STATISTICS_NULL_COUNT = 3;
+  private static final short STATISTICS_MAX_VALUE = 5;
+  private static final short STATISTICS_MIN_VALUE = 6;
+
+  // Physical types from parquet.thrift
+  private static final int PHYSICAL_TYPE_INT32 = 1;
+  private static final int PHYSICAL_TYPE_INT64 = 2;
+  private static final int PHYSICAL_TYPE_FLOAT = 4;
+  private static final int PHYSICAL_TYPE_DOUBLE = 5;
+  private static final int PHYSICAL_TYPE_BYTE_ARRAY = 6;
+
+  // Converted and logical types whose values are ordered like their physical type, that is signed
+  // for numbers and unsigned for byte arrays. Decimals and unsigned integers are left out.
+  private static final long NATURALLY_ORDERED_CONVERTED_TYPES =
+      bits(0, 4, 6, 7, 8, 9, 10, 15, 16, 17, 18, 19);
+  private static final long NATURALLY_ORDERED_LOGICAL_TYPES = bits(1, 4, 6, 7, 8, 12);
+
+  private static final int MAX_NESTING_DEPTH = 64;
+
+  private final byte[] buffer;
+  private final int limit;
+  private int position;
+
+  // Header of the field that was read last
+  private byte fieldType;
+  private short fieldId;
+
+  // Fields of the column chunk currently being decoded
+  private String columnName;
+  private long dataPageOffset;
+  private long dictionaryPageOffset;
+  private long totalCompressedSize;
+  private int physicalType;
+  private long valueCount;
+  private byte[] min;
+  private byte[] max;
+  private byte[] minValue;
+  private byte[] maxValue;
+  private long nullCount;
+
+  // Set when building a row group filter: the predicate columns, whether the values of each leaf
+  // column of the schema are naturally ordered, and the fields of the schema element being decoded
+  private final Set<String> statisticsColumns;
+  private final RowGroupFilter.Builder rowGroupFilterBuilder;
+  private final Map<String, Boolean> naturallyOrderedColumns = new HashMap<>();
+  private String schemaElementName;
+  private int schemaElementNumChildren;
+  private boolean schemaElementNaturallyOrdered;
+
+  private final Map<EncodedPath, String> columnNames = new HashMap<>();
+  private final List<String> firstRowGroupColumnNames = new ArrayList<>();
+  private int rowGroupCount;
+
+  private final ColumnMappers.Builder columnMappersBuilder = ColumnMappers.builder();
+
+  private ParquetFooterDecoder(
+      byte[] buffer, int offset, int length, List<ColumnPredicate> predicates) {
+    this.buffer = buffer;
+    this.position = offset;
+    this.limit = offset + length;
+    if (predicates == null) {
+      this.statisticsColumns = null;
+      this.rowGroupFilterBuilder = null;
+    } else {
+      this.statisticsColumns = new HashSet<>();
+      for (ColumnPredicate predicate : predicates) {
+        this.statisticsColumns.add(predicate.getColumnPath());
+      }
+      this.rowGroupFilterBuilder = RowGroupFilter.builder(predicates);
+    }
+  }
+
+  /**
+   * Decodes column mappers from a serialised FileMetaData.
+   *
+   * @param buffer the buffer holding the serialised FileMetaData
+   * @param offset the offset of the FileMetaData in the buffer
+   * @param length the length of the FileMetaData
+   * @return the column mappers of the file
+   * @throws IOException if the FileMetaData is malformed or has no row groups
+   */
+  public static ColumnMappers decodeColumnMappers(@NonNull byte[] buffer, int offset, int length)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+
+    ParquetFooterDecoder decoder = new ParquetFooterDecoder(buffer, offset, length, null);
+    decoder.decodeFileMetaData();
+    return decoder.columnMappersBuilder.build();
+  }
+
+  /**
+   * Decodes the statistics of the columns predicates are applied to from a serialised
+   * FileMetaData, and builds a filter of the row groups that can hold matching rows.
+   *
+   * @param buffer the buffer holding the serialised FileMetaData
+   * @param offset the offset of the FileMetaData in the buffer
+   * @param length the length of the FileMetaData
+   * @param predicates the predicates to filter row groups with
+   * @return the row group filter
+   * @throws IOException if the FileMetaData is malformed or has no row groups
+   */
+  public static RowGroupFilter decodeRowGroupFilter(
+      @NonNull byte[] buffer, int offset, int length, @NonNull List<ColumnPredicate> predicates)
+      throws IOException {
+    checkBounds(buffer, offset, length);
+    if (predicates.isEmpty()) {
+      return RowGroupFilter.NONE;
+    }
+
+    ParquetFooterDecoder decoder = new ParquetFooterDecoder(buffer, offset, length, predicates);
+    decoder.decodeFileMetaData();
+    return decoder.rowGroupFilterBuilder.build();
+  }
+
+  private static void checkBounds(byte[] buffer, int offset, int length) {
+    Preconditions.checkArgument(offset >= 0, "`offset` must not be negative");
+    Preconditions.checkArgument(length >= 0, "`length` must not be negative");
+    Preconditions.checkArgument(
+        offset <= buffer.length - length, "`offset` and `length` must be within the buffer");
+  }
+
+  private void decodeFileMetaData() throws IOException {
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == FILE_META_DATA_ROW_GROUPS && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        for (int i = 0; i < size; i++) {
+          decodeRowGroup(rowGroupCount++);
+        }
+      } else if (fieldId == FILE_META_DATA_SCHEMA
+          && fieldType == TYPE_LIST
+          && rowGroupFilterBuilder != null) {
+        decodeSchema();
+      } else {
+        skip(fieldType, false, 1);
+      }
+    }
+
+    if (rowGroupCount == 0) {
+      throw new IOException("Parquet footer has no row groups");
+    }
+  }
+
+  private void decodeRowGroup(int rowGroupIndex) throws IOException {
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == ROW_GROUP_COLUMNS && fieldType == TYPE_LIST) {
+        int size = readListHeader(TYPE_STRUCT);
+        for (int i = 0; i < size; i++) {
+          decodeColumnChunk(rowGroupIndex);
+        }
+      } else {
+        skip(fieldType, false, 2);
+      }
+    }
+
+    if (rowGroupIndex == 0) {
+      // The schema hash is only known once all columns of the first row group have been seen
+      StringBuilder concatenatedColumnNames = new StringBuilder();
+      for (String firstRowGroupColumnName : firstRowGroupColumnNames) {
+        concatenatedColumnNames.append(firstRowGroupColumnName);
+      }
+      columnMappersBuilder.schemaHash(concatenatedColumnNames.toString().hashCode());
+      firstRowGroupColumnNames.clear();
+    }
+  }
+
+  private void decodeColumnChunk(int rowGroupIndex) throws IOException {
+    long fileOffset = 0;
+    boolean hasMetaData = false;
+    long offsetIndexOffset = 0;
+    int offsetIndexLength = 0;
+    long columnIndexOffset = 0;
+    int columnIndexLength = 0;
+
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == COLUMN_CHUNK_FILE_OFFSET && fieldType == TYPE_I64) {
+        fileOffset = readI64();
+      } else if (fieldId == COLUMN_CHUNK_META_DATA && fieldType == TYPE_STRUCT) {
+        decodeColumnMetaData();
+        hasMetaData = true;
+      } else if (fieldId == COLUMN_CHUNK_OFFSET_INDEX_OFFSET && fieldType == TYPE_I64) {
+        offsetIndexOffset = readI64();
+      } else if (fieldId == COLUMN_CHUNK_OFFSET_INDEX_LENGTH && fieldType == TYPE_I32) {
+        offsetIndexLength = readI32();
+      } else if (fieldId == COLUMN_CHUNK_COLUMN_INDEX_OFFSET && fieldType == TYPE_I64) {
+        columnIndexOffset = readI64();
+      } else if (fieldId == COLUMN_CHUNK_COLUMN_INDEX_LENGTH && fieldType == TYPE_I32) {
+        columnIndexLength = readI32();
+      } else {
+        skip(fieldType, false, 3);
+      }
+    }
+
+    if (!hasMetaData) {
+      throw new IOException("Parquet column chunk has no metadata");
+    }
+
+    PageIndexLocation pageIndexLocation =
+        toPageIndexLocation(
+            columnIndexOffset, columnIndexLength, offsetIndexOffset, offsetIndexLength);
+    if (dictionaryPageOffset != 0) {
+      columnMappersBuilder.addColumnChunk(
+          rowGroupIndex,
+          columnName,
+          dataPageOffset,
+          dictionaryPageOffset,
+          dictionaryPageOffset,
+          totalCompressedSize,
+          pageIndexLocation);
+    } else {
+      columnMappersBuilder.addColumnChunk(
+          rowGroupIndex,
+          columnName,
+          dataPageOffset,
+          0,
+          fileOffset,
+          totalCompressedSize,
+          pageIndexLocation);
+    }
+
+    if (rowGroupIndex == 0) {
+      firstRowGroupColumnNames.add(columnName);
+    }
+    if (rowGroupFilterBuilder != null && statisticsColumns.contains(columnName)) {
+      rowGroupFilterBuilder.addStatistics(rowGroupIndex, columnName, toColumnStatistics());
+    }
+  }
+
+  /**
+   * Creates the statistics of the column chunk that was decoded last. The deprecated min and max
+   * fields are only used for numbers, as they were written with a signed byte order for byte
+   * arrays.
+   */
+  private ColumnStatistics toColumnStatistics() {
+    ColumnStatistics.Kind kind = ColumnStatistics.Kind.OTHER;
+    if (naturallyOrderedColumns.getOrDefault(columnName, false)) {
+      switch (physicalType) {
+        case PHYSICAL_TYPE_INT32:
+          kind = ColumnStatistics.Kind.INT32;
+          break;
+        case PHYSICAL_TYPE_INT64:
+          kind = ColumnStatistics.Kind.INT64;
+          break;
+        case PHYSICAL_TYPE_FLOAT:
+          kind = ColumnStatistics.Kind.FLOAT;
+          break;
+        case PHYSICAL_TYPE_DOUBLE:
+          kind = ColumnStatistics.Kind.DOUBLE;
+          break;
+        case PHYSICAL_TYPE_BYTE_ARRAY:
+          kind = ColumnStatistics.Kind.STRING;
+          break;
+        default:
+          break;
+      }
+    }
+
+    byte[] chunkMin = minValue;
+    byte[] chunkMax = maxValue;
+    if (kind != ColumnStatistics.Kind.STRING && (chunkMin == null || chunkMax == null)) {
+      chunkMin = min;
+      chunkMax = max;
+    }
+    return new ColumnStatistics(kind, chunkMin, chunkMax, nullCount, valueCount);
+  }
+
+  /**
+   * Creates the page index location of a column chunk. A structure with a negative offset or a
+   * non-positive length cannot be fetched and is treated as absent.
+   */
+  private static PageIndexLocation toPageIndexLocation(
+      long columnIndexOffset,
+      int columnIndexLength,
+      long offsetIndexOffset,
+      int offsetIndexLength) {
+    if (columnIndexOffset < 0 || columnIndexLength <= 0) {
+      columnIndexOffset = 0;
+      columnIndexLength = 0;
+    }
+    if (offsetIndexOffset < 0 || offsetIndexLength <= 0) {
+      offsetIndexOffset = 0;
+      offsetIndexLength = 0;
+    }
+    if (columnIndexLength == 0 && offsetIndexLength == 0) {
+      return PageIndexLocation.NONE;
+    }
+    return new PageIndexLocation(
+        columnIndexOffset, columnIndexLength, offsetIndexOffset, offsetIndexLength);
+  }
+
+  private void decodeColumnMetaData() throws IOException {
+    columnName = null;
+    dataPageOffset = 0;
+    dictionaryPageOffset = 0;
+    totalCompressedSize = 0;
+    physicalType = -1;
+    valueCount = -1;
+    min = null;
+    max = null;
+    minValue = null;
+    maxValue = null;
+    nullCount = -1;
+
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == COLUMN_META_DATA_TYPE && fieldType == TYPE_I32) {
+        physicalType = readI32();
+      } else if (fieldId == COLUMN_META_DATA_NUM_VALUES && fieldType == TYPE_I64) {
+        valueCount = readI64();
+      } else if (fieldId == COLUMN_META_DATA_STATISTICS
+          && fieldType == TYPE_STRUCT
+          && rowGroupFilterBuilder != null
+          && statisticsColumns.contains(columnName)) {
+        decodeStatistics();
+      } else if (fieldId == COLUMN_META_DATA_PATH_IN_SCHEMA && fieldType == TYPE_LIST) {
+        columnName = readColumnPath();
+      } else if (fieldId == COLUMN_META_DATA_TOTAL_COMPRESSED_SIZE && fieldType == TYPE_I64) {
+        totalCompressedSize = readI64();
+      } else if (fieldId == COLUMN_META_DATA_DATA_PAGE_OFFSET && fieldType == TYPE_I64) {
+        dataPageOffset = readI64();
+      } else if (fieldId == COLUMN_META_DATA_DICTIONARY_PAGE_OFFSET && fieldType == TYPE_I64) {
+        dictionaryPageOffset = readI64();
+      } else {
+        skip(fieldType, false, 4);
+      }
+    }
+
+    if (columnName == null) {
+      throw new IOException("Parquet column metadata has no path in schema");
+    }
+  }
+
+  private void decodeStatistics() throws IOException {
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == STATISTICS_MAX && fieldType == TYPE_BINARY) {
+        max = readBinary();
+      } else if (fieldId == STATISTICS_MIN && fieldType == TYPE_BINARY) {
+        min = readBinary();
+      } else if (fieldId == STATISTICS_NULL_COUNT && fieldType == TYPE_I64) {
+        nullCount = readI64();
+      } else if (fieldId == STATISTICS_MAX_VALUE && fieldType == TYPE_BINARY) {
+        maxValue = readBinary();
+      } else if (fieldId == STATISTICS_MIN_VALUE && fieldType == TYPE_BINARY) {
+        minValue = readBinary();
+      } else {
+        skip(fieldType, false, 5);
+      }
+    }
+  }
+
+  /**
+   * Decodes the schema, a depth-first list of its elements, to find out if the values of each leaf
+   * column are naturally ordered. Leaf columns are identified by the dot-joined names of the
+   * elements on their path, not including the root.
+   */
+  private void decodeSchema() throws IOException {
+    int size = readListHeader(TYPE_STRUCT);
+    // The paths of the groups being decoded, and the number of their children still to come
+    Deque<String> groupPaths = new ArrayDeque<>();
+    Deque<Integer> remainingChildren = new ArrayDeque<>();
+    for (int i = 0; i < size; i++) {
+      decodeSchemaElement();
+      String path;
+      if (i == 0) {
+        path = "";
+      } else {
+        if (remainingChildren.isEmpty()) {
+          throw new IOException("Parquet schema has more elements than its groups have children");
+        }
+        remainingChildren.push(remainingChildren.pop() - 1);
+        String parentPath = groupPaths.peek();
+        path = parentPath.isEmpty() ? schemaElementName : parentPath + "." + schemaElementName;
+      }
+
+      if (schemaElementNumChildren > 0) {
+        groupPaths.push(path);
+        remainingChildren.push(schemaElementNumChildren);
+      } else if (i > 0 && statisticsColumns.contains(path)) {
+        naturallyOrderedColumns.put(path, schemaElementNaturallyOrdered);
+      }
+
+      while (!remainingChildren.isEmpty() && remainingChildren.peek() == 0) {
+        groupPaths.pop();
+        remainingChildren.pop();
+      }
+    }
+  }
+
+  private void decodeSchemaElement() throws IOException {
+    schemaElementName = "";
+    schemaElementNumChildren = 0;
+    schemaElementNaturallyOrdered = true;
+
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == SCHEMA_ELEMENT_NAME && fieldType == TYPE_BINARY) {
+        schemaElementName = new String(readBinary(), StandardCharsets.UTF_8);
+      } else if (fieldId == SCHEMA_ELEMENT_NUM_CHILDREN && fieldType == TYPE_I32) {
+        schemaElementNumChildren = readI32();
+      } else if (fieldId == SCHEMA_ELEMENT_CONVERTED_TYPE && fieldType == TYPE_I32) {
+        schemaElementNaturallyOrdered &= hasBit(NATURALLY_ORDERED_CONVERTED_TYPES, readI32());
+      } else if (fieldId == SCHEMA_ELEMENT_LOGICAL_TYPE && fieldType == TYPE_STRUCT) {
+        schemaElementNaturallyOrdered &= decodeLogicalType();
+      } else {
+        skip(fieldType, false, 5);
+      }
+    }
+  }
+
+  /** Decodes a LogicalType union and returns whether values of the type are naturally ordered. */
+  private boolean decodeLogicalType() throws IOException {
+    boolean naturallyOrdered = true;
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == LOGICAL_TYPE_INTEGER && fieldType == TYPE_STRUCT) {
+        naturallyOrdered &= decodeIntTypeIsSigned();
+      } else {
+        naturallyOrdered &= hasBit(NATURALLY_ORDERED_LOGICAL_TYPES, fieldId);
+        skip(fieldType, false, 6);
+      }
+    }
+    return naturallyOrdered;
+  }
+
+  private boolean decodeIntTypeIsSigned() throws IOException {
+    boolean signed = false;
+    short lastFieldId = 0;
+    while (readFieldHeader(lastFieldId)) {
+      lastFieldId = fieldId;
+      if (fieldId == INT_TYPE_IS_SIGNED
+          && (fieldType == TYPE_BOOLEAN_TRUE || fieldType == TYPE_BOOLEAN_FALSE)) {
+        signed = fieldType == TYPE_BOOLEAN_TRUE;
+      } else {
+        skip(fieldType, false, 7);
+      }
+    }
+    return signed;
+  }
+
+  private static long bits(int... values) {
+    long bits = 0;
+    for (int value : values) {
+      bits |= 1L << value;
+    }
+    return bits;
+  }
+
+  private static boolean hasBit(long bits, int value) {
+    return value >= 0 && value < 64 && (bits & (1L << value)) != 0;
+  }
+
+  /**
+   * Reads a path_in_schema list and returns the dot-joined column name. The list is first skipped
+   * to find its encoded bytes, which are then used to look up a name decoded for an earlier row
+   * group.
+   */
+  private String readColumnPath() throws IOException {
+    int start = position;
+    skip(TYPE_LIST, false, 5);
+    EncodedPath encodedPath = new EncodedPath(buffer, start, position - start);
+    String name = columnNames.get(encodedPath);
+    if (name != null) {
+      return name;
+    }
+
+    int end = position;
+    position = start;
+    int size = readListHeader(TYPE_BINARY);
+    StringBuilder path = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        path.append('.');
+      }
+      int length = readLength();
+      path.append(new String(buffer, position, length, StandardCharsets.UTF_8));
+      position += length;
+    }
+    position = end;
+
+    name = path.toString();
+    columnNames.put(encodedPath, name);
+    return name;
+  }
+
+  private boolean readFieldHeader(short lastFieldId) throws IOException {
+    byte header = readByte();
+    fieldType = (byte) (header & 0x0f);
+    if (fieldType == TYPE_STOP) {
+      return false;
+    }
+
+    int delta = (header >>> 4) & 0x0f;
+    fieldId = delta == 0 ? (short) zigzagToInt(readVarint32()) : (short) (lastFieldId + delta);
+    return true;
+  }
+
+  private int readListHeader(byte expectedElementType) throws IOException {
+    byte header = readByte();
+    if ((header & 0x0f) != expectedElementType) {
+      throw new IOException("Unexpected list element type in Parquet footer");
+    }
+    return readListSize(header);
+  }
+
+  private int readListSize(byte header) throws IOException {
+    int size = (header >>> 4) & 0x0f;
+    if (size == 15) {
+      size = readVarint32();
+    }
+    // Every element takes at least one byte, which bounds the size of a well-formed list
+    if (size < 0 || size > limit - position) {
+      throw new IOException("Invalid collection size in Parquet footer");
+    }
+    return size;
+  }
+
+  private void skip(byte type, boolean inCollection, int depth) throws IOException {
+    if (depth > MAX_NESTING_DEPTH) {
+      throw new IOException("Parquet footer is nested too deeply");
+    }
+
+    switch (type) {
+      case TYPE_BOOLEAN_TRUE:
+      case TYPE_BOOLEAN_FALSE:
+        // Booleans are encoded in the field header, but take a byte inside collections
+        if (inCollection) {
+          advance(1);
+        }
+        break;
+      case TYPE_BYTE:
+        advance(1);
+        break;
+      case TYPE_I16:
+      case TYPE_I32:
+      case TYPE_I64:
+        readVarint64();
+        break;
+      case TYPE_DOUBLE:
+        advance(8);
+        break;
+      case TYPE_BINARY:
+        advance(readLength());
+        break;
+      case TYPE_LIST:
+      case TYPE_SET:
+        {
+          byte header = readByte();
+          byte elementType = (byte) (header & 0x0f);
+          int size = readListSize(header);
+          for (int i = 0; i < size; i++) {
+            skip(elementType, true, depth + 1);
+          }
+          break;
+        }
+      case TYPE_MAP:
+        {
+          int size = readVarint32();
+          if (size < 0 || size > limit - position) {
+            throw new IOException("Invalid collection size in Parquet footer");
+          }
+          if (size > 0) {
+            byte types = readByte();
+            byte keyType = (byte) ((types >>> 4) & 0x0f);
+            byte valueType = (byte) (types & 0x0f);
+            for (int i = 0; i < size; i++) {
+              skip(keyType, true, depth + 1);
+              skip(valueType, true, depth + 1);
+            }
+          }
+          break;
+        }
+      case TYPE_STRUCT:
+        {
+          short lastFieldId = 0;
+          while (readFieldHeader(lastFieldId)) {
+            lastFieldId = fieldId;
+            skip(fieldType, false, depth + 1);
+          }
+          break;
+        }
+      default:
+        throw new IOException("Unknown Thrift type " + type + " in Parquet footer");
+    }
+  }
+
+  private byte[] readBinary() throws IOException {
+    int length = readLength();
+    byte[] bytes = new byte[length];
+    System.arraycopy(buffer, position, bytes, 0, length);
+    position += length;
+    return bytes;
+  }
+
+  private long readI64() throws IOException {
+    long value = readVarint64();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private int readI32() throws IOException {
+    return zigzagToInt(readVarint32());
+  }
+
+  private int readLength() throws IOException {
+    int length = readVarint32();
+    if (length < 0 || length > limit - position) {
+      throw new IOException("Invalid length in Parquet footer");
+    }
+    return length;
+  }
+
+  private int readVarint32() throws IOException {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = readByte();
+      result |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed varint in Parquet footer");
+  }
+
+  private long readVarint64() throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = readByte();
+      result |= (long) (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Malformed varint in Parquet footer");
+  }
+
+  private static int zigzagToInt(int n) {
+    return (n >>> 1) ^ -(n & 1);
+  }
+
+  private byte readByte() throws IOException {
+    if (position >= limit) {
+      throw new IOException("Unexpected end of Parquet footer");
+    }
+    return buffer[position++];
+  }
+
+  private void advance(int length) throws IOException {
+    if (length > limit - position) {
+      throw new IOException("Unexpected end of Parquet footer");
+    }
+    position += length;
+  }
+
+  /** The encoded bytes of a path_in_schema list, used to intern column names across row groups. */
+  private static final class EncodedPath {
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+    private final int hash;
+
+    private EncodedPath(byte[] buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.length = length;
+      int h = 1;
+      for (int i = offset; i < offset + length; i++) {
+        h = 31 * h + buffer[i];
+      }
+      this.hash = h;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof EncodedPath)) {
+        return false;
+      }
+      EncodedPath other = (EncodedPath) o;
+      if (length != other.length || hash != other.hash) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (buffer[offset + i] != other.buffer[other.offset + i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
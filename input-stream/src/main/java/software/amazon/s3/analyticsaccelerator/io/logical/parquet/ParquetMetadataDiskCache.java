@@ -0,0 +1,324 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A persistent cache of parsed Parquet metadata, kept as one small file per object in a local
+ * directory. Each entry holds the {@link ColumnMappers} of an object in a compact binary form and
+ * is keyed by the URI, ETag and length of the object, so that a process opening an object it has
+ * seen before can skip both the footer GET and the footer parse.
+ *
+ * <p>The cache is best effort: entries are written atomically, objects without an ETag are never
+ * cached, and an entry that cannot be read or whose stored key does not match is treated as a
+ * miss.
+ *
+ * <p>Entries of objects that are rewritten are never read again, so the directory is bounded by
+ * maxBytes. Once a write takes the entries over the bound, the least recently used ones, by
+ * modification time, are deleted. Hits refresh the modification time of their entry. The bound is
+ * tracked per instance, so processes sharing a directory may briefly take it over the bound.
+ */
+public class ParquetMetadataDiskCache {
+  private static final int MAGIC = 0x50514d43;
+  private static final int VERSION = 2;
+  static final String FILE_SUFFIX = ".pqmeta";
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetMetadataDiskCache.class);
+
+  @Getter private final Path directory;
+  @Getter private final long maxBytes;
+
+  // The total size of the entries, -1 until the directory is first scanned
+  private long sizeBytes = -1;
+
+  /**
+   * Creates a new instance of {@link ParquetMetadataDiskCache}.
+   *
+   * @param directory the local directory to keep entries in; created on first write
+   * @param maxBytes the maximum total size of the entries in the directory
+   */
+  public ParquetMetadataDiskCache(@NonNull Path directory, long maxBytes) {
+    Preconditions.checkArgument(maxBytes >= 0, "`maxBytes` must not be negative");
+
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Loads the column mappers persisted for a specific version of an object.
+   *
+   * @param s3URI the S3URI of the object
+   * @param objectMetadata the metadata of the object, used to identify its version
+   * @return the persisted column mappers, or empty if there are none
+   */
+  public Optional<ColumnMappers> get(@NonNull S3URI s3URI, @NonNull ObjectMetadata objectMetadata) {
+    if (objectMetadata.getEtag() == null) {
+      return Optional.empty();
+    }
+
+    String key = cacheKey(s3URI, objectMetadata);
+    Path path = pathFor(key);
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      Optional<ColumnMappers> columnMappers = Optional.ofNullable(read(in, key));
+      if (columnMappers.isPresent()) {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+      }
+      return columnMappers;
+    } catch (IOException e) {
+      LOG.warn("Unable to read cached Parquet metadata for {}, ignoring it.", s3URI.getKey(), e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Persists the column mappers of a specific version of an object, replacing any existing entry.
+   *
+   * @param s3URI the S3URI of the object
+   * @param objectMetadata the metadata of the object, used to identify its version
+   * @param columnMappers the column mappers to persist
+   */
+  public void put(
+      @NonNull S3URI s3URI,
+      @NonNull ObjectMetadata objectMetadata,
+      @NonNull ColumnMappers columnMappers) {
+    if (objectMetadata.getEtag() == null) {
+      return;
+    }
+
+    String key = cacheKey(s3URI, objectMetadata);
+    Path temp = null;
+    try {
+      Files.createDirectories(directory);
+      temp = Files.createTempFile(directory, "pqmeta", ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        write(out, key, columnMappers);
+      }
+      Path path = pathFor(key);
+      long replacedBytes = Files.exists(path) ? Files.size(path) : 0;
+      long writtenBytes = Files.size(temp);
+      moveIntoPlace(temp, path);
+      added(writtenBytes - replacedBytes);
+    } catch (IOException e) {
+      LOG.warn("Unable to persist Parquet metadata for {}.", s3URI.getKey(), e);
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+          // Nothing more we can do, a stray temporary file is harmless
+        }
+      }
+    }
+  }
+
+  /**
+   * Accounts for a change in the total size of the entries, and deletes the least recently used
+   * entries if the total goes over maxBytes.
+   */
+  private synchronized void added(long bytes) throws IOException {
+    if (sizeBytes < 0) {
+      sizeBytes = 0;
+      for (Path entry : listEntries()) {
+        sizeBytes += Files.size(entry);
+      }
+    } else {
+      sizeBytes += bytes;
+    }
+
+    if (sizeBytes > maxBytes) {
+      evict();
+    }
+  }
+
+  private void evict() throws IOException {
+    Map<Path, FileTime> modifiedTimes = new HashMap<>();
+    sizeBytes = 0;
+    for (Path entry : listEntries()) {
+      modifiedTimes.put(entry, Files.getLastModifiedTime(entry));
+      sizeBytes += Files.size(entry);
+    }
+
+    List<Path> oldestFirst = new ArrayList<>(modifiedTimes.keySet());
+    oldestFirst.sort(Comparator.comparing(modifiedTimes::get));
+    for (Path entry : oldestFirst) {
+      if (sizeBytes <= maxBytes) {
+        break;
+      }
+      long entryBytes = Files.size(entry);
+      if (Files.deleteIfExists(entry)) {
+        sizeBytes -= entryBytes;
+      }
+    }
+  }
+
+  private List<Path> listEntries() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Writes column mappers in the cache format. Each column name is written once, followed by the
+   * metadata of all its chunks.
+   *
+   * @param out the stream to write to
+   * @param key the cache key to embed for validation on read
+   * @param columnMappers the column mappers to write
+   * @throws IOException if the stream cannot be written to
+   */
+  static void write(DataOutputStream out, String key, ColumnMappers columnMappers)
+      throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeUTF(key);
+
+    List<String> columnNames = columnMappers.getColumnNames();
+    out.writeInt(columnNames.size());
+    for (String columnName : columnNames) {
+      List<ColumnMetadata> columnChunks = columnMappers.getColumnChunks(columnName);
+      out.writeUTF(columnName);
+      out.writeInt(columnChunks.size());
+      for (ColumnMetadata columnMetadata : columnChunks) {
+        out.writeInt(columnMetadata.getRowGroupIndex());
+        out.writeLong(columnMetadata.getDataPageOffset());
+        out.writeLong(columnMetadata.getDictionaryOffset());
+        out.writeLong(columnMetadata.getStartPos());
+        out.writeLong(columnMetadata.getCompressedSize());
+        out.writeInt(columnMetadata.getSchemaHash());
+        PageIndexLocation pageIndexLocation = columnMetadata.getPageIndexLocation();
+        out.writeLong(pageIndexLocation.getColumnIndexOffset());
+        out.writeInt(pageIndexLocation.getColumnIndexLength());
+        out.writeLong(pageIndexLocation.getOffsetIndexOffset());
+        out.writeInt(pageIndexLocation.getOffsetIndexLength());
+      }
+    }
+  }
+
+  /**
+   * Reads column mappers in the cache format.
+   *
+   * @param in the stream to read from
+   * @param key the expected cache key
+   * @return the column mappers, or null if the entry is for a different key or format version
+   * @throws IOException if the stream cannot be read or is malformed
+   */
+  static ColumnMappers read(DataInputStream in, String key) throws IOException {
+    if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(in.readUTF())) {
+      return null;
+    }
+
+    ColumnMappers.Builder builder = ColumnMappers.builder();
+    int columnCount = readCount(in);
+    for (int i = 0; i < columnCount; i++) {
+      String columnName = in.readUTF();
+      int chunkCount = readCount(in);
+      for (int j = 0; j < chunkCount; j++) {
+        builder.addColumnChunk(
+            new ColumnMetadata(
+                in.readInt(),
+                columnName,
+                in.readLong(),
+                in.readLong(),
+                in.readLong(),
+                in.readLong(),
+                in.readInt(),
+                new PageIndexLocation(
+                    in.readLong(), in.readInt(), in.readLong(), in.readInt())));
+      }
+    }
+
+    return builder.build();
+  }
+
+  private static int readCount(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0) {
+      throw new IOException("Malformed Parquet metadata cache entry");
+    }
+    return count;
+  }
+
+  private static String cacheKey(S3URI s3URI, ObjectMetadata objectMetadata) {
+    return s3URI.toString()
+        + "|"
+        + objectMetadata.getEtag()
+        + "|"
+        + objectMetadata.getContentLength();
+  }
+
+  private Path pathFor(String key) {
+    return directory.resolve(sha256Hex(key) + FILE_SUFFIX);
+  }
+
+  private static void moveIntoPlace(Path source, Path target) throws IOException {
+    try {
+      Files.move(
+          source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static String sha256Hex(String value) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      StringBuilder hex = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
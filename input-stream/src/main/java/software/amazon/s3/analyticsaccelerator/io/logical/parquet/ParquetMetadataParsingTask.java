@@ -15,23 +15,19 @@
  */
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.concurrent.CompletionException;
 import lombok.NonNull;
-import org.apache.parquet.format.ColumnChunk;
-import org.apache.parquet.format.FileMetaData;
-import org.apache.parquet.format.RowGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /**
- * Task for parsing the footer bytes to get the parquet FileMetaData and build maps which can be
- * used to track current columns being read. Best effort only, exceptions in parsing should be
- * suppressed by the calling class
+ * Task for parsing the footer bytes to build maps which can be used to track current columns being
+ * read. Only the parts of the parquet FileMetaData the maps are built from are decoded, see {@link
+ * ParquetFooterDecoder}. Best effort only, exceptions in parsing should be suppressed by the
+ * calling class
  */
 public class ParquetMetadataParsingTask {
   private final S3URI s3URI;
@@ -72,15 +68,15 @@ public class ParquetMetadataParsingTask {
    * Stores parquet metadata column mappings for future use
    *
    * @param fileTail tail of parquet file to be parsed
+   * @param etag the ETag of the version of the file the tail was read from, or null if unknown
    * @return Column mappings
    */
-  public ColumnMappers storeColumnMappers(FileTail fileTail) {
+  public ColumnMappers storeColumnMappers(FileTail fileTail, String etag) {
     try {
-      FileMetaData fileMetaData =
-          parquetParser.parseParquetFooter(
+      ColumnMappers columnMappers =
+          parquetParser.parseColumnMappers(
               fileTail.getFileTail(), fileTail.getFileTailLength(), this.s3URI);
-      ColumnMappers columnMappers = buildColumnMaps(fileMetaData);
-      parquetColumnPrefetchStore.putColumnMappers(this.s3URI, columnMappers);
+      parquetColumnPrefetchStore.putColumnMappers(ObjectKey.of(this.s3URI, etag), columnMappers);
       return columnMappers;
     } catch (Exception e) {
       LOG.warn(
@@ -90,68 +86,4 @@ public class ParquetMetadataParsingTask {
       throw new CompletionException("Error parsing parquet footer", e);
     }
   }
-
-  private ColumnMappers buildColumnMaps(FileMetaData fileMetaData) {
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-    String concatenatedColumnNames = concatColumnNames(fileMetaData);
-
-    int rowGroupIndex = 0;
-    for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
-
-      for (ColumnChunk columnChunk : rowGroup.getColumns()) {
-
-        // Get the full path to support nested schema
-        String columnName = String.join(".", columnChunk.getMeta_data().getPath_in_schema());
-
-        if (columnChunk.getMeta_data().getDictionary_page_offset() != 0) {
-          ColumnMetadata columnMetadata =
-              new ColumnMetadata(
-                  rowGroupIndex,
-                  columnName,
-                  columnChunk.getMeta_data().getData_page_offset(),
-                  columnChunk.getMeta_data().getDictionary_page_offset(),
-                  columnChunk.getMeta_data().getDictionary_page_offset(),
-                  columnChunk.getMeta_data().getTotal_compressed_size(),
-                  concatenatedColumnNames.hashCode());
-          offsetIndexToColumnMap.put(
-              columnChunk.getMeta_data().getDictionary_page_offset(), columnMetadata);
-          List<ColumnMetadata> columnMetadataList =
-              columnNameToColumnMap.computeIfAbsent(columnName, metadataList -> new ArrayList<>());
-          columnMetadataList.add(columnMetadata);
-        } else {
-          ColumnMetadata columnMetadata =
-              new ColumnMetadata(
-                  rowGroupIndex,
-                  columnName,
-                  columnChunk.getMeta_data().getData_page_offset(),
-                  0,
-                  columnChunk.getFile_offset(),
-                  columnChunk.getMeta_data().getTotal_compressed_size(),
-                  concatenatedColumnNames.hashCode());
-          offsetIndexToColumnMap.put(columnChunk.getFile_offset(), columnMetadata);
-          List<ColumnMetadata> columnMetadataList =
-              columnNameToColumnMap.computeIfAbsent(columnName, metadataList -> new ArrayList<>());
-          columnMetadataList.add(columnMetadata);
-        }
-      }
-
-      rowGroupIndex++;
-    }
-
-    return new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
-  }
-
-  private String concatColumnNames(FileMetaData fileMetaData) {
-    StringBuilder concatenatedColumnNames = new StringBuilder();
-    RowGroup rowGroup = fileMetaData.getRow_groups().get(0);
-    // Concat all column names in a string from which schema hash can be constructed
-    for (ColumnChunk columnChunk : rowGroup.getColumns()) {
-      // Get the full path to support nested schema
-      String columnName = String.join(".", columnChunk.getMeta_data().getPath_in_schema());
-      concatenatedColumnNames.append(columnName);
-    }
-
-    return concatenatedColumnNames.toString();
-  }
 }
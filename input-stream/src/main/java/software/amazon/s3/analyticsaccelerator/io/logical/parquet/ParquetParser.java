@@ -22,7 +22,10 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.List;
 import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import shaded.parquet.org.apache.thrift.TException;
@@ -31,6 +34,7 @@ import shaded.parquet.org.apache.thrift.protocol.TProtocol;
 import shaded.parquet.org.apache.thrift.transport.TIOStreamTransport;
 import shaded.parquet.org.apache.thrift.transport.TTransportException;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /** Allows for parsing a tail of a parquet file to get its FileMetadata. */
@@ -49,6 +53,84 @@ class ParquetParser {
    */
   public FileMetaData parseParquetFooter(ByteBuffer fileTail, int contentLen, S3URI s3URI)
       throws IOException {
+    byte[] footer = readFooter(fileTail, contentLen, s3URI);
+
+    try {
+      FileMetaData fmd = new FileMetaData();
+      fmd.read(protocol(new ByteArrayInputStream(footer)));
+      return fmd;
+    } catch (TException e) {
+      throw new IOException("can not read FileMetaData: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Parses the tail of a parquet file to obtain its {@link ColumnMappers}. Unlike {@link
+   * #parseParquetFooter(ByteBuffer, int, S3URI)}, this only decodes the parts of the FileMetaData
+   * that the column mappers are built from, see {@link ParquetFooterDecoder}.
+   *
+   * @param fileTail tail bytes of parquet file to be parsed
+   * @param contentLen The length of the parquet file tail to be parsed
+   * @param s3URI S3 URI
+   * @return ColumnMappers
+   * @throws IOException
+   */
+  public ColumnMappers parseColumnMappers(ByteBuffer fileTail, int contentLen, S3URI s3URI)
+      throws IOException {
+    byte[] footer = readFooter(fileTail, contentLen, s3URI);
+    return ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length);
+  }
+
+  /**
+   * Parses the tail of a parquet file to obtain a filter of the row groups that can hold rows
+   * matching a set of predicates, based on the statistics of the predicate columns.
+   *
+   * @param fileTail tail bytes of parquet file to be parsed
+   * @param contentLen The length of the parquet file tail to be parsed
+   * @param s3URI S3 URI
+   * @param predicates the predicates to filter row groups with
+   * @return RowGroupFilter
+   * @throws IOException
+   */
+  public RowGroupFilter parseRowGroupFilter(
+      ByteBuffer fileTail, int contentLen, S3URI s3URI, List<ColumnPredicate> predicates)
+      throws IOException {
+    byte[] footer = readFooter(fileTail, contentLen, s3URI);
+    return ParquetFooterDecoder.decodeRowGroupFilter(footer, 0, footer.length, predicates);
+  }
+
+  /**
+   * Parses the OffsetIndex of a column chunk to obtain the locations of its pages.
+   *
+   * @param offsetIndex buffer holding the serialized OffsetIndex
+   * @param offset the position of the OffsetIndex in the buffer
+   * @param length the length of the OffsetIndex
+   * @return PageLocations
+   * @throws IOException
+   */
+  public PageLocations parsePageLocations(byte[] offsetIndex, int offset, int length)
+      throws IOException {
+    try {
+      OffsetIndex index = new OffsetIndex();
+      index.read(protocol(new ByteArrayInputStream(offsetIndex, offset, length)));
+
+      List<PageLocation> pages = index.getPage_locations();
+      long[] offsets = new long[pages.size()];
+      int[] compressedSizes = new int[pages.size()];
+      long[] firstRowIndexes = new long[pages.size()];
+      for (int i = 0; i < pages.size(); i++) {
+        offsets[i] = pages.get(i).getOffset();
+        compressedSizes[i] = pages.get(i).getCompressed_page_size();
+        firstRowIndexes[i] = pages.get(i).getFirst_row_index();
+      }
+      return new PageLocations(offsets, compressedSizes, firstRowIndexes);
+    } catch (TException e) {
+      throw new IOException("can not read OffsetIndex: " + e.getMessage(), e);
+    }
+  }
+
+  private static byte[] readFooter(ByteBuffer fileTail, int contentLen, S3URI s3URI)
+      throws IOException {
 
     Preconditions.checkArgument(
         contentLen > PARQUET_MAGIC_STR_LENGTH + PARQUET_FOOTER_LENGTH_SIZE,
@@ -83,14 +165,7 @@ class ParquetParser {
     fileTail.position(fileMetadataIndex);
     byte[] footer = new byte[fileMetadataLength];
     fileTail.get(footer, 0, fileMetadataLength);
-
-    try {
-      FileMetaData fmd = new FileMetaData();
-      fmd.read(protocol(new ByteArrayInputStream(footer)));
-      return fmd;
-    } catch (TException e) {
-      throw new IOException("can not read FileMetaData: " + e.getMessage(), e);
-    }
+    return footer;
   }
 
   private static TProtocol protocol(InputStream from) throws TTransportException {
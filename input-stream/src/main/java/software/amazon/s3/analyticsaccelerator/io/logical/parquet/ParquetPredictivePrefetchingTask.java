@@ -19,21 +19,30 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.DEFAULT_MIN
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -55,24 +64,35 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
  * schema [{path_in_schema: ss_a, file_offset: 600, total_uncompressed_size: 300}, {path_in_schema:
  * ss_b, file_offset: 900, total_uncompressed_size: 300}]. Since the hash of (ss_a, ss_b) is equal,
  * both these parquet files are from the same schema/data table. When A.parquet is opened, it's
- * metadata is parsed and {@link ColumnMappers} are built so we have maps of 1/ <the file offset of
- * where each column starts, ColumnMetadata of this column> and 2/ <columnName, ColumnMetadata of
- * this column>. For A.parquet, this will be [<500, ColumnMetadata of A>, <1000, ColumnMetadata of
- * B>] and [<ss_a, ColumnMetadata of A>, <ss_b, ColumnMetadata of B>].
+ * metadata is parsed and {@link ColumnMappers} are built so we can look up 1/ the column that
+ * starts at a file offset and 2/ the column chunks of a column name. For A.parquet, offset 500 maps
+ * to ss_a and offset 1000 to ss_b, and ss_a and ss_b each have one chunk.
  *
  * <p>When a read on a stream at a particular position for A.parquet happens, for example,
- * read(500), {@code addToRecentColumnList()} will check the offsetToColumnMetadata map, and if
- * there is a column at starts at this offset, it is added to the recent read columns list for this
- * schema. In this case, for a read pattern like read(500), position 500 corresponds to column ss_a
- * for schema store_sales, so ss_a is added to the recently read list, <store_sales, List<ss_a>>.
- * Then for read(1000), position 1000 corresponds to column ss_b, so ss_b is added to the recently
- * read list, <store_sales, List<ss_a, ss_b>>.
+ * read(500), {@code addToRecentColumnList()} will look up the column starting at the position, and
+ * if there is a column that starts at this offset, it is added to the recent read columns list for
+ * this schema. In this case, for a read pattern like read(500), position 500 corresponds to column
+ * ss_a for schema store_sales, so ss_a is added to the recently read list, <store_sales,
+ * List<ss_a>>. Then for read(1000), position 1000 corresponds to column ss_b, so ss_b is added to
+ * the recently read list, <store_sales, List<ss_a, ss_b>>.
  *
  * <p>When B.parquet is opened, {@code prefetchRecentColumns()} will check this recently read list,
  * which will return <ss_a, ss_b>. We then prefetch ss_a and ss_b for B.parquet, using the file
  * offsets and total_uncompressed_size fields in the metadata to get the correct bytes. In this
  * example, for B.parquet two GET requests will be made with ranges [600-899, 900-1199] which
  * correspond to the ranges of ss_a and ss_b in B.parquet.
+ *
+ * <p>If the caller hinted at the columns it is going to read when opening the stream, see {@link
+ * OpenStreamOptions}, the hinted columns are prefetched instead of the recent columns, and they are
+ * prefetched for the first row group as soon as the metadata is parsed.
+ *
+ * <p>If the caller also passed predicates, row groups whose min/max statistics prove that none of
+ * their rows match are not prefetched, see {@link RowGroupFilter}. The statistics are decoded from
+ * the footer the first time columns are prefetched.
+ *
+ * <p>To tune the prediction, the columns predicted for the file are compared with the columns the
+ * stream actually read, and the precision and recall of the prediction are reported as metrics
+ * when the stream is closed, see {@link #reportPredictionMetrics()}.
  */
 public class ParquetPredictivePrefetchingTask {
   private final S3URI s3Uri;
@@ -80,7 +100,21 @@ public class ParquetPredictivePrefetchingTask {
   private final PhysicalIO physicalIO;
   private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
   private final LogicalIOConfiguration logicalIOConfiguration;
+  private final OpenStreamOptions openStreamOptions;
+  private final ParquetReadTailTask parquetReadTailTask;
+  private final ParquetParser parquetParser;
+  private RowGroupFilter rowGroupFilter;
+  // Row groups prefetched ahead of the reader, and the ranges prefetched for each of them
+  private final Map<Integer, List<Range>> lookaheadRanges = new HashMap<>();
+  // Columns predicted from the reads of previous streams, and the columns read by this stream
+  private final Set<String> predictedColumns = ConcurrentHashMap.newKeySet();
+  private final Set<String> readColumns = ConcurrentHashMap.newKeySet();
   private static final String OPERATION_PARQUET_PREFETCH_COLUMNS = "parquet.task.prefetch.columns";
+  private static final String OPERATION_PARQUET_PREFETCH_LOOKAHEAD =
+      "parquet.task.prefetch.lookahead";
+  private static final String METRIC_COLUMN_PREDICTION_PRECISION =
+      "parquet.column.prediction.precision";
+  private static final String METRIC_COLUMN_PREDICTION_RECALL = "parquet.column.prediction.recall";
   private static final Logger LOG = LoggerFactory.getLogger(ParquetPredictivePrefetchingTask.class);
 
   /**
@@ -98,11 +132,41 @@ public class ParquetPredictivePrefetchingTask {
       @NonNull LogicalIOConfiguration logicalIOConfiguration,
       @NonNull PhysicalIO physicalIO,
       @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPredictivePrefetchingTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamOptions the options the stream was opened with
+   */
+  public ParquetPredictivePrefetchingTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamOptions openStreamOptions) {
     this.s3Uri = s3Uri;
     this.telemetry = telemetry;
     this.physicalIO = physicalIO;
     this.logicalIOConfiguration = logicalIOConfiguration;
     this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.openStreamOptions = openStreamOptions;
+    this.parquetReadTailTask =
+        new ParquetReadTailTask(s3Uri, telemetry, logicalIOConfiguration, physicalIO);
+    this.parquetParser = new ParquetParser();
   }
 
   /**
@@ -114,12 +178,15 @@ public class ParquetPredictivePrefetchingTask {
    * @return name of column added as recent column
    */
   public List<ColumnMetadata> addToRecentColumnList(long position, int len) {
-    if (parquetColumnPrefetchStore.getColumnMappers(s3Uri) != null) {
-      ColumnMappers columnMappers = parquetColumnPrefetchStore.getColumnMappers(s3Uri);
+    ColumnMappers columnMappers =
+        parquetColumnPrefetchStore.getColumnMappers(
+            ObjectKey.of(s3Uri, physicalIO.metadata().getEtag()));
+    if (columnMappers != null) {
       List<ColumnMetadata> addedColumns = new ArrayList<>();
 
-      if (columnMappers.getOffsetIndexToColumnMap().containsKey(position)) {
-        ColumnMetadata columnMetadata = columnMappers.getOffsetIndexToColumnMap().get(position);
+      Optional<ColumnMetadata> columnAtPosition = columnMappers.getColumnStartingAt(position);
+      if (columnAtPosition.isPresent()) {
+        ColumnMetadata columnMetadata = columnAtPosition.get();
 
         // If the column has a dictionary and the length of the read is <= the size of the
         // dictionary, then assume current read is for a dictionary only.
@@ -128,7 +195,7 @@ public class ParquetPredictivePrefetchingTask {
           prefetchDictionariesForCurrentRowGroup(columnMappers, columnMetadata);
           addedColumns.add(columnMetadata);
         } else {
-          parquetColumnPrefetchStore.addRecentColumn(columnMetadata);
+          addRecentColumn(columnMetadata);
           // Maybe prefetch all recent columns for the current row group, if they have not been
           // prefetched already.
           prefetchColumnsForCurrentRowGroup(columnMappers, columnMetadata);
@@ -159,7 +226,11 @@ public class ParquetPredictivePrefetchingTask {
    * detected, and NOT on an open of the file. For prefetching, only prefetch recent columns that
    * belong to the row group of the column currently being read, if they have not been prefetched
    * already. Columns from this row group may have been prefetched already due to a read to another
-   * column for this row group.
+   * column for this row group. When the pages of the row group are prefetched individually by
+   * {@link ParquetPrefetchPagesTask}, whole chunks are not prefetched here.
+   *
+   * <p>The recent columns of the next few row groups are then prefetched as well, see {@link
+   * #prefetchLookaheadRowGroups}.
    *
    * @param columnMappers Parquet file column mappings
    * @param columnMetadata Column metadata of the current column being read
@@ -167,14 +238,142 @@ public class ParquetPredictivePrefetchingTask {
   private void prefetchColumnsForCurrentRowGroup(
       ColumnMappers columnMappers, ColumnMetadata columnMetadata) {
     // When prefetch mode is per row group, only prefetch columns from the current row group.
-    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP
-        && !parquetColumnPrefetchStore.isColumnRowGroupPrefetched(
-            s3Uri, columnMetadata.getRowGroupIndex())) {
+    if (logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.ROW_GROUP
+        || ParquetUtils.shouldPrefetchPages(logicalIOConfiguration, columnMetadata)) {
+      return;
+    }
+
+    if (!parquetColumnPrefetchStore.isColumnRowGroupPrefetched(
+        s3Uri, columnMetadata.getRowGroupIndex())) {
       prefetchRecentColumns(
           columnMappers, ParquetUtils.constructRowGroupsToPrefetch(columnMetadata), false);
       parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(
           s3Uri, columnMetadata.getRowGroupIndex());
     }
+    prefetchLookaheadRowGroups(columnMappers, columnMetadata.getRowGroupIndex());
+  }
+
+  /**
+   * Prefetches the recent columns of the row groups following the one being read, so that the
+   * reader does not wait for the first GET of the next row group when it reaches it. Up to {@code
+   * prefetchLookaheadRowGroups} row groups are prefetched ahead of the reader, as long as the bytes
+   * prefetched ahead stay within {@code prefetchLookaheadMaxBytes}. Row groups that can not hold
+   * matching rows are skipped.
+   *
+   * <p>If the reader jumps elsewhere, the lookahead of row groups that are no longer ahead of it is
+   * cancelled, and they are prefetched again if the reader ever gets to them.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @param rowGroupIndex the index of the row group being read
+   */
+  private synchronized void prefetchLookaheadRowGroups(
+      ColumnMappers columnMappers, int rowGroupIndex) {
+    telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_PARQUET_PREFETCH_LOOKAHEAD)
+                .attribute(StreamAttributes.uri(this.s3Uri))
+                .build(),
+        () -> {
+          try {
+            int lookaheadRowGroups = logicalIOConfiguration.getPrefetchLookaheadRowGroups();
+            cancelLookahead(rowGroupIndex, lookaheadRowGroups);
+
+            long budget = logicalIOConfiguration.getPrefetchLookaheadMaxBytes();
+            for (List<Range> ranges : lookaheadRanges.values()) {
+              budget -= getTotalLength(ranges);
+            }
+
+            RowGroupFilter filter = getRowGroupFilter();
+            Set<String> recentColumns = getRecentColumns(columnMappers, false);
+            List<Range> rangesToPrefetch = new ArrayList<>();
+            for (int next = rowGroupIndex + 1; next - rowGroupIndex <= lookaheadRowGroups; next++) {
+              List<Range> rowGroupRanges = getColumnRanges(columnMappers, recentColumns, next);
+              if (rowGroupRanges.isEmpty()) {
+                // Past the last row group of the file
+                break;
+              }
+              if (lookaheadRanges.containsKey(next)
+                  || !filter.mightMatch(next)
+                  || parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3Uri, next)) {
+                continue;
+              }
+
+              long length = getTotalLength(rowGroupRanges);
+              if (length > budget) {
+                LOG.debug(
+                    "Row group {} of {} does not fit in the lookahead budget, not prefetching it",
+                    next,
+                    this.s3Uri.getKey());
+                break;
+              }
+              budget -= length;
+              rangesToPrefetch.addAll(rowGroupRanges);
+              lookaheadRanges.put(next, rowGroupRanges);
+              parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(s3Uri, next);
+            }
+
+            if (!rangesToPrefetch.isEmpty()) {
+              physicalIO.execute(new IOPlan(ParquetUtils.mergeRanges(rangesToPrefetch)));
+            }
+          } catch (Throwable t) {
+            LOG.warn("Unable to prefetch row groups ahead for {}.", this.s3Uri.getKey(), t);
+          }
+        });
+  }
+
+  /**
+   * Cancels the lookahead of row groups that are no longer ahead of the reader. The lookahead of
+   * the row group being read is kept, as the reader has reached it. Blocks that another stream of
+   * the same file has requested or read are left in flight for it, see {@link
+   * PhysicalIO#cancel(IOPlan)}.
+   */
+  private void cancelLookahead(int rowGroupIndex, int lookaheadRowGroups) {
+    List<Range> rangesToCancel = new ArrayList<>();
+    Iterator<Map.Entry<Integer, List<Range>>> iterator = lookaheadRanges.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, List<Range>> lookahead = iterator.next();
+      int distance = lookahead.getKey() - rowGroupIndex;
+      if (distance == 0) {
+        iterator.remove();
+      } else if (distance < 0 || distance > lookaheadRowGroups) {
+        rangesToCancel.addAll(lookahead.getValue());
+        parquetColumnPrefetchStore.removeColumnPrefetchedRowGroupIndex(s3Uri, lookahead.getKey());
+        iterator.remove();
+      }
+    }
+
+    if (!rangesToCancel.isEmpty()) {
+      LOG.debug(
+          "Reader of {} moved to row group {}, cancelling lookahead",
+          this.s3Uri.getKey(),
+          rowGroupIndex);
+      physicalIO.cancel(new IOPlan(rangesToCancel));
+    }
+  }
+
+  private static List<Range> getColumnRanges(
+      ColumnMappers columnMappers, Set<String> columns, int rowGroupIndex) {
+    List<Range> ranges = new ArrayList<>();
+    for (String column : columns) {
+      for (ColumnMetadata columnMetadata : columnMappers.getColumnChunks(column)) {
+        if (columnMetadata.getRowGroupIndex() == rowGroupIndex) {
+          ranges.add(
+              new Range(
+                  columnMetadata.getStartPos(),
+                  columnMetadata.getStartPos() + columnMetadata.getCompressedSize() - 1));
+        }
+      }
+    }
+    return ranges;
+  }
+
+  private static long getTotalLength(List<Range> ranges) {
+    long length = 0;
+    for (Range range : ranges) {
+      length += range.getLength();
+    }
+    return length;
   }
 
   private void prefetchDictionariesForCurrentRowGroup(
@@ -189,6 +388,86 @@ public class ParquetPredictivePrefetchingTask {
     }
   }
 
+  /**
+   * If the caller hinted at the columns it is going to read when opening the stream, prefetch them
+   * for the first row group that can hold matching rows. Unlike recent columns, hinted columns do
+   * not need to be learnt from previous reads, so they are prefetched as soon as the metadata is
+   * parsed, also for the first files of a schema.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @return ranges prefetched
+   */
+  public IOPlanExecution prefetchHintedColumns(ColumnMappers columnMappers) {
+    if (!openStreamOptions.hasColumnHints()) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    OptionalInt rowGroupIndex = getFirstMatchingRowGroup(columnMappers);
+    if (!rowGroupIndex.isPresent()) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    IOPlanExecution ioPlanExecution =
+        prefetchRecentColumns(
+            columnMappers, Collections.singletonList(rowGroupIndex.getAsInt()), false);
+    if (logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP) {
+      // Reads to this row group do not need to prefetch it again
+      parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(
+          s3Uri, rowGroupIndex.getAsInt());
+    }
+    return ioPlanExecution;
+  }
+
+  private OptionalInt getFirstMatchingRowGroup(ColumnMappers columnMappers) {
+    RowGroupFilter filter = getRowGroupFilter();
+    int firstMatchingRowGroup = Integer.MAX_VALUE;
+    for (int i = 0; i < columnMappers.getColumnChunkCount(); i++) {
+      int rowGroupIndex = columnMappers.getColumnChunk(i).getRowGroupIndex();
+      if (rowGroupIndex < firstMatchingRowGroup && filter.mightMatch(rowGroupIndex)) {
+        firstMatchingRowGroup = rowGroupIndex;
+      }
+    }
+    return firstMatchingRowGroup == Integer.MAX_VALUE
+        ? OptionalInt.empty()
+        : OptionalInt.of(firstMatchingRowGroup);
+  }
+
+  /**
+   * Gets the filter of the row groups that can hold rows matching the predicates of the stream,
+   * decoding it from the footer on first use.
+   *
+   * @return the row group filter, which does not rule out any row group if there are no predicates
+   *     or the statistics can not be decoded
+   */
+  private synchronized RowGroupFilter getRowGroupFilter() {
+    if (rowGroupFilter == null) {
+      rowGroupFilter = buildRowGroupFilter();
+    }
+    return rowGroupFilter;
+  }
+
+  private RowGroupFilter buildRowGroupFilter() {
+    if (!logicalIOConfiguration.isRowGroupPruningEnabled()
+        || openStreamOptions.getPredicates().isEmpty()) {
+      return RowGroupFilter.NONE;
+    }
+
+    try {
+      FileTail fileTail = parquetReadTailTask.readFileTail();
+      return parquetParser.parseRowGroupFilter(
+          fileTail.getFileTail(),
+          fileTail.getFileTailLength(),
+          s3Uri,
+          openStreamOptions.getPredicates());
+    } catch (Exception e) {
+      LOG.warn(
+          "Unable to read row group statistics for {}, row groups will not be pruned.",
+          this.s3Uri.getKey(),
+          e);
+      return RowGroupFilter.NONE;
+    }
+  }
+
   /**
    * If any recent columns exist in the current parquet file, prefetch them.
    *
@@ -211,43 +490,44 @@ public class ParquetPredictivePrefetchingTask {
             List<Range> dictionaryRanges = new ArrayList<>();
             // Ranges for column data
             List<Range> columnRanges = new ArrayList<>();
+            // Row groups that can not hold matching rows will be skipped by the reader
+            RowGroupFilter filter = getRowGroupFilter();
 
-            for (String recentColumn :
-                getRecentColumns(columnMappers.getOffsetIndexToColumnMap(), isDictionary)) {
-              if (columnMappers.getColumnNameToColumnMap().containsKey(recentColumn)) {
-                List<ColumnMetadata> columnMetadataList =
-                    columnMappers.getColumnNameToColumnMap().get(recentColumn);
-                for (ColumnMetadata columnMetadata : columnMetadataList) {
-                  if (rowGroupsToPrefetch.contains(columnMetadata.getRowGroupIndex())) {
-                    // If the reader is currently reading dictionaries, only prefetch dictionary
-                    // bytes for the columns. This prevents over-reading for highly selective
-                    // queries, as we prefetch column data only if the predicate matches.
-                    if (isDictionary && columnMetadata.getDictionaryOffset() != 0) {
-                      dictionaryRanges.add(
-                          new Range(
-                              columnMetadata.getDictionaryOffset(),
-                              columnMetadata.getDictionaryOffset()
-                                  + (columnMetadata.getDataPageOffset()
-                                      - columnMetadata.getDictionaryOffset()
-                                      - 1)));
-                      LOG.debug(
-                          "Column dictionary {} found in schema for {}, and rowGroupIndex {}, adding to prefetch list",
-                          recentColumn,
-                          this.s3Uri.getKey(),
-                          columnMetadata.getRowGroupIndex());
-                    } else {
-                      columnRanges.add(
-                          new Range(
-                              columnMetadata.getStartPos(),
-                              columnMetadata.getStartPos()
-                                  + columnMetadata.getCompressedSize()
-                                  - 1));
-                      LOG.debug(
-                          "Column {} found in schema for {}, and rowGroupIndex {}, adding to prefetch list",
-                          recentColumn,
-                          this.s3Uri.getKey(),
-                          columnMetadata.getRowGroupIndex());
-                    }
+            for (String recentColumn : getRecentColumns(columnMappers, isDictionary)) {
+              List<ColumnMetadata> columnChunks = columnMappers.getColumnChunks(recentColumn);
+              if (!isDictionary && !openStreamOptions.hasColumnHints() && !columnChunks.isEmpty()) {
+                predictedColumns.add(recentColumn);
+              }
+
+              for (ColumnMetadata columnMetadata : columnChunks) {
+                if (rowGroupsToPrefetch.contains(columnMetadata.getRowGroupIndex())
+                    && filter.mightMatch(columnMetadata.getRowGroupIndex())) {
+                  // If the reader is currently reading dictionaries, only prefetch dictionary
+                  // bytes for the columns. This prevents over-reading for highly selective
+                  // queries, as we prefetch column data only if the predicate matches.
+                  if (isDictionary && columnMetadata.getDictionaryOffset() != 0) {
+                    dictionaryRanges.add(
+                        new Range(
+                            columnMetadata.getDictionaryOffset(),
+                            columnMetadata.getDictionaryOffset()
+                                + (columnMetadata.getDataPageOffset()
+                                    - columnMetadata.getDictionaryOffset()
+                                    - 1)));
+                    LOG.debug(
+                        "Column dictionary {} found in schema for {}, and rowGroupIndex {}, adding to prefetch list",
+                        recentColumn,
+                        this.s3Uri.getKey(),
+                        columnMetadata.getRowGroupIndex());
+                  } else {
+                    columnRanges.add(
+                        new Range(
+                            columnMetadata.getStartPos(),
+                            columnMetadata.getStartPos() + columnMetadata.getCompressedSize() - 1));
+                    LOG.debug(
+                        "Column {} found in schema for {}, and rowGroupIndex {}, adding to prefetch list",
+                        recentColumn,
+                        this.s3Uri.getKey(),
+                        columnMetadata.getRowGroupIndex());
                   }
                 }
               }
@@ -285,9 +565,10 @@ public class ParquetPredictivePrefetchingTask {
    *
    * <p>Since the reads do not align to column boundaries, that is, they do not start at the file
    * offset of the column, to track columns for prefetching additional logic is required. Here, we
-   * loop through the column file offsets and find the column that this read belongs to. For
+   * binary search the column file offsets and find the column that this read belongs to. For
    * example, for the read(8MB, 5MB) means we are reading column ss_b, since the position 8MB lies
-   * within the boundary of ss_b as 8MB > file offset of ss_b > and 8MB < fil_offset of ss_c.
+   * within the boundary of ss_b as 8MB > file offset of ss_b and 8MB < file offset of ss_b + its
+   * total_compressed_size.
    *
    * @param position The current position in the read
    * @param columnMappers Parquet file column mappings
@@ -295,26 +576,12 @@ public class ParquetPredictivePrefetchingTask {
    */
   private List<ColumnMetadata> addCurrentColumnAtPosition(
       long position, ColumnMappers columnMappers) {
-    ArrayList<Long> columnPositions =
-        new ArrayList<>(columnMappers.getOffsetIndexToColumnMap().keySet());
-    Collections.sort(columnPositions);
-
-    // For the last index, also add its end position so we can track reads that lie within
-    // that column boundary
-    long lastColumnStartPos = columnPositions.get(columnPositions.size() - 1);
-    ColumnMetadata lastColumnMetadata =
-        columnMappers.getOffsetIndexToColumnMap().get(lastColumnStartPos);
-    columnPositions.add(lastColumnStartPos + lastColumnMetadata.getCompressedSize());
-
-    for (int i = 0; i < columnPositions.size() - 1; i++) {
-      if (position > columnPositions.get(i) && position < columnPositions.get(i + 1)) {
-        ColumnMetadata currentColumnMetadata =
-            columnMappers.getOffsetIndexToColumnMap().get(columnPositions.get(i));
-        parquetColumnPrefetchStore.addRecentColumn(currentColumnMetadata);
-        List<ColumnMetadata> addedColumns = new ArrayList<>();
-        addedColumns.add(currentColumnMetadata);
-        return addedColumns;
-      }
+    Optional<ColumnMetadata> currentColumnMetadata = columnMappers.getColumnContaining(position);
+    if (currentColumnMetadata.isPresent()) {
+      addRecentColumn(currentColumnMetadata.get());
+      List<ColumnMetadata> addedColumns = new ArrayList<>();
+      addedColumns.add(currentColumnMetadata.get());
+      return addedColumns;
     }
 
     return Collections.emptyList();
@@ -345,13 +612,13 @@ public class ParquetPredictivePrefetchingTask {
 
       while (remainingLen > 0) {
         ColumnMetadata currentColumnMetadata =
-            columnMappers.getOffsetIndexToColumnMap().get(currentPos);
+            columnMappers.getColumnStartingAt(currentPos).orElse(null);
 
         if (currentColumnMetadata == null || columnMetadata.getCompressedSize() == 0) {
           break;
         }
 
-        parquetColumnPrefetchStore.addRecentColumn(currentColumnMetadata);
+        addRecentColumn(currentColumnMetadata);
         remainingLen = remainingLen - currentColumnMetadata.getCompressedSize();
         currentPos = currentPos + currentColumnMetadata.getCompressedSize();
         addedColumns.add(currentColumnMetadata);
@@ -361,18 +628,47 @@ public class ParquetPredictivePrefetchingTask {
     return addedColumns;
   }
 
-  private Set<String> getRecentColumns(
-      Map<Long, ColumnMetadata> offsetIndexToColumnMap, boolean isDictionary) {
-    if (!offsetIndexToColumnMap.isEmpty()) {
-      Map.Entry<Long, ColumnMetadata> firstColumnData =
-          offsetIndexToColumnMap.entrySet().iterator().next();
+  /**
+   * Reports how well the columns predicted for this file match the columns the stream read. The
+   * precision is the fraction of the predicted columns that were read, and the recall the fraction
+   * of the read columns that were predicted. Nothing is reported if the stream did not read any
+   * column data, for example when it was opened to read the footer only, or if the caller hinted at
+   * the columns to read, as the hints are not predictions. The precision is not reported if no
+   * columns were predicted, for example for the first file of a schema.
+   */
+  public void reportPredictionMetrics() {
+    if (readColumns.isEmpty() || openStreamOptions.hasColumnHints()) {
+      return;
+    }
+
+    Set<String> correctlyPredictedColumns = new HashSet<>(predictedColumns);
+    correctlyPredictedColumns.retainAll(readColumns);
+
+    if (!predictedColumns.isEmpty()) {
+      telemetry.measure(
+          Metric.builder().name(METRIC_COLUMN_PREDICTION_PRECISION).build(),
+          (double) correctlyPredictedColumns.size() / predictedColumns.size());
+    }
+    telemetry.measure(
+        Metric.builder().name(METRIC_COLUMN_PREDICTION_RECALL).build(),
+        (double) correctlyPredictedColumns.size() / readColumns.size());
+  }
+
+  private void addRecentColumn(ColumnMetadata columnMetadata) {
+    parquetColumnPrefetchStore.addRecentColumn(columnMetadata);
+    readColumns.add(columnMetadata.getColumnName());
+  }
 
-      int schemaHash = firstColumnData.getValue().getSchemaHash();
+  private Set<String> getRecentColumns(ColumnMappers columnMappers, boolean isDictionary) {
+    if (!columnMappers.isEmpty()) {
+      int schemaHash = columnMappers.getSchemaHash();
 
       if (isDictionary) {
-        return parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash);
+        return ParquetUtils.getDictionariesToPrefetch(
+            openStreamOptions, parquetColumnPrefetchStore, schemaHash);
       } else {
-        return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash);
+        return ParquetUtils.getColumnsToPrefetch(
+            openStreamOptions, parquetColumnPrefetchStore, schemaHash);
       }
     }
 
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for prefetching the page index structures of a parquet file from their exact locations.
+ *
+ * <p>Readers that filter pages read the ColumnIndex and OffsetIndex of the columns they read before
+ * reading any column data. Without the footer these structures can only be prefetched by guessing a
+ * fixed size range in front of it, which over-reads for files with few columns and misses most of
+ * the page index for files with many. Once the footer is parsed, the location of each ColumnIndex
+ * and OffsetIndex is known, see {@link PageIndexLocation}, and this task prefetches them for the
+ * recently read columns of the file's schema. Ranges that are close together are merged, as the
+ * structures of different columns are written next to each other.
+ *
+ * <p>If no columns have been read for the schema yet, the page index structures of all columns are
+ * prefetched, as long as they fit in the size that would have been guessed otherwise.
+ */
+public class ParquetPrefetchPageIndexTask {
+  private final S3URI s3Uri;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final OpenStreamOptions openStreamOptions;
+
+  private static final String OPERATION_PARQUET_PREFETCH_PAGE_INDEX =
+      "parquet.task.prefetch.page.index";
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetPrefetchPageIndexTask.class);
+
+  /**
+   * Creates a new instance of {@link ParquetPrefetchPageIndexTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   */
+  public ParquetPrefetchPageIndexTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPrefetchPageIndexTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamOptions the options the stream was opened with
+   */
+  public ParquetPrefetchPageIndexTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamOptions openStreamOptions) {
+    this.s3Uri = s3Uri;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+    this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.openStreamOptions = openStreamOptions;
+  }
+
+  /**
+   * Prefetches the ColumnIndex and OffsetIndex of the recently read columns of the file.
+   *
+   * @param columnMappers Parquet file column mappings
+   * @return result of plan execution
+   */
+  public IOPlanExecution prefetchPageIndex(@NonNull ColumnMappers columnMappers) {
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_PARQUET_PREFETCH_PAGE_INDEX)
+                .attribute(StreamAttributes.uri(this.s3Uri))
+                .build(),
+        () -> {
+          try {
+            List<Range> pageIndexRanges = getPageIndexRanges(columnMappers);
+            if (pageIndexRanges.isEmpty()) {
+              return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+            }
+
+            IOPlan ioPlan =
+                new IOPlan(
+                    ParquetUtils.mergeRanges(
+                        pageIndexRanges, logicalIOConfiguration.getPrefetchPageIndexMaxGapSize()));
+            return physicalIO.execute(ioPlan);
+          } catch (Throwable t) {
+            LOG.warn("Unable to prefetch page index for {}.", this.s3Uri.getKey(), t);
+            return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+          }
+        });
+  }
+
+  private List<Range> getPageIndexRanges(ColumnMappers columnMappers) {
+    List<Range> pageIndexRanges = new ArrayList<>();
+    if (columnMappers.isEmpty()) {
+      return pageIndexRanges;
+    }
+
+    Set<String> recentColumns = getRecentColumns(columnMappers.getSchemaHash());
+    if (!recentColumns.isEmpty()) {
+      for (String recentColumn : recentColumns) {
+        for (ColumnMetadata columnMetadata : columnMappers.getColumnChunks(recentColumn)) {
+          addPageIndexRanges(columnMetadata.getPageIndexLocation(), pageIndexRanges);
+        }
+      }
+      return pageIndexRanges;
+    }
+
+    long pageIndexSize = 0;
+    for (int i = 0; i < columnMappers.getColumnChunkCount(); i++) {
+      pageIndexSize +=
+          addPageIndexRanges(
+              columnMappers.getColumnChunk(i).getPageIndexLocation(), pageIndexRanges);
+    }
+
+    long contentLength = physicalIO.metadata().getContentLength();
+    long maxPageIndexSize =
+        ParquetUtils.getFooterPrefetchSize(logicalIOConfiguration, contentLength)
+            .getPageIndexPrefetchSize();
+    if (pageIndexSize > maxPageIndexSize) {
+      LOG.debug(
+          "Page index of {} is {} bytes, larger than {} bytes, not prefetching it for all columns",
+          this.s3Uri.getKey(),
+          pageIndexSize,
+          maxPageIndexSize);
+      pageIndexRanges.clear();
+    }
+
+    return pageIndexRanges;
+  }
+
+  /** Adds the ranges of the page index structures of a chunk and returns their total length. */
+  private static long addPageIndexRanges(
+      PageIndexLocation pageIndexLocation, List<Range> pageIndexRanges) {
+    long length = 0;
+    Optional<Range> columnIndexRange = pageIndexLocation.getColumnIndexRange();
+    if (columnIndexRange.isPresent()) {
+      pageIndexRanges.add(columnIndexRange.get());
+      length += columnIndexRange.get().getLength();
+    }
+    Optional<Range> offsetIndexRange = pageIndexLocation.getOffsetIndexRange();
+    if (offsetIndexRange.isPresent()) {
+      pageIndexRanges.add(offsetIndexRange.get());
+      length += offsetIndexRange.get().getLength();
+    }
+    return length;
+  }
+
+  private Set<String> getRecentColumns(int schemaHash) {
+    if (openStreamOptions.hasColumnHints()) {
+      return openStreamOptions.getHintedColumns();
+    }
+
+    Set<String> recentColumns =
+        new HashSet<>(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash));
+    recentColumns.addAll(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash));
+    return recentColumns;
+  }
+}
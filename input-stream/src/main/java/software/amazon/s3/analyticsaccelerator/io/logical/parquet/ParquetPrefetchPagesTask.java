@@ -0,0 +1,321 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+
+/**
+ * Task for prefetching the individual data pages of a row group that a reader is going to consume.
+ *
+ * <p>Readers that filter pages using the ColumnIndex first work out the rows of a row group that
+ * can match the predicate, and then only read the pages of each column that hold these rows,
+ * skipping all others. For large column chunks, prefetching whole chunks in this case downloads
+ * mostly pages that are never read. Instead, this task parses the OffsetIndex of the chunks, see
+ * {@link PageLocations}, and learns which rows are being read from the pages read of the first
+ * chunk of a row group. For the other recently read columns of the row group, only the pages
+ * holding these rows are prefetched, along with the dictionary of the chunk.
+ *
+ * <p>As an example, assume a row group with columns ss_a and ss_b, both with pages of 100 rows. If
+ * the reader reads the pages of ss_a holding rows [200, 300) and [500, 600), then the pages of ss_b
+ * holding these rows are prefetched as soon as each of the ss_a pages is read. Pages are requested
+ * in file order, which is the order in which the reader consumes them, and are only merged into a
+ * single request when the gap between them is at most {@link
+ * LogicalIOConfiguration#getPrefetchPagesMaxGapSize()}, so pages that are skipped by the reader
+ * are not downloaded.
+ */
+public class ParquetPrefetchPagesTask {
+  private final S3URI s3Uri;
+  private final Telemetry telemetry;
+  private final LogicalIOConfiguration logicalIOConfiguration;
+  private final PhysicalIO physicalIO;
+  private final ParquetColumnPrefetchStore parquetColumnPrefetchStore;
+  private final OpenStreamOptions openStreamOptions;
+  private final ParquetParser parquetParser;
+
+  // Page locations of the chunks, by start position of the chunk
+  private final Map<Long, PageLocations> pageLocationsByChunk = new HashMap<>();
+  // Pages that were read or prefetched, by start position of the chunk
+  private final Map<Long, BitSet> requestedPagesByChunk = new HashMap<>();
+  // The chunk the rows being read are learnt from, by row group
+  private final Map<Integer, Long> leadingChunkByRowGroup = new HashMap<>();
+  // The rows being read, by row group
+  private final Map<Integer, RowRanges> rowsByRowGroup = new HashMap<>();
+
+  private static final String OPERATION_PARQUET_PREFETCH_PAGES = "parquet.task.prefetch.pages";
+  private static final Logger LOG = LoggerFactory.getLogger(ParquetPrefetchPagesTask.class);
+
+  /**
+   * Creates a new instance of {@link ParquetPrefetchPagesTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   */
+  public ParquetPrefetchPagesTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    this(
+        s3Uri,
+        telemetry,
+        logicalIOConfiguration,
+        physicalIO,
+        parquetColumnPrefetchStore,
+        OpenStreamOptions.DEFAULT);
+  }
+
+  /**
+   * Creates a new instance of {@link ParquetPrefetchPagesTask}
+   *
+   * @param s3Uri the object's S3URI
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param logicalIOConfiguration logical io configuration
+   * @param physicalIO PhysicalIO instance
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param openStreamOptions the options the stream was opened with
+   */
+  public ParquetPrefetchPagesTask(
+      @NonNull S3URI s3Uri,
+      @NonNull Telemetry telemetry,
+      @NonNull LogicalIOConfiguration logicalIOConfiguration,
+      @NonNull PhysicalIO physicalIO,
+      @NonNull ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      @NonNull OpenStreamOptions openStreamOptions) {
+    this.s3Uri = s3Uri;
+    this.telemetry = telemetry;
+    this.logicalIOConfiguration = logicalIOConfiguration;
+    this.physicalIO = physicalIO;
+    this.parquetColumnPrefetchStore = parquetColumnPrefetchStore;
+    this.openStreamOptions = openStreamOptions;
+    this.parquetParser = new ParquetParser();
+  }
+
+  /**
+   * If the read is for pages of a column chunk, prefetches the pages of the recently read columns
+   * of the same row group that hold the rows being read.
+   *
+   * @param position current position of read
+   * @param len length of read
+   * @return result of plan execution
+   */
+  public IOPlanExecution prefetchPages(long position, int len) {
+    try {
+      ColumnMappers columnMappers =
+          parquetColumnPrefetchStore.getColumnMappers(
+              ObjectKey.of(s3Uri, physicalIO.metadata().getEtag()));
+      if (columnMappers != null && len > 0) {
+        Optional<ColumnMetadata> columnAtPosition = columnMappers.getColumnContaining(position);
+        if (columnAtPosition.isPresent()
+            && ParquetUtils.shouldPrefetchPages(logicalIOConfiguration, columnAtPosition.get())) {
+          ColumnMetadata columnMetadata = columnAtPosition.get();
+          return telemetry.measureVerbose(
+              () ->
+                  Operation.builder()
+                      .name(OPERATION_PARQUET_PREFETCH_PAGES)
+                      .attribute(StreamAttributes.column(columnMetadata.getColumnName()))
+                      .attribute(StreamAttributes.uri(this.s3Uri))
+                      .attribute(StreamAttributes.range(position, position + len - 1))
+                      .build(),
+              () -> executePagePrefetchPlan(columnMappers, columnMetadata, position, len));
+        }
+      }
+    } catch (Throwable t) {
+      LOG.warn("Unable to prefetch pages for {}.", this.s3Uri.getKey(), t);
+    }
+    return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+  }
+
+  private synchronized IOPlanExecution executePagePrefetchPlan(
+      ColumnMappers columnMappers, ColumnMetadata columnMetadata, long position, int len)
+      throws IOException {
+    PageLocations pageLocations = getPageLocations(columnMetadata);
+    Range readRange = new Range(position, position + len - 1);
+    int firstPage = pageLocations.getFirstPageOverlapping(readRange);
+    if (firstPage < 0) {
+      // Reads of the dictionary only do not tell which rows are being read
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+    int lastPage = pageLocations.getLastPageOverlapping(readRange);
+
+    long chunkStart = columnMetadata.getStartPos();
+    if (!requestedPagesByChunk.containsKey(chunkStart)) {
+      // Readers that skip pages do not always start reading a chunk at its start position
+      parquetColumnPrefetchStore.addRecentColumn(columnMetadata);
+    }
+    getRequestedPages(chunkStart).set(firstPage, lastPage + 1);
+
+    int rowGroupIndex = columnMetadata.getRowGroupIndex();
+    Long leadingChunk = leadingChunkByRowGroup.putIfAbsent(rowGroupIndex, chunkStart);
+    if (leadingChunk != null && leadingChunk != chunkStart) {
+      // The pages of other chunks hold rows that are not necessarily read, as page boundaries
+      // differ between columns
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    RowRanges rows = rowsByRowGroup.computeIfAbsent(rowGroupIndex, (key) -> new RowRanges());
+    rows.add(pageLocations.getFirstRowIndex(firstPage), pageLocations.getEndRowIndex(lastPage));
+
+    List<Range> pageRanges = new ArrayList<>();
+    for (String recentColumn :
+        ParquetUtils.getColumnsToPrefetch(
+            openStreamOptions, parquetColumnPrefetchStore, columnMappers.getSchemaHash())) {
+      for (ColumnMetadata chunk : columnMappers.getColumnChunks(recentColumn)) {
+        if (chunk.getRowGroupIndex() == rowGroupIndex
+            && chunk.getStartPos() != chunkStart
+            && chunk.getPageIndexLocation().getOffsetIndexRange().isPresent()) {
+          addPageRanges(chunk, rows, pageRanges);
+        }
+      }
+    }
+
+    if (pageRanges.isEmpty()) {
+      return IOPlanExecution.builder().state(IOPlanState.SKIPPED).build();
+    }
+
+    LOG.debug(
+        "Prefetching {} page ranges of row group {} for {}",
+        pageRanges.size(),
+        rowGroupIndex,
+        this.s3Uri.getKey());
+    IOPlan ioPlan =
+        new IOPlan(
+            ParquetUtils.mergeRanges(
+                pageRanges, logicalIOConfiguration.getPrefetchPagesMaxGapSize()));
+    return physicalIO.execute(ioPlan);
+  }
+
+  /**
+   * Adds the ranges of the pages of a chunk that hold any of the rows and have not been requested
+   * yet. The dictionary of the chunk is added along with the first pages.
+   */
+  private void addPageRanges(ColumnMetadata chunk, RowRanges rows, List<Range> pageRanges)
+      throws IOException {
+    PageLocations pageLocations = getPageLocations(chunk);
+    boolean isFirstRequest = !requestedPagesByChunk.containsKey(chunk.getStartPos());
+    BitSet requestedPages = getRequestedPages(chunk.getStartPos());
+
+    int rangeCount = pageRanges.size();
+    for (int page = 0; page < pageLocations.getPageCount(); page++) {
+      boolean holdsRows =
+          rows.overlaps(pageLocations.getFirstRowIndex(page), pageLocations.getEndRowIndex(page));
+      if (holdsRows && !requestedPages.get(page)) {
+        pageRanges.add(pageLocations.getPageRange(page));
+        requestedPages.set(page);
+      }
+    }
+
+    if (isFirstRequest
+        && pageRanges.size() > rangeCount
+        && chunk.getDictionaryOffset() != 0
+        && chunk.getDataPageOffset() > chunk.getDictionaryOffset()) {
+      pageRanges.add(new Range(chunk.getDictionaryOffset(), chunk.getDataPageOffset() - 1));
+    }
+  }
+
+  private BitSet getRequestedPages(long chunkStart) {
+    return requestedPagesByChunk.computeIfAbsent(chunkStart, (key) -> new BitSet());
+  }
+
+  private PageLocations getPageLocations(ColumnMetadata columnMetadata) throws IOException {
+    PageLocations pageLocations = pageLocationsByChunk.get(columnMetadata.getStartPos());
+    if (pageLocations == null) {
+      pageLocations = readPageLocations(columnMetadata);
+      pageLocationsByChunk.put(columnMetadata.getStartPos(), pageLocations);
+    }
+    return pageLocations;
+  }
+
+  private PageLocations readPageLocations(ColumnMetadata columnMetadata) throws IOException {
+    Optional<Range> offsetIndexRange = columnMetadata.getPageIndexLocation().getOffsetIndexRange();
+    if (!offsetIndexRange.isPresent()) {
+      return PageLocations.EMPTY;
+    }
+
+    // The page index is usually prefetched already, see ParquetPrefetchPageIndexTask
+    byte[] offsetIndex = new byte[(int) offsetIndexRange.get().getLength()];
+    int bytesRead = 0;
+    while (bytesRead < offsetIndex.length) {
+      int read =
+          physicalIO.read(
+              offsetIndex,
+              bytesRead,
+              offsetIndex.length - bytesRead,
+              offsetIndexRange.get().getStart() + bytesRead);
+      if (read < 0) {
+        throw new IOException(
+            "Unexpected end of stream reading the OffsetIndex of " + this.s3Uri.getKey());
+      }
+      bytesRead += read;
+    }
+
+    return parquetParser.parsePageLocations(offsetIndex, 0, offsetIndex.length);
+  }
+
+  /** Disjoint ranges of row indexes, merged as they are added. */
+  private static final class RowRanges {
+    // Start of every range to its exclusive end
+    private final TreeMap<Long, Long> ranges = new TreeMap<>();
+
+    void add(long start, long end) {
+      long mergedStart = start;
+      long mergedEnd = end;
+      Map.Entry<Long, Long> floor = ranges.floorEntry(start);
+      if (floor != null && floor.getValue() >= start) {
+        mergedStart = floor.getKey();
+        mergedEnd = Math.max(mergedEnd, floor.getValue());
+      }
+
+      Map.Entry<Long, Long> next;
+      while ((next = ranges.ceilingEntry(mergedStart)) != null && next.getKey() <= mergedEnd) {
+        mergedEnd = Math.max(mergedEnd, next.getValue());
+        ranges.remove(next.getKey());
+      }
+      ranges.put(mergedStart, mergedEnd);
+    }
+
+    boolean overlaps(long start, long end) {
+      Map.Entry<Long, Long> lower = ranges.lowerEntry(end);
+      return lower != null && lower.getValue() > start;
+    }
+  }
+}
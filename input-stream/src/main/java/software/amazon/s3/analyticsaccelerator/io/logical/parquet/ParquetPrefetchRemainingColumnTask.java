@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import java.io.IOException;
+import java.util.Optional;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,7 @@ import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -70,10 +72,13 @@ public class ParquetPrefetchRemainingColumnTask {
    */
   public IOPlanExecution prefetchRemainingColumnChunk(long position, int len) {
     try {
-      ColumnMappers columnMappers = parquetColumnPrefetchStore.getColumnMappers(s3Uri);
+      ColumnMappers columnMappers =
+          parquetColumnPrefetchStore.getColumnMappers(
+              ObjectKey.of(s3Uri, physicalIO.metadata().getEtag()));
       if (columnMappers != null) {
-        ColumnMetadata columnMetadata = columnMappers.getOffsetIndexToColumnMap().get(position);
-        if (columnMetadata != null) {
+        Optional<ColumnMetadata> columnAtPosition = columnMappers.getColumnStartingAt(position);
+        if (columnAtPosition.isPresent()) {
+          ColumnMetadata columnMetadata = columnAtPosition.get();
           return telemetry.measureVerbose(
               () ->
                   Operation.builder()
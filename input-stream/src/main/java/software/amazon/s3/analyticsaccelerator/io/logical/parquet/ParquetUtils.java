@@ -18,7 +18,10 @@ package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 
@@ -57,7 +60,9 @@ public final class ParquetUtils {
    * Gets the ranges to prefetch from the tail. If the file is < smallObject threshold, then
    * prefetch the whole file. Else, prefetch the fileMetadata and the pageIndex structures as
    * separate requests. The fileMetadata will always be required, pageIndex may be required
-   * depending on the engine being used.
+   * depending on the engine being used. The pageIndex range is a fixed size guess, and is left out
+   * when the exact pageIndex ranges are fetched once the footer is parsed instead, see {@link
+   * #shouldPrefetchExactPageIndex(LogicalIOConfiguration)}.
    *
    * @param logicalIOConfiguration logical io configuration
    * @param startRange start of file
@@ -83,7 +88,8 @@ public final class ParquetUtils {
             contentLength - footerPrefetchSize.getFileMetadataPrefetchSize();
         ranges.add(new Range(fileMetadataStartIndex, contentLength - 1));
 
-        if (logicalIOConfiguration.isPrefetchPageIndexEnabled()) {
+        if (logicalIOConfiguration.isPrefetchPageIndexEnabled()
+            && !shouldPrefetchExactPageIndex(logicalIOConfiguration)) {
           ranges.add(
               new Range(
                   fileMetadataStartIndex - footerPrefetchSize.getPageIndexPrefetchSize(),
@@ -101,7 +107,78 @@ public final class ParquetUtils {
     return ranges;
   }
 
-  private static FooterPrefetchSize getFooterPrefetchSize(
+  /**
+   * Checks if the page index structures should be prefetched from their exact locations recorded
+   * in the footer, rather than by guessing a fixed size range before the footer. This requires the
+   * footer to be parsed, which only happens when prefetching is not turned off.
+   *
+   * @param logicalIOConfiguration logical io configuration
+   * @return true if the exact page index ranges are prefetched after the footer is parsed
+   */
+  public static boolean shouldPrefetchExactPageIndex(
+      LogicalIOConfiguration logicalIOConfiguration) {
+    return logicalIOConfiguration.isPrefetchPageIndexEnabled()
+        && logicalIOConfiguration.isPrefetchExactPageIndexEnabled()
+        && logicalIOConfiguration.getPrefetchingMode() != PrefetchMode.OFF;
+  }
+
+  /**
+   * Checks if the pages of a column chunk should be prefetched individually, rather than
+   * prefetching whole chunks of the recently read columns for the row group. This requires the
+   * chunk to have an OffsetIndex, and is only done when prefetching per row group.
+   *
+   * @param logicalIOConfiguration logical io configuration
+   * @param columnMetadata the column chunk currently being read
+   * @return true if the pages of the row group are prefetched by {@link ParquetPrefetchPagesTask}
+   */
+  public static boolean shouldPrefetchPages(
+      LogicalIOConfiguration logicalIOConfiguration, ColumnMetadata columnMetadata) {
+    return logicalIOConfiguration.isPrefetchPagesEnabled()
+        && logicalIOConfiguration.getPrefetchingMode() == PrefetchMode.ROW_GROUP
+        && columnMetadata.getPageIndexLocation().getOffsetIndexRange().isPresent();
+  }
+
+  /**
+   * Gets the columns to prefetch for a schema. Columns hinted at by the caller when opening the
+   * stream take precedence over the columns recently read for the schema, as they are known to be
+   * read.
+   *
+   * @param openStreamOptions the options the stream was opened with
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param schemaHash the hash of the schema of the file
+   * @return the names of the columns to prefetch
+   */
+  public static Set<String> getColumnsToPrefetch(
+      OpenStreamOptions openStreamOptions,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      int schemaHash) {
+    if (openStreamOptions.hasColumnHints()) {
+      return openStreamOptions.getHintedColumns();
+    }
+    return parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash);
+  }
+
+  /**
+   * Gets the columns to prefetch dictionaries of for a schema. Dictionaries are read to filter row
+   * groups, so the columns of the predicates the caller hinted at when opening the stream take
+   * precedence over the dictionaries recently read for the schema.
+   *
+   * @param openStreamOptions the options the stream was opened with
+   * @param parquetColumnPrefetchStore object containing Parquet usage information
+   * @param schemaHash the hash of the schema of the file
+   * @return the names of the columns to prefetch dictionaries of
+   */
+  public static Set<String> getDictionariesToPrefetch(
+      OpenStreamOptions openStreamOptions,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore,
+      int schemaHash) {
+    if (!openStreamOptions.getPredicates().isEmpty()) {
+      return openStreamOptions.getPredicateColumns();
+    }
+    return parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash);
+  }
+
+  static FooterPrefetchSize getFooterPrefetchSize(
       LogicalIOConfiguration logicalIOConfiguration, long contentLength) {
     if (contentLength > logicalIOConfiguration.getLargeFileSize()) {
       return new FooterPrefetchSize(
@@ -178,4 +255,39 @@ public final class ParquetUtils {
 
     return mergedRanges;
   }
+
+  /**
+   * Merges ranges that overlap or are separated by at most {@code maxGapSize} bytes. For example,
+   * with a maximum gap of 100, ranges [100-200, 250-300, 500-600] are merged into [100-300,
+   * 500-600]. Merging small gaps trades a few unneeded bytes for fewer requests, which pays off
+   * when the ranges are small compared to the cost of a request.
+   *
+   * @param ranges Range of requests to be merged, this list is not modified
+   * @param maxGapSize the largest number of bytes between two ranges for them to be merged
+   * @return merged ranges, sorted by start
+   */
+  public static List<Range> mergeRanges(List<Range> ranges, long maxGapSize) {
+    List<Range> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort((Range a, Range b) -> Long.compare(a.getStart(), b.getStart()));
+    List<Range> mergedRanges = new ArrayList<>();
+
+    long start = -1;
+    long end = -1;
+    for (Range range : sortedRanges) {
+      if (start >= 0 && range.getStart() - end - 1 <= maxGapSize) {
+        end = Math.max(end, range.getEnd());
+      } else {
+        if (start >= 0) {
+          mergedRanges.add(new Range(start, end));
+        }
+        start = range.getStart();
+        end = range.getEnd();
+      }
+    }
+    if (start >= 0) {
+      mergedRanges.add(new Range(start, end));
+    }
+
+    return mergedRanges;
+  }
 }
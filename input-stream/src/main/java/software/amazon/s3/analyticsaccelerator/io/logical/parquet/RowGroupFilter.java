@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+
+/**
+ * Decides which row groups of a Parquet file can hold rows matching the predicates a stream was
+ * opened with, based on the min/max statistics of the column chunks. All predicates must hold for a
+ * row to match, so a row group is ruled out as soon as the statistics of one predicate column prove
+ * that none of its values match.
+ *
+ * <p>Row groups are never ruled out when statistics are missing, so the filter is safe to use for
+ * deciding what to prefetch: at worst, data that is not needed is prefetched.
+ */
+public final class RowGroupFilter {
+  /** A filter that does not rule out any row group. */
+  public static final RowGroupFilter NONE =
+      new RowGroupFilter(Collections.emptyList(), Collections.emptyMap());
+
+  private final List<ColumnPredicate> predicates;
+  private final Map<String, Map<Integer, ColumnStatistics>> statistics;
+
+  private RowGroupFilter(
+      List<ColumnPredicate> predicates,
+      Map<String, Map<Integer, ColumnStatistics>> statistics) {
+    this.predicates = predicates;
+    this.statistics = statistics;
+  }
+
+  /**
+   * Checks if a row group can hold rows matching the predicates.
+   *
+   * @param rowGroupIndex the index of the row group
+   * @return false if the statistics prove that no row of the row group matches, true otherwise
+   */
+  public boolean mightMatch(int rowGroupIndex) {
+    for (ColumnPredicate predicate : predicates) {
+      ColumnStatistics columnStatistics =
+          statistics
+              .getOrDefault(predicate.getColumnPath(), Collections.emptyMap())
+              .get(rowGroupIndex);
+      if (columnStatistics != null && !columnStatistics.mightMatch(predicate)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates a new builder of {@link RowGroupFilter}.
+   *
+   * @param predicates the predicates to filter row groups with
+   * @return a new builder
+   */
+  static Builder builder(@NonNull List<ColumnPredicate> predicates) {
+    return new Builder(predicates);
+  }
+
+  /** Collects the statistics of the predicate columns of each row group. */
+  static final class Builder {
+    private final List<ColumnPredicate> predicates;
+    private final Map<String, Map<Integer, ColumnStatistics>> statistics = new HashMap<>();
+
+    private Builder(List<ColumnPredicate> predicates) {
+      this.predicates = predicates;
+    }
+
+    /**
+     * Adds the statistics of a column chunk.
+     *
+     * @param rowGroupIndex the index of the row group the chunk belongs to
+     * @param columnPath the dot-joined path of the column in the schema
+     * @param columnStatistics the statistics of the chunk
+     * @return the builder
+     */
+    Builder addStatistics(
+        int rowGroupIndex, @NonNull String columnPath, @NonNull ColumnStatistics columnStatistics) {
+      statistics
+          .computeIfAbsent(columnPath, (key) -> new HashMap<>())
+          .put(rowGroupIndex, columnStatistics);
+      return this;
+    }
+
+    /**
+     * Builds the filter.
+     *
+     * @return the filter
+     */
+    RowGroupFilter build() {
+      if (predicates.isEmpty()) {
+        return NONE;
+      }
+      return new RowGroupFilter(predicates, statistics);
+    }
+  }
+}
@@ -30,4 +30,22 @@ public interface PhysicalIO extends RandomAccessReadable {
    * @return an IOPlanExecution object tracking the execution of the submitted plan
    */
   IOPlanExecution execute(IOPlan ioPlan) throws IOException;
+
+  /**
+   * Cancels the ranges of a previously executed plan that have not been fetched yet. This is used
+   * when prefetched data is no longer expected to be read. Ranges that other streams of the object
+   * use too are not cancelled.
+   *
+   * @param ioPlan the plan to cancel
+   */
+  void cancel(IOPlan ioPlan);
+
+  /**
+   * Drops the fetched data of the ranges of a plan, freeing the memory it holds. This is used when
+   * data has been read and is not expected to be read again. Data that is dropped is fetched again
+   * if it is read later. Data that other streams of the object use too is kept.
+   *
+   * @param ioPlan the plan whose ranges to drop
+   */
+  void evict(IOPlan ioPlan);
 }
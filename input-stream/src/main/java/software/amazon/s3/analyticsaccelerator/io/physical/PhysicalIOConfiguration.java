@@ -39,6 +39,9 @@ public class PhysicalIOConfiguration {
   private static final long DEFAULT_PART_SIZE = 8 * ONE_MB;
   private static final double DEFAULT_SEQUENTIAL_PREFETCH_BASE = 2.0;
   private static final double DEFAULT_SEQUENTIAL_PREFETCH_SPEED = 1.0;
+  private static final int DEFAULT_TRANSFER_PREFETCH_PARTS = 4;
+  private static final long DEFAULT_DOWNLOAD_MEMORY_BUDGET_BYTES = 64 * ONE_MB;
+  private static final long DEFAULT_TAIL_CACHE_CAPACITY_BYTES = 32 * ONE_MB;
 
   /** Capacity, in blobs. {@link PhysicalIOConfiguration#DEFAULT_CAPACITY_BLOB_STORE} by default. */
   @Builder.Default private int blobStoreCapacity = DEFAULT_CAPACITY_BLOB_STORE;
@@ -93,6 +96,30 @@ public class PhysicalIOConfiguration {
 
   private static final String SEQUENTIAL_PREFETCH_SPEED_KEY = "sequentialprefetch.speed";
 
+  /**
+   * Number of parts requested ahead of the part being written when transferring an object to a
+   * channel. {@link PhysicalIOConfiguration#DEFAULT_TRANSFER_PREFETCH_PARTS} by default.
+   */
+  @Builder.Default private int transferPrefetchParts = DEFAULT_TRANSFER_PREFETCH_PARTS;
+
+  private static final String TRANSFER_PREFETCH_PARTS_KEY = "transferprefetchparts";
+
+  /**
+   * Maximum amount of memory, in bytes, held by parts in flight when downloading an object to a
+   * file. {@link PhysicalIOConfiguration#DEFAULT_DOWNLOAD_MEMORY_BUDGET_BYTES} by default.
+   */
+  @Builder.Default private long downloadMemoryBudgetBytes = DEFAULT_DOWNLOAD_MEMORY_BUDGET_BYTES;
+
+  private static final String DOWNLOAD_MEMORY_BUDGET_BYTES_KEY = "downloadmemorybudgetbytes";
+
+  /**
+   * Capacity, in bytes, of the tail cache shared across streams. {@link
+   * PhysicalIOConfiguration#DEFAULT_TAIL_CACHE_CAPACITY_BYTES} by default.
+   */
+  @Builder.Default private long tailCacheCapacityBytes = DEFAULT_TAIL_CACHE_CAPACITY_BYTES;
+
+  private static final String TAIL_CACHE_CAPACITY_BYTES_KEY = "tailcache.capacitybytes";
+
   /** Default set of settings for {@link PhysicalIO} */
   public static final PhysicalIOConfiguration DEFAULT = PhysicalIOConfiguration.builder().build();
 
@@ -117,6 +144,13 @@ public class PhysicalIOConfiguration {
         .sequentialPrefetchSpeed(
             configuration.getDouble(
                 SEQUENTIAL_PREFETCH_SPEED_KEY, DEFAULT_SEQUENTIAL_PREFETCH_SPEED))
+        .transferPrefetchParts(
+            configuration.getInt(TRANSFER_PREFETCH_PARTS_KEY, DEFAULT_TRANSFER_PREFETCH_PARTS))
+        .downloadMemoryBudgetBytes(
+            configuration.getLong(
+                DOWNLOAD_MEMORY_BUDGET_BYTES_KEY, DEFAULT_DOWNLOAD_MEMORY_BUDGET_BYTES))
+        .tailCacheCapacityBytes(
+            configuration.getLong(TAIL_CACHE_CAPACITY_BYTES_KEY, DEFAULT_TAIL_CACHE_CAPACITY_BYTES))
         .build();
   }
 
@@ -133,6 +167,11 @@ public class PhysicalIOConfiguration {
    *     physical blocks. Example: A constant of 2.0 means doubling the block sizes.
    * @param sequentialPrefetchSpeed Constant controlling the rate of growth of sequentially
    *     prefetched physical blocks.
+   * @param transferPrefetchParts Number of parts requested ahead of the part being written when
+   *     transferring an object to a channel
+   * @param downloadMemoryBudgetBytes Maximum amount of memory held by parts in flight when
+   *     downloading an object to a file
+   * @param tailCacheCapacityBytes Capacity, in bytes, of the tail cache shared across streams
    */
   @Builder
   private PhysicalIOConfiguration(
@@ -143,7 +182,10 @@ public class PhysicalIOConfiguration {
       long maxRangeSizeBytes,
       long partSizeBytes,
       double sequentialPrefetchBase,
-      double sequentialPrefetchSpeed) {
+      double sequentialPrefetchSpeed,
+      int transferPrefetchParts,
+      long downloadMemoryBudgetBytes,
+      long tailCacheCapacityBytes) {
     Preconditions.checkArgument(blobStoreCapacity > 0, "`blobStoreCapacity` must be positive");
     Preconditions.checkArgument(
         metadataStoreCapacity > 0, "`metadataStoreCapacity` must be positive");
@@ -155,6 +197,12 @@ public class PhysicalIOConfiguration {
         sequentialPrefetchBase > 0, "`sequentialPrefetchBase` must be positive");
     Preconditions.checkArgument(
         sequentialPrefetchSpeed > 0, "`sequentialPrefetchSpeed` must be positive");
+    Preconditions.checkArgument(
+        transferPrefetchParts >= 0, "`transferPrefetchParts` must not be negative");
+    Preconditions.checkArgument(
+        downloadMemoryBudgetBytes > 0, "`downloadMemoryBudgetBytes` must be positive");
+    Preconditions.checkArgument(
+        tailCacheCapacityBytes >= 0, "`tailCacheCapacityBytes` must not be negative");
 
     this.blobStoreCapacity = blobStoreCapacity;
     this.metadataStoreCapacity = metadataStoreCapacity;
@@ -164,6 +212,9 @@ public class PhysicalIOConfiguration {
     this.partSizeBytes = partSizeBytes;
     this.sequentialPrefetchBase = sequentialPrefetchBase;
     this.sequentialPrefetchSpeed = sequentialPrefetchSpeed;
+    this.transferPrefetchParts = transferPrefetchParts;
+    this.downloadMemoryBudgetBytes = downloadMemoryBudgetBytes;
+    this.tailCacheCapacityBytes = tailCacheCapacityBytes;
   }
 
   @Override
@@ -179,6 +230,9 @@ public class PhysicalIOConfiguration {
     builder.append("\tpartSizeBytes: " + partSizeBytes + "\n");
     builder.append("\tsequentialPrefetchBase: " + sequentialPrefetchBase + "\n");
     builder.append("\tsequentialPrefetchSpeed: " + sequentialPrefetchSpeed + "\n");
+    builder.append("\ttransferPrefetchParts: " + transferPrefetchParts + "\n");
+    builder.append("\tdownloadMemoryBudgetBytes: " + downloadMemoryBudgetBytes + "\n");
+    builder.append("\ttailCacheCapacityBytes: " + tailCacheCapacityBytes + "\n");
 
     return builder.toString();
   }
@@ -16,15 +16,19 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
@@ -33,11 +37,14 @@ import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 public class Blob implements Closeable {
   private static final Logger LOG = LoggerFactory.getLogger(Blob.class);
   private static final String OPERATION_EXECUTE = "blob.execute";
+  private static final String OPERATION_CANCEL = "blob.cancel";
+  private static final String OPERATION_EVICT = "blob.evict";
 
   private final S3URI s3URI;
   private final BlockManager blockManager;
   private final MetadataStore metadataStore;
   private final Telemetry telemetry;
+  private final PhysicalIOConfiguration configuration;
 
   /**
    * Construct a new Blob.
@@ -52,11 +59,30 @@ public class Blob implements Closeable {
       @NonNull MetadataStore metadataStore,
       @NonNull BlockManager blockManager,
       @NonNull Telemetry telemetry) {
+    this(s3URI, metadataStore, blockManager, telemetry, PhysicalIOConfiguration.DEFAULT);
+  }
+
+  /**
+   * Construct a new Blob.
+   *
+   * @param s3URI the S3 URI of the object
+   * @param metadataStore the MetadataStore in the stream
+   * @param blockManager the BlockManager for this object
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param configuration the PhysicalIO configuration
+   */
+  public Blob(
+      @NonNull S3URI s3URI,
+      @NonNull MetadataStore metadataStore,
+      @NonNull BlockManager blockManager,
+      @NonNull Telemetry telemetry,
+      @NonNull PhysicalIOConfiguration configuration) {
 
     this.s3URI = s3URI;
     this.metadataStore = metadataStore;
     this.blockManager = blockManager;
     this.telemetry = telemetry;
+    this.configuration = configuration;
   }
 
   /**
@@ -66,8 +92,19 @@ public class Blob implements Closeable {
    * @return an unsigned int representing the byte that was read
    */
   public int read(long pos) {
+    return read(pos, null);
+  }
+
+  /**
+   * Reads a byte from the underlying object on behalf of a stream
+   *
+   * @param pos The position to read
+   * @param reader the stream reading, null if the caller does not identify itself
+   * @return an unsigned int representing the byte that was read
+   */
+  public int read(long pos, Object reader) {
     Preconditions.checkArgument(pos >= 0, "`pos` must be non-negative");
-    blockManager.makePositionAvailable(pos, ReadMode.SYNC);
+    blockManager.makePositionAvailable(pos, ReadMode.SYNC, reader);
     return blockManager.getBlock(pos).get().read(pos);
   }
 
@@ -81,13 +118,28 @@ public class Blob implements Closeable {
    * @return the total number of bytes read into the buffer
    */
   public int read(byte[] buf, int off, int len, long pos) {
+    return read(buf, off, len, pos, null);
+  }
+
+  /**
+   * Reads data into the provided buffer on behalf of a stream. The blocks read are joined by the
+   * stream, so that no other stream of the object cancels or evicts them in the meantime.
+   *
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len length of data to be read
+   * @param pos the position to begin reading from
+   * @param reader the stream reading, null if the caller does not identify itself
+   * @return the total number of bytes read into the buffer
+   */
+  public int read(byte[] buf, int off, int len, long pos, Object reader) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(pos < contentLength(), "`pos` must be less than content length");
     Preconditions.checkArgument(0 <= off, "`off` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
     Preconditions.checkArgument(off < buf.length, "`off` must be less than size of buffer");
 
-    blockManager.makeRangeAvailable(pos, len, ReadMode.SYNC);
+    blockManager.makeRangeAvailable(pos, len, ReadMode.SYNC, reader);
 
     long nextPosition = pos;
     int numBytesRead = 0;
@@ -117,6 +169,81 @@ public class Blob implements Closeable {
     return numBytesRead;
   }
 
+  /**
+   * Writes data starting at the given position to the provided channel. While a part is being
+   * written, the next {@link PhysicalIOConfiguration#getTransferPrefetchParts()} parts are
+   * requested asynchronously, so that the transfer is pipelined and block buffers are handed to the
+   * channel without intermediate copies. The blocks written are evicted as the transfer goes, so
+   * that copying a large object holds at most the part being written and the parts ahead of it,
+   * rather than the whole object.
+   *
+   * @param pos the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException if an error occurs while writing to the channel
+   */
+  public long transferTo(long pos, long len, @NonNull WritableByteChannel target)
+      throws IOException {
+    return transferTo(pos, len, target, null);
+  }
+
+  /**
+   * Writes data starting at the given position to the provided channel on behalf of a stream, see
+   * {@link #transferTo(long, long, WritableByteChannel)}.
+   *
+   * @param pos the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @param reader the stream reading, null if the caller does not identify itself
+   * @return the total number of bytes written to the channel
+   * @throws IOException if an error occurs while writing to the channel
+   */
+  public long transferTo(long pos, long len, @NonNull WritableByteChannel target, Object reader)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+
+    long contentLength = contentLength();
+    if (pos >= contentLength) {
+      return 0;
+    }
+
+    long end = pos + Math.min(len, contentLength - pos);
+    long partSize = configuration.getPartSizeBytes();
+    long lookAheadSize = partSize * configuration.getTransferPrefetchParts();
+
+    long nextPosition = pos;
+    while (nextPosition < end) {
+      long currentPartLength = Math.min(partSize, end - nextPosition);
+      blockManager.makeRangeAvailable(nextPosition, currentPartLength, ReadMode.SYNC, reader);
+
+      long lookAheadStart = nextPosition + currentPartLength;
+      if (lookAheadStart < end) {
+        blockManager.makeRangeAvailable(
+            lookAheadStart, Math.min(lookAheadSize, end - lookAheadStart), ReadMode.ASYNC, reader);
+      }
+
+      final long nextPositionFinal = nextPosition;
+      Block nextBlock =
+          blockManager
+              .getBlock(nextPosition)
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          String.format(
+                              "This block (for position %s) should have been available.",
+                              nextPositionFinal)));
+
+      nextPosition += nextBlock.transferTo(nextPosition, end - nextPosition, target);
+
+      // Blocks that have been written in full are not read again by the transfer
+      blockManager.evictRange(new Range(pos, nextPosition - 1), reader);
+    }
+
+    return nextPosition - pos;
+  }
+
   /**
    * Execute an IOPlan.
    *
@@ -124,6 +251,18 @@ public class Blob implements Closeable {
    * @return the status of execution
    */
   public IOPlanExecution execute(IOPlan plan) {
+    return execute(plan, null);
+  }
+
+  /**
+   * Execute an IOPlan on behalf of a stream. The blocks fetched for the plan can only be cancelled
+   * or evicted by the same stream, as long as no other stream has joined them.
+   *
+   * @param plan the IOPlan to execute
+   * @param reader the stream executing the plan, null if the caller does not identify itself
+   * @return the status of execution
+   */
+  public IOPlanExecution execute(IOPlan plan, Object reader) {
     return telemetry.measureStandard(
         () ->
             Operation.builder()
@@ -137,7 +276,7 @@ public class Blob implements Closeable {
                 .forEach(
                     range -> {
                       this.blockManager.makeRangeAvailable(
-                          range.getStart(), range.getLength(), ReadMode.ASYNC);
+                          range.getStart(), range.getLength(), ReadMode.ASYNC, reader);
                     });
 
             return IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
@@ -148,6 +287,61 @@ public class Blob implements Closeable {
         });
   }
 
+  /**
+   * Cancels the ranges of an IOPlan that have not been fetched yet.
+   *
+   * @param plan the IOPlan to cancel
+   */
+  public void cancel(@NonNull IOPlan plan) {
+    cancel(plan, null);
+  }
+
+  /**
+   * Cancels the ranges of an IOPlan that have not been fetched yet and that were requested by the
+   * given stream alone. Blocks another stream has joined are kept, as the Blob is shared by all
+   * streams of the object.
+   *
+   * @param plan the IOPlan to cancel
+   * @param owner the stream cancelling the plan, null if the caller does not identify itself
+   */
+  public void cancel(@NonNull IOPlan plan, Object owner) {
+    telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_CANCEL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.ioPlan(plan))
+                .build(),
+        () -> plan.getPrefetchRanges().forEach(range -> blockManager.cancelRange(range, owner)));
+  }
+
+  /**
+   * Drops the fetched data of the ranges of an IOPlan.
+   *
+   * @param plan the IOPlan whose ranges to drop
+   */
+  public void evict(@NonNull IOPlan plan) {
+    evict(plan, null);
+  }
+
+  /**
+   * Drops the fetched data of the ranges of an IOPlan that were requested by the given stream
+   * alone. Blocks another stream has joined are kept, as that stream may be about to read them.
+   *
+   * @param plan the IOPlan whose ranges to drop
+   * @param owner the stream dropping the plan, null if the caller does not identify itself
+   */
+  public void evict(@NonNull IOPlan plan, Object owner) {
+    telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_EVICT)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.ioPlan(plan))
+                .build(),
+        () -> plan.getPrefetchRanges().forEach(range -> blockManager.evictRange(range, owner)));
+  }
+
   private long contentLength() {
     return metadataStore.get(s3URI).getContentLength();
   }
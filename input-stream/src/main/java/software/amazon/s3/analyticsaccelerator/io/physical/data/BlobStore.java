@@ -82,7 +82,8 @@ public class BlobStore implements Closeable {
                 metadataStore,
                 new BlockManager(
                     uri, objectClient, metadataStore, telemetry, configuration, streamContext),
-                telemetry));
+                telemetry,
+                configuration));
   }
 
   /** Closes the {@link BlobStore} and frees up all resources it holds. */
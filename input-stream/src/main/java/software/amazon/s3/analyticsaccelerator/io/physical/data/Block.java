@@ -16,6 +16,9 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.CompletableFuture;
 import lombok.Getter;
 import lombok.NonNull;
@@ -43,6 +46,8 @@ public class Block implements Closeable {
   private final S3URI s3URI;
   private final Range range;
   private final Telemetry telemetry;
+  private final Object owner;
+  private volatile boolean shared;
 
   @Getter private final long start;
   @Getter private final long end;
@@ -95,6 +100,32 @@ public class Block implements Closeable {
       long generation,
       @NonNull ReadMode readMode,
       StreamContext streamContext) {
+    this(s3URI, objectClient, telemetry, start, end, generation, readMode, streamContext, null);
+  }
+
+  /**
+   * Constructs a Block data.
+   *
+   * @param s3URI the S3 URI of the object
+   * @param objectClient the object client to use to interact with the object store
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param start start of the block
+   * @param end end of the block
+   * @param generation generation of the block in a sequential read pattern (should be 0 by default)
+   * @param readMode read mode describing whether this is a sync or async fetch
+   * @param streamContext contains audit headers to be attached in the request header
+   * @param owner the stream the block is fetched for, null if the caller does not identify itself
+   */
+  public Block(
+      @NonNull S3URI s3URI,
+      @NonNull ObjectClient objectClient,
+      @NonNull Telemetry telemetry,
+      long start,
+      long end,
+      long generation,
+      @NonNull ReadMode readMode,
+      StreamContext streamContext,
+      Object owner) {
 
     Preconditions.checkArgument(
         0 <= generation, "`generation` must be non-negative; was: %s", generation);
@@ -109,6 +140,7 @@ public class Block implements Closeable {
     this.telemetry = telemetry;
     this.s3URI = s3URI;
     this.range = new Range(start, end);
+    this.owner = owner;
 
     this.source =
         this.telemetry.measureCritical(
@@ -168,6 +200,34 @@ public class Block implements Closeable {
     return bytesToCopy;
   }
 
+  /**
+   * Writes data from this block directly to the provided channel, starting at the given position.
+   * The block buffer is handed to the channel as is, without an intermediate copy.
+   *
+   * @param pos the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   * @throws IOException if an error occurs while writing to the channel
+   */
+  public long transferTo(long pos, long len, @NonNull WritableByteChannel target)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkArgument(contains(pos), "`pos` must be contained by this block");
+
+    byte[] content = this.getData();
+    int offset = posToOffset(pos);
+    int bytesToWrite = (int) Math.min(len, content.length - offset);
+
+    ByteBuffer buffer = ByteBuffer.wrap(content, offset, bytesToWrite);
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+
+    return bytesToWrite;
+  }
+
   /**
    * Does this block contain the position?
    *
@@ -190,6 +250,39 @@ public class Block implements Closeable {
     return (int) (pos - start);
   }
 
+  /**
+   * Records that a stream reads, or is about to read, this block. Once a stream other than the one
+   * the block was fetched for has joined it, the block is shared and is never cancelled or evicted
+   * on behalf of a single stream again.
+   *
+   * @param reader the stream reading the block, null if the caller does not identify itself
+   */
+  public void join(Object reader) {
+    if (reader != owner) {
+      this.shared = true;
+    }
+  }
+
+  /**
+   * Checks if the block was fetched for the given stream, and no other stream has joined it, so
+   * that the stream can cancel or evict it without pulling it from under another reader.
+   *
+   * @param reader the stream asking
+   * @return true if only the given stream uses this block
+   */
+  public boolean isExclusiveTo(Object reader) {
+    return reader == owner && !shared;
+  }
+
+  /**
+   * Checks if the bytes of the block have been fetched, or failed to be fetched.
+   *
+   * @return true if fetching the block has completed
+   */
+  public boolean isDataReady() {
+    return this.data.isDone();
+  }
+
   /**
    * Returns the bytes fetched by the issued {@link GetRequest}. This method will block until the
    * data is fully available.
@@ -114,14 +114,26 @@ public class BlockManager implements Closeable {
    * @param readMode whether this ask corresponds to a sync or async read
    */
   public synchronized void makePositionAvailable(long pos, ReadMode readMode) {
+    makePositionAvailable(pos, readMode, null);
+  }
+
+  /**
+   * Make sure that the byte at a given position is in the BlockStore, on behalf of a stream.
+   *
+   * @param pos the position of the byte
+   * @param readMode whether this ask corresponds to a sync or async read
+   * @param reader the stream reading the byte, null if the caller does not identify itself
+   */
+  public synchronized void makePositionAvailable(long pos, ReadMode readMode, Object reader) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
 
     // Position is already available --> return corresponding block
     if (getBlock(pos).isPresent()) {
+      blockStore.join(new Range(pos, pos), reader);
       return;
     }
 
-    makeRangeAvailable(pos, 1, readMode);
+    makeRangeAvailable(pos, 1, readMode, reader);
   }
 
   private boolean isRangeAvailable(long pos, long len) {
@@ -149,9 +161,28 @@ public class BlockManager implements Closeable {
    * @param readMode whether this ask corresponds to a sync or async read
    */
   public synchronized void makeRangeAvailable(long pos, long len, ReadMode readMode) {
+    makeRangeAvailable(pos, len, readMode, null);
+  }
+
+  /**
+   * Makes sure that a range is fully available in the BlockStore, on behalf of a stream. The
+   * blocks of the range that are already there are joined by the stream, so that the stream they
+   * were fetched for does not cancel or evict them while this one reads them, and the missing ones
+   * are fetched for this stream.
+   *
+   * @param pos start of a read
+   * @param len length of the read
+   * @param readMode whether this ask corresponds to a sync or async read
+   * @param reader the stream reading the range, null if the caller does not identify itself
+   */
+  public synchronized void makeRangeAvailable(
+      long pos, long len, ReadMode readMode, Object reader) {
     Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
 
+    if (len > 0) {
+      blockStore.join(new Range(pos, pos + len - 1), reader);
+    }
     if (isRangeAvailable(pos, len)) {
       return;
     }
@@ -202,12 +233,54 @@ public class BlockManager implements Closeable {
                         r.getEnd(),
                         generation,
                         readMode,
-                        streamContext);
+                        streamContext,
+                        reader);
                 blockStore.add(block);
               });
         });
   }
 
+  /**
+   * Cancels fetching the blocks of a range that are not available yet, see {@link
+   * BlockStore#cancel(Range)}.
+   *
+   * @param range the range to cancel
+   */
+  public synchronized void cancelRange(@NonNull Range range) {
+    cancelRange(range, null);
+  }
+
+  /**
+   * Cancels fetching the blocks of a range that are not available yet and that no other stream
+   * has joined, see {@link BlockStore#cancel(Range, Object)}.
+   *
+   * @param range the range to cancel
+   * @param owner the stream cancelling the range, null if the caller does not identify itself
+   */
+  public synchronized void cancelRange(@NonNull Range range, Object owner) {
+    blockStore.cancel(range, owner);
+  }
+
+  /**
+   * Drops the fetched blocks of a range, see {@link BlockStore#evict(Range)}.
+   *
+   * @param range the range to drop
+   */
+  public synchronized void evictRange(@NonNull Range range) {
+    evictRange(range, null);
+  }
+
+  /**
+   * Drops the fetched blocks of a range that no other stream has joined, see {@link
+   * BlockStore#evict(Range, Object)}.
+   *
+   * @param range the range to drop
+   * @param owner the stream dropping the range, null if the caller does not identify itself
+   */
+  public synchronized void evictRange(@NonNull Range range, Object owner) {
+    blockStore.evict(range, owner);
+  }
+
   private long getLastObjectByte() {
     return this.metadataStore.get(s3URI).getContentLength() - 1;
   }
@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import java.io.Closeable;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +24,7 @@ import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /** A BlockStore, which is a collection of Blocks. */
@@ -113,6 +115,103 @@ public class BlockStore implements Closeable {
     this.blocks.add(block);
   }
 
+  /**
+   * Records that a stream reads, or is about to read, the blocks overlapping a range, see {@link
+   * Block#join(Object)}.
+   *
+   * @param range the range being read
+   * @param reader the stream reading the range, null if the caller does not identify itself
+   */
+  public void join(Range range, Object reader) {
+    Preconditions.checkNotNull(range, "`range` must not be null");
+
+    for (Block block : blocks) {
+      if (block.getStart() <= range.getEnd() && range.getStart() <= block.getEnd()) {
+        block.join(reader);
+      }
+    }
+  }
+
+  /**
+   * Cancels the blocks that lie within a range and are still being fetched, and removes them from
+   * the BlockStore. Blocks that have been fetched already are kept, and so are blocks that only
+   * partially overlap the range, as they hold bytes outside of it.
+   *
+   * @param range the range to cancel
+   * @return the number of blocks cancelled
+   */
+  public int cancel(Range range) {
+    return cancel(range, null);
+  }
+
+  /**
+   * Cancels the blocks that lie within a range and are still being fetched for the given stream,
+   * and removes them from the BlockStore. Blocks that another stream has joined are kept, as they
+   * are shared by all streams of the object and that stream may be waiting for them.
+   *
+   * @param range the range to cancel
+   * @param owner the stream cancelling the range, null if the caller does not identify itself
+   * @return the number of blocks cancelled
+   */
+  public int cancel(Range range, Object owner) {
+    Preconditions.checkNotNull(range, "`range` must not be null");
+
+    int cancelled = 0;
+    Iterator<Block> iterator = blocks.iterator();
+    while (iterator.hasNext()) {
+      Block block = iterator.next();
+      if (range.getStart() <= block.getStart()
+          && block.getEnd() <= range.getEnd()
+          && !block.isDataReady()
+          && block.isExclusiveTo(owner)) {
+        iterator.remove();
+        safeClose(block);
+        cancelled++;
+      }
+    }
+    return cancelled;
+  }
+
+  /**
+   * Removes the blocks that lie within a range and have been fetched from the BlockStore, freeing
+   * the memory they hold. Blocks that are still being fetched are kept, as they are about to be
+   * read, and so are blocks that only partially overlap the range.
+   *
+   * @param range the range to evict
+   * @return the number of blocks evicted
+   */
+  public int evict(Range range) {
+    return evict(range, null);
+  }
+
+  /**
+   * Removes the blocks that lie within a range and have been fetched for the given stream from the
+   * BlockStore. Blocks that another stream has joined are kept, as that stream may be about to
+   * read them.
+   *
+   * @param range the range to evict
+   * @param owner the stream evicting the range, null if the caller does not identify itself
+   * @return the number of blocks evicted
+   */
+  public int evict(Range range, Object owner) {
+    Preconditions.checkNotNull(range, "`range` must not be null");
+
+    int evicted = 0;
+    Iterator<Block> iterator = blocks.iterator();
+    while (iterator.hasNext()) {
+      Block block = iterator.next();
+      if (range.getStart() <= block.getStart()
+          && block.getEnd() <= range.getEnd()
+          && block.isDataReady()
+          && block.isExclusiveTo(owner)) {
+        iterator.remove();
+        safeClose(block);
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
   private long getLastObjectByte() {
     return this.metadataStore.get(s3URI).getContentLength() - 1;
   }
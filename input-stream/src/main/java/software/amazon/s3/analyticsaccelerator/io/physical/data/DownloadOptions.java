@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import lombok.Builder;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+
+/** Options controlling a download of an object to a local file by {@link ObjectDownloader}. */
+@Value
+@Builder
+public class DownloadOptions {
+  /** The byte range of the object to download. The whole object is downloaded when not set. */
+  Range range;
+
+  /**
+   * Whether to resume from a partially written file left behind by a previous, interrupted
+   * download of the same range. A fresh download is started when there is no progress file to
+   * resume from, or when the object has changed since, or has no ETag to tell.
+   */
+  @Builder.Default boolean resume = false;
+
+  /** Audit headers to be attached to the requests issued for the download. */
+  StreamContext streamContext;
+
+  /** Default set of options: download the whole object without resuming. */
+  public static final DownloadOptions DEFAULT = DownloadOptions.builder().build();
+}
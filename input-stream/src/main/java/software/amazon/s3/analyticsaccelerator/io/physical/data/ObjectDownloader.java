@@ -0,0 +1,351 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
+import software.amazon.s3.analyticsaccelerator.util.StreamUtils;
+
+/**
+ * Downloads an object, or a byte range of it, to a local file. The range is split into parts of
+ * {@link PhysicalIOConfiguration#getPartSizeBytes()}, the parts are fetched with parallel ranged
+ * GETs and each part is written to the file with positional writes as soon as it arrives.
+ *
+ * <p>The number of parts held in memory at any time is bounded by {@link
+ * PhysicalIOConfiguration#getDownloadMemoryBudgetBytes()}. The length of the contiguous prefix of
+ * the file written so far is recorded in a progress file next to the target, which allows a
+ * download to be resumed after an interruption. The progress file also records the ETag and length
+ * of the object and the range being downloaded. A download is only resumed from a progress file
+ * they all still match, so that two versions of an object are never spliced into one file, and the
+ * progress file is deleted once the download completes.
+ */
+public class ObjectDownloader {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectDownloader.class);
+  private static final String OPERATION_DOWNLOAD = "object.downloader.download";
+  private static final String OPERATION_DOWNLOAD_PART = "object.downloader.download.part";
+
+  static final String PROGRESS_FILE_SUFFIX = ".progress";
+
+  private final ObjectClient objectClient;
+  private final MetadataStore metadataStore;
+  private final Telemetry telemetry;
+  private final PhysicalIOConfiguration configuration;
+
+  /**
+   * Constructs a new ObjectDownloader.
+   *
+   * @param objectClient object client capable of interacting with the underlying object store
+   * @param metadataStore the metadata cache
+   * @param telemetry an instance of {@link Telemetry} to use
+   * @param configuration the physicalIO configuration
+   */
+  public ObjectDownloader(
+      @NonNull ObjectClient objectClient,
+      @NonNull MetadataStore metadataStore,
+      @NonNull Telemetry telemetry,
+      @NonNull PhysicalIOConfiguration configuration) {
+    this.objectClient = objectClient;
+    this.metadataStore = metadataStore;
+    this.telemetry = telemetry;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Downloads an object, or the byte range of it given in the options, to a local file. Byte
+   * <code>range.start + i</code> of the object is written at offset <code>i</code> of the file.
+   *
+   * @param s3URI the object to download
+   * @param target the file to write to
+   * @param options options controlling the download
+   * @return the number of bytes fetched from the object store by this call
+   * @throws IOException if the object cannot be fetched or the file cannot be written
+   */
+  public long download(
+      @NonNull S3URI s3URI, @NonNull Path target, @NonNull DownloadOptions options)
+      throws IOException {
+    ObjectMetadata metadata = metadataStore.get(s3URI);
+    long contentLength = metadata.getContentLength();
+
+    Range range = options.getRange();
+    if (range == null) {
+      if (contentLength == 0) {
+        FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING).close();
+        return 0;
+      }
+      range = new Range(0, contentLength - 1);
+    }
+    Preconditions.checkArgument(
+        range.getEnd() < contentLength,
+        "`range` must be within the object; %s is not within %s bytes",
+        range,
+        contentLength);
+
+    final Range rangeFinal = range;
+    return telemetry.measureStandard(
+        () ->
+            Operation.builder()
+                .name(OPERATION_DOWNLOAD)
+                .attribute(StreamAttributes.uri(s3URI))
+                .attribute(StreamAttributes.range(rangeFinal))
+                .build(),
+        () -> downloadRange(s3URI, target, rangeFinal, metadata, options));
+  }
+
+  private long downloadRange(
+      S3URI s3URI, Path target, Range range, ObjectMetadata metadata, DownloadOptions options)
+      throws IOException {
+    Path progressFile = Paths.get(target.toString() + PROGRESS_FILE_SUFFIX);
+    long length = range.getLength();
+    String version = version(metadata, range);
+    long resumeFrom =
+        options.isResume() ? resumePosition(target, progressFile, length, metadata, version) : 0;
+
+    if (resumeFrom == length) {
+      Files.deleteIfExists(progressFile);
+      return 0;
+    }
+
+    DownloadProgress progress = new DownloadProgress(progressFile, version, resumeFrom);
+    progress.persist();
+
+    try (FileChannel channel =
+        resumeFrom > 0
+            ? FileChannel.open(target, CREATE, WRITE)
+            : FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      long partSize = configuration.getPartSizeBytes();
+      List<Range> parts = splitParts(range.getStart() + resumeFrom, range.getEnd(), partSize);
+
+      // Every part in flight holds up to a part's worth of memory until it is written out
+      long maxPartsInFlight = Math.max(1, configuration.getDownloadMemoryBudgetBytes() / partSize);
+      Semaphore partsInFlight = new Semaphore((int) Math.min(maxPartsInFlight, parts.size()));
+      AtomicBoolean failed = new AtomicBoolean(false);
+
+      List<CompletableFuture<Void>> partFutures = new ArrayList<>(parts.size());
+      for (Range part : parts) {
+        if (failed.get()) {
+          break;
+        }
+
+        acquire(partsInFlight);
+        CompletableFuture<Void> partFuture =
+            downloadPart(
+                s3URI, part, range.getStart(), channel, progress, options.getStreamContext());
+        partFuture.whenComplete(
+            (result, throwable) -> {
+              if (throwable != null) {
+                failed.set(true);
+              }
+              partsInFlight.release();
+            });
+        partFutures.add(partFuture);
+      }
+
+      try {
+        CompletableFuture.allOf(partFutures.toArray(new CompletableFuture<?>[0])).join();
+      } catch (CompletionException e) {
+        LOG.warn("Unable to download {} to {}.", s3URI.getKey(), target, e);
+        throw toIOException(e.getCause());
+      }
+
+      channel.truncate(length);
+    }
+
+    Files.deleteIfExists(progressFile);
+    return length - resumeFrom;
+  }
+
+  private CompletableFuture<Void> downloadPart(
+      S3URI s3URI,
+      Range part,
+      long rangeStart,
+      FileChannel channel,
+      DownloadProgress progress,
+      StreamContext streamContext) {
+    long fileOffset = part.getStart() - rangeStart;
+
+    return telemetry
+        .measureCritical(
+            () ->
+                Operation.builder()
+                    .name(OPERATION_DOWNLOAD_PART)
+                    .attribute(StreamAttributes.uri(s3URI))
+                    .attribute(StreamAttributes.range(part))
+                    .build(),
+            objectClient.getObject(
+                GetRequest.builder()
+                    .s3Uri(s3URI)
+                    .range(part)
+                    .referrer(new Referrer(part.toHttpString(), ReadMode.SYNC))
+                    .build(),
+                streamContext))
+        .thenApply(StreamUtils::toByteArray)
+        .thenAccept(
+            data -> {
+              try {
+                if (data.length != part.getLength()) {
+                  throw new IOException(
+                      String.format(
+                          "Expected %s bytes for range %s but received %s",
+                          part.getLength(), part, data.length));
+                }
+                writeFully(channel, data, fileOffset);
+                progress.complete(fileOffset, data.length);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+  }
+
+  /**
+   * Determines how many bytes of the target are already in place. Only a progress file recorded
+   * for this version of the object and this range is trusted. Without one, nothing is known about
+   * the target, which may hold an older version of the object or an unrelated file. Progress
+   * recorded for an object without an ETag, whose version cannot be told, is discarded too.
+   */
+  private static long resumePosition(
+      Path target, Path progressFile, long length, ObjectMetadata metadata, String version)
+      throws IOException {
+    if (!Files.exists(target) || !Files.exists(progressFile)) {
+      return 0;
+    }
+
+    String[] lines =
+        new String(Files.readAllBytes(progressFile), StandardCharsets.UTF_8).trim().split("\n");
+    if (metadata.getEtag() == null || lines.length != 2 || !lines[1].equals(version)) {
+      LOG.info("Discarding download progress in {}, it is not for this object.", progressFile);
+      return 0;
+    }
+    try {
+      long written = Long.parseLong(lines[0]);
+      if (0 <= written && written <= length && written <= Files.size(target)) {
+        return written;
+      }
+    } catch (NumberFormatException e) {
+      LOG.warn("Ignoring unreadable download progress in {}.", progressFile, e);
+    }
+    return 0;
+  }
+
+  /** Splits a range into parts of at most partSize bytes, so that the memory budget holds. */
+  private static List<Range> splitParts(long start, long end, long partSize) {
+    List<Range> parts = new ArrayList<>();
+    for (long partStart = start; partStart <= end; partStart += partSize) {
+      parts.add(new Range(partStart, Math.min(partStart + partSize - 1, end)));
+    }
+    return parts;
+  }
+
+  /** Identifies the version of the object and the range of it that a progress file is for. */
+  private static String version(ObjectMetadata metadata, Range range) {
+    return String.format("%s %d %s", metadata.getEtag(), metadata.getContentLength(), range);
+  }
+
+  private static void writeFully(FileChannel channel, byte[] data, long position)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, position + buffer.position());
+    }
+  }
+
+  private static void acquire(Semaphore semaphore) throws IOException {
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to download the next part");
+    }
+  }
+
+  private static IOException toIOException(Throwable throwable) {
+    if (throwable instanceof UncheckedIOException) {
+      return ((UncheckedIOException) throwable).getCause();
+    } else if (throwable instanceof IOException) {
+      return (IOException) throwable;
+    }
+    return new IOException(throwable);
+  }
+
+  /**
+   * Tracks the contiguous prefix of the target that has been written and persists it, together with
+   * the version of the object it was written from.
+   */
+  private static final class DownloadProgress {
+    private final Path progressFile;
+    private final String version;
+    private final Map<Long, Long> completedParts = new HashMap<>();
+    private long written;
+
+    DownloadProgress(Path progressFile, String version, long written) {
+      this.progressFile = progressFile;
+      this.version = version;
+      this.written = written;
+    }
+
+    synchronized void complete(long offset, long length) throws IOException {
+      completedParts.put(offset, offset + length);
+
+      long previouslyWritten = written;
+      Long next;
+      while ((next = completedParts.remove(written)) != null) {
+        written = next;
+      }
+
+      if (written != previouslyWritten) {
+        persist();
+      }
+    }
+
+    synchronized void persist() throws IOException {
+      Files.write(progressFile, (written + "\n" + version).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+
+/**
+ * A cache of object tails (e.g. Parquet footers) shared across streams. Unlike blocks, which are
+ * evicted together with their {@link Blob}, tails are held here independently, keyed by object
+ * identity and evicted in LRU order once the total number of cached bytes exceeds the capacity.
+ */
+public class TailCache {
+  @Getter private final long capacityBytes;
+  private final Map<ObjectKey, byte[]> tails;
+  private long sizeBytes;
+
+  /**
+   * Constructs a new TailCache.
+   *
+   * @param configuration the PhysicalIO configuration
+   */
+  public TailCache(@NonNull PhysicalIOConfiguration configuration) {
+    this(configuration.getTailCacheCapacityBytes());
+  }
+
+  /**
+   * Constructs a new TailCache.
+   *
+   * @param capacityBytes the maximum number of bytes to cache; 0 disables caching
+   */
+  public TailCache(long capacityBytes) {
+    Preconditions.checkArgument(capacityBytes >= 0, "`capacityBytes` must not be negative");
+
+    this.capacityBytes = capacityBytes;
+    this.tails = new LinkedHashMap<>(16, 0.75f, true);
+    this.sizeBytes = 0;
+  }
+
+  /**
+   * Copies the last len bytes of an object into the provided buffer, if they are cached.
+   *
+   * @param objectKey the object to read the tail of
+   * @param buf buffer to read data into
+   * @param off start position in buffer at which data is written
+   * @param len the number of bytes to read
+   * @return true if the tail was served from the cache, false otherwise
+   */
+  public synchronized boolean readTail(
+      @NonNull ObjectKey objectKey, byte @NonNull [] buf, int off, int len) {
+    byte[] tail = tails.get(objectKey);
+    if (tail == null || tail.length < len) {
+      return false;
+    }
+
+    System.arraycopy(tail, tail.length - len, buf, off, len);
+    return true;
+  }
+
+  /**
+   * Caches the last len bytes of an object. A cached tail is only ever replaced by a longer one, as
+   * the longer tail can serve all reads the shorter one could.
+   *
+   * @param objectKey the object the tail belongs to
+   * @param buf buffer holding the tail
+   * @param off start position of the tail in the buffer
+   * @param len the length of the tail
+   */
+  public synchronized void put(
+      @NonNull ObjectKey objectKey, byte @NonNull [] buf, int off, int len) {
+    Preconditions.checkArgument(0 <= off, "`off` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+    Preconditions.checkArgument(off + len <= buf.length, "`len` must fit into the buffer");
+
+    if (len > capacityBytes) {
+      return;
+    }
+
+    byte[] existing = tails.get(objectKey);
+    if (existing != null) {
+      if (existing.length >= len) {
+        return;
+      }
+      sizeBytes -= existing.length;
+    }
+
+    byte[] tail = new byte[len];
+    System.arraycopy(buf, off, tail, 0, len);
+    tails.put(objectKey, tail);
+    sizeBytes += len;
+
+    Iterator<byte[]> eldest = tails.values().iterator();
+    while (sizeBytes > capacityBytes && eldest.hasNext()) {
+      sizeBytes -= eldest.next().length;
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Returns the total number of bytes currently cached.
+   *
+   * @return the total number of bytes currently cached
+   */
+  public synchronized long getSizeBytes() {
+    return sizeBytes;
+  }
+}
@@ -16,6 +16,7 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.impl;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.common.Preconditions;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Operation;
@@ -23,10 +24,12 @@ import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 import software.amazon.s3.analyticsaccelerator.util.StreamAttributes;
 
@@ -35,6 +38,7 @@ public class PhysicalIOImpl implements PhysicalIO {
   private final S3URI s3URI;
   private final MetadataStore metadataStore;
   private final BlobStore blobStore;
+  private final TailCache tailCache;
   private final Telemetry telemetry;
   private final StreamContext streamContext;
 
@@ -42,8 +46,11 @@ public class PhysicalIOImpl implements PhysicalIO {
 
   private static final String OPERATION_READ = "physical.io.read";
   private static final String OPERATION_EXECUTE = "physical.io.execute";
+  private static final String OPERATION_CANCEL = "physical.io.cancel";
+  private static final String OPERATION_EVICT = "physical.io.evict";
   private static final String FLAVOR_TAIL = "tail";
   private static final String FLAVOR_BYTE = "byte";
+  private static final String FLAVOR_TRANSFER = "transfer";
 
   /**
    * Construct a new instance of PhysicalIOV2.
@@ -76,9 +83,30 @@ public class PhysicalIOImpl implements PhysicalIO {
       @NonNull BlobStore blobStore,
       @NonNull Telemetry telemetry,
       StreamContext streamContext) {
+    this(s3URI, metadataStore, blobStore, new TailCache(0), telemetry, streamContext);
+  }
+
+  /**
+   * Construct a new instance of PhysicalIOV2.
+   *
+   * @param s3URI the S3 URI of the object
+   * @param metadataStore a metadata cache
+   * @param blobStore a data cache
+   * @param tailCache a cache of object tails shared across streams
+   * @param telemetry The {@link Telemetry} to use to report measurements.
+   * @param streamContext contains audit headers to be attached in the request header
+   */
+  public PhysicalIOImpl(
+      @NonNull S3URI s3URI,
+      @NonNull MetadataStore metadataStore,
+      @NonNull BlobStore blobStore,
+      @NonNull TailCache tailCache,
+      @NonNull Telemetry telemetry,
+      StreamContext streamContext) {
     this.s3URI = s3URI;
     this.metadataStore = metadataStore;
     this.blobStore = blobStore;
+    this.tailCache = tailCache;
     this.telemetry = telemetry;
     this.streamContext = streamContext;
   }
@@ -115,7 +143,7 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI, streamContext).read(pos));
+        () -> blobStore.get(s3URI, streamContext).read(pos, this));
   }
 
   /**
@@ -145,12 +173,14 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI, streamContext).read(buf, off, len, pos));
+        () -> blobStore.get(s3URI, streamContext).read(buf, off, len, pos, this));
   }
 
   /**
    * Reads the last n bytes from the stream into a byte buffer. Blocks until end of stream is
-   * reached. Leaves the position of the stream unaltered.
+   * reached. Leaves the position of the stream unaltered. Tails are served from, and added to, the
+   * {@link TailCache} shared across streams. Objects without an ETag bypass the cache, as a tail
+   * keyed by the URI alone could be served after the object is overwritten.
    *
    * @param buf buffer to read data into
    * @param off start position in buffer at which data is written
@@ -160,7 +190,11 @@ public class PhysicalIOImpl implements PhysicalIO {
   @Override
   public int readTail(byte[] buf, int off, int len) throws IOException {
     Preconditions.checkArgument(0 <= len, "`len` must not be negative");
-    long contentLength = contentLength();
+    ObjectMetadata metadata = metadata();
+    long contentLength = metadata.getContentLength();
+    // Without an ETag, the tail cannot be told apart from the tail of a later version
+    ObjectKey objectKey =
+        metadata.getEtag() == null ? null : ObjectKey.of(s3URI, metadata.getEtag());
     return telemetry.measureVerbose(
         () ->
             Operation.builder()
@@ -172,7 +206,48 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI, streamContext).read(buf, off, len, contentLength - len));
+        () -> {
+          if (objectKey != null && tailCache.readTail(objectKey, buf, off, len)) {
+            return len;
+          }
+
+          int bytesRead =
+              blobStore.get(s3URI, streamContext).read(buf, off, len, contentLength - len, this);
+          if (objectKey != null && bytesRead == len) {
+            tailCache.put(objectKey, buf, off, len);
+          }
+          return bytesRead;
+        });
+  }
+
+  /**
+   * Writes up to len bytes starting at the given position to the provided channel, pipelining the
+   * requests for the parts ahead of the one being written.
+   *
+   * @param pos the position to begin writing from
+   * @param len the maximum number of bytes to write
+   * @param target the channel to write data to
+   * @return the total number of bytes written to the channel
+   */
+  @Override
+  public long transferTo(long pos, long len, @NonNull WritableByteChannel target)
+      throws IOException {
+    Preconditions.checkArgument(0 <= pos, "`pos` must not be negative");
+    Preconditions.checkArgument(0 <= len, "`len` must not be negative");
+
+    return this.telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_READ)
+                .attribute(StreamAttributes.variant(FLAVOR_TRANSFER))
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(
+                    StreamAttributes.range(pos, pos + Math.min(len, contentLength() - pos) - 1))
+                .attribute(
+                    StreamAttributes.physicalIORelativeTimestamp(
+                        System.nanoTime() - physicalIOBirth))
+                .build(),
+        () -> blobStore.get(s3URI, streamContext).transferTo(pos, len, target, this));
   }
 
   /**
@@ -193,7 +268,44 @@ public class PhysicalIOImpl implements PhysicalIO {
                     StreamAttributes.physicalIORelativeTimestamp(
                         System.nanoTime() - physicalIOBirth))
                 .build(),
-        () -> blobStore.get(s3URI, streamContext).execute(ioPlan));
+        () -> blobStore.get(s3URI, streamContext).execute(ioPlan, this));
+  }
+
+  /**
+   * Cancels the ranges of a previously executed plan that have not been fetched yet. The data of
+   * an object is shared by all of its streams, so ranges another stream has also requested or read
+   * are left to be fetched.
+   *
+   * @param ioPlan the plan to cancel
+   */
+  @Override
+  public void cancel(IOPlan ioPlan) {
+    telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_CANCEL)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.ioPlan(ioPlan))
+                .build(),
+        () -> blobStore.get(s3URI, streamContext).cancel(ioPlan, this));
+  }
+
+  /**
+   * Drops the fetched data of the ranges of a plan. Ranges another stream of the object has also
+   * requested or read are kept, as that stream may still read them.
+   *
+   * @param ioPlan the plan whose ranges to drop
+   */
+  @Override
+  public void evict(IOPlan ioPlan) {
+    telemetry.measureVerbose(
+        () ->
+            Operation.builder()
+                .name(OPERATION_EVICT)
+                .attribute(StreamAttributes.uri(this.s3URI))
+                .attribute(StreamAttributes.ioPlan(ioPlan))
+                .build(),
+        () -> blobStore.get(s3URI, streamContext).evict(ioPlan, this));
   }
 
   private long contentLength() {
@@ -18,5 +18,10 @@ package software.amazon.s3.analyticsaccelerator.util;
 /** Enum for file formats. */
 public enum ObjectFormat {
   PARQUET,
+  ORC,
+  TEXT,
+  ARROW,
+  COMPRESSED,
+  LAKEHOUSE_METADATA,
   DEFAULT
 }
@@ -15,23 +15,109 @@
  */
 package software.amazon.s3.analyticsaccelerator.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOProvider;
 
-/** A LogicalIO factory based on S3URI file extensions. */
+/**
+ * A LogicalIO factory based on S3URI file extensions. Formats that are not built in are selected by
+ * the {@link LogicalIOProvider}s found on the classpath.
+ */
 public class ObjectFormatSelector {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectFormatSelector.class);
 
+  private final LogicalIOConfiguration configuration;
   private final Pattern parquetPattern;
+  private final Pattern orcPattern;
+  private final Pattern textPattern;
+  private final Pattern arrowPattern;
+  private final Pattern compressedPattern;
+  private final Pattern lakehouseMetadataPattern;
+  private final List<LogicalIOProvider> logicalIOProviders;
 
   /**
    * Creates a new instance of {@ObjectFormatSelector}. Used to select the file format of a
-   * particular object key.
+   * particular object key. If logicalIOProvidersEnabled is set in {@link LogicalIOConfiguration},
+   * the {@link LogicalIOProvider}s on the classpath are loaded.
    *
    * @param configuration LogicalIO configuration.
    */
   public ObjectFormatSelector(LogicalIOConfiguration configuration) {
+    this(
+        configuration,
+        configuration.isLogicalIOProvidersEnabled()
+            ? loadLogicalIOProviders()
+            : Collections.emptyList());
+  }
+
+  /**
+   * Creates a new instance of {@ObjectFormatSelector} with the given {@link LogicalIOProvider}s.
+   *
+   * @param configuration LogicalIO configuration.
+   * @param logicalIOProviders the providers to select formats that are not built in with
+   */
+  public ObjectFormatSelector(
+      @NonNull LogicalIOConfiguration configuration,
+      @NonNull List<LogicalIOProvider> logicalIOProviders) {
+    this.configuration = configuration;
+    this.logicalIOProviders = Collections.unmodifiableList(new ArrayList<>(logicalIOProviders));
     this.parquetPattern =
         Pattern.compile(configuration.getParquetFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.orcPattern =
+        Pattern.compile(configuration.getOrcFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.textPattern =
+        Pattern.compile(configuration.getTextFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.arrowPattern =
+        Pattern.compile(configuration.getArrowFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.compressedPattern =
+        Pattern.compile(configuration.getCompressedFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+    this.lakehouseMetadataPattern =
+        Pattern.compile(
+            configuration.getLakehouseMetadataFormatSelectorRegex(), Pattern.CASE_INSENSITIVE);
+  }
+
+  /**
+   * Returns the first {@link LogicalIOProvider} that supports the object. Providers are asked
+   * before the built-in formats are selected, so they can also replace the LogicalIO of a built-in
+   * format. A provider that fails to answer is skipped.
+   *
+   * @param s3URI the object's S3 URI
+   * @return the provider to create the LogicalIO of the object with, if any
+   */
+  public Optional<LogicalIOProvider> getLogicalIOProvider(@NonNull S3URI s3URI) {
+    for (LogicalIOProvider logicalIOProvider : logicalIOProviders) {
+      try {
+        if (logicalIOProvider.supports(s3URI, configuration)) {
+          return Optional.of(logicalIOProvider);
+        }
+      } catch (Exception e) {
+        LOG.warn(
+            "LogicalIO provider {} failed to select {}.",
+            logicalIOProvider.getClass().getName(),
+            s3URI.getKey(),
+            e);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the {@link LogicalIOProvider}s this selector asks, in order.
+   *
+   * @return the providers of this selector
+   */
+  public List<LogicalIOProvider> getLogicalIOProviders() {
+    return logicalIOProviders;
   }
 
   /**
@@ -41,10 +127,58 @@ public class ObjectFormatSelector {
    * @return the file format of the object
    */
   public ObjectFormat getObjectFormat(S3URI s3URI) {
+    // Table metadata is matched by its location, as its JSON files would otherwise be read as text
+    if (lakehouseMetadataPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.LAKEHOUSE_METADATA;
+    }
+
     if (parquetPattern.matcher(s3URI.getKey()).find()) {
       return ObjectFormat.PARQUET;
     }
 
+    if (orcPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.ORC;
+    }
+
+    if (textPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.TEXT;
+    }
+
+    if (arrowPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.ARROW;
+    }
+
+    // Reading the uncompressed content changes what the stream returns, so it has to be enabled
+    if (configuration.isSeekableCompressionEnabled()
+        && compressedPattern.matcher(s3URI.getKey()).find()) {
+      return ObjectFormat.COMPRESSED;
+    }
+
     return ObjectFormat.DEFAULT;
   }
+
+  /**
+   * Loads the {@link LogicalIOProvider}s registered with {@link ServiceLoader} in the context class
+   * loader. Providers that cannot be loaded are logged and skipped, so a broken plugin does not
+   * prevent streams from being opened.
+   *
+   * @return the providers found on the classpath
+   */
+  static List<LogicalIOProvider> loadLogicalIOProviders() {
+    List<LogicalIOProvider> logicalIOProviders = new ArrayList<>();
+    Iterator<LogicalIOProvider> iterator = ServiceLoader.load(LogicalIOProvider.class).iterator();
+    while (true) {
+      try {
+        if (!iterator.hasNext()) {
+          break;
+        }
+        LogicalIOProvider logicalIOProvider = iterator.next();
+        LOG.debug("Loaded LogicalIO provider {}.", logicalIOProvider.getClass().getName());
+        logicalIOProviders.add(logicalIOProvider);
+      } catch (ServiceConfigurationError e) {
+        LOG.warn("Unable to load a LogicalIO provider.", e);
+      }
+    }
+    return logicalIOProviders;
+  }
 }
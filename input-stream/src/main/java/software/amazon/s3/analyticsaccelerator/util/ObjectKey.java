@@ -0,0 +1,32 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Identifies a specific version of an object by its location and entity tag. Caches that outlive a
+ * single stream use this as their key, so that content cached for an overwritten object is never
+ * served for the new one.
+ */
+@Value(staticConstructor = "of")
+public class ObjectKey {
+  @NonNull S3URI s3URI;
+
+  /** The entity tag of the object; null when it is not known. */
+  String etag;
+}
@@ -158,7 +158,7 @@ public enum StreamAttributes {
    * @param len the length to record
    * @return The new instance of the {@link Attribute}
    */
-  public static Attribute logicalReadLength(int len) {
+  public static Attribute logicalReadLength(long len) {
     return Attribute.of(StreamAttributes.LOGICAL_READ_LENGTH.getName(), len);
   }
 
@@ -20,6 +20,12 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import lombok.NonNull;
 import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
 
 /** Utility class for stream operations. */
@@ -49,4 +55,55 @@ public class StreamUtils {
 
     return outStream.toByteArray();
   }
+
+  /**
+   * Wraps an OutputStream into a WritableByteChannel. Unlike {@link
+   * Channels#newChannel(OutputStream)}, heap buffers are written straight from their backing array
+   * rather than being copied through an intermediate buffer.
+   *
+   * @param outputStream the stream to write to
+   * @return a channel writing to the given stream
+   */
+  public static WritableByteChannel toWritableByteChannel(@NonNull OutputStream outputStream) {
+    return new OutputStreamChannel(outputStream);
+  }
+
+  /** A {@link WritableByteChannel} backed by an {@link OutputStream}. */
+  private static class OutputStreamChannel implements WritableByteChannel {
+    private final OutputStream outputStream;
+    private final WritableByteChannel fallback;
+    private boolean open = true;
+
+    OutputStreamChannel(OutputStream outputStream) {
+      this.outputStream = outputStream;
+      this.fallback = Channels.newChannel(outputStream);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      if (!open) {
+        throw new ClosedChannelException();
+      }
+
+      if (!src.hasArray()) {
+        return fallback.write(src);
+      }
+
+      int length = src.remaining();
+      outputStream.write(src.array(), src.arrayOffset() + src.position(), length);
+      src.position(src.position() + length);
+      return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    /** Closing the channel does not close the underlying stream, which is owned by the caller. */
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
 }
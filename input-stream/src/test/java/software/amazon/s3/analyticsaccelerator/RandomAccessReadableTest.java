@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class RandomAccessReadableTest {
+  private static final byte[] TEST_DATA = "test-data-0123456789".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void testDefaultTransferToWritesReadBytes() throws IOException {
+    // Given: a readable implementing only the reads
+    RandomAccessReadable readable = getTestReadable();
+
+    // When: ranges of it are transferred
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    WritableByteChannel channel = Channels.newChannel(outputStream);
+    long written = readable.transferTo(5, 4, channel);
+    long writtenToEnd = readable.transferTo(10, Long.MAX_VALUE, channel);
+
+    // Then: the bytes of the ranges are written, up to the end of the object
+    assertEquals(4, written);
+    assertEquals(10, writtenToEnd);
+    assertEquals("data0123456789", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    assertEquals(0, readable.transferTo(TEST_DATA.length, 4, channel));
+    assertEquals(0, readable.transferTo(0, 0, channel));
+  }
+
+  @Test
+  void testDefaultTransferToValidatesArguments() {
+    RandomAccessReadable readable = getTestReadable();
+    WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+    assertThrows(IllegalArgumentException.class, () -> readable.transferTo(-1, 1, channel));
+    assertThrows(IllegalArgumentException.class, () -> readable.transferTo(0, -1, channel));
+    assertThrows(NullPointerException.class, () -> readable.transferTo(0, 1, null));
+  }
+
+  @SneakyThrows
+  private static RandomAccessReadable getTestReadable() {
+    RandomAccessReadable readable = mock(RandomAccessReadable.class, CALLS_REAL_METHODS);
+    doReturn(ObjectMetadata.builder().contentLength(TEST_DATA.length).build())
+        .when(readable)
+        .metadata();
+    doAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              // Short reads, as the default transferTo has to handle them
+              int read = (int) Math.min(Math.min(length, 3), TEST_DATA.length - position);
+              System.arraycopy(TEST_DATA, (int) position, buffer, offset, read);
+              return read;
+            })
+        .when(readable)
+        .read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    return readable;
+  }
+}
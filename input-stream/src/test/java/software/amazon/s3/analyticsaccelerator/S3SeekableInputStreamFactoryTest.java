@@ -19,12 +19,32 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+import software.amazon.s3.analyticsaccelerator.io.logical.FakeLogicalIOProvider;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ArrowLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.CompressedLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.LakehouseMetadataLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcLogicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.TextLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.DownloadOptions;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -40,6 +60,7 @@ public class S3SeekableInputStreamFactoryTest {
         S3SeekableInputStreamConfiguration.DEFAULT,
         s3SeekableInputStreamFactory.getConfiguration());
     assertEquals(objectClient, s3SeekableInputStreamFactory.getObjectClient());
+    assertNotNull(s3SeekableInputStreamFactory.getPrefetchExecutor());
   }
 
   @Test
@@ -76,6 +97,36 @@ public class S3SeekableInputStreamFactoryTest {
     assertNotNull(inputStream);
   }
 
+  @Test
+  void testCreateStreamWithOpenStreamOptions() {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class),
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().prefetchFooterEnabled(false).build())
+                .build());
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .streamContext(mock(StreamContext.class))
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 10)))
+            .build();
+
+    S3SeekableInputStream inputStream =
+        s3SeekableInputStreamFactory.createStream(
+            S3URI.of("bucket", "key.parquet"), openStreamOptions);
+    assertNotNull(inputStream);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.parquet"), openStreamOptions)
+            instanceof ParquetLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.txt"), openStreamOptions)
+            instanceof DefaultLogicalIOImpl);
+  }
+
   @Test
   void testCreateStreamWithContentLength() {
     S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
@@ -125,6 +176,19 @@ public class S3SeekableInputStreamFactoryTest {
         () -> {
           s3SeekableInputStreamFactory.createStream(null, mock(StreamContext.class));
         });
+
+    assertThrows(
+        NullPointerException.class,
+        () -> {
+          s3SeekableInputStreamFactory.createStream(null, OpenStreamOptions.DEFAULT);
+        });
+
+    assertThrows(
+        NullPointerException.class,
+        () -> {
+          s3SeekableInputStreamFactory.createStream(
+              S3URI.of("bucket", "key"), (OpenStreamOptions) null);
+        });
   }
 
   @Test
@@ -145,6 +209,18 @@ public class S3SeekableInputStreamFactoryTest {
         s3SeekableInputStreamFactory.createLogicalIO(
                 S3URI.of("bucket", "key.par"), mock(StreamContext.class))
             instanceof ParquetLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.orc"), mock(StreamContext.class))
+            instanceof OrcLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.csv"), mock(StreamContext.class))
+            instanceof TextLogicalIOImpl);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.arrow"), mock(StreamContext.class))
+            instanceof ArrowLogicalIOImpl);
 
     assertTrue(
         s3SeekableInputStreamFactory.createLogicalIO(
@@ -156,6 +232,147 @@ public class S3SeekableInputStreamFactoryTest {
             instanceof DefaultLogicalIOImpl);
   }
 
+  @Test
+  void testCreateLogicalIOForSeekableCompressedObjects() {
+    S3SeekableInputStreamConfiguration configuration =
+        S3SeekableInputStreamConfiguration.builder()
+            .logicalIOConfiguration(
+                LogicalIOConfiguration.builder().seekableCompressionEnabled(true).build())
+            .build();
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(mock(ObjectClient.class), configuration);
+
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.bgz"), mock(StreamContext.class))
+            instanceof CompressedLogicalIOImpl);
+  }
+
+  @Test
+  void testCreateLogicalIOForLakehouseMetadata() {
+    // Given
+    String content = "{\"commitInfo\":{}}";
+    FakeObjectClient objectClient = new FakeObjectClient(content, "etag");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(objectClient, S3SeekableInputStreamConfiguration.DEFAULT);
+    S3URI s3URI = S3URI.of("bucket", "table/_delta_log/00000000000000000000.json");
+
+    // When: the same object is opened twice
+    LogicalIO first = s3SeekableInputStreamFactory.createLogicalIO(s3URI);
+    LogicalIO second = s3SeekableInputStreamFactory.createLogicalIO(s3URI);
+
+    // Then: it is fetched whole once, as its ETag is unchanged, and it is kept in the lakehouse
+    // metadata store rather than in the tail cache
+    assertTrue(first instanceof LakehouseMetadataLogicalIOImpl);
+    assertTrue(second instanceof LakehouseMetadataLogicalIOImpl);
+    assertEquals(1, objectClient.getGetRequestCount().get());
+    assertEquals(0, s3SeekableInputStreamFactory.getTailCache().getSizeBytes());
+    assertEquals(
+        content.length(), s3SeekableInputStreamFactory.getLakehouseMetadataStore().getSizeBytes());
+  }
+
+  @Test
+  void testCreateStreams() throws IOException {
+    // Given
+    FakeObjectClient objectClient = new FakeObjectClient("{\"commitInfo\":{}}");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(objectClient, S3SeekableInputStreamConfiguration.DEFAULT);
+    List<S3URI> s3URIs =
+        Arrays.asList(
+            S3URI.of("bucket", "a/_delta_log/00000000000000000000.json"),
+            S3URI.of("bucket", "b/metadata/snap-1.avro"),
+            S3URI.of("bucket", "c/data.csv"));
+
+    // When
+    List<S3SeekableInputStream> streams = s3SeekableInputStreamFactory.createStreams(s3URIs);
+
+    // Then: the streams are not opened on the prefetch executor shared with other streams
+    assertEquals(s3URIs.size(), streams.size());
+    assertEquals(0, s3SeekableInputStreamFactory.getPrefetchExecutor().getCompletedTaskCount());
+    for (S3SeekableInputStream stream : streams) {
+      byte[] buffer = new byte[17];
+      assertEquals(buffer.length, stream.read(buffer, 0, buffer.length));
+      assertEquals("{\"commitInfo\":{}}", new String(buffer, StandardCharsets.UTF_8));
+      stream.close();
+    }
+  }
+
+  @Test
+  void testCreateStreamsThrowsOnNull() {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
+
+    assertThrows(
+        NullPointerException.class, () -> s3SeekableInputStreamFactory.createStreams(null));
+    assertThrows(
+        NullPointerException.class,
+        () -> s3SeekableInputStreamFactory.createStreams(Collections.emptyList(), null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> s3SeekableInputStreamFactory.createStreams(Collections.singletonList(null)));
+  }
+
+  @Test
+  void testCreateLogicalIOWithLogicalIOProvider() {
+    // Given: the tests register FakeLogicalIOProvider, which supports keys ending with ".fake"
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
+    S3SeekableInputStreamFactory disabledFactory =
+        new S3SeekableInputStreamFactory(
+            mock(ObjectClient.class),
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().logicalIOProvidersEnabled(false).build())
+                .build());
+
+    // When & Then
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.fake"), mock(StreamContext.class))
+            instanceof FakeLogicalIOProvider.FakeLogicalIO);
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "key.parquet"), mock(StreamContext.class))
+            instanceof ParquetLogicalIOImpl);
+    assertFalse(
+        disabledFactory.createLogicalIO(S3URI.of("bucket", "key.fake"), mock(StreamContext.class))
+            instanceof FakeLogicalIOProvider.FakeLogicalIO);
+  }
+
+  @Test
+  void testCreateLogicalIODetectsFormatOfKeysWithoutExtension() {
+    // Given: an extension-less Parquet object, a factory with format detection enabled and one
+    // with the default configuration
+    FakeObjectClient parquetObjectClient = new FakeObjectClient("0123456789PAR1");
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            parquetObjectClient,
+            S3SeekableInputStreamConfiguration.builder()
+                .logicalIOConfiguration(
+                    LogicalIOConfiguration.builder().formatDetectionEnabled(true).build())
+                .build());
+    FakeObjectClient disabledObjectClient = new FakeObjectClient("0123456789PAR1");
+    S3SeekableInputStreamFactory disabledFactory =
+        new S3SeekableInputStreamFactory(
+            disabledObjectClient, S3SeekableInputStreamConfiguration.DEFAULT);
+
+    // When & Then: the format is detected from the tail, with the one request the footer needs
+    assertTrue(
+        s3SeekableInputStreamFactory.createLogicalIO(
+                S3URI.of("bucket", "dir/part-00000"), mock(StreamContext.class))
+            instanceof ParquetLogicalIOImpl);
+    assertEquals(1, parquetObjectClient.getGetRequestCount().get());
+    assertEquals(
+        DefaultLogicalIOImpl.class,
+        disabledFactory
+            .createLogicalIO(S3URI.of("bucket", "dir/part-00000"), mock(StreamContext.class))
+            .getClass());
+    assertEquals(0, disabledObjectClient.getHeadRequestCount().get());
+    assertEquals(0, disabledObjectClient.getGetRequestCount().get());
+  }
+
   @Test
   void testClose() {
     S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
@@ -163,4 +380,22 @@ public class S3SeekableInputStreamFactoryTest {
             mock(ObjectClient.class), S3SeekableInputStreamConfiguration.DEFAULT);
     assertDoesNotThrow(() -> s3SeekableInputStreamFactory.close());
   }
+
+  @Test
+  void testDownloadToFile(@TempDir Path tempDir) throws IOException {
+    S3SeekableInputStreamFactory s3SeekableInputStreamFactory =
+        new S3SeekableInputStreamFactory(
+            new FakeObjectClient("test-data"), S3SeekableInputStreamConfiguration.DEFAULT);
+    Path target = tempDir.resolve("object");
+
+    assertEquals(9, s3SeekableInputStreamFactory.downloadToFile(S3URI.of("bucket", "key"), target));
+    assertEquals("test-data", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+    assertEquals(
+        4,
+        s3SeekableInputStreamFactory.downloadToFile(
+            S3URI.of("bucket", "key"),
+            target,
+            DownloadOptions.builder().range(new Range(5, 8)).build()));
+    assertEquals("data", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+  }
 }
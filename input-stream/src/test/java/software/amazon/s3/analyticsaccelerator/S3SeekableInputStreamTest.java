@@ -20,8 +20,10 @@ import static org.mockito.Mockito.*;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -373,7 +375,8 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
                           physicalIO,
                           TestTelemetry.DEFAULT,
                           LogicalIOConfiguration.DEFAULT,
-                          new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT));
+                          new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                          PREFETCH_EXECUTOR);
                   try (SeekableInputStream stream =
                       new S3SeekableInputStream(TEST_URI, logicalIO, TestTelemetry.DEFAULT)) {
                     byte[] buffer = new byte[4];
@@ -441,6 +444,47 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
         IndexOutOfBoundsException.class, () -> seekableInputStream.readTail(new byte[0], 0, 8), -1);
   }
 
+  @Test
+  public void testTransferToWritesRemainingBytes() throws IOException {
+    // Given: a stream positioned past its start
+    S3SeekableInputStream seekableInputStream = getTestStream();
+    seekableInputStream.seek(5);
+
+    // When: the rest of the stream is transferred
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long transferred = seekableInputStream.transferTo(outputStream);
+
+    // Then: the remaining bytes are written and the stream is at its end
+    assertEquals(TEST_DATA.length() - 5, transferred);
+    assertEquals(
+        TEST_DATA.substring(5), new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    assertEquals(TEST_DATA.length(), seekableInputStream.getPos());
+    assertEquals(0, seekableInputStream.transferTo(outputStream));
+    assertEquals(-1, seekableInputStream.read());
+  }
+
+  @Test
+  public void testTransferToChannel() throws IOException {
+    // Given: a stream
+    S3SeekableInputStream seekableInputStream = getTestStream();
+
+    // When: the stream is transferred to a channel
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long transferred = seekableInputStream.transferTo(Channels.newChannel(outputStream));
+
+    // Then: all bytes are written
+    assertEquals(TEST_DATA.length(), transferred);
+    assertEquals(TEST_DATA, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testTransferToOnClosedStream() throws IOException {
+    S3SeekableInputStream seekableInputStream = getTestStream();
+    seekableInputStream.close();
+    assertThrows(
+        IOException.class, () -> seekableInputStream.transferTo(new ByteArrayOutputStream()));
+  }
+
   private S3SeekableInputStream getTestStream() {
     return new S3SeekableInputStream(TEST_URI, fakeLogicalIO, TestTelemetry.DEFAULT);
   }
@@ -463,7 +507,8 @@ public class S3SeekableInputStreamTest extends S3SeekableInputStreamTestBase {
             new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT),
             TestTelemetry.DEFAULT,
             LogicalIOConfiguration.DEFAULT,
-            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)),
+            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+            PREFETCH_EXECUTOR),
         TestTelemetry.DEFAULT);
   }
 }
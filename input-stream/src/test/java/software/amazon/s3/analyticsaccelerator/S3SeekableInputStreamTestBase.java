@@ -19,6 +19,7 @@ import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIO;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.PrefetchExecutor;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
@@ -30,6 +31,8 @@ public class S3SeekableInputStreamTestBase {
 
   protected static final String TEST_DATA = "test-data12345678910";
   protected static final S3URI TEST_OBJECT = S3URI.of("bucket", "key");
+  protected static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
 
   protected final PhysicalIOConfiguration physicalIOConfiguration = PhysicalIOConfiguration.DEFAULT;
   protected final FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
@@ -46,5 +49,6 @@ public class S3SeekableInputStreamTestBase {
           new PhysicalIOImpl(TEST_OBJECT, metadataStore, blobStore, TestTelemetry.DEFAULT),
           TestTelemetry.DEFAULT,
           logicalIOConfiguration,
-          new ParquetColumnPrefetchStore(logicalIOConfiguration));
+          new ParquetColumnPrefetchStore(logicalIOConfiguration),
+          PREFETCH_EXECUTOR);
 }
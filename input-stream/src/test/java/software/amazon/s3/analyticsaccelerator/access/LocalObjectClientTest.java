@@ -0,0 +1,202 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class LocalObjectClientTest {
+  private static final String TEST_DATA = "test-data-0123456789";
+  private static final S3URI TEST_URI = S3URI.of("bucket", "dir/key");
+
+  @Test
+  void testConstructorValidatesArguments(@TempDir Path root) {
+    assertThrows(NullPointerException.class, () -> new LocalObjectClient(null, 0));
+    assertThrows(IllegalArgumentException.class, () -> new LocalObjectClient(root, -1));
+  }
+
+  @Test
+  void testHeadAndGet(@TempDir Path root) throws IOException {
+    // Given
+    writeObject(root, TEST_DATA);
+
+    try (LocalObjectClient localObjectClient = new LocalObjectClient(root, 0)) {
+      // When
+      ObjectMetadata metadata = head(localObjectClient);
+      ObjectContent objectContent = localObjectClient.getObject(getRequest(5, 8)).join();
+
+      // Then
+      assertEquals(TEST_DATA.length(), metadata.getContentLength());
+      assertArrayEquals(bytes("data"), readAll(objectContent.getStream()));
+    }
+  }
+
+  @Test
+  void testRangeIsClippedToTheEndOfTheObject(@TempDir Path root) throws IOException {
+    // Given
+    writeObject(root, TEST_DATA);
+
+    try (LocalObjectClient localObjectClient = new LocalObjectClient(root, 0)) {
+      // When: the range ends past the end of the object
+      ObjectContent objectContent = localObjectClient.getObject(getRequest(15, 100)).join();
+
+      // Then: like S3, the bytes up to the end of the object are returned
+      assertArrayEquals(bytes("56789"), readAll(objectContent.getStream()));
+    }
+  }
+
+  @Test
+  void testUnsatisfiableRangeFails(@TempDir Path root) throws IOException {
+    // Given
+    writeObject(root, TEST_DATA);
+
+    try (LocalObjectClient localObjectClient = new LocalObjectClient(root, 0)) {
+      // When: the range starts at the end of the object
+      CompletableFuture<ObjectContent> objectContent =
+          localObjectClient.getObject(getRequest(TEST_DATA.length(), TEST_DATA.length() + 10));
+
+      // Then
+      CompletionException completionException =
+          assertThrows(CompletionException.class, objectContent::join);
+      assertInstanceOf(IOException.class, completionException.getCause());
+    }
+  }
+
+  @Test
+  void testKeysResolvingOutsideOfTheRootAreRejected(@TempDir Path root) throws IOException {
+    // Given: a key climbing out of its bucket and of the root
+    S3URI outside = S3URI.of("bucket", "../../secret");
+
+    try (LocalObjectClient localObjectClient = new LocalObjectClient(root.resolve("root"), 0)) {
+      // When & Then
+      assertThrows(IllegalArgumentException.class, () -> localObjectClient.resolve(outside));
+      CompletionException completionException =
+          assertThrows(
+              CompletionException.class,
+              () ->
+                  localObjectClient
+                      .headObject(HeadRequest.builder().s3Uri(outside).build())
+                      .join());
+      assertInstanceOf(IllegalArgumentException.class, completionException.getCause());
+    }
+  }
+
+  @Test
+  void testEtagChangesWhenTheObjectIsRewritten(@TempDir Path root) throws IOException {
+    // Given
+    Path path = writeObject(root, TEST_DATA);
+    Files.setLastModifiedTime(path, FileTime.fromMillis(1_000_000));
+
+    try (LocalObjectClient localObjectClient = new LocalObjectClient(root, 0)) {
+      String etag = head(localObjectClient).getEtag();
+
+      // When: the object is rewritten with a different size, then with the same size
+      writeObject(root, TEST_DATA + "-v2");
+      Files.setLastModifiedTime(path, FileTime.fromMillis(1_000_000));
+      String resizedEtag = head(localObjectClient).getEtag();
+      writeObject(root, TEST_DATA);
+      Files.setLastModifiedTime(path, FileTime.fromMillis(2_000_000));
+      String rewrittenEtag = head(localObjectClient).getEtag();
+
+      // Then: every version has its own ETag
+      assertNotEquals(etag, resizedEtag);
+      assertNotEquals(etag, rewrittenEtag);
+      assertNotEquals(resizedEtag, rewrittenEtag);
+    }
+  }
+
+  @Test
+  void testCloseFailsPendingRequests(@TempDir Path root) throws IOException {
+    // Given: a request that is not completed before a minute
+    writeObject(root, TEST_DATA);
+    LocalObjectClient localObjectClient = new LocalObjectClient(root, 60_000);
+    CompletableFuture<ObjectMetadata> metadata =
+        localObjectClient.headObject(HeadRequest.builder().s3Uri(TEST_URI).build());
+
+    // When
+    localObjectClient.close();
+
+    // Then: the pending request and the requests made afterwards fail
+    CompletionException completionException =
+        assertThrows(CompletionException.class, metadata::join);
+    assertInstanceOf(IOException.class, completionException.getCause());
+    completionException =
+        assertThrows(CompletionException.class, () -> head(localObjectClient));
+    assertInstanceOf(IOException.class, completionException.getCause());
+  }
+
+  private static ObjectMetadata head(LocalObjectClient localObjectClient) {
+    return localObjectClient.headObject(HeadRequest.builder().s3Uri(TEST_URI).build()).join();
+  }
+
+  private static GetRequest getRequest(long start, long end) {
+    Range range = new Range(start, end);
+    return GetRequest.builder()
+        .s3Uri(TEST_URI)
+        .range(range)
+        .referrer(new Referrer(range.toHttpString(), ReadMode.SYNC))
+        .build();
+  }
+
+  @SneakyThrows
+  private static Path writeObject(Path root, String data) {
+    Path path = root.resolve(TEST_URI.getBucket()).resolve(TEST_URI.getKey());
+    Files.createDirectories(path.getParent());
+    return Files.write(path, bytes(data));
+  }
+
+  private static byte[] bytes(String data) {
+    return data.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] readAll(InputStream inputStream) throws IOException {
+    byte[] buffer = new byte[100];
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    int read;
+    while ((read = inputStream.read(buffer)) > 0) {
+      outputStream.write(buffer, 0, read);
+    }
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SimulatedObjectClientTest {
+  private static final String TEST_DATA = "test-data-0123456789";
+  private static final S3URI TEST_URI = S3URI.of("bucket", "key");
+
+  @Test
+  void testConstructorValidatesArguments() {
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+
+    assertThrows(
+        NullPointerException.class,
+        () -> new SimulatedObjectClient(null, SimulatedObjectClientConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class, () -> new SimulatedObjectClient(fakeObjectClient, null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new SimulatedObjectClient(
+                fakeObjectClient,
+                SimulatedObjectClientConfiguration.builder().errorProbability(1.5).build()));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new SimulatedObjectClient(
+                fakeObjectClient,
+                SimulatedObjectClientConfiguration.builder().firstByteLatencyMedianMs(-1).build()));
+  }
+
+  @Test
+  void testDefaultConfigurationPassesThrough() throws IOException {
+    // Given: a simulation that does not simulate anything
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    assertFalse(SimulatedObjectClientConfiguration.DEFAULT.isEnabled());
+
+    try (SimulatedObjectClient simulatedObjectClient =
+        new SimulatedObjectClient(fakeObjectClient, SimulatedObjectClientConfiguration.DEFAULT)) {
+      // When: requests are made
+      long contentLength =
+          simulatedObjectClient
+              .headObject(HeadRequest.builder().s3Uri(TEST_URI).build())
+              .join()
+              .getContentLength();
+      InputStream inputStream =
+          simulatedObjectClient.getObject(getRequest(0, 3)).join().getStream();
+
+      // Then: the delegate answers them unchanged
+      assertEquals(TEST_DATA.length(), contentLength);
+      assertArrayEquals("test".getBytes(StandardCharsets.UTF_8), readAll(inputStream));
+      assertEquals(1, fakeObjectClient.getHeadRequestCount().get());
+      assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+    }
+  }
+
+  @Test
+  void testSameSeedReplaysSameRequests() throws IOException {
+    // Given: two simulations with the same seed and one with a different seed
+    SimulatedObjectClientConfiguration configuration = seededConfiguration(42);
+    SimulatedObjectClientConfiguration otherConfiguration = seededConfiguration(43);
+
+    try (SimulatedObjectClient first =
+            new SimulatedObjectClient(new FakeObjectClient(TEST_DATA), configuration);
+        SimulatedObjectClient second =
+            new SimulatedObjectClient(new FakeObjectClient(TEST_DATA), configuration);
+        SimulatedObjectClient other =
+            new SimulatedObjectClient(new FakeObjectClient(TEST_DATA), otherConfiguration)) {
+      // When: the same number of requests is drawn
+      List<SimulatedObjectClient.SimulatedRequest> firstRequests = nextRequests(first, 100);
+      List<SimulatedObjectClient.SimulatedRequest> secondRequests = nextRequests(second, 100);
+      List<SimulatedObjectClient.SimulatedRequest> otherRequests = nextRequests(other, 100);
+
+      // Then: the same seed yields the same behaviour
+      assertEquals(firstRequests, secondRequests);
+      assertNotEquals(firstRequests, otherRequests);
+    }
+  }
+
+  @Test
+  void testLatency() throws IOException {
+    // Given: a fixed first-byte latency and a slow tail every request lands in
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .firstByteLatencyMedianMs(50)
+            .firstByteLatencySigma(0)
+            .tailLatencyProbability(1)
+            .tailLatencyMs(100)
+            .build();
+
+    try (SimulatedObjectClient simulatedObjectClient =
+        new SimulatedObjectClient(new FakeObjectClient(TEST_DATA), configuration)) {
+      // When: a request is drawn
+      SimulatedObjectClient.SimulatedRequest simulatedRequest = simulatedObjectClient.nextRequest();
+
+      // Then: it pays both the first-byte and the tail latency
+      assertEquals(150, simulatedRequest.getLatencyMs());
+      assertFalse(simulatedRequest.isError());
+    }
+  }
+
+  @Test
+  void testErrors() throws IOException {
+    // Given: a simulation where every request fails
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder().errorProbability(1).build();
+
+    try (SimulatedObjectClient simulatedObjectClient =
+        new SimulatedObjectClient(fakeObjectClient, configuration)) {
+      // When: a request is made
+      CompletionException completionException =
+          assertThrows(
+              CompletionException.class,
+              () -> simulatedObjectClient.getObject(getRequest(0, 3)).join());
+
+      // Then: it fails with a 503 without reaching the delegate
+      S3Exception s3Exception = assertInstanceOf(S3Exception.class, completionException.getCause());
+      assertEquals(503, s3Exception.statusCode());
+      assertEquals("SlowDown", s3Exception.awsErrorDetails().errorCode());
+      assertEquals(0, fakeObjectClient.getGetRequestCount().get());
+    }
+  }
+
+  @Test
+  void testThrottledInputStream() throws IOException {
+    // Given: 1000 bytes delivered at 10000 bytes per second
+    byte[] data = new byte[1000];
+    InputStream inputStream =
+        new SimulatedObjectClient.ThrottledInputStream(new ByteArrayInputStream(data), 10000);
+
+    // When: the stream is drained
+    long startNanos = System.nanoTime();
+    byte[] result = readAll(inputStream);
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    // Then: all bytes are delivered, and no faster than the bandwidth allows
+    assertArrayEquals(data, result);
+    assertTrue(elapsedMs >= 90, "Stream drained in " + elapsedMs + "ms");
+  }
+
+  @Test
+  void testConcurrentGetsAreThrottledIndependently() throws IOException {
+    // Given: bodies of 2000 bytes delivered at 10000 bytes per second, 200ms each
+    String data = new String(new char[2000]).replace('\0', 'a');
+    SimulatedObjectClientConfiguration configuration =
+        SimulatedObjectClientConfiguration.builder()
+            .firstByteLatencyMedianMs(10)
+            .bandwidthBytesPerSecond(10000)
+            .build();
+
+    try (SimulatedObjectClient simulatedObjectClient =
+        new SimulatedObjectClient(new FakeObjectClient(data), configuration)) {
+      // When: four GETs are drained in stages depending on their futures, like blocks do
+      long startNanos = System.nanoTime();
+      List<CompletableFuture<byte[]>> bodies = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        bodies.add(
+            simulatedObjectClient
+                .getObject(getRequest(0, data.length() - 1))
+                .thenApply(objectContent -> drain(objectContent.getStream())));
+      }
+      bodies.forEach(body -> assertEquals(data.length(), body.join().length));
+      long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+      // Then: the bodies are drained concurrently rather than one after the other
+      assertTrue(elapsedMs >= 190, "GETs drained in " + elapsedMs + "ms");
+      assertTrue(elapsedMs < 600, "GETs drained in " + elapsedMs + "ms");
+    }
+  }
+
+  private static SimulatedObjectClientConfiguration seededConfiguration(long seed) {
+    return SimulatedObjectClientConfiguration.builder()
+        .seed(seed)
+        .firstByteLatencyMedianMs(20)
+        .firstByteLatencySigma(1)
+        .tailLatencyProbability(0.1)
+        .tailLatencyMs(500)
+        .errorProbability(0.1)
+        .build();
+  }
+
+  private static GetRequest getRequest(long start, long end) {
+    Range range = new Range(start, end);
+    return GetRequest.builder()
+        .s3Uri(TEST_URI)
+        .range(range)
+        .referrer(new Referrer(range.toHttpString(), ReadMode.SYNC))
+        .build();
+  }
+
+  private static List<SimulatedObjectClient.SimulatedRequest> nextRequests(
+      SimulatedObjectClient simulatedObjectClient, int count) {
+    List<SimulatedObjectClient.SimulatedRequest> simulatedRequests = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      simulatedRequests.add(simulatedObjectClient.nextRequest());
+    }
+    return simulatedRequests;
+  }
+
+  private static byte[] drain(InputStream inputStream) {
+    try {
+      return readAll(inputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] readAll(InputStream inputStream) throws IOException {
+    byte[] buffer = new byte[100];
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    int read;
+    while ((read = inputStream.read(buffer)) > 0) {
+      outputStream.write(buffer, 0, read);
+    }
+    return outputStream.toByteArray();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnPredicateTest {
+
+  @Test
+  void testFactories() {
+    assertEquals(
+        new ColumnPredicate("ss_a", ColumnPredicate.Operator.EQ, 1L),
+        ColumnPredicate.eq("ss_a", 1));
+    assertEquals(ColumnPredicate.Operator.LT, ColumnPredicate.lt("ss_a", 1).getOperator());
+    assertEquals(ColumnPredicate.Operator.LT_EQ, ColumnPredicate.ltEq("ss_a", 1).getOperator());
+    assertEquals(ColumnPredicate.Operator.GT, ColumnPredicate.gt("ss_a", 1).getOperator());
+    assertEquals(ColumnPredicate.Operator.GT_EQ, ColumnPredicate.gtEq("ss_a", 1).getOperator());
+    assertEquals("ss_a", ColumnPredicate.gtEq("ss_a", 1).getColumnPath());
+  }
+
+  @Test
+  void testIntegralValuesAreHeldAsLong() {
+    assertEquals(5L, ColumnPredicate.eq("ss_a", (byte) 5).getValue());
+    assertEquals(5L, ColumnPredicate.eq("ss_a", (short) 5).getValue());
+    assertEquals(5L, ColumnPredicate.eq("ss_a", 5).getValue());
+    assertEquals(5L, ColumnPredicate.eq("ss_a", 5L).getValue());
+  }
+
+  @Test
+  void testFloatingPointValuesAreHeldAsDouble() {
+    assertEquals(0.5d, ColumnPredicate.eq("ss_a", 0.5f).getValue());
+    assertEquals(0.5d, ColumnPredicate.eq("ss_a", 0.5d).getValue());
+  }
+
+  @Test
+  void testStringValues() {
+    assertEquals("abc", ColumnPredicate.eq("ss_a", "abc").getValue());
+  }
+
+  @Test
+  void testUnsupportedValuesAreRejected() {
+    assertThrows(IllegalArgumentException.class, () -> ColumnPredicate.eq("ss_a", BigDecimal.ONE));
+    assertThrows(IllegalArgumentException.class, () -> ColumnPredicate.eq("ss_a", new Object()));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () -> new ColumnPredicate(null, ColumnPredicate.Operator.EQ, 1));
+    assertThrows(NullPointerException.class, () -> new ColumnPredicate("ss_a", null, 1));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ColumnPredicate("ss_a", ColumnPredicate.Operator.EQ, null));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.DefaultLogicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A {@link LogicalIOProvider} registered with the ServiceLoader of the tests, which creates the
+ * LogicalIO of keys with a ".fake" extension.
+ */
+public class FakeLogicalIOProvider implements LogicalIOProvider {
+
+  @Override
+  public boolean supports(S3URI s3URI, LogicalIOConfiguration configuration) {
+    return s3URI.getKey().endsWith(".fake");
+  }
+
+  @Override
+  public LogicalIO createLogicalIO(
+      S3URI s3URI,
+      PhysicalIO physicalIO,
+      Telemetry telemetry,
+      LogicalIOConfiguration configuration,
+      OpenStreamOptions openStreamOptions) {
+    return new FakeLogicalIO(s3URI, physicalIO, telemetry);
+  }
+
+  /** The LogicalIO created by {@link FakeLogicalIOProvider}. */
+  public static class FakeLogicalIO extends DefaultLogicalIOImpl {
+    /**
+     * Constructs an instance of FakeLogicalIO.
+     *
+     * @param s3URI the object's S3 URI
+     * @param physicalIO underlying physical IO that knows how to fetch bytes
+     * @param telemetry an instance of {@link Telemetry} to use
+     */
+    public FakeLogicalIO(S3URI s3URI, PhysicalIO physicalIO, Telemetry telemetry) {
+      super(s3URI, physicalIO, telemetry);
+    }
+  }
+}
@@ -77,12 +77,50 @@ public class LogicalIOConfigurationTest {
             + "\tprefetchLargeFileMetadataSize: 1048576\n"
             + "\tprefetchFilePageIndexSize: 10\n"
             + "\tprefetchLargeFilePageIndexSize: 8388608\n"
+            + "\tprefetchExactPageIndexEnabled: true\n"
+            + "\tprefetchPageIndexMaxGapSize: 65536\n"
             + "\tlargeFileSize: 1073741824\n"
             + "\tsmallObjectsPrefetchingEnabled: true\n"
             + "\tsmallObjectSizeThreshold: 3145728\n"
             + "\tparquetMetadataStoreSize: 45\n"
+            + "\tparquetMetadataStoreMaxBytes: 67108864\n"
             + "\tmaxColumnAccessCountStoreSize: 15\n"
+            + "\tcolumnAccessHalfLife: 32\n"
+            + "\tcolumnPredictionConfidenceThreshold: 0.1\n"
+            + "\tcolumnAccessProfilePath: \n"
+            + "\tcolumnAccessProfileRefreshIntervalMs: 0\n"
             + "\tparquetFormatSelectorRegex: ^.*.(parquet|par)$\n"
-            + "\tprefetchingMode: ROW_GROUP\n");
+            + "\torcFormatSelectorRegex: ^.*\\.(orc)$\n"
+            + "\ttextFormatSelectorRegex: ^.*\\.(csv|tsv|json|jsonl|ndjson|txt|log)$\n"
+            + "\tsequentialReadAheadBytes: 33554432\n"
+            + "\tsequentialTrailingWindowBytes: 8388608\n"
+            + "\tsequentialRecordAlignmentEnabled: false\n"
+            + "\tarrowFormatSelectorRegex: ^.*\\.(arrow|feather|ipc)$\n"
+            + "\tarrowPrefetchRecordBatchCount: 2\n"
+            + "\tformatDetectionEnabled: false\n"
+            + "\tseekableCompressionEnabled: false\n"
+            + "\tcompressedFormatSelectorRegex: ^.*\\.(bgz)$\n"
+            + "\tcompressedPrefetchFrameCount: 4\n"
+            + "\tdecompressedFrameCacheSize: 16\n"
+            + "\tlogicalIOProvidersEnabled: true\n"
+            + "\tlakehouseMetadataFormatSelectorRegex: "
+            + "^(.*/)?(metadata/[^/]+\\.(avro|json)|"
+            + "_delta_log/([^/]+\\.(json|crc)|_last_checkpoint))$\n"
+            + "\tlakehouseMetadataMaxBytes: 8388608\n"
+            + "\tlakehouseMetadataCacheMaxBytes: 33554432\n"
+            + "\tcrossObjectLookaheadCount: 1\n"
+            + "\tcrossObjectLookaheadFirstBlockBytes: 0\n"
+            + "\tcrossObjectLookaheadMaxBytes: 67108864\n"
+            + "\tprefetchingMode: ROW_GROUP\n"
+            + "\tprefetchPagesEnabled: false\n"
+            + "\tprefetchPagesMaxGapSize: 0\n"
+            + "\trowGroupPruningEnabled: true\n"
+            + "\tprefetchLookaheadRowGroups: 1\n"
+            + "\tprefetchLookaheadMaxBytes: 67108864\n"
+            + "\tparquetMetadataCacheDirectory: \n"
+            + "\tparquetMetadataCacheMaxBytes: 268435456\n"
+            + "\tprefetchExecutorThreads: 8\n"
+            + "\tprefetchExecutorQueueSize: 128\n"
+            + "\tprefetchExecutorStaleTaskTimeoutMs: 30000\n");
   }
 }
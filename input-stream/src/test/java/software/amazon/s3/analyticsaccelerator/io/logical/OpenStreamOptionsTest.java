@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OpenStreamOptionsTest {
+
+  @Test
+  void testDefaultBuilder() {
+    OpenStreamOptions openStreamOptions = OpenStreamOptions.builder().build();
+    assertEquals(OpenStreamOptions.DEFAULT, openStreamOptions);
+    assertNull(openStreamOptions.getStreamContext());
+    assertFalse(openStreamOptions.hasColumnHints());
+    assertTrue(openStreamOptions.getHintedColumns().isEmpty());
+    assertTrue(openStreamOptions.getPredicateColumns().isEmpty());
+    assertTrue(openStreamOptions.getUpcomingObjects().isEmpty());
+  }
+
+  @Test
+  void testStreamContextOnly() {
+    StreamContext streamContext = mock(StreamContext.class);
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder().streamContext(streamContext).build();
+    assertSame(streamContext, openStreamOptions.getStreamContext());
+    assertFalse(openStreamOptions.hasColumnHints());
+  }
+
+  @Test
+  void testProjectedColumns() {
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(new HashSet<>(Arrays.asList("ss_a", "ss_b")))
+            .build();
+    assertTrue(openStreamOptions.hasColumnHints());
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")), openStreamOptions.getHintedColumns());
+    assertTrue(openStreamOptions.getPredicateColumns().isEmpty());
+  }
+
+  @Test
+  void testPredicateColumnsAreHinted() {
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(
+                Arrays.asList(
+                    ColumnPredicate.gt("ss_b", 10),
+                    ColumnPredicate.lt("ss_b", 20),
+                    ColumnPredicate.eq("ss_c", "x")))
+            .build();
+    assertTrue(openStreamOptions.hasColumnHints());
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b", "ss_c")),
+        openStreamOptions.getHintedColumns());
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_b", "ss_c")), openStreamOptions.getPredicateColumns());
+  }
+
+  @Test
+  void testPredicatesOnly() {
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .predicates(Collections.singletonList(ColumnPredicate.gtEq("ss_b", 1.5)))
+            .build();
+    assertTrue(openStreamOptions.hasColumnHints());
+    assertEquals(Collections.singleton("ss_b"), openStreamOptions.getHintedColumns());
+  }
+
+  @Test
+  void testUpcomingObjects() {
+    List<S3URI> upcomingObjects =
+        Arrays.asList(S3URI.of("bucket", "part-1.parquet"), S3URI.of("bucket", "part-2.parquet"));
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder().upcomingObjects(upcomingObjects).build();
+    assertFalse(openStreamOptions.hasColumnHints());
+    assertEquals(upcomingObjects, openStreamOptions.getUpcomingObjects());
+  }
+
+  @Test
+  void testNullsAreRejected() {
+    assertThrows(
+        NullPointerException.class,
+        () -> OpenStreamOptions.builder().projectedColumns(null).build());
+    assertThrows(
+        NullPointerException.class, () -> OpenStreamOptions.builder().predicates(null).build());
+    assertThrows(
+        NullPointerException.class,
+        () -> OpenStreamOptions.builder().upcomingObjects(null).build());
+  }
+}
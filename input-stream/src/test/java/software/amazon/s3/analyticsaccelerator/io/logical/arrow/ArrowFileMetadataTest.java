@@ -0,0 +1,88 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowFileMetadataTest {
+
+  @Test
+  void testConstructorThrowsOnNull() {
+    assertThrows(
+        NullPointerException.class, () -> new ArrowFileMetadata(null, Collections.emptyList()));
+    assertThrows(
+        NullPointerException.class, () -> new ArrowFileMetadata(Collections.emptyList(), null));
+  }
+
+  @Test
+  void testRecordBatchesAreSortedByOffset() {
+    // Given
+    ArrowBlock first = new ArrowBlock(8, 8, 92);
+    ArrowBlock second = new ArrowBlock(108, 8, 92);
+
+    // When
+    ArrowFileMetadata metadata =
+        new ArrowFileMetadata(Collections.emptyList(), Arrays.asList(second, first));
+
+    // Then
+    assertEquals(Arrays.asList(first, second), metadata.getRecordBatches());
+  }
+
+  @Test
+  void testGetRecordBatchIndex() {
+    // Given: record batches at [8, 108) and [108, 208), and a gap before [300, 400)
+    ArrowFileMetadata metadata =
+        new ArrowFileMetadata(
+            Collections.emptyList(),
+            Arrays.asList(
+                new ArrowBlock(8, 8, 92), new ArrowBlock(108, 8, 92), new ArrowBlock(300, 8, 92)));
+
+    // When & Then
+    assertEquals(-1, metadata.getRecordBatchIndex(0));
+    assertEquals(0, metadata.getRecordBatchIndex(8));
+    assertEquals(0, metadata.getRecordBatchIndex(107));
+    assertEquals(1, metadata.getRecordBatchIndex(108));
+    assertEquals(-1, metadata.getRecordBatchIndex(250));
+    assertEquals(2, metadata.getRecordBatchIndex(399));
+    assertEquals(-1, metadata.getRecordBatchIndex(400));
+  }
+
+  @Test
+  void testArrowBlock() {
+    // Given
+    ArrowBlock block = new ArrowBlock(100, 16, 84);
+
+    // When & Then
+    assertEquals(100, block.getLength());
+    assertEquals(new Range(100, 199), block.getRange());
+    assertTrue(block.contains(100));
+    assertTrue(block.contains(199));
+    assertFalse(block.contains(99));
+    assertFalse(block.contains(200));
+  }
+}
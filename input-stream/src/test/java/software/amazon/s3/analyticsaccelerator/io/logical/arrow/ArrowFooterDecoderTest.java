@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowFooterDecoderTest {
+
+  @Test
+  void testGetTailLength() throws IOException {
+    // Given
+    ArrowTestFile file = ArrowTestFile.write(1, 3, 64);
+    byte[] bytes = file.getBytes();
+
+    // When: only the footer length and magic are passed in
+    long tailLength = ArrowFooterDecoder.getTailLength(bytes, bytes.length - 10, 10);
+
+    // Then
+    assertEquals(file.getTailLength(), tailLength);
+  }
+
+  @Test
+  void testDecodeFooter() throws IOException {
+    // Given
+    ArrowTestFile file = ArrowTestFile.write(2, 3, 64);
+    byte[] bytes = file.getBytes();
+
+    // When
+    ArrowFileMetadata metadata = ArrowFooterDecoder.decodeFooter(bytes, 0, bytes.length);
+
+    // Then
+    assertEquals(file.getDictionaries(), metadata.getDictionaries());
+    assertEquals(file.getRecordBatches(), metadata.getRecordBatches());
+  }
+
+  @Test
+  void testDecodeFooterWithoutBatches() throws IOException {
+    // Given
+    byte[] tail =
+        ArrowTestFile.writeTail(Collections.emptyList(), Collections.singletonList(block(8)));
+
+    // When
+    ArrowFileMetadata metadata = ArrowFooterDecoder.decodeFooter(tail, 0, tail.length);
+
+    // Then
+    assertTrue(metadata.getDictionaries().isEmpty());
+    assertEquals(Collections.singletonList(block(8)), metadata.getRecordBatches());
+  }
+
+  @Test
+  void testDecodeFooterThrowsOnPartialTail() {
+    // Given: a tail missing the start of the footer
+    byte[] tail =
+        ArrowTestFile.writeTail(Collections.emptyList(), Collections.singletonList(block(8)));
+
+    // When & Then
+    assertThrows(
+        IOException.class, () -> ArrowFooterDecoder.decodeFooter(tail, 1, tail.length - 1));
+  }
+
+  @Test
+  void testThrowsOnMissingMagic() {
+    // Given
+    byte[] notArrow = new byte[100];
+
+    // When & Then
+    assertThrows(IOException.class, () -> ArrowFooterDecoder.getTailLength(notArrow, 0, 100));
+    assertThrows(IOException.class, () -> ArrowFooterDecoder.decodeFooter(notArrow, 0, 100));
+    assertThrows(IOException.class, () -> ArrowFooterDecoder.getTailLength(notArrow, 0, 5));
+  }
+
+  @Test
+  void testThrowsOnNegativeBlock() {
+    // Given
+    byte[] tail =
+        ArrowTestFile.writeTail(
+            Collections.emptyList(), Collections.singletonList(new ArrowBlock(8, -1, 8)));
+
+    // When & Then
+    assertThrows(IOException.class, () -> ArrowFooterDecoder.decodeFooter(tail, 0, tail.length));
+  }
+
+  @Test
+  void testThrowsOnInvalidBounds() {
+    assertThrows(NullPointerException.class, () -> ArrowFooterDecoder.getTailLength(null, 0, 0));
+    assertThrows(NullPointerException.class, () -> ArrowFooterDecoder.decodeFooter(null, 0, 0));
+    assertThrows(
+        IllegalArgumentException.class, () -> ArrowFooterDecoder.decodeFooter(new byte[8], -1, 8));
+    assertThrows(
+        IllegalArgumentException.class, () -> ArrowFooterDecoder.decodeFooter(new byte[8], 4, 8));
+  }
+
+  private static ArrowBlock block(long offset) {
+    return new ArrowBlock(offset, 8, 56);
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowReadTailTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ArrowReadTailTask(
+            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowReadTailTask(
+                null, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowReadTailTask(
+                TEST_URI, null, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, null, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, null));
+  }
+
+  @Test
+  void testPrefetchTail() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenReturn(ObjectMetadata.builder().contentLength(1000).build());
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchFileMetadataSize(100).build();
+    ArrowReadTailTask task =
+        new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, configuration, physicalIO);
+
+    // When
+    List<Range> ranges = task.prefetchTail();
+
+    // Then
+    assertEquals(Collections.singletonList(new Range(900, 999)), ranges);
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    assertEquals(ranges, ioPlan.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchTailOfEmptyObject() {
+    // Given
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenReturn(ObjectMetadata.builder().contentLength(0).build());
+    ArrowReadTailTask task =
+        new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, physicalIO);
+
+    // When & Then
+    assertTrue(task.prefetchTail().isEmpty());
+  }
+
+  @Test
+  void testPrefetchTailFailureThrowsCompletionException() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenReturn(ObjectMetadata.builder().contentLength(1000).build());
+    when(physicalIO.execute(any(IOPlan.class))).thenThrow(new IOException("Error"));
+    ArrowReadTailTask task =
+        new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, physicalIO);
+
+    // When & Then
+    assertThrows(CompletionException.class, task::prefetchTail);
+  }
+
+  @Test
+  void testReadFileMetadata() throws IOException {
+    // Given
+    ArrowTestFile file = ArrowTestFile.write(1, 4, 128);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    ArrowReadTailTask task =
+        new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, physicalIO);
+
+    // When
+    ArrowFileMetadata metadata = task.readFileMetadata();
+
+    // Then: the whole file is smaller than the tail read, so it is read once
+    assertEquals(file.getRecordBatches(), metadata.getRecordBatches());
+    verify(physicalIO).readTail(any(byte[].class), eq(0), eq(file.getBytes().length));
+  }
+
+  @Test
+  void testReadFileMetadataRereadsLargeFooter() throws IOException {
+    // Given: a tail read that only holds the footer length and magic
+    ArrowTestFile file = ArrowTestFile.write(0, 10, 128);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchFileMetadataSize(10).build();
+    ArrowReadTailTask task =
+        new ArrowReadTailTask(TEST_URI, Telemetry.NOOP, configuration, physicalIO);
+
+    // When
+    ArrowFileMetadata metadata = task.readFileMetadata();
+
+    // Then
+    assertEquals(file.getRecordBatches(), metadata.getRecordBatches());
+    verify(physicalIO).readTail(any(byte[].class), eq(0), eq(10));
+    verify(physicalIO).readTail(any(byte[].class), eq(0), eq(file.getTailLength()));
+    verify(physicalIO, times(2)).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void testReadFileMetadataFailureThrowsCompletionException() throws IOException {
+    // Given: a short read, and a file that is not an Arrow file
+    PhysicalIO shortRead = mock(PhysicalIO.class);
+    when(shortRead.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(shortRead.readTail(any(byte[].class), anyInt(), anyInt())).thenReturn(10);
+    PhysicalIO notArrow = mock(PhysicalIO.class);
+    when(notArrow.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(notArrow.readTail(any(byte[].class), anyInt(), anyInt())).thenReturn(100);
+
+    // When & Then
+    assertThrows(
+        CompletionException.class,
+        () ->
+            new ArrowReadTailTask(
+                    TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, shortRead)
+                .readFileMetadata());
+    assertThrows(
+        CompletionException.class,
+        () ->
+            new ArrowReadTailTask(
+                    TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, notArrow)
+                .readFileMetadata());
+  }
+}
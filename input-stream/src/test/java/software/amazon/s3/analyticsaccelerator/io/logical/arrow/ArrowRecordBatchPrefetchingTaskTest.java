@@ -0,0 +1,213 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowRecordBatchPrefetchingTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+  // A dictionary at [8, 108), and record batches at [108, 208), [208, 308), ..., [508, 608)
+  private static final ArrowTestFile FILE = ArrowTestFile.write(1, 5, 100);
+  private static final ArrowFileMetadata FILE_METADATA =
+      new ArrowFileMetadata(FILE.getDictionaries(), FILE.getRecordBatches());
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ArrowRecordBatchPrefetchingTask(
+            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowRecordBatchPrefetchingTask(
+                null, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowRecordBatchPrefetchingTask(
+                TEST_URI, null, LogicalIOConfiguration.DEFAULT, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowRecordBatchPrefetchingTask(
+                TEST_URI, Telemetry.NOOP, null, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowRecordBatchPrefetchingTask(
+                TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, null));
+  }
+
+  @Test
+  void testPrefetchDictionaries() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When
+    task.prefetchDictionaries(FILE_METADATA);
+
+    // Then
+    assertEquals(Collections.singletonList(new Range(8, 107)), prefetchedRanges(physicalIO));
+  }
+
+  @Test
+  void testPrefetchDictionariesSkipsFileWithoutDictionaries() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When
+    IOPlanExecution execution =
+        task.prefetchDictionaries(
+            new ArrowFileMetadata(Collections.emptyList(), FILE_METADATA.getRecordBatches()));
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testSequentialReadPrefetchesFollowingBatches() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When: the first record batch is read
+    task.prefetchRecordBatches(FILE_METADATA, 108);
+
+    // Then: it is prefetched along with the two following it
+    assertEquals(
+        Arrays.asList(new Range(108, 207), new Range(208, 307), new Range(308, 407)),
+        prefetchedRanges(physicalIO));
+  }
+
+  @Test
+  void testSequentialReadDoesNotPrefetchBatchesTwice() throws IOException {
+    // Given: a reader that read the first record batch
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+    task.prefetchRecordBatches(FILE_METADATA, 108);
+
+    // When: it reads more of it, and then the second batch
+    IOPlanExecution sameBatch = task.prefetchRecordBatches(FILE_METADATA, 150);
+    task.prefetchRecordBatches(FILE_METADATA, 208);
+
+    // Then: only the following batch not prefetched yet is
+    assertEquals(IOPlanState.SKIPPED, sameBatch.getState());
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(2)).execute(ioPlan.capture());
+    assertEquals(
+        Collections.singletonList(new Range(408, 507)),
+        ioPlan.getAllValues().get(1).getPrefetchRanges());
+  }
+
+  @Test
+  void testSelectiveReadPrefetchesOnlyItsBatch() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When: a record batch is read out of order
+    task.prefetchRecordBatches(FILE_METADATA, 400);
+
+    // Then: only that batch is prefetched
+    assertEquals(Collections.singletonList(new Range(308, 407)), prefetchedRanges(physicalIO));
+  }
+
+  @Test
+  void testReadOutsideOfRecordBatchesIsSkipped() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When: the dictionary and the footer are read
+    IOPlanExecution dictionary = task.prefetchRecordBatches(FILE_METADATA, 8);
+    IOPlanExecution footer = task.prefetchRecordBatches(FILE_METADATA, 700);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, dictionary.getState());
+    assertEquals(IOPlanState.SKIPPED, footer.getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchFailureIsSkipped() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.execute(any(IOPlan.class))).thenThrow(new IOException("Error"));
+    ArrowRecordBatchPrefetchingTask task = createTask(physicalIO, 2);
+
+    // When
+    IOPlanExecution execution = task.prefetchRecordBatches(FILE_METADATA, 108);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+  }
+
+  private static ArrowRecordBatchPrefetchingTask createTask(
+      PhysicalIO physicalIO, int recordBatchCount) {
+    return new ArrowRecordBatchPrefetchingTask(
+        TEST_URI,
+        Telemetry.NOOP,
+        LogicalIOConfiguration.builder().arrowPrefetchRecordBatchCount(recordBatchCount).build(),
+        physicalIO);
+  }
+
+  private static PhysicalIO mockPhysicalIO() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.execute(any(IOPlan.class)))
+        .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+    return physicalIO;
+  }
+
+  private static List<Range> prefetchedRanges(PhysicalIO physicalIO) throws IOException {
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    return ioPlan.getValue().getPrefetchRanges();
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+
+/**
+ * Writes minimal Arrow IPC files for tests: the leading magic, dictionary and record batches filled
+ * with placeholder bytes, and the footer, footer length and trailing magic. Only the parts of the
+ * footer that prefetching decodes are written, the schema is left out.
+ */
+public final class ArrowTestFile {
+  private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+  private static final int LEADING_MAGIC_LENGTH = 8;
+  private static final int BATCH_METADATA_LENGTH = 8;
+
+  private final byte[] bytes;
+  @Getter private final List<ArrowBlock> dictionaries;
+  @Getter private final List<ArrowBlock> recordBatches;
+  @Getter private final int tailLength;
+
+  private ArrowTestFile(
+      byte[] bytes, List<ArrowBlock> dictionaries, List<ArrowBlock> recordBatches, int tailLength) {
+    this.bytes = bytes;
+    this.dictionaries = Collections.unmodifiableList(dictionaries);
+    this.recordBatches = Collections.unmodifiableList(recordBatches);
+    this.tailLength = tailLength;
+  }
+
+  /**
+   * Writes an Arrow IPC file.
+   *
+   * @param dictionaryCount the number of dictionary batches
+   * @param recordBatchCount the number of record batches
+   * @param batchLength the length of each batch, its message and body
+   * @return the file
+   */
+  public static ArrowTestFile write(int dictionaryCount, int recordBatchCount, int batchLength) {
+    List<ArrowBlock> dictionaries = new ArrayList<>();
+    List<ArrowBlock> recordBatches = new ArrayList<>();
+    long offset = LEADING_MAGIC_LENGTH;
+    for (int i = 0; i < dictionaryCount + recordBatchCount; i++) {
+      ArrowBlock block =
+          new ArrowBlock(offset, BATCH_METADATA_LENGTH, batchLength - BATCH_METADATA_LENGTH);
+      (i < dictionaryCount ? dictionaries : recordBatches).add(block);
+      offset += batchLength;
+    }
+
+    byte[] tail = writeTail(dictionaries, recordBatches);
+    ByteBuffer file = ByteBuffer.allocate((int) offset + tail.length);
+    file.put(MAGIC);
+    file.position((int) offset);
+    file.put(tail);
+    return new ArrowTestFile(file.array(), dictionaries, recordBatches, tail.length);
+  }
+
+  /**
+   * Writes the tail of an Arrow IPC file: the footer, footer length and trailing magic.
+   *
+   * @param dictionaries the dictionary batches to record in the footer
+   * @param recordBatches the record batches to record in the footer
+   * @return the tail
+   */
+  public static byte[] writeTail(List<ArrowBlock> dictionaries, List<ArrowBlock> recordBatches) {
+    // Root offset, vtable of the four first fields of Footer, the table, then the two vectors
+    int vtable = 4;
+    int table = vtable + 12;
+    int dictionariesVector = table + 12;
+    int recordBatchesVector = dictionariesVector + 4 + 24 * dictionaries.size();
+    int footerLength = recordBatchesVector + 4 + 24 * recordBatches.size();
+
+    ByteBuffer buffer =
+        ByteBuffer.allocate(footerLength + 4 + MAGIC.length).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(0, table);
+    buffer.putShort(vtable, (short) 12);
+    buffer.putShort(vtable + 2, (short) 12);
+    buffer.putShort(vtable + 8, (short) 4);
+    buffer.putShort(vtable + 10, (short) 8);
+    buffer.putInt(table, table - vtable);
+    buffer.putInt(table + 4, dictionariesVector - (table + 4));
+    buffer.putInt(table + 8, recordBatchesVector - (table + 8));
+    putBlocks(buffer, dictionariesVector, dictionaries);
+    putBlocks(buffer, recordBatchesVector, recordBatches);
+    buffer.putInt(footerLength, footerLength);
+    buffer.position(footerLength + 4);
+    buffer.put(MAGIC);
+    return buffer.array();
+  }
+
+  private static void putBlocks(ByteBuffer buffer, int vector, List<ArrowBlock> blocks) {
+    buffer.putInt(vector, blocks.size());
+    for (int i = 0; i < blocks.size(); i++) {
+      int block = vector + 4 + 24 * i;
+      buffer.putLong(block, blocks.get(i).getOffset());
+      buffer.putInt(block + 8, blocks.get(i).getMetadataLength());
+      buffer.putLong(block + 16, blocks.get(i).getBodyLength());
+    }
+  }
+
+  /**
+   * Gets a copy of the bytes of the file.
+   *
+   * @return the bytes of the file
+   */
+  public byte[] getBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * Creates a PhysicalIO mock that serves the bytes of the file.
+   *
+   * @return the mock
+   */
+  @SneakyThrows
+  public PhysicalIO mockPhysicalIO() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(bytes.length).build());
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              int read = (int) Math.min(length, bytes.length - position);
+              System.arraycopy(bytes, (int) position, buffer, offset, read);
+              return read;
+            });
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              System.arraycopy(bytes, bytes.length - length, buffer, offset, length);
+              return length;
+            });
+    return physicalIO;
+  }
+}
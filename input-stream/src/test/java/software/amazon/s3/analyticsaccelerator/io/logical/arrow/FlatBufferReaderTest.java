@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class FlatBufferReaderTest {
+
+  @Test
+  void testReadsLittleEndianValues() throws IOException {
+    // Given: values written at an offset in the buffer
+    ByteBuffer buffer = ByteBuffer.allocate(18).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putShort(2, (short) 0xFFFE);
+    buffer.putInt(4, -2);
+    buffer.putLong(8, 1L << 40 | 7);
+    FlatBufferReader reader = new FlatBufferReader(buffer.array(), 2, 16);
+
+    // When & Then
+    assertEquals(0xFFFE, reader.readShort(0));
+    assertEquals(-2, reader.readInt(2));
+    assertEquals(1L << 40 | 7, reader.readLong(6));
+  }
+
+  @Test
+  void testReadsFieldsAndVectors() throws IOException {
+    // Given: a footer with one dictionary and two record batches
+    byte[] tail =
+        ArrowTestFile.writeTail(
+            Collections.singletonList(new ArrowBlock(8, 8, 8)),
+            Arrays.asList(new ArrowBlock(24, 8, 8), new ArrowBlock(40, 8, 8)));
+    FlatBufferReader reader = new FlatBufferReader(tail, 0, tail.length - 10);
+
+    // When
+    int table = reader.getRootTable();
+    int dictionaries = reader.getVector(table, 2);
+    int recordBatches = reader.getVector(table, 3);
+
+    // Then: absent fields and fields past the vtable are reported as such
+    assertEquals(-1, reader.getField(table, 0));
+    assertEquals(-1, reader.getField(table, 1));
+    assertEquals(-1, reader.getVector(table, 4));
+    assertEquals(1, reader.getVectorLength(dictionaries, 24));
+    assertEquals(2, reader.getVectorLength(recordBatches, 24));
+    assertEquals(40, reader.readLong(recordBatches + 4 + 24));
+  }
+
+  @Test
+  void testThrowsOutsideOfBuffer() {
+    // Given
+    FlatBufferReader reader = new FlatBufferReader(new byte[8], 2, 4);
+
+    // When & Then
+    assertThrows(IOException.class, () -> reader.readInt(1));
+    assertThrows(IOException.class, () -> reader.readShort(-1));
+    assertThrows(IOException.class, () -> reader.readLong(0));
+  }
+
+  @Test
+  void testThrowsOnMalformedOffsets() {
+    // Given: a root offset and a vector length that point outside of the buffer
+    ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(0, 100);
+    buffer.putInt(4, 10);
+    FlatBufferReader reader = new FlatBufferReader(buffer.array(), 0, 8);
+
+    // When & Then
+    assertThrows(IOException.class, reader::getRootTable);
+    assertThrows(IOException.class, () -> reader.getVectorLength(4, 24));
+  }
+}
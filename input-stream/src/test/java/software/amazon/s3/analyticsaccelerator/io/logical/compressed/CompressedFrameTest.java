@@ -0,0 +1,43 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+public class CompressedFrameTest {
+  @Test
+  void testGetCompressedRange() {
+    CompressedFrame frame = new CompressedFrame(100, 50, 1000, 200);
+
+    assertEquals(new Range(100, 149), frame.getCompressedRange());
+  }
+
+  @Test
+  void testContains() {
+    CompressedFrame frame = new CompressedFrame(100, 50, 1000, 200);
+
+    assertFalse(frame.contains(999));
+    assertTrue(frame.contains(1000));
+    assertTrue(frame.contains(1199));
+    assertFalse(frame.contains(1200));
+    assertFalse(new CompressedFrame(100, 50, 1000, 0).contains(1000));
+  }
+}
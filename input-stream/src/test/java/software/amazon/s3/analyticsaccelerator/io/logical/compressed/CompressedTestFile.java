@@ -0,0 +1,194 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+
+/** Writes BGZF objects for tests, compressed for real, with their .gzi index. */
+public final class CompressedTestFile {
+  private static final byte[] BGZF_EOF_BLOCK = {
+    0x1f, (byte) 0x8b, 0x08, 0x04, 0x00, 0x00, 0x00, 0x00, 0x00, (byte) 0xff, 0x06, 0x00, 0x42,
+    0x43, 0x02, 0x00, 0x1b, 0x00, 0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00
+  };
+
+  private final byte[] bytes;
+  private final byte[] index;
+  private final byte[] content;
+  @Getter private final List<CompressedFrame> frames;
+
+  private CompressedTestFile(
+      byte[] bytes, byte[] index, byte[] content, List<CompressedFrame> frames) {
+    this.bytes = bytes;
+    this.index = index;
+    this.content = content;
+    this.frames = Collections.unmodifiableList(frames);
+  }
+
+  /**
+   * Writes a BGZF object and its .gzi index.
+   *
+   * @param content the uncompressed content
+   * @param blockLength the uncompressed length of each block
+   * @return the object
+   */
+  public static CompressedTestFile writeBgzf(byte[] content, int blockLength) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    List<CompressedFrame> frames = new ArrayList<>();
+    for (int offset = 0; offset < content.length; offset += blockLength) {
+      int length = Math.min(blockLength, content.length - offset);
+      byte[] block = writeBgzfBlock(content, offset, length);
+      frames.add(new CompressedFrame(out.size(), block.length, offset, length));
+      out.write(block, 0, block.length);
+    }
+    out.write(BGZF_EOF_BLOCK, 0, BGZF_EOF_BLOCK.length);
+
+    // The index leaves out the first block
+    int entryCount = Math.max(frames.size() - 1, 0);
+    ByteBuffer index = ByteBuffer.allocate(8 + entryCount * 16).order(ByteOrder.LITTLE_ENDIAN);
+    index.putLong(entryCount);
+    for (CompressedFrame frame : frames.subList(Math.min(1, frames.size()), frames.size())) {
+      index.putLong(frame.getCompressedOffset());
+      index.putLong(frame.getUncompressedOffset());
+    }
+    return new CompressedTestFile(out.toByteArray(), index.array(), content.clone(), frames);
+  }
+
+  /**
+   * Writes a BGZF block, a gzip member with the BC extra field holding its length.
+   *
+   * @param content the buffer holding the uncompressed content
+   * @param offset the offset of the content of the block
+   * @param length the length of the content of the block
+   * @return the block
+   */
+  public static byte[] writeBgzfBlock(byte[] content, int offset, int length) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+    try {
+      deflater.setInput(content, offset, length);
+      deflater.finish();
+      byte[] chunk = new byte[1024];
+      while (!deflater.finished()) {
+        int read = deflater.deflate(chunk);
+        deflated.write(chunk, 0, read);
+      }
+    } finally {
+      deflater.end();
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(content, offset, length);
+    int blockLength = 18 + deflated.size() + 8;
+    ByteBuffer block = ByteBuffer.allocate(blockLength).order(ByteOrder.LITTLE_ENDIAN);
+    block.put(new byte[] {0x1f, (byte) 0x8b, 0x08, 0x04, 0, 0, 0, 0, 0, (byte) 0xff});
+    block.putShort((short) 6).put((byte) 'B').put((byte) 'C').putShort((short) 2);
+    block.putShort((short) (blockLength - 1));
+    block.put(deflated.toByteArray());
+    block.putInt((int) crc.getValue());
+    block.putInt(length);
+    return block.array();
+  }
+
+  /**
+   * Gets a copy of the bytes of the object.
+   *
+   * @return the bytes of the object
+   */
+  public byte[] getBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * Gets a copy of the .gzi index of the object.
+   *
+   * @return the index
+   */
+  public byte[] getIndex() {
+    return index.clone();
+  }
+
+  /**
+   * Gets a copy of the uncompressed content of the object.
+   *
+   * @return the uncompressed content
+   */
+  public byte[] getContent() {
+    return content.clone();
+  }
+
+  /**
+   * Creates a PhysicalIO mock that serves the bytes of the object.
+   *
+   * @return the mock
+   */
+  public PhysicalIO mockPhysicalIO() {
+    return mockPhysicalIO(bytes);
+  }
+
+  /**
+   * Creates a PhysicalIO mock that serves the .gzi index of the object.
+   *
+   * @return the mock
+   */
+  public PhysicalIO mockIndexPhysicalIO() {
+    return mockPhysicalIO(index);
+  }
+
+  @SneakyThrows
+  private static PhysicalIO mockPhysicalIO(byte[] bytes) {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(bytes.length).etag("etag").build());
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              int read = (int) Math.min(length, bytes.length - position);
+              System.arraycopy(bytes, (int) position, buffer, offset, read);
+              return read;
+            });
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              System.arraycopy(bytes, bytes.length - length, buffer, offset, length);
+              return length;
+            });
+    return physicalIO;
+  }
+}
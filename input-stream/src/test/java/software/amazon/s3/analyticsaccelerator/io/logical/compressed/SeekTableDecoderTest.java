@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SeekTableDecoderTest {
+  @Test
+  void testDecodeBgzfIndex() throws IOException {
+    // Given: a BGZF object with four blocks, the last one shorter
+    byte[] content = new byte[3500];
+    Arrays.fill(content, (byte) 'a');
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content, 1000);
+    byte[] bytes = file.getBytes();
+    byte[] index = file.getIndex();
+
+    // When
+    int lastBlockLength = SeekTableDecoder.getBgzfLastBlockLength(bytes, 0, bytes.length);
+    SeekTable seekTable =
+        SeekTableDecoder.decodeBgzfIndex(index, 0, index.length, bytes.length, lastBlockLength);
+
+    // Then
+    assertEquals(500, lastBlockLength);
+    assertEquals(SeekableCompression.BGZF, seekTable.getCompression());
+    assertEquals(file.getFrames(), seekTable.getFrames());
+    assertEquals(3500, seekTable.getUncompressedLength());
+  }
+
+  @Test
+  void testDecodeBgzfIndexWithEofBlock() throws IOException {
+    // Given: an index that lists the EOF block too
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[2000], 1000);
+    byte[] bytes = file.getBytes();
+    ByteBuffer index = ByteBuffer.allocate(8 + 2 * 16).order(ByteOrder.LITTLE_ENDIAN);
+    index.putLong(2);
+    index.putLong(file.getFrames().get(1).getCompressedOffset()).putLong(1000);
+    index.putLong(bytes.length - 28).putLong(2000);
+
+    // When
+    SeekTable seekTable =
+        SeekTableDecoder.decodeBgzfIndex(index.array(), 0, 40, bytes.length, 1000);
+
+    // Then
+    assertEquals(file.getFrames(), seekTable.getFrames());
+  }
+
+  @Test
+  void testDecodeBgzfIndexOfEmptyObject() throws IOException {
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[0], 1000);
+    byte[] bytes = file.getBytes();
+    byte[] index = file.getIndex();
+
+    assertEquals(0, SeekTableDecoder.getBgzfLastBlockLength(bytes, 0, bytes.length));
+    assertTrue(
+        SeekTableDecoder.decodeBgzfIndex(index, 0, index.length, bytes.length, 0)
+            .getFrames()
+            .isEmpty());
+  }
+
+  @Test
+  void testDecodeBgzfIndexThrowsOnMalformedIndexes() {
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[3000], 1000);
+    byte[] bytes = file.getBytes();
+    byte[] index = file.getIndex();
+
+    // Too short
+    assertThrows(
+        IOException.class, () -> SeekTableDecoder.decodeBgzfIndex(index, 0, 7, bytes.length, 1000));
+    // More entries than the index holds
+    assertThrows(
+        IOException.class,
+        () -> SeekTableDecoder.decodeBgzfIndex(index, 0, index.length - 1, bytes.length, 1000));
+    // Blocks larger than BGZF allows
+    assertThrows(
+        IOException.class,
+        () -> SeekTableDecoder.decodeBgzfIndex(index, 0, index.length, 1L << 20, 1000));
+    // Blocks out of order
+    byte[] outOfOrder = index.clone();
+    System.arraycopy(index, 8, outOfOrder, 24, 16);
+    System.arraycopy(index, 24, outOfOrder, 8, 16);
+    assertThrows(
+        IOException.class,
+        () ->
+            SeekTableDecoder.decodeBgzfIndex(
+                outOfOrder, 0, outOfOrder.length, bytes.length, 1000));
+  }
+
+  @Test
+  void testGetBgzfLastBlockLengthThrowsOnMissingEofBlock() {
+    byte[] bytes = CompressedTestFile.writeBgzf(new byte[3000], 1000).getBytes();
+
+    assertThrows(
+        IOException.class,
+        () -> SeekTableDecoder.getBgzfLastBlockLength(bytes, 0, bytes.length - 1));
+    assertThrows(
+        IOException.class,
+        () -> SeekTableDecoder.getBgzfLastBlockLength(bytes, bytes.length - 30, 30));
+  }
+
+  @Test
+  void testDecodeThrowsOnInvalidBounds() {
+    byte[] bytes = new byte[10];
+
+    assertThrows(
+        NullPointerException.class, () -> SeekTableDecoder.getBgzfLastBlockLength(null, 0, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeekTableDecoder.getBgzfLastBlockLength(bytes, -1, 5));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeekTableDecoder.getBgzfLastBlockLength(bytes, 0, -1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeekTableDecoder.getBgzfLastBlockLength(bytes, 11, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SeekTableDecoder.decodeBgzfIndex(bytes, 0, 11, 100, 0));
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SeekTableReadTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.bgz");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new SeekTableReadTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            mock(PhysicalIO.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SeekTableReadTask(
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SeekTableReadTask(
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SeekTableReadTask(
+                TEST_URI, Telemetry.NOOP, null, mock(PhysicalIO.class), mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SeekTableReadTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SeekTableReadTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
+  }
+
+  @Test
+  void testReadBgzfSeekTable() throws IOException {
+    // Given: a BGZF object and its index
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[5000], 1000);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    PhysicalIO indexPhysicalIO = file.mockIndexPhysicalIO();
+    SeekTableReadTask task =
+        new SeekTableReadTask(
+            TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, physicalIO, indexPhysicalIO);
+
+    // When
+    SeekTable seekTable = task.readSeekTable();
+
+    // Then: the object is smaller than the tail read, so it is read once, and so is the index
+    assertEquals(SeekableCompression.BGZF, seekTable.getCompression());
+    assertEquals(file.getFrames(), seekTable.getFrames());
+    verify(physicalIO).readTail(any(byte[].class), eq(0), eq(file.getBytes().length));
+    verify(indexPhysicalIO).readTail(any(byte[].class), eq(0), eq(file.getIndex().length));
+  }
+
+  @Test
+  void testReadSeekTableFailureThrowsCompletionException() throws IOException {
+    // Given: a short read, an object that is not compressed, and a BGZF object without index
+    PhysicalIO shortRead = mock(PhysicalIO.class);
+    when(shortRead.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(shortRead.readTail(any(byte[].class), anyInt(), anyInt())).thenReturn(10);
+    PhysicalIO notCompressed = mock(PhysicalIO.class);
+    when(notCompressed.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(notCompressed.readTail(any(byte[].class), anyInt(), anyInt())).thenReturn(100);
+    PhysicalIO missingIndex = mock(PhysicalIO.class);
+    when(missingIndex.metadata()).thenThrow(new IllegalStateException("Not found"));
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[5000], 1000);
+
+    // When & Then
+    assertThrows(
+        CompletionException.class,
+        () ->
+            new SeekTableReadTask(
+                    TEST_URI,
+                    Telemetry.NOOP,
+                    LogicalIOConfiguration.DEFAULT,
+                    shortRead,
+                    mock(PhysicalIO.class))
+                .readSeekTable());
+    assertThrows(
+        CompletionException.class,
+        () ->
+            new SeekTableReadTask(
+                    TEST_URI,
+                    Telemetry.NOOP,
+                    LogicalIOConfiguration.DEFAULT,
+                    notCompressed,
+                    mock(PhysicalIO.class))
+                .readSeekTable());
+    assertThrows(
+        CompletionException.class,
+        () ->
+            new SeekTableReadTask(
+                    TEST_URI,
+                    Telemetry.NOOP,
+                    LogicalIOConfiguration.DEFAULT,
+                    file.mockPhysicalIO(),
+                    missingIndex)
+                .readSeekTable());
+  }
+}
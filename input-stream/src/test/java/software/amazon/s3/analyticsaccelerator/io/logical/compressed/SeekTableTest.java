@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SeekTableTest {
+  @Test
+  void testConstructorThrowsOnNull() {
+    assertThrows(NullPointerException.class, () -> new SeekTable(null, Collections.emptyList()));
+    assertThrows(NullPointerException.class, () -> new SeekTable(SeekableCompression.BGZF, null));
+  }
+
+  @Test
+  void testConstructorThrowsOnGaps() {
+    List<CompressedFrame> frames =
+        Arrays.asList(new CompressedFrame(0, 10, 0, 100), new CompressedFrame(10, 10, 101, 100));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> new SeekTable(SeekableCompression.BGZF, frames));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new SeekTable(
+                SeekableCompression.BGZF,
+                Collections.singletonList(new CompressedFrame(0, 10, 1, 100))));
+  }
+
+  @Test
+  void testFramesAreCopied() {
+    List<CompressedFrame> frames = new ArrayList<>();
+    frames.add(new CompressedFrame(0, 10, 0, 100));
+    SeekTable seekTable = new SeekTable(SeekableCompression.BGZF, frames);
+    frames.add(new CompressedFrame(10, 10, 100, 100));
+
+    assertEquals(1, seekTable.getFrames().size());
+    assertEquals(100, seekTable.getUncompressedLength());
+    assertEquals(SeekableCompression.BGZF, seekTable.getCompression());
+    assertThrows(UnsupportedOperationException.class, () -> seekTable.getFrames().clear());
+  }
+
+  @Test
+  void testGetFrameIndex() {
+    SeekTable seekTable =
+        new SeekTable(
+            SeekableCompression.BGZF,
+            Arrays.asList(
+                new CompressedFrame(0, 10, 0, 100),
+                new CompressedFrame(10, 10, 100, 0),
+                new CompressedFrame(20, 10, 100, 50),
+                new CompressedFrame(30, 10, 150, 100)));
+
+    assertEquals(-1, seekTable.getFrameIndex(-1));
+    assertEquals(0, seekTable.getFrameIndex(0));
+    assertEquals(0, seekTable.getFrameIndex(99));
+    assertEquals(2, seekTable.getFrameIndex(100));
+    assertEquals(2, seekTable.getFrameIndex(149));
+    assertEquals(3, seekTable.getFrameIndex(150));
+    assertEquals(3, seekTable.getFrameIndex(249));
+    assertEquals(-1, seekTable.getFrameIndex(250));
+    assertEquals(250, seekTable.getUncompressedLength());
+  }
+
+  @Test
+  void testEmptySeekTable() {
+    SeekTable seekTable = new SeekTable(SeekableCompression.BGZF, Collections.emptyList());
+
+    assertEquals(0, seekTable.getUncompressedLength());
+    assertEquals(-1, seekTable.getFrameIndex(0));
+  }
+}
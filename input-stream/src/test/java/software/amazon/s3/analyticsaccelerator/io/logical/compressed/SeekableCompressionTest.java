@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.compressed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SeekableCompressionTest {
+  private static final byte[] CONTENT =
+      "2024-01-01 INFO request served\n2024-01-01 WARN request slow\n"
+          .getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  void testDecompressBgzfBlock() throws IOException {
+    // Given: a BGZF block in the middle of a buffer
+    byte[] block = CompressedTestFile.writeBgzfBlock(CONTENT, 0, CONTENT.length);
+    byte[] buffer = new byte[block.length + 20];
+    System.arraycopy(block, 0, buffer, 10, block.length);
+
+    // When & Then
+    assertArrayEquals(
+        CONTENT, SeekableCompression.BGZF.decompress(buffer, 10, block.length, CONTENT.length));
+  }
+
+  @Test
+  void testDecompressEmptyBgzfBlock() throws IOException {
+    byte[] block = CompressedTestFile.writeBgzfBlock(CONTENT, 0, 0);
+
+    assertArrayEquals(new byte[0], SeekableCompression.BGZF.decompress(block, 0, block.length, 0));
+  }
+
+  @Test
+  void testDecompressThrowsOnMalformedBlocks() {
+    byte[] block = CompressedTestFile.writeBgzfBlock(CONTENT, 0, CONTENT.length);
+
+    // Wrong uncompressed length
+    assertThrows(
+        IOException.class,
+        () -> SeekableCompression.BGZF.decompress(block, 0, block.length, CONTENT.length - 1));
+    // Truncated
+    assertThrows(
+        IOException.class,
+        () -> SeekableCompression.BGZF.decompress(block, 0, block.length - 9, CONTENT.length));
+    // Not a gzip member
+    byte[] notGzip = block.clone();
+    notGzip[0] = 0;
+    assertThrows(
+        IOException.class,
+        () -> SeekableCompression.BGZF.decompress(notGzip, 0, notGzip.length, CONTENT.length));
+    // Checksum mismatch
+    byte[] badChecksum = block.clone();
+    badChecksum[badChecksum.length - 8] ^= 1;
+    assertThrows(
+        IOException.class,
+        () ->
+            SeekableCompression.BGZF.decompress(
+                badChecksum, 0, badChecksum.length, CONTENT.length));
+    // Corrupt deflate stream
+    byte[] corrupt = Arrays.copyOf(block, block.length);
+    Arrays.fill(corrupt, 18, corrupt.length - 8, (byte) 0xff);
+    assertThrows(
+        IOException.class,
+        () -> SeekableCompression.BGZF.decompress(corrupt, 0, corrupt.length, CONTENT.length));
+    // Out of bounds
+    assertThrows(
+        IOException.class,
+        () -> SeekableCompression.BGZF.decompress(block, 1, block.length, CONTENT.length));
+  }
+
+  @Test
+  void testDecompressThrowsOnNull() {
+    assertThrows(
+        NullPointerException.class, () -> SeekableCompression.BGZF.decompress(null, 0, 0, 0));
+  }
+}
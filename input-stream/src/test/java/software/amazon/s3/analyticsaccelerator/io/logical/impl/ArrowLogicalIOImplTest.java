@@ -0,0 +1,139 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFile;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ArrowLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI, mock(PhysicalIO.class), TestTelemetry.DEFAULT, null, PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null));
+  }
+
+  @Test
+  void testReadPrefetchesRecordBatches() throws IOException {
+    // Given: an Arrow file with a dictionary and three record batches of 100 bytes
+    ArrowTestFile file = ArrowTestFile.write(1, 3, 100);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    ArrowLogicalIOImpl logicalIO =
+        new ArrowLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().prefetchFooterEnabled(false).build(),
+            PREFETCH_EXECUTOR);
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, timeout(5000)).execute(ioPlan.capture());
+    assertEquals(
+        Collections.singletonList(file.getDictionaries().get(0).getRange()),
+        ioPlan.getValue().getPrefetchRanges());
+
+    // When: the first record batch is read
+    byte[] buffer = new byte[10];
+    assertEquals(10, logicalIO.read(buffer, 0, 10, 108));
+
+    // Then: the batches are prefetched, and the read is served
+    verify(physicalIO, times(2)).execute(ioPlan.capture());
+    assertEquals(
+        Arrays.asList(
+            file.getRecordBatches().get(0).getRange(),
+            file.getRecordBatches().get(1).getRange(),
+            file.getRecordBatches().get(2).getRange()),
+        ioPlan.getValue().getPrefetchRanges());
+    assertArrayEquals(Arrays.copyOfRange(file.getBytes(), 108, 118), buffer);
+    verify(physicalIO).read(any(byte[].class), eq(0), eq(10), eq(108L));
+  }
+}
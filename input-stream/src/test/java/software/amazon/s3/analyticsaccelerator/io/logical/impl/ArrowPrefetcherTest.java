@@ -0,0 +1,226 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowReadTailTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowRecordBatchPrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ArrowPrefetcherTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.arrow");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, Telemetry.NOOP);
+
+  @Test
+  public void testConstructor() {
+    assertNotNull(
+        new ArrowPrefetcher(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR));
+  }
+
+  @Test
+  public void testConstructorThrowsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                null,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                TEST_URI, null, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                TEST_URI, mock(PhysicalIO.class), Telemetry.NOOP, null, PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ArrowPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null));
+  }
+
+  @Test
+  public void testPrefetchingIsSkippedWhenOff() {
+    // Given
+    ArrowReadTailTask arrowReadTailTask = mock(ArrowReadTailTask.class);
+    ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask =
+        mock(ArrowRecordBatchPrefetchingTask.class);
+    ArrowPrefetcher arrowPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build(),
+            arrowReadTailTask,
+            arrowRecordBatchPrefetchingTask);
+
+    // When
+    IOPlanExecution footer = arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+    IOPlanExecution recordBatches = arrowPrefetcher.prefetchRecordBatches(100);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, footer.getState());
+    assertEquals(IOPlanState.SKIPPED, recordBatches.getState());
+    verifyNoInteractions(arrowReadTailTask);
+    verifyNoInteractions(arrowRecordBatchPrefetchingTask);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadata() {
+    // Given
+    ArrowReadTailTask arrowReadTailTask = mock(ArrowReadTailTask.class);
+    ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask =
+        mock(ArrowRecordBatchPrefetchingTask.class);
+    ArrowFileMetadata fileMetadata = mock(ArrowFileMetadata.class);
+    IOPlanExecution expected = IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
+    when(arrowReadTailTask.readFileMetadata()).thenReturn(fileMetadata);
+    when(arrowRecordBatchPrefetchingTask.prefetchDictionaries(fileMetadata)).thenReturn(expected);
+    when(arrowRecordBatchPrefetchingTask.prefetchRecordBatches(fileMetadata, 100))
+        .thenReturn(expected);
+    ArrowPrefetcher arrowPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT, arrowReadTailTask, arrowRecordBatchPrefetchingTask);
+
+    // When
+    IOPlanExecution execution = arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the dictionaries are prefetched, and record batches are prefetched from now on
+    assertEquals(expected, execution);
+    verify(arrowReadTailTask).prefetchTail();
+    assertEquals(expected, arrowPrefetcher.prefetchRecordBatches(100));
+  }
+
+  @Test
+  public void testRecordBatchesAreNotPrefetchedBeforeMetadataIsRead() {
+    // Given
+    ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask =
+        mock(ArrowRecordBatchPrefetchingTask.class);
+    ArrowPrefetcher arrowPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            mock(ArrowReadTailTask.class),
+            arrowRecordBatchPrefetchingTask);
+
+    // When
+    IOPlanExecution execution = arrowPrefetcher.prefetchRecordBatches(100);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verifyNoInteractions(arrowRecordBatchPrefetchingTask);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataFailureIsSkipped() {
+    // Given
+    ArrowReadTailTask arrowReadTailTask = mock(ArrowReadTailTask.class);
+    ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask =
+        mock(ArrowRecordBatchPrefetchingTask.class);
+    when(arrowReadTailTask.readFileMetadata())
+        .thenThrow(new CompletionException("Error", new Exception()));
+    ArrowPrefetcher arrowPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.builder().prefetchFooterEnabled(false).build(),
+            arrowReadTailTask,
+            arrowRecordBatchPrefetchingTask);
+
+    // When
+    IOPlanExecution execution = arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(arrowReadTailTask, never()).prefetchTail();
+    verify(arrowRecordBatchPrefetchingTask, never()).prefetchDictionaries(any());
+  }
+
+  @Test
+  public void testPrefetchRecordBatchesFailureIsSkipped() {
+    // Given: a prefetcher that read the metadata, and a failing task
+    ArrowReadTailTask arrowReadTailTask = mock(ArrowReadTailTask.class);
+    ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask =
+        mock(ArrowRecordBatchPrefetchingTask.class);
+    when(arrowReadTailTask.readFileMetadata()).thenReturn(mock(ArrowFileMetadata.class));
+    when(arrowRecordBatchPrefetchingTask.prefetchRecordBatches(any(), anyLong()))
+        .thenThrow(new IllegalStateException("Error"));
+    ArrowPrefetcher arrowPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT, arrowReadTailTask, arrowRecordBatchPrefetchingTask);
+    arrowPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // When: failures are not surfaced to the read
+    IOPlanExecution execution = arrowPrefetcher.prefetchRecordBatches(100);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+  }
+
+  private static ArrowPrefetcher createPrefetcher(
+      LogicalIOConfiguration configuration,
+      ArrowReadTailTask arrowReadTailTask,
+      ArrowRecordBatchPrefetchingTask arrowRecordBatchPrefetchingTask) {
+    return new ArrowPrefetcher(
+        TEST_URI,
+        configuration,
+        Telemetry.NOOP,
+        PREFETCH_EXECUTOR,
+        arrowReadTailTask,
+        arrowRecordBatchPrefetchingTask);
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class BoundedConcurrentMapTest {
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class, () -> new BoundedConcurrentMap<String, String>(1, null));
+  }
+
+  @Test
+  void testMethodsFailOnNull() {
+    BoundedConcurrentMap<String, String> map = BoundedConcurrentMap.withMaxSize(1);
+    assertThrows(NullPointerException.class, () -> map.get(null));
+    assertThrows(NullPointerException.class, () -> map.put(null, "a"));
+    assertThrows(NullPointerException.class, () -> map.put("a", null));
+    assertThrows(NullPointerException.class, () -> map.computeIfAbsent(null, key -> "a"));
+    assertThrows(NullPointerException.class, () -> map.computeIfAbsent("a", null));
+  }
+
+  @Test
+  void testOldestEntriesAreEvicted() {
+    // Given: a map of at most two entries
+    BoundedConcurrentMap<String, String> map = BoundedConcurrentMap.withMaxSize(2);
+
+    // When: two entries are put, and the first one is replaced
+    assertNull(map.put("a", "1"));
+    assertNull(map.put("b", "2"));
+    assertEquals("1", map.put("a", "3"));
+
+    // Then: both are kept
+    assertEquals(2, map.size());
+    assertEquals(2, map.getWeight());
+    assertEquals("3", map.get("a"));
+
+    // When: a third entry is put
+    map.put("c", "4");
+
+    // Then: the entry put first is evicted, as replacing it did not make it newer
+    assertEquals(2, map.size());
+    assertNull(map.get("a"));
+    assertEquals("2", map.get("b"));
+    assertEquals("4", map.get("c"));
+  }
+
+  @Test
+  void testMapIsBoundedByWeight() {
+    // Given: a map bounded by the length of its values
+    BoundedConcurrentMap<String, String> map = new BoundedConcurrentMap<>(5, String::length);
+
+    // When: values are put until the bound is exceeded
+    map.put("a", "12");
+    map.put("b", "123");
+    assertEquals(5, map.getWeight());
+    map.put("c", "1");
+
+    // Then: the oldest entries are evicted until the map is within its bound
+    assertEquals(4, map.getWeight());
+    assertNull(map.get("a"));
+
+    // When: a value weighing more than the bound is put
+    map.put("d", "123456");
+
+    // Then: it is kept, and every other entry is evicted
+    assertEquals(1, map.size());
+    assertEquals(6, map.getWeight());
+    assertEquals("123456", map.get("d"));
+  }
+
+  @Test
+  void testComputeIfAbsent() {
+    // Given: a map of at most two entries with one entry
+    BoundedConcurrentMap<String, String> map = BoundedConcurrentMap.withMaxSize(2);
+    map.put("a", "1");
+
+    // When: the value of an existing key is computed
+    // Then: the existing value is returned
+    assertEquals("1", map.computeIfAbsent("a", key -> "2"));
+
+    // When: the values of new keys are computed
+    assertEquals("2", map.computeIfAbsent("b", key -> "2"));
+    assertEquals("3", map.computeIfAbsent("c", key -> "3"));
+
+    // Then: they are inserted, and the oldest entry is evicted
+    assertEquals(2, map.size());
+    assertNull(map.get("a"));
+    assertEquals("3", map.get("c"));
+  }
+
+  @Test
+  void testEntries() {
+    BoundedConcurrentMap<String, String> map = BoundedConcurrentMap.withMaxSize(2);
+    map.put("a", "1");
+    map.put("b", "2");
+
+    int entries = 0;
+    for (Map.Entry<String, String> entry : map.entries()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+      entries++;
+    }
+    assertEquals(2, entries);
+  }
+
+  @Test
+  void testConcurrentInsertions() throws Exception {
+    // Given: a map of at most 100 entries
+    BoundedConcurrentMap<Integer, Integer> map = BoundedConcurrentMap.withMaxSize(100);
+    int threads = 8;
+
+    // When: many threads insert and compute overlapping keys at the same time
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      futures.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                  if (i % 2 == 0) {
+                    map.put(i, i);
+                  } else {
+                    assertEquals(i, map.computeIfAbsent(i, key -> key));
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+
+    // Then: the map is within its bound, and its weight matches its entries
+    assertTrue(map.size() <= 100);
+    assertEquals(map.size(), map.getWeight());
+    for (Map.Entry<Integer, Integer> entry : map.entries()) {
+      assertSame(entry.getValue(), map.get(entry.getKey()));
+    }
+  }
+
+  @Test
+  void testConcurrentReplacementsAndEvictions() throws Exception {
+    // Given: a map bounded by weight, over few keys, so that entries are replaced and evicted
+    // by different threads at the same time
+    BoundedConcurrentMap<Integer, Integer> map =
+        new BoundedConcurrentMap<>(50, Integer::longValue);
+    int threads = 8;
+
+    // When: many threads put values of different weights under the same keys
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      int seed = thread;
+      futures.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                  int key = (seed * 7 + i) % 20;
+                  int value = (seed * 31 + i) % 10 + 1;
+                  if (i % 3 == 0) {
+                    map.computeIfAbsent(key, k -> value);
+                  } else {
+                    map.put(key, value);
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+
+    // Then: the weight matches the entries, so it has not drifted
+    long entriesWeight = 0;
+    for (Map.Entry<Integer, Integer> entry : map.entries()) {
+      entriesWeight += entry.getValue();
+    }
+    assertEquals(entriesWeight, map.getWeight());
+
+    // And: once quiet, an insertion brings the map back within its bound
+    map.put(-1, 1);
+    assertTrue(map.getWeight() <= 50);
+    assertEquals(1, map.get(-1));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnAccessCountsTest {
+
+  @Test
+  void testConstructorFailsOnInvalidHalfLife() {
+    assertThrows(IllegalArgumentException.class, () -> new ColumnAccessCounts(0));
+    assertThrows(IllegalArgumentException.class, () -> new ColumnAccessCounts(-1));
+  }
+
+  @Test
+  void testAddFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> new ColumnAccessCounts(1).add(null));
+  }
+
+  @Test
+  void testCountsDecay() {
+    // Given: counts that halve every two reads
+    ColumnAccessCounts columnAccessCounts = new ColumnAccessCounts(2);
+
+    // When: a column is read twice, and another one twice after it
+    columnAccessCounts.add("ss_a");
+    columnAccessCounts.add("ss_a");
+    columnAccessCounts.add("ss_b");
+    columnAccessCounts.add("ss_b");
+
+    // Then: the count of the first column halved, and columns not read have no count
+    assertEquals(1 + Math.sqrt(0.5), columnAccessCounts.getCount("ss_b"), 1e-9);
+    assertEquals((1 + Math.sqrt(0.5)) / 2, columnAccessCounts.getCount("ss_a"), 1e-9);
+    assertEquals(0, columnAccessCounts.getCount("ss_c"));
+  }
+
+  @Test
+  void testPredictedColumns() {
+    // Given: a column that is read once and one that is read often after it
+    ColumnAccessCounts columnAccessCounts = new ColumnAccessCounts(4);
+    columnAccessCounts.add("ss_a");
+    for (int i = 0; i < 4; i++) {
+      columnAccessCounts.add("ss_b");
+    }
+
+    // Then: the first column is only predicted with a low confidence threshold
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")), columnAccessCounts.getPredictedColumns(0.1));
+    assertEquals(Collections.singleton("ss_b"), columnAccessCounts.getPredictedColumns(0.5));
+    assertEquals(Collections.singleton("ss_b"), columnAccessCounts.getPredictedColumns(1));
+  }
+
+  @Test
+  void testNoColumnsArePredictedWithoutReads() {
+    assertTrue(new ColumnAccessCounts(1).getPredictedColumns(0.1).isEmpty());
+  }
+
+  @Test
+  void testGetCounts() {
+    ColumnAccessCounts columnAccessCounts = new ColumnAccessCounts(1);
+    columnAccessCounts.add("ss_a");
+    columnAccessCounts.add("ss_b");
+
+    Map<String, Double> counts = columnAccessCounts.getCounts();
+    assertEquals(2, counts.size());
+    assertEquals(0.5, counts.get("ss_a"), 1e-9);
+    assertEquals(1, counts.get("ss_b"), 1e-9);
+  }
+
+  @Test
+  void testMergeKeepsTheHigherCount() {
+    // Given: counts of two columns
+    ColumnAccessCounts columnAccessCounts = new ColumnAccessCounts(1);
+    columnAccessCounts.add("ss_a");
+    columnAccessCounts.add("ss_b");
+
+    // When: counts learnt elsewhere are merged in
+    columnAccessCounts.merge("ss_a", 3);
+    columnAccessCounts.merge("ss_b", 0.25);
+    columnAccessCounts.merge("ss_c", 2);
+
+    // Then: the higher counts are kept, and merged counts decay like the others
+    assertEquals(3, columnAccessCounts.getCount("ss_a"), 1e-9);
+    assertEquals(1, columnAccessCounts.getCount("ss_b"), 1e-9);
+    assertEquals(2, columnAccessCounts.getCount("ss_c"), 1e-9);
+    columnAccessCounts.add("ss_b");
+    assertEquals(1.5, columnAccessCounts.getCount("ss_a"), 1e-9);
+    assertEquals(1.5, columnAccessCounts.getCount("ss_b"), 1e-9);
+    assertEquals(1, columnAccessCounts.getCount("ss_c"), 1e-9);
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")), columnAccessCounts.getPredictedColumns(0.9));
+  }
+
+  @Test
+  void testFadedColumnsAreRemoved() {
+    // Given: a column that is read once
+    ColumnAccessCounts columnAccessCounts = new ColumnAccessCounts(1);
+    columnAccessCounts.add("ss_a");
+
+    // When: other columns are read for more than enough half lives for it to fade out
+    for (int i = 0; i < 10; i++) {
+      columnAccessCounts.add("ss_b");
+    }
+
+    // Then: it is no longer tracked
+    assertEquals(1, columnAccessCounts.size());
+    assertEquals(0, columnAccessCounts.getCount("ss_a"));
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnAccessProfileFileTest {
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> new ColumnAccessProfileFile(null));
+  }
+
+  @Test
+  void testWriteAndRead(@TempDir Path tempDir) throws IOException {
+    // Given: profiles of two schemas
+    Map<Integer, Map<String, Double>> columns = new HashMap<>();
+    columns.put(1, counts("ss_a", 3.5, "ss_b", 0.25));
+    columns.put(2, counts("cs_a", 1.0, "cs_b", 2.0));
+    Map<Integer, Map<String, Double>> dictionaries = new HashMap<>();
+    dictionaries.put(1, counts("ss_c", 1.5, "ss_d", 0.5));
+
+    // When: they are written to a file in a directory that does not exist yet, and read back
+    ColumnAccessProfileFile file =
+        new ColumnAccessProfileFile(tempDir.resolve("profiles").resolve("columns.profile"));
+    file.write(columns, dictionaries);
+    Map<Integer, Map<String, Double>> readColumns = new HashMap<>();
+    Map<Integer, Map<String, Double>> readDictionaries = new HashMap<>();
+
+    // Then: the same profiles are read, and no temporary files are left behind
+    assertTrue(file.read(readColumns, readDictionaries));
+    assertEquals(columns, readColumns);
+    assertEquals(dictionaries, readDictionaries);
+    try (Stream<Path> files = Files.list(tempDir.resolve("profiles"))) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testReadMissingFile(@TempDir Path tempDir) throws IOException {
+    Map<Integer, Map<String, Double>> columns = new HashMap<>();
+    Map<Integer, Map<String, Double>> dictionaries = new HashMap<>();
+
+    assertFalse(
+        new ColumnAccessProfileFile(tempDir.resolve("missing")).read(columns, dictionaries));
+    assertTrue(columns.isEmpty());
+    assertTrue(dictionaries.isEmpty());
+  }
+
+  @Test
+  void testReadUnknownFormat(@TempDir Path tempDir) throws IOException {
+    // Given: a file that is not a profile file
+    Path path = tempDir.resolve("columns.profile");
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+    // Then: it is rejected
+    assertThrows(
+        IOException.class,
+        () -> new ColumnAccessProfileFile(path).read(new HashMap<>(), new HashMap<>()));
+  }
+
+  @Test
+  void testReadMalformedCounts() throws IOException {
+    assertThrows(IOException.class, () -> readSingleCount(-1));
+    assertThrows(IOException.class, () -> readSingleCount(Double.NaN));
+    assertThrows(IOException.class, () -> readSingleCount(Double.POSITIVE_INFINITY));
+    assertEquals(0.5, readSingleCount(0.5).get(1).get("ss_a"));
+  }
+
+  @Test
+  void testReadTruncatedFile() throws IOException {
+    // Given: a profile cut short
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Map<Integer, Map<String, Double>> columns = new HashMap<>();
+    columns.put(1, counts("ss_a", 1.0, "ss_b", 1.0));
+    ColumnAccessProfileFile.write(new DataOutputStream(bytes), columns, new HashMap<>());
+    byte[] truncated = new byte[bytes.size() - 4];
+    System.arraycopy(bytes.toByteArray(), 0, truncated, 0, truncated.length);
+
+    // Then: it is rejected
+    assertThrows(
+        IOException.class,
+        () ->
+            ColumnAccessProfileFile.read(
+                new DataInputStream(new ByteArrayInputStream(truncated)),
+                new HashMap<>(),
+                new HashMap<>()));
+  }
+
+  private static Map<Integer, Map<String, Double>> readSingleCount(double count)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Map<Integer, Map<String, Double>> columns = new HashMap<>();
+    Map<String, Double> counts = new HashMap<>();
+    counts.put("ss_a", count);
+    columns.put(1, counts);
+    ColumnAccessProfileFile.write(new DataOutputStream(bytes), columns, new HashMap<>());
+
+    Map<Integer, Map<String, Double>> readColumns = new HashMap<>();
+    ColumnAccessProfileFile.read(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+        readColumns,
+        new HashMap<>());
+    return readColumns;
+  }
+
+  private static Map<String, Double> counts(
+      String firstColumn, double firstCount, String secondColumn, double secondCount) {
+    Map<String, Double> counts = new HashMap<>();
+    counts.put(firstColumn, firstCount);
+    counts.put(secondColumn, secondCount);
+    return counts;
+  }
+}
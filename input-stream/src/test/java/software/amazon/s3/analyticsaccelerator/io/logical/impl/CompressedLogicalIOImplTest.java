@@ -0,0 +1,270 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.CompressedTestFile;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTable;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTableReadTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekableCompression;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class CompressedLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.bgz");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new CompressedLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                TEST_URI,
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new CompressedLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null));
+  }
+
+  @Test
+  void testReadsUncompressedContent() throws IOException {
+    // Given: a BGZF object with blocks of 1000 bytes
+    byte[] content = new byte[4500];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) (i % 251);
+    }
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content, 1000);
+    CompressedLogicalIOImpl logicalIO = createLogicalIO(file);
+
+    // When & Then: the metadata is that of the uncompressed content
+    assertEquals(4500, logicalIO.metadata().getContentLength());
+    assertEquals("etag", logicalIO.metadata().getEtag());
+
+    // And: a read across blocks is served from both
+    byte[] buffer = new byte[500];
+    assertEquals(500, logicalIO.read(buffer, 0, 500, 1800));
+    assertArrayEquals(Arrays.copyOfRange(content, 1800, 2300), buffer);
+
+    // And: a read past the end of the content is short
+    assertEquals(300, logicalIO.read(buffer, 100, 400, 4200));
+    assertArrayEquals(
+        Arrays.copyOfRange(content, 4200, 4500), Arrays.copyOfRange(buffer, 100, 400));
+    assertEquals(-1, logicalIO.read(buffer, 0, 10, 4500));
+
+    // And: single bytes, the tail and transfers are uncompressed too
+    assertEquals(content[3999] & 0xff, logicalIO.read(3999));
+    assertEquals(-1, logicalIO.read(4500));
+    byte[] tail = new byte[1200];
+    assertEquals(1200, logicalIO.readTail(tail, 0, 1200));
+    assertArrayEquals(Arrays.copyOfRange(content, 3300, 4500), tail);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(2500, logicalIO.transferTo(500, 2500, Channels.newChannel(out)));
+    assertArrayEquals(Arrays.copyOfRange(content, 500, 3000), out.toByteArray());
+  }
+
+  @Test
+  void testReadsFailWhenIndexIsMissing() {
+    // Given: a BGZF object whose .gzi index cannot be read
+    CompressedTestFile file = CompressedTestFile.writeBgzf(new byte[4500], 1000);
+    PhysicalIO indexPhysicalIO = mock(PhysicalIO.class);
+    when(indexPhysicalIO.metadata()).thenThrow(new IllegalStateException("No such key"));
+    CompressedLogicalIOImpl logicalIO =
+        new CompressedLogicalIOImpl(
+            TEST_URI,
+            file.mockPhysicalIO(),
+            indexPhysicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR);
+
+    // When & Then: the compressed bytes are never served in place of the content
+    assertThrows(UncheckedIOException.class, logicalIO::metadata);
+    assertThrows(IOException.class, () -> logicalIO.read(10));
+    assertThrows(IOException.class, () -> logicalIO.read(new byte[10], 0, 10, 10));
+    assertThrows(IOException.class, () -> logicalIO.readTail(new byte[10], 0, 10));
+    assertThrows(
+        IOException.class,
+        () -> logicalIO.transferTo(0, 10, Channels.newChannel(new ByteArrayOutputStream())));
+  }
+
+  @Test
+  void testSeekTableIsReadOnce() {
+    // Given: a seek table that cannot be read
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    SeekTableReadTask seekTableReadTask = mock(SeekTableReadTask.class);
+    when(seekTableReadTask.readSeekTable()).thenThrow(new CompletionException("Error", null));
+    CompressedLogicalIOImpl logicalIO =
+        new CompressedLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR,
+            seekTableReadTask);
+
+    // When
+    assertThrows(UncheckedIOException.class, logicalIO::metadata);
+    assertThrows(IOException.class, () -> logicalIO.read(10));
+    assertThrows(IOException.class, () -> logicalIO.read(new byte[10], 0, 10, 10));
+
+    // Then: the seek table is not read again, and the object is never read as is
+    verify(seekTableReadTask, times(1)).readSeekTable();
+    verifyNoInteractions(physicalIO);
+  }
+
+  @Test
+  void testEmptyContent() throws IOException {
+    // Given
+    SeekTableReadTask seekTableReadTask = mock(SeekTableReadTask.class);
+    when(seekTableReadTask.readSeekTable())
+        .thenReturn(new SeekTable(SeekableCompression.BGZF, Collections.emptyList()));
+    CompressedLogicalIOImpl logicalIO =
+        new CompressedLogicalIOImpl(
+            TEST_URI,
+            CompressedTestFile.writeBgzf(new byte[0], 1000).mockPhysicalIO(),
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR,
+            seekTableReadTask);
+
+    // When & Then
+    assertEquals(0, logicalIO.metadata().getContentLength());
+    assertEquals(0, logicalIO.readTail(new byte[10], 0, 10));
+    assertEquals(-1, logicalIO.read(new byte[10], 0, 10, 0));
+  }
+
+  @Test
+  void testCloseClosesBothPhysicalIOs() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO indexPhysicalIO = mock(PhysicalIO.class);
+    CompressedLogicalIOImpl logicalIO =
+        new CompressedLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            indexPhysicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR);
+
+    // When
+    logicalIO.close();
+
+    // Then
+    verify(physicalIO).close();
+    verify(indexPhysicalIO).close();
+  }
+
+  private static CompressedLogicalIOImpl createLogicalIO(CompressedTestFile file) {
+    return new CompressedLogicalIOImpl(
+        TEST_URI,
+        file.mockPhysicalIO(),
+        file.mockIndexPhysicalIO(),
+        TestTelemetry.DEFAULT,
+        LogicalIOConfiguration.DEFAULT,
+        PREFETCH_EXECUTOR);
+  }
+}
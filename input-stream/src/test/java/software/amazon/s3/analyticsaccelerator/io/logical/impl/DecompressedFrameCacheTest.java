@@ -0,0 +1,340 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.CompressedFrame;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.CompressedTestFile;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekTable;
+import software.amazon.s3.analyticsaccelerator.io.logical.compressed.SeekableCompression;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class DecompressedFrameCacheTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.bgz");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
+  private static final SeekTable EMPTY_SEEK_TABLE =
+      new SeekTable(SeekableCompression.BGZF, Collections.emptyList());
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new DecompressedFrameCache(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR,
+            EMPTY_SEEK_TABLE));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR,
+                EMPTY_SEEK_TABLE));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR,
+                EMPTY_SEEK_TABLE));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR,
+                EMPTY_SEEK_TABLE));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                PREFETCH_EXECUTOR,
+                EMPTY_SEEK_TABLE));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                EMPTY_SEEK_TABLE));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new DecompressedFrameCache(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                PREFETCH_EXECUTOR,
+                null));
+  }
+
+  @Test
+  void testGetFramePrefetchesFollowingFrames() throws IOException {
+    // Given: a BGZF object with five blocks
+    byte[] content = content(5000);
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content, 1000);
+    List<CompressedFrame> frames = file.getFrames();
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().compressedPrefetchFrameCount(2).build(),
+            PREFETCH_EXECUTOR,
+            new SeekTable(SeekableCompression.BGZF, frames));
+
+    // When: the first frame is read
+    byte[] frame = cache.getFrame(0);
+
+    // Then: it is decompressed, and the next two frames are fetched in one plan
+    assertArrayEquals(Arrays.copyOfRange(content, 0, 1000), frame);
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    assertEquals(
+        Arrays.asList(frames.get(1).getCompressedRange(), frames.get(2).getCompressedRange()),
+        ioPlan.getValue().getPrefetchRanges());
+
+    // And: the compressed bytes of the frames are dropped once they are decompressed
+    verify(physicalIO, timeout(5000)).evict(argThat(isPlanOf(frames.get(1))));
+    verify(physicalIO, timeout(5000)).evict(argThat(isPlanOf(frames.get(2))));
+
+    // When: the second frame is read
+    frame = cache.getFrame(1);
+
+    // Then: it was decompressed by the prefetch, and only the fourth frame is prefetched
+    assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), frame);
+    verify(physicalIO, times(1))
+        .read(any(byte[].class), anyInt(), anyInt(), eq(frames.get(1).getCompressedOffset()));
+    verify(physicalIO, times(2)).execute(ioPlan.capture());
+    assertEquals(
+        Collections.singletonList(frames.get(3).getCompressedRange()),
+        ioPlan.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testConcurrentReadersSubmitEachPrefetchOnce() throws Exception {
+    // Given: a BGZF object with five blocks, and readers that all start with its first frame
+    byte[] content = content(5000);
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content, 1000);
+    PrefetchExecutor prefetchExecutor = mock(PrefetchExecutor.class);
+    when(prefetchExecutor.submit(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            file.mockPhysicalIO(),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().compressedPrefetchFrameCount(4).build(),
+            prefetchExecutor,
+            new SeekTable(SeekableCompression.BGZF, file.getFrames()));
+    int readerCount = 8;
+    ExecutorService readers = Executors.newFixedThreadPool(readerCount);
+    CountDownLatch start = new CountDownLatch(1);
+
+    try {
+      // When: the readers read the first frame at the same time
+      List<Future<byte[]>> frames = new ArrayList<>();
+      for (int i = 0; i < readerCount; i++) {
+        frames.add(
+            readers.submit(
+                () -> {
+                  start.await();
+                  return cache.getFrame(0);
+                }));
+      }
+      start.countDown();
+
+      // Then: they all get the frame, and each following frame is decompressed by one prefetch
+      for (Future<byte[]> frame : frames) {
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 1000), frame.get());
+      }
+      verify(prefetchExecutor, times(4)).submit(any());
+      assertArrayEquals(Arrays.copyOfRange(content, 4000, 5000), cache.getFrame(4));
+    } finally {
+      readers.shutdown();
+    }
+  }
+
+  @Test
+  void testGetFrameDoesNotPrefetchWhenPrefetchingIsOff() throws IOException {
+    // Given
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content(5000), 1000);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build(),
+            PREFETCH_EXECUTOR,
+            new SeekTable(SeekableCompression.BGZF, file.getFrames()));
+
+    // When
+    cache.getFrame(2);
+
+    // Then
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testGetFrameDecompressesFrameWhenPrefetchFails() throws IOException {
+    // Given: a PhysicalIO that fails to prefetch
+    byte[] content = content(3000);
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content, 1000);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    when(physicalIO.execute(any(IOPlan.class))).thenThrow(new IOException("Error"));
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR,
+            new SeekTable(SeekableCompression.BGZF, file.getFrames()));
+
+    // When & Then
+    assertArrayEquals(Arrays.copyOfRange(content, 0, 1000), cache.getFrame(0));
+    assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), cache.getFrame(1));
+  }
+
+  @Test
+  void testGetFrameKeepsLimitedNumberOfFrames() throws IOException {
+    // Given: a cache of a single frame, without prefetching
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content(3000), 1000);
+    List<CompressedFrame> frames = file.getFrames();
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder()
+                .compressedPrefetchFrameCount(0)
+                .decompressedFrameCacheSize(1)
+                .build(),
+            PREFETCH_EXECUTOR,
+            new SeekTable(SeekableCompression.BGZF, frames));
+
+    // When
+    cache.getFrame(0);
+    cache.getFrame(0);
+    cache.getFrame(1);
+    cache.getFrame(0);
+
+    // Then: the first frame is decompressed again once the second one replaced it
+    verify(physicalIO, times(2))
+        .read(any(byte[].class), anyInt(), anyInt(), eq(frames.get(0).getCompressedOffset()));
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testGetFrameThrowsOnCorruptFrame() {
+    // Given: a frame whose compressed length is wrong
+    CompressedTestFile file = CompressedTestFile.writeBgzf(content(1000), 1000);
+    CompressedFrame frame = file.getFrames().get(0);
+    DecompressedFrameCache cache =
+        new DecompressedFrameCache(
+            TEST_URI,
+            file.mockPhysicalIO(),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            PREFETCH_EXECUTOR,
+            new SeekTable(
+                SeekableCompression.BGZF,
+                Collections.singletonList(
+                    new CompressedFrame(0, frame.getCompressedLength() - 1, 0, 1000))));
+
+    // When & Then
+    assertThrows(IOException.class, () -> cache.getFrame(0));
+  }
+
+  private static ArgumentMatcher<IOPlan> isPlanOf(CompressedFrame frame) {
+    return ioPlan ->
+        ioPlan.getPrefetchRanges().equals(Collections.singletonList(frame.getCompressedRange()));
+  }
+
+  private static byte[] content(int length) {
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) ('a' + i % 7 + i / 1000);
+    }
+    return content;
+  }
+}
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
@@ -97,4 +98,13 @@ public class DefaultLogicalIOImplTest {
     logicalIO.readTail(buffer, 0, 5);
     verify(physicalIO).readTail(buffer, 0, 5);
   }
+
+  @Test
+  void testTransferTo() throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    DefaultLogicalIOImpl logicalIO = new DefaultLogicalIOImpl(TEST_URI, physicalIO, Telemetry.NOOP);
+    WritableByteChannel channel = mock(WritableByteChannel.class);
+    logicalIO.transferTo(5, 10, channel);
+    verify(physicalIO).transferTo(5, 10, channel);
+  }
 }
@@ -0,0 +1,422 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class LakehouseMetadataLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "table/metadata/snap-1.avro");
+  private static final byte[] CONTENT =
+      "Obj\u0001 manifest list content".getBytes(StandardCharsets.UTF_8);
+
+  private final LakehouseMetadataStore lakehouseMetadataStore =
+      new LakehouseMetadataStore(LogicalIOConfiguration.DEFAULT);
+
+  @Test
+  void testConstructor() throws IOException {
+    assertNotNull(
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            mockPhysicalIO(CONTENT),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new LakehouseMetadataLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                lakehouseMetadataStore));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new LakehouseMetadataLogicalIOImpl(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                lakehouseMetadataStore));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new LakehouseMetadataLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                lakehouseMetadataStore));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new LakehouseMetadataLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                lakehouseMetadataStore));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new LakehouseMetadataLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null));
+  }
+
+  @Test
+  void testObjectIsFetchedWholeAtOpen() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO(CONTENT);
+
+    // When
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // Then: the whole object is read with a ranged read that skips the tail cache, before
+    // anything is read from the stream, and its blocks are dropped once copied
+    assertTrue(logicalIO.isFetched());
+    verify(physicalIO).read(any(byte[].class), eq(0), eq(CONTENT.length), eq(0L));
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).evict(ioPlan.capture());
+    assertEquals(
+        Collections.singletonList(new Range(0, CONTENT.length - 1)),
+        ioPlan.getValue().getPrefetchRanges());
+    verify(physicalIO, never()).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void testObjectIsFetchedOncePerVersion() throws IOException {
+    // Given: an object that is opened twice, then overwritten and opened again
+    byte[] rewritten = "{\"version\":2}".getBytes(StandardCharsets.UTF_8);
+    PhysicalIO first = mockPhysicalIO(CONTENT, "etag");
+    PhysicalIO second = mockPhysicalIO(CONTENT, "etag");
+    PhysicalIO overwritten = mockPhysicalIO(rewritten, "etag2");
+
+    // When
+    LakehouseMetadataLogicalIOImpl firstLogicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            first,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+    LakehouseMetadataLogicalIOImpl secondLogicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            second,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+    LakehouseMetadataLogicalIOImpl overwrittenLogicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            overwritten,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // Then: the second stream is served from the store, the overwritten object is fetched anew
+    byte[] buffer = new byte[CONTENT.length];
+    assertEquals(CONTENT.length, secondLogicalIO.read(buffer, 0, buffer.length, 0));
+    assertArrayEquals(CONTENT, buffer);
+    buffer = new byte[rewritten.length];
+    assertEquals(rewritten.length, overwrittenLogicalIO.read(buffer, 0, buffer.length, 0));
+    assertArrayEquals(rewritten, buffer);
+    assertTrue(firstLogicalIO.isFetched());
+    verify(first).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    verify(second, never()).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    verify(overwritten).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    assertEquals(CONTENT.length + rewritten.length, lakehouseMetadataStore.getSizeBytes());
+  }
+
+  @Test
+  void testObjectWithoutEtagIsNotStored() throws IOException {
+    // Given
+    PhysicalIO first = mockPhysicalIO(CONTENT, null);
+    PhysicalIO second = mockPhysicalIO(CONTENT, null);
+
+    // When
+    new LakehouseMetadataLogicalIOImpl(
+        TEST_URI,
+        first,
+        TestTelemetry.DEFAULT,
+        LogicalIOConfiguration.DEFAULT,
+        lakehouseMetadataStore);
+    new LakehouseMetadataLogicalIOImpl(
+        TEST_URI,
+        second,
+        TestTelemetry.DEFAULT,
+        LogicalIOConfiguration.DEFAULT,
+        lakehouseMetadataStore);
+
+    // Then: as its versions cannot be told apart, each stream fetches it
+    verify(first).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    verify(second).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    assertEquals(0, lakehouseMetadataStore.getSizeBytes());
+  }
+
+  @Test
+  void testFetchKeepsBlocksAnotherStreamOfTheObjectReads() throws IOException {
+    // Given: a stream of the object that reads it through the shared blob store
+    String data = "{\"commitInfo\":{}}";
+    FakeObjectClient objectClient = new FakeObjectClient(data);
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore, objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl reading =
+        new PhysicalIOImpl(TEST_URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    byte[] buffer = new byte[4];
+    assertEquals(4, reading.read(buffer, 0, 4, 0));
+
+    // When: the object is fetched whole by a lakehouse metadata stream, which evicts its blocks
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            new PhysicalIOImpl(TEST_URI, metadataStore, blobStore, TestTelemetry.DEFAULT),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // Then: the blocks the other stream reads are kept, and it reads them without a new GET
+    assertTrue(logicalIO.isFetched());
+    assertEquals(4, reading.read(buffer, 0, 4, 4));
+    assertEquals(data.substring(4, 8), new String(buffer, StandardCharsets.UTF_8));
+    assertEquals(1, objectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testReadsAreServedFromMemory() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO(CONTENT);
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // When
+    byte[] buffer = new byte[CONTENT.length + 10];
+    int bytesRead = logicalIO.read(buffer, 5, CONTENT.length + 5, 0);
+    byte[] tail = new byte[8];
+    int tailBytesRead = logicalIO.readTail(tail, 0, tail.length);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long bytesWritten = logicalIO.transferTo(4, 100, Channels.newChannel(out));
+
+    // Then
+    assertEquals(CONTENT[3] & 0xff, logicalIO.read(3));
+    assertEquals(CONTENT.length, bytesRead);
+    assertArrayEquals(CONTENT, Arrays.copyOfRange(buffer, 5, 5 + CONTENT.length));
+    assertEquals(tail.length, tailBytesRead);
+    assertArrayEquals(
+        Arrays.copyOfRange(CONTENT, CONTENT.length - tail.length, CONTENT.length), tail);
+    assertEquals(CONTENT.length - 4, bytesWritten);
+    assertArrayEquals(Arrays.copyOfRange(CONTENT, 4, CONTENT.length), out.toByteArray());
+    verify(physicalIO, times(1)).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+    verify(physicalIO, never()).read(anyLong());
+    verify(physicalIO, never()).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void testReadsAtTheEndOfTheObject() throws IOException {
+    // Given
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            mockPhysicalIO(CONTENT),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // When & Then
+    assertEquals(-1, logicalIO.read(CONTENT.length));
+    assertEquals(-1, logicalIO.read(new byte[4], 0, 4, CONTENT.length));
+    assertEquals(
+        0,
+        logicalIO.transferTo(CONTENT.length, 4, Channels.newChannel(new ByteArrayOutputStream())));
+    assertEquals(CONTENT.length, logicalIO.readTail(new byte[100], 0, 100));
+    assertThrows(IllegalArgumentException.class, () -> logicalIO.read(-1));
+    assertThrows(IllegalArgumentException.class, () -> logicalIO.read(new byte[4], 0, 5, 0));
+  }
+
+  @Test
+  void testEmptyObject() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO(new byte[0]);
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // When & Then
+    assertTrue(logicalIO.isFetched());
+    assertEquals(-1, logicalIO.read(0));
+    assertEquals(0, logicalIO.readTail(new byte[4], 0, 4));
+    verify(physicalIO, never()).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+  }
+
+  @Test
+  void testLargeObjectIsReadWithRangedReads() throws IOException {
+    // Given: an object larger than lakehouseMetadataMaxBytes
+    PhysicalIO physicalIO = mockPhysicalIO(CONTENT);
+    when(physicalIO.read(anyLong())).thenReturn(42);
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().lakehouseMetadataMaxBytes(CONTENT.length - 1).build(),
+            lakehouseMetadataStore);
+
+    // When & Then
+    assertFalse(logicalIO.isFetched());
+    assertEquals(42, logicalIO.read(0));
+    verify(physicalIO, never()).read(any(byte[].class), anyInt(), anyInt(), anyLong());
+  }
+
+  @Test
+  void testFailedFetchIsReadWithRangedReads() throws IOException {
+    // Given: a failing read and a short read
+    PhysicalIO failingRead = mockPhysicalIO(CONTENT);
+    when(failingRead.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenThrow(new IOException("Error"));
+    when(failingRead.read(anyLong())).thenReturn(42);
+    PhysicalIO shortRead = mockPhysicalIO(CONTENT);
+    when(shortRead.read(any(byte[].class), anyInt(), anyInt(), anyLong())).thenReturn(1);
+
+    // When
+    LakehouseMetadataLogicalIOImpl failing =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            failingRead,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+    LakehouseMetadataLogicalIOImpl partial =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            shortRead,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // Then: the blocks that were fetched are dropped all the same
+    assertFalse(failing.isFetched());
+    assertFalse(partial.isFetched());
+    assertEquals(42, failing.read(0));
+    verify(failingRead).evict(any(IOPlan.class));
+    verify(shortRead).evict(any(IOPlan.class));
+  }
+
+  @Test
+  void testCloseClosesPhysicalIO() throws IOException {
+    // Given
+    PhysicalIO physicalIO = mockPhysicalIO(CONTENT);
+    LakehouseMetadataLogicalIOImpl logicalIO =
+        new LakehouseMetadataLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            lakehouseMetadataStore);
+
+    // When
+    logicalIO.close();
+
+    // Then
+    verify(physicalIO).close();
+  }
+
+  private static PhysicalIO mockPhysicalIO(byte[] bytes) throws IOException {
+    return mockPhysicalIO(bytes, "etag");
+  }
+
+  private static PhysicalIO mockPhysicalIO(byte[] bytes, String etag) throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(bytes.length).etag(etag).build());
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              System.arraycopy(bytes, (int) position, buffer, offset, length);
+              return length;
+            });
+    return physicalIO;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class LakehouseMetadataStoreTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "table/_delta_log/_last_checkpoint");
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(NullPointerException.class, () -> new LakehouseMetadataStore(null));
+  }
+
+  @Test
+  void testContentIsStoredPerVersion() {
+    // Given
+    LakehouseMetadataStore store = new LakehouseMetadataStore(LogicalIOConfiguration.DEFAULT);
+    byte[] content = new byte[] {1, 2, 3};
+
+    // When
+    store.put(ObjectKey.of(TEST_URI, "etag"), content);
+
+    // Then: another version of the file is not served
+    assertArrayEquals(content, store.get(ObjectKey.of(TEST_URI, "etag")));
+    assertNull(store.get(ObjectKey.of(TEST_URI, "etag2")));
+    assertEquals(3, store.getSizeBytes());
+  }
+
+  @Test
+  void testContentWithoutEtagIsNotStored() {
+    // Given
+    LakehouseMetadataStore store = new LakehouseMetadataStore(LogicalIOConfiguration.DEFAULT);
+
+    // When
+    store.put(ObjectKey.of(TEST_URI, null), new byte[] {1, 2, 3});
+
+    // Then
+    assertNull(store.get(ObjectKey.of(TEST_URI, null)));
+    assertEquals(0, store.getSizeBytes());
+  }
+
+  @Test
+  void testStoreIsBoundedByBytes() {
+    // Given
+    LakehouseMetadataStore store = new LakehouseMetadataStore(5);
+    S3URI other = S3URI.of("foo", "table/metadata/snap-1.avro");
+
+    // When: a file larger than the store, then two files that do not fit together
+    store.put(ObjectKey.of(TEST_URI, "large"), new byte[6]);
+    store.put(ObjectKey.of(TEST_URI, "etag"), new byte[3]);
+    store.put(ObjectKey.of(other, "etag"), new byte[3]);
+
+    // Then: the large file is not stored, and the oldest file is evicted
+    assertNull(store.get(ObjectKey.of(TEST_URI, "large")));
+    assertNull(store.get(ObjectKey.of(TEST_URI, "etag")));
+    assertArrayEquals(new byte[3], store.get(ObjectKey.of(other, "etag")));
+    assertEquals(3, store.getSizeBytes());
+  }
+}
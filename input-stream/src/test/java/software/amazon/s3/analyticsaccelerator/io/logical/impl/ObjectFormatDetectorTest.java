@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowBlock;
+import software.amazon.s3.analyticsaccelerator.io.logical.arrow.ArrowTestFile;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcCompression;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcTestFile;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormat;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ObjectFormatDetectorTest {
+  private static final LogicalIOConfiguration ENABLED_CONFIGURATION =
+      LogicalIOConfiguration.builder().formatDetectionEnabled(true).build();
+
+  @Test
+  public void testDetectObjectFormat() {
+    byte[] parquet = "PAR1 some data PAR1".getBytes(StandardCharsets.US_ASCII);
+    byte[] orc = OrcTestFile.write(OrcCompression.ZLIB, 1, 16, "a").getBytes();
+    byte[] arrow =
+        ArrowTestFile.writeTail(
+            Collections.emptyList(), Collections.singletonList(new ArrowBlock(8, 8, 8)));
+    byte[] text = "a,b\nc,d\n".getBytes(StandardCharsets.US_ASCII);
+
+    assertEquals(
+        ObjectFormat.PARQUET,
+        ObjectFormatDetector.detectObjectFormat(parquet, 0, parquet.length));
+    assertEquals(ObjectFormat.ORC, ObjectFormatDetector.detectObjectFormat(orc, 0, orc.length));
+    assertEquals(
+        ObjectFormat.ARROW, ObjectFormatDetector.detectObjectFormat(arrow, 0, arrow.length));
+    assertEquals(
+        ObjectFormat.DEFAULT, ObjectFormatDetector.detectObjectFormat(text, 0, text.length));
+    assertEquals(ObjectFormat.DEFAULT, ObjectFormatDetector.detectObjectFormat(parquet, 0, 3));
+    assertEquals(ObjectFormat.DEFAULT, ObjectFormatDetector.detectObjectFormat(new byte[0], 0, 0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"part-00000", "dir/part-00001", "dir.d/part-00002"})
+  public void testFormatOfKeyWithoutExtensionIsDetected(String key) throws IOException {
+    // Given: a Parquet object
+    ObjectFormatDetector objectFormatDetector = new ObjectFormatDetector(ENABLED_CONFIGURATION);
+    PhysicalIO physicalIO = mockPhysicalIO("0123456789PAR1".getBytes(StandardCharsets.US_ASCII));
+    S3URI s3URI = S3URI.of("bucket", key);
+
+    // When & Then: the whole object is read as the tail, the same read the Parquet footer needs
+    assertTrue(objectFormatDetector.isDetectable(s3URI));
+    assertEquals(ObjectFormat.PARQUET, objectFormatDetector.detect(s3URI, physicalIO));
+    verify(physicalIO).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.parquet", "part-00000.c000", "dir/part-00000.bin"})
+  public void testFormatOfKeyWithExtensionIsNotDetectable(String key) {
+    ObjectFormatDetector objectFormatDetector = new ObjectFormatDetector(ENABLED_CONFIGURATION);
+
+    assertFalse(objectFormatDetector.isDetectable(S3URI.of("bucket", key)));
+  }
+
+  @Test
+  public void testFormatIsNotDetectableByDefault() {
+    ObjectFormatDetector objectFormatDetector =
+        new ObjectFormatDetector(LogicalIOConfiguration.DEFAULT);
+
+    assertFalse(objectFormatDetector.isDetectable(S3URI.of("bucket", "part-00000")));
+  }
+
+  @Test
+  public void testFormatDetectionFailureSelectsDefault() throws IOException {
+    // Given: a failing read, a short read and an empty object
+    ObjectFormatDetector objectFormatDetector = new ObjectFormatDetector(ENABLED_CONFIGURATION);
+    PhysicalIO failingRead = mockPhysicalIO(new byte[100]);
+    when(failingRead.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenThrow(new IOException("Error"));
+    PhysicalIO shortRead = mockPhysicalIO(new byte[100]);
+    when(shortRead.readTail(any(byte[].class), anyInt(), anyInt())).thenReturn(10);
+    PhysicalIO empty = mockPhysicalIO(new byte[0]);
+    S3URI s3URI = S3URI.of("bucket", "part-00000");
+
+    // When & Then
+    assertEquals(ObjectFormat.DEFAULT, objectFormatDetector.detect(s3URI, failingRead));
+    assertEquals(ObjectFormat.DEFAULT, objectFormatDetector.detect(s3URI, shortRead));
+    assertEquals(ObjectFormat.DEFAULT, objectFormatDetector.detect(s3URI, empty));
+  }
+
+  @Test
+  public void testThrowsOnNull() {
+    ObjectFormatDetector objectFormatDetector = new ObjectFormatDetector(ENABLED_CONFIGURATION);
+
+    assertThrows(NullPointerException.class, () -> new ObjectFormatDetector(null));
+    assertThrows(NullPointerException.class, () -> objectFormatDetector.isDetectable(null));
+    assertThrows(
+        NullPointerException.class,
+        () -> objectFormatDetector.detect(null, mock(PhysicalIO.class)));
+    assertThrows(
+        NullPointerException.class,
+        () -> objectFormatDetector.detect(S3URI.of("bucket", "key"), null));
+  }
+
+  private static PhysicalIO mockPhysicalIO(byte[] bytes) throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(bytes.length).build());
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              System.arraycopy(bytes, bytes.length - length, buffer, offset, length);
+              return length;
+            });
+    return physicalIO;
+  }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.ObjectFormatSelector;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = {"NP_NONNULL_PARAM_VIOLATION", "SIC_INNER_SHOULD_BE_STATIC_ANON"},
+    justification = "We mean to pass nulls to checks, and anonymous classes are used in tests")
+public class ObjectLookaheadTest {
+  private static final String CONTENT = "0123456789012345678901234567890123456789PAR1";
+  private static final S3URI PARQUET_URI = S3URI.of("bucket", "part-00001.parquet");
+  private static final S3URI TEXT_URI = S3URI.of("bucket", "part-00001.csv");
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    BlobStore blobStore = mock(BlobStore.class);
+    TailCache tailCache = new TailCache(0);
+    LogicalIOConfiguration configuration = LogicalIOConfiguration.DEFAULT;
+    PrefetchExecutor prefetchExecutor = mock(PrefetchExecutor.class);
+    ObjectFormatSelector objectFormatSelector = new ObjectFormatSelector(configuration);
+
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                null,
+                blobStore,
+                tailCache,
+                TestTelemetry.DEFAULT,
+                configuration,
+                prefetchExecutor,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                null,
+                tailCache,
+                TestTelemetry.DEFAULT,
+                configuration,
+                prefetchExecutor,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                blobStore,
+                null,
+                TestTelemetry.DEFAULT,
+                configuration,
+                prefetchExecutor,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                blobStore,
+                tailCache,
+                null,
+                configuration,
+                prefetchExecutor,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                blobStore,
+                tailCache,
+                TestTelemetry.DEFAULT,
+                null,
+                prefetchExecutor,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                blobStore,
+                tailCache,
+                TestTelemetry.DEFAULT,
+                configuration,
+                null,
+                objectFormatSelector));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectLookahead(
+                metadataStore,
+                blobStore,
+                tailCache,
+                TestTelemetry.DEFAULT,
+                configuration,
+                prefetchExecutor,
+                null));
+  }
+
+  @Test
+  void testMetadataAndFooterArePrefetched() {
+    // Given
+    FakeObjectClient objectClient = new FakeObjectClient(CONTENT, "etag");
+    TailCache tailCache = new TailCache(PhysicalIOConfiguration.DEFAULT);
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            objectClient, tailCache, LogicalIOConfiguration.DEFAULT, mock(PrefetchExecutor.class));
+
+    // When
+    long bytes = objectLookahead.prefetchObject(PARQUET_URI, null);
+
+    // Then: the footer the stream reads first is in the tail cache
+    assertEquals(CONTENT.length(), bytes);
+    assertEquals(1, objectClient.getHeadRequestCount().get());
+    assertEquals(1, objectClient.getGetRequestCount().get());
+    byte[] tail = new byte[CONTENT.length()];
+    assertTrue(tailCache.readTail(ObjectKey.of(PARQUET_URI, "etag"), tail, 0, tail.length));
+    assertEquals(0, objectLookahead.getReservedBytes());
+  }
+
+  @Test
+  void testFirstBlockIsPrefetched() {
+    // Given: an object without a footer
+    FakeObjectClient objectClient = new FakeObjectClient(CONTENT);
+    TailCache tailCache = new TailCache(PhysicalIOConfiguration.DEFAULT);
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            objectClient,
+            tailCache,
+            LogicalIOConfiguration.builder().crossObjectLookaheadFirstBlockBytes(10).build(),
+            mock(PrefetchExecutor.class));
+
+    // When
+    long bytes = objectLookahead.prefetchObject(TEXT_URI, null);
+
+    // Then
+    assertEquals(10, bytes);
+    assertEquals(1, objectClient.getGetRequestCount().get());
+    assertEquals(0, tailCache.getSizeBytes());
+  }
+
+  @Test
+  void testFirstBlockIsReservedUntilItIsFetched() {
+    // Given: an object whose GETs are only answered once released
+    CompletableFuture<Void> requested = new CompletableFuture<>();
+    CompletableFuture<Void> released = new CompletableFuture<>();
+    FakeObjectClient objectClient =
+        new FakeObjectClient(CONTENT) {
+          @Override
+          public CompletableFuture<ObjectContent> getObject(
+              GetRequest getRequest, StreamContext streamContext) {
+            requested.complete(null);
+            return released.thenCompose(v -> super.getObject(getRequest, streamContext));
+          }
+        };
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            objectClient,
+            new TailCache(PhysicalIOConfiguration.DEFAULT),
+            LogicalIOConfiguration.builder().crossObjectLookaheadFirstBlockBytes(10).build(),
+            mock(PrefetchExecutor.class));
+
+    // When: the first block is requested
+    CompletableFuture<Long> prefetch =
+        CompletableFuture.supplyAsync(() -> objectLookahead.prefetchObject(TEXT_URI, null));
+    requested.join();
+
+    // Then: its bytes stay reserved while the GET is in flight, and are released once it completes
+    assertEquals(10, objectLookahead.getReservedBytes());
+    assertFalse(prefetch.isDone());
+    released.complete(null);
+    assertEquals(10, prefetch.join());
+    assertEquals(0, objectLookahead.getReservedBytes());
+  }
+
+  @Test
+  void testObjectOverTheBudgetIsNotPrefetched() {
+    // Given
+    FakeObjectClient objectClient = new FakeObjectClient(CONTENT);
+    TailCache tailCache = new TailCache(PhysicalIOConfiguration.DEFAULT);
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            objectClient,
+            tailCache,
+            LogicalIOConfiguration.builder()
+                .crossObjectLookaheadMaxBytes(CONTENT.length() - 1)
+                .build(),
+            mock(PrefetchExecutor.class));
+
+    // When
+    long bytes = objectLookahead.prefetchObject(PARQUET_URI, null);
+
+    // Then: only the metadata is fetched
+    assertEquals(0, bytes);
+    assertEquals(1, objectClient.getHeadRequestCount().get());
+    assertEquals(0, objectClient.getGetRequestCount().get());
+    assertEquals(0, objectLookahead.getReservedBytes());
+  }
+
+  @Test
+  void testNextObjectsArePrefetched() {
+    // Given: a lookahead of two objects
+    FakeObjectClient objectClient = new FakeObjectClient(CONTENT);
+    PrefetchExecutor prefetchExecutor = mock(PrefetchExecutor.class);
+    when(prefetchExecutor.submit(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            objectClient,
+            new TailCache(PhysicalIOConfiguration.DEFAULT),
+            LogicalIOConfiguration.builder().crossObjectLookaheadCount(2).build(),
+            prefetchExecutor);
+    List<S3URI> upcomingObjects =
+        Arrays.asList(
+            S3URI.of("bucket", "part-00001.parquet"),
+            S3URI.of("bucket", "part-00002.parquet"),
+            S3URI.of("bucket", "part-00003.parquet"));
+
+    // When
+    objectLookahead.prefetch(upcomingObjects, null);
+    objectLookahead.prefetch(Collections.emptyList(), null);
+
+    // Then
+    verify(prefetchExecutor, times(2)).submit(any());
+    assertEquals(2, objectClient.getHeadRequestCount().get());
+  }
+
+  @Test
+  void testObjectBeingPrefetchedIsNotPrefetchedAgain() {
+    // Given: a prefetch that does not complete
+    PrefetchExecutor prefetchExecutor = mock(PrefetchExecutor.class);
+    when(prefetchExecutor.submit(any())).thenReturn(new CompletableFuture<>());
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            new FakeObjectClient(CONTENT),
+            new TailCache(PhysicalIOConfiguration.DEFAULT),
+            LogicalIOConfiguration.DEFAULT,
+            prefetchExecutor);
+
+    // When
+    objectLookahead.prefetch(Collections.singletonList(PARQUET_URI), null);
+    objectLookahead.prefetch(Collections.singletonList(PARQUET_URI), null);
+
+    // Then
+    verify(prefetchExecutor, times(1)).submit(any());
+  }
+
+  @Test
+  void testLookaheadIsDisabled() {
+    // Given
+    PrefetchExecutor prefetchExecutor = mock(PrefetchExecutor.class);
+    ObjectLookahead objectLookahead =
+        createObjectLookahead(
+            new FakeObjectClient(CONTENT),
+            new TailCache(PhysicalIOConfiguration.DEFAULT),
+            LogicalIOConfiguration.builder().crossObjectLookaheadCount(0).build(),
+            prefetchExecutor);
+
+    // When
+    objectLookahead.prefetch(Collections.singletonList(PARQUET_URI), null);
+
+    // Then
+    verify(prefetchExecutor, never()).submit(any());
+    assertThrows(NullPointerException.class, () -> objectLookahead.prefetch(null, null));
+    assertFalse(objectLookahead.getReservedBytes() > 0);
+  }
+
+  private static ObjectLookahead createObjectLookahead(
+      FakeObjectClient objectClient,
+      TailCache tailCache,
+      LogicalIOConfiguration configuration,
+      PrefetchExecutor prefetchExecutor) {
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore, objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    return new ObjectLookahead(
+        metadataStore,
+        blobStore,
+        tailCache,
+        TestTelemetry.DEFAULT,
+        configuration,
+        prefetchExecutor,
+        new ObjectFormatSelector(configuration));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamMappers;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcColumnPrefetchStoreTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, "etag");
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> new OrcColumnPrefetchStore(null));
+  }
+
+  @Test
+  void testStreamMappers() {
+    // Given
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcStreamMappers streamMappers = mock(OrcStreamMappers.class);
+
+    // When
+    store.putStreamMappers(TEST_KEY, streamMappers);
+
+    // Then: the mappers are not used for other files, or other versions of the file
+    assertSame(streamMappers, store.getStreamMappers(TEST_KEY));
+    assertNull(store.getStreamMappers(ObjectKey.of(S3URI.of("foo", "other.orc"), "etag")));
+    assertNull(store.getStreamMappers(ObjectKey.of(TEST_URI, "overwritten")));
+  }
+
+  @Test
+  void testStreamMappersAreBounded() {
+    // Given
+    OrcColumnPrefetchStore store =
+        new OrcColumnPrefetchStore(
+            LogicalIOConfiguration.builder().parquetMetadataStoreSize(2).build());
+
+    // When
+    for (int i = 0; i < 3; i++) {
+      store.putStreamMappers(
+          ObjectKey.of(S3URI.of("foo", i + ".orc"), "etag"), mock(OrcStreamMappers.class));
+    }
+
+    // Then: the oldest file is evicted
+    assertNull(store.getStreamMappers(ObjectKey.of(S3URI.of("foo", "0.orc"), "etag")));
+    assertTrue(store.getStreamMappers(ObjectKey.of(S3URI.of("foo", "2.orc"), "etag")) != null);
+  }
+
+  @Test
+  void testRecentColumns() {
+    // Given
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // When
+    store.addRecentColumn(1, "a");
+    store.addRecentColumn(1, "b");
+    store.addRecentColumn(2, "c");
+
+    // Then
+    assertEquals(new HashSet<>(Arrays.asList("a", "b")), store.getUniqueRecentColumnsForSchema(1));
+    assertEquals(new HashSet<>(Arrays.asList("c")), store.getUniqueRecentColumnsForSchema(2));
+    assertTrue(store.getUniqueRecentColumnsForSchema(3).isEmpty());
+  }
+
+  @Test
+  void testPrefetchedStripes() {
+    // Given
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // When
+    store.storePrefetchedStripe(TEST_URI, 3);
+
+    // Then
+    assertTrue(store.isStripePrefetched(TEST_URI, 3));
+    assertFalse(store.isStripePrefetched(TEST_URI, 2));
+    assertFalse(store.isStripePrefetched(S3URI.of("foo", "other.orc"), 3));
+  }
+
+  @Test
+  void testNullArgumentsThrow() {
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    assertThrows(NullPointerException.class, () -> store.getStreamMappers(null));
+    assertThrows(
+        NullPointerException.class,
+        () -> store.putStreamMappers(null, mock(OrcStreamMappers.class)));
+    assertThrows(NullPointerException.class, () -> store.putStreamMappers(TEST_KEY, null));
+    assertThrows(NullPointerException.class, () -> store.addRecentColumn(1, null));
+    assertThrows(NullPointerException.class, () -> store.isStripePrefetched(null, 0));
+    assertThrows(NullPointerException.class, () -> store.storePrefetchedStripe(null, 0));
+  }
+}
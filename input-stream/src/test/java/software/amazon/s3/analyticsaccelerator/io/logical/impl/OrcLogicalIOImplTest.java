@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcCompression;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamLocation;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamMappers;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcTailDecoder;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcTestFile;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            mock(OrcColumnPrefetchStore.class),
+            PREFETCH_EXECUTOR,
+            OpenStreamOptions.DEFAULT));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                null,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                null,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                null,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                null));
+  }
+
+  @Test
+  void testReadRecordsColumn() throws IOException {
+    // Given: the stream mappers of the file were built by a previous stream
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    OrcStreamMappers streamMappers = new OrcStreamMappers(metadata, file.getStreamsPerStripe());
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    store.putStreamMappers(ObjectKey.of(TEST_URI, OrcTestFile.ETAG), streamMappers);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    OrcLogicalIOImpl logicalIO =
+        new OrcLogicalIOImpl(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            store,
+            PREFETCH_EXECUTOR,
+            OpenStreamOptions.DEFAULT);
+    OrcStreamLocation stream = file.getStreamsPerStripe().get(0).get(1);
+    long position = stream.getRange().getStart();
+    byte[] buffer = new byte[4];
+
+    // When
+    logicalIO.read(buffer, 0, buffer.length, position);
+
+    // Then
+    assertEquals(
+        Collections.singleton("b"),
+        store.getUniqueRecentColumnsForSchema(streamMappers.getSchemaHash()));
+    verify(physicalIO).read(buffer, 0, buffer.length, position);
+  }
+}
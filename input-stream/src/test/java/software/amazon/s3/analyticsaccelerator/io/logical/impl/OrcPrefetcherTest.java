@@ -0,0 +1,329 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcFileMetadata;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcMetadataParsingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcPredictivePrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcReadTailTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.orc.OrcStreamMappers;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcPrefetcherTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, "etag");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, Telemetry.NOOP);
+
+  @Test
+  public void testConstructor() {
+    assertNotNull(
+        new OrcPrefetcher(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(OrcColumnPrefetchStore.class),
+            PREFETCH_EXECUTOR,
+            OpenStreamOptions.DEFAULT));
+  }
+
+  @Test
+  public void testConstructorNulls() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                null,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                null,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                PREFETCH_EXECUTOR,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                null,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPrefetcher(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(OrcColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
+                null));
+  }
+
+  @Test
+  public void testPrefetchingOff() {
+    // Given
+    OrcReadTailTask orcReadTailTask = mock(OrcReadTailTask.class);
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build(),
+            mock(OrcColumnPrefetchStore.class),
+            orcReadTailTask,
+            mock(OrcMetadataParsingTask.class),
+            orcPredictivePrefetchingTask);
+
+    // When
+    IOPlanExecution execution = orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+    orcPrefetcher.addToRecentColumnList(100);
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verifyNoInteractions(orcReadTailTask);
+    verifyNoInteractions(orcPredictivePrefetchingTask);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadata() {
+    // Given
+    OrcReadTailTask orcReadTailTask = mock(OrcReadTailTask.class);
+    OrcMetadataParsingTask orcMetadataParsingTask = mock(OrcMetadataParsingTask.class);
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    OrcFileMetadata fileMetadata = mock(OrcFileMetadata.class);
+    OrcStreamMappers streamMappers = mock(OrcStreamMappers.class);
+    IOPlanExecution expected = IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
+    when(orcReadTailTask.readFileMetadata()).thenReturn(fileMetadata);
+    when(orcMetadataParsingTask.storeStreamMappers(fileMetadata)).thenReturn(streamMappers);
+    when(orcPredictivePrefetchingTask.prefetchRecentColumns(streamMappers)).thenReturn(expected);
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            mock(OrcColumnPrefetchStore.class),
+            orcReadTailTask,
+            orcMetadataParsingTask,
+            orcPredictivePrefetchingTask);
+
+    // When
+    IOPlanExecution execution = orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then
+    assertEquals(expected, execution);
+    verify(orcReadTailTask).prefetchTail();
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataWithCachedMappers() {
+    // Given
+    OrcReadTailTask orcReadTailTask = mock(OrcReadTailTask.class);
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    OrcStreamMappers streamMappers = mock(OrcStreamMappers.class);
+    OrcColumnPrefetchStore store = mock(OrcColumnPrefetchStore.class);
+    when(store.getStreamMappers(TEST_KEY)).thenReturn(streamMappers);
+    IOPlanExecution expected = IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build();
+    when(orcPredictivePrefetchingTask.prefetchRecentColumns(streamMappers)).thenReturn(expected);
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            store,
+            orcReadTailTask,
+            mock(OrcMetadataParsingTask.class),
+            orcPredictivePrefetchingTask);
+
+    // When
+    IOPlanExecution execution = orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the metadata is not read again
+    assertEquals(expected, execution);
+    verifyNoInteractions(orcReadTailTask);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataOfOverwrittenObject() {
+    // Given: mappers held for a previous version of the object
+    OrcReadTailTask orcReadTailTask = mock(OrcReadTailTask.class);
+    OrcMetadataParsingTask orcMetadataParsingTask = mock(OrcMetadataParsingTask.class);
+    OrcFileMetadata fileMetadata = mock(OrcFileMetadata.class);
+    OrcStreamMappers streamMappers = mock(OrcStreamMappers.class);
+    OrcColumnPrefetchStore store = mock(OrcColumnPrefetchStore.class);
+    when(store.getStreamMappers(ObjectKey.of(TEST_URI, "previous")))
+        .thenReturn(mock(OrcStreamMappers.class));
+    when(orcReadTailTask.readFileMetadata()).thenReturn(fileMetadata);
+    when(orcMetadataParsingTask.storeStreamMappers(fileMetadata)).thenReturn(streamMappers);
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            store,
+            orcReadTailTask,
+            orcMetadataParsingTask,
+            orcPredictivePrefetchingTask);
+
+    // When
+    orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the metadata of the current version is read
+    verify(orcReadTailTask).readFileMetadata();
+    verify(orcPredictivePrefetchingTask).prefetchRecentColumns(streamMappers);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataFailureIsSkipped() {
+    // Given
+    OrcReadTailTask orcReadTailTask = mock(OrcReadTailTask.class);
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    when(orcReadTailTask.readFileMetadata())
+        .thenThrow(new CompletionException("Error", new Exception()));
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.builder().prefetchFooterEnabled(false).build(),
+            mock(OrcColumnPrefetchStore.class),
+            orcReadTailTask,
+            mock(OrcMetadataParsingTask.class),
+            orcPredictivePrefetchingTask);
+
+    // When
+    IOPlanExecution execution = orcPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(orcReadTailTask, never()).prefetchTail();
+    verify(orcPredictivePrefetchingTask, never()).prefetchRecentColumns(any());
+  }
+
+  @Test
+  public void testAddToRecentColumnList() {
+    // Given
+    OrcPredictivePrefetchingTask orcPredictivePrefetchingTask =
+        mock(OrcPredictivePrefetchingTask.class);
+    when(orcPredictivePrefetchingTask.addToRecentColumnList(anyLong()))
+        .thenThrow(new IllegalStateException("Error"));
+    OrcPrefetcher orcPrefetcher =
+        createPrefetcher(
+            LogicalIOConfiguration.DEFAULT,
+            mock(OrcColumnPrefetchStore.class),
+            mock(OrcReadTailTask.class),
+            mock(OrcMetadataParsingTask.class),
+            orcPredictivePrefetchingTask);
+
+    // When: failures are not surfaced to the read
+    orcPrefetcher.addToRecentColumnList(100);
+
+    // Then
+    verify(orcPredictivePrefetchingTask).addToRecentColumnList(100);
+  }
+
+  private static OrcPrefetcher createPrefetcher(
+      LogicalIOConfiguration configuration,
+      OrcColumnPrefetchStore store,
+      OrcReadTailTask orcReadTailTask,
+      OrcMetadataParsingTask orcMetadataParsingTask,
+      OrcPredictivePrefetchingTask orcPredictivePrefetchingTask) {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(100).etag(TEST_KEY.getEtag()).build());
+
+    return new OrcPrefetcher(
+        TEST_URI,
+        physicalIO,
+        configuration,
+        store,
+        Telemetry.NOOP,
+        PREFETCH_EXECUTOR,
+        orcReadTailTask,
+        orcMetadataParsingTask,
+        orcPredictivePrefetchingTask);
+  }
+}
@@ -16,21 +16,33 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMetadata;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetColumnPrefetchStoreTest {
@@ -45,25 +57,28 @@ public class ParquetColumnPrefetchStoreTest {
     StringBuilder concatedColumnString =
         new StringBuilder().append("sk_test").append("sk_test_2").append("sk_test_3");
     int schemaHash = concatedColumnString.toString().hashCode();
-    Map<S3URI, ColumnMappers> columnMappersStore = new HashMap<>();
-    Map<S3URI, List<Integer>> rowGroupsPrefetched = new HashMap<>();
-    Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched = new HashMap<>();
 
     ColumnMetadata sk_test = new ColumnMetadata(0, "sk_test", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test2", 0, 0, 0, 500, schemaHash);
     ColumnMetadata sk_test3 = new ColumnMetadata(0, "sk_test3", 0, 0, 0, 500, schemaHash);
 
-    Map<Integer, LinkedList<String>> recentlyReadColumnsPerSchema = new HashMap<>();
-    Map<Integer, LinkedList<String>> recentlyReadDictionariesPerSchema = new HashMap<>();
+    BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadColumnsPerSchema =
+        BoundedConcurrentMap.withMaxSize(15);
+    BoundedConcurrentMap<Integer, ColumnAccessCounts> recentlyReadDictionariesPerSchema =
+        BoundedConcurrentMap.withMaxSize(15);
 
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
-            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
-            columnMappersStore,
+            LogicalIOConfiguration.builder()
+                .columnAccessHalfLife(1)
+                .columnPredictionConfidenceThreshold(0.2)
+                .build(),
+            BoundedConcurrentMap.withMaxSize(15),
             recentlyReadColumnsPerSchema,
             recentlyReadDictionariesPerSchema,
-            rowGroupsPrefetched,
-            dictionaryRowGroupsPrefetched);
+            BoundedConcurrentMap.withMaxSize(15),
+            BoundedConcurrentMap.withMaxSize(15),
+            null);
 
     parquetColumnPrefetchStore.addRecentColumn(sk_test);
     parquetColumnPrefetchStore.addRecentColumn(sk_test2);
@@ -72,17 +87,13 @@ public class ParquetColumnPrefetchStoreTest {
     parquetColumnPrefetchStore.addRecentColumn(sk_test3);
     parquetColumnPrefetchStore.addRecentColumn(sk_test3);
 
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash).size(), 3);
-
-    // We should only have the last 3 recently read columns in the list
-    List<String> expectedColumns = new ArrayList<>();
-    expectedColumns.add("sk_test2");
-    expectedColumns.add("sk_test3");
-    expectedColumns.add("sk_test3");
+    // The counts halve with every read, so the columns read least recently have the lowest counts
+    ColumnAccessCounts columnAccessCounts = recentlyReadColumnsPerSchema.get(schemaHash);
+    assertEquals(1.5, columnAccessCounts.getCount("sk_test3"), 1e-9);
+    assertEquals(0.3125, columnAccessCounts.getCount("sk_test2"), 1e-9);
+    assertEquals(0.15625, columnAccessCounts.getCount("sk_test"), 1e-9);
 
-    assertEquals(recentlyReadColumnsPerSchema.get(schemaHash), expectedColumns);
-
-    // We should only have unique columns in the list
+    // We should only have the columns with a count of at least a fifth of the highest count
     Set<String> expectedUniqueColumns = new HashSet<>();
     expectedUniqueColumns.add("sk_test2");
     expectedUniqueColumns.add("sk_test3");
@@ -90,21 +101,74 @@ public class ParquetColumnPrefetchStoreTest {
     assertEquals(
         parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(schemaHash),
         expectedUniqueColumns);
+    assertTrue(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(schemaHash).isEmpty());
   }
 
   @Test
-  public void isRowGroupPrefetched() {
-    Map<S3URI, List<Integer>> columnRowGroupsPrefetched = new HashMap<>();
-    Map<S3URI, List<Integer>> dictionaryRowGroupsPrefetched = new HashMap<>();
+  void testRecentColumnsFollowTheWorkload() {
+    // Given: a store where a query has been reading two columns of a schema
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    ColumnMetadata ss_a = new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1);
+    ColumnMetadata ss_b = new ColumnMetadata(0, "ss_b", 0, 0, 0, 500, 1);
+    ColumnMetadata ss_c = new ColumnMetadata(0, "ss_c", 0, 0, 0, 500, 1);
+    for (int i = 0; i < 20; i++) {
+      parquetColumnPrefetchStore.addRecentColumn(ss_a);
+      parquetColumnPrefetchStore.addRecentColumn(ss_b);
+    }
+
+    // When: a column is read once
+    parquetColumnPrefetchStore.addRecentColumn(ss_c);
+
+    // Then: it is not predicted yet
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(1));
+
+    // When: the workload moves on to reading that column only
+    for (int i = 0; i < 200; i++) {
+      parquetColumnPrefetchStore.addRecentColumn(ss_c);
+    }
+
+    // Then: the columns of the previous query are no longer predicted
+    assertEquals(
+        Collections.singleton("ss_c"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(1));
+  }
+
+  @Test
+  void testRecentColumnsAreBoundedBySchemas() {
+    // Given: a store that tracks the columns of two schemas
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(2).build());
+
+    // When: columns of three schemas are read
+    parquetColumnPrefetchStore.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1));
+    parquetColumnPrefetchStore.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 2));
+    parquetColumnPrefetchStore.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 3));
 
+    // Then: the columns of the schema first read the longest ago are forgotten
+    assertTrue(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(1).isEmpty());
+    assertEquals(
+        Collections.singleton("ss_a"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(2));
+    assertEquals(
+        Collections.singleton("ss_a"),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(3));
+  }
+
+  @Test
+  public void isRowGroupPrefetched() {
     ParquetColumnPrefetchStore parquetColumnPrefetchStore =
         new ParquetColumnPrefetchStore(
             LogicalIOConfiguration.builder().maxColumnAccessCountStoreSize(3).build(),
-            Collections.emptyMap(),
-            Collections.emptyMap(),
-            Collections.emptyMap(),
-            columnRowGroupsPrefetched,
-            dictionaryRowGroupsPrefetched);
+            BoundedConcurrentMap.withMaxSize(15),
+            BoundedConcurrentMap.withMaxSize(3),
+            BoundedConcurrentMap.withMaxSize(3),
+            BoundedConcurrentMap.withMaxSize(15),
+            BoundedConcurrentMap.withMaxSize(15),
+            null);
 
     parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(S3URI.of("test", "key"), 0);
     parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(S3URI.of("test", "key"), 1);
@@ -133,4 +197,291 @@ public class ParquetColumnPrefetchStoreTest {
         parquetColumnPrefetchStore.isDictionaryRowGroupPrefetched(S3URI.of("test", "key_3"), 0),
         false);
   }
+
+  @Test
+  void testRemoveColumnPrefetchedRowGroupIndex() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    S3URI s3URI = S3URI.of("test", "key");
+
+    // Removing a row group of an unknown key does nothing
+    parquetColumnPrefetchStore.removeColumnPrefetchedRowGroupIndex(s3URI, 0);
+
+    parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(s3URI, 0);
+    parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(s3URI, 1);
+    parquetColumnPrefetchStore.removeColumnPrefetchedRowGroupIndex(s3URI, 1);
+
+    assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3URI, 0));
+    assertFalse(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3URI, 1));
+  }
+
+  @Test
+  void testLoadColumnMappersWithoutDiskCache() {
+    // Given: a store without an on-disk cache
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    S3URI s3URI = S3URI.of("test", "key");
+    ObjectMetadata objectMetadata = ObjectMetadata.builder().contentLength(100).etag("a").build();
+
+    // When: mappers are persisted, nothing is loaded for a fresh store
+    parquetColumnPrefetchStore.persistColumnMappers(s3URI, objectMetadata, getColumnMappers());
+    assertFalse(parquetColumnPrefetchStore.loadColumnMappers(s3URI, objectMetadata).isPresent());
+
+    // Then: mappers put in memory are loaded
+    ColumnMappers columnMappers = getColumnMappers();
+    parquetColumnPrefetchStore.putColumnMappers(ObjectKey.of(s3URI, "a"), columnMappers);
+    assertSame(
+        columnMappers, parquetColumnPrefetchStore.loadColumnMappers(s3URI, objectMetadata).get());
+
+    // Then: they are not loaded for a different version of the object
+    ObjectMetadata changedMetadata = ObjectMetadata.builder().contentLength(100).etag("b").build();
+    assertFalse(parquetColumnPrefetchStore.loadColumnMappers(s3URI, changedMetadata).isPresent());
+  }
+
+  @Test
+  void testLoadColumnMappersFromDiskCache(@TempDir Path tempDir) {
+    // Given: two stores sharing an on-disk cache directory
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().parquetMetadataCacheDirectory(tempDir.toString()).build();
+    ParquetColumnPrefetchStore writer = new ParquetColumnPrefetchStore(configuration);
+    ParquetColumnPrefetchStore reader = new ParquetColumnPrefetchStore(configuration);
+    S3URI s3URI = S3URI.of("test", "key");
+    ObjectMetadata objectMetadata = ObjectMetadata.builder().contentLength(100).etag("a").build();
+
+    // When: one store persists mappers
+    writer.persistColumnMappers(s3URI, objectMetadata, getColumnMappers());
+
+    // Then: the other store loads them and keeps them in memory
+    ObjectKey objectKey = ObjectKey.of(s3URI, "a");
+    assertNull(reader.getColumnMappers(objectKey));
+    assertTrue(reader.loadColumnMappers(s3URI, objectMetadata).isPresent());
+    assertEquals(getColumnMappers(), reader.getColumnMappers(objectKey));
+
+    // Then: a different version of the object is a miss
+    ObjectMetadata changedMetadata = ObjectMetadata.builder().contentLength(100).etag("b").build();
+    assertFalse(
+        new ParquetColumnPrefetchStore(configuration)
+            .loadColumnMappers(s3URI, changedMetadata)
+            .isPresent());
+  }
+
+  @Test
+  void testConcurrentStreams() throws Exception {
+    // Given: a store shared by several streams
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    S3URI s3URI = S3URI.of("test", "key");
+    ObjectKey objectKey = ObjectKey.of(s3URI, "etag");
+    ColumnMetadata ss_a = new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1);
+    ColumnMetadata ss_b = new ColumnMetadata(0, "ss_b", 0, 0, 0, 500, 1);
+    int threads = 8;
+    int rowGroupsPerThread = 100;
+
+    // When: the streams read columns and prefetch row groups of the same file at the same time
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      int firstRowGroup = thread * rowGroupsPerThread;
+      futures.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                for (int i = 0; i < rowGroupsPerThread; i++) {
+                  parquetColumnPrefetchStore.putColumnMappers(objectKey, getColumnMappers());
+                  parquetColumnPrefetchStore.addRecentColumn(ss_a);
+                  parquetColumnPrefetchStore.addRecentColumn(ss_b);
+                  parquetColumnPrefetchStore.storeColumnPrefetchedRowGroupIndex(
+                      s3URI, firstRowGroup + i);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+
+    // Then: no update is lost
+    for (int rowGroup = 0; rowGroup < threads * rowGroupsPerThread; rowGroup++) {
+      assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3URI, rowGroup));
+    }
+    assertFalse(
+        parquetColumnPrefetchStore.isColumnRowGroupPrefetched(s3URI, threads * rowGroupsPerThread));
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(1));
+    assertEquals(getColumnMappers(), parquetColumnPrefetchStore.getColumnMappers(objectKey));
+    assertEquals(
+        getColumnMappers().getEstimatedSizeInBytes(),
+        parquetColumnPrefetchStore.getColumnMappersStoreSizeBytes());
+  }
+
+  @Test
+  void testColumnMappersStoreIsBoundedByBytes() {
+    // Given: a store that has room for the mappers of two files
+    ColumnMappers columnMappers = getColumnMappers();
+    long maxBytes = 2 * columnMappers.getEstimatedSizeInBytes();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().parquetMetadataStoreMaxBytes(maxBytes).build());
+    ObjectKey first = ObjectKey.of(S3URI.of("test", "first"), "etag");
+    ObjectKey second = ObjectKey.of(S3URI.of("test", "second"), "etag");
+    ObjectKey third = ObjectKey.of(S3URI.of("test", "third"), "etag");
+
+    // When: the mappers of two files are stored, and one of them is replaced
+    parquetColumnPrefetchStore.putColumnMappers(first, columnMappers);
+    parquetColumnPrefetchStore.putColumnMappers(second, columnMappers);
+    parquetColumnPrefetchStore.putColumnMappers(second, getColumnMappers());
+
+    // Then: both are kept
+    assertEquals(maxBytes, parquetColumnPrefetchStore.getColumnMappersStoreSizeBytes());
+    assertNotNull(parquetColumnPrefetchStore.getColumnMappers(first));
+    assertNotNull(parquetColumnPrefetchStore.getColumnMappers(second));
+
+    // When: the mappers of a third file are stored
+    parquetColumnPrefetchStore.putColumnMappers(third, columnMappers);
+
+    // Then: the oldest ones are evicted
+    assertEquals(maxBytes, parquetColumnPrefetchStore.getColumnMappersStoreSizeBytes());
+    assertNull(parquetColumnPrefetchStore.getColumnMappers(first));
+    assertNotNull(parquetColumnPrefetchStore.getColumnMappers(second));
+    assertNotNull(parquetColumnPrefetchStore.getColumnMappers(third));
+  }
+
+  @Test
+  void testColumnMappersLargerThanTheBoundAreKept() {
+    // Given: a store with a bound smaller than the mappers of a single file
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().parquetMetadataStoreMaxBytes(1).build());
+    ObjectKey first = ObjectKey.of(S3URI.of("test", "first"), "etag");
+    ObjectKey second = ObjectKey.of(S3URI.of("test", "second"), "etag");
+
+    // When: the mappers of two files are stored
+    parquetColumnPrefetchStore.putColumnMappers(first, getColumnMappers());
+    parquetColumnPrefetchStore.putColumnMappers(second, getColumnMappers());
+
+    // Then: only the most recent ones are kept
+    assertNull(parquetColumnPrefetchStore.getColumnMappers(first));
+    assertEquals(getColumnMappers(), parquetColumnPrefetchStore.getColumnMappers(second));
+    assertEquals(
+        getColumnMappers().getEstimatedSizeInBytes(),
+        parquetColumnPrefetchStore.getColumnMappersStoreSizeBytes());
+  }
+
+  @Test
+  void testColumnMappersOfAnOverwrittenObjectAreNotUsed() {
+    // Given: the mappers of a version of an object
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    S3URI s3URI = S3URI.of("test", "key");
+    ColumnMappers columnMappers = getColumnMappers();
+    parquetColumnPrefetchStore.putColumnMappers(ObjectKey.of(s3URI, "a"), columnMappers);
+
+    // When: the object is overwritten
+    ObjectKey overwritten = ObjectKey.of(s3URI, "b");
+
+    // Then: the mappers of the old version are not returned for the new one
+    assertNull(parquetColumnPrefetchStore.getColumnMappers(overwritten));
+    assertSame(
+        columnMappers, parquetColumnPrefetchStore.getColumnMappers(ObjectKey.of(s3URI, "a")));
+
+    // Then: the mappers of the new version are stored separately
+    parquetColumnPrefetchStore.putColumnMappers(overwritten, getColumnMappers());
+    assertEquals(getColumnMappers(), parquetColumnPrefetchStore.getColumnMappers(overwritten));
+  }
+
+  @Test
+  void testExportAndImportColumnAccessProfiles(@TempDir Path tempDir) throws IOException {
+    // Given: a store that has seen reads of columns and dictionaries of a schema
+    ParquetColumnPrefetchStore writer =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    writer.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1));
+    writer.addRecentColumn(new ColumnMetadata(0, "ss_b", 0, 0, 0, 500, 1));
+    writer.addRecentDictionary(new ColumnMetadata(0, "ss_c", 0, 0, 0, 500, 1));
+    Path path = tempDir.resolve("columns.profile");
+
+    // When: its profiles are exported, and imported by a new store
+    writer.exportColumnAccessProfiles(path);
+    ParquetColumnPrefetchStore reader =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+
+    // Then: the new store predicts the same columns
+    assertTrue(reader.importColumnAccessProfiles(path));
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")), reader.getUniqueRecentColumnsForSchema(1));
+    assertEquals(Collections.singleton("ss_c"), reader.getUniqueRecentDictionaryForSchema(1));
+
+    // Then: importing a file that does not exist has no effect
+    assertFalse(reader.importColumnAccessProfiles(tempDir.resolve("missing")));
+  }
+
+  @Test
+  void testColumnAccessProfileIsLoadedAndWrittenOnClose(@TempDir Path tempDir) {
+    // Given: two processes sharing a profile file, each reading a different column
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .columnAccessProfilePath(tempDir.resolve("columns.profile").toString())
+            .build();
+    ParquetColumnPrefetchStore first = new ParquetColumnPrefetchStore(configuration);
+    ParquetColumnPrefetchStore second = new ParquetColumnPrefetchStore(configuration);
+    first.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1));
+    second.addRecentColumn(new ColumnMetadata(0, "ss_b", 0, 0, 0, 500, 1));
+
+    // When: they are closed, one after the other
+    first.close();
+    second.close();
+
+    // Then: a new process starts with the columns read by both
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        new ParquetColumnPrefetchStore(configuration).getUniqueRecentColumnsForSchema(1));
+  }
+
+  @Test
+  void testColumnAccessProfileIsRefreshedPeriodically(@TempDir Path tempDir)
+      throws InterruptedException {
+    // Given: a store that refreshes its profile file every 10ms
+    Path path = tempDir.resolve("columns.profile");
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder()
+                .columnAccessProfilePath(path.toString())
+                .columnAccessProfileRefreshIntervalMs(10)
+                .build());
+
+    // When: a column is read
+    parquetColumnPrefetchStore.addRecentColumn(new ColumnMetadata(0, "ss_a", 0, 0, 0, 500, 1));
+
+    // Then: the profile file is written without closing the store
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (!Files.exists(path) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(Files.exists(path));
+    parquetColumnPrefetchStore.close();
+  }
+
+  @Test
+  void testMalformedColumnAccessProfileIsIgnored(@TempDir Path tempDir) throws IOException {
+    // Given: a profile file that is not in a known format
+    Path path = tempDir.resolve("columns.profile");
+    Files.write(path, new byte[] {1, 2, 3});
+
+    // When: a store is created with it
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(
+            LogicalIOConfiguration.builder().columnAccessProfilePath(path.toString()).build());
+
+    // Then: it starts without profiles
+    assertTrue(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(1).isEmpty());
+  }
+
+  private static ColumnMappers getColumnMappers() {
+    return ColumnMappers.builder()
+        .addColumnChunk(new ColumnMetadata(0, "sk_test", 100, 0, 100, 500, 1))
+        .build();
+  }
 }
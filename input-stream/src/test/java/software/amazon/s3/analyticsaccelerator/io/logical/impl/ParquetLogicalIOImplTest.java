@@ -20,10 +20,12 @@ import static org.mockito.Mockito.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
@@ -40,6 +42,8 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
     justification = "We mean to pass nulls to checks")
 public class ParquetLogicalIOImplTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT);
 
   @Test
   void testConstructor() {
@@ -49,7 +53,23 @@ public class ParquetLogicalIOImplTest {
             mock(PhysicalIO.class),
             TestTelemetry.DEFAULT,
             mock(LogicalIOConfiguration.class),
-            mock(ParquetColumnPrefetchStore.class)));
+            mock(ParquetColumnPrefetchStore.class),
+            PREFETCH_EXECUTOR));
+  }
+
+  @Test
+  void testConstructorWithOpenStreamOptions() {
+    assertNotNull(
+        new ParquetLogicalIOImpl(
+            S3URI.of("foo", "bar"),
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            mock(LogicalIOConfiguration.class),
+            mock(ParquetColumnPrefetchStore.class),
+            PREFETCH_EXECUTOR,
+            OpenStreamOptions.builder()
+                .projectedColumns(Collections.singleton("ss_a"))
+                .build()));
   }
 
   @Test
@@ -62,7 +82,8 @@ public class ParquetLogicalIOImplTest {
                 null,
                 TestTelemetry.DEFAULT,
                 mock(LogicalIOConfiguration.class),
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -71,7 +92,8 @@ public class ParquetLogicalIOImplTest {
                 mock(PhysicalIO.class),
                 TestTelemetry.DEFAULT,
                 null,
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -80,7 +102,28 @@ public class ParquetLogicalIOImplTest {
                 mock(PhysicalIO.class),
                 null,
                 mock(LogicalIOConfiguration.class),
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                null,
+                PREFETCH_EXECUTOR));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetLogicalIOImpl(
+                TEST_URI,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                null));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -89,6 +132,8 @@ public class ParquetLogicalIOImplTest {
                 mock(PhysicalIO.class),
                 TestTelemetry.DEFAULT,
                 mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                PREFETCH_EXECUTOR,
                 null));
   }
 
@@ -108,7 +153,8 @@ public class ParquetLogicalIOImplTest {
             physicalIO,
             TestTelemetry.DEFAULT,
             configuration,
-            new ParquetColumnPrefetchStore(configuration));
+            new ParquetColumnPrefetchStore(configuration),
+            PREFETCH_EXECUTOR);
 
     // When: close called
     logicalIO.close();
@@ -138,7 +184,8 @@ public class ParquetLogicalIOImplTest {
                 physicalIO,
                 TestTelemetry.DEFAULT,
                 LogicalIOConfiguration.DEFAULT,
-                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                PREFETCH_EXECUTOR));
   }
 
   @Test
@@ -162,6 +209,7 @@ public class ParquetLogicalIOImplTest {
                 physicalIO,
                 TestTelemetry.DEFAULT,
                 LogicalIOConfiguration.DEFAULT,
-                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT)));
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                PREFETCH_EXECUTOR));
   }
 }
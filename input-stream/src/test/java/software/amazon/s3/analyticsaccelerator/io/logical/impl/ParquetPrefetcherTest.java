@@ -21,7 +21,9 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -30,14 +32,18 @@ import static org.mockito.Mockito.when;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ColumnMappers;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.FileTail;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetMetadataParsingTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPredictivePrefetchingTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPrefetchPageIndexTask;
+import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPrefetchPagesTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPrefetchRemainingColumnTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetPrefetchTailTask;
 import software.amazon.s3.analyticsaccelerator.io.logical.parquet.ParquetReadTailTask;
@@ -45,6 +51,8 @@ import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -53,6 +61,9 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
     justification = "We mean to pass nulls to checks")
 public class ParquetPrefetcherTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final String TEST_ETAG = "etag";
+  private static final PrefetchExecutor PREFETCH_EXECUTOR =
+      new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, Telemetry.NOOP);
 
   @Test
   public void testConstructor() {
@@ -62,7 +73,32 @@ public class ParquetPrefetcherTest {
             mock(PhysicalIO.class),
             mock(Telemetry.class),
             mock(LogicalIOConfiguration.class),
-            mock(ParquetColumnPrefetchStore.class)));
+            mock(ParquetColumnPrefetchStore.class),
+            mock(PrefetchExecutor.class)));
+  }
+
+  @Test
+  public void testConstructorWithOpenStreamOptions() {
+    assertNotNull(
+        new ParquetPrefetcher(
+            mock(S3URI.class),
+            mock(PhysicalIO.class),
+            mock(Telemetry.class),
+            mock(LogicalIOConfiguration.class),
+            mock(ParquetColumnPrefetchStore.class),
+            mock(PrefetchExecutor.class),
+            OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(PhysicalIO.class),
+                mock(Telemetry.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(PrefetchExecutor.class),
+                null));
   }
 
   @Test
@@ -71,120 +107,224 @@ public class ParquetPrefetcherTest {
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
+                mock(S3URI.class),
                 null,
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                null,
+                mock(PhysicalIO.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
+                mock(ParquetMetadataParsingTask.class),
+                mock(ParquetPrefetchTailTask.class),
+                mock(ParquetReadTailTask.class),
+                mock(ParquetPrefetchRemainingColumnTask.class),
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
 
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 null,
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 null,
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 null,
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 null,
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 null,
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 null,
                 mock(ParquetPrefetchRemainingColumnTask.class),
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(PhysicalIO.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
+                mock(ParquetMetadataParsingTask.class),
+                mock(ParquetPrefetchTailTask.class),
+                mock(ParquetReadTailTask.class),
+                null,
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
+                mock(ParquetPrefetchRemainingColumnTask.class),
                 null,
-                mock(ParquetPredictivePrefetchingTask.class)));
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
     assertThrows(
         NullPointerException.class,
         () ->
             new ParquetPrefetcher(
                 mock(S3URI.class),
+                mock(PhysicalIO.class),
                 mock(LogicalIOConfiguration.class),
                 mock(ParquetColumnPrefetchStore.class),
                 mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
                 mock(ParquetMetadataParsingTask.class),
                 mock(ParquetPrefetchTailTask.class),
                 mock(ParquetReadTailTask.class),
                 mock(ParquetPrefetchRemainingColumnTask.class),
+                mock(ParquetPredictivePrefetchingTask.class),
+                null,
+                mock(ParquetPrefetchPagesTask.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(PhysicalIO.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(Telemetry.class),
+                mock(PrefetchExecutor.class),
+                mock(ParquetMetadataParsingTask.class),
+                mock(ParquetPrefetchTailTask.class),
+                mock(ParquetReadTailTask.class),
+                mock(ParquetPrefetchRemainingColumnTask.class),
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
                 null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(PhysicalIO.class),
+                mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
+                mock(Telemetry.class),
+                null,
+                mock(ParquetMetadataParsingTask.class),
+                mock(ParquetPrefetchTailTask.class),
+                mock(ParquetReadTailTask.class),
+                mock(ParquetPrefetchRemainingColumnTask.class),
+                mock(ParquetPredictivePrefetchingTask.class),
+                mock(ParquetPrefetchPageIndexTask.class),
+                mock(ParquetPrefetchPagesTask.class)));
 
     assertThrows(
         NullPointerException.class,
@@ -194,7 +334,8 @@ public class ParquetPrefetcherTest {
                 mock(PhysicalIO.class),
                 mock(Telemetry.class),
                 mock(LogicalIOConfiguration.class),
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                mock(PrefetchExecutor.class)));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -203,7 +344,8 @@ public class ParquetPrefetcherTest {
                 null,
                 mock(Telemetry.class),
                 mock(LogicalIOConfiguration.class),
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                mock(PrefetchExecutor.class)));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -212,7 +354,8 @@ public class ParquetPrefetcherTest {
                 mock(PhysicalIO.class),
                 null,
                 mock(LogicalIOConfiguration.class),
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                mock(PrefetchExecutor.class)));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -221,7 +364,18 @@ public class ParquetPrefetcherTest {
                 mock(PhysicalIO.class),
                 mock(Telemetry.class),
                 null,
-                mock(ParquetColumnPrefetchStore.class)));
+                mock(ParquetColumnPrefetchStore.class),
+                mock(PrefetchExecutor.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetcher(
+                mock(S3URI.class),
+                mock(PhysicalIO.class),
+                mock(Telemetry.class),
+                mock(LogicalIOConfiguration.class),
+                null,
+                mock(PrefetchExecutor.class)));
     assertThrows(
         NullPointerException.class,
         () ->
@@ -230,6 +384,7 @@ public class ParquetPrefetcherTest {
                 mock(PhysicalIO.class),
                 mock(Telemetry.class),
                 mock(LogicalIOConfiguration.class),
+                mock(ParquetColumnPrefetchStore.class),
                 null));
   }
 
@@ -317,7 +472,7 @@ public class ParquetPrefetcherTest {
     // Then: read tail is triggered
     verify(parquetReadTailTask, times(1)).readFileTail();
     // Then: columns are stored
-    verify(parquetMetadataParsingTask, times(1)).storeColumnMappers(any(FileTail.class));
+    verify(parquetMetadataParsingTask, times(1)).storeColumnMappers(any(FileTail.class), any());
     // Then: predictive reads are also triggered
     verify(parquetPredictivePrefetchingTask, times(1))
         .prefetchRecentColumns(any(ColumnMappers.class), anyList(), anyBoolean());
@@ -518,13 +673,270 @@ public class ParquetPrefetcherTest {
 
     when(parquetReadTailTask.readFileTail())
         .thenReturn(new FileTail(ByteBuffer.wrap(new byte[5]), 5));
-    when(parquetMetadataParsingTask.storeColumnMappers(any(FileTail.class)))
+    when(parquetMetadataParsingTask.storeColumnMappers(any(FileTail.class), any()))
         .thenThrow(new CompletionException("Error", new IOException()));
     when(physicalIO.execute(any(IOPlan.class))).thenReturn(skippedIoPlanExecution);
 
     assertEquals(parquetPrefetcher.prefetchFooterAndBuildMetadata().join(), skippedIoPlanExecution);
   }
 
+  @Test
+  public void testPrefetchFooterAndBuildMetadataUsesPersistedColumnMappers() {
+    // Given: column mappers persisted for this version of the object
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ALL).build();
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ObjectMetadata objectMetadata = ObjectMetadata.builder().contentLength(100).etag("a").build();
+    when(physicalIO.metadata()).thenReturn(objectMetadata);
+    ColumnMappers columnMappers = mock(ColumnMappers.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.loadColumnMappers(TEST_URI, objectMetadata))
+        .thenReturn(Optional.of(columnMappers));
+    ParquetReadTailTask parquetReadTailTask = mock(ParquetReadTailTask.class);
+    ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        mock(ParquetPredictivePrefetchingTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        new ParquetPrefetcher(
+            TEST_URI,
+            physicalIO,
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            Telemetry.NOOP,
+            PREFETCH_EXECUTOR,
+            parquetMetadataParsingTask,
+            mock(ParquetPrefetchTailTask.class),
+            parquetReadTailTask,
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            parquetPredictivePrefetchingTask,
+            mock(ParquetPrefetchPageIndexTask.class),
+            mock(ParquetPrefetchPagesTask.class));
+
+    // When: footer prefetching and metadata build is requested
+    parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the footer is neither read nor parsed, but the persisted mappers are used
+    verifyNoInteractions(parquetReadTailTask);
+    verifyNoInteractions(parquetMetadataParsingTask);
+    verify(parquetPredictivePrefetchingTask, times(1))
+        .prefetchRecentColumns(eq(columnMappers), anyList(), anyBoolean());
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataPersistsParsedColumnMappers() {
+    // Given: no column mappers persisted for the object
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    ObjectMetadata objectMetadata = ObjectMetadata.builder().contentLength(100).etag("a").build();
+    when(physicalIO.metadata()).thenReturn(objectMetadata);
+    ColumnMappers columnMappers = mock(ColumnMappers.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.loadColumnMappers(TEST_URI, objectMetadata))
+        .thenReturn(Optional.empty());
+    ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
+    when(parquetMetadataParsingTask.storeColumnMappers(any(), any())).thenReturn(columnMappers);
+
+    ParquetPrefetcher parquetPrefetcher =
+        new ParquetPrefetcher(
+            TEST_URI,
+            physicalIO,
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            Telemetry.NOOP,
+            PREFETCH_EXECUTOR,
+            parquetMetadataParsingTask,
+            mock(ParquetPrefetchTailTask.class),
+            getTestParquetReadTailTask(),
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            mock(ParquetPredictivePrefetchingTask.class),
+            mock(ParquetPrefetchPageIndexTask.class),
+            mock(ParquetPrefetchPagesTask.class));
+
+    // When: footer prefetching and metadata build is requested
+    parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the parsed column mappers are stored and persisted for this version of the object
+    verify(parquetMetadataParsingTask, timeout(1000))
+        .storeColumnMappers(any(FileTail.class), eq("a"));
+    verify(parquetColumnPrefetchStore, timeout(1000))
+        .persistColumnMappers(TEST_URI, objectMetadata, columnMappers);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataPrefetchesExactPageIndex() {
+    // Given: exact page index prefetching enabled
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .prefetchExactPageIndexEnabled(true)
+            .build();
+    ParquetMetadataParsingTask parquetMetadataParsingTask = getTestParquetMetadataTask();
+    ParquetPrefetchPageIndexTask parquetPrefetchPageIndexTask =
+        mock(ParquetPrefetchPageIndexTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            logicalIOConfiguration, parquetMetadataParsingTask, parquetPrefetchPageIndexTask);
+
+    // When: footer prefetching and metadata build is requested
+    parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the page index is prefetched using the parsed column mappers
+    verify(parquetPrefetchPageIndexTask, timeout(1000).times(1))
+        .prefetchPageIndex(any(ColumnMappers.class));
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataExactPageIndexDisabled() {
+    // Given: exact page index prefetching disabled
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .prefetchExactPageIndexEnabled(false)
+            .build();
+    ParquetPrefetchPageIndexTask parquetPrefetchPageIndexTask =
+        mock(ParquetPrefetchPageIndexTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            logicalIOConfiguration, getTestParquetMetadataTask(), parquetPrefetchPageIndexTask);
+
+    // When: footer prefetching and metadata build is requested
+    parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the page index is not prefetched from the footer
+    verifyNoInteractions(parquetPrefetchPageIndexTask);
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataPrefetchesHintedColumns() {
+    // Given: prefetching of row groups as they are read
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    ParquetReadTailTask parquetReadTailTask = getTestParquetReadTailTask();
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        mock(ParquetPredictivePrefetchingTask.class);
+    when(parquetPredictivePrefetchingTask.prefetchHintedColumns(any(ColumnMappers.class)))
+        .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            logicalIOConfiguration,
+            mock(ParquetColumnPrefetchStore.class),
+            getTestParquetMetadataTask(),
+            mock(ParquetPrefetchTailTask.class),
+            parquetReadTailTask,
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            parquetPredictivePrefetchingTask);
+
+    // When: footer prefetching and metadata build is requested
+    IOPlanExecution execution = parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the hinted columns are prefetched as soon as the footer is parsed
+    verify(parquetReadTailTask, times(1)).readFileTail();
+    verify(parquetPredictivePrefetchingTask, times(1))
+        .prefetchHintedColumns(any(ColumnMappers.class));
+    assertEquals(IOPlanState.SUBMITTED, execution.getState());
+  }
+
+  @Test
+  public void testPrefetchFooterAndBuildMetadataPrefetchesHintedColumnsOfParsedObject() {
+    // Given: the footer of the object was already parsed by a previous stream
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    ColumnMappers columnMappers = mock(ColumnMappers.class);
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getColumnMappers(ObjectKey.of(TEST_URI, TEST_ETAG)))
+        .thenReturn(columnMappers);
+    ParquetReadTailTask parquetReadTailTask = mock(ParquetReadTailTask.class);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        mock(ParquetPredictivePrefetchingTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(
+            logicalIOConfiguration,
+            parquetColumnPrefetchStore,
+            mock(ParquetMetadataParsingTask.class),
+            mock(ParquetPrefetchTailTask.class),
+            parquetReadTailTask,
+            mock(ParquetPrefetchRemainingColumnTask.class),
+            parquetPredictivePrefetchingTask);
+
+    // When: footer prefetching and metadata build is requested
+    parquetPrefetcher.prefetchFooterAndBuildMetadata().join();
+
+    // Then: the footer is not read again, but the hints of this stream are still prefetched
+    verifyNoInteractions(parquetReadTailTask);
+    verify(parquetPredictivePrefetchingTask, times(1)).prefetchHintedColumns(columnMappers);
+  }
+
+  @Test
+  public void testPrefetchPagesEnabled() {
+    // Given: page prefetching enabled
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .prefetchPagesEnabled(true)
+            .build();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask = mock(ParquetPrefetchPagesTask.class);
+    when(parquetPrefetchPagesTask.prefetchPages(100, 200))
+        .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(logicalIOConfiguration, parquetPrefetchPagesTask);
+
+    // When: a read happens
+    IOPlanExecution execution = parquetPrefetcher.prefetchPages(100, 200).join();
+
+    // Then: pages are prefetched for the read
+    verify(parquetPrefetchPagesTask, times(1)).prefetchPages(100, 200);
+    assertEquals(IOPlanState.SUBMITTED, execution.getState());
+  }
+
+  @Test
+  public void testPrefetchPagesDisabled() {
+    // Given: page prefetching disabled
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.ROW_GROUP)
+            .prefetchPagesEnabled(false)
+            .build();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask = mock(ParquetPrefetchPagesTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(logicalIOConfiguration, parquetPrefetchPagesTask);
+
+    // When: a read happens
+    IOPlanExecution execution = parquetPrefetcher.prefetchPages(100, 200).join();
+
+    // Then: no pages are prefetched
+    verifyNoInteractions(parquetPrefetchPagesTask);
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+  }
+
+  @Test
+  public void testPrefetchPagesOnlyForRowGroupMode() {
+    // Given: page prefetching enabled, but prefetching whole columns
+    LogicalIOConfiguration logicalIOConfiguration =
+        LogicalIOConfiguration.builder()
+            .prefetchingMode(PrefetchMode.COLUMN_BOUND)
+            .prefetchPagesEnabled(true)
+            .build();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask = mock(ParquetPrefetchPagesTask.class);
+
+    ParquetPrefetcher parquetPrefetcher =
+        getTestPrefetcher(logicalIOConfiguration, parquetPrefetchPagesTask);
+
+    // When: a read happens
+    IOPlanExecution execution = parquetPrefetcher.prefetchPages(100, 200).join();
+
+    // Then: no pages are prefetched
+    verifyNoInteractions(parquetPrefetchPagesTask);
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+  }
+
   private ParquetReadTailTask getTestParquetReadTailTask() {
     ParquetReadTailTask parquetReadTailTask = mock(ParquetReadTailTask.class);
     when(parquetReadTailTask.readFileTail()).thenReturn(new FileTail(ByteBuffer.allocate(10), 10));
@@ -533,7 +945,7 @@ public class ParquetPrefetcherTest {
 
   private ParquetMetadataParsingTask getTestParquetMetadataTask() {
     ParquetMetadataParsingTask parquetMetadataParsingTask = mock(ParquetMetadataParsingTask.class);
-    when(parquetMetadataParsingTask.storeColumnMappers(any()))
+    when(parquetMetadataParsingTask.storeColumnMappers(any(), any()))
         .thenReturn(mock(ColumnMappers.class));
     return parquetMetadataParsingTask;
   }
@@ -546,16 +958,65 @@ public class ParquetPrefetcherTest {
       ParquetReadTailTask parquetReadTailTask,
       ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask,
       ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask) {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(100).etag(TEST_ETAG).build());
 
     return new ParquetPrefetcher(
         TEST_URI,
+        physicalIO,
         logicalIOConfiguration,
         parquetColumnPrefetchStore,
         Telemetry.NOOP,
+        PREFETCH_EXECUTOR,
         parquetMetadataParsingTask,
         parquetPrefetchTailTask,
         parquetReadTailTask,
         parquetPrefetchRemainingColumnTask,
-        parquetPredictivePrefetchingTask);
+        parquetPredictivePrefetchingTask,
+        mock(ParquetPrefetchPageIndexTask.class),
+        mock(ParquetPrefetchPagesTask.class));
+  }
+
+  private ParquetPrefetcher getTestPrefetcher(
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetMetadataParsingTask parquetMetadataParsingTask,
+      ParquetPrefetchPageIndexTask parquetPrefetchPageIndexTask) {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+
+    return new ParquetPrefetcher(
+        TEST_URI,
+        physicalIO,
+        logicalIOConfiguration,
+        mock(ParquetColumnPrefetchStore.class),
+        Telemetry.NOOP,
+        PREFETCH_EXECUTOR,
+        parquetMetadataParsingTask,
+        mock(ParquetPrefetchTailTask.class),
+        getTestParquetReadTailTask(),
+        mock(ParquetPrefetchRemainingColumnTask.class),
+        mock(ParquetPredictivePrefetchingTask.class),
+        parquetPrefetchPageIndexTask,
+        mock(ParquetPrefetchPagesTask.class));
+  }
+
+  private ParquetPrefetcher getTestPrefetcher(
+      LogicalIOConfiguration logicalIOConfiguration,
+      ParquetPrefetchPagesTask parquetPrefetchPagesTask) {
+    return new ParquetPrefetcher(
+        TEST_URI,
+        mock(PhysicalIO.class),
+        logicalIOConfiguration,
+        mock(ParquetColumnPrefetchStore.class),
+        Telemetry.NOOP,
+        PREFETCH_EXECUTOR,
+        mock(ParquetMetadataParsingTask.class),
+        mock(ParquetPrefetchTailTask.class),
+        mock(ParquetReadTailTask.class),
+        mock(ParquetPrefetchRemainingColumnTask.class),
+        mock(ParquetPredictivePrefetchingTask.class),
+        mock(ParquetPrefetchPageIndexTask.class),
+        parquetPrefetchPagesTask);
   }
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class PrefetchExecutorTest {
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @Test
+  void testConstructor() {
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, TestTelemetry.DEFAULT)) {
+      assertEquals(0, prefetchExecutor.getQueuedTaskCount());
+      assertEquals(0, prefetchExecutor.getActiveTaskCount());
+      assertEquals(0, prefetchExecutor.getCompletedTaskCount());
+      assertEquals(0, prefetchExecutor.getDroppedTaskCount());
+    }
+  }
+
+  @Test
+  void testConstructorThrowsOnNulls() {
+    assertThrows(
+        NullPointerException.class,
+        () -> new PrefetchExecutor(null, TestTelemetry.DEFAULT).close());
+    assertThrows(
+        NullPointerException.class,
+        () -> new PrefetchExecutor(LogicalIOConfiguration.DEFAULT, null).close());
+    assertThrows(
+        NullPointerException.class, () -> new PrefetchExecutor(1, 1, 0, null, System::nanoTime));
+    assertThrows(
+        NullPointerException.class,
+        () -> new PrefetchExecutor(1, 1, 0, TestTelemetry.DEFAULT, null));
+  }
+
+  @Test
+  void testConstructorThrowsOnInvalidArguments() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PrefetchExecutor(0, 1, 0, TestTelemetry.DEFAULT, System::nanoTime));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PrefetchExecutor(1, 0, 0, TestTelemetry.DEFAULT, System::nanoTime));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PrefetchExecutor(1, 1, -1, TestTelemetry.DEFAULT, System::nanoTime));
+  }
+
+  @Test
+  void testSubmitThrowsOnNull() {
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(1, 1, 0, TestTelemetry.DEFAULT, System::nanoTime)) {
+      assertThrows(NullPointerException.class, () -> prefetchExecutor.submit(null));
+    }
+  }
+
+  @Test
+  void testSubmitCompletesWithResult() {
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(2, 4, 0, TestTelemetry.DEFAULT, System::nanoTime)) {
+      // When
+      CompletableFuture<Integer> result = prefetchExecutor.submit(() -> 42);
+
+      // Then
+      assertEquals(42, result.join());
+      assertEquals(1, prefetchExecutor.getCompletedTaskCount());
+      assertEquals(0, prefetchExecutor.getDroppedTaskCount());
+    }
+  }
+
+  @Test
+  void testSubmitCompletesExceptionallyWhenTaskThrows() {
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(1, 1, 0, TestTelemetry.DEFAULT, System::nanoTime)) {
+      // When
+      CompletableFuture<Integer> result =
+          prefetchExecutor.submit(
+              () -> {
+                throw new IllegalStateException("boom");
+              });
+
+      // Then
+      CompletionException e = assertThrows(CompletionException.class, result::join);
+      assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+  }
+
+  @Test
+  void testFullQueueDropsOldestTask() throws Exception {
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(1, 1, 0, TestTelemetry.DEFAULT, System::nanoTime)) {
+      // Given: the only thread is busy
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CompletableFuture<Integer> running =
+          prefetchExecutor.submit(
+              () -> {
+                started.countDown();
+                awaitUninterruptibly(release);
+                return 1;
+              });
+      assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+      // When: two more tasks are submitted to a queue of one
+      CompletableFuture<Integer> oldest = prefetchExecutor.submit(() -> 2);
+      CompletableFuture<Integer> newest = prefetchExecutor.submit(() -> 3);
+
+      // Then: the oldest queued task is dropped and the newest one runs
+      assertTrue(oldest.isCompletedExceptionally());
+      assertThrows(CancellationException.class, oldest::join);
+      assertEquals(1, prefetchExecutor.getDroppedTaskCount());
+      assertEquals(1, prefetchExecutor.getQueuedTaskCount());
+
+      release.countDown();
+      assertEquals(1, running.join());
+      assertEquals(3, newest.join());
+    }
+  }
+
+  @Test
+  void testStaleTaskIsDropped() throws Exception {
+    AtomicLong nanoTime = new AtomicLong();
+    try (PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(1, 2, 100, TestTelemetry.DEFAULT, nanoTime::get)) {
+      // Given: the only thread is busy
+      CountDownLatch started = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      CompletableFuture<Integer> running =
+          prefetchExecutor.submit(
+              () -> {
+                started.countDown();
+                awaitUninterruptibly(release);
+                return 1;
+              });
+      assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+      CompletableFuture<Integer> queued = prefetchExecutor.submit(() -> 2);
+
+      // When: the queued task waits for longer than the stale task timeout
+      nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(101));
+      release.countDown();
+
+      // Then
+      assertEquals(1, running.join());
+      assertThrows(CancellationException.class, queued::join);
+      assertEquals(1, prefetchExecutor.getDroppedTaskCount());
+      assertEquals(1, prefetchExecutor.getCompletedTaskCount());
+    }
+  }
+
+  @Test
+  void testCloseDropsQueuedTasks() throws Exception {
+    // Given
+    PrefetchExecutor prefetchExecutor =
+        new PrefetchExecutor(1, 2, 0, TestTelemetry.DEFAULT, System::nanoTime);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Integer> running =
+        prefetchExecutor.submit(
+            () -> {
+              started.countDown();
+              awaitUninterruptibly(release);
+              return 1;
+            });
+    assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    CompletableFuture<Integer> queued = prefetchExecutor.submit(() -> 2);
+
+    // When
+    prefetchExecutor.close();
+    release.countDown();
+
+    // Then: running tasks complete, queued and later tasks are dropped
+    assertEquals(1, running.join());
+    assertThrows(CancellationException.class, queued::join);
+    assertThrows(CancellationException.class, prefetchExecutor.submit(() -> 3)::join);
+    assertEquals(2, prefetchExecutor.getDroppedTaskCount());
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class RowGroupBitmapTest {
+
+  @Test
+  void testNegativeIndexesFail() {
+    RowGroupBitmap rowGroupBitmap = new RowGroupBitmap();
+    assertThrows(IllegalArgumentException.class, () -> rowGroupBitmap.add(-1));
+    assertThrows(IllegalArgumentException.class, () -> rowGroupBitmap.remove(-1));
+    assertThrows(IllegalArgumentException.class, () -> rowGroupBitmap.contains(-1));
+  }
+
+  @Test
+  void testAddAndRemove() {
+    // Given: a bitmap with row groups in the first word and in later words
+    RowGroupBitmap rowGroupBitmap = new RowGroupBitmap();
+    rowGroupBitmap.add(0);
+    rowGroupBitmap.add(63);
+    rowGroupBitmap.add(64);
+    rowGroupBitmap.add(1000);
+
+    // Then: only those row groups are contained
+    assertTrue(rowGroupBitmap.contains(0));
+    assertTrue(rowGroupBitmap.contains(63));
+    assertTrue(rowGroupBitmap.contains(64));
+    assertTrue(rowGroupBitmap.contains(1000));
+    assertFalse(rowGroupBitmap.contains(1));
+    assertFalse(rowGroupBitmap.contains(65));
+    assertFalse(rowGroupBitmap.contains(128));
+    assertFalse(rowGroupBitmap.contains(Integer.MAX_VALUE));
+
+    // When: row groups are removed, including ones that were never added
+    rowGroupBitmap.remove(63);
+    rowGroupBitmap.remove(1000);
+    rowGroupBitmap.remove(5000);
+
+    // Then: they are no longer contained, and the others still are
+    assertFalse(rowGroupBitmap.contains(63));
+    assertFalse(rowGroupBitmap.contains(1000));
+    assertTrue(rowGroupBitmap.contains(0));
+    assertTrue(rowGroupBitmap.contains(64));
+  }
+
+  @Test
+  void testConcurrentAdds() throws Exception {
+    // Given: a bitmap
+    RowGroupBitmap rowGroupBitmap = new RowGroupBitmap();
+    int threads = 8;
+
+    // When: threads add interleaved row groups, which share words, at the same time
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      int firstRowGroup = thread;
+      futures.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                for (int rowGroup = firstRowGroup; rowGroup < 1024; rowGroup += threads) {
+                  rowGroupBitmap.add(rowGroup);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+
+    // Then: no row group is lost
+    for (int rowGroup = 0; rowGroup < 1024; rowGroup++) {
+      assertTrue(rowGroupBitmap.contains(rowGroup));
+    }
+  }
+}
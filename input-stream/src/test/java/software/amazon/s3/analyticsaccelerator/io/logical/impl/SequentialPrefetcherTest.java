@@ -0,0 +1,340 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class SequentialPrefetcherTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.csv");
+  private static final LogicalIOConfiguration CONFIGURATION =
+      LogicalIOConfiguration.builder()
+          .sequentialReadAheadBytes(100)
+          .sequentialTrailingWindowBytes(20)
+          .build();
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new SequentialPrefetcher(
+            TEST_URI, mock(PhysicalIO.class), TestTelemetry.DEFAULT, CONFIGURATION));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SequentialPrefetcher(
+                null, mock(PhysicalIO.class), TestTelemetry.DEFAULT, CONFIGURATION));
+    assertThrows(
+        NullPointerException.class,
+        () -> new SequentialPrefetcher(TEST_URI, null, TestTelemetry.DEFAULT, CONFIGURATION));
+    assertThrows(
+        NullPointerException.class,
+        () -> new SequentialPrefetcher(TEST_URI, mock(PhysicalIO.class), null, CONFIGURATION));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new SequentialPrefetcher(
+                TEST_URI, mock(PhysicalIO.class), TestTelemetry.DEFAULT, null));
+  }
+
+  @Test
+  void testPrefetchFetchesReadAheadWindowOnFirstRead() throws IOException {
+    // Given: a prefetcher over a 1000 byte object
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+
+    // When: the first read happens
+    prefetcher.prefetch(0);
+
+    // Then: the read-ahead window is fetched
+    assertEquals(new Range(0, 99), executedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testPrefetchTopsUpWindowOnceHalfOfItIsRead() throws IOException {
+    // Given: a prefetcher which fetched the first window
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+    prefetcher.prefetch(0);
+
+    // When: the reader moves through the first half of the window, then past it
+    IOPlanExecution skipped = prefetcher.prefetch(40);
+    prefetcher.prefetch(60);
+
+    // Then: the window is only topped up once the reader is past its first half
+    assertEquals(IOPlanState.SKIPPED, skipped.getState());
+    List<Range> ranges = executedRanges(physicalIO, 2);
+    assertEquals(new Range(0, 99), ranges.get(0));
+    assertEquals(new Range(100, 159), ranges.get(1));
+  }
+
+  @Test
+  void testPrefetchStopsAtEndOfObject() throws IOException {
+    // Given: a prefetcher over an object smaller than the window
+    PhysicalIO physicalIO = mockPhysicalIO(50);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+
+    // When: the object is read
+    prefetcher.prefetch(0);
+    IOPlanExecution execution = prefetcher.prefetch(40);
+
+    // Then: the object is fetched once, and not past its end
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    assertEquals(new Range(0, 49), executedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testPrefetchStartsNewRunOnSeek() throws IOException {
+    // Given: a prefetcher which fetched the first window
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+    prefetcher.prefetch(0);
+
+    // When: the reader seeks past the prefetched data
+    prefetcher.prefetch(500);
+
+    // Then: a new window is fetched from the new position
+    assertEquals(new Range(500, 599), executedRanges(physicalIO, 2).get(1));
+  }
+
+  @Test
+  void testPrefetchIsSkippedWhenReadAheadIsDisabled() throws IOException {
+    // Given: a prefetcher with read-ahead disabled
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder().sequentialReadAheadBytes(0).build());
+
+    // When: a read happens
+    IOPlanExecution execution = prefetcher.prefetch(0);
+
+    // Then: nothing is fetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchDoesNotThrowOnFailure() throws IOException {
+    // Given: a physical IO that fails to execute plans
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    when(physicalIO.execute(any(IOPlan.class))).thenThrow(new IOException("Error"));
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+
+    // When: a read happens
+    IOPlanExecution execution = prefetcher.prefetch(0);
+
+    // Then: the prefetch is skipped
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+  }
+
+  @Test
+  void testOnReadEvictsDataBehindTrailingWindow() throws IOException {
+    // Given: a prefetcher with a 20 byte trailing window
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+    prefetcher.prefetch(0);
+
+    // When: the reader reads within the window, then past it
+    prefetcher.onRead(0, new byte[25], 0, 25);
+    verify(physicalIO, never()).evict(any(IOPlan.class));
+    prefetcher.onRead(25, new byte[10], 0, 10);
+
+    // Then: the data more than 20 bytes behind the reader is evicted
+    assertEquals(new Range(0, 14), evictedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testOnReadEvictsOnlyDataOfCurrentRun() throws IOException {
+    // Given: a prefetcher whose reader has seeked into the object
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+    prefetcher.prefetch(500);
+
+    // When: the reader reads past the trailing window
+    prefetcher.onRead(500, new byte[40], 0, 40);
+
+    // Then: only the data of the run is evicted
+    assertEquals(new Range(500, 519), evictedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testOnReadKeepsDataAnotherStreamOfTheObjectReads() throws IOException {
+    // Given: two streams of the same object sharing its blob, one of which reads its start
+    String data = new String(new char[200]).replace('\0', 'a');
+    FakeObjectClient objectClient = new FakeObjectClient(data);
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore, objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl other =
+        new PhysicalIOImpl(TEST_URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    PhysicalIOImpl sequential =
+        new PhysicalIOImpl(TEST_URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    byte[] buffer = new byte[40];
+    assertEquals(10, other.read(buffer, 0, 10, 0));
+    int getRequestCount = objectClient.getGetRequestCount().get();
+
+    // When: the sequential stream reads past its trailing window
+    SequentialPrefetcher sequentialPrefetcher =
+        new SequentialPrefetcher(TEST_URI, sequential, TestTelemetry.DEFAULT, CONFIGURATION);
+    sequentialPrefetcher.prefetch(0);
+    assertEquals(40, sequential.read(buffer, 0, 40, 0));
+    sequentialPrefetcher.onRead(0, buffer, 0, 40);
+
+    // Then: the other stream still reads the data it read without fetching it again
+    assertEquals(5, other.read(buffer, 0, 5, 5));
+    assertEquals(getRequestCount, objectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testOnReadKeepsCurrentRecordWhenAlignmentIsEnabled() throws IOException {
+    // Given: a prefetcher with record alignment enabled
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder()
+                .sequentialReadAheadBytes(100)
+                .sequentialTrailingWindowBytes(0)
+                .sequentialRecordAlignmentEnabled(true)
+                .build());
+    prefetcher.prefetch(0);
+
+    // When: a record is read in two reads
+    byte[] data = "a,b\nc,d".getBytes(StandardCharsets.UTF_8);
+    prefetcher.onRead(0, data, 0, 2);
+    verify(physicalIO, never()).evict(any(IOPlan.class));
+    prefetcher.onRead(2, data, 2, 5);
+
+    // Then: only the data before the record the reader is in is evicted
+    assertEquals(new Range(0, 3), evictedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testOnReadOfSingleByteTracksRecordDelimiter() throws IOException {
+    // Given: a prefetcher with record alignment enabled
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(
+            TEST_URI,
+            physicalIO,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.builder()
+                .sequentialReadAheadBytes(100)
+                .sequentialTrailingWindowBytes(0)
+                .sequentialRecordAlignmentEnabled(true)
+                .build());
+    prefetcher.prefetch(0);
+
+    // When: a record delimiter is read as a single byte
+    prefetcher.onRead(0, 'a');
+    verify(physicalIO, never()).evict(any(IOPlan.class));
+    prefetcher.onRead(1, '\n');
+
+    // Then: the record is evicted
+    assertEquals(new Range(0, 1), evictedRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testOnReadIsIgnoredBeforeFirstPrefetchAndAtEndOfObject() throws IOException {
+    // Given: a prefetcher
+    PhysicalIO physicalIO = mockPhysicalIO(1000);
+    SequentialPrefetcher prefetcher =
+        new SequentialPrefetcher(TEST_URI, physicalIO, TestTelemetry.DEFAULT, CONFIGURATION);
+
+    // When: reads are recorded before the first prefetch, and at the end of the object
+    prefetcher.onRead(0, new byte[100], 0, 100);
+    prefetcher.prefetch(0);
+    prefetcher.onRead(0, new byte[100], 0, -1);
+    prefetcher.onRead(0, -1);
+
+    // Then: nothing is evicted
+    verify(physicalIO, never()).evict(any(IOPlan.class));
+  }
+
+  private static PhysicalIO mockPhysicalIO(long contentLength) throws IOException {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(contentLength).build());
+    when(physicalIO.execute(any(IOPlan.class)))
+        .thenReturn(IOPlanExecution.builder().state(IOPlanState.SUBMITTED).build());
+    return physicalIO;
+  }
+
+  private static List<Range> executedRanges(PhysicalIO physicalIO, int count) throws IOException {
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(count)).execute(ioPlan.capture());
+    return ioPlan.getAllValues().stream()
+        .map(plan -> plan.getPrefetchRanges().get(0))
+        .collect(Collectors.toList());
+  }
+
+  private static List<Range> evictedRanges(PhysicalIO physicalIO, int count) {
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(count)).evict(ioPlan.capture());
+    return ioPlan.getAllValues().stream()
+        .map(plan -> plan.getPrefetchRanges().get(0))
+        .collect(Collectors.toList());
+  }
+}
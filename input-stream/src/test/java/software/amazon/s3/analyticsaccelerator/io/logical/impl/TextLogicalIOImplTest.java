@@ -0,0 +1,121 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class TextLogicalIOImplTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.csv");
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new TextLogicalIOImpl(
+            TEST_URI,
+            mock(PhysicalIO.class),
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT));
+  }
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new TextLogicalIOImpl(
+                null,
+                mock(PhysicalIO.class),
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new TextLogicalIOImpl(
+                TEST_URI, null, TestTelemetry.DEFAULT, LogicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new TextLogicalIOImpl(
+                TEST_URI, mock(PhysicalIO.class), null, LogicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new TextLogicalIOImpl(TEST_URI, mock(PhysicalIO.class), TestTelemetry.DEFAULT, null));
+  }
+
+  @Test
+  void testReadPrefetchesAheadOfReader() throws IOException {
+    // Given: a text logical IO over a 100MB object
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(100 * 1024 * 1024).build());
+    when(physicalIO.read(any(), anyInt(), anyInt(), anyLong())).thenReturn(10);
+    TextLogicalIOImpl logicalIO =
+        new TextLogicalIOImpl(
+            TEST_URI, physicalIO, TestTelemetry.DEFAULT, LogicalIOConfiguration.DEFAULT);
+
+    // When: the object is read
+    assertEquals(10, logicalIO.read(new byte[10], 0, 10, 0));
+
+    // Then: the read-ahead window is prefetched
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    assertEquals(
+        new Range(0, 32 * 1024 * 1024 - 1), ioPlan.getValue().getPrefetchRanges().get(0));
+  }
+
+  @Test
+  void testSingleByteReadPrefetchesAheadOfReader() throws IOException {
+    // Given: a text logical IO over a 100 byte object
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata()).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(physicalIO.read(anyLong())).thenReturn((int) 'a');
+    TextLogicalIOImpl logicalIO =
+        new TextLogicalIOImpl(
+            TEST_URI, physicalIO, TestTelemetry.DEFAULT, LogicalIOConfiguration.DEFAULT);
+
+    // When: a byte is read
+    assertEquals('a', logicalIO.read(0));
+
+    // Then: the object is prefetched
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    assertEquals(new Range(0, 99), ioPlan.getValue().getPrefetchRanges().get(0));
+  }
+}
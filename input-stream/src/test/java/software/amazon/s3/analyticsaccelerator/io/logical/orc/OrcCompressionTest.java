@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class OrcCompressionTest {
+
+  @Test
+  void testFromValue() throws IOException {
+    assertEquals(OrcCompression.NONE, OrcCompression.fromValue(0));
+    assertEquals(OrcCompression.ZLIB, OrcCompression.fromValue(1));
+    assertEquals(OrcCompression.ZSTD, OrcCompression.fromValue(5));
+    assertThrows(IOException.class, () -> OrcCompression.fromValue(-1));
+    assertThrows(IOException.class, () -> OrcCompression.fromValue(6));
+  }
+
+  @Test
+  void testIsSupported() {
+    assertTrue(OrcCompression.NONE.isSupported());
+    assertTrue(OrcCompression.ZLIB.isSupported());
+    assertFalse(OrcCompression.SNAPPY.isSupported());
+    assertFalse(OrcCompression.ZSTD.isSupported());
+  }
+
+  @Test
+  void testDecompressNone() throws IOException {
+    // Given
+    byte[] buffer = new byte[] {1, 2, 3, 4, 5};
+
+    // When & Then
+    assertArrayEquals(new byte[] {2, 3, 4}, OrcCompression.NONE.decompress(buffer, 1, 3));
+  }
+
+  @Test
+  void testDecompressZlib() throws IOException {
+    // Given: a compressible chunk followed by an original chunk
+    byte[] compressible = new byte[1000];
+    Arrays.fill(compressible, (byte) 7);
+    byte[] incompressible = new byte[100];
+    new Random(1).nextBytes(incompressible);
+    byte[] first = OrcTestFile.compress(OrcCompression.ZLIB, compressible);
+    byte[] second = OrcTestFile.compress(OrcCompression.ZLIB, incompressible);
+    assertEquals(0, first[0] & 1);
+    assertEquals(1, second[0] & 1);
+    byte[] buffer = new byte[first.length + second.length];
+    System.arraycopy(first, 0, buffer, 0, first.length);
+    System.arraycopy(second, 0, buffer, first.length, second.length);
+
+    // When
+    byte[] decompressed = OrcCompression.ZLIB.decompress(buffer, 0, buffer.length);
+
+    // Then
+    byte[] expected = new byte[compressible.length + incompressible.length];
+    System.arraycopy(compressible, 0, expected, 0, compressible.length);
+    System.arraycopy(incompressible, 0, expected, compressible.length, incompressible.length);
+    assertArrayEquals(expected, decompressed);
+  }
+
+  @Test
+  void testDecompressTruncatedThrows() {
+    // Given
+    byte[] compressed = OrcTestFile.compress(OrcCompression.ZLIB, new byte[1000]);
+
+    // When & Then
+    assertThrows(IOException.class, () -> OrcCompression.ZLIB.decompress(compressed, 0, 2));
+    assertThrows(
+        IOException.class,
+        () -> OrcCompression.ZLIB.decompress(compressed, 0, compressed.length - 1));
+  }
+
+  @Test
+  void testDecompressUnsupportedThrows() {
+    assertThrows(
+        IOException.class, () -> OrcCompression.SNAPPY.decompress(new byte[] {1, 0, 0}, 0, 3));
+  }
+}
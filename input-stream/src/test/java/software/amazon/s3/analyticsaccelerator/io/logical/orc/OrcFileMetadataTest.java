@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcFileMetadataTest {
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcFileMetadata(
+                null, Collections.emptyList(), Collections.emptyList(), new int[] {-1}));
+    assertThrows(
+        NullPointerException.class,
+        () -> new OrcFileMetadata(OrcCompression.NONE, null, Collections.emptyList(), new int[0]));
+    assertThrows(
+        NullPointerException.class,
+        () -> new OrcFileMetadata(OrcCompression.NONE, Collections.emptyList(), null, new int[0]));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcFileMetadata(
+                OrcCompression.NONE, Collections.emptyList(), Collections.emptyList(), null));
+  }
+
+  @Test
+  void testGetColumnName() {
+    // Given: a root struct with a top level column, and a struct holding a nested column
+    OrcFileMetadata metadata =
+        new OrcFileMetadata(
+            OrcCompression.ZLIB,
+            Collections.emptyList(),
+            Arrays.asList("a", "b"),
+            new int[] {-1, 0, 1, 1});
+
+    // When & Then
+    assertEquals(4, metadata.getColumnIdCount());
+    assertNull(metadata.getColumnName(-1));
+    assertNull(metadata.getColumnName(0));
+    assertEquals("a", metadata.getColumnName(1));
+    assertEquals("b", metadata.getColumnName(2));
+    assertEquals("b", metadata.getColumnName(3));
+    assertNull(metadata.getColumnName(4));
+    assertEquals("ab".hashCode(), metadata.getSchemaHash());
+  }
+
+  @Test
+  void testStripeInformation() {
+    // Given
+    OrcStripeInformation stripe = new OrcStripeInformation(3, 10, 100, 20, 1000);
+
+    // When & Then
+    assertEquals(113, stripe.getFooterOffset());
+    assertEquals(new Range(113, 132), stripe.getFooterRange());
+    assertFalse(stripe.contains(2));
+    assertTrue(stripe.contains(3));
+    assertTrue(stripe.contains(132));
+    assertFalse(stripe.contains(133));
+  }
+}
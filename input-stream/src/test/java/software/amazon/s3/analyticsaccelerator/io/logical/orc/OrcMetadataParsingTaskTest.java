@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcMetadataParsingTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, OrcTestFile.ETAG);
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new OrcMetadataParsingTask(
+            TEST_URI, Telemetry.NOOP, mock(PhysicalIO.class), mock(OrcColumnPrefetchStore.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcMetadataParsingTask(
+                null, Telemetry.NOOP, mock(PhysicalIO.class), mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcMetadataParsingTask(
+                TEST_URI, null, mock(PhysicalIO.class), mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcMetadataParsingTask(
+                TEST_URI, Telemetry.NOOP, null, mock(OrcColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcMetadataParsingTask(TEST_URI, Telemetry.NOOP, mock(PhysicalIO.class), null));
+  }
+
+  @Test
+  void testStoreStreamMappers() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.ZLIB, 3, 16, "a", "b.x");
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcMetadataParsingTask task =
+        new OrcMetadataParsingTask(TEST_URI, Telemetry.NOOP, physicalIO, store);
+
+    // When
+    OrcStreamMappers streamMappers = task.storeStreamMappers(metadata);
+
+    // Then: the stripe footers are fetched together, and the mappers are stored
+    assertSame(streamMappers, store.getStreamMappers(TEST_KEY));
+    assertNull(store.getStreamMappers(ObjectKey.of(TEST_URI, "other")));
+    assertEquals(3, streamMappers.getStripeCount());
+    for (OrcStreamLocation stream : file.getStreams()) {
+      assertEquals(
+          Optional.of(stream), streamMappers.getStreamContaining(stream.getRange().getStart()));
+    }
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).execute(ioPlan.capture());
+    List<Range> footerRanges = new ArrayList<>();
+    for (OrcStripeInformation stripe : file.getStripes()) {
+      footerRanges.add(stripe.getFooterRange());
+    }
+    assertEquals(footerRanges, ioPlan.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testStoreStreamMappersFailureThrowsCompletionException() throws IOException {
+    // Given: the stripe footers can not be read
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(
+            ObjectMetadata.builder().contentLength(bytes.length).etag(OrcTestFile.ETAG).build());
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong())).thenReturn(-1);
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcMetadataParsingTask task =
+        new OrcMetadataParsingTask(TEST_URI, Telemetry.NOOP, physicalIO, store);
+
+    // When & Then
+    assertThrows(CompletionException.class, () -> task.storeStreamMappers(metadata));
+    assertTrue(store.getStreamMappers(TEST_KEY) == null);
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.OrcColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcPredictivePrefetchingTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.orc");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, OrcTestFile.ETAG);
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new OrcPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            mock(OrcColumnPrefetchStore.class),
+            OpenStreamOptions.DEFAULT));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class),
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class),
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class),
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                mock(OrcColumnPrefetchStore.class),
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null,
+                OpenStreamOptions.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new OrcPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(OrcColumnPrefetchStore.class),
+                null));
+  }
+
+  @Test
+  void testPrefetchRecentColumnsSkipsWithoutKnownColumns() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPredictivePrefetchingTask task = createTask(physicalIO, store, OpenStreamOptions.DEFAULT);
+
+    // When
+    IOPlanExecution execution = task.prefetchRecentColumns(createStreamMappers(file));
+
+    // Then: the stripe is left to be prefetched once its columns are known
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    assertFalse(store.isStripePrefetched(TEST_URI, 0));
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchRecentColumnsOfFirstStripe() throws IOException {
+    // Given: column b was read from a file of the same schema
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    store.addRecentColumn(streamMappers.getSchemaHash(), "b");
+    OrcPredictivePrefetchingTask task = createTask(physicalIO, store, OpenStreamOptions.DEFAULT);
+
+    // When
+    task.prefetchRecentColumns(streamMappers);
+
+    // Then
+    assertEquals(streamMappers.getColumnRanges("b", 0), getPrefetchRanges(physicalIO, 1).get(0));
+    assertTrue(store.isStripePrefetched(TEST_URI, 0));
+    assertFalse(store.isStripePrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testPrefetchRecentColumnsOfAllStripesInAllMode() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ALL).build();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(configuration);
+    store.addRecentColumn(streamMappers.getSchemaHash(), "a");
+    OrcPredictivePrefetchingTask task =
+        new OrcPredictivePrefetchingTask(
+            TEST_URI, Telemetry.NOOP, configuration, physicalIO, store, OpenStreamOptions.DEFAULT);
+
+    // When
+    task.prefetchRecentColumns(streamMappers);
+
+    // Then
+    List<Range> expected = new ArrayList<>(streamMappers.getColumnRanges("a", 0));
+    expected.addAll(streamMappers.getColumnRanges("a", 1));
+    assertEquals(expected, getPrefetchRanges(physicalIO, 1).get(0));
+    assertTrue(store.isStripePrefetched(TEST_URI, 0));
+    assertTrue(store.isStripePrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testPrefetchRecentColumnsUsesHints() throws IOException {
+    // Given: a hint for a, although b was read before
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    store.addRecentColumn(streamMappers.getSchemaHash(), "b");
+    OrcPredictivePrefetchingTask task =
+        createTask(
+            physicalIO,
+            store,
+            OpenStreamOptions.builder().projectedColumns(Collections.singleton("a")).build());
+
+    // When
+    task.prefetchRecentColumns(streamMappers);
+
+    // Then
+    assertEquals(streamMappers.getColumnRanges("a", 0), getPrefetchRanges(physicalIO, 1).get(0));
+  }
+
+  @Test
+  void testAddToRecentColumnList() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    store.putStreamMappers(TEST_KEY, streamMappers);
+    OrcPredictivePrefetchingTask task = createTask(physicalIO, store, OpenStreamOptions.DEFAULT);
+    OrcStreamLocation stream = file.getStreamsPerStripe().get(1).get(1);
+
+    // When: a stream of b in the second stripe is read twice
+    Optional<OrcStreamLocation> first = task.addToRecentColumnList(stream.getRange().getStart());
+    Optional<OrcStreamLocation> second = task.addToRecentColumnList(stream.getRange().getEnd());
+
+    // Then: b is recorded, and the stripe prefetched once
+    assertEquals(Optional.of(stream), first);
+    assertEquals(Optional.of(stream), second);
+    assertEquals(
+        Collections.singleton("b"),
+        store.getUniqueRecentColumnsForSchema(streamMappers.getSchemaHash()));
+    assertEquals(streamMappers.getColumnRanges("b", 1), getPrefetchRanges(physicalIO, 1).get(0));
+    assertTrue(store.isStripePrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testAddToRecentColumnListOutsideStreams() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = file.mockPhysicalIO();
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    OrcPredictivePrefetchingTask task = createTask(physicalIO, store, OpenStreamOptions.DEFAULT);
+
+    // When & Then: nothing is recorded before the mappers are stored, for a different version of
+    // the file, or outside streams
+    assertFalse(task.addToRecentColumnList(100).isPresent());
+    store.putStreamMappers(ObjectKey.of(TEST_URI, "previous"), streamMappers);
+    assertFalse(task.addToRecentColumnList(100).isPresent());
+    store.putStreamMappers(TEST_KEY, streamMappers);
+    assertFalse(task.addToRecentColumnList(0).isPresent());
+    assertTrue(store.getUniqueRecentColumnsForSchema(streamMappers.getSchemaHash()).isEmpty());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchFailureIsSkipped() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 1, 16, "a");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.execute(any(IOPlan.class))).thenThrow(new IOException("Error"));
+    OrcColumnPrefetchStore store = new OrcColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    store.addRecentColumn(streamMappers.getSchemaHash(), "a");
+    OrcPredictivePrefetchingTask task = createTask(physicalIO, store, OpenStreamOptions.DEFAULT);
+
+    // When & Then
+    assertEquals(IOPlanState.SKIPPED, task.prefetchRecentColumns(streamMappers).getState());
+  }
+
+  private static OrcPredictivePrefetchingTask createTask(
+      PhysicalIO physicalIO, OrcColumnPrefetchStore store, OpenStreamOptions openStreamOptions) {
+    return new OrcPredictivePrefetchingTask(
+        TEST_URI,
+        Telemetry.NOOP,
+        LogicalIOConfiguration.DEFAULT,
+        physicalIO,
+        store,
+        openStreamOptions);
+  }
+
+  private static OrcStreamMappers createStreamMappers(OrcTestFile file) throws IOException {
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    return new OrcStreamMappers(metadata, file.getStreamsPerStripe());
+  }
+
+  private static List<List<Range>> getPrefetchRanges(PhysicalIO physicalIO, int times)
+      throws IOException {
+    ArgumentCaptor<IOPlan> ioPlan = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(times)).execute(ioPlan.capture());
+    List<List<Range>> prefetchRanges = new ArrayList<>();
+    for (IOPlan plan : ioPlan.getAllValues()) {
+      prefetchRanges.add(plan.getPrefetchRanges());
+    }
+    return prefetchRanges;
+  }
+}
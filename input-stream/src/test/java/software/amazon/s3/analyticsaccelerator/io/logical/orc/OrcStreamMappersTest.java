@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcStreamMappersTest {
+
+  @Test
+  void testConstructorFailsOnInvalidArguments() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+
+    // When & Then
+    assertThrows(
+        NullPointerException.class,
+        () -> new OrcStreamMappers(null, file.getStreamsPerStripe()));
+    assertThrows(NullPointerException.class, () -> new OrcStreamMappers(metadata, null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OrcStreamMappers(metadata, Collections.emptyList()));
+  }
+
+  @Test
+  void testGetStreamContaining() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b.x");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+
+    // When & Then
+    for (OrcStreamLocation stream : file.getStreams()) {
+      Range range = stream.getRange();
+      assertEquals(stream, streamMappers.getStreamContaining(range.getStart()).get());
+      assertEquals(stream, streamMappers.getStreamContaining(range.getEnd()).get());
+    }
+    assertFalse(streamMappers.getStreamContaining(0).isPresent());
+    OrcStripeInformation stripe = file.getStripes().get(0);
+    assertFalse(streamMappers.getStreamContaining(stripe.getFooterOffset()).isPresent());
+  }
+
+  @Test
+  void testGetColumnRangesMergesAdjacentStreams() throws IOException {
+    // Given: index streams of a, b and b.x, then the root stream, then the data streams
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b.x");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+
+    for (int stripeIndex = 0; stripeIndex < 2; stripeIndex++) {
+      List<OrcStreamLocation> streams = file.getStreamsPerStripe().get(stripeIndex);
+
+      // When
+      List<Range> aRanges = streamMappers.getColumnRanges("a", stripeIndex);
+      List<Range> bRanges = streamMappers.getColumnRanges("b", stripeIndex);
+
+      // Then
+      assertEquals(2, aRanges.size());
+      assertEquals(streams.get(0).getRange(), aRanges.get(0));
+      assertEquals(streams.get(3).getRange(), aRanges.get(1));
+      assertEquals(2, bRanges.size());
+      assertEquals(
+          new Range(streams.get(1).getRange().getStart(), streams.get(2).getRange().getEnd()),
+          bRanges.get(0));
+      assertEquals(
+          new Range(streams.get(4).getRange().getStart(), streams.get(5).getRange().getEnd()),
+          bRanges.get(1));
+    }
+    assertTrue(streamMappers.getColumnRanges("c", 0).isEmpty());
+    assertTrue(streamMappers.getColumnRanges("a", 2).isEmpty());
+    assertTrue(streamMappers.getColumnRanges("a", -1).isEmpty());
+  }
+
+  @Test
+  void testGetters() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 3, 16, "a", "b");
+    OrcStreamMappers streamMappers = createStreamMappers(file);
+
+    // When & Then
+    assertEquals(3, streamMappers.getStripeCount());
+    assertEquals("ab".hashCode(), streamMappers.getSchemaHash());
+    assertEquals(file.getStripes(), streamMappers.getFileMetadata().getStripes());
+  }
+
+  private static OrcStreamMappers createStreamMappers(OrcTestFile file) throws IOException {
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    return new OrcStreamMappers(metadata, file.getStreamsPerStripe());
+  }
+}
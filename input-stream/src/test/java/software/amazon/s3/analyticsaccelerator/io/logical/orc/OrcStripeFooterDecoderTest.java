@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcStripeFooterDecoderTest {
+
+  @ParameterizedTest
+  @EnumSource(
+      value = OrcCompression.class,
+      names = {"NONE", "ZLIB"})
+  void testDecodeStreams(OrcCompression compression) throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(compression, 2, 16, "a", "b.x");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+
+    for (int stripeIndex = 0; stripeIndex < 2; stripeIndex++) {
+      OrcStripeInformation stripe = metadata.getStripes().get(stripeIndex);
+
+      // When
+      List<OrcStreamLocation> streams =
+          OrcStripeFooterDecoder.decodeStreams(
+              metadata,
+              stripeIndex,
+              bytes,
+              (int) stripe.getFooterOffset(),
+              (int) stripe.getFooterLength());
+
+      // Then: root and empty streams are left out
+      assertEquals(file.getStreamsPerStripe().get(stripeIndex), streams);
+    }
+  }
+
+  @Test
+  void testStreamPastStripeFooterThrows() throws IOException {
+    // Given: a stripe footer with a stream longer than the stripe
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 1, 16, "a");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+    OrcTestFile.ProtobufWriter stream = new OrcTestFile.ProtobufWriter();
+    stream.writeVarintField(1, 1);
+    stream.writeVarintField(2, 1);
+    stream.writeVarintField(3, 1000);
+    OrcTestFile.ProtobufWriter stripeFooter = new OrcTestFile.ProtobufWriter();
+    stripeFooter.writeBytesField(1, stream.toByteArray());
+    byte[] footer = stripeFooter.toByteArray();
+
+    // When & Then
+    assertThrows(
+        IOException.class,
+        () -> OrcStripeFooterDecoder.decodeStreams(metadata, 0, footer, 0, footer.length));
+  }
+
+  @Test
+  void testInvalidArgumentsThrow() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 1, 16, "a");
+    byte[] bytes = file.getBytes();
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+
+    // When & Then
+    assertThrows(
+        NullPointerException.class,
+        () -> OrcStripeFooterDecoder.decodeStreams(null, 0, bytes, 0, 1));
+    assertThrows(
+        NullPointerException.class,
+        () -> OrcStripeFooterDecoder.decodeStreams(metadata, 0, null, 0, 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OrcStripeFooterDecoder.decodeStreams(metadata, 1, bytes, 0, 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OrcStripeFooterDecoder.decodeStreams(metadata, 0, bytes, bytes.length, 1));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class OrcTailDecoderTest {
+
+  @ParameterizedTest
+  @EnumSource(
+      value = OrcCompression.class,
+      names = {"NONE", "ZLIB"})
+  void testDecodeTail(OrcCompression compression) throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(compression, 3, 16, "a", "b.x", "c");
+    byte[] bytes = file.getBytes();
+
+    // When
+    OrcFileMetadata metadata = OrcTailDecoder.decodeTail(bytes, 0, bytes.length);
+
+    // Then
+    assertEquals(compression, metadata.getCompression());
+    assertEquals(file.getStripes(), metadata.getStripes());
+    assertEquals(Arrays.asList("a", "b", "c"), metadata.getColumnNames());
+    assertEquals(5, metadata.getColumnIdCount());
+    assertNull(metadata.getColumnName(0));
+    assertEquals("a", metadata.getColumnName(1));
+    assertEquals("b", metadata.getColumnName(2));
+    assertEquals("b", metadata.getColumnName(3));
+    assertEquals("c", metadata.getColumnName(4));
+    assertEquals("abc".hashCode(), metadata.getSchemaHash());
+  }
+
+  @Test
+  void testDecodeTailFromTailOnly() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.ZLIB, 2, 16, "a", "b");
+    byte[] bytes = file.getBytes();
+    int tailLength = file.getTailLength();
+
+    // When
+    long decodedTailLength =
+        OrcTailDecoder.getTailLength(bytes, bytes.length - tailLength, tailLength);
+    OrcFileMetadata metadata =
+        OrcTailDecoder.decodeTail(bytes, bytes.length - tailLength, tailLength);
+
+    // Then
+    assertEquals(tailLength, decodedTailLength);
+    assertEquals(file.getStripes(), metadata.getStripes());
+  }
+
+  @Test
+  void testGetTailLengthFromPostScriptOnly() throws IOException {
+    // Given
+    OrcTestFile file = OrcTestFile.write(OrcCompression.NONE, 2, 16, "a", "b");
+    byte[] bytes = file.getBytes();
+    int postScriptLength = (bytes[bytes.length - 1] & 0xff) + 1;
+
+    // When & Then
+    assertEquals(
+        file.getTailLength(),
+        OrcTailDecoder.getTailLength(
+            bytes, bytes.length - postScriptLength, postScriptLength));
+    assertThrows(
+        IOException.class,
+        () ->
+            OrcTailDecoder.decodeTail(bytes, bytes.length - postScriptLength, postScriptLength));
+  }
+
+  @Test
+  void testNotAnOrcFileThrows() {
+    // Given
+    OrcTestFile.ProtobufWriter postScript = new OrcTestFile.ProtobufWriter();
+    postScript.writeVarintField(1, 0);
+    postScript.writeBytesField(8000, "PAR".getBytes(StandardCharsets.US_ASCII));
+    byte[] postScriptBytes = postScript.toByteArray();
+    byte[] bytes = Arrays.copyOf(postScriptBytes, postScriptBytes.length + 1);
+    bytes[bytes.length - 1] = (byte) postScriptBytes.length;
+
+    // When & Then
+    assertThrows(IOException.class, () -> OrcTailDecoder.decodeTail(bytes, 0, bytes.length));
+    assertThrows(IOException.class, () -> OrcTailDecoder.decodeTail(new byte[0], 0, 0));
+    assertThrows(
+        IOException.class, () -> OrcTailDecoder.decodeTail(new byte[] {1, 100}, 0, 2));
+  }
+
+  @Test
+  void testUnsupportedCompressionThrows() {
+    // Given
+    OrcTestFile.ProtobufWriter postScript = new OrcTestFile.ProtobufWriter();
+    postScript.writeVarintField(1, 3);
+    postScript.writeVarintField(2, OrcCompression.SNAPPY.ordinal());
+    postScript.writeBytesField(8000, "ORC".getBytes(StandardCharsets.US_ASCII));
+    byte[] postScriptBytes = postScript.toByteArray();
+    byte[] bytes = new byte[3 + postScriptBytes.length + 1];
+    System.arraycopy(postScriptBytes, 0, bytes, 3, postScriptBytes.length);
+    bytes[bytes.length - 1] = (byte) postScriptBytes.length;
+
+    // When & Then
+    assertThrows(IOException.class, () -> OrcTailDecoder.decodeTail(bytes, 0, bytes.length));
+  }
+
+  @Test
+  void testInvalidArgumentsThrow() {
+    assertThrows(NullPointerException.class, () -> OrcTailDecoder.decodeTail(null, 0, 0));
+    assertThrows(NullPointerException.class, () -> OrcTailDecoder.getTailLength(null, 0, 0));
+    assertThrows(
+        IllegalArgumentException.class, () -> OrcTailDecoder.decodeTail(new byte[4], -1, 2));
+    assertThrows(
+        IllegalArgumentException.class, () -> OrcTailDecoder.decodeTail(new byte[4], 3, 2));
+  }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+/**
+ * Writes minimal ORC files for tests: the header, stripes of index and data streams filled with
+ * placeholder bytes, the stripe footers, the footer and the PostScript. Only the metadata that
+ * prefetching decodes is written. A column named like {@code b.x} is written as a struct {@code b}
+ * with a single nested column {@code x}; every other column is an int column.
+ */
+public final class OrcTestFile {
+  /** The ETag of the object {@link #mockPhysicalIO()} reads. */
+  public static final String ETAG = "etag";
+
+  private static final int TYPE_KIND_INT = 3;
+  private static final int TYPE_KIND_STRUCT = 12;
+  private static final int STREAM_KIND_PRESENT = 0;
+  private static final int STREAM_KIND_DATA = 1;
+  private static final int STREAM_KIND_ROW_INDEX = 6;
+
+  private final byte[] bytes;
+  @Getter private final List<OrcStripeInformation> stripes;
+  // The streams prefetching can attribute to a column, that is the non empty non root streams
+  @Getter private final List<List<OrcStreamLocation>> streamsPerStripe;
+
+  private OrcTestFile(
+      byte[] bytes,
+      List<OrcStripeInformation> stripes,
+      List<List<OrcStreamLocation>> streamsPerStripe) {
+    this.bytes = bytes;
+    this.stripes = Collections.unmodifiableList(stripes);
+    this.streamsPerStripe = Collections.unmodifiableList(streamsPerStripe);
+  }
+
+  /**
+   * Writes an ORC file.
+   *
+   * @param compression how the metadata is compressed, NONE or ZLIB
+   * @param stripeCount the number of stripes
+   * @param streamLength the length of every stream
+   * @param columns the top level columns of the schema
+   * @return the file
+   */
+  @SneakyThrows
+  public static OrcTestFile write(
+      OrcCompression compression, int stripeCount, int streamLength, String... columns) {
+    // Column ids are assigned in pre-order, the root struct being 0
+    List<String> columnNames = new ArrayList<>();
+    List<byte[]> types = new ArrayList<>();
+    List<Integer> rootSubtypes = new ArrayList<>();
+    List<String> idToColumn = new ArrayList<>();
+    idToColumn.add(null);
+    types.add(null);
+    for (String column : columns) {
+      int columnId = idToColumn.size();
+      rootSubtypes.add(columnId);
+      if (column.contains(".")) {
+        String name = column.substring(0, column.indexOf('.'));
+        String nested = column.substring(column.indexOf('.') + 1);
+        columnNames.add(name);
+        idToColumn.add(name);
+        idToColumn.add(name);
+        types.add(type(TYPE_KIND_STRUCT, Collections.singletonList(columnId + 1), nested));
+        types.add(type(TYPE_KIND_INT, Collections.emptyList()));
+      } else {
+        columnNames.add(column);
+        idToColumn.add(column);
+        types.add(type(TYPE_KIND_INT, Collections.emptyList()));
+      }
+    }
+    types.set(0, type(TYPE_KIND_STRUCT, rootSubtypes, columnNames.toArray(new String[0])));
+
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    file.write("ORC".getBytes(StandardCharsets.US_ASCII));
+
+    List<OrcStripeInformation> stripes = new ArrayList<>();
+    List<List<OrcStreamLocation>> streamsPerStripe = new ArrayList<>();
+    for (int stripeIndex = 0; stripeIndex < stripeCount; stripeIndex++) {
+      long stripeOffset = file.size();
+      List<OrcStreamLocation> streams = new ArrayList<>();
+      ProtobufWriter stripeFooter = new ProtobufWriter();
+
+      // Index streams of every column, then a root stream and the data streams
+      for (int columnId = 1; columnId < idToColumn.size(); columnId++) {
+        writeStream(file, stripeFooter, STREAM_KIND_ROW_INDEX, columnId, streamLength);
+        streams.add(
+            location(stripeIndex, columnId, idToColumn, STREAM_KIND_ROW_INDEX, file, streamLength));
+      }
+      long indexLength = file.size() - stripeOffset;
+      writeStream(file, stripeFooter, STREAM_KIND_PRESENT, 0, streamLength);
+      for (int columnId = 1; columnId < idToColumn.size(); columnId++) {
+        // An empty stream, left out of the stream mappers
+        writeStream(file, stripeFooter, STREAM_KIND_PRESENT, columnId, 0);
+        writeStream(file, stripeFooter, STREAM_KIND_DATA, columnId, streamLength);
+        streams.add(
+            location(stripeIndex, columnId, idToColumn, STREAM_KIND_DATA, file, streamLength));
+      }
+      long dataLength = file.size() - stripeOffset - indexLength;
+
+      byte[] footer = compress(compression, stripeFooter.toByteArray());
+      file.write(footer);
+      stripes.add(
+          new OrcStripeInformation(stripeOffset, indexLength, dataLength, footer.length, 100));
+      streamsPerStripe.add(streams);
+    }
+
+    ProtobufWriter footer = new ProtobufWriter();
+    footer.writeVarintField(1, 3);
+    footer.writeVarintField(2, file.size());
+    for (OrcStripeInformation stripe : stripes) {
+      ProtobufWriter stripeInformation = new ProtobufWriter();
+      stripeInformation.writeVarintField(1, stripe.getOffset());
+      stripeInformation.writeVarintField(2, stripe.getIndexLength());
+      stripeInformation.writeVarintField(3, stripe.getDataLength());
+      stripeInformation.writeVarintField(4, stripe.getFooterLength());
+      stripeInformation.writeVarintField(5, stripe.getNumberOfRows());
+      footer.writeBytesField(3, stripeInformation.toByteArray());
+    }
+    for (byte[] type : types) {
+      footer.writeBytesField(4, type);
+    }
+    footer.writeVarintField(6, 100L * stripeCount);
+    byte[] compressedFooter = compress(compression, footer.toByteArray());
+    file.write(compressedFooter);
+
+    ProtobufWriter postScript = new ProtobufWriter();
+    postScript.writeVarintField(1, compressedFooter.length);
+    postScript.writeVarintField(2, compression.ordinal());
+    postScript.writeVarintField(3, 256 * 1024);
+    postScript.writePackedVarintField(4, 0, 12);
+    postScript.writeVarintField(5, 0);
+    postScript.writeBytesField(8000, "ORC".getBytes(StandardCharsets.US_ASCII));
+    byte[] postScriptBytes = postScript.toByteArray();
+    file.write(postScriptBytes);
+    file.write(postScriptBytes.length);
+
+    return new OrcTestFile(file.toByteArray(), stripes, streamsPerStripe);
+  }
+
+  /**
+   * Gets the bytes of the file.
+   *
+   * @return a copy of the bytes of the file
+   */
+  public byte[] getBytes() {
+    return bytes.clone();
+  }
+
+  /**
+   * Gets the streams of all stripes, in file order.
+   *
+   * @return the streams
+   */
+  public List<OrcStreamLocation> getStreams() {
+    List<OrcStreamLocation> streams = new ArrayList<>();
+    streamsPerStripe.forEach(streams::addAll);
+    return streams;
+  }
+
+  /**
+   * Gets the length of the tail of the file holding its footer and PostScript.
+   *
+   * @return the length of the tail
+   */
+  public int getTailLength() {
+    OrcStripeInformation lastStripe = stripes.get(stripes.size() - 1);
+    return bytes.length - (int) (lastStripe.getFooterOffset() + lastStripe.getFooterLength());
+  }
+
+  /**
+   * Creates a mocked PhysicalIO that reads the bytes of the file.
+   *
+   * @return the PhysicalIO
+   */
+  @SneakyThrows
+  public PhysicalIO mockPhysicalIO() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(bytes.length).etag(ETAG).build());
+    when(physicalIO.read(any(byte[].class), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              int read = (int) Math.min(length, bytes.length - position);
+              System.arraycopy(bytes, (int) position, buffer, offset, read);
+              return read;
+            });
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              System.arraycopy(bytes, bytes.length - length, buffer, offset, length);
+              return length;
+            });
+    return physicalIO;
+  }
+
+  /**
+   * Compresses metadata the way ORC does, in chunks with a three byte header.
+   *
+   * @param compression NONE or ZLIB
+   * @param bytes the bytes to compress
+   * @return the compressed bytes
+   */
+  public static byte[] compress(OrcCompression compression, byte[] bytes) {
+    if (compression == OrcCompression.NONE) {
+      return bytes;
+    }
+
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(bytes);
+    deflater.finish();
+    byte[] deflated = new byte[bytes.length * 2 + 64];
+    int deflatedLength = 0;
+    while (!deflater.finished()) {
+      deflatedLength +=
+          deflater.deflate(deflated, deflatedLength, deflated.length - deflatedLength);
+    }
+    deflater.end();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (deflatedLength < bytes.length) {
+      writeChunkHeader(out, deflatedLength, false);
+      out.write(deflated, 0, deflatedLength);
+    } else {
+      writeChunkHeader(out, bytes.length, true);
+      out.write(bytes, 0, bytes.length);
+    }
+    return out.toByteArray();
+  }
+
+  private static void writeChunkHeader(ByteArrayOutputStream out, int length, boolean original) {
+    int header = length << 1 | (original ? 1 : 0);
+    out.write(header & 0xff);
+    out.write(header >>> 8 & 0xff);
+    out.write(header >>> 16 & 0xff);
+  }
+
+  private static byte[] type(int kind, List<Integer> subtypes, String... fieldNames) {
+    ProtobufWriter type = new ProtobufWriter();
+    type.writeVarintField(1, kind);
+    if (!subtypes.isEmpty()) {
+      type.writePackedVarintField(2, subtypes.stream().mapToLong(Integer::longValue).toArray());
+    }
+    for (String fieldName : fieldNames) {
+      type.writeBytesField(3, fieldName.getBytes(StandardCharsets.UTF_8));
+    }
+    return type.toByteArray();
+  }
+
+  private static void writeStream(
+      ByteArrayOutputStream file, ProtobufWriter stripeFooter, int kind, int columnId, int length)
+      throws IOException {
+    ProtobufWriter stream = new ProtobufWriter();
+    stream.writeVarintField(1, kind);
+    stream.writeVarintField(2, columnId);
+    stream.writeVarintField(3, length);
+    stripeFooter.writeBytesField(1, stream.toByteArray());
+
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) (columnId + i);
+    }
+    file.write(content);
+  }
+
+  private static OrcStreamLocation location(
+      int stripeIndex,
+      int columnId,
+      List<String> idToColumn,
+      int kind,
+      ByteArrayOutputStream file,
+      int length) {
+    return new OrcStreamLocation(
+        stripeIndex,
+        columnId,
+        idToColumn.get(columnId),
+        kind,
+        new Range(file.size() - length, file.size() - 1));
+  }
+
+  /** Encodes protobuf messages, the counterpart of {@link ProtobufReader}. */
+  static final class ProtobufWriter {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    void writeVarint(long value) {
+      while ((value & ~0x7FL) != 0) {
+        out.write((int) (value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.write((int) value);
+    }
+
+    void writeTag(int fieldNumber, int wireType) {
+      writeVarint((long) fieldNumber << 3 | wireType);
+    }
+
+    void writeVarintField(int fieldNumber, long value) {
+      writeTag(fieldNumber, ProtobufReader.WIRE_TYPE_VARINT);
+      writeVarint(value);
+    }
+
+    void writeBytesField(int fieldNumber, byte[] value) {
+      writeTag(fieldNumber, ProtobufReader.WIRE_TYPE_LENGTH_DELIMITED);
+      writeVarint(value.length);
+      out.write(value, 0, value.length);
+    }
+
+    void writePackedVarintField(int fieldNumber, long... values) {
+      ProtobufWriter packed = new ProtobufWriter();
+      for (long value : values) {
+        packed.writeVarint(value);
+      }
+      writeBytesField(fieldNumber, packed.toByteArray());
+    }
+
+    byte[] toByteArray() {
+      return out.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.orc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ProtobufReaderTest {
+
+  @Test
+  void testReadFields() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter nested = new OrcTestFile.ProtobufWriter();
+    nested.writeVarintField(1, 42);
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writeVarintField(1, 300);
+    writer.writeBytesField(2, "column".getBytes(StandardCharsets.UTF_8));
+    writer.writeBytesField(3, nested.toByteArray());
+    byte[] bytes = writer.toByteArray();
+
+    // When
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length);
+
+    // Then
+    assertTrue(reader.nextField());
+    assertEquals(1, reader.getFieldNumber());
+    assertEquals(ProtobufReader.WIRE_TYPE_VARINT, reader.getWireType());
+    assertEquals(300, reader.readVarintField());
+    assertTrue(reader.nextField());
+    assertEquals("column", reader.readStringField());
+    assertTrue(reader.nextField());
+    ProtobufReader message = reader.readMessageField();
+    assertTrue(message.nextField());
+    assertEquals(42, message.readVarintField());
+    assertFalse(message.nextField());
+    assertFalse(reader.nextField());
+  }
+
+  @Test
+  void testReadRepeatedVarintFieldPackedAndUnpacked() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writePackedVarintField(2, 1, 2, 1000);
+    writer.writeVarintField(2, 7);
+    byte[] bytes = writer.toByteArray();
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length);
+
+    // When
+    List<Long> values = new ArrayList<>();
+    while (reader.nextField()) {
+      reader.readRepeatedVarintField(values::add);
+    }
+
+    // Then
+    assertEquals(Arrays.asList(1L, 2L, 1000L, 7L), values);
+  }
+
+  @Test
+  void testSkipField() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writeVarintField(1, 300);
+    writer.writeBytesField(2, new byte[10]);
+    writer.writeTag(3, ProtobufReader.WIRE_TYPE_FIXED64);
+    for (int i = 0; i < 8; i++) {
+      writer.writeVarint(0);
+    }
+    writer.writeTag(4, ProtobufReader.WIRE_TYPE_FIXED32);
+    for (int i = 0; i < 4; i++) {
+      writer.writeVarint(0);
+    }
+    writer.writeVarintField(5, 5);
+    byte[] bytes = writer.toByteArray();
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length);
+
+    // When
+    for (int i = 0; i < 4; i++) {
+      assertTrue(reader.nextField());
+      reader.skipField();
+    }
+
+    // Then
+    assertTrue(reader.nextField());
+    assertEquals(5, reader.getFieldNumber());
+    assertEquals(5, reader.readVarintField());
+  }
+
+  @Test
+  void testWrongWireTypeThrows() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writeVarintField(1, 1);
+    byte[] bytes = writer.toByteArray();
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length);
+
+    // When & Then
+    assertTrue(reader.nextField());
+    assertThrows(IOException.class, reader::readStringField);
+  }
+
+  @Test
+  void testTruncatedInputThrows() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writeBytesField(1, new byte[10]);
+    byte[] bytes = writer.toByteArray();
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length - 1);
+
+    // When & Then
+    assertTrue(reader.nextField());
+    assertThrows(IOException.class, reader::readMessageField);
+    assertThrows(
+        IOException.class, () -> new ProtobufReader(new byte[] {(byte) 0x80}, 0, 1).nextField());
+  }
+
+  @Test
+  void testUnsupportedWireTypeThrows() throws IOException {
+    // Given
+    OrcTestFile.ProtobufWriter writer = new OrcTestFile.ProtobufWriter();
+    writer.writeTag(1, 3);
+    byte[] bytes = writer.toByteArray();
+    ProtobufReader reader = new ProtobufReader(bytes, 0, bytes.length);
+
+    // When & Then
+    assertTrue(reader.nextField());
+    assertThrows(IOException.class, reader::skipField);
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnMappersTest {
+  private static final int SCHEMA_HASH = 42;
+
+  // Two row groups of two columns, with a gap between the row groups
+  private static final ColumnMetadata SS_A_0 =
+      new ColumnMetadata(0, "ss_a", 4, 0, 4, 100, SCHEMA_HASH);
+  private static final ColumnMetadata SS_B_0 =
+      new ColumnMetadata(0, "ss_b", 150, 104, 104, 200, SCHEMA_HASH);
+  private static final ColumnMetadata SS_A_1 =
+      new ColumnMetadata(1, "ss_a", 400, 0, 400, 100, SCHEMA_HASH);
+  private static final ColumnMetadata SS_B_1 =
+      new ColumnMetadata(1, "ss_b", 550, 500, 500, 200, SCHEMA_HASH);
+
+  @Test
+  void testEmpty() {
+    assertTrue(ColumnMappers.EMPTY.isEmpty());
+    assertEquals(0, ColumnMappers.EMPTY.getColumnChunkCount());
+    assertTrue(ColumnMappers.EMPTY.getColumnNames().isEmpty());
+    assertFalse(ColumnMappers.EMPTY.getColumnStartingAt(0).isPresent());
+    assertFalse(ColumnMappers.EMPTY.getColumnContaining(0).isPresent());
+    assertTrue(ColumnMappers.EMPTY.getColumnChunks("ss_a").isEmpty());
+    assertEquals(ColumnMappers.EMPTY, ColumnMappers.builder().build());
+  }
+
+  @Test
+  void testBuilderThrowsOnNulls() {
+    assertThrows(
+        NullPointerException.class,
+        () -> ColumnMappers.builder().addColumnChunk(0, null, 0, 0, 0, 0));
+    assertThrows(NullPointerException.class, () -> ColumnMappers.builder().addColumnChunk(null));
+    assertThrows(
+        NullPointerException.class,
+        () -> ColumnMappers.builder().addColumnChunk(0, "ss_a", 0, 0, 0, 0, null));
+    assertThrows(NullPointerException.class, () -> getColumnMappers().getColumnChunks(null));
+  }
+
+  @Test
+  void testChunksAreSortedByStartPosition() {
+    // Given: chunks added out of order
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(SS_B_1)
+            .addColumnChunk(SS_A_0)
+            .addColumnChunk(SS_A_1)
+            .addColumnChunk(SS_B_0)
+            .build();
+
+    // Then: they are held in file order and equal to mappers built in file order
+    assertEquals(4, columnMappers.getColumnChunkCount());
+    assertEquals(SS_A_0, columnMappers.getColumnChunk(0));
+    assertEquals(SS_B_0, columnMappers.getColumnChunk(1));
+    assertEquals(SS_A_1, columnMappers.getColumnChunk(2));
+    assertEquals(SS_B_1, columnMappers.getColumnChunk(3));
+    assertEquals(Arrays.asList("ss_a", "ss_b"), columnMappers.getColumnNames());
+    assertEquals(getColumnMappers(), columnMappers);
+    assertEquals(getColumnMappers().hashCode(), columnMappers.hashCode());
+    assertEquals(SCHEMA_HASH, columnMappers.getSchemaHash());
+  }
+
+  @Test
+  void testGetColumnStartingAt() {
+    ColumnMappers columnMappers = getColumnMappers();
+
+    assertEquals(SS_A_0, columnMappers.getColumnStartingAt(4).get());
+    assertEquals(SS_B_0, columnMappers.getColumnStartingAt(104).get());
+    assertEquals(SS_B_1, columnMappers.getColumnStartingAt(500).get());
+    assertFalse(columnMappers.getColumnStartingAt(0).isPresent());
+    assertFalse(columnMappers.getColumnStartingAt(5).isPresent());
+    assertFalse(columnMappers.getColumnStartingAt(1000).isPresent());
+  }
+
+  @Test
+  void testGetColumnContaining() {
+    ColumnMappers columnMappers = getColumnMappers();
+
+    assertEquals(SS_A_0, columnMappers.getColumnContaining(4).get());
+    assertEquals(SS_A_0, columnMappers.getColumnContaining(103).get());
+    assertEquals(SS_B_0, columnMappers.getColumnContaining(104).get());
+    assertEquals(SS_B_0, columnMappers.getColumnContaining(303).get());
+    assertEquals(SS_B_1, columnMappers.getColumnContaining(699).get());
+
+    // Before the first chunk, in the gap between row groups and after the last chunk
+    assertFalse(columnMappers.getColumnContaining(3).isPresent());
+    assertFalse(columnMappers.getColumnContaining(304).isPresent());
+    assertFalse(columnMappers.getColumnContaining(399).isPresent());
+    assertFalse(columnMappers.getColumnContaining(700).isPresent());
+  }
+
+  @Test
+  void testGetColumnChunks() {
+    ColumnMappers columnMappers = getColumnMappers();
+
+    List<ColumnMetadata> ssA = columnMappers.getColumnChunks("ss_a");
+    assertEquals(Arrays.asList(SS_A_0, SS_A_1), ssA);
+    assertSame(ssA.get(0).getColumnName(), ssA.get(1).getColumnName());
+    assertEquals(Arrays.asList(SS_B_0, SS_B_1), columnMappers.getColumnChunks("ss_b"));
+    assertTrue(columnMappers.getColumnChunks("ss_c").isEmpty());
+  }
+
+  @Test
+  void testPageIndexLocationIsKept() {
+    // Given: chunks with and without page index structures, added out of order
+    PageIndexLocation pageIndexLocation = new PageIndexLocation(1000, 20, 1100, 10);
+    ColumnMetadata withPageIndex =
+        new ColumnMetadata(1, "ss_a", 400, 0, 400, 100, SCHEMA_HASH, pageIndexLocation);
+    ColumnMappers columnMappers =
+        ColumnMappers.builder().addColumnChunk(withPageIndex).addColumnChunk(SS_A_0).build();
+
+    // Then: each chunk keeps its own page index location
+    assertEquals(PageIndexLocation.NONE, columnMappers.getColumnChunk(0).getPageIndexLocation());
+    assertEquals(pageIndexLocation, columnMappers.getColumnChunk(1).getPageIndexLocation());
+    assertEquals(withPageIndex, columnMappers.getColumnStartingAt(400).get());
+    assertNotEquals(getColumnMappers(), columnMappers);
+  }
+
+  @Test
+  void testLastChunkWinsForDuplicateStartPositions() {
+    ColumnMetadata first = new ColumnMetadata(0, "ss_a", 10, 0, 10, 0, SCHEMA_HASH);
+    ColumnMetadata second = new ColumnMetadata(0, "ss_b", 10, 0, 10, 100, SCHEMA_HASH);
+    ColumnMappers columnMappers =
+        ColumnMappers.builder().addColumnChunk(first).addColumnChunk(second).build();
+
+    assertEquals(second, columnMappers.getColumnStartingAt(10).get());
+    assertEquals(second, columnMappers.getColumnContaining(50).get());
+    assertEquals(2, columnMappers.getColumnChunkCount());
+  }
+
+  @Test
+  void testManyColumnChunks() {
+    // Given: a wide file with several row groups, more chunks than the builder's initial capacity
+    int columns = 300;
+    int rowGroups = 5;
+    ColumnMappers.Builder builder = ColumnMappers.builder().schemaHash(SCHEMA_HASH);
+    long position = 4;
+    for (int rowGroup = 0; rowGroup < rowGroups; rowGroup++) {
+      for (int column = 0; column < columns; column++) {
+        builder.addColumnChunk(rowGroup, "column_" + column, position, 0, position, 10);
+        position += 10;
+      }
+    }
+    ColumnMappers columnMappers = builder.build();
+
+    // Then: every chunk can be found by position and by column
+    assertEquals(columns * rowGroups, columnMappers.getColumnChunkCount());
+    assertEquals(columns, columnMappers.getColumnNames().size());
+    for (long p = 4; p < position; p += 7) {
+      ColumnMetadata columnMetadata = columnMappers.getColumnContaining(p).get();
+      int chunk = (int) ((p - 4) / 10);
+      assertEquals("column_" + (chunk % columns), columnMetadata.getColumnName());
+      assertEquals(chunk / columns, columnMetadata.getRowGroupIndex());
+    }
+    assertEquals(rowGroups, columnMappers.getColumnChunks("column_7").size());
+
+    // Then: the size estimate grows with the number of chunks, by far less than an object each
+    long estimatedSizeInBytes = columnMappers.getEstimatedSizeInBytes();
+    assertTrue(estimatedSizeInBytes > getColumnMappers().getEstimatedSizeInBytes());
+    assertTrue(estimatedSizeInBytes < 100L * columns * rowGroups);
+  }
+
+  @Test
+  void testEquality() {
+    assertEquals(getColumnMappers(), getColumnMappers());
+    assertNotEquals(
+        getColumnMappers(),
+        ColumnMappers.builder().addColumnChunk(SS_A_0).addColumnChunk(SS_B_0).build());
+    assertNotEquals(
+        getColumnMappers(),
+        ColumnMappers.builder()
+            .addColumnChunk(SS_A_0)
+            .addColumnChunk(SS_B_0)
+            .addColumnChunk(SS_A_1)
+            .addColumnChunk(SS_B_1)
+            .schemaHash(SCHEMA_HASH + 1)
+            .build());
+  }
+
+  private static ColumnMappers getColumnMappers() {
+    return ColumnMappers.builder()
+        .addColumnChunk(SS_A_0)
+        .addColumnChunk(SS_B_0)
+        .addColumnChunk(SS_A_1)
+        .addColumnChunk(SS_B_1)
+        .build();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ColumnStatisticsTest {
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> new ColumnStatistics(null, null, null, -1, -1));
+  }
+
+  @Test
+  void testInt64Comparisons() {
+    // Given: a chunk holding values in [100, 200]
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.INT64, int64(100), int64(200), 0, 10);
+
+    // Then: predicates are only ruled out if no value in the range can match
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 100)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 150)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 200)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.eq("c", 99)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.eq("c", 201)));
+
+    assertTrue(statistics.mightMatch(ColumnPredicate.lt("c", 101)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.lt("c", 100)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.ltEq("c", 100)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.ltEq("c", 99)));
+
+    assertTrue(statistics.mightMatch(ColumnPredicate.gt("c", 199)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", 200)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.gtEq("c", 200)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gtEq("c", 201)));
+  }
+
+  @Test
+  void testInt32Comparisons() {
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.INT32, int32(-50), int32(-10), 0, 10);
+
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", -20)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", 0)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.lt("c", -50)));
+    // Integers can be compared to floating point values
+    assertTrue(statistics.mightMatch(ColumnPredicate.lt("c", -49.5)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", -10.5 + 0.75)));
+  }
+
+  @Test
+  void testDoubleComparisons() {
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.DOUBLE, float64(1.5), float64(2.5), 0, 10);
+
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 2.0)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 2)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", 2.5)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.lt("c", 1)));
+  }
+
+  @Test
+  void testFloatComparisons() {
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.FLOAT, float32(-0.0f), float32(0.0f), 0, 10);
+
+    // -0.0 and 0.0 are equal
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", 0.0)));
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", -0.0)));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", 0)));
+  }
+
+  @Test
+  void testNaNIsNeverRuledOut() {
+    ColumnStatistics statistics =
+        new ColumnStatistics(
+            ColumnStatistics.Kind.DOUBLE, float64(Double.NaN), float64(1.0), 0, 10);
+    assertTrue(statistics.mightMatch(ColumnPredicate.gt("c", 5.0)));
+
+    ColumnStatistics numbers =
+        new ColumnStatistics(ColumnStatistics.Kind.DOUBLE, float64(1.0), float64(2.0), 0, 10);
+    assertTrue(numbers.mightMatch(ColumnPredicate.eq("c", Double.NaN)));
+  }
+
+  @Test
+  void testStringComparisons() {
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.STRING, utf8("bb"), utf8("dd"), 0, 10);
+
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", "c")));
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", "bb")));
+    assertFalse(statistics.mightMatch(ColumnPredicate.eq("c", "b")));
+    assertFalse(statistics.mightMatch(ColumnPredicate.eq("c", "dda")));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", "dd")));
+    assertFalse(statistics.mightMatch(ColumnPredicate.lt("c", "bb")));
+  }
+
+  @Test
+  void testStringsAreComparedAsUnsignedBytes() {
+    // Given: a chunk whose maximum is a character encoded with bytes above 0x7f
+    ColumnStatistics statistics =
+        new ColumnStatistics(ColumnStatistics.Kind.STRING, utf8("a"), utf8("\u00e9"), 0, 10);
+
+    // Then: it is ordered after ASCII characters
+    assertTrue(statistics.mightMatch(ColumnPredicate.eq("c", "z")));
+    assertFalse(statistics.mightMatch(ColumnPredicate.gt("c", "\u00e9")));
+  }
+
+  @Test
+  void testMismatchedValuesAreNeverRuledOut() {
+    ColumnStatistics numbers =
+        new ColumnStatistics(ColumnStatistics.Kind.INT64, int64(1), int64(2), 0, 10);
+    assertTrue(numbers.mightMatch(ColumnPredicate.eq("c", "x")));
+
+    ColumnStatistics strings =
+        new ColumnStatistics(ColumnStatistics.Kind.STRING, utf8("a"), utf8("b"), 0, 10);
+    assertTrue(strings.mightMatch(ColumnPredicate.eq("c", 5)));
+
+    // Statistics of the wrong length
+    ColumnStatistics malformed =
+        new ColumnStatistics(ColumnStatistics.Kind.INT64, int32(1), int32(2), 0, 10);
+    assertTrue(malformed.mightMatch(ColumnPredicate.eq("c", 5)));
+  }
+
+  @Test
+  void testUnorderedOrMissingStatisticsAreNeverRuledOut() {
+    assertTrue(
+        new ColumnStatistics(ColumnStatistics.Kind.OTHER, int64(1), int64(2), 0, 10)
+            .mightMatch(ColumnPredicate.eq("c", 5)));
+    assertTrue(
+        new ColumnStatistics(ColumnStatistics.Kind.INT64, null, null, -1, -1)
+            .mightMatch(ColumnPredicate.eq("c", 5)));
+  }
+
+  @Test
+  void testChunksOfNullsAreRuledOut() {
+    assertFalse(
+        new ColumnStatistics(ColumnStatistics.Kind.OTHER, null, null, 10, 10)
+            .mightMatch(ColumnPredicate.eq("c", 5)));
+    assertTrue(
+        new ColumnStatistics(ColumnStatistics.Kind.OTHER, null, null, 9, 10)
+            .mightMatch(ColumnPredicate.eq("c", 5)));
+  }
+
+  static byte[] int32(int value) {
+    return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array();
+  }
+
+  static byte[] int64(long value) {
+    return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array();
+  }
+
+  static byte[] float32(float value) {
+    return ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(value).array();
+  }
+
+  static byte[] float64(double value) {
+    return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(value).array();
+  }
+
+  static byte[] utf8(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class PageLocationsTest {
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class, () -> new PageLocations(null, new int[0], new long[0]));
+    assertThrows(
+        NullPointerException.class, () -> new PageLocations(new long[0], null, new long[0]));
+    assertThrows(
+        NullPointerException.class, () -> new PageLocations(new long[0], new int[0], null));
+  }
+
+  @Test
+  void testConstructorFailsOnInvalidPages() {
+    // Arrays of different lengths
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PageLocations(new long[] {0, 10}, new int[] {10}, new long[] {0, 5}));
+    // Empty page
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PageLocations(new long[] {0}, new int[] {0}, new long[] {0}));
+    // Overlapping pages
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PageLocations(new long[] {0, 5}, new int[] {10, 10}, new long[] {0, 5}));
+    // Rows out of order
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PageLocations(new long[] {0, 10}, new int[] {10, 10}, new long[] {5, 5}));
+  }
+
+  @Test
+  void testPages() {
+    PageLocations pageLocations = getTestPageLocations();
+
+    assertEquals(3, pageLocations.getPageCount());
+    assertEquals(new Range(100, 149), pageLocations.getPageRange(0));
+    assertEquals(new Range(200, 229), pageLocations.getPageRange(2));
+    assertEquals(0, pageLocations.getFirstRowIndex(0));
+    assertEquals(10, pageLocations.getEndRowIndex(0));
+    assertEquals(30, pageLocations.getFirstRowIndex(2));
+    // The number of rows of the last page is unknown
+    assertEquals(Long.MAX_VALUE, pageLocations.getEndRowIndex(2));
+  }
+
+  @Test
+  void testPagesOverlappingRange() {
+    PageLocations pageLocations = getTestPageLocations();
+
+    // Within a single page
+    assertEquals(0, pageLocations.getFirstPageOverlapping(new Range(110, 120)));
+    assertEquals(0, pageLocations.getLastPageOverlapping(new Range(110, 120)));
+    // Across pages, starting in the gap before the last page
+    assertEquals(1, pageLocations.getFirstPageOverlapping(new Range(150, 210)));
+    assertEquals(2, pageLocations.getLastPageOverlapping(new Range(150, 210)));
+    assertEquals(2, pageLocations.getFirstPageOverlapping(new Range(195, 210)));
+    // Before the first page, e.g. the dictionary
+    assertEquals(-1, pageLocations.getFirstPageOverlapping(new Range(0, 99)));
+    assertEquals(-1, pageLocations.getLastPageOverlapping(new Range(0, 99)));
+    // Ending at the first byte of the first page
+    assertEquals(0, pageLocations.getFirstPageOverlapping(new Range(0, 100)));
+    // In the gap between pages
+    assertEquals(-1, pageLocations.getFirstPageOverlapping(new Range(190, 199)));
+    assertEquals(-1, pageLocations.getLastPageOverlapping(new Range(190, 199)));
+    // After the last page
+    assertEquals(-1, pageLocations.getFirstPageOverlapping(new Range(230, 300)));
+    assertEquals(-1, pageLocations.getLastPageOverlapping(new Range(230, 300)));
+  }
+
+  @Test
+  void testEmpty() {
+    assertEquals(0, PageLocations.EMPTY.getPageCount());
+    assertEquals(-1, PageLocations.EMPTY.getFirstPageOverlapping(new Range(0, 100)));
+    assertEquals(-1, PageLocations.EMPTY.getLastPageOverlapping(new Range(0, 100)));
+  }
+
+  @Test
+  void testEquality() {
+    assertEquals(getTestPageLocations(), getTestPageLocations());
+  }
+
+  /** Three pages at [100, 150), [150, 190) and [200, 230), holding 10, 20 and more rows. */
+  private static PageLocations getTestPageLocations() {
+    return new PageLocations(
+        new long[] {100, 150, 200}, new int[] {50, 40, 30}, new long[] {0, 10, 30});
+  }
+}
@@ -0,0 +1,493 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.IntType;
+import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetFooterDecoderTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "src/test/resources/call_center.parquet",
+        "src/test/resources/nested_data.parquet",
+        "src/test/resources/multi_row_group.parquet",
+        "src/test/resources/nested_data_mrg.parquet"
+      })
+  void testDecodingMatchesFullParse(String parquetFilePath) throws IOException {
+    // Given: a real parquet file
+    byte[] file = Files.readAllBytes(Paths.get(parquetFilePath));
+
+    // When: its column mappers are decoded selectively
+    ParquetParser parquetParser = new ParquetParser();
+    ColumnMappers columnMappers =
+        parquetParser.parseColumnMappers(ByteBuffer.wrap(file), file.length, TEST_URI);
+
+    // Then: they match the ones built from the fully parsed FileMetaData
+    FileMetaData fileMetaData =
+        parquetParser.parseParquetFooter(ByteBuffer.wrap(file), file.length, TEST_URI);
+    assertEquals(buildColumnMappers(fileMetaData), columnMappers);
+  }
+
+  @Test
+  void testDecodingSkipsUnusedFields() throws IOException {
+    // Given: a footer with statistics, key/value metadata and page index offsets
+    FileMetaData fileMetaData = getTestFileMetaData(3, 20);
+    byte[] footer = serialize(fileMetaData);
+
+    // When: the footer is decoded
+    ColumnMappers columnMappers =
+        ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length);
+
+    // Then: the column mappers match the ones built from the full FileMetaData
+    assertEquals(buildColumnMappers(fileMetaData), columnMappers);
+    assertEquals(60, columnMappers.getColumnChunkCount());
+    assertEquals(20, columnMappers.getColumnNames().size());
+  }
+
+  @Test
+  void testDecodingPageIndexLocations() throws IOException {
+    // Given: a footer where every chunk has an OffsetIndex and every other chunk a ColumnIndex
+    byte[] footer = serialize(getTestFileMetaData(1, 2));
+
+    // When: the footer is decoded
+    ColumnMappers columnMappers =
+        ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length);
+
+    // Then: the page index locations are decoded for each chunk
+    ColumnMetadata withColumnIndex = columnMappers.getColumnChunks("struct_0.col_0").get(0);
+    assertEquals(
+        new PageIndexLocation(500_004, 32, 1_000_004, 64), withColumnIndex.getPageIndexLocation());
+    assertEquals(
+        new Range(500_004, 500_035),
+        withColumnIndex.getPageIndexLocation().getColumnIndexRange().get());
+    assertEquals(
+        new Range(1_000_004, 1_000_067),
+        withColumnIndex.getPageIndexLocation().getOffsetIndexRange().get());
+
+    ColumnMetadata withoutColumnIndex = columnMappers.getColumnChunks("struct_1.col_1").get(0);
+    assertFalse(withoutColumnIndex.getPageIndexLocation().getColumnIndexRange().isPresent());
+    assertEquals(
+        new Range(1_000_104, 1_000_167),
+        withoutColumnIndex.getPageIndexLocation().getOffsetIndexRange().get());
+  }
+
+  @Test
+  void testColumnNamesAreSharedAcrossRowGroups() throws IOException {
+    byte[] footer = serialize(getTestFileMetaData(2, 1));
+
+    List<ColumnMetadata> columns =
+        ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length)
+            .getColumnChunks("struct_0.col_0");
+
+    assertEquals(2, columns.size());
+    assertSame(columns.get(0).getColumnName(), columns.get(1).getColumnName());
+  }
+
+  @Test
+  void testDecodingAtOffset() throws IOException {
+    byte[] footer = serialize(getTestFileMetaData(2, 5));
+    byte[] buffer = new byte[footer.length + 20];
+    System.arraycopy(footer, 0, buffer, 10, footer.length);
+
+    assertEquals(
+        ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length),
+        ParquetFooterDecoder.decodeColumnMappers(buffer, 10, footer.length));
+  }
+
+  @Test
+  void testMalformedFootersThrow() throws IOException {
+    byte[] footer = serialize(getTestFileMetaData(2, 5));
+
+    // Truncated footer
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(footer, 0, footer.length / 2));
+    // Empty footer
+    assertThrows(IOException.class, () -> ParquetFooterDecoder.decodeColumnMappers(footer, 0, 0));
+    // Garbage
+    byte[] garbage = new byte[100];
+    Arrays.fill(garbage, (byte) 0xff);
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(garbage, 0, garbage.length));
+    // No row groups
+    byte[] noRowGroups = serialize(getTestFileMetaData(0, 5));
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(noRowGroups, 0, noRowGroups.length));
+  }
+
+  @Test
+  void testInvalidArguments() {
+    byte[] buffer = new byte[10];
+    assertThrows(
+        NullPointerException.class, () -> ParquetFooterDecoder.decodeColumnMappers(null, 0, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(buffer, -1, 5));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(buffer, 0, -1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParquetFooterDecoder.decodeColumnMappers(buffer, 6, 5));
+  }
+
+  @Test
+  void testDecodingRowGroupFilter() throws IOException {
+    // Given: a footer with statistics for two row groups
+    byte[] footer = serialize(getStatisticsFileMetaData(false));
+
+    // Then: row groups are ruled out by the statistics of each predicate column
+    assertMatches(footer, ColumnPredicate.eq("id", 150), false, true);
+    assertMatches(footer, ColumnPredicate.ltEq("id", 99), true, false);
+    assertMatches(footer, ColumnPredicate.gt("price", 2.5), false, true);
+    assertMatches(footer, ColumnPredicate.eq("name", "b"), true, false);
+    assertMatches(footer, ColumnPredicate.gtEq("name", "n"), false, true);
+    // The second row group only holds nulls for the nested column
+    assertMatches(footer, ColumnPredicate.eq("address.city", "paris"), true, false);
+    // Unknown columns never rule out row groups
+    assertMatches(footer, ColumnPredicate.eq("missing", 1), true, true);
+  }
+
+  @Test
+  void testDecodingRowGroupFilterWithSeveralPredicates() throws IOException {
+    byte[] footer = serialize(getStatisticsFileMetaData(false));
+
+    RowGroupFilter rowGroupFilter =
+        ParquetFooterDecoder.decodeRowGroupFilter(
+            footer,
+            0,
+            footer.length,
+            Arrays.asList(ColumnPredicate.eq("id", 150), ColumnPredicate.eq("name", "b")));
+
+    assertFalse(rowGroupFilter.mightMatch(0));
+    assertFalse(rowGroupFilter.mightMatch(1));
+  }
+
+  @Test
+  void testRowGroupFilterIgnoresValuesWithoutNaturalOrder() throws IOException {
+    byte[] footer = serialize(getStatisticsFileMetaData(false));
+
+    // Decimals and unsigned integers are not compared by their physical type
+    assertMatches(footer, ColumnPredicate.eq("amount", 25), true, true);
+    assertMatches(footer, ColumnPredicate.eq("count", 25), true, true);
+  }
+
+  @Test
+  void testRowGroupFilterUsesDeprecatedStatisticsForNumbersOnly() throws IOException {
+    // Given: a footer written with the deprecated min and max statistics
+    byte[] footer = serialize(getStatisticsFileMetaData(true));
+
+    // Then: they are used for numbers, but not for strings
+    assertMatches(footer, ColumnPredicate.eq("id", 150), false, true);
+    assertMatches(footer, ColumnPredicate.eq("name", "b"), true, true);
+  }
+
+  @Test
+  void testDecodingRowGroupFilterWithoutPredicates() throws IOException {
+    byte[] footer = serialize(getStatisticsFileMetaData(false));
+
+    assertSame(
+        RowGroupFilter.NONE,
+        ParquetFooterDecoder.decodeRowGroupFilter(
+            footer, 0, footer.length, Collections.emptyList()));
+  }
+
+  @Test
+  void testDecodingRowGroupFilterFromMalformedFooterThrows() throws IOException {
+    byte[] footer = serialize(getStatisticsFileMetaData(false));
+    List<ColumnPredicate> predicates = Collections.singletonList(ColumnPredicate.eq("id", 1));
+
+    assertThrows(
+        IOException.class,
+        () -> ParquetFooterDecoder.decodeRowGroupFilter(footer, 0, footer.length / 2, predicates));
+    assertThrows(
+        NullPointerException.class,
+        () -> ParquetFooterDecoder.decodeRowGroupFilter(footer, 0, footer.length, null));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ParquetFooterDecoder.decodeRowGroupFilter(footer, -1, footer.length, predicates));
+  }
+
+  private static void assertMatches(
+      byte[] footer, ColumnPredicate predicate, boolean firstRowGroup, boolean secondRowGroup)
+      throws IOException {
+    RowGroupFilter rowGroupFilter =
+        ParquetFooterDecoder.decodeRowGroupFilter(
+            footer, 0, footer.length, Collections.singletonList(predicate));
+    assertEquals(firstRowGroup, rowGroupFilter.mightMatch(0));
+    assertEquals(secondRowGroup, rowGroupFilter.mightMatch(1));
+  }
+
+  private static byte[] serialize(FileMetaData fileMetaData) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeFileMetaData(fileMetaData, out);
+    return out.toByteArray();
+  }
+
+  private static FileMetaData getTestFileMetaData(int rowGroups, int columns) {
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(columns));
+    for (int c = 0; c < columns; c++) {
+      schema.add(new SchemaElement("col_" + c).setType(Type.INT64));
+    }
+
+    List<RowGroup> rowGroupList = new ArrayList<>();
+    long offset = 4;
+    for (int r = 0; r < rowGroups; r++) {
+      List<ColumnChunk> columnChunks = new ArrayList<>();
+      for (int c = 0; c < columns; c++) {
+        long size = 100 + c;
+        ColumnMetaData columnMetaData =
+            new ColumnMetaData(
+                Type.INT64,
+                Arrays.asList(Encoding.PLAIN, Encoding.RLE_DICTIONARY),
+                Arrays.asList("struct_" + (c % 3), "col_" + c),
+                CompressionCodec.SNAPPY,
+                1000,
+                size * 2,
+                size,
+                c % 2 == 0 ? offset : offset + 10);
+        if (c % 2 == 1) {
+          columnMetaData.setDictionary_page_offset(offset);
+        }
+        columnMetaData.setStatistics(
+            new Statistics()
+                .setMin_value("aaaa".getBytes(StandardCharsets.UTF_8))
+                .setMax_value("zzzz".getBytes(StandardCharsets.UTF_8))
+                .setNull_count(3));
+        columnMetaData.setKey_value_metadata(
+            Collections.singletonList(new KeyValue("key").setValue("value")));
+
+        ColumnChunk columnChunk = new ColumnChunk(offset);
+        columnChunk.setMeta_data(columnMetaData);
+        columnChunk.setOffset_index_offset(1_000_000 + offset);
+        columnChunk.setOffset_index_length(64);
+        if (c % 2 == 0) {
+          columnChunk.setColumn_index_offset(500_000 + offset);
+          columnChunk.setColumn_index_length(32);
+        }
+        columnChunks.add(columnChunk);
+        offset += size;
+      }
+      rowGroupList.add(new RowGroup(columnChunks, offset, 1000).setOrdinal((short) r));
+    }
+
+    FileMetaData fileMetaData = new FileMetaData(1, schema, 1000L * rowGroups, rowGroupList);
+    fileMetaData.setCreated_by("test");
+    fileMetaData.setKey_value_metadata(
+        Collections.singletonList(new KeyValue("writer.model").setValue("test")));
+    return fileMetaData;
+  }
+
+  /**
+   * Creates a FileMetaData with two row groups and statistics for columns of different types. The
+   * second row group only holds nulls for the nested column.
+   */
+  private static FileMetaData getStatisticsFileMetaData(boolean deprecatedStatistics) {
+    List<SchemaElement> schema =
+        Arrays.asList(
+            new SchemaElement("schema").setNum_children(6),
+            new SchemaElement("id").setType(Type.INT64),
+            new SchemaElement("price").setType(Type.DOUBLE),
+            new SchemaElement("name")
+                .setType(Type.BYTE_ARRAY)
+                .setConverted_type(ConvertedType.UTF8),
+            new SchemaElement("amount")
+                .setType(Type.INT32)
+                .setConverted_type(ConvertedType.DECIMAL)
+                .setScale(2)
+                .setPrecision(9),
+            new SchemaElement("count")
+                .setType(Type.INT32)
+                .setLogicalType(LogicalType.INTEGER(new IntType((byte) 32, false))),
+            new SchemaElement("address").setNum_children(1),
+            new SchemaElement("city")
+                .setType(Type.BYTE_ARRAY)
+                .setLogicalType(LogicalType.STRING(new StringType())));
+
+    List<RowGroup> rowGroups = new ArrayList<>();
+    for (int r = 0; r < 2; r++) {
+      long offset = 4 + r * 1000;
+      List<ColumnChunk> columns = new ArrayList<>();
+      columns.add(
+          statisticsChunk(
+              Type.INT64,
+              offset,
+              statistics(
+                  deprecatedStatistics,
+                  ColumnStatisticsTest.int64(r * 100),
+                  ColumnStatisticsTest.int64(r * 100 + 99)),
+              "id"));
+      columns.add(
+          statisticsChunk(
+              Type.DOUBLE,
+              offset + 100,
+              statistics(
+                  deprecatedStatistics,
+                  ColumnStatisticsTest.float64(r * 2 + 1.0),
+                  ColumnStatisticsTest.float64(r * 2 + 2.0)),
+              "price"));
+      columns.add(
+          statisticsChunk(
+              Type.BYTE_ARRAY,
+              offset + 200,
+              statistics(
+                  deprecatedStatistics,
+                  ColumnStatisticsTest.utf8(r == 0 ? "a" : "n"),
+                  ColumnStatisticsTest.utf8(r == 0 ? "m" : "z")),
+              "name"));
+      columns.add(
+          statisticsChunk(
+              Type.INT32,
+              offset + 300,
+              statistics(
+                  deprecatedStatistics,
+                  ColumnStatisticsTest.int32(r * 20),
+                  ColumnStatisticsTest.int32(r * 20 + 10)),
+              "amount"));
+      columns.add(
+          statisticsChunk(
+              Type.INT32,
+              offset + 400,
+              statistics(
+                  deprecatedStatistics,
+                  ColumnStatisticsTest.int32(r * 20),
+                  ColumnStatisticsTest.int32(r * 20 + 10)),
+              "count"));
+      columns.add(
+          statisticsChunk(
+              Type.BYTE_ARRAY,
+              offset + 500,
+              r == 0
+                  ? statistics(
+                      deprecatedStatistics,
+                      ColumnStatisticsTest.utf8("berlin"),
+                      ColumnStatisticsTest.utf8("paris"))
+                  : new Statistics().setNull_count(1000),
+              "address",
+              "city"));
+      rowGroups.add(new RowGroup(columns, 1000, 1000));
+    }
+
+    return new FileMetaData(1, schema, 2000, rowGroups);
+  }
+
+  private static Statistics statistics(boolean deprecatedStatistics, byte[] min, byte[] max) {
+    Statistics statistics = new Statistics().setNull_count(0);
+    if (deprecatedStatistics) {
+      return statistics.setMin(min).setMax(max);
+    }
+    return statistics.setMin_value(min).setMax_value(max);
+  }
+
+  private static ColumnChunk statisticsChunk(
+      Type type, long offset, Statistics statistics, String... path) {
+    ColumnMetaData columnMetaData =
+        new ColumnMetaData(
+            type,
+            Collections.singletonList(Encoding.PLAIN),
+            Arrays.asList(path),
+            CompressionCodec.SNAPPY,
+            1000,
+            200,
+            100,
+            offset);
+    columnMetaData.setStatistics(statistics);
+    ColumnChunk columnChunk = new ColumnChunk(offset);
+    columnChunk.setMeta_data(columnMetaData);
+    return columnChunk;
+  }
+
+  /** Builds column mappers from a fully parsed FileMetaData, as a reference. */
+  private static ColumnMappers buildColumnMappers(FileMetaData fileMetaData) {
+    ColumnMappers.Builder builder = ColumnMappers.builder();
+
+    StringBuilder concatenatedColumnNames = new StringBuilder();
+    for (ColumnChunk columnChunk : fileMetaData.getRow_groups().get(0).getColumns()) {
+      concatenatedColumnNames.append(
+          String.join(".", columnChunk.getMeta_data().getPath_in_schema()));
+    }
+    builder.schemaHash(concatenatedColumnNames.toString().hashCode());
+
+    int rowGroupIndex = 0;
+    for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
+      for (ColumnChunk columnChunk : rowGroup.getColumns()) {
+        ColumnMetaData metaData = columnChunk.getMeta_data();
+        String columnName = String.join(".", metaData.getPath_in_schema());
+        long dictionaryOffset = metaData.getDictionary_page_offset();
+        long startPos = dictionaryOffset != 0 ? dictionaryOffset : columnChunk.getFile_offset();
+        builder.addColumnChunk(
+            rowGroupIndex,
+            columnName,
+            metaData.getData_page_offset(),
+            dictionaryOffset,
+            startPos,
+            metaData.getTotal_compressed_size(),
+            new PageIndexLocation(
+                columnChunk.getColumn_index_offset(),
+                columnChunk.getColumn_index_length(),
+                columnChunk.getOffset_index_offset(),
+                columnChunk.getOffset_index_length()));
+      }
+      rowGroupIndex++;
+    }
+
+    return builder.build();
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetMetadataDiskCacheTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar.parquet");
+  private static final ObjectMetadata TEST_METADATA =
+      ObjectMetadata.builder().contentLength(1000).etag("etag").build();
+  private static final long MAX_BYTES = 1024 * 1024;
+
+  @Test
+  void testConstructor(@TempDir Path tempDir) {
+    ParquetMetadataDiskCache cache = new ParquetMetadataDiskCache(tempDir, MAX_BYTES);
+    assertEquals(tempDir, cache.getDirectory());
+    assertEquals(MAX_BYTES, cache.getMaxBytes());
+    assertThrows(NullPointerException.class, () -> new ParquetMetadataDiskCache(null, MAX_BYTES));
+    assertThrows(IllegalArgumentException.class, () -> new ParquetMetadataDiskCache(tempDir, -1));
+  }
+
+  @Test
+  void testPutAndGet(@TempDir Path tempDir) {
+    // Given: an empty cache
+    ParquetMetadataDiskCache cache =
+        new ParquetMetadataDiskCache(tempDir.resolve("cache"), MAX_BYTES);
+    assertFalse(cache.get(TEST_URI, TEST_METADATA).isPresent());
+
+    // When: column mappers are persisted
+    ColumnMappers columnMappers = getTestColumnMappers();
+    cache.put(TEST_URI, TEST_METADATA, columnMappers);
+
+    // Then: a new cache over the same directory returns equal column mappers
+    Optional<ColumnMappers> cached =
+        new ParquetMetadataDiskCache(tempDir.resolve("cache"), MAX_BYTES)
+            .get(TEST_URI, TEST_METADATA);
+    assertTrue(cached.isPresent());
+    assertEquals(columnMappers, cached.get());
+  }
+
+  @Test
+  void testEntriesAreKeyedByObjectVersion(@TempDir Path tempDir) {
+    // Given: column mappers persisted for one version of an object
+    ParquetMetadataDiskCache cache = new ParquetMetadataDiskCache(tempDir, MAX_BYTES);
+    cache.put(TEST_URI, TEST_METADATA, getTestColumnMappers());
+
+    // Then: another ETag, length or key misses
+    assertFalse(
+        cache
+            .get(TEST_URI, ObjectMetadata.builder().contentLength(1000).etag("other").build())
+            .isPresent());
+    assertFalse(
+        cache
+            .get(TEST_URI, ObjectMetadata.builder().contentLength(999).etag("etag").build())
+            .isPresent());
+    assertFalse(cache.get(S3URI.of("foo", "baz.parquet"), TEST_METADATA).isPresent());
+  }
+
+  @Test
+  void testObjectsWithoutEtagAreNotCached(@TempDir Path tempDir) throws IOException {
+    // Given: metadata without an ETag
+    ParquetMetadataDiskCache cache = new ParquetMetadataDiskCache(tempDir, MAX_BYTES);
+    ObjectMetadata metadata = ObjectMetadata.builder().contentLength(1000).build();
+
+    // When: column mappers are persisted
+    cache.put(TEST_URI, metadata, getTestColumnMappers());
+
+    // Then: nothing is written, nor returned
+    assertFalse(cache.get(TEST_URI, metadata).isPresent());
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void testCorruptEntryIsAMiss(@TempDir Path tempDir) throws IOException {
+    // Given: a persisted entry that is later truncated
+    ParquetMetadataDiskCache cache = new ParquetMetadataDiskCache(tempDir, MAX_BYTES);
+    cache.put(TEST_URI, TEST_METADATA, getTestColumnMappers());
+    Path entry;
+    try (Stream<Path> files = Files.list(tempDir)) {
+      entry = files.findFirst().get();
+    }
+    assertTrue(entry.toString().endsWith(ParquetMetadataDiskCache.FILE_SUFFIX));
+    Files.write(entry, "garbage".getBytes(StandardCharsets.UTF_8));
+
+    // Then: the entry is ignored
+    assertFalse(cache.get(TEST_URI, TEST_METADATA).isPresent());
+  }
+
+  @Test
+  void testLeastRecentlyUsedEntriesAreEvicted(@TempDir Path tempDir) throws IOException {
+    // Given: a cache bounded to two entries, holding entries for a and b, b used last
+    S3URI a = S3URI.of("foo", "a.parquet");
+    S3URI b = S3URI.of("foo", "b.parquet");
+    S3URI c = S3URI.of("foo", "c.parquet");
+    Path sizing = tempDir.resolve("sizing");
+    new ParquetMetadataDiskCache(sizing, MAX_BYTES).put(a, TEST_METADATA, getTestColumnMappers());
+    long entryBytes = Files.size(listEntries(sizing).get(0));
+
+    Path directory = tempDir.resolve("cache");
+    ParquetMetadataDiskCache cache = new ParquetMetadataDiskCache(directory, 2 * entryBytes);
+    cache.put(a, TEST_METADATA, getTestColumnMappers());
+    Path entryA = listEntries(directory).get(0);
+    cache.put(b, TEST_METADATA, getTestColumnMappers());
+    Files.setLastModifiedTime(entryA, FileTime.fromMillis(1000));
+    for (Path entry : listEntries(directory)) {
+      if (!entry.equals(entryA)) {
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(2000));
+      }
+    }
+
+    // When: a is read, which makes b the least recently used, and an entry for c is added
+    assertTrue(cache.get(a, TEST_METADATA).isPresent());
+    cache.put(c, TEST_METADATA, getTestColumnMappers());
+
+    // Then: b is evicted to keep the directory within its bound
+    assertEquals(2, listEntries(directory).size());
+    assertTrue(cache.get(a, TEST_METADATA).isPresent());
+    assertFalse(cache.get(b, TEST_METADATA).isPresent());
+    assertTrue(cache.get(c, TEST_METADATA).isPresent());
+  }
+
+  @Test
+  void testExistingEntriesCountTowardsTheBound(@TempDir Path tempDir) {
+    // Given: entries left behind by an earlier cache over the same directory
+    new ParquetMetadataDiskCache(tempDir, MAX_BYTES)
+        .put(S3URI.of("foo", "a.parquet"), TEST_METADATA, getTestColumnMappers());
+
+    // When: a cache with no room for them writes another entry
+    new ParquetMetadataDiskCache(tempDir, 0).put(TEST_URI, TEST_METADATA, getTestColumnMappers());
+
+    // Then: all entries are evicted
+    assertFalse(
+        new ParquetMetadataDiskCache(tempDir, MAX_BYTES)
+            .get(S3URI.of("foo", "a.parquet"), TEST_METADATA)
+            .isPresent());
+    assertFalse(
+        new ParquetMetadataDiskCache(tempDir, MAX_BYTES).get(TEST_URI, TEST_METADATA).isPresent());
+  }
+
+  @Test
+  void testReadRejectsMismatchedKey() throws IOException {
+    // Given: column mappers written under one key
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      ParquetMetadataDiskCache.write(out, "key", getTestColumnMappers());
+    }
+
+    // Then: reading them under another key returns nothing
+    try (DataInputStream in =
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertNull(ParquetMetadataDiskCache.read(in, "other"));
+    }
+  }
+
+  private static ColumnMappers getTestColumnMappers() {
+    ColumnMappers.Builder builder = ColumnMappers.builder();
+    for (int rowGroup = 0; rowGroup < 2; rowGroup++) {
+      long base = rowGroup * 1000L;
+      builder.addColumnChunk(
+          new ColumnMetadata(
+              rowGroup,
+              "ss_a",
+              base + 4,
+              0,
+              base + 4,
+              400,
+              42,
+              new PageIndexLocation(5000 + base, 30, 6000 + base, 20)));
+      builder.addColumnChunk(
+          new ColumnMetadata(rowGroup, "ss_b.nested", base + 500, base + 404, base + 404, 596, 42));
+    }
+    return builder.build();
+  }
+
+  private static List<Path> listEntries(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.toString().endsWith(ParquetMetadataDiskCache.FILE_SUFFIX))
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -17,6 +17,8 @@ package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,10 +27,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -37,6 +42,7 @@ import java.util.stream.Stream;
 import org.apache.parquet.format.ColumnChunk;
 import org.apache.parquet.format.FileMetaData;
 import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.Util;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -45,6 +51,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import software.amazon.awssdk.utils.ImmutableMap;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -52,6 +59,7 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
     justification = "We mean to pass nulls to checks")
 public class ParquetMetadataParsingTaskTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final String TEST_ETAG = "etag";
 
   @Test
   void testConstructor() {
@@ -100,7 +108,7 @@ public class ParquetMetadataParsingTaskTest {
 
     assertEquals(
         fileMetaData.getRow_groups().get(0).getColumns().size(),
-        columnMappers.getOffsetIndexToColumnMap().size());
+        columnMappers.getColumnChunkCount());
 
     for (ColumnChunk columnChunk : fileMetaData.getRow_groups().get(0).getColumns()) {
       Long key;
@@ -113,14 +121,15 @@ public class ParquetMetadataParsingTaskTest {
         key = columnChunk.getFile_offset();
       }
 
-      assertTrue(columnMappers.getOffsetIndexToColumnMap().containsKey(key));
-      assertEquals(0, columnMappers.getOffsetIndexToColumnMap().get(key).getRowGroupIndex());
+      assertTrue(columnMappers.getColumnStartingAt(key).isPresent());
+      ColumnMetadata columnMetadata = columnMappers.getColumnStartingAt(key).get();
+      assertEquals(0, columnMetadata.getRowGroupIndex());
       assertEquals(
           String.join(".", columnChunk.getMeta_data().getPath_in_schema()),
-          columnMappers.getOffsetIndexToColumnMap().get(key).getColumnName());
+          columnMetadata.getColumnName());
       assertEquals(
           columnChunk.getMeta_data().getTotal_compressed_size(),
-          columnMappers.getOffsetIndexToColumnMap().get(key).getCompressedSize());
+          columnMetadata.getCompressedSize());
     }
   }
 
@@ -132,25 +141,21 @@ public class ParquetMetadataParsingTaskTest {
     // Deserialize fileMetaData object
     FileMetaData fileMetaData = getFileMetadata(filename);
     ColumnMappers columnMappers = getColumnMappers(fileMetaData);
-    Map<String, List<ColumnMetadata>> columnNameToColumnMap =
-        columnMappers.getColumnNameToColumnMap();
 
     // parquet file "multi_row_group.parquet" in resources has 2 columns and 3 row groups. So the
-    // map
-    // should have two entries (one for each column) of size 3 (one entry for each occurrence of the
-    // column)
-    assertEquals(expectedColumns, columnNameToColumnMap.size());
+    // mappers should have two columns with 3 chunks each (one for each occurrence of the column)
+    assertEquals(expectedColumns, columnMappers.getColumnNames().size());
     expectedColToRowGroup.forEach(
         (col, rowGroup) -> {
-          assertEquals(rowGroup, columnNameToColumnMap.get(col).size());
+          assertEquals(rowGroup, columnMappers.getColumnChunks(col).size());
         });
 
     int rowGroupIndex = 0;
     for (RowGroup rowGroup : fileMetaData.getRow_groups()) {
-      assertEquals(rowGroup.getColumns().size(), columnNameToColumnMap.size());
+      assertEquals(rowGroup.getColumns().size(), columnMappers.getColumnNames().size());
       for (ColumnChunk columnChunk : rowGroup.getColumns()) {
         List<ColumnMetadata> columnMetadataList =
-            columnNameToColumnMap.get(
+            columnMappers.getColumnChunks(
                 String.join(".", columnChunk.getMeta_data().getPath_in_schema()));
         ColumnMetadata columnMetadata = columnMetadataList.get(rowGroupIndex);
 
@@ -199,9 +204,8 @@ public class ParquetMetadataParsingTaskTest {
     FileMetaData fileMetaData = getFileMetadata("src/test/resources/nested_data_metadata.ser");
     ColumnMappers columnMappers = getColumnMappers(fileMetaData);
 
-    Map<String, List<ColumnMetadata>> columnNameToColumnMap =
-        columnMappers.getColumnNameToColumnMap();
-    assertEquals(8, columnNameToColumnMap.size());
+    List<String> columnNames = columnMappers.getColumnNames();
+    assertEquals(8, columnNames.size());
 
     // The underlying data is nested for address and phone number.
     // Eg:   {
@@ -220,16 +224,16 @@ public class ParquetMetadataParsingTaskTest {
     //    }
 
     // Check the path of the nested columns
-    assertTrue(columnNameToColumnMap.containsKey("address.street"));
-    assertTrue(columnNameToColumnMap.containsKey("address.zip"));
-    assertTrue(columnNameToColumnMap.containsKey("phone_numbers.list.element.type"));
-    assertTrue(columnNameToColumnMap.containsKey("phone_numbers.list.element.number"));
+    assertTrue(columnNames.contains("address.street"));
+    assertTrue(columnNames.contains("address.zip"));
+    assertTrue(columnNames.contains("phone_numbers.list.element.type"));
+    assertTrue(columnNames.contains("phone_numbers.list.element.number"));
   }
 
   @Test
   void testParsingExceptionsRemappedToCompletionException() throws IOException {
     ParquetParser mockedParquetParser = mock(ParquetParser.class);
-    when(mockedParquetParser.parseParquetFooter(any(ByteBuffer.class), anyInt(), any(S3URI.class)))
+    when(mockedParquetParser.parseColumnMappers(any(ByteBuffer.class), anyInt(), any(S3URI.class)))
         .thenThrow(new IOException("can not read FileMetaData"));
 
     ParquetMetadataParsingTask parquetMetadataParsingTask =
@@ -241,7 +245,7 @@ public class ParquetMetadataParsingTaskTest {
         CompletableFuture.supplyAsync(
             () ->
                 parquetMetadataParsingTask.storeColumnMappers(
-                    new FileTail(ByteBuffer.allocate(0), 0)));
+                    new FileTail(ByteBuffer.allocate(0), 0), TEST_ETAG));
 
     assertThrows(CompletionException.class, parquetMetadataTaskFuture::join);
   }
@@ -256,16 +260,28 @@ public class ParquetMetadataParsingTaskTest {
   }
 
   private ColumnMappers getColumnMappers(FileMetaData fileMetaData) throws IOException {
-    ParquetParser mockedParquetParser = mock(ParquetParser.class);
-    when(mockedParquetParser.parseParquetFooter(any(ByteBuffer.class), anyInt(), any(S3URI.class)))
-        .thenReturn(fileMetaData);
+    // Serialise the metadata into a file tail, so that it goes through the footer decoder
+    ByteArrayOutputStream tail = new ByteArrayOutputStream();
+    Util.writeFileMetaData(fileMetaData, tail);
+    int footerLength = tail.size();
+    tail.write(
+        ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(footerLength).array());
+    tail.write("PAR1".getBytes(StandardCharsets.US_ASCII));
 
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
     ParquetMetadataParsingTask parquetMetadataParsingTask =
-        new ParquetMetadataParsingTask(
-            TEST_URI,
-            new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
-            mockedParquetParser);
+        new ParquetMetadataParsingTask(TEST_URI, parquetColumnPrefetchStore);
+
+    ColumnMappers columnMappers =
+        parquetMetadataParsingTask.storeColumnMappers(
+            new FileTail(ByteBuffer.wrap(tail.toByteArray()), tail.size()), TEST_ETAG);
 
-    return parquetMetadataParsingTask.storeColumnMappers(new FileTail(ByteBuffer.allocate(0), 0));
+    // The mappers are stored for the version of the object they were parsed from
+    assertSame(
+        columnMappers,
+        parquetColumnPrefetchStore.getColumnMappers(ObjectKey.of(TEST_URI, TEST_ETAG)));
+    assertNull(parquetColumnPrefetchStore.getColumnMappers(ObjectKey.of(TEST_URI, "other")));
+    return columnMappers;
   }
 }
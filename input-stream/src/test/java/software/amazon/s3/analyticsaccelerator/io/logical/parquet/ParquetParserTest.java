@@ -16,21 +16,41 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
 import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 public class ParquetParserTest {
@@ -61,6 +81,36 @@ public class ParquetParserTest {
     }
   }
 
+  @Test
+  void testParsePageLocations() throws IOException {
+    OffsetIndex offsetIndex =
+        new OffsetIndex(
+            Arrays.asList(
+                new PageLocation(100, 50, 0),
+                new PageLocation(150, 40, 10),
+                new PageLocation(200, 30, 30)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(new byte[] {1, 2, 3});
+    Util.writeOffsetIndex(offsetIndex, out);
+    byte[] buffer = out.toByteArray();
+
+    PageLocations pageLocations =
+        new ParquetParser().parsePageLocations(buffer, 3, buffer.length - 3);
+
+    assertEquals(
+        new PageLocations(
+            new long[] {100, 150, 200}, new int[] {50, 40, 30}, new long[] {0, 10, 30}),
+        pageLocations);
+  }
+
+  @Test
+  void testParsePageLocationsFailsOnCorruptedData() {
+    byte[] buffer = new byte[] {(byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+    assertThrows(
+        IOException.class, () -> new ParquetParser().parsePageLocations(buffer, 0, buffer.length));
+  }
+
   private static Stream<Arguments> singleRowGroupArguments() {
     return Stream.of(
         Arguments.of("src/test/resources/call_center.parquet", 31),
@@ -113,6 +163,57 @@ public class ParquetParserTest {
         });
   }
 
+  @Test
+  void testParseRowGroupFilter() throws IOException {
+    // Given: the tail of a file with two row groups, holding ids in [0, 9] and [10, 19]
+    List<RowGroup> rowGroups = new ArrayList<>();
+    for (int r = 0; r < 2; r++) {
+      ColumnMetaData columnMetaData =
+          new ColumnMetaData(
+              Type.INT64,
+              Collections.singletonList(Encoding.PLAIN),
+              Collections.singletonList("id"),
+              CompressionCodec.UNCOMPRESSED,
+              10,
+              80,
+              80,
+              4 + r * 80);
+      columnMetaData.setStatistics(
+          new Statistics()
+              .setMin_value(ColumnStatisticsTest.int64(r * 10))
+              .setMax_value(ColumnStatisticsTest.int64(r * 10 + 9)));
+      ColumnChunk columnChunk = new ColumnChunk(4 + r * 80).setMeta_data(columnMetaData);
+      rowGroups.add(new RowGroup(Collections.singletonList(columnChunk), 80, 10));
+    }
+    FileMetaData fileMetaData =
+        new FileMetaData(
+            1,
+            Arrays.asList(
+                new SchemaElement("schema").setNum_children(1),
+                new SchemaElement("id").setType(Type.INT64)),
+            20,
+            rowGroups);
+
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    Util.writeFileMetaData(fileMetaData, footer);
+    ByteBuffer fileTail = ByteBuffer.allocate(footer.size() + 8).order(ByteOrder.LITTLE_ENDIAN);
+    fileTail.put(footer.toByteArray()).putInt(footer.size()).put(new byte[] {'P', 'A', 'R', '1'});
+    fileTail.flip();
+
+    // When: a row group filter is parsed for a predicate on the ids
+    RowGroupFilter rowGroupFilter =
+        new ParquetParser()
+            .parseRowGroupFilter(
+                fileTail,
+                fileTail.limit(),
+                TEST_URI,
+                Collections.singletonList(ColumnPredicate.gt("id", 12)));
+
+    // Then: only the second row group can match
+    assertFalse(rowGroupFilter.mightMatch(0));
+    assertTrue(rowGroupFilter.mightMatch(1));
+  }
+
   @Test
   void testInvalidFileTail() throws IOException {
     File file = new File("src/test/resources/call_center.parquet");
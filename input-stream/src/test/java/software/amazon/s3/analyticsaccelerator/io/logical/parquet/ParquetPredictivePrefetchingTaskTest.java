@@ -16,35 +16,59 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_KB;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.Encoding;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Metric;
 import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
 import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
@@ -53,6 +77,7 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
     justification = "We mean to pass nulls to checks")
 public class ParquetPredictivePrefetchingTaskTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, "etag");
 
   @Test
   void testConstructor() {
@@ -112,18 +137,26 @@ public class ParquetPredictivePrefetchingTaskTest {
                 LogicalIOConfiguration.DEFAULT,
                 mock(PhysicalIO.class),
                 null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT),
+                null));
   }
 
   @Test
   void testAddToRecentColumnList() {
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
     ColumnMetadata columnMetadata =
         new ColumnMetadata(0, "sk_test", 200, 100, 100, 500, "sk_test".hashCode());
-    offsetIndexToColumnMap.put(100L, columnMetadata);
-    ColumnMappers columnMappers = new ColumnMappers(offsetIndexToColumnMap, new HashMap<>());
+    ColumnMappers columnMappers = ColumnMappers.builder().addColumnChunk(columnMetadata).build();
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
             TEST_URI,
@@ -132,7 +165,7 @@ public class ParquetPredictivePrefetchingTaskTest {
             physicalIO,
             parquetColumnPrefetchStore);
 
-    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI)).thenReturn(columnMappers);
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
 
     assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 400).size());
     verify(parquetColumnPrefetchStore).addRecentColumn(columnMetadata);
@@ -140,36 +173,29 @@ public class ParquetPredictivePrefetchingTaskTest {
 
   @Test
   void testRowGroupPrefetch() throws IOException {
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
-    List<ColumnMetadata> columnMetadataList = new ArrayList<>();
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-
     ColumnMetadata sk_test =
         new ColumnMetadata(0, "sk_test", 200, 100, 100, 500, "sk_test".hashCode());
-    offsetIndexToColumnMap.put(100L, sk_test);
-    columnMetadataList.add(sk_test);
-
     ColumnMetadata sk_test_row_group_1 =
         new ColumnMetadata(1, "sk_test", 900, 800, 800, 500, "sk_test".hashCode());
-    offsetIndexToColumnMap.put(800L, sk_test);
-    columnMetadataList.add(sk_test_row_group_1);
-
-    columnNameToColumnMap.put("sk_test", columnMetadataList);
 
-    ColumnMappers columnMappers = new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+    ColumnMappers columnMappers =
+        ColumnMappers.builder().addColumnChunk(sk_test).addColumnChunk(sk_test_row_group_1).build();
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
             TEST_URI,
             Telemetry.NOOP,
-            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build(),
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .prefetchLookaheadRowGroups(0)
+                .build(),
             physicalIO,
             parquetColumnPrefetchStore);
 
     when(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 0)).thenReturn(false);
-    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI)).thenReturn(columnMappers);
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
 
     Set<String> recentColumns = new HashSet<>();
     recentColumns.add("sk_test");
@@ -193,26 +219,16 @@ public class ParquetPredictivePrefetchingTaskTest {
 
   @Test
   void testRowGroupPrefetchForOnlyDictionary() throws IOException {
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
-    List<ColumnMetadata> columnMetadataList = new ArrayList<>();
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-
     ColumnMetadata sk_test =
         new ColumnMetadata(0, "sk_test", 200, 100, 100, 500, "sk_test".hashCode());
-    offsetIndexToColumnMap.put(100L, sk_test);
-    columnMetadataList.add(sk_test);
-
     ColumnMetadata sk_test_row_group_1 =
         new ColumnMetadata(1, "sk_test", 900, 800, 800, 500, "sk_test".hashCode());
-    offsetIndexToColumnMap.put(800L, sk_test);
-    columnMetadataList.add(sk_test_row_group_1);
 
-    columnNameToColumnMap.put("sk_test", columnMetadataList);
-
-    ColumnMappers columnMappers = new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap);
+    ColumnMappers columnMappers =
+        ColumnMappers.builder().addColumnChunk(sk_test).addColumnChunk(sk_test_row_group_1).build();
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
             TEST_URI,
@@ -222,7 +238,7 @@ public class ParquetPredictivePrefetchingTaskTest {
             parquetColumnPrefetchStore);
 
     when(parquetColumnPrefetchStore.isDictionaryRowGroupPrefetched(TEST_URI, 0)).thenReturn(false);
-    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI)).thenReturn(columnMappers);
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
 
     Set<String> recentDictionaries = new HashSet<>();
     recentDictionaries.add("sk_test");
@@ -244,12 +260,54 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertTrue(ioPlan.getPrefetchRanges().containsAll(expectedRanges));
   }
 
+  @Test
+  void testRowGroupPrefetchSkippedWhenPagesArePrefetched() throws IOException {
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+
+    ColumnMetadata sk_test =
+        new ColumnMetadata(
+            0,
+            "sk_test",
+            100,
+            0,
+            100,
+            500,
+            "sk_test".hashCode(),
+            new PageIndexLocation(1000, 20, 1020, 20));
+
+    ColumnMappers columnMappers = ColumnMappers.builder().addColumnChunk(sk_test).build();
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchingMode(PrefetchMode.ROW_GROUP)
+                .prefetchPagesEnabled(true)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema("sk_test".hashCode()))
+        .thenReturn(Collections.singleton("sk_test"));
+
+    // When: the column is read
+    assertEquals(1, parquetPredictivePrefetchingTask.addToRecentColumnList(100, 200).size());
+
+    // Then: it is still tracked, but whole chunks are not prefetched, as the pages of the row group
+    // are prefetched individually
+    verify(parquetColumnPrefetchStore).addRecentColumn(sk_test);
+    verify(parquetColumnPrefetchStore, never()).storeColumnPrefetchedRowGroupIndex(TEST_URI, 0);
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
   @Test
   void testAddToRecentColumnListEmptyColumnMappers() {
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
-    when(parquetColumnPrefetchStore.getColumnMappers(TEST_URI)).thenReturn(null);
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(null);
 
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
@@ -265,51 +323,34 @@ public class ParquetPredictivePrefetchingTaskTest {
 
   @Test
   void testAddToRecentColumnListAdjacentColumns() {
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
     StringBuilder columnNames = new StringBuilder();
     columnNames.append("sk_test").append("sk_test_2").append("sk_test_3");
     int schemaHash = columnNames.toString().hashCode();
 
-    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-
-    List<ColumnMetadata> sk_testColumnMetadataList = new ArrayList<>();
     ColumnMetadata sk_test1 =
         new ColumnMetadata(
             0, "sk_test_1", 200 * ONE_KB, 100 * ONE_KB, 100 * ONE_KB, 600 * ONE_KB, schemaHash);
-    sk_testColumnMetadataList.add(sk_test1);
-    offsetIndexToColumnMap.put(100L * ONE_KB, sk_test1);
-
-    List<ColumnMetadata> sk_test_2ColumnMetadataList = new ArrayList<>();
     ColumnMetadata sk_test2 =
         new ColumnMetadata(
             0, "sk_test_2", 800 * ONE_KB, 700 * ONE_KB, 700 * ONE_KB, 800 * ONE_KB, schemaHash);
-    sk_test_2ColumnMetadataList.add(sk_test2);
-    offsetIndexToColumnMap.put(700L * ONE_KB, sk_test2);
-
-    List<ColumnMetadata> sk_test_3ColumnMetadataList = new ArrayList<>();
     ColumnMetadata sk_test3 =
         new ColumnMetadata(
             0, "sk_test_3", 1650 * ONE_KB, 1500 * ONE_KB, 1500 * ONE_KB, 200 * ONE_KB, schemaHash);
-    sk_test_3ColumnMetadataList.add(sk_test3);
-    offsetIndexToColumnMap.put(1500L * ONE_KB, sk_test3);
-
-    List<ColumnMetadata> sk_test_4ColumnMetadataList = new ArrayList<>();
     ColumnMetadata sk_test4 =
         new ColumnMetadata(
             0, "sk_test_4", 1800 * ONE_KB, 1700 * ONE_KB, 1700 * ONE_KB, 800 * ONE_KB, schemaHash);
-    sk_test_4ColumnMetadataList.add(sk_test4);
-    offsetIndexToColumnMap.put(1700L * ONE_KB, sk_test4);
-
-    columnNameToColumnMap.put("sk_test_1", sk_testColumnMetadataList);
-    columnNameToColumnMap.put("sk_test_2", sk_test_2ColumnMetadataList);
-    columnNameToColumnMap.put("sk_test_3", sk_test_3ColumnMetadataList);
-    columnNameToColumnMap.put("sk_test_4", sk_test_4ColumnMetadataList);
 
-    when(parquetColumnPrefetchStore.getColumnMappers(any(S3URI.class)))
-        .thenReturn(new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap));
+    when(parquetColumnPrefetchStore.getColumnMappers(any(ObjectKey.class)))
+        .thenReturn(
+            ColumnMappers.builder()
+                .addColumnChunk(sk_test1)
+                .addColumnChunk(sk_test2)
+                .addColumnChunk(sk_test3)
+                .addColumnChunk(sk_test4)
+                .build());
 
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
@@ -356,41 +397,27 @@ public class ParquetPredictivePrefetchingTaskTest {
   @Test
   void testPrefetchRecentColumns() throws IOException {
     // Given: prefetching task with some recent columns
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
 
     StringBuilder columnNames = new StringBuilder();
     columnNames.append("sk_test").append("sk_test_2").append("sk_test_3");
     int schemaHash = columnNames.toString().hashCode();
 
-    HashMap<String, List<ColumnMetadata>> columnNameToColumnMap = new HashMap<>();
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-
-    List<ColumnMetadata> sk_testColumnMetadataList = new ArrayList<>();
-    ColumnMetadata sk_test1 = new ColumnMetadata(0, "test", 200, 100, 100, 500, schemaHash);
-    sk_testColumnMetadataList.add(sk_test1);
-    offsetIndexToColumnMap.put(100L, sk_test1);
-
+    ColumnMetadata sk_test1 = new ColumnMetadata(0, "sk_test", 200, 100, 100, 500, schemaHash);
     // Should not be prefetched as it does not belong to the first row group.
     ColumnMetadata sk_test1_row_group_1 =
-        new ColumnMetadata(1, "test", 1900, 1800, 1800, 500, schemaHash);
-    sk_testColumnMetadataList.add(sk_test1_row_group_1);
-    offsetIndexToColumnMap.put(1800L, sk_test1_row_group_1);
-
-    List<ColumnMetadata> sk_test_2ColumnMetadataList = new ArrayList<>();
+        new ColumnMetadata(1, "sk_test", 1900, 1800, 1800, 500, schemaHash);
     ColumnMetadata sk_test2 = new ColumnMetadata(0, "sk_test_2", 700, 600, 600, 500, schemaHash);
-    sk_test_2ColumnMetadataList.add(sk_test2);
-    offsetIndexToColumnMap.put(600L, sk_test2);
-
-    List<ColumnMetadata> sk_test_3ColumnMetadataList = new ArrayList<>();
     ColumnMetadata sk_test3 =
         new ColumnMetadata(0, "sk_test_3", 1400, 1300, 1300, 500, getHashCode(columnNames));
-    sk_test_3ColumnMetadataList.add(sk_test3);
-    offsetIndexToColumnMap.put(1100L, sk_test3);
-
-    columnNameToColumnMap.put("sk_test", sk_testColumnMetadataList);
-    columnNameToColumnMap.put("sk_test_2", sk_test_2ColumnMetadataList);
-    columnNameToColumnMap.put("sk_test_3", sk_test_3ColumnMetadataList);
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(sk_test1)
+            .addColumnChunk(sk_test1_row_group_1)
+            .addColumnChunk(sk_test2)
+            .addColumnChunk(sk_test3)
+            .build();
 
     Set<String> recentColumns = new HashSet<>();
     recentColumns.add("sk_test");
@@ -408,9 +435,7 @@ public class ParquetPredictivePrefetchingTaskTest {
             physicalIO,
             parquetColumnPrefetchStore);
     parquetPredictivePrefetchingTask.prefetchRecentColumns(
-        new ColumnMappers(offsetIndexToColumnMap, columnNameToColumnMap),
-        ParquetUtils.constructRowGroupsToPrefetch(),
-        false);
+        columnMappers, ParquetUtils.constructRowGroupsToPrefetch(), false);
 
     // Then: physical IO gets the correct plan
     ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
@@ -425,10 +450,445 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertTrue(ioPlan.getPrefetchRanges().containsAll(expectedRanges));
   }
 
+  @Test
+  void testPrefetchHintedColumns() throws IOException {
+    // Given: no recent columns, but the caller hinted at ss_a and filters on ss_b
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 10)))
+            .build();
+
+    // When: the hinted columns are prefetched
+    new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions)
+        .prefetchHintedColumns(getTestColumnMappers());
+
+    // Then: ss_a and ss_b of the first row group are prefetched, but ss_c is not
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(100, 1099));
+    assertEquals(expectedRanges, ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+
+    // Then: reads to the first row group do not prefetch it again
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 0);
+  }
+
+  @Test
+  void testPrefetchHintedColumnsSkippedWithoutHints() throws IOException {
+    // Given: the caller did not hint at any columns
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+
+    // When: the hinted columns are prefetched
+    IOPlanExecution execution =
+        new ParquetPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                physicalIO,
+                parquetColumnPrefetchStore,
+                OpenStreamOptions.DEFAULT)
+            .prefetchHintedColumns(getTestColumnMappers());
+
+    // Then: nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+    verify(parquetColumnPrefetchStore, never()).storeColumnPrefetchedRowGroupIndex(any(), any());
+  }
+
+  @Test
+  void testHintedColumnsReplaceRecentColumns() throws IOException {
+    // Given: ss_c was recently read, but the caller hinted at ss_a
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    ColumnMappers columnMappers = getTestColumnMappers();
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(
+            columnMappers.getSchemaHash()))
+        .thenReturn(Collections.singleton("ss_c"));
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder().projectedColumns(Collections.singleton("ss_a")).build();
+
+    // When: recent columns get prefetched
+    new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions)
+        .prefetchRecentColumns(columnMappers, ParquetUtils.constructRowGroupsToPrefetch(), false);
+
+    // Then: only the hinted column is prefetched
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(100, 599));
+    assertEquals(expectedRanges, ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+  }
+
+  @Test
+  void testPrefetchHintedColumnsSkipsPrunedRowGroups() throws IOException {
+    // Given: a predicate on ss_b that none of the rows of the first row group match
+    PhysicalIO physicalIO = getPhysicalIOWithStatistics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.ROW_GROUP).build();
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 10)))
+            .build();
+
+    // When: the hinted columns are prefetched
+    new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions)
+        .prefetchHintedColumns(getTestColumnMappers());
+
+    // Then: ss_a and ss_b of the second row group are prefetched instead
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(1600, 2599));
+    assertEquals(expectedRanges, ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+    verify(parquetColumnPrefetchStore).storeColumnPrefetchedRowGroupIndex(TEST_URI, 1);
+  }
+
+  @Test
+  void testPrefetchHintedColumnsSkippedWhenAllRowGroupsArePruned() throws IOException {
+    // Given: a predicate on ss_b that none of the rows of the file match
+    PhysicalIO physicalIO = getPhysicalIOWithStatistics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 100)))
+            .build();
+
+    // When: the hinted columns are prefetched
+    IOPlanExecution execution =
+        new ParquetPredictivePrefetchingTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                physicalIO,
+                parquetColumnPrefetchStore,
+                openStreamOptions)
+            .prefetchHintedColumns(getTestColumnMappers());
+
+    // Then: nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(physicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testPrefetchRecentColumnsSkipsPrunedRowGroups() throws IOException {
+    // Given: ss_a was recently read, and a predicate on ss_b rules out the first row group
+    PhysicalIO physicalIO = getPhysicalIOWithStatistics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    ColumnMappers columnMappers = getTestColumnMappers();
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(
+            columnMappers.getSchemaHash()))
+        .thenReturn(Collections.singleton("ss_a"));
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 10)))
+            .build();
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions);
+
+    // When: both row groups are prefetched one after the other
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        columnMappers, Collections.singletonList(0), false);
+    parquetPredictivePrefetchingTask.prefetchRecentColumns(
+        columnMappers, Collections.singletonList(1), false);
+
+    // Then: nothing is prefetched for the first row group, but ss_a is for the second
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(4)).execute(ioPlanArgumentCaptor.capture());
+    List<IOPlan> ioPlans = ioPlanArgumentCaptor.getAllValues();
+    assertEquals(IOPlan.EMPTY_PLAN, ioPlans.get(1));
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(1600, 2099));
+    assertEquals(expectedRanges, ioPlans.get(3).getPrefetchRanges());
+
+    // Then: the footer is only read once
+    verify(physicalIO, times(1)).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void testRowGroupsAreNotPrunedWhenDisabled() throws IOException {
+    // Given: row group pruning is disabled
+    PhysicalIO physicalIO = getPhysicalIOWithStatistics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().rowGroupPruningEnabled(false).build();
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.gt("ss_b", 10)))
+            .build();
+
+    // When: the hinted columns are prefetched
+    new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            configuration,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions)
+        .prefetchHintedColumns(getTestColumnMappers());
+
+    // Then: the first row group is prefetched without reading the footer
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(2)).execute(ioPlanArgumentCaptor.capture());
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(100, 1099));
+    assertEquals(expectedRanges, ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+    verify(physicalIO, never()).readTail(any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  void testLookaheadPrefetchesNextRowGroups() throws IOException {
+    // Given: a file with four row groups, and a lookahead of two row groups
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        getPrefetchStore(getTestColumnMappers(4));
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder().prefetchLookaheadRowGroups(2).build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    // When: ss_a of the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+
+    // Then: ss_a of the first row group is prefetched, and so is ss_a of the next two row groups
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(3)).execute(ioPlanArgumentCaptor.capture());
+    List<IOPlan> ioPlans = ioPlanArgumentCaptor.getAllValues();
+    assertEquals(
+        Collections.singletonList(new Range(100, 599)), ioPlans.get(1).getPrefetchRanges());
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(1600, 2099));
+    expectedRanges.add(new Range(3100, 3599));
+    assertEquals(expectedRanges, ioPlans.get(2).getPrefetchRanges());
+    assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 1));
+    assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 2));
+    assertFalse(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 3));
+  }
+
+  @Test
+  void testLookaheadIsBoundedByBudget() throws IOException {
+    // Given: a lookahead of three row groups, but a budget for a single 500 byte chunk
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        getPrefetchStore(getTestColumnMappers(4));
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.builder()
+                .prefetchLookaheadRowGroups(3)
+                .prefetchLookaheadMaxBytes(700)
+                .build(),
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    // When: ss_a of the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+
+    // Then: only the next row group is prefetched ahead
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(3)).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(1600, 2099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+    assertFalse(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 2));
+  }
+
+  @Test
+  void testLookaheadMovesWithTheReader() throws IOException {
+    // Given: a lookahead of one row group
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        getPrefetchStore(getTestColumnMappers(4));
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore);
+
+    // When: ss_a is read for the first row group, and then for the second
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+    parquetPredictivePrefetchingTask.addToRecentColumnList(1600, 500);
+
+    // Then: the second row group is not prefetched again, but the third is prefetched ahead
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(4)).execute(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(3100, 3599)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+    verify(physicalIO, never()).cancel(any(IOPlan.class));
+  }
+
+  @Test
+  void testLookaheadIsCancelledWhenReaderJumps() throws IOException {
+    // Given: the second row group was prefetched ahead of a read to the first
+    PhysicalIO physicalIO = mockPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        getPrefetchStore(getTestColumnMappers(4));
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore);
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+    assertTrue(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 1));
+
+    // When: the reader jumps to the last row group
+    parquetPredictivePrefetchingTask.addToRecentColumnList(4600, 500);
+
+    // Then: the lookahead of the second row group is cancelled
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO).cancel(ioPlanArgumentCaptor.capture());
+    assertEquals(
+        Collections.singletonList(new Range(1600, 2099)),
+        ioPlanArgumentCaptor.getValue().getPrefetchRanges());
+
+    // Then: it is prefetched again if the reader gets to it
+    assertFalse(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testLookaheadSkipsPrunedRowGroups() throws IOException {
+    // Given: a predicate on ss_b that rules out the second row group
+    PhysicalIO physicalIO = getPhysicalIOWithStatistics();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        getPrefetchStore(getTestColumnMappers());
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .predicates(Collections.singletonList(ColumnPredicate.lt("ss_b", 10)))
+            .build();
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            physicalIO,
+            parquetColumnPrefetchStore,
+            openStreamOptions);
+
+    // When: ss_a of the first row group is read
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+
+    // Then: only the first row group is prefetched
+    verify(physicalIO, times(2)).execute(any(IOPlan.class));
+    assertFalse(parquetColumnPrefetchStore.isColumnRowGroupPrefetched(TEST_URI, 1));
+  }
+
+  @Test
+  void testReportPredictionMetrics() {
+    // Given: a schema for which ss_a and ss_b have been read
+    ColumnMappers columnMappers = getTestColumnMappers();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getPrefetchStore(columnMappers);
+    parquetColumnPrefetchStore.addRecentColumn(columnMappers.getColumnChunks("ss_a").get(0));
+    parquetColumnPrefetchStore.addRecentColumn(columnMappers.getColumnChunks("ss_b").get(0));
+    Telemetry telemetry = spy(Telemetry.NOOP);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            telemetry,
+            LogicalIOConfiguration.DEFAULT,
+            mockPhysicalIO(),
+            parquetColumnPrefetchStore);
+
+    // When: the stream reads ss_a only, after ss_a and ss_b were prefetched for it
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+    parquetPredictivePrefetchingTask.reportPredictionMetrics();
+
+    // Then: half of the predicted columns were read, and all read columns were predicted
+    verify(telemetry)
+        .measure(Metric.builder().name("parquet.column.prediction.precision").build(), 0.5);
+    verify(telemetry)
+        .measure(Metric.builder().name("parquet.column.prediction.recall").build(), 1.0);
+  }
+
+  @Test
+  void testReportPredictionMetricsWithoutPredictions() {
+    // Given: a schema for which no columns have been read yet
+    ColumnMappers columnMappers = getTestColumnMappers();
+    Telemetry telemetry = spy(Telemetry.NOOP);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            telemetry,
+            LogicalIOConfiguration.DEFAULT,
+            mockPhysicalIO(),
+            getPrefetchStore(columnMappers));
+
+    // When: the stream reads ss_a
+    parquetPredictivePrefetchingTask.addToRecentColumnList(100, 500);
+    parquetPredictivePrefetchingTask.reportPredictionMetrics();
+
+    // Then: none of the read columns were predicted, and there is no precision to report
+    verify(telemetry)
+        .measure(Metric.builder().name("parquet.column.prediction.recall").build(), 0.0);
+    verify(telemetry, never())
+        .measure(
+            eq(Metric.builder().name("parquet.column.prediction.precision").build()), anyDouble());
+  }
+
+  @Test
+  void testPredictionMetricsAreNotReportedWithoutReads() {
+    // Given: a stream that does not read any column data
+    Telemetry telemetry = spy(Telemetry.NOOP);
+    ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
+        new ParquetPredictivePrefetchingTask(
+            TEST_URI,
+            telemetry,
+            LogicalIOConfiguration.DEFAULT,
+            mockPhysicalIO(),
+            getPrefetchStore(getTestColumnMappers()));
+
+    // When: metrics are reported
+    parquetPredictivePrefetchingTask.reportPredictionMetrics();
+
+    // Then: nothing is measured
+    verify(telemetry, never()).measure(any(Metric.class), anyDouble());
+  }
+
   @Test
   void testExceptionInPrefetchingIsSwallowed() throws IOException {
     // Given: a task performing predictive prefetching
-    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    PhysicalIO physicalIO = mockPhysicalIO();
     ParquetPredictivePrefetchingTask parquetPredictivePrefetchingTask =
         new ParquetPredictivePrefetchingTask(
             TEST_URI,
@@ -443,7 +903,109 @@ public class ParquetPredictivePrefetchingTaskTest {
     assertEquals(
         IOPlanExecution.builder().state(IOPlanState.SKIPPED).build(),
         parquetPredictivePrefetchingTask.prefetchRecentColumns(
-            new ColumnMappers(new HashMap<>(), new HashMap<>()), Collections.emptyList(), false));
+            ColumnMappers.EMPTY, Collections.emptyList(), false));
+  }
+
+  /**
+   * Column mappers of a file with two row groups of three 500 byte columns, ss_a, ss_b and ss_c,
+   * written from offset 100.
+   */
+  private static ColumnMappers getTestColumnMappers() {
+    return getTestColumnMappers(2);
+  }
+
+  /**
+   * Column mappers of a file with row groups of three 500 byte columns, ss_a, ss_b and ss_c,
+   * written from offset 100. Row group i starts at offset 100 + 1500 * i.
+   */
+  private static ColumnMappers getTestColumnMappers(int rowGroups) {
+    ColumnMappers.Builder builder = ColumnMappers.builder().schemaHash(42);
+    long startPos = 100;
+    for (int rowGroup = 0; rowGroup < rowGroups; rowGroup++) {
+      for (String column : new String[] {"ss_a", "ss_b", "ss_c"}) {
+        builder.addColumnChunk(
+            new ColumnMetadata(rowGroup, column, startPos, 0, startPos, 500, 42));
+        startPos += 500;
+      }
+    }
+    return builder.build();
+  }
+
+  private static ParquetColumnPrefetchStore getPrefetchStore(ColumnMappers columnMappers) {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore =
+        new ParquetColumnPrefetchStore(LogicalIOConfiguration.DEFAULT);
+    parquetColumnPrefetchStore.putColumnMappers(TEST_KEY, columnMappers);
+    return parquetColumnPrefetchStore;
+  }
+
+  /**
+   * A PhysicalIO serving the tail of the file of {@link #getTestColumnMappers()}. Its footer holds
+   * statistics for ss_b, whose values are in [0, 5] in the first row group and in [20, 30] in the
+   * second.
+   */
+  private static PhysicalIO getPhysicalIOWithStatistics() throws IOException {
+    List<SchemaElement> schema = new ArrayList<>();
+    schema.add(new SchemaElement("schema").setNum_children(3));
+    List<RowGroup> rowGroups = new ArrayList<>();
+    for (int rowGroup = 0; rowGroup < 2; rowGroup++) {
+      List<ColumnChunk> columnChunks = new ArrayList<>();
+      for (String column : new String[] {"ss_a", "ss_b", "ss_c"}) {
+        if (rowGroup == 0) {
+          schema.add(new SchemaElement(column).setType(Type.INT64));
+        }
+        ColumnMetaData columnMetaData =
+            new ColumnMetaData(
+                Type.INT64,
+                Collections.singletonList(Encoding.PLAIN),
+                Collections.singletonList(column),
+                CompressionCodec.UNCOMPRESSED,
+                10,
+                500,
+                500,
+                0);
+        if (column.equals("ss_b")) {
+          columnMetaData.setStatistics(
+              new Statistics()
+                  .setMin_value(ColumnStatisticsTest.int64(rowGroup == 0 ? 0 : 20))
+                  .setMax_value(ColumnStatisticsTest.int64(rowGroup == 0 ? 5 : 30)));
+        }
+        columnChunks.add(new ColumnChunk(0).setMeta_data(columnMetaData));
+      }
+      rowGroups.add(new RowGroup(columnChunks, 1500, 10));
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeFileMetaData(new FileMetaData(1, schema, 20, rowGroups), out);
+    int footerLength = out.size();
+    out.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(footerLength).array());
+    out.write("PAR1".getBytes(StandardCharsets.US_ASCII));
+    byte[] fileTail = out.toByteArray();
+
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(
+            ObjectMetadata.builder()
+                .contentLength(fileTail.length)
+                .etag(TEST_KEY.getEtag())
+                .build());
+    when(physicalIO.readTail(any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buf = invocation.getArgument(0);
+              int off = invocation.getArgument(1);
+              int len = invocation.getArgument(2);
+              System.arraycopy(fileTail, fileTail.length - len, buf, off, len);
+              return len;
+            });
+    return physicalIO;
+  }
+
+  /** A PhysicalIO of the version of the object identified by {@link #TEST_KEY}. */
+  private static PhysicalIO mockPhysicalIO() {
+    PhysicalIO physicalIO = mock(PhysicalIO.class);
+    when(physicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(5000).etag(TEST_KEY.getEtag()).build());
+    return physicalIO;
   }
 
   private int getHashCode(StringBuilder stringToHash) {
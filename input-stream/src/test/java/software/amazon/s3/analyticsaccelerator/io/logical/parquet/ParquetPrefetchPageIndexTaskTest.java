@@ -0,0 +1,323 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetPrefetchPageIndexTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final int SCHEMA_HASH = 42;
+  private static final String[] COLUMNS = {"ss_a", "ss_b", "ss_c"};
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ParquetPrefetchPageIndexTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            mock(ParquetColumnPrefetchStore.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class),
+                null));
+  }
+
+  @Test
+  void testPageIndexOfRecentColumnsPrefetched() {
+    // Given: ss_a was recently read for this schema, and ranges are not merged across gaps
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchPageIndexMaxGapSize(0).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(SCHEMA_HASH))
+        .thenReturn(Collections.singleton("ss_a"));
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched
+    new ParquetPrefetchPageIndexTask(
+            TEST_URI,
+            TestTelemetry.DEFAULT,
+            configuration,
+            mockedPhysicalIO,
+            parquetColumnPrefetchStore)
+        .prefetchPageIndex(getTestColumnMappers());
+
+    // Then: only the ColumnIndex and OffsetIndex of ss_a are prefetched, for both row groups
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(10_000, 10_099));
+    expectedRanges.add(new Range(10_300, 10_399));
+    expectedRanges.add(new Range(10_600, 10_649));
+    expectedRanges.add(new Range(10_750, 10_799));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
+  @Test
+  void testPageIndexOfHintedColumnsPrefetched() {
+    // Given: ss_c was recently read for this schema, but the caller hinted at ss_a
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchPageIndexMaxGapSize(0).build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(SCHEMA_HASH))
+        .thenReturn(Collections.singleton("ss_c"));
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched
+    new ParquetPrefetchPageIndexTask(
+            TEST_URI,
+            TestTelemetry.DEFAULT,
+            configuration,
+            mockedPhysicalIO,
+            parquetColumnPrefetchStore,
+            OpenStreamOptions.builder().projectedColumns(Collections.singleton("ss_a")).build())
+        .prefetchPageIndex(getTestColumnMappers());
+
+    // Then: only the ColumnIndex and OffsetIndex of ss_a are prefetched, for both row groups
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(10_000, 10_099));
+    expectedRanges.add(new Range(10_300, 10_399));
+    expectedRanges.add(new Range(10_600, 10_649));
+    expectedRanges.add(new Range(10_750, 10_799));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
+  @Test
+  void testPageIndexRangesMergedAcrossSmallGaps() {
+    // Given: ss_a and the dictionary of ss_c were recently read for this schema
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(SCHEMA_HASH))
+        .thenReturn(Collections.singleton("ss_a"));
+    when(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(SCHEMA_HASH))
+        .thenReturn(Collections.singleton("ss_c"));
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched with the default maximum gap
+    new ParquetPrefetchPageIndexTask(
+            TEST_URI,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            mockedPhysicalIO,
+            parquetColumnPrefetchStore)
+        .prefetchPageIndex(getTestColumnMappers());
+
+    // Then: the structures of ss_a and ss_c are fetched with a single request
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(10_000, 10_899));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
+  @Test
+  void testPageIndexOfAllColumnsPrefetchedWithoutRecentColumns() {
+    // Given: no columns were read for this schema yet
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched
+    new ParquetPrefetchPageIndexTask(
+            TEST_URI,
+            TestTelemetry.DEFAULT,
+            LogicalIOConfiguration.DEFAULT,
+            mockedPhysicalIO,
+            mock(ParquetColumnPrefetchStore.class))
+        .prefetchPageIndex(getTestColumnMappers());
+
+    // Then: the whole page index is prefetched, as it is small enough
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(10_000, 10_899));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
+  @Test
+  void testLargePageIndexNotPrefetchedWithoutRecentColumns() {
+    // Given: no columns were read for this schema yet, and a page index larger than the guess
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchFilePageIndexSize(100).build();
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched
+    IOPlanExecution execution =
+        new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                TestTelemetry.DEFAULT,
+                configuration,
+                mockedPhysicalIO,
+                mock(ParquetColumnPrefetchStore.class))
+            .prefetchPageIndex(getTestColumnMappers());
+
+    // Then: nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(mockedPhysicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testFileWithoutPageIndexSkipped() {
+    // Given: a file written without page index structures
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(new ColumnMetadata(0, "ss_a", 4, 0, 4, 100, SCHEMA_HASH))
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(SCHEMA_HASH))
+        .thenReturn(Collections.singleton("ss_a"));
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: the page index is prefetched
+    IOPlanExecution execution =
+        new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mockedPhysicalIO,
+                parquetColumnPrefetchStore)
+            .prefetchPageIndex(columnMappers);
+
+    // Then: nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(mockedPhysicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testExceptionInPrefetchingIsSwallowed() {
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    when(mockedPhysicalIO.execute(any(IOPlan.class))).thenThrow(new IllegalStateException());
+
+    assertEquals(
+        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build(),
+        new ParquetPrefetchPageIndexTask(
+                TEST_URI,
+                TestTelemetry.DEFAULT,
+                LogicalIOConfiguration.DEFAULT,
+                mockedPhysicalIO,
+                mock(ParquetColumnPrefetchStore.class))
+            .prefetchPageIndex(getTestColumnMappers()));
+  }
+
+  private static PhysicalIOImpl getTestPhysicalIO() {
+    PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    when(mockedPhysicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(5 * ONE_MB).build());
+    return mockedPhysicalIO;
+  }
+
+  /**
+   * Column mappers of a file with two row groups of three columns. The ColumnIndex of every chunk
+   * is 100 bytes and written from offset 10000, followed by the 50 byte OffsetIndex of every chunk.
+   */
+  private static ColumnMappers getTestColumnMappers() {
+    ColumnMappers.Builder builder = ColumnMappers.builder().schemaHash(SCHEMA_HASH);
+    int chunk = 0;
+    for (int rowGroup = 0; rowGroup < 2; rowGroup++) {
+      for (String column : COLUMNS) {
+        long startPos = 4 + chunk * 1000L;
+        builder.addColumnChunk(
+            rowGroup,
+            column,
+            startPos,
+            0,
+            startPos,
+            1000,
+            new PageIndexLocation(10_000 + chunk * 100L, 100, 10_600 + chunk * 50L, 50));
+        chunk++;
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.format.Util;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.common.telemetry.Telemetry;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIO;
+import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ParquetPrefetchPagesTaskTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, "etag");
+  private static final ObjectMetadata TEST_METADATA =
+      ObjectMetadata.builder().contentLength(20_000).etag(TEST_KEY.getEtag()).build();
+  private static final int SCHEMA_HASH = 42;
+  private static final LogicalIOConfiguration PAGES_CONFIGURATION =
+      LogicalIOConfiguration.builder().prefetchPagesEnabled(true).build();
+
+  @Test
+  void testConstructor() {
+    assertNotNull(
+        new ParquetPrefetchPagesTask(
+            TEST_URI,
+            Telemetry.NOOP,
+            LogicalIOConfiguration.DEFAULT,
+            mock(PhysicalIO.class),
+            mock(ParquetColumnPrefetchStore.class)));
+  }
+
+  @Test
+  void testConstructorFailsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                null,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                TEST_URI,
+                null,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                null,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                null,
+                mock(ParquetColumnPrefetchStore.class)));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                null));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ParquetPrefetchPagesTask(
+                TEST_URI,
+                Telemetry.NOOP,
+                LogicalIOConfiguration.DEFAULT,
+                mock(PhysicalIO.class),
+                mock(ParquetColumnPrefetchStore.class),
+                null));
+  }
+
+  @Test
+  void testPagesHoldingRowsBeingReadPrefetched() throws IOException {
+    // Given: ss_a and ss_b were recently read for this schema
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: the page of ss_a holding rows [200, 300) is read
+    parquetPrefetchPagesTask.prefetchPages(204, 100);
+
+    // Then: the dictionary and the two pages of ss_b holding these rows are prefetched
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(1004, 1103));
+    expectedRanges.add(new Range(1304, 1403));
+    assertEquals(expectedRanges, getPrefetchedRanges(mockedPhysicalIO, 1).get(0));
+  }
+
+  @Test
+  void testPagesOfHintedColumnsPrefetched() throws IOException {
+    // Given: ss_b was recently read for this schema, but the caller hinted at ss_a and ss_c
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(new HashSet<>(Arrays.asList("ss_a", "ss_c")))
+            .build();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        new ParquetPrefetchPagesTask(
+            TEST_URI,
+            TestTelemetry.DEFAULT,
+            PAGES_CONFIGURATION,
+            mockedPhysicalIO,
+            getTestStore("ss_b"),
+            openStreamOptions);
+
+    // When: the page of ss_a holding rows [200, 300) is read
+    parquetPrefetchPagesTask.prefetchPages(204, 100);
+
+    // Then: only the page of ss_c holding these rows is prefetched
+    assertEquals(
+        Arrays.asList(new Range(2204, 2303)), getPrefetchedRanges(mockedPhysicalIO, 1).get(0));
+  }
+
+  @Test
+  void testSkippedPagesNotPrefetched() throws IOException {
+    // Given: ss_a and ss_b were recently read for this schema
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: the pages of ss_a holding rows [200, 400) and [600, 700) are read
+    parquetPrefetchPagesTask.prefetchPages(204, 200);
+    parquetPrefetchPagesTask.prefetchPages(604, 100);
+
+    // Then: only the pages of ss_b holding these rows are prefetched, in the order they are read,
+    // and the dictionary is only prefetched once
+    List<List<Range>> prefetchedRanges = getPrefetchedRanges(mockedPhysicalIO, 2);
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(1004, 1103));
+    expectedRanges.add(new Range(1304, 1503));
+    assertEquals(expectedRanges, prefetchedRanges.get(0));
+    assertEquals(Arrays.asList(new Range(1704, 1803)), prefetchedRanges.get(1));
+  }
+
+  @Test
+  void testPagesMergedAcrossSmallGaps() throws IOException {
+    // Given: pages are merged across gaps of up to 200 bytes
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder()
+            .prefetchPagesEnabled(true)
+            .prefetchPagesMaxGapSize(200)
+            .build();
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(configuration, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: the page of ss_a holding rows [200, 300) is read
+    parquetPrefetchPagesTask.prefetchPages(204, 100);
+
+    // Then: the dictionary and pages of ss_b are prefetched with a single request
+    assertEquals(
+        Arrays.asList(new Range(1004, 1403)), getPrefetchedRanges(mockedPhysicalIO, 1).get(0));
+  }
+
+  @Test
+  void testPagesAlreadyRequestedNotPrefetchedAgain() throws IOException {
+    // Given: ss_a and ss_b were recently read for this schema
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: the same page of ss_a is read twice
+    parquetPrefetchPagesTask.prefetchPages(204, 50);
+    IOPlanExecution execution = parquetPrefetchPagesTask.prefetchPages(254, 50);
+
+    // Then: the pages of ss_b are only prefetched once
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    getPrefetchedRanges(mockedPhysicalIO, 1);
+  }
+
+  @Test
+  void testReadsOfOtherChunksDoNotChangeRowsBeingRead() throws IOException {
+    // Given: ss_a, ss_b and ss_c were recently read for this schema
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b", "ss_c"));
+
+    // When: the page of ss_a holding rows [200, 300) is read, followed by the first page of ss_b
+    parquetPrefetchPagesTask.prefetchPages(204, 100);
+    IOPlanExecution execution = parquetPrefetchPagesTask.prefetchPages(1104, 50);
+
+    // Then: the rows of the ss_b page are not used to prefetch pages of ss_c, as the reader is
+    // not necessarily going to read them
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    getPrefetchedRanges(mockedPhysicalIO, 1);
+  }
+
+  @Test
+  void testDictionaryReadSkipped() throws IOException {
+    // Given: ss_a and ss_b were recently read for this schema
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: the dictionary of ss_b is read
+    IOPlanExecution execution = parquetPrefetchPagesTask.prefetchPages(1004, 100);
+
+    // Then: nothing is prefetched, as the rows being read are not known yet
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(mockedPhysicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testColumnReadFromPageIsRecorded() throws IOException {
+    // Given: no columns were read for this schema yet
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getTestStore();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, parquetColumnPrefetchStore);
+
+    // When: two pages of ss_c are read, not starting at the start of the chunk
+    parquetPrefetchPagesTask.prefetchPages(2304, 100);
+    parquetPrefetchPagesTask.prefetchPages(2604, 100);
+
+    // Then: ss_c is recorded as recently read once
+    verify(parquetColumnPrefetchStore, times(1))
+        .addRecentColumn(getTestColumnMappers().getColumnChunk(2));
+  }
+
+  @Test
+  void testDisabledPagePrefetchingSkipped() throws IOException {
+    // Given: page prefetching is disabled
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+    ParquetPrefetchPagesTask parquetPrefetchPagesTask =
+        getTestTask(
+            LogicalIOConfiguration.DEFAULT, mockedPhysicalIO, getTestStore("ss_a", "ss_b"));
+
+    // When: a page of ss_a is read
+    IOPlanExecution execution = parquetPrefetchPagesTask.prefetchPages(204, 100);
+
+    // Then: the OffsetIndex is not read and nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(mockedPhysicalIO, never()).read(any(), anyInt(), anyInt(), anyLong());
+    verify(mockedPhysicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testFileWithoutOffsetIndexSkipped() throws IOException {
+    // Given: a file written without page index structures
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(new ColumnMetadata(0, "ss_a", 4, 0, 4, 1000, SCHEMA_HASH))
+            .addColumnChunk(new ColumnMetadata(0, "ss_b", 1004, 0, 1004, 1000, SCHEMA_HASH))
+            .build();
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = getTestStore("ss_a", "ss_b");
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
+    PhysicalIOImpl mockedPhysicalIO = getTestPhysicalIO();
+
+    // When: ss_a is read
+    IOPlanExecution execution =
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, parquetColumnPrefetchStore)
+            .prefetchPages(204, 100);
+
+    // Then: nothing is prefetched
+    assertEquals(IOPlanState.SKIPPED, execution.getState());
+    verify(mockedPhysicalIO, never()).execute(any(IOPlan.class));
+  }
+
+  @Test
+  void testExceptionInPrefetchingIsSwallowed() throws IOException {
+    PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    when(mockedPhysicalIO.metadata()).thenReturn(TEST_METADATA);
+    when(mockedPhysicalIO.read(any(), anyInt(), anyInt(), anyLong()))
+        .thenThrow(new IOException("Failed to read"));
+
+    assertEquals(
+        IOPlanExecution.builder().state(IOPlanState.SKIPPED).build(),
+        getTestTask(PAGES_CONFIGURATION, mockedPhysicalIO, getTestStore("ss_a", "ss_b"))
+            .prefetchPages(204, 100));
+  }
+
+  private static ParquetPrefetchPagesTask getTestTask(
+      LogicalIOConfiguration configuration,
+      PhysicalIO physicalIO,
+      ParquetColumnPrefetchStore parquetColumnPrefetchStore) {
+    return new ParquetPrefetchPagesTask(
+        TEST_URI, TestTelemetry.DEFAULT, configuration, physicalIO, parquetColumnPrefetchStore);
+  }
+
+  private static ParquetColumnPrefetchStore getTestStore(String... recentColumns)
+      throws IOException {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(getTestColumnMappers());
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(SCHEMA_HASH))
+        .thenReturn(new HashSet<>(Arrays.asList(recentColumns)));
+    return parquetColumnPrefetchStore;
+  }
+
+  private static List<List<Range>> getPrefetchedRanges(PhysicalIO physicalIO, int plans)
+      throws IOException {
+    ArgumentCaptor<IOPlan> ioPlanArgumentCaptor = ArgumentCaptor.forClass(IOPlan.class);
+    verify(physicalIO, times(plans)).execute(ioPlanArgumentCaptor.capture());
+
+    List<List<Range>> prefetchedRanges = new ArrayList<>();
+    for (IOPlan ioPlan : ioPlanArgumentCaptor.getAllValues()) {
+      prefetchedRanges.add(ioPlan.getPrefetchRanges());
+    }
+    return prefetchedRanges;
+  }
+
+  /** A PhysicalIO serving the OffsetIndex of every chunk of {@link #getTestColumnMappers()}. */
+  private static PhysicalIOImpl getTestPhysicalIO() throws IOException {
+    Map<Long, byte[]> offsetIndexes = new HashMap<>();
+    offsetIndexes.put(10_000L, serialize(getPageLocations(4, 100, 100, 10)));
+    offsetIndexes.put(11_000L, serialize(getPageLocations(1104, 50, 50, 18)));
+    offsetIndexes.put(12_000L, serialize(getPageLocations(2004, 100, 100, 10)));
+
+    PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    when(mockedPhysicalIO.metadata()).thenReturn(TEST_METADATA);
+    when(mockedPhysicalIO.read(any(), anyInt(), anyInt(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              byte[] buffer = invocation.getArgument(0);
+              int offset = invocation.getArgument(1);
+              int length = invocation.getArgument(2);
+              long position = invocation.getArgument(3);
+              System.arraycopy(offsetIndexes.get(position), 0, buffer, offset, length);
+              return length;
+            });
+    return mockedPhysicalIO;
+  }
+
+  /**
+   * Column mappers of a row group with three columns of 1000 bytes each. ss_a and ss_c have 10
+   * pages of 100 bytes and 100 rows each, ss_b has a 100 byte dictionary followed by 18 pages of 50
+   * bytes and 50 rows each. The OffsetIndex of the chunks is written at 10000, 11000 and 12000.
+   */
+  private static ColumnMappers getTestColumnMappers() throws IOException {
+    return ColumnMappers.builder()
+        .schemaHash(SCHEMA_HASH)
+        .addColumnChunk(0, "ss_a", 4, 0, 4, 1000, getPageIndexLocation(10_000, 4, 100, 10))
+        .addColumnChunk(
+            0, "ss_b", 1104, 1004, 1004, 1000, getPageIndexLocation(11_000, 1104, 50, 18))
+        .addColumnChunk(
+            0, "ss_c", 2004, 0, 2004, 1000, getPageIndexLocation(12_000, 2004, 100, 10))
+        .build();
+  }
+
+  private static PageIndexLocation getPageIndexLocation(
+      long offsetIndexOffset, long firstPageOffset, int pageSize, int pageCount)
+      throws IOException {
+    int offsetIndexLength =
+        serialize(getPageLocations(firstPageOffset, pageSize, pageSize, pageCount)).length;
+    return new PageIndexLocation(0, 0, offsetIndexOffset, offsetIndexLength);
+  }
+
+  private static OffsetIndex getPageLocations(
+      long firstPageOffset, int pageSize, int rowsPerPage, int pageCount) {
+    List<PageLocation> pageLocations = new ArrayList<>();
+    for (int page = 0; page < pageCount; page++) {
+      pageLocations.add(
+          new PageLocation(
+              firstPageOffset + (long) page * pageSize, pageSize, (long) page * rowsPerPage));
+    }
+    return new OffsetIndex(pageLocations);
+  }
+
+  private static byte[] serialize(OffsetIndex offsetIndex) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Util.writeOffsetIndex(offsetIndex, out);
+    return out.toByteArray();
+  }
+}
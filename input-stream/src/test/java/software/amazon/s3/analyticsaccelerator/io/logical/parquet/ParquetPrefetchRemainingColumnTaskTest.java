@@ -29,7 +29,6 @@ import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
@@ -41,7 +40,9 @@ import software.amazon.s3.analyticsaccelerator.io.physical.impl.PhysicalIOImpl;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
@@ -49,6 +50,9 @@ import software.amazon.s3.analyticsaccelerator.util.S3URI;
     justification = "We mean to pass nulls to checks")
 public class ParquetPrefetchRemainingColumnTaskTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final ObjectKey TEST_KEY = ObjectKey.of(TEST_URI, "etag");
+  private static final ObjectMetadata TEST_METADATA =
+      ObjectMetadata.builder().contentLength(20_000).etag(TEST_KEY.getEtag()).build();
 
   @Test
   void testConstructor() {
@@ -96,17 +100,24 @@ public class ParquetPrefetchRemainingColumnTaskTest {
 
   @Test
   void testRemainingColumnPrefetched() {
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-    offsetIndexToColumnMap.put(
-        200L,
-        new ColumnMetadata(
-            0, "ss_sold_date_sk", 2 * ONE_MB, 200, 200, 10 * ONE_MB, "ss_sold_date_sk".hashCode()));
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(
+                new ColumnMetadata(
+                    0,
+                    "ss_sold_date_sk",
+                    2 * ONE_MB,
+                    200,
+                    200,
+                    10 * ONE_MB,
+                    "ss_sold_date_sk".hashCode()))
+            .build();
 
     ParquetColumnPrefetchStore mockedParquetColumnPrefetchStore =
         mock(ParquetColumnPrefetchStore.class);
     PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
-    when(mockedParquetColumnPrefetchStore.getColumnMappers(TEST_URI))
-        .thenReturn(new ColumnMappers(offsetIndexToColumnMap, new HashMap<>()));
+    when(mockedPhysicalIO.metadata()).thenReturn(TEST_METADATA);
+    when(mockedParquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
 
     List<Range> expectedRanges = new ArrayList<>();
     // If a column starts at 200, has size 10MB, and we get a read for 5MB, then queue a
@@ -127,18 +138,25 @@ public class ParquetPrefetchRemainingColumnTaskTest {
 
   @Test
   void testExceptionInPrefetchingIsSwallowed() {
-    HashMap<Long, ColumnMetadata> offsetIndexToColumnMap = new HashMap<>();
-    offsetIndexToColumnMap.put(
-        200L,
-        new ColumnMetadata(
-            0, "ss_sold_date_sk", 5 * ONE_MB, 200, 200, 10 * ONE_MB, "ss_sold_date_sk".hashCode()));
+    ColumnMappers columnMappers =
+        ColumnMappers.builder()
+            .addColumnChunk(
+                new ColumnMetadata(
+                    0,
+                    "ss_sold_date_sk",
+                    5 * ONE_MB,
+                    200,
+                    200,
+                    10 * ONE_MB,
+                    "ss_sold_date_sk".hashCode()))
+            .build();
 
     ParquetColumnPrefetchStore mockedParquetColumnPrefetchStore =
         mock(ParquetColumnPrefetchStore.class);
     PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    when(mockedPhysicalIO.metadata()).thenReturn(TEST_METADATA);
 
-    when(mockedParquetColumnPrefetchStore.getColumnMappers(TEST_URI))
-        .thenReturn(new ColumnMappers(offsetIndexToColumnMap, new HashMap<>()));
+    when(mockedParquetColumnPrefetchStore.getColumnMappers(TEST_KEY)).thenReturn(columnMappers);
     ParquetPrefetchRemainingColumnTask parquetPrefetchRemainingColumnTask =
         new ParquetPrefetchRemainingColumnTask(
             TEST_URI, TestTelemetry.DEFAULT, mockedPhysicalIO, mockedParquetColumnPrefetchStore);
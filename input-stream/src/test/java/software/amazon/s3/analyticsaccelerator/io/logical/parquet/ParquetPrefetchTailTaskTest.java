@@ -81,7 +81,10 @@ public class ParquetPrefetchTailTaskTest {
   @Test
   void testTailPrefetch() {
     LogicalIOConfiguration configuration =
-        LogicalIOConfiguration.builder().prefetchFooterEnabled(true).build();
+        LogicalIOConfiguration.builder()
+            .prefetchFooterEnabled(true)
+            .prefetchExactPageIndexEnabled(false)
+            .build();
 
     HashMap<Long, List<Range>> contentSizeToRanges =
         getPrefetchRangeList(
@@ -97,8 +100,7 @@ public class ParquetPrefetchTailTaskTest {
       when(mockedPhysicalIO.metadata()).thenReturn(metadata);
 
       ParquetPrefetchTailTask parquetPrefetchTailTask =
-          new ParquetPrefetchTailTask(
-              TEST_URI, Telemetry.NOOP, LogicalIOConfiguration.DEFAULT, mockedPhysicalIO);
+          new ParquetPrefetchTailTask(TEST_URI, Telemetry.NOOP, configuration, mockedPhysicalIO);
       parquetPrefetchTailTask.prefetchTail();
 
       verify(mockedPhysicalIO).execute(any(IOPlan.class));
@@ -107,6 +109,26 @@ public class ParquetPrefetchTailTaskTest {
     }
   }
 
+  @Test
+  void testTailPrefetchWithExactPageIndex() {
+    // Given: exact page index prefetching, which happens once the footer is parsed
+    LogicalIOConfiguration configuration = LogicalIOConfiguration.DEFAULT;
+    long contentLength = 10L + configuration.getSmallObjectSizeThreshold();
+    PhysicalIOImpl mockedPhysicalIO = mock(PhysicalIOImpl.class);
+    when(mockedPhysicalIO.metadata())
+        .thenReturn(ObjectMetadata.builder().contentLength(contentLength).build());
+
+    // When: the tail is prefetched
+    new ParquetPrefetchTailTask(TEST_URI, Telemetry.NOOP, configuration, mockedPhysicalIO)
+        .prefetchTail();
+
+    // Then: only the file metadata is prefetched, without guessing a page index range
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(
+        new Range(contentLength - configuration.getPrefetchFileMetadataSize(), contentLength - 1));
+    verify(mockedPhysicalIO).execute(argThat(new IOPlanMatcher(expectedRanges)));
+  }
+
   @Test
   @SneakyThrows
   void testExceptionRemappedToCompletionException() {
@@ -16,17 +16,30 @@
 package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_GB;
 import static software.amazon.s3.analyticsaccelerator.util.Constants.ONE_MB;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.OpenStreamOptions;
+import software.amazon.s3.analyticsaccelerator.io.logical.impl.ParquetColumnPrefetchStore;
 import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.PrefetchMode;
 
 public class ParquetUtilsTest {
+  private static final LogicalIOConfiguration GUESSED_PAGE_INDEX_CONFIGURATION =
+      LogicalIOConfiguration.builder().prefetchExactPageIndexEnabled(false).build();
+
   @Test
   void testGetFileTailRangeDefaultConfig() {
 
@@ -61,7 +74,7 @@ public class ParquetUtilsTest {
   @Test
   void testGetFileTailPrefetchRanges() {
     List<Range> ranges =
-        ParquetUtils.getFileTailPrefetchRanges(LogicalIOConfiguration.DEFAULT, 0, 5 * ONE_MB);
+        ParquetUtils.getFileTailPrefetchRanges(GUESSED_PAGE_INDEX_CONFIGURATION, 0, 5 * ONE_MB);
 
     assertEquals(ranges.size(), 2);
 
@@ -88,7 +101,8 @@ public class ParquetUtilsTest {
     long contentLength = 5L * ONE_GB;
 
     List<Range> ranges =
-        ParquetUtils.getFileTailPrefetchRanges(LogicalIOConfiguration.DEFAULT, 0, contentLength);
+        ParquetUtils.getFileTailPrefetchRanges(
+            GUESSED_PAGE_INDEX_CONFIGURATION, 0, contentLength);
 
     assertEquals(ranges.size(), 2);
 
@@ -110,6 +124,114 @@ public class ParquetUtilsTest {
         contentLength - LogicalIOConfiguration.DEFAULT.getPrefetchLargeFileMetadataSize() - 1);
   }
 
+  @Test
+  void testGetFileTailPrefetchRangesWithExactPageIndex() {
+    List<Range> ranges =
+        ParquetUtils.getFileTailPrefetchRanges(LogicalIOConfiguration.DEFAULT, 0, 5 * ONE_MB);
+
+    // The page index is fetched from its exact location once the footer is parsed instead
+    assertEquals(1, ranges.size());
+    assertEquals(
+        new Range(
+            5 * ONE_MB - LogicalIOConfiguration.DEFAULT.getPrefetchFileMetadataSize(),
+            5 * ONE_MB - 1),
+        ranges.get(0));
+  }
+
+  @Test
+  void testShouldPrefetchExactPageIndex() {
+    assertTrue(ParquetUtils.shouldPrefetchExactPageIndex(LogicalIOConfiguration.DEFAULT));
+    assertFalse(ParquetUtils.shouldPrefetchExactPageIndex(GUESSED_PAGE_INDEX_CONFIGURATION));
+    assertFalse(
+        ParquetUtils.shouldPrefetchExactPageIndex(
+            LogicalIOConfiguration.builder().prefetchPageIndexEnabled(false).build()));
+    // Without prefetching, the footer is not parsed so the page index locations are not known
+    assertFalse(
+        ParquetUtils.shouldPrefetchExactPageIndex(
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build()));
+  }
+
+  @Test
+  void testShouldPrefetchPages() {
+    LogicalIOConfiguration configuration =
+        LogicalIOConfiguration.builder().prefetchPagesEnabled(true).build();
+    ColumnMetadata withOffsetIndex =
+        new ColumnMetadata(0, "ss_a", 4, 0, 4, 100, 42, new PageIndexLocation(200, 10, 210, 10));
+    ColumnMetadata withoutOffsetIndex =
+        new ColumnMetadata(0, "ss_a", 4, 0, 4, 100, 42, new PageIndexLocation(200, 10, 0, 0));
+
+    assertTrue(ParquetUtils.shouldPrefetchPages(configuration, withOffsetIndex));
+    assertFalse(ParquetUtils.shouldPrefetchPages(configuration, withoutOffsetIndex));
+    assertFalse(ParquetUtils.shouldPrefetchPages(LogicalIOConfiguration.DEFAULT, withOffsetIndex));
+    // Pages are only prefetched when prefetching per row group
+    assertFalse(
+        ParquetUtils.shouldPrefetchPages(
+            LogicalIOConfiguration.builder()
+                .prefetchPagesEnabled(true)
+                .prefetchingMode(PrefetchMode.ALL)
+                .build(),
+            withOffsetIndex));
+  }
+
+  @Test
+  void testGetColumnsToPrefetch() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentColumnsForSchema(42))
+        .thenReturn(Collections.singleton("ss_c"));
+
+    // Without hints, the recent columns of the schema are prefetched
+    assertEquals(
+        Collections.singleton("ss_c"),
+        ParquetUtils.getColumnsToPrefetch(
+            OpenStreamOptions.DEFAULT, parquetColumnPrefetchStore, 42));
+
+    // With hints, the projected and filtered columns are prefetched instead
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.eq("ss_b", "x")))
+            .build();
+    assertEquals(
+        new HashSet<>(Arrays.asList("ss_a", "ss_b")),
+        ParquetUtils.getColumnsToPrefetch(openStreamOptions, parquetColumnPrefetchStore, 42));
+  }
+
+  @Test
+  void testGetDictionariesToPrefetch() {
+    ParquetColumnPrefetchStore parquetColumnPrefetchStore = mock(ParquetColumnPrefetchStore.class);
+    when(parquetColumnPrefetchStore.getUniqueRecentDictionaryForSchema(42))
+        .thenReturn(Collections.singleton("ss_c"));
+
+    // Without predicates, the recent dictionaries of the schema are prefetched
+    OpenStreamOptions projectionOnly =
+        OpenStreamOptions.builder().projectedColumns(Collections.singleton("ss_a")).build();
+    assertEquals(
+        Collections.singleton("ss_c"),
+        ParquetUtils.getDictionariesToPrefetch(projectionOnly, parquetColumnPrefetchStore, 42));
+
+    // With predicates, the dictionaries of the filtered columns are prefetched instead
+    OpenStreamOptions openStreamOptions =
+        OpenStreamOptions.builder()
+            .projectedColumns(Collections.singleton("ss_a"))
+            .predicates(Collections.singletonList(ColumnPredicate.eq("ss_b", "x")))
+            .build();
+    assertEquals(
+        Collections.singleton("ss_b"),
+        ParquetUtils.getDictionariesToPrefetch(
+            openStreamOptions, parquetColumnPrefetchStore, 42));
+  }
+
+  @Test
+  void testGetFileTailPrefetchRangesGuessesPageIndexWhenPrefetchingIsOff() {
+    List<Range> ranges =
+        ParquetUtils.getFileTailPrefetchRanges(
+            LogicalIOConfiguration.builder().prefetchingMode(PrefetchMode.OFF).build(),
+            0,
+            5 * ONE_MB);
+
+    assertEquals(2, ranges.size());
+  }
+
   @Test
   void testGetFileTailSmallContentLength() {
 
@@ -145,4 +267,41 @@ public class ParquetUtilsTest {
 
     assertTrue(expectedRanges.containsAll(ParquetUtils.mergeRanges(ranges)));
   }
+
+  @Test
+  void testMergeRangesWithGap() {
+    List<Range> ranges = new ArrayList<>();
+    ranges.add(new Range(500, 600));
+    ranges.add(new Range(250, 300));
+    ranges.add(new Range(100, 200));
+    ranges.add(new Range(280, 290));
+    ranges.add(new Range(702, 800));
+
+    List<Range> expectedRanges = new ArrayList<>();
+    // Gap of 49 bytes is merged, overlapping range is absorbed
+    expectedRanges.add(new Range(100, 300));
+    // Gap of 199 bytes is not merged
+    expectedRanges.add(new Range(500, 600));
+    // Gap of 101 bytes is not merged
+    expectedRanges.add(new Range(702, 800));
+
+    assertEquals(expectedRanges, ParquetUtils.mergeRanges(ranges, 100));
+    // The input is left untouched
+    assertEquals(new Range(500, 600), ranges.get(0));
+  }
+
+  @Test
+  void testMergeRangesWithZeroGapMergesConsecutiveRanges() {
+    List<Range> ranges = new ArrayList<>();
+    ranges.add(new Range(0, 9));
+    ranges.add(new Range(10, 19));
+    ranges.add(new Range(21, 30));
+
+    List<Range> expectedRanges = new ArrayList<>();
+    expectedRanges.add(new Range(0, 19));
+    expectedRanges.add(new Range(21, 30));
+
+    assertEquals(expectedRanges, ParquetUtils.mergeRanges(ranges, 0));
+    assertTrue(ParquetUtils.mergeRanges(new ArrayList<>(), 100).isEmpty());
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.logical.parquet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.logical.ColumnPredicate;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class RowGroupFilterTest {
+
+  @Test
+  void testNoneMatchesAllRowGroups() {
+    assertTrue(RowGroupFilter.NONE.mightMatch(0));
+    assertTrue(RowGroupFilter.NONE.mightMatch(100));
+  }
+
+  @Test
+  void testBuilderWithoutPredicatesReturnsNone() {
+    assertSame(
+        RowGroupFilter.NONE,
+        RowGroupFilter.builder(Collections.emptyList())
+            .addStatistics(0, "a", longStatistics(0, 10))
+            .build());
+  }
+
+  @Test
+  void testBuilderFailsOnNull() {
+    assertThrows(NullPointerException.class, () -> RowGroupFilter.builder(null));
+    RowGroupFilter.Builder builder = RowGroupFilter.builder(Collections.emptyList());
+    assertThrows(
+        NullPointerException.class, () -> builder.addStatistics(0, null, longStatistics(0, 1)));
+    assertThrows(NullPointerException.class, () -> builder.addStatistics(0, "a", null));
+  }
+
+  @Test
+  void testAllPredicatesMustMatch() {
+    // Given: statistics of columns a and b for two row groups
+    RowGroupFilter rowGroupFilter =
+        RowGroupFilter.builder(
+                Arrays.asList(ColumnPredicate.gt("a", 5), ColumnPredicate.lt("b", 100)))
+            .addStatistics(0, "a", longStatistics(0, 10))
+            .addStatistics(0, "b", longStatistics(200, 300))
+            .addStatistics(1, "a", longStatistics(10, 20))
+            .addStatistics(1, "b", longStatistics(50, 150))
+            .build();
+
+    // Then: row groups are ruled out if any predicate can not match
+    assertFalse(rowGroupFilter.mightMatch(0));
+    assertTrue(rowGroupFilter.mightMatch(1));
+  }
+
+  @Test
+  void testMissingStatisticsMatch() {
+    // Given: statistics for the first row group only
+    RowGroupFilter rowGroupFilter =
+        RowGroupFilter.builder(Collections.singletonList(ColumnPredicate.eq("a", 50)))
+            .addStatistics(0, "a", longStatistics(0, 10))
+            .addStatistics(0, "b", longStatistics(50, 50))
+            .build();
+
+    // Then: other row groups are never ruled out
+    assertFalse(rowGroupFilter.mightMatch(0));
+    assertTrue(rowGroupFilter.mightMatch(1));
+  }
+
+  private static ColumnStatistics longStatistics(long min, long max) {
+    return new ColumnStatistics(
+        ColumnStatistics.Kind.INT64,
+        ColumnStatisticsTest.int64(min),
+        ColumnStatisticsTest.int64(max),
+        0,
+        10);
+  }
+}
@@ -71,6 +71,9 @@ public class PhysicalIOConfigurationTest {
             + "\tmaxRangeSizeBytes: 8388608\n"
             + "\tpartSizeBytes: 20\n"
             + "\tsequentialPrefetchBase: 2.0\n"
-            + "\tsequentialPrefetchSpeed: 1.0\n");
+            + "\tsequentialPrefetchSpeed: 1.0\n"
+            + "\ttransferPrefetchParts: 4\n"
+            + "\tdownloadMemoryBudgetBytes: 67108864\n"
+            + "\ttailCacheCapacityBytes: 33554432\n");
   }
 }
@@ -16,28 +16,37 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanState.SUBMITTED;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
 import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlanExecution;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
 import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 @SuppressFBWarnings(
-    value = "NP_NONNULL_PARAM_VIOLATION",
-    justification = "We mean to pass nulls to checks")
+    value = {"NP_NONNULL_PARAM_VIOLATION", "SIC_INNER_SHOULD_BE_STATIC_ANON"},
+    justification = "We mean to pass nulls to checks, and anonymous classes are used in tests")
 public class BlobTest {
   private static final S3URI TEST_URI = S3URI.of("foo", "bar");
   private static final String TEST_DATA = "test-data-0123456789";
@@ -143,8 +152,44 @@ public class BlobTest {
 
     // Then: correct ranges are submitted
     assertEquals(SUBMITTED, execution.getState());
-    verify(blockManager).makeRangeAvailable(0, 101, ReadMode.ASYNC);
-    verify(blockManager).makeRangeAvailable(999, 2, ReadMode.ASYNC);
+    verify(blockManager).makeRangeAvailable(0, 101, ReadMode.ASYNC, null);
+    verify(blockManager).makeRangeAvailable(999, 2, ReadMode.ASYNC, null);
+  }
+
+  @Test
+  public void testCancelCancelsAllRanges() {
+    // Given: test blob and an IOPlan
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    BlockManager blockManager = mock(BlockManager.class);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+    List<Range> ranges = new LinkedList<>();
+    ranges.add(new Range(0, 100));
+    ranges.add(new Range(999, 1000));
+
+    // When: the IOPlan is cancelled
+    blob.cancel(new IOPlan(ranges));
+
+    // Then: all of its ranges are cancelled
+    verify(blockManager).cancelRange(new Range(0, 100), null);
+    verify(blockManager).cancelRange(new Range(999, 1000), null);
+  }
+
+  @Test
+  public void testEvictEvictsAllRanges() {
+    // Given: test blob and an IOPlan
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    BlockManager blockManager = mock(BlockManager.class);
+    Blob blob = new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+    List<Range> ranges = new LinkedList<>();
+    ranges.add(new Range(0, 100));
+    ranges.add(new Range(999, 1000));
+
+    // When: the IOPlan is evicted
+    blob.evict(new IOPlan(ranges));
+
+    // Then: all of its ranges are evicted
+    verify(blockManager).evictRange(new Range(0, 100), null);
+    verify(blockManager).evictRange(new Range(999, 1000), null);
   }
 
   @Test
@@ -161,18 +206,141 @@ public class BlobTest {
     verify(blockManager, times(1)).close();
   }
 
+  @Test
+  public void testTransferToWritesAllBytes() throws IOException {
+    // Given: test Blob with small parts
+    Blob blob =
+        getTestBlob(
+            TEST_DATA,
+            PhysicalIOConfiguration.builder()
+                .partSizeBytes(4)
+                .readAheadBytes(1)
+                .transferPrefetchParts(2)
+                .build());
+
+    // When: the whole object is transferred
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long written = blob.transferTo(0, Long.MAX_VALUE, Channels.newChannel(outputStream));
+
+    // Then: all bytes are written in order
+    assertEquals(TEST_DATA.length(), written);
+    assertEquals(TEST_DATA, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testTransferToRespectsPositionAndLength() throws IOException {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+
+    // When: part of the object is transferred
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long written = blob.transferTo(5, 4, Channels.newChannel(outputStream));
+
+    // Then: only the requested bytes are written
+    assertEquals(4, written);
+    assertEquals("data", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    assertEquals(0, blob.transferTo(TEST_DATA.length(), 4, Channels.newChannel(outputStream)));
+  }
+
+  @Test
+  public void testTransferToPrefetchesPartsAhead() throws IOException {
+    // Given: test blob backed by a mocked BlockManager
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(TEST_URI))
+        .thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    BlockManager blockManager = mock(BlockManager.class);
+    Block block = mock(Block.class);
+    when(blockManager.getBlock(anyLong())).thenReturn(Optional.of(block));
+    when(block.transferTo(anyLong(), anyLong(), any())).thenReturn(10L);
+    Blob blob =
+        new Blob(
+            TEST_URI,
+            metadataStore,
+            blockManager,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.builder().partSizeBytes(10).transferPrefetchParts(3).build());
+
+    // When: a single part and then the whole object are transferred
+    blob.transferTo(0, 10, Channels.newChannel(new ByteArrayOutputStream()));
+    blob.transferTo(0, 100, Channels.newChannel(new ByteArrayOutputStream()));
+
+    // Then: current part is requested synchronously and next parts asynchronously
+    verify(blockManager, times(2)).makeRangeAvailable(0, 10, ReadMode.SYNC, null);
+    verify(blockManager).makeRangeAvailable(10, 30, ReadMode.ASYNC, null);
+    verify(blockManager).makeRangeAvailable(90, 10, ReadMode.SYNC, null);
+
+    // Then: every part is evicted once it has been written
+    verify(blockManager, times(2)).evictRange(new Range(0, 9), null);
+    verify(blockManager).evictRange(new Range(0, 49), null);
+    verify(blockManager).evictRange(new Range(0, 99), null);
+  }
+
+  @Test
+  public void testTransferToEvictsWrittenParts() throws IOException {
+    // Given: test Blob with small parts, prefetching one part ahead
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder()
+            .partSizeBytes(4)
+            .readAheadBytes(1)
+            .transferPrefetchParts(1)
+            .build();
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockManager blockManager =
+        new BlockManager(
+            TEST_URI, fakeObjectClient, metadataStore, TestTelemetry.DEFAULT, configuration);
+    Blob blob =
+        new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT, configuration);
+
+    // When: the whole object is transferred to a channel that checks which parts are held
+    List<Long> heldBeforeWrite = new LinkedList<>();
+    ByteArrayOutputStream outputStream =
+        new ByteArrayOutputStream() {
+          @Override
+          public synchronized void write(byte[] b, int off, int len) {
+            for (long pos = 0; pos < TEST_DATA.length(); pos++) {
+              if (pos < size() && blockManager.getBlock(pos).isPresent()) {
+                heldBeforeWrite.add(pos);
+              }
+            }
+            super.write(b, off, len);
+          }
+        };
+    long written = blob.transferTo(0, Long.MAX_VALUE, Channels.newChannel(outputStream));
+
+    // Then: the object is written, and no part written before is held once the next one is
+    assertEquals(TEST_DATA.length(), written);
+    assertEquals(TEST_DATA, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    assertTrue(heldBeforeWrite.isEmpty());
+    assertFalse(blockManager.getBlock(0).isPresent());
+    assertFalse(blockManager.getBlock(TEST_DATA.length() - 1).isPresent());
+  }
+
+  @Test
+  public void testTransferToValidatesArguments() {
+    // Given: test Blob
+    Blob blob = getTestBlob(TEST_DATA);
+    WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+    // When & Then: transferTo is called with illegal arguments, exceptions are thrown
+    assertThrows(IllegalArgumentException.class, () -> blob.transferTo(-1, 1, channel));
+    assertThrows(IllegalArgumentException.class, () -> blob.transferTo(0, -1, channel));
+    assertThrows(NullPointerException.class, () -> blob.transferTo(0, 1, null));
+  }
+
   private Blob getTestBlob(String data) {
+    return getTestBlob(data, PhysicalIOConfiguration.DEFAULT);
+  }
+
+  private Blob getTestBlob(String data, PhysicalIOConfiguration configuration) {
     FakeObjectClient fakeObjectClient = new FakeObjectClient(data);
     MetadataStore metadataStore =
         new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
     BlockManager blockManager =
         new BlockManager(
-            TEST_URI,
-            fakeObjectClient,
-            metadataStore,
-            TestTelemetry.DEFAULT,
-            PhysicalIOConfiguration.DEFAULT);
+            TEST_URI, fakeObjectClient, metadataStore, TestTelemetry.DEFAULT, configuration);
 
-    return new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT);
+    return new Blob(TEST_URI, metadataStore, blockManager, TestTelemetry.DEFAULT, configuration);
   }
 }
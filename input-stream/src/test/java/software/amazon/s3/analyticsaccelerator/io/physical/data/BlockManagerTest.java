@@ -173,6 +173,97 @@ public class BlockManagerTest {
     assertEquals(1, lastRequest.getRange().getLength());
   }
 
+  @Test
+  void testEvictRangeRemovesFetchedBlocks() {
+    // Given: BM with a block that has been fetched
+    ObjectClient objectClient = mock(ObjectClient.class);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any())).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(objectClient.getObject(any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(
+                    ObjectContent.builder()
+                        .stream(new ByteArrayInputStream(new byte[100]))
+                        .build()));
+    BlockManager blockManager =
+        new BlockManager(
+            S3URI.of("foo", "bar"),
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    blockManager.makeRangeAvailable(0, 100, ReadMode.SYNC);
+    assertEquals(0, blockManager.getBlock(50).get().read(50));
+
+    // When: its range is evicted
+    blockManager.evictRange(new Range(0, 99));
+
+    // Then: the block is gone, and is fetched again when requested
+    assertFalse(blockManager.getBlock(50).isPresent());
+    blockManager.makeRangeAvailable(0, 100, ReadMode.SYNC);
+    verify(objectClient, times(2)).getObject(any(), any());
+  }
+
+  @Test
+  void testCancelRangeRemovesBlocksBeingFetched() {
+    // Given: BM with a block whose GET has not returned yet
+    ObjectClient objectClient = mock(ObjectClient.class);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any())).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    when(objectClient.getObject(any(), any())).thenReturn(new CompletableFuture<>());
+    BlockManager blockManager =
+        new BlockManager(
+            S3URI.of("foo", "bar"),
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    blockManager.makeRangeAvailable(0, 100, ReadMode.ASYNC);
+    assertTrue(blockManager.getBlock(50).isPresent());
+
+    // When: its range is cancelled
+    blockManager.cancelRange(new Range(0, 99));
+
+    // Then: the block is gone, and is fetched again when requested
+    assertFalse(blockManager.getBlock(50).isPresent());
+    blockManager.makeRangeAvailable(0, 100, ReadMode.ASYNC);
+    verify(objectClient, times(2)).getObject(any(), any());
+  }
+
+  @Test
+  void testCancelRangeKeepsBlocksJoinedByAnotherReader() {
+    // Given: BM with a block whose GET has not returned yet, requested by one stream and then
+    // requested by another one too
+    ObjectClient objectClient = mock(ObjectClient.class);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    when(metadataStore.get(any())).thenReturn(ObjectMetadata.builder().contentLength(100).build());
+    CompletableFuture<ObjectContent> pending = new CompletableFuture<>();
+    when(objectClient.getObject(any(), any())).thenReturn(pending);
+    BlockManager blockManager =
+        new BlockManager(
+            S3URI.of("foo", "bar"),
+            objectClient,
+            metadataStore,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    Object owner = new Object();
+    Object reader = new Object();
+    blockManager.makeRangeAvailable(0, 100, ReadMode.ASYNC, owner);
+    blockManager.makeRangeAvailable(40, 20, ReadMode.SYNC, reader);
+
+    // When: the stream that requested it cancels its range
+    blockManager.cancelRange(new Range(0, 99), owner);
+
+    // Then: the block is kept for the other stream, and its GET is not cancelled
+    assertTrue(blockManager.getBlock(50).isPresent());
+    assertFalse(pending.isCancelled());
+    pending.complete(
+        ObjectContent.builder().stream(new ByteArrayInputStream(new byte[100])).build());
+    assertEquals(0, blockManager.getBlock(50).get().read(50));
+    verify(objectClient, times(1)).getObject(any(), any());
+  }
+
   @Test
   void regressionTestSequentialPrefetchShouldNotShrinkRanges() {
     // Given: BlockManager with some blocks loaded
@@ -16,17 +16,23 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 import java.util.OptionalLong;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.ReadMode;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -110,6 +116,87 @@ public class BlockStoreTest {
     assertEquals(OptionalLong.of(15), blockStore.findNextLoadedByte(15));
   }
 
+  @Test
+  public void test__blockStore__cancelsBlocksBeingFetchedInRange() {
+    // Given: BlockStore with blocks (0,9), (10,19), (20,29) and (30,39), where (20,29) is fetched
+    BlockStore blockStore = new BlockStore(TEST_URI, mock(MetadataStore.class));
+    Block b1 = mockBlock(0, 9, false);
+    Block b2 = mockBlock(10, 19, false);
+    Block b3 = mockBlock(20, 29, true);
+    Block b4 = mockBlock(30, 39, false);
+    blockStore.add(b1);
+    blockStore.add(b2);
+    blockStore.add(b3);
+    blockStore.add(b4);
+
+    // When: the range (5,35) is cancelled
+    int cancelled = blockStore.cancel(new Range(5, 35));
+
+    // Then: only (10,19) is cancelled, as the other blocks are fetched or partially outside
+    assertEquals(1, cancelled);
+    verify(b2, times(1)).close();
+    verify(b1, never()).close();
+    verify(b3, never()).close();
+    verify(b4, never()).close();
+    assertFalse(blockStore.getBlock(15).isPresent());
+    assertTrue(blockStore.getBlock(25).isPresent());
+  }
+
+  @Test
+  public void test__blockStore__evictsFetchedBlocksInRange() {
+    // Given: BlockStore with blocks (0,9), (10,19), (20,29) and (30,39), where (20,29) is still
+    // being fetched
+    BlockStore blockStore = new BlockStore(TEST_URI, mock(MetadataStore.class));
+    Block b1 = mockBlock(0, 9, true);
+    Block b2 = mockBlock(10, 19, true);
+    Block b3 = mockBlock(20, 29, false);
+    Block b4 = mockBlock(30, 39, true);
+    blockStore.add(b1);
+    blockStore.add(b2);
+    blockStore.add(b3);
+    blockStore.add(b4);
+
+    // When: the range (0,35) is evicted
+    int evicted = blockStore.evict(new Range(0, 35));
+
+    // Then: (0,9) and (10,19) are evicted, as (20,29) is being fetched and (30,39) is partially
+    // outside
+    assertEquals(2, evicted);
+    verify(b1, times(1)).close();
+    verify(b2, times(1)).close();
+    verify(b3, never()).close();
+    verify(b4, never()).close();
+    assertFalse(blockStore.getBlock(5).isPresent());
+    assertFalse(blockStore.getBlock(15).isPresent());
+    assertTrue(blockStore.getBlock(25).isPresent());
+    assertTrue(blockStore.getBlock(35).isPresent());
+  }
+
+  @Test
+  public void test__blockStore__evictsOnlyBlocksExclusiveToOwner() {
+    // Given: BlockStore with blocks (0,9) and (20,29) fetched for one stream, and (10,19) fetched
+    // for another, which also reads (20,29)
+    FakeObjectClient fakeObjectClient = new FakeObjectClient("test-data-0123456789-test-data");
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlockStore blockStore = new BlockStore(TEST_URI, metadataStore);
+    Object owner = new Object();
+    Object otherOwner = new Object();
+    blockStore.add(getTestBlock(fakeObjectClient, 0, 9, owner));
+    blockStore.add(getTestBlock(fakeObjectClient, 10, 19, otherOwner));
+    blockStore.add(getTestBlock(fakeObjectClient, 20, 29, owner));
+    blockStore.join(new Range(25, 26), otherOwner);
+
+    // When: the first stream evicts the whole range
+    int evicted = blockStore.evict(new Range(0, 29), owner);
+
+    // Then: only (0,9) is evicted, as the other blocks are used by the other stream
+    assertEquals(1, evicted);
+    assertFalse(blockStore.getBlock(5).isPresent());
+    assertTrue(blockStore.getBlock(15).isPresent());
+    assertTrue(blockStore.getBlock(25).isPresent());
+  }
+
   @Test
   public void test__blockStore__closesBlocks() {
     // Given: BlockStore with a block
@@ -140,4 +227,36 @@ public class BlockStoreTest {
     // Then: 1\ blockStore.close did not throw, 2\ b2 was closed
     verify(b2, times(1)).close();
   }
+
+  private static Block getTestBlock(
+      FakeObjectClient fakeObjectClient, long start, long end, Object owner) {
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            start,
+            end,
+            0,
+            ReadMode.SYNC,
+            null,
+            owner);
+    block.read(start);
+    return block;
+  }
+
+  private static Block mockBlock(long start, long end, boolean dataReady) {
+    Block block = mock(Block.class);
+    when(block.getStart()).thenReturn(start);
+    when(block.getEnd()).thenReturn(end);
+    when(block.contains(anyLong()))
+        .thenAnswer(
+            invocation -> {
+              long pos = invocation.getArgument(0);
+              return start <= pos && pos <= end;
+            });
+    when(block.isDataReady()).thenReturn(dataReady);
+    when(block.isExclusiveTo(any())).thenReturn(true);
+    return block;
+  }
 }
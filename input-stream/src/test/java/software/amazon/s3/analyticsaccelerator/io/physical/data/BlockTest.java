@@ -16,9 +16,17 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.data;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
@@ -227,4 +235,80 @@ public class BlockTest {
     block.close();
     block.close();
   }
+
+  @Test
+  void testIsDataReady() {
+    // Given: a block whose GET has not returned yet
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.getObject(any(), any())).thenReturn(new CompletableFuture<>());
+    Block block =
+        new Block(TEST_URI, objectClient, TestTelemetry.DEFAULT, 0, 10, 0, ReadMode.ASYNC);
+    assertFalse(block.isDataReady());
+
+    // When: the block is closed
+    block.close();
+
+    // Then: fetching it has completed
+    assertTrue(block.isDataReady());
+
+    // Then: blocks whose GET returned are ready
+    final String TEST_DATA = "test-data";
+    Block fetchedBlock =
+        new Block(
+            TEST_URI,
+            new FakeObjectClient(TEST_DATA),
+            TestTelemetry.DEFAULT,
+            0,
+            TEST_DATA.length() - 1,
+            0,
+            ReadMode.SYNC);
+    assertTrue(fetchedBlock.isDataReady());
+  }
+
+  @Test
+  public void testTransferToWritesCorrectBytes() throws IOException {
+    // Given: a Block containing "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            0,
+            TEST_DATA.length(),
+            0,
+            ReadMode.SYNC);
+
+    // When: bytes are transferred from the block
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    long written = block.transferTo(5, 100, Channels.newChannel(outputStream));
+
+    // Then: the remaining bytes of the block are written
+    assertEquals(4, written);
+    assertEquals("data", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testTransferToValidatesArguments() {
+    // Given: a Block containing "test-data"
+    final String TEST_DATA = "test-data";
+    ObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    Block block =
+        new Block(
+            TEST_URI,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            2,
+            TEST_DATA.length(),
+            0,
+            ReadMode.SYNC);
+    WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+    // When & Then: transferTo is called with illegal arguments, exceptions are thrown
+    assertThrows(IllegalArgumentException.class, () -> block.transferTo(-1, 1, channel));
+    assertThrows(IllegalArgumentException.class, () -> block.transferTo(2, -1, channel));
+    assertThrows(IllegalArgumentException.class, () -> block.transferTo(0, 1, channel));
+    assertThrows(NullPointerException.class, () -> block.transferTo(2, 1, null));
+  }
 }
@@ -0,0 +1,348 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.s3.analyticsaccelerator.TestTelemetry;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ObjectDownloaderTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final String TEST_DATA = "test-data-0123456789";
+  private static final PhysicalIOConfiguration SMALL_PARTS =
+      PhysicalIOConfiguration.builder()
+          .partSizeBytes(4)
+          .maxRangeSizeBytes(4)
+          .downloadMemoryBudgetBytes(8)
+          .build();
+
+  @TempDir Path tempDir;
+
+  @Test
+  void testConstructorThrowsOnNullArgument() {
+    ObjectClient objectClient = mock(ObjectClient.class);
+    MetadataStore metadataStore = mock(MetadataStore.class);
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectDownloader(
+                null, metadataStore, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectDownloader(
+                objectClient, null, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () ->
+            new ObjectDownloader(
+                objectClient, metadataStore, null, PhysicalIOConfiguration.DEFAULT));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ObjectDownloader(objectClient, metadataStore, TestTelemetry.DEFAULT, null));
+  }
+
+  @Test
+  void testDownloadWholeObjectInParts() throws IOException {
+    // Given: a downloader using 4 byte parts
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+
+    // When: the object is downloaded
+    long downloaded = objectDownloader.download(TEST_URI, target, DownloadOptions.DEFAULT);
+
+    // Then: the file holds the object, every part was fetched separately and no progress is left
+    assertEquals(TEST_DATA.length(), downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(5, fakeObjectClient.getGetRequestCount().get());
+    assertFalse(Files.exists(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadRangeOverwritesExistingFile() throws IOException {
+    // Given: a target file holding unrelated data
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, "some much longer unrelated content".getBytes(StandardCharsets.UTF_8));
+
+    // When: a range of the object is downloaded
+    long downloaded =
+        objectDownloader.download(
+            TEST_URI, target, DownloadOptions.builder().range(new Range(5, 13)).build());
+
+    // Then: the file holds exactly the range
+    assertEquals(9, downloaded);
+    assertEquals("data-0123", readFile(target));
+  }
+
+  @Test
+  void testDownloadResumesFromProgress() throws IOException {
+    // Given: a partially written file with progress recorded for the current version
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA, "etag");
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, "test-dat????????????".getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(target), "8\netag 20 0-19".getBytes(StandardCharsets.UTF_8));
+
+    // When: the download is resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+
+    // Then: only the missing bytes are fetched
+    assertEquals(TEST_DATA.length() - 8, downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(8, fakeObjectClient.getRequestedRanges().getFirst().getStart());
+    assertFalse(Files.exists(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadResumeRestartsWhenObjectChanged() throws IOException {
+    // Given: progress recorded for another version of the object, and for another range
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA, "etag");
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Path otherTarget = tempDir.resolve("other");
+    Files.write(target, "old-data????????????".getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(target), "8\nold-etag 20 0-19".getBytes(StandardCharsets.UTF_8));
+    Files.write(otherTarget, "old-data????????????".getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(otherTarget), "8\netag 20 0-18".getBytes(StandardCharsets.UTF_8));
+
+    // When: the downloads are resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+    long otherDownloaded =
+        objectDownloader.download(
+            TEST_URI, otherTarget, DownloadOptions.builder().resume(true).build());
+
+    // Then: the progress is discarded and the whole object is downloaded again
+    assertEquals(TEST_DATA.length(), downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(TEST_DATA.length(), otherDownloaded);
+    assertEquals(TEST_DATA, readFile(otherTarget));
+    assertFalse(Files.exists(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadResumeRestartsWithoutEtag() throws IOException {
+    // Given: an object without an ETag, whose version cannot be told
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, "old-data????????????".getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(target), "8\nnull 20 0-19".getBytes(StandardCharsets.UTF_8));
+
+    // When: the download is resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+
+    // Then: the whole object is downloaded again
+    assertEquals(TEST_DATA.length(), downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(0, fakeObjectClient.getRequestedRanges().getFirst().getStart());
+  }
+
+  @Test
+  void testDownloadResumeOfCompleteFileIsNoop() throws IOException {
+    // Given: a complete file with progress recorded for the current version
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA, "etag");
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, TEST_DATA.getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(target), "20\netag 20 0-19".getBytes(StandardCharsets.UTF_8));
+
+    // When: the download is resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+
+    // Then: nothing is fetched and the progress is cleaned up
+    assertEquals(0, downloaded);
+    assertEquals(0, fakeObjectClient.getGetRequestCount().get());
+    assertFalse(Files.exists(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadResumeWithoutProgressRestarts() throws IOException {
+    // Given: a file of the same length as the object, but no progress to tell where it is from
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA, "etag");
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, "old-data-0123456789?".getBytes(StandardCharsets.UTF_8));
+
+    // When: the download is resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+
+    // Then: the file is not trusted and the whole object is downloaded again
+    assertEquals(TEST_DATA.length(), downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(5, fakeObjectClient.getGetRequestCount().get());
+    assertFalse(Files.exists(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadPartsAreBoundedByPartSize() throws IOException {
+    // Given: a downloader whose ranges would not be split by the range optimiser
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    PhysicalIOConfiguration configuration =
+        PhysicalIOConfiguration.builder()
+            .partSizeBytes(4)
+            .maxRangeSizeBytes(100)
+            .downloadMemoryBudgetBytes(8)
+            .build();
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, configuration);
+    Path target = tempDir.resolve("object");
+
+    // When: the object is downloaded
+    objectDownloader.download(TEST_URI, target, DownloadOptions.DEFAULT);
+
+    // Then: no part is larger than the part size the memory budget is counted in
+    assertEquals(TEST_DATA, readFile(target));
+    assertEquals(5, fakeObjectClient.getGetRequestCount().get());
+    fakeObjectClient.getRequestedRanges().forEach(range -> assertTrue(range.getLength() <= 4));
+  }
+
+  @Test
+  void testDownloadResumeIgnoresUnreadableProgress() throws IOException {
+    // Given: a progress file that cannot be parsed
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    ObjectDownloader objectDownloader = getTestDownloader(fakeObjectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+    Files.write(target, "garbage".getBytes(StandardCharsets.UTF_8));
+    Files.write(progressFile(target), "not-a-number".getBytes(StandardCharsets.UTF_8));
+
+    // When: the download is resumed
+    long downloaded =
+        objectDownloader.download(TEST_URI, target, DownloadOptions.builder().resume(true).build());
+
+    // Then: the whole object is downloaded again
+    assertEquals(TEST_DATA.length(), downloaded);
+    assertEquals(TEST_DATA, readFile(target));
+  }
+
+  @Test
+  void testDownloadEmptyObject() throws IOException {
+    // Given: an empty object
+    ObjectDownloader objectDownloader = getTestDownloader(new FakeObjectClient(""), SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+
+    // When: the object is downloaded
+    long downloaded = objectDownloader.download(TEST_URI, target, DownloadOptions.DEFAULT);
+
+    // Then: an empty file is created
+    assertEquals(0, downloaded);
+    assertEquals(0, Files.size(target));
+  }
+
+  @Test
+  void testDownloadValidatesRange() {
+    ObjectDownloader objectDownloader =
+        getTestDownloader(new FakeObjectClient(TEST_DATA), SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            objectDownloader.download(
+                TEST_URI, target, DownloadOptions.builder().range(new Range(5, 100)).build()));
+    assertThrows(
+        NullPointerException.class,
+        () -> objectDownloader.download(TEST_URI, null, DownloadOptions.DEFAULT));
+  }
+
+  @Test
+  void testDownloadFailureKeepsProgress() throws IOException {
+    // Given: an object client failing all GETs
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.headObject(any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                ObjectMetadata.builder().contentLength(TEST_DATA.length()).etag("etag").build()));
+    CompletableFuture<ObjectContent> failedFuture = new CompletableFuture<>();
+    failedFuture.completeExceptionally(new IOException("Error while getting object"));
+    when(objectClient.getObject(any(), any())).thenReturn(failedFuture);
+    ObjectDownloader objectDownloader = getTestDownloader(objectClient, SMALL_PARTS);
+    Path target = tempDir.resolve("object");
+
+    // When & Then: the download fails and its progress, with the version of the object it is
+    // for, can be resumed from
+    assertThrows(
+        IOException.class,
+        () -> objectDownloader.download(TEST_URI, target, DownloadOptions.DEFAULT));
+    assertEquals("0\netag 20 0-19", readFile(progressFile(target)));
+  }
+
+  @Test
+  void testDownloadFailsOnShortPart() {
+    // Given: an object client returning fewer bytes than requested
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.headObject(any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                ObjectMetadata.builder().contentLength(TEST_DATA.length()).build()));
+    when(objectClient.getObject(any(), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                ObjectContent.builder().stream(new ByteArrayInputStream(new byte[1])).build()));
+    ObjectDownloader objectDownloader = getTestDownloader(objectClient, SMALL_PARTS);
+
+    // When & Then: the download fails
+    assertThrows(
+        IOException.class,
+        () ->
+            objectDownloader.download(
+                TEST_URI, tempDir.resolve("object"), DownloadOptions.DEFAULT));
+  }
+
+  private static ObjectDownloader getTestDownloader(
+      ObjectClient objectClient, PhysicalIOConfiguration configuration) {
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, configuration);
+    return new ObjectDownloader(objectClient, metadataStore, TestTelemetry.DEFAULT, configuration);
+  }
+
+  private static Path progressFile(Path target) {
+    return Paths.get(target + ObjectDownloader.PROGRESS_FILE_SUFFIX);
+  }
+
+  private static String readFile(Path path) throws IOException {
+    return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.io.physical.data;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.util.ObjectKey;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class TailCacheTest {
+  private static final S3URI TEST_URI = S3URI.of("foo", "bar");
+  private static final byte[] TEST_DATA = "test-data-0123456789".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void testConstructor() {
+    assertEquals(
+        PhysicalIOConfiguration.DEFAULT.getTailCacheCapacityBytes(),
+        new TailCache(PhysicalIOConfiguration.DEFAULT).getCapacityBytes());
+    assertThrows(IllegalArgumentException.class, () -> new TailCache(-1));
+    assertThrows(NullPointerException.class, () -> new TailCache(null));
+  }
+
+  @Test
+  void testReadTailServesCachedTail() {
+    // Given: a cache holding the last 10 bytes of an object
+    TailCache tailCache = new TailCache(100);
+    ObjectKey objectKey = ObjectKey.of(TEST_URI, "etag");
+    tailCache.put(objectKey, TEST_DATA, 10, 10);
+
+    // When: a shorter tail is read
+    byte[] buf = new byte[6];
+    boolean served = tailCache.readTail(objectKey, buf, 1, 5);
+
+    // Then: the tail is served from the cache
+    assertTrue(served);
+    assertEquals("56789", new String(buf, 1, 5, StandardCharsets.UTF_8));
+    assertEquals(10, tailCache.getSizeBytes());
+  }
+
+  @Test
+  void testReadTailMissesOnLongerTailOrOtherVersion() {
+    // Given: a cache holding the last 10 bytes of an object
+    TailCache tailCache = new TailCache(100);
+    tailCache.put(ObjectKey.of(TEST_URI, "etag"), TEST_DATA, 10, 10);
+
+    // When & Then: a longer tail or a tail of another version of the object are not served
+    byte[] buf = new byte[20];
+    assertFalse(tailCache.readTail(ObjectKey.of(TEST_URI, "etag"), buf, 0, 11));
+    assertFalse(tailCache.readTail(ObjectKey.of(TEST_URI, "other-etag"), buf, 0, 5));
+    assertFalse(tailCache.readTail(ObjectKey.of(S3URI.of("foo", "baz"), "etag"), buf, 0, 5));
+  }
+
+  @Test
+  void testPutKeepsLongestTail() {
+    // Given: a cache holding a tail
+    TailCache tailCache = new TailCache(100);
+    ObjectKey objectKey = ObjectKey.of(TEST_URI, "etag");
+    tailCache.put(objectKey, TEST_DATA, 10, 10);
+
+    // When: a shorter and then a longer tail are put
+    tailCache.put(objectKey, TEST_DATA, 15, 5);
+    assertEquals(10, tailCache.getSizeBytes());
+    tailCache.put(objectKey, TEST_DATA, 0, 20);
+
+    // Then: the longer tail replaces the cached one
+    byte[] buf = new byte[20];
+    assertTrue(tailCache.readTail(objectKey, buf, 0, 20));
+    assertArrayEquals(TEST_DATA, buf);
+    assertEquals(20, tailCache.getSizeBytes());
+  }
+
+  @Test
+  void testPutEvictsLeastRecentlyUsedTails() {
+    // Given: a cache with room for two 10 byte tails
+    TailCache tailCache = new TailCache(20);
+    ObjectKey first = ObjectKey.of(S3URI.of("foo", "first"), "etag");
+    ObjectKey second = ObjectKey.of(S3URI.of("foo", "second"), "etag");
+    ObjectKey third = ObjectKey.of(S3URI.of("foo", "third"), "etag");
+    tailCache.put(first, TEST_DATA, 10, 10);
+    tailCache.put(second, TEST_DATA, 10, 10);
+
+    // When: the first tail is used and a third one is put
+    byte[] buf = new byte[10];
+    assertTrue(tailCache.readTail(first, buf, 0, 10));
+    tailCache.put(third, TEST_DATA, 10, 10);
+
+    // Then: the least recently used tail is evicted
+    assertTrue(tailCache.readTail(first, buf, 0, 10));
+    assertFalse(tailCache.readTail(second, buf, 0, 10));
+    assertTrue(tailCache.readTail(third, buf, 0, 10));
+    assertEquals(20, tailCache.getSizeBytes());
+  }
+
+  @Test
+  void testPutIgnoresTailsLargerThanCapacity() {
+    TailCache tailCache = new TailCache(5);
+    ObjectKey objectKey = ObjectKey.of(TEST_URI, "etag");
+
+    tailCache.put(objectKey, TEST_DATA, 10, 10);
+
+    assertFalse(tailCache.readTail(objectKey, new byte[10], 0, 1));
+    assertEquals(0, tailCache.getSizeBytes());
+  }
+
+  @Test
+  void testPutValidatesArguments() {
+    TailCache tailCache = new TailCache(100);
+    ObjectKey objectKey = ObjectKey.of(TEST_URI, "etag");
+
+    assertThrows(IllegalArgumentException.class, () -> tailCache.put(objectKey, TEST_DATA, -1, 1));
+    assertThrows(IllegalArgumentException.class, () -> tailCache.put(objectKey, TEST_DATA, 0, -1));
+    assertThrows(IllegalArgumentException.class, () -> tailCache.put(objectKey, TEST_DATA, 15, 6));
+    assertThrows(NullPointerException.class, () -> tailCache.put(null, TEST_DATA, 0, 1));
+    assertThrows(NullPointerException.class, () -> tailCache.put(objectKey, null, 0, 1));
+  }
+}
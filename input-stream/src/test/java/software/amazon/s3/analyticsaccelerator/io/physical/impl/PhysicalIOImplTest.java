@@ -16,16 +16,29 @@
 package software.amazon.s3.analyticsaccelerator.io.physical.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.TestTelemetry;
 import software.amazon.s3.analyticsaccelerator.io.physical.PhysicalIOConfiguration;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.BlobStore;
 import software.amazon.s3.analyticsaccelerator.io.physical.data.MetadataStore;
+import software.amazon.s3.analyticsaccelerator.io.physical.data.TailCache;
+import software.amazon.s3.analyticsaccelerator.io.physical.plan.IOPlan;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
 import software.amazon.s3.analyticsaccelerator.request.StreamContext;
 import software.amazon.s3.analyticsaccelerator.util.FakeObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
@@ -174,4 +187,242 @@ public class PhysicalIOImplTest {
     byte[] buffer = new byte[5];
     assertEquals(5, physicalIOImplV2.readTail(buffer, 0, 5));
   }
+
+  @Test
+  void testTransferTo() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl physicalIOImplV2 =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    assertEquals(10, physicalIOImplV2.transferTo(6, 100, Channels.newChannel(outputStream)));
+    assertEquals("0123456789", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> physicalIOImplV2.transferTo(-1, 1, Channels.newChannel(outputStream)));
+  }
+
+  @Test
+  void testCancel() throws IOException {
+    // Given: a PhysicalIO that prefetched a range
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl physicalIOImplV2 =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    IOPlan ioPlan = new IOPlan(Collections.singletonList(new Range(0, 9)));
+    physicalIOImplV2.execute(ioPlan);
+
+    // When: the plan is cancelled after its data arrived
+    physicalIOImplV2.cancel(ioPlan);
+
+    // Then: the data is kept and can still be read
+    byte[] buffer = new byte[5];
+    assertEquals(5, physicalIOImplV2.read(buffer, 0, 5, 0));
+    assertEquals("abcde", new String(buffer, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testEvict() throws IOException {
+    // Given: a PhysicalIO that read a range
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl physicalIOImplV2 =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    byte[] buffer = new byte[5];
+    assertEquals(5, physicalIOImplV2.read(buffer, 0, 5, 0));
+
+    // When: the data read is evicted
+    physicalIOImplV2.evict(new IOPlan(new Range(0, TEST_DATA.length() - 1)));
+
+    // Then: it is fetched again when read
+    assertEquals(5, physicalIOImplV2.read(buffer, 0, 5, 0));
+    assertEquals("abcde", new String(buffer, StandardCharsets.UTF_8));
+    assertEquals(2, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testCancelKeepsRangesAnotherStreamOfTheObjectReads() throws IOException {
+    // Given: two streams of the same object, both prefetching a range whose GET is in flight
+    final String TEST_DATA = "abcdef0123456789";
+    ObjectClient objectClient = mock(ObjectClient.class);
+    when(objectClient.headObject(any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                ObjectMetadata.builder().contentLength(TEST_DATA.length()).etag("etag").build()));
+    CompletableFuture<ObjectContent> pending = new CompletableFuture<>();
+    when(objectClient.getObject(any(), any())).thenReturn(pending);
+    MetadataStore metadataStore =
+        new MetadataStore(objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore, objectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl cancelling =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    PhysicalIOImpl reading =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    IOPlan ioPlan = new IOPlan(new Range(0, 9));
+    cancelling.execute(ioPlan);
+    reading.execute(ioPlan);
+
+    // When: one stream cancels the range while the other one is about to read it
+    cancelling.cancel(ioPlan);
+    pending.complete(
+        ObjectContent.builder()
+            .stream(new ByteArrayInputStream(TEST_DATA.getBytes(StandardCharsets.UTF_8)))
+            .build());
+
+    // Then: the GET is not cancelled, and the other stream reads the data it brought
+    assertFalse(pending.isCancelled());
+    byte[] buffer = new byte[5];
+    assertEquals(5, reading.read(buffer, 0, 5, 0));
+    assertEquals("abcde", new String(buffer, StandardCharsets.UTF_8));
+    verify(objectClient, times(1)).getObject(any(), any());
+  }
+
+  @Test
+  void testEvictKeepsRangesAnotherStreamOfTheObjectReads() throws IOException {
+    // Given: two streams of the same object that both read a range
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    BlobStore blobStore =
+        new BlobStore(
+            metadataStore,
+            fakeObjectClient,
+            TestTelemetry.DEFAULT,
+            PhysicalIOConfiguration.DEFAULT);
+    PhysicalIOImpl evicting =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    PhysicalIOImpl reading =
+        new PhysicalIOImpl(s3URI, metadataStore, blobStore, TestTelemetry.DEFAULT);
+    byte[] buffer = new byte[5];
+    assertEquals(5, evicting.read(buffer, 0, 5, 0));
+    assertEquals(5, reading.read(buffer, 0, 5, 0));
+
+    // When: one stream evicts the range
+    evicting.evict(new IOPlan(new Range(0, TEST_DATA.length() - 1)));
+
+    // Then: the data is kept for the other stream, which reads it without fetching it again
+    assertEquals(5, reading.read(buffer, 0, 5, 5));
+    assertEquals("f0123", new String(buffer, StandardCharsets.UTF_8));
+    assertEquals(1, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testReadTailIsServedFromSharedTailCache() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA, "etag");
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    TailCache tailCache = new TailCache(PhysicalIOConfiguration.DEFAULT);
+
+    // Given: a tail read through one PhysicalIO
+    PhysicalIOImpl firstPhysicalIO =
+        new PhysicalIOImpl(
+            s3URI,
+            metadataStore,
+            new BlobStore(
+                metadataStore,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                PhysicalIOConfiguration.DEFAULT),
+            tailCache,
+            TestTelemetry.DEFAULT,
+            null);
+    byte[] buffer = new byte[5];
+    assertEquals(5, firstPhysicalIO.readTail(buffer, 0, 5));
+    int getRequestCount = fakeObjectClient.getGetRequestCount().get();
+
+    // When: a shorter tail is read through another PhysicalIO with its own BlobStore
+    PhysicalIOImpl secondPhysicalIO =
+        new PhysicalIOImpl(
+            s3URI,
+            metadataStore,
+            new BlobStore(
+                metadataStore,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                PhysicalIOConfiguration.DEFAULT),
+            tailCache,
+            TestTelemetry.DEFAULT,
+            null);
+    byte[] secondBuffer = new byte[4];
+    assertEquals(4, secondPhysicalIO.readTail(secondBuffer, 0, 4));
+
+    // Then: the tail is served from the cache without any further requests
+    assertEquals("6789", new String(secondBuffer, StandardCharsets.UTF_8));
+    assertEquals(getRequestCount, fakeObjectClient.getGetRequestCount().get());
+  }
+
+  @Test
+  void testReadTailWithoutEtagBypassesSharedTailCache() throws IOException {
+    final String TEST_DATA = "abcdef0123456789";
+    FakeObjectClient fakeObjectClient = new FakeObjectClient(TEST_DATA);
+    MetadataStore metadataStore =
+        new MetadataStore(fakeObjectClient, TestTelemetry.DEFAULT, PhysicalIOConfiguration.DEFAULT);
+    TailCache tailCache = new TailCache(PhysicalIOConfiguration.DEFAULT);
+
+    // Given: an object without an ETag, whose tail is read through one PhysicalIO
+    PhysicalIOImpl firstPhysicalIO =
+        new PhysicalIOImpl(
+            s3URI,
+            metadataStore,
+            new BlobStore(
+                metadataStore,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                PhysicalIOConfiguration.DEFAULT),
+            tailCache,
+            TestTelemetry.DEFAULT,
+            null);
+    byte[] buffer = new byte[5];
+    assertEquals(5, firstPhysicalIO.readTail(buffer, 0, 5));
+    int getRequestCount = fakeObjectClient.getGetRequestCount().get();
+
+    // When: the tail is read again through another PhysicalIO with its own BlobStore
+    PhysicalIOImpl secondPhysicalIO =
+        new PhysicalIOImpl(
+            s3URI,
+            metadataStore,
+            new BlobStore(
+                metadataStore,
+                fakeObjectClient,
+                TestTelemetry.DEFAULT,
+                PhysicalIOConfiguration.DEFAULT),
+            tailCache,
+            TestTelemetry.DEFAULT,
+            null);
+    byte[] secondBuffer = new byte[5];
+    assertEquals(5, secondPhysicalIO.readTail(secondBuffer, 0, 5));
+
+    // Then: the tail is never cached, as it could not be told apart from a later version's
+    assertEquals("56789", new String(secondBuffer, StandardCharsets.UTF_8));
+    assertEquals(0, tailCache.getSizeBytes());
+    assertEquals(getRequestCount + 1, fakeObjectClient.getGetRequestCount().get());
+  }
 }
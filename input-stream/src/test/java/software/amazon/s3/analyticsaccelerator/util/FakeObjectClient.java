@@ -28,6 +28,7 @@ import software.amazon.s3.analyticsaccelerator.request.*;
 public class FakeObjectClient implements ObjectClient {
 
   private final String content;
+  private final String etag;
 
   @Getter private AtomicInteger headRequestCount = new AtomicInteger();
   @Getter private AtomicInteger getRequestCount = new AtomicInteger();
@@ -40,9 +41,20 @@ public class FakeObjectClient implements ObjectClient {
    * @param data the data making up the object
    */
   public FakeObjectClient(String data) {
+    this(data, null);
+  }
+
+  /**
+   * Instantiate a fake Object Client backed by some string as data, with an ETag.
+   *
+   * @param data the data making up the object
+   * @param etag the ETag HEAD requests return, null for none
+   */
+  public FakeObjectClient(String data, String etag) {
     this.headRequestCount.set(0);
     this.getRequestCount.set(0);
     this.content = data;
+    this.etag = etag;
     this.contentBytes = this.content.getBytes(StandardCharsets.UTF_8);
   }
 
@@ -50,7 +62,7 @@ public class FakeObjectClient implements ObjectClient {
   public CompletableFuture<ObjectMetadata> headObject(HeadRequest headRequest) {
     headRequestCount.incrementAndGet();
     return CompletableFuture.completedFuture(
-        ObjectMetadata.builder().contentLength(this.content.length()).build());
+        ObjectMetadata.builder().contentLength(this.content.length()).etag(etag).build());
   }
 
   @Override
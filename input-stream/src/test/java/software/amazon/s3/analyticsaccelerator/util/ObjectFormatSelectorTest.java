@@ -16,11 +16,30 @@
 package software.amazon.s3.analyticsaccelerator.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import software.amazon.s3.analyticsaccelerator.io.logical.FakeLogicalIOProvider;
 import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOConfiguration;
+import software.amazon.s3.analyticsaccelerator.io.logical.LogicalIOProvider;
 
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
 public class ObjectFormatSelectorTest {
 
   @ParameterizedTest
@@ -46,7 +65,135 @@ public class ObjectFormatSelectorTest {
   }
 
   @ParameterizedTest
-  @ValueSource(strings = {"key.jar", "key.txt", "key.parque", "key.pa"})
+  @ValueSource(strings = {"key.orc", "key.ORC"})
+  public void testDefaultConfigOrcLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.ORC);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.orc3", "key.parquet.orc3"})
+  public void testConfiguredExtensionOrcLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().orcFormatSelectorRegex("^.*\\.(orc3)$").build());
+
+    assertEquals(objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.ORC);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.csv", "key.TSV", "key.json", "key.jsonl", "key.ndjson", "key.log"})
+  public void testDefaultConfigTextLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.TEXT);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.psv", "key.data.psv"})
+  public void testConfiguredExtensionTextLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().textFormatSelectorRegex("^.*\\.(psv)$").build());
+
+    assertEquals(objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.TEXT);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"catalog", "changelog", "data/blog", "key_orc", "key-feather", "gbgz"})
+  public void testDefaultConfigDoesNotSelectKeysWithoutExtension(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().seekableCompressionEnabled(true).build());
+
+    assertEquals(
+        objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.DEFAULT);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.arrow", "key.feather", "key.IPC"})
+  public void testDefaultConfigArrowLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(
+        objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.ARROW);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.arrows", "key.data.arrows"})
+  public void testConfiguredExtensionArrowLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().arrowFormatSelectorRegex("^.*\\.(arrows)$").build());
+
+    assertEquals(
+        objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.ARROW);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"key.bgz", "key.vcf.bgz", "key.BGZ"})
+  public void testCompressedLogicalIOSelection(String key) {
+    ObjectFormatSelector enabled =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().seekableCompressionEnabled(true).build());
+    ObjectFormatSelector disabled = new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(enabled.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.COMPRESSED);
+    assertEquals(disabled.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.DEFAULT);
+    assertEquals(enabled.getObjectFormat(S3URI.of("bucket", "key.zst")), ObjectFormat.DEFAULT);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "warehouse/db/table/metadata/snap-123-1-abc.avro",
+        "warehouse/db/table/metadata/abc-m0.avro",
+        "metadata/00001-abc.metadata.json",
+        "table/_delta_log/00000000000000000010.json",
+        "table/_delta_log/00000000000000000010.crc",
+        "table/_delta_log/_last_checkpoint"
+      })
+  public void testDefaultConfigLakehouseMetadataLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertEquals(
+        ObjectFormat.LAKEHOUSE_METADATA,
+        objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "table/data/00000-0-abc.parquet",
+        "table/metadata/stats/abc.puffin",
+        "table/_delta_log/00000000000000000010.checkpoint.parquet",
+        "table/part-00000.json"
+      })
+  public void testDefaultConfigNonLakehouseMetadataLogicalIOSelection(String key) {
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+
+    assertNotEquals(
+        ObjectFormat.LAKEHOUSE_METADATA,
+        objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "key.jar",
+        "key.tx",
+        "key.parque",
+        "key.pa",
+        "key.orcx",
+        "key.csv.gz",
+        "key.arrow.bak"
+      })
   public void testNonParquetLogicalIOSelection(String key) {
     ObjectFormatSelector objectFormatSelector =
         new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
@@ -54,4 +201,62 @@ public class ObjectFormatSelectorTest {
     assertEquals(
         objectFormatSelector.getObjectFormat(S3URI.of("bucket", key)), ObjectFormat.DEFAULT);
   }
+
+  @Test
+  public void testLogicalIOProvidersAreLoaded() {
+    // Given: the tests register FakeLogicalIOProvider with the ServiceLoader
+    ObjectFormatSelector enabled = new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT);
+    ObjectFormatSelector disabled =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.builder().logicalIOProvidersEnabled(false).build());
+
+    // When & Then
+    List<LogicalIOProvider> logicalIOProviders = enabled.getLogicalIOProviders();
+    assertEquals(1, logicalIOProviders.size());
+    assertTrue(logicalIOProviders.get(0) instanceof FakeLogicalIOProvider);
+    assertTrue(enabled.getLogicalIOProvider(S3URI.of("bucket", "key.fake")).isPresent());
+    assertFalse(enabled.getLogicalIOProvider(S3URI.of("bucket", "key.parquet")).isPresent());
+    assertTrue(disabled.getLogicalIOProviders().isEmpty());
+    assertFalse(disabled.getLogicalIOProvider(S3URI.of("bucket", "key.fake")).isPresent());
+  }
+
+  @Test
+  public void testFirstSupportingLogicalIOProviderIsSelected() {
+    // Given: a provider that fails, one that does not support the object and two that do
+    S3URI s3URI = S3URI.of("bucket", "key.internal");
+    LogicalIOProvider failing = mock(LogicalIOProvider.class);
+    when(failing.supports(any(), any())).thenThrow(new IllegalStateException("Error"));
+    LogicalIOProvider unsupported = mock(LogicalIOProvider.class);
+    LogicalIOProvider supported = mock(LogicalIOProvider.class);
+    when(supported.supports(s3URI, LogicalIOConfiguration.DEFAULT)).thenReturn(true);
+    LogicalIOProvider alsoSupported = mock(LogicalIOProvider.class);
+    when(alsoSupported.supports(s3URI, LogicalIOConfiguration.DEFAULT)).thenReturn(true);
+    ObjectFormatSelector objectFormatSelector =
+        new ObjectFormatSelector(
+            LogicalIOConfiguration.DEFAULT,
+            Arrays.asList(failing, unsupported, supported, alsoSupported));
+
+    // When
+    Optional<LogicalIOProvider> logicalIOProvider =
+        objectFormatSelector.getLogicalIOProvider(s3URI);
+
+    // Then: the failing provider is skipped, and the providers are asked in order
+    assertEquals(Optional.of(supported), logicalIOProvider);
+    verifyNoInteractions(alsoSupported);
+    assertFalse(
+        objectFormatSelector.getLogicalIOProvider(S3URI.of("bucket", "key.parquet")).isPresent());
+  }
+
+  @Test
+  public void testLogicalIOProviderSelectionThrowsOnNull() {
+    assertThrows(
+        NullPointerException.class,
+        () -> new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT, null));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ObjectFormatSelector(null, Collections.emptyList()));
+    assertThrows(
+        NullPointerException.class,
+        () -> new ObjectFormatSelector(LogicalIOConfiguration.DEFAULT).getLogicalIOProvider(null));
+  }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.junit.jupiter.api.Test;
+
+@SuppressFBWarnings(
+    value = "NP_NONNULL_PARAM_VIOLATION",
+    justification = "We mean to pass nulls to checks")
+public class ObjectKeyTest {
+  @Test
+  void testCreateValidatesArguments() {
+    assertThrows(NullPointerException.class, () -> ObjectKey.of(null, "etag"));
+  }
+
+  @Test
+  void testEquality() {
+    S3URI s3URI = S3URI.of("bucket", "key");
+
+    assertEquals(ObjectKey.of(s3URI, "etag"), ObjectKey.of(S3URI.of("bucket", "key"), "etag"));
+    assertEquals(ObjectKey.of(s3URI, null), ObjectKey.of(s3URI, null));
+    assertNotEquals(ObjectKey.of(s3URI, "etag"), ObjectKey.of(s3URI, "other-etag"));
+    assertNotEquals(ObjectKey.of(s3URI, "etag"), ObjectKey.of(s3URI, null));
+  }
+}
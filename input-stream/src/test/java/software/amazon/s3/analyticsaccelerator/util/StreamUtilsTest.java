@@ -16,9 +16,17 @@
 package software.amazon.s3.analyticsaccelerator.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
@@ -53,4 +61,38 @@ public class StreamUtilsTest {
     // Then: 'Hello World' is returned
     assertEquals("Hello World", new String(buf, StandardCharsets.UTF_8));
   }
+
+  @Test
+  public void testToWritableByteChannelWritesHeapBuffers() throws IOException {
+    // Given: a channel over an output stream
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    WritableByteChannel channel = StreamUtils.toWritableByteChannel(outputStream);
+
+    // When: a slice of a heap buffer and a direct buffer are written
+    ByteBuffer heapBuffer = ByteBuffer.wrap("xHello".getBytes(StandardCharsets.UTF_8), 1, 5);
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(6);
+    directBuffer.put(" World".getBytes(StandardCharsets.UTF_8));
+    directBuffer.flip();
+    int written = channel.write(heapBuffer) + channel.write(directBuffer);
+
+    // Then: 'Hello World' is written and the buffers are consumed
+    assertEquals(11, written);
+    assertFalse(heapBuffer.hasRemaining());
+    assertFalse(directBuffer.hasRemaining());
+    assertEquals("Hello World", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testToWritableByteChannelClose() throws IOException {
+    // Given: a channel over an output stream
+    WritableByteChannel channel = StreamUtils.toWritableByteChannel(new ByteArrayOutputStream());
+    assertTrue(channel.isOpen());
+
+    // When: the channel is closed
+    channel.close();
+
+    // Then: writes are rejected
+    assertFalse(channel.isOpen());
+    assertThrows(ClosedChannelException.class, () -> channel.write(ByteBuffer.allocate(1)));
+  }
 }
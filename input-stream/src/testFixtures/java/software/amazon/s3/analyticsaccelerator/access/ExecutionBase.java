@@ -56,7 +56,8 @@ public abstract class ExecutionBase {
   }
 
   /**
-   * Creates an instance of {@link S3DATClientStreamReader} that uses DAT to read from S3
+   * Creates an instance of {@link S3DATClientStreamReader} that uses DAT to read from S3, or from
+   * the local directory when {@link S3ExecutionConfiguration#isLocal()} is set
    *
    * @param s3ClientKind S3 Client kind
    * @param DATInputStreamConfigurationKind {@link S3SeekableInputStreamConfiguration} kind
@@ -65,6 +66,13 @@ public abstract class ExecutionBase {
   protected S3DATClientStreamReader createS3DATClientStreamReader(
       @NonNull S3ClientKind s3ClientKind,
       @NonNull DATInputStreamConfigurationKind DATInputStreamConfigurationKind) {
+    if (this.getS3ExecutionContext().getConfiguration().isLocal()) {
+      return new S3DATClientStreamReader(
+          this.getS3ExecutionContext().getLocalObjectClient(),
+          DATInputStreamConfigurationKind.getValue(),
+          this.getS3ExecutionContext().getConfiguration().getBaseUri(),
+          this.getS3ExecutionContext().getConfiguration().getBufferSizeBytes());
+    }
     return new S3DATClientStreamReader(
         s3ClientKind.getS3Client(this.getS3ExecutionContext()),
         DATInputStreamConfigurationKind.getValue(),
@@ -73,7 +81,8 @@ public abstract class ExecutionBase {
   }
 
   /**
-   * Executes a pattern directly on an S3 Client.
+   * Executes a pattern directly on an S3 Client, or on the local object client when {@link
+   * S3ExecutionConfiguration#isLocal()} is set.
    *
    * @param s3Object {@link } S3 Object to run the pattern on
    * @param streamReadPattern the read pattern
@@ -83,6 +92,16 @@ public abstract class ExecutionBase {
   protected void executeReadPatternDirectly(
       S3Object s3Object, StreamReadPattern streamReadPattern, Optional<Crc32CChecksum> checksum)
       throws IOException {
+    if (this.getS3ExecutionContext().getConfiguration().isLocal()) {
+      try (ObjectClientStreamReader objectClientStreamReader =
+          new ObjectClientStreamReader(
+              this.getS3ExecutionContext().getLocalObjectClient(),
+              this.getS3ExecutionContext().getConfiguration().getBaseUri(),
+              this.getS3ExecutionContext().getConfiguration().getBufferSizeBytes())) {
+        objectClientStreamReader.readPattern(s3Object, streamReadPattern, checksum);
+      }
+      return;
+    }
     try (S3AsyncClientStreamReader s3AsyncClientStreamReader =
         this.createS3AsyncClientStreamReader(getClientKind())) {
       s3AsyncClientStreamReader.readPattern(s3Object, streamReadPattern, checksum);
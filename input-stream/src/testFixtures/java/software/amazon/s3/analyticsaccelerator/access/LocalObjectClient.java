@@ -0,0 +1,205 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * An {@link ObjectClient} that serves objects from a local directory instead of S3. An object
+ * `s3://bucket/key` is read from `root/bucket/key`. HEAD requests are answered from the file size
+ * and modification time, ranged GETs are served with positional {@link FileChannel} reads. Every
+ * request is completed after a configurable latency, which allows benchmarks to run offline while
+ * still paying a per-request cost comparable to a round trip to S3. Requests still pending when the
+ * client is closed fail.
+ */
+public class LocalObjectClient implements ObjectClient {
+  private static final String THREAD_NAME_PREFIX = "local-object-client-";
+  private static final String CLOSED_MESSAGE = "The client is closed";
+
+  @NonNull @Getter private final Path root;
+  @Getter private final long latencyMs;
+  private final ScheduledExecutorService scheduler;
+  private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates an instance of {@link LocalObjectClient}
+   *
+   * @param root directory holding one sub-directory per bucket
+   * @param latencyMs latency added to every request, in milliseconds
+   */
+  public LocalObjectClient(@NonNull Path root, long latencyMs) {
+    Preconditions.checkArgument(latencyMs >= 0, "`latencyMs` must not be negative");
+    this.root = root.toAbsolutePath().normalize();
+    this.latencyMs = latencyMs;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.scheduler =
+        Executors.newScheduledThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Make a headObject request against the local directory.
+   *
+   * @param headRequest The HEAD request to be sent
+   * @return the metadata of the file backing the object
+   */
+  @Override
+  public CompletableFuture<ObjectMetadata> headObject(HeadRequest headRequest) {
+    return complete(() -> head(headRequest.getS3Uri()));
+  }
+
+  /**
+   * Make a getObject request against the local directory.
+   *
+   * @param getRequest The GET request to be sent
+   * @return the requested range of the file backing the object
+   */
+  @Override
+  public CompletableFuture<ObjectContent> getObject(GetRequest getRequest) {
+    return getObject(getRequest, null);
+  }
+
+  /**
+   * Make a getObject request against the local directory.
+   *
+   * @param getRequest The GET request to be sent
+   * @param streamContext audit headers, ignored by this client
+   * @return the requested range of the file backing the object
+   */
+  @Override
+  public CompletableFuture<ObjectContent> getObject(
+      GetRequest getRequest, StreamContext streamContext) {
+    return complete(() -> get(getRequest.getS3Uri(), getRequest.getRange()));
+  }
+
+  /**
+   * Resolves the file backing an object
+   *
+   * @param s3URI the object
+   * @return the path of the file backing the object
+   */
+  public Path resolve(@NonNull S3URI s3URI) {
+    Path path = root.resolve(s3URI.getBucket()).resolve(s3URI.getKey()).normalize();
+    Preconditions.checkArgument(
+        path.startsWith(root), "Object %s resolves outside of %s", s3URI, root);
+    return path;
+  }
+
+  private ObjectMetadata head(S3URI s3URI) throws IOException {
+    Path path = resolve(s3URI);
+    long size = Files.size(path);
+    long lastModified = Files.getLastModifiedTime(path).toMillis();
+    return ObjectMetadata.builder()
+        .contentLength(size)
+        .etag("\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"")
+        .build();
+  }
+
+  private ObjectContent get(S3URI s3URI, Range range) throws IOException {
+    try (FileChannel channel = FileChannel.open(resolve(s3URI), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (range.getStart() >= size) {
+        throw new IOException(
+            String.format("Range %s is not satisfiable for %s of size %d", range, s3URI, size));
+      }
+
+      // Like S3, clip the end of the range to the end of the object
+      long end = Math.min(range.getEnd(), size - 1);
+      ByteBuffer buffer = ByteBuffer.allocate((int) (end - range.getStart() + 1));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, range.getStart() + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of file while reading " + s3URI);
+        }
+      }
+      return ObjectContent.builder().stream(new ByteArrayInputStream(buffer.array())).build();
+    }
+  }
+
+  private <T> CompletableFuture<T> complete(IOSupplier<T> supplier) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    pending.add(future);
+    future.whenComplete((result, throwable) -> pending.remove(future));
+    try {
+      scheduler.schedule(
+          () -> {
+            try {
+              future.complete(supplier.get());
+            } catch (Throwable throwable) {
+              future.completeExceptionally(throwable);
+            }
+          },
+          latencyMs,
+          TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(new IOException(CLOSED_MESSAGE, e));
+    }
+    return future;
+  }
+
+  /**
+   * Closes the client, failing any pending requests
+   *
+   * @throws IOException if IO error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    this.scheduler.shutdownNow();
+    for (CompletableFuture<?> future : pending) {
+      future.completeExceptionally(new IOException(CLOSED_MESSAGE));
+    }
+  }
+
+  /**
+   * A supplier that can throw {@link IOException}
+   *
+   * @param <T> type of the result
+   */
+  @FunctionalInterface
+  private interface IOSupplier<T> {
+    T get() throws IOException;
+  }
+}
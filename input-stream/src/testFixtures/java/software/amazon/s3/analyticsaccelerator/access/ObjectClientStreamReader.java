@@ -0,0 +1,96 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import software.amazon.awssdk.core.checksums.Crc32CChecksum;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.Range;
+import software.amazon.s3.analyticsaccelerator.request.ReadMode;
+import software.amazon.s3.analyticsaccelerator.request.Referrer;
+import software.amazon.s3.analyticsaccelerator.util.S3URI;
+
+/**
+ * A naive stream reader based on the {@link ObjectClient}. This is the counterpart of {@link
+ * S3AsyncClientStreamReader} when the objects are not served by an S3 client, e.g. by {@link
+ * LocalObjectClient}.
+ */
+public class ObjectClientStreamReader extends S3StreamReaderBase {
+  @NonNull @Getter private final ObjectClient objectClient;
+
+  /**
+   * Creates an instance of {@link ObjectClientStreamReader}
+   *
+   * @param objectClient an instance of {@link ObjectClient}
+   * @param baseUri base URI for all objects
+   * @param bufferSize buffer size
+   */
+  public ObjectClientStreamReader(
+      @NonNull ObjectClient objectClient, @NonNull S3URI baseUri, int bufferSize) {
+    super(baseUri, bufferSize);
+    this.objectClient = objectClient;
+  }
+
+  /**
+   * Reads the specified pattern
+   *
+   * @param s3Object S3 Object to read
+   * @param streamReadPattern Stream read pattern
+   * @param checksum optional checksum, to update
+   */
+  @Override
+  public void readPattern(
+      @NonNull S3Object s3Object,
+      @NonNull StreamReadPattern streamReadPattern,
+      @NonNull Optional<Crc32CChecksum> checksum)
+      throws IOException {
+    S3URI s3URI = s3Object.getObjectUri(this.getBaseUri());
+
+    // Replay the pattern through series of GETs
+    for (StreamRead streamRead : streamReadPattern.getStreamReads()) {
+      // Issue a ranged GET and get InputStream
+      Range range =
+          new Range(streamRead.getStart(), streamRead.getStart() + streamRead.getLength() - 1);
+      InputStream inputStream =
+          objectClient
+              .getObject(
+                  GetRequest.builder()
+                      .s3Uri(s3URI)
+                      .range(range)
+                      .referrer(new Referrer(range.toHttpString(), ReadMode.SYNC))
+                      .build())
+              .join()
+              .getStream();
+      // drain  bytes
+      drainStream(inputStream, s3Object, checksum, streamRead.getLength());
+    }
+  }
+
+  /**
+   * Closes the reader
+   *
+   * @throws IOException if IO error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    // do nothing - we do not take ownership of the client
+  }
+}
@@ -25,12 +25,14 @@ import software.amazon.s3.analyticsaccelerator.S3SdkObjectClient;
 import software.amazon.s3.analyticsaccelerator.S3SeekableInputStream;
 import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamConfiguration;
 import software.amazon.s3.analyticsaccelerator.S3SeekableInputStreamFactory;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.s3.analyticsaccelerator.util.S3URI;
 
 /** Client stream reader based on DAT */
 public class S3DATClientStreamReader extends S3StreamReaderBase {
-  @NonNull @Getter private final S3SdkObjectClient sdkObjectClient;
+  @NonNull @Getter private final ObjectClient sdkObjectClient;
   @NonNull @Getter private final S3SeekableInputStreamFactory s3SeekableInputStreamFactory;
+  private final boolean ownsObjectClient;
 
   /**
    * Creates an instance of {@link S3DATClientStreamReader}
@@ -45,9 +47,36 @@ public class S3DATClientStreamReader extends S3StreamReaderBase {
       @NonNull S3SeekableInputStreamConfiguration configuration,
       @NonNull S3URI baseUri,
       int bufferSize) {
-    super(baseUri, bufferSize);
     // Create the SDK client, ensure it doesn't close the underlying client
-    this.sdkObjectClient = new S3SdkObjectClient(s3AsyncClient, false);
+    this(new S3SdkObjectClient(s3AsyncClient, false), configuration, baseUri, bufferSize, true);
+  }
+
+  /**
+   * Creates an instance of {@link S3DATClientStreamReader}
+   *
+   * @param objectClient an instance of {@link ObjectClient}, which the reader does not take
+   *     ownership of
+   * @param configuration {@link S3SeekableInputStreamConfiguration}
+   * @param baseUri base URI for all objects
+   * @param bufferSize buffer size
+   */
+  public S3DATClientStreamReader(
+      @NonNull ObjectClient objectClient,
+      @NonNull S3SeekableInputStreamConfiguration configuration,
+      @NonNull S3URI baseUri,
+      int bufferSize) {
+    this(objectClient, configuration, baseUri, bufferSize, false);
+  }
+
+  private S3DATClientStreamReader(
+      ObjectClient objectClient,
+      S3SeekableInputStreamConfiguration configuration,
+      S3URI baseUri,
+      int bufferSize,
+      boolean ownsObjectClient) {
+    super(baseUri, bufferSize);
+    this.sdkObjectClient = objectClient;
+    this.ownsObjectClient = ownsObjectClient;
     s3SeekableInputStreamFactory = new S3SeekableInputStreamFactory(sdkObjectClient, configuration);
   }
 
@@ -111,8 +140,10 @@ public class S3DATClientStreamReader extends S3StreamReaderBase {
    */
   @Override
   public void close() throws IOException {
-    // close the factory and the client
+    // close the factory and the client, unless it was handed to us
     this.s3SeekableInputStreamFactory.close();
-    this.sdkObjectClient.close();
+    if (this.ownsObjectClient) {
+      this.sdkObjectClient.close();
+    }
   }
 }
@@ -31,12 +31,21 @@ public class S3ExecutionConfiguration {
   public static final String PREFIX_KEY = "S3_TEST_PREFIX";
   public static final String READ_BUFFER_SIZE_MB_KEY = "S3_TEST_READ_BUFFER_SIZE_MB";
   public static final int DEFAULT_READ_BUFFER_SIZE_MB_KEY = 8;
+  public static final String LOCAL_DIRECTORY_KEY = "S3_TEST_LOCAL_DIRECTORY";
+  public static final String LOCAL_LATENCY_MS_KEY = "S3_TEST_LOCAL_LATENCY_MS";
+  public static final String DEFAULT_LOCAL_DIRECTORY = "";
+  public static final long DEFAULT_LOCAL_LATENCY_MS = 0;
 
   @NonNull String bucket;
   @NonNull String prefix;
   int bufferSizeMb;
+  @NonNull @Builder.Default String localDirectory = DEFAULT_LOCAL_DIRECTORY;
+  @Builder.Default long localLatencyMs = DEFAULT_LOCAL_LATENCY_MS;
   @NonNull S3AsyncClientFactoryConfiguration clientFactoryConfiguration;
 
+  @NonNull @Builder.Default SimulatedObjectClientConfiguration simulatedObjectClientConfiguration =
+      SimulatedObjectClientConfiguration.DEFAULT;
+
   /**
    * Creates the {@link S3ExecutionConfiguration} from the supplied configuration
    *
@@ -49,8 +58,12 @@ public class S3ExecutionConfiguration {
         .prefix(configuration.getRequiredString(PREFIX_KEY))
         .bufferSizeMb(
             configuration.getInt(READ_BUFFER_SIZE_MB_KEY, DEFAULT_READ_BUFFER_SIZE_MB_KEY))
+        .localDirectory(configuration.getString(LOCAL_DIRECTORY_KEY, DEFAULT_LOCAL_DIRECTORY))
+        .localLatencyMs(configuration.getLong(LOCAL_LATENCY_MS_KEY, DEFAULT_LOCAL_LATENCY_MS))
         .clientFactoryConfiguration(
             S3AsyncClientFactoryConfiguration.fromConfiguration(configuration))
+        .simulatedObjectClientConfiguration(
+            SimulatedObjectClientConfiguration.fromConfiguration(configuration))
         .build();
   }
 
@@ -63,6 +76,15 @@ public class S3ExecutionConfiguration {
     return S3URI.of(this.getBucket(), this.getPrefix());
   }
 
+  /**
+   * Returns whether objects are served from a local directory rather than from S3
+   *
+   * @return true if {@link #getLocalDirectory()} is set
+   */
+  public boolean isLocal() {
+    return !this.getLocalDirectory().isEmpty();
+  }
+
   /**
    * Returns the buffer size in bytes
    *
@@ -17,8 +17,10 @@ package software.amazon.s3.analyticsaccelerator.access;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Paths;
 import lombok.Getter;
 import lombok.NonNull;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 
@@ -28,6 +30,7 @@ public class S3ExecutionContext implements Closeable {
   @NonNull private final S3ExecutionConfiguration configuration;
   @NonNull private final S3AsyncClient s3Client;
   @NonNull private final S3AsyncClient s3CrtClient;
+  private final ObjectClient localObjectClient;
 
   /**
    * Creates an instance of {@link S3ExecutionContext}
@@ -41,9 +44,35 @@ public class S3ExecutionContext implements Closeable {
     this.s3CrtClient =
         S3AsyncClientFactory.createS3CrtAsyncClient(configuration.getClientFactoryConfiguration());
 
-    // test connections
-    testConnection(this.s3Client, configuration);
-    testConnection(this.s3CrtClient, configuration);
+
+    if (configuration.isLocal()) {
+      // objects are served from the local directory, there is nothing to connect to
+      this.localObjectClient = createLocalObjectClient(configuration);
+    } else {
+      this.localObjectClient = null;
+      // test connections
+      testConnection(this.s3Client, configuration);
+      testConnection(this.s3CrtClient, configuration);
+    }
+  }
+
+  /**
+   * Creates the client serving objects from the local directory, simulating S3 behaviour on top of
+   * it if configured
+   *
+   * @param configuration configuration
+   * @return a new instance of {@link ObjectClient}
+   */
+  private static ObjectClient createLocalObjectClient(S3ExecutionConfiguration configuration) {
+    ObjectClient objectClient =
+        new LocalObjectClient(
+            Paths.get(configuration.getLocalDirectory()), configuration.getLocalLatencyMs());
+    SimulatedObjectClientConfiguration simulatedObjectClientConfiguration =
+        configuration.getSimulatedObjectClientConfiguration();
+    if (simulatedObjectClientConfiguration.isEnabled()) {
+      objectClient = new SimulatedObjectClient(objectClient, simulatedObjectClientConfiguration);
+    }
+    return objectClient;
   }
 
   /**
@@ -72,5 +101,8 @@ public class S3ExecutionContext implements Closeable {
   public void close() throws IOException {
     this.s3Client.close();
     this.s3CrtClient.close();
+    if (this.localObjectClient != null) {
+      this.localObjectClient.close();
+    }
   }
 }
@@ -0,0 +1,318 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.s3.analyticsaccelerator.common.Preconditions;
+import software.amazon.s3.analyticsaccelerator.request.GetRequest;
+import software.amazon.s3.analyticsaccelerator.request.HeadRequest;
+import software.amazon.s3.analyticsaccelerator.request.ObjectClient;
+import software.amazon.s3.analyticsaccelerator.request.ObjectContent;
+import software.amazon.s3.analyticsaccelerator.request.ObjectMetadata;
+import software.amazon.s3.analyticsaccelerator.request.StreamContext;
+
+/**
+ * An {@link ObjectClient} decorator that makes any client behave more like S3. Every HEAD and GET
+ * is delayed by a log-normally distributed first-byte latency, occasionally landing in a slow tail,
+ * may fail with a 503 Slow Down, and GET bodies are delivered no faster than the configured
+ * per-request bandwidth. All random draws come from a single seeded generator, so a given seed and
+ * request order replays exactly the same behaviour.
+ *
+ * <p>Callers usually drain a GET body in a stage that depends on the returned future, which runs on
+ * the thread completing it. GETs are therefore completed on threads of their own rather than on the
+ * simulation's scheduler, so that concurrent bodies are throttled independently of each other.
+ */
+public class SimulatedObjectClient implements ObjectClient {
+  private static final String THREAD_NAME = "simulated-object-client";
+  private static final String BODY_THREAD_NAME_PREFIX = "simulated-object-client-body-";
+  private static final int SLOW_DOWN_STATUS_CODE = 503;
+  private static final String SLOW_DOWN_ERROR_CODE = "SlowDown";
+  private static final String SLOW_DOWN_MESSAGE = "Please reduce your request rate.";
+
+  @NonNull @Getter private final ObjectClient delegate;
+  @NonNull @Getter private final SimulatedObjectClientConfiguration configuration;
+  private final Random random;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService bodyExecutor;
+
+  /**
+   * Creates an instance of {@link SimulatedObjectClient}
+   *
+   * @param delegate the client serving the requests, closed together with this client
+   * @param configuration the behaviour to simulate
+   */
+  public SimulatedObjectClient(
+      @NonNull ObjectClient delegate, @NonNull SimulatedObjectClientConfiguration configuration) {
+    Preconditions.checkArgument(
+        configuration.getFirstByteLatencyMedianMs() >= 0,
+        "`firstByteLatencyMedianMs` must not be negative");
+    Preconditions.checkArgument(
+        configuration.getFirstByteLatencySigma() >= 0,
+        "`firstByteLatencySigma` must not be negative");
+    Preconditions.checkArgument(
+        isProbability(configuration.getTailLatencyProbability()),
+        "`tailLatencyProbability` must be between 0 and 1");
+    Preconditions.checkArgument(
+        configuration.getTailLatencyMs() >= 0, "`tailLatencyMs` must not be negative");
+    Preconditions.checkArgument(
+        configuration.getBandwidthBytesPerSecond() >= 0,
+        "`bandwidthBytesPerSecond` must not be negative");
+    Preconditions.checkArgument(
+        isProbability(configuration.getErrorProbability()),
+        "`errorProbability` must be between 0 and 1");
+
+    this.delegate = delegate;
+    this.configuration = configuration;
+    this.random = new Random(configuration.getSeed());
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+    AtomicInteger bodyThreadCount = new AtomicInteger();
+    this.bodyExecutor =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, BODY_THREAD_NAME_PREFIX + bodyThreadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Make a headObject request through the simulation.
+   *
+   * @param headRequest The HEAD request to be sent
+   * @return the metadata returned by the delegate
+   */
+  @Override
+  public CompletableFuture<ObjectMetadata> headObject(HeadRequest headRequest) {
+    return simulate(() -> delegate.headObject(headRequest));
+  }
+
+  /**
+   * Make a getObject request through the simulation.
+   *
+   * @param getRequest The GET request to be sent
+   * @return the content returned by the delegate, shaped to the configured bandwidth
+   */
+  @Override
+  public CompletableFuture<ObjectContent> getObject(GetRequest getRequest) {
+    return getObject(getRequest, null);
+  }
+
+  /**
+   * Make a getObject request through the simulation.
+   *
+   * @param getRequest The GET request to be sent
+   * @param streamContext audit headers to be attached in the request header
+   * @return the content returned by the delegate, shaped to the configured bandwidth
+   */
+  @Override
+  public CompletableFuture<ObjectContent> getObject(
+      GetRequest getRequest, StreamContext streamContext) {
+    return simulate(() -> delegate.getObject(getRequest, streamContext))
+        .thenApplyAsync(this::shape, bodyExecutor);
+  }
+
+  /**
+   * Draws the behaviour of the next request. Every request consumes the same number of draws
+   * regardless of the configuration, so enabling one effect does not reshuffle the others.
+   *
+   * @return the behaviour of the next request
+   */
+  synchronized SimulatedRequest nextRequest() {
+    double gaussian = random.nextGaussian();
+    boolean slowTail = random.nextDouble() < configuration.getTailLatencyProbability();
+    boolean error = random.nextDouble() < configuration.getErrorProbability();
+
+    long latencyMs =
+        Math.round(
+            configuration.getFirstByteLatencyMedianMs()
+                * Math.exp(configuration.getFirstByteLatencySigma() * gaussian));
+    if (slowTail) {
+      latencyMs += configuration.getTailLatencyMs();
+    }
+    return new SimulatedRequest(latencyMs, error);
+  }
+
+  private <T> CompletableFuture<T> simulate(Supplier<CompletableFuture<T>> request) {
+    SimulatedRequest simulatedRequest = nextRequest();
+    CompletableFuture<T> future = new CompletableFuture<>();
+    scheduler.schedule(
+        () -> {
+          if (simulatedRequest.isError()) {
+            future.completeExceptionally(slowDown());
+            return;
+          }
+          try {
+            request
+                .get()
+                .whenComplete(
+                    (result, throwable) -> {
+                      if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                      } else {
+                        future.complete(result);
+                      }
+                    });
+          } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+          }
+        },
+        simulatedRequest.getLatencyMs(),
+        TimeUnit.MILLISECONDS);
+    return future;
+  }
+
+  private ObjectContent shape(ObjectContent objectContent) {
+    long bandwidthBytesPerSecond = configuration.getBandwidthBytesPerSecond();
+    if (bandwidthBytesPerSecond == 0) {
+      return objectContent;
+    }
+    return ObjectContent.builder()
+        .stream(new ThrottledInputStream(objectContent.getStream(), bandwidthBytesPerSecond))
+        .build();
+  }
+
+  private static S3Exception slowDown() {
+    return (S3Exception)
+        S3Exception.builder()
+            .statusCode(SLOW_DOWN_STATUS_CODE)
+            .message(SLOW_DOWN_MESSAGE)
+            .awsErrorDetails(
+                AwsErrorDetails.builder()
+                    .errorCode(SLOW_DOWN_ERROR_CODE)
+                    .errorMessage(SLOW_DOWN_MESSAGE)
+                    .serviceName("S3")
+                    .build())
+            .build();
+  }
+
+  private static boolean isProbability(double value) {
+    return value >= 0 && value <= 1;
+  }
+
+  /**
+   * Closes the simulation and the delegate
+   *
+   * @throws IOException if IO error occurs
+   */
+  @Override
+  public void close() throws IOException {
+    this.scheduler.shutdownNow();
+    this.bodyExecutor.shutdownNow();
+    this.delegate.close();
+  }
+
+  /** The simulated behaviour of a single request */
+  @Value
+  static class SimulatedRequest {
+    long latencyMs;
+    boolean error;
+  }
+
+  /** An {@link InputStream} that delivers bytes no faster than a given bandwidth */
+  static class ThrottledInputStream extends FilterInputStream {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bandwidthBytesPerSecond;
+    private long startNanos = -1;
+    private long bytesRead;
+
+    /**
+     * Creates an instance of {@link ThrottledInputStream}
+     *
+     * @param in the stream to throttle
+     * @param bandwidthBytesPerSecond maximum bandwidth
+     */
+    ThrottledInputStream(InputStream in, long bandwidthBytesPerSecond) {
+      super(in);
+      this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+    }
+
+    @Override
+    public int read() throws IOException {
+      start();
+      int result = super.read();
+      if (result >= 0) {
+        throttle(1);
+      }
+      return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      start();
+      int result = super.read(buffer, offset, length);
+      if (result > 0) {
+        throttle(result);
+      }
+      return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      start();
+      long result = super.skip(n);
+      if (result > 0) {
+        throttle(result);
+      }
+      return result;
+    }
+
+    private void start() {
+      if (startNanos < 0) {
+        startNanos = System.nanoTime();
+      }
+    }
+
+    private void throttle(long bytes) throws IOException {
+      bytesRead += bytes;
+      long dueNanos =
+          startNanos + (long) ((double) bytesRead * NANOS_PER_SECOND / bandwidthBytesPerSecond);
+      long waitNanos = dueNanos - System.nanoTime();
+      if (waitNanos <= 0) {
+        return;
+      }
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while throttling the stream");
+      }
+    }
+  }
+}
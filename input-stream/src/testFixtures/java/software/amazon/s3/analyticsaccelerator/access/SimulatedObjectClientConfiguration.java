@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.s3.analyticsaccelerator.access;
+
+import lombok.Builder;
+import lombok.Value;
+import software.amazon.s3.analyticsaccelerator.common.ConnectorConfiguration;
+
+/** Configuration for {@link SimulatedObjectClient} */
+@Value
+@Builder
+public class SimulatedObjectClientConfiguration {
+  public static final String SEED_KEY = "S3_TEST_SIMULATED_SEED";
+  public static final String FIRST_BYTE_LATENCY_MEDIAN_MS_KEY =
+      "S3_TEST_SIMULATED_FIRST_BYTE_LATENCY_MEDIAN_MS";
+  public static final String FIRST_BYTE_LATENCY_SIGMA_KEY =
+      "S3_TEST_SIMULATED_FIRST_BYTE_LATENCY_SIGMA";
+  public static final String TAIL_LATENCY_PROBABILITY_KEY =
+      "S3_TEST_SIMULATED_TAIL_LATENCY_PROBABILITY";
+  public static final String TAIL_LATENCY_MS_KEY = "S3_TEST_SIMULATED_TAIL_LATENCY_MS";
+  public static final String BANDWIDTH_BYTES_PER_SECOND_KEY =
+      "S3_TEST_SIMULATED_BANDWIDTH_BYTES_PER_SECOND";
+  public static final String ERROR_PROBABILITY_KEY = "S3_TEST_SIMULATED_ERROR_PROBABILITY";
+
+  public static final long DEFAULT_SEED = 0;
+  public static final long DEFAULT_FIRST_BYTE_LATENCY_MEDIAN_MS = 0;
+  public static final double DEFAULT_FIRST_BYTE_LATENCY_SIGMA = 0.5;
+  public static final double DEFAULT_TAIL_LATENCY_PROBABILITY = 0;
+  public static final long DEFAULT_TAIL_LATENCY_MS = 0;
+  public static final long DEFAULT_BANDWIDTH_BYTES_PER_SECOND = 0;
+  public static final double DEFAULT_ERROR_PROBABILITY = 0;
+
+  public static final SimulatedObjectClientConfiguration DEFAULT =
+      SimulatedObjectClientConfiguration.builder().build();
+
+  /** Seed of the random generator, the same seed replays the same sequence of requests */
+  @Builder.Default long seed = DEFAULT_SEED;
+
+  /** Median of the log-normally distributed first-byte latency */
+  @Builder.Default long firstByteLatencyMedianMs = DEFAULT_FIRST_BYTE_LATENCY_MEDIAN_MS;
+
+  /** Shape of the first-byte latency distribution, 0 makes every request take the median */
+  @Builder.Default double firstByteLatencySigma = DEFAULT_FIRST_BYTE_LATENCY_SIGMA;
+
+  /** Probability of a request landing in the slow tail */
+  @Builder.Default double tailLatencyProbability = DEFAULT_TAIL_LATENCY_PROBABILITY;
+
+  /** Latency added to requests landing in the slow tail */
+  @Builder.Default long tailLatencyMs = DEFAULT_TAIL_LATENCY_MS;
+
+  /** Bandwidth of a single GET, 0 means unlimited */
+  @Builder.Default long bandwidthBytesPerSecond = DEFAULT_BANDWIDTH_BYTES_PER_SECOND;
+
+  /** Probability of a request failing with a 503 Slow Down */
+  @Builder.Default double errorProbability = DEFAULT_ERROR_PROBABILITY;
+
+  /**
+   * Creates the {@link SimulatedObjectClientConfiguration} from the supplied configuration
+   *
+   * @param configuration an instance of configuration
+   * @return a new instance of {@link SimulatedObjectClientConfiguration}
+   */
+  public static SimulatedObjectClientConfiguration fromConfiguration(
+      ConnectorConfiguration configuration) {
+    return SimulatedObjectClientConfiguration.builder()
+        .seed(configuration.getLong(SEED_KEY, DEFAULT_SEED))
+        .firstByteLatencyMedianMs(
+            configuration.getLong(
+                FIRST_BYTE_LATENCY_MEDIAN_MS_KEY, DEFAULT_FIRST_BYTE_LATENCY_MEDIAN_MS))
+        .firstByteLatencySigma(
+            configuration.getDouble(FIRST_BYTE_LATENCY_SIGMA_KEY, DEFAULT_FIRST_BYTE_LATENCY_SIGMA))
+        .tailLatencyProbability(
+            configuration.getDouble(TAIL_LATENCY_PROBABILITY_KEY, DEFAULT_TAIL_LATENCY_PROBABILITY))
+        .tailLatencyMs(configuration.getLong(TAIL_LATENCY_MS_KEY, DEFAULT_TAIL_LATENCY_MS))
+        .bandwidthBytesPerSecond(
+            configuration.getLong(
+                BANDWIDTH_BYTES_PER_SECOND_KEY, DEFAULT_BANDWIDTH_BYTES_PER_SECOND))
+        .errorProbability(configuration.getDouble(ERROR_PROBABILITY_KEY, DEFAULT_ERROR_PROBABILITY))
+        .build();
+  }
+
+  /**
+   * Returns whether the configuration simulates anything at all
+   *
+   * @return true if any latency, bandwidth limit or error is configured
+   */
+  public boolean isEnabled() {
+    return firstByteLatencyMedianMs > 0
+        || (tailLatencyProbability > 0 && tailLatencyMs > 0)
+        || bandwidthBytesPerSecond > 0
+        || errorProbability > 0;
+  }
+}
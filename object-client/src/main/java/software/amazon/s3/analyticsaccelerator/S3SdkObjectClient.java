@@ -134,6 +134,7 @@ public class S3SdkObjectClient implements ObjectClient {
                 headObjectResponse ->
                     ObjectMetadata.builder()
                         .contentLength(headObjectResponse.contentLength())
+                        .etag(headObjectResponse.eTag())
                         .build()));
   }
 
@@ -148,7 +148,7 @@ public class S3SdkObjectClientTest {
       S3SdkObjectClient client = new S3SdkObjectClient(s3AsyncClient);
       assertEquals(
           client.headObject(HeadRequest.builder().s3Uri(S3URI.of("bucket", "key")).build()).join(),
-          ObjectMetadata.builder().contentLength(42).build());
+          ObjectMetadata.builder().contentLength(42).etag("\"etag\"").build());
     }
   }
 
@@ -249,7 +249,7 @@ public class S3SdkObjectClientTest {
     when(s3AsyncClient.headObject(any(HeadObjectRequest.class)))
         .thenReturn(
             CompletableFuture.completedFuture(
-                HeadObjectResponse.builder().contentLength(42L).build()));
+                HeadObjectResponse.builder().contentLength(42L).eTag("\"etag\"").build()));
 
     when(s3AsyncClient.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
         .thenReturn(